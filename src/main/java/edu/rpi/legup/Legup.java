@@ -1,16 +1,23 @@
 package edu.rpi.legup;
 
 import edu.rpi.legup.app.GameBoardFacade;
+import edu.rpi.legup.headless.HeadlessRunner;
 import edu.rpi.legup.utility.Logger;
+import java.util.Arrays;
 
 public class Legup {
 
     /**
-     * Starts the Legup Program
+     * Starts the Legup Program. When the first argument is {@code --verify}, the remaining
+     * arguments are passed to {@link HeadlessRunner} and the user interface is never created.
      *
      * @param args arguments to Legup
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--verify")) {
+            HeadlessRunner.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         Logger.initLogger();
         GameBoardFacade.getInstance();
         GameBoardFacade.setupConfig();
@@ -8,9 +8,14 @@ import edu.rpi.legup.model.PuzzleImporter;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.tree.Tree;
 import edu.rpi.legup.save.InvalidFileFormatException;
+import edu.rpi.legup.save.ProofJournal;
 import edu.rpi.legup.ui.LegupUI;
 import edu.rpi.legup.ui.ProofEditorPanel;
 import edu.rpi.legup.ui.PuzzleEditorPanel;
+import edu.rpi.legup.ui.boardview.BoardView;
+import edu.rpi.legup.ui.proofeditorui.treeview.TreeView;
+import edu.rpi.legup.utility.Instrumentation;
+import edu.rpi.legup.utility.Instrumentation.Operation;
 import java.awt.*;
 import java.io.File;
 import java.io.FileInputStream;
@@ -56,6 +61,8 @@ public class GameBoardFacade implements IHistorySubject {
     private History history;
     private List<IHistoryListener> historyListeners;
 
+    private ProofJournal journal;
+
     /** Private GameBoardFacade Constructor creates a game board facade */
     protected GameBoardFacade() {
         history = new History();
@@ -95,6 +102,7 @@ public class GameBoardFacade implements IHistorySubject {
      * @param puzzle the Puzzle to set
      */
     public void setPuzzle(Puzzle puzzle) {
+        closeJournal(true);
         this.puzzle = puzzle;
         this.puzzleSolver.setPuzzleView(puzzle);
         this.history.clear();
@@ -102,6 +110,7 @@ public class GameBoardFacade implements IHistorySubject {
 
     /** Clears the current puzzle */
     public void clearPuzzle() {
+        closeJournal(true);
         this.puzzle = null;
         this.curFileName = null;
         this.history.clear();
@@ -299,14 +308,85 @@ public class GameBoardFacade implements IHistorySubject {
      *     created
      */
     public void loadPuzzle(String fileName) throws InvalidFileFormatException {
-        try {
-            loadPuzzle(new FileInputStream(fileName));
-            curFileName = fileName;
-            setWindowTitle(puzzle.getName(), fileName);
+        if (!LegupPreferences.getInstance().getUserPrefAsBool(LegupPreferences.PROOF_JOURNAL)) {
+            try {
+                loadPuzzle(new FileInputStream(fileName));
+                curFileName = fileName;
+                setWindowTitle(puzzle.getName(), fileName);
+            } catch (IOException e) {
+                LOGGER.error("Invalid file " + fileName, e);
+                throw new InvalidFileFormatException("Could not find file");
+            }
+            return;
+        }
+
+        long start = Instrumentation.start();
+        File file = new File(fileName);
+        Document document;
+        try (InputStream inputStream = new FileInputStream(file)) {
+            document = parse(inputStream);
         } catch (IOException e) {
             LOGGER.error("Invalid file " + fileName, e);
             throw new InvalidFileFormatException("Could not find file");
         }
+        if (ProofJournal.replay(document, file)) {
+            LOGGER.info("Recovered unsaved proof changes of " + fileName);
+        }
+        loadPuzzle(document, start);
+        curFileName = fileName;
+        setWindowTitle(puzzle.getName(), fileName);
+        try {
+            journal = new ProofJournal(puzzle, file);
+            addHistoryListener(journal);
+            puzzle.addTreeListener(journal);
+            puzzle.addBoardListener(journal);
+        } catch (IOException e) {
+            LOGGER.error("Unable to start proof journal for " + fileName, e);
+            journal = null;
+        }
+    }
+
+    /**
+     * Called after the current puzzle has been saved to the specified file, so that the proof
+     * journal of the puzzle starts over from the saved file
+     *
+     * @param fileName file name the puzzle was saved to
+     */
+    public void onPuzzleSaved(String fileName) {
+        if (journal != null) {
+            try {
+                journal.onSaved(new File(fileName));
+            } catch (IOException e) {
+                LOGGER.error("Unable to restart proof journal for " + fileName, e);
+                closeJournal(false);
+            }
+        }
+    }
+
+    /**
+     * Stops journaling the current puzzle, detaching the journal from the history and the puzzle
+     *
+     * @param discard true if the puzzle is closed on purpose, so the journal is deleted rather than
+     *     left to be replayed the next time the puzzle file is loaded
+     */
+    private void closeJournal(boolean discard) {
+        if (journal != null) {
+            removeHistoryListener(journal);
+            if (puzzle != null) {
+                puzzle.removeTreeListener(journal);
+                puzzle.removeBoardListener(journal);
+            }
+            try {
+                if (discard) {
+                    journal.discard();
+                } else {
+                    journal.close();
+                }
+            } catch (IOException e) {
+                LOGGER.error("Unable to close proof journal", e);
+            }
+            journal = null;
+        }
     }
 
     /**
@@ -409,16 +489,22 @@ public class GameBoardFacade implements IHistorySubject {
      * @param inputStream input stream for the puzzle file
      */
     public void loadPuzzle(InputStream inputStream) throws InvalidFileFormatException {
-        Document document;
+        long start = Instrumentation.start();
+        loadPuzzle(parse(inputStream), start);
+    }
+
+    private static Document parse(InputStream inputStream) throws InvalidFileFormatException {
         try {
             DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
             DocumentBuilder builder = factory.newDocumentBuilder();
-            document = builder.parse(inputStream);
+            return builder.parse(inputStream);
         } catch (IOException | SAXException | ParserConfigurationException e) {
             LOGGER.error("Invalid file", e);
             throw new InvalidFileFormatException("Could not find file");
         }
+    }
 
+    private void loadPuzzle(Document document, long start) throws InvalidFileFormatException {
         Element rootNode = document.getDocumentElement();
         if (rootNode.getTagName().equals("Legup")) {
             try {
@@ -444,6 +530,7 @@ public class GameBoardFacade implements IHistorySubject {
                     throw new InvalidFileFormatException("Puzzle importer null");
                 }
                 importer.initializePuzzle(node);
+                Instrumentation.record(Operation.IMPORT, puzzle.getName(), start);
                 puzzle.initializeView();
                 puzzle.getBoardView().onTreeElementChanged(puzzle.getTree().getRootNode());
                 setPuzzle(puzzle);
@@ -490,6 +577,24 @@ public class GameBoardFacade implements IHistorySubject {
         return legupUI;
     }
 
+    /**
+     * Gets the tree view of the proof editor
+     *
+     * @return tree view of the proof editor
+     */
+    public TreeView getTreeView() {
+        return legupUI.getTreePanel().getTreeView();
+    }
+
+    /**
+     * Gets the board view of the proof editor
+     *
+     * @return board view of the proof editor
+     */
+    public BoardView getBoardView() {
+        return legupUI.getBoardView();
+    }
+
     /**
      * Gets the initial board state
      *
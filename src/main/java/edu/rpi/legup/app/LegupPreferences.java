@@ -29,8 +29,14 @@ public class LegupPreferences {
     public static final String SHOW_ANNOTATIONS = "show-annotations";
     public static final String ALLOW_DEFAULT_RULES = "allow-default-rules";
     public static final String AUTO_GENERATE_CASES = "auto-generate-cases";
+    public static final String SHOW_APPLICABLE_RULES = "show-applicable-rules";
     public static final String IMMEDIATE_FEEDBACK = "immediate-feedback";
     public static final String COLOR_BLIND = "color-blind";
+    public static final String HISTORY_MEMORY_BUDGET = "history-memory-budget";
+    public static final String PROOF_JOURNAL = "proof-journal";
+
+    /** Default memory budget of the undo history, in megabytes */
+    public static final String DEFAULT_HISTORY_MEMORY_BUDGET = "64";
 
     static {
         defaultPreferencesMap.put(WORK_DIRECTORY, System.getProperty("user.home"));
@@ -41,8 +47,11 @@ public class LegupPreferences {
         defaultPreferencesMap.put(SHOW_ANNOTATIONS, Boolean.toString(false));
         defaultPreferencesMap.put(ALLOW_DEFAULT_RULES, Boolean.toString(false));
         defaultPreferencesMap.put(AUTO_GENERATE_CASES, Boolean.toString(true));
+        defaultPreferencesMap.put(SHOW_APPLICABLE_RULES, Boolean.toString(false));
         defaultPreferencesMap.put(IMMEDIATE_FEEDBACK, Boolean.toString(true));
         defaultPreferencesMap.put(COLOR_BLIND, Boolean.toString(false));
+        defaultPreferencesMap.put(HISTORY_MEMORY_BUDGET, DEFAULT_HISTORY_MEMORY_BUDGET);
+        defaultPreferencesMap.put(PROOF_JOURNAL, Boolean.toString(false));
     }
 
     static {
@@ -70,11 +79,22 @@ public class LegupPreferences {
                 AUTO_GENERATE_CASES,
                 preferences.get(
                         AUTO_GENERATE_CASES, defaultPreferencesMap.get(AUTO_GENERATE_CASES)));
+        preferencesMap.put(
+                SHOW_APPLICABLE_RULES,
+                preferences.get(
+                        SHOW_APPLICABLE_RULES, defaultPreferencesMap.get(SHOW_APPLICABLE_RULES)));
         preferencesMap.put(
                 IMMEDIATE_FEEDBACK,
                 preferences.get(IMMEDIATE_FEEDBACK, defaultPreferencesMap.get(IMMEDIATE_FEEDBACK)));
         preferencesMap.put(
                 COLOR_BLIND, preferences.get(COLOR_BLIND, defaultPreferencesMap.get(COLOR_BLIND)));
+        preferencesMap.put(
+                HISTORY_MEMORY_BUDGET,
+                preferences.get(
+                        HISTORY_MEMORY_BUDGET, defaultPreferencesMap.get(HISTORY_MEMORY_BUDGET)));
+        preferencesMap.put(
+                PROOF_JOURNAL,
+                preferences.get(PROOF_JOURNAL, defaultPreferencesMap.get(PROOF_JOURNAL)));
     }
 
     /**
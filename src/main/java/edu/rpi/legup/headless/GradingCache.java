@@ -0,0 +1,344 @@
+package edu.rpi.legup.headless;
+
+import static edu.rpi.legup.utility.TabSeparated.escape;
+import static edu.rpi.legup.utility.TabSeparated.unescape;
+
+import edu.rpi.legup.app.Config;
+import edu.rpi.legup.app.VersionInfo;
+import edu.rpi.legup.headless.TransitionResult.Status;
+import edu.rpi.legup.model.Puzzle;
+import edu.rpi.legup.model.rules.Rule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The {@code GradingCache} class keeps the reports of graded puzzle files in a file, so that a
+ * batch grading run only verifies files that are new or changed since the last run. Entries are
+ * keyed by a hash of the file contents, the LEGUP version and a fingerprint of the available rules,
+ * so changing any of them makes the old entries unreachable. Every report is appended and flushed
+ * as soon as it is stored, so an interrupted run resumes where it stopped.
+ */
+public class GradingCache implements Closeable {
+    private static final Logger LOGGER = LogManager.getLogger(GradingCache.class.getName());
+
+    /** Name of the cache file kept in a graded folder */
+    public static final String FILE_NAME = ".legup-grades";
+
+    private static final String HEADER = "# legup grading cache v1";
+
+    // key, complete, puzzle name, transition count
+    private static final int ENTRY_FIELDS = 4;
+
+    // path, status, rule id, rule name, message
+    private static final int TRANSITION_FIELDS = 5;
+
+    private final String fingerprint;
+    private final Map<String, VerificationReport> reports;
+    private final BufferedWriter writer;
+    private int hits;
+
+    /**
+     * GradingCache Constructor opens the specified cache file, loading any reports it already
+     * holds, or creates it
+     *
+     * @param cacheFile file the reports are kept in
+     * @param fingerprint fingerprint of the rules used to grade, see {@link #fingerprint(Config)}
+     * @throws IOException if the cache file cannot be read or written
+     */
+    public GradingCache(File cacheFile, String fingerprint) throws IOException {
+        this.fingerprint = fingerprint;
+        this.reports = new HashMap<>();
+        boolean exists = cacheFile.isFile();
+        if (exists) {
+            load(cacheFile);
+        }
+        this.writer =
+                new BufferedWriter(
+                        new OutputStreamWriter(
+                                new FileOutputStream(cacheFile, true), StandardCharsets.UTF_8));
+        if (!exists) {
+            writer.write(HEADER);
+            writer.newLine();
+            writer.flush();
+        } else if (!endsWithNewline(cacheFile)) {
+            // terminate the partial line left by an interrupted run
+            writer.newLine();
+            writer.flush();
+        }
+    }
+
+    /**
+     * Computes the fingerprint of the LEGUP version and of the rules of every puzzle of the
+     * configuration
+     *
+     * @param config configuration of the available puzzles
+     * @return hex encoded fingerprint
+     */
+    public static String fingerprint(Config config) {
+        StringBuilder builder = new StringBuilder(VersionInfo.getVersion());
+        for (String className : new TreeSet<>(config.getPuzzleClassNames())) {
+            builder.append('\n').append(className);
+            try {
+                Puzzle puzzle =
+                        (Puzzle) Class.forName(className).getConstructor().newInstance();
+                List<Rule> rules = new ArrayList<>();
+                rules.addAll(puzzle.getDirectRules());
+                rules.addAll(puzzle.getCaseRules());
+                rules.addAll(puzzle.getContradictionRules());
+                for (Rule rule : rules) {
+                    builder.append('|')
+                            .append(rule.getRuleID())
+                            .append('=')
+                            .append(rule.getClass().getName());
+                }
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                LOGGER.debug("Unable to list the rules of " + className, e);
+            }
+        }
+        return hash(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Computes the cache key of a puzzle file
+     *
+     * @param file puzzle file
+     * @return hex encoded key of the file contents, version and rules
+     * @throws IOException if the file cannot be read
+     */
+    public String key(File file) throws IOException {
+        MessageDigest digest = newKeyDigest();
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Computes the cache key of a puzzle file held in memory, such as an entry of a submission
+     * archive. The key is the same as the key of a file with the same contents.
+     *
+     * @param content contents of the puzzle file, read from its position to its limit
+     * @return hex encoded key of the contents, version and rules
+     */
+    public String key(ByteBuffer content) {
+        MessageDigest digest = newKeyDigest();
+        digest.update(content.duplicate());
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Gets the report stored for a key
+     *
+     * @param key cache key of a file
+     * @return the report, or null if the file has not been graded
+     */
+    public VerificationReport get(String key) {
+        return reports.get(key);
+    }
+
+    /**
+     * Stores the report of a graded file and appends it to the cache file
+     *
+     * @param key cache key of the file
+     * @param report report of the file
+     * @throws IOException if the report cannot be written
+     */
+    public void put(String key, VerificationReport report) throws IOException {
+        reports.put(key, report);
+        List<String> fields = new ArrayList<>();
+        fields.add(key);
+        fields.add(report.isComplete() ? "1" : "0");
+        fields.add(report.getPuzzleName());
+        fields.add(String.valueOf(report.getTransitions().size()));
+        for (TransitionResult result : report.getTransitions()) {
+            fields.add(result.getPath());
+            fields.add(result.getStatus().name());
+            fields.add(result.getRuleId());
+            fields.add(result.getRuleName());
+            fields.add(result.getMessage());
+        }
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                line.append('\t');
+            }
+            line.append(escape(fields.get(i)));
+        }
+        writer.write(line.toString());
+        writer.newLine();
+        writer.flush();
+    }
+
+    /**
+     * Gets the report of a puzzle file from the cache, or verifies the file and stores its report
+     *
+     * @param file puzzle file
+     * @param verifier verifier used if the file is not in the cache
+     * @return report of the file
+     * @throws InvalidFileFormatException if the file is not a valid puzzle file
+     * @throws IOException if the file cannot be read or the report cannot be stored
+     */
+    public VerificationReport verify(File file, ProofVerifier verifier)
+            throws InvalidFileFormatException, IOException {
+        String key = key(file);
+        VerificationReport report = get(key);
+        if (report != null) {
+            hits++;
+            return report;
+        }
+        report = verifier.verify(file);
+        put(key, report);
+        return report;
+    }
+
+    /**
+     * Gets the report of an entry of a submission archive from the cache, or verifies the entry
+     * and stores its report
+     *
+     * @param archive submission archive
+     * @param entry entry of the archive
+     * @param verifier verifier used if the entry is not in the cache
+     * @return report of the entry
+     * @throws InvalidFileFormatException if the entry is not a valid puzzle file
+     * @throws IOException if the report cannot be stored
+     */
+    public VerificationReport verify(
+            SubmissionArchive archive, SubmissionArchive.Entry entry, ProofVerifier verifier)
+            throws InvalidFileFormatException, IOException {
+        String key = key(archive.getContent(entry));
+        VerificationReport report = get(key);
+        if (report != null) {
+            hits++;
+            return report;
+        }
+        report = verifier.verify(archive.load(entry, verifier));
+        put(key, report);
+        return report;
+    }
+
+    /**
+     * Gets the number of reports returned from the cache by the {@code verify} methods
+     *
+     * @return number of cache hits
+     */
+    public int getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of reports in the cache
+     *
+     * @return number of reports
+     */
+    public int size() {
+        return reports.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void load(File cacheFile) throws IOException {
+        try (BufferedReader reader =
+                new BufferedReader(
+                        new InputStreamReader(
+                                new FileInputStream(cacheFile), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\t", -1);
+                try {
+                    reports.put(unescape(fields[0]), parse(fields));
+                } catch (RuntimeException e) {
+                    // an interrupted run may have left a partial last line
+                    LOGGER.debug("Ignoring invalid grading cache entry", e);
+                }
+            }
+        }
+    }
+
+    private static boolean endsWithNewline(File file) throws IOException {
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            if (in.length() == 0) {
+                return true;
+            }
+            in.seek(in.length() - 1);
+            return in.read() == '\n';
+        }
+    }
+
+    private static VerificationReport parse(String[] fields) {
+        int count = Integer.parseInt(fields[3]);
+        if (fields.length != ENTRY_FIELDS + count * TRANSITION_FIELDS) {
+            throw new IllegalArgumentException("Incomplete grading cache entry");
+        }
+        List<TransitionResult> transitions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int f = ENTRY_FIELDS + i * TRANSITION_FIELDS;
+            transitions.add(
+                    new TransitionResult(
+                            unescape(fields[f]),
+                            unescape(fields[f + 2]),
+                            unescape(fields[f + 3]),
+                            Status.valueOf(fields[f + 1]),
+                            unescape(fields[f + 4])));
+        }
+        return new VerificationReport(unescape(fields[2]), transitions, fields[1].equals("1"));
+    }
+
+    private MessageDigest newKeyDigest() {
+        MessageDigest digest = newDigest();
+        digest.update(fingerprint.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        return digest;
+    }
+
+    private static String hash(byte[] data) {
+        return toHex(newDigest().digest(data));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xf, 16));
+            builder.append(Character.forDigit(b & 0xf, 16));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,409 @@
+package edu.rpi.legup.headless;
+
+import edu.rpi.legup.app.Config;
+import edu.rpi.legup.app.InvalidConfigException;
+import edu.rpi.legup.model.Puzzle;
+import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.generator.PuzzleGenerator;
+import edu.rpi.legup.model.solver.SolutionCounter;
+import edu.rpi.legup.model.solver.UniquenessResult;
+import edu.rpi.legup.model.tree.Tree;
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.save.ExportFileException;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Command line entry point that verifies puzzle files without the user interface. Each file (or
+ * every file below a directory, or every entry of a {@link SubmissionArchive}) is loaded and
+ * verified, the result of every transition is printed followed by a summary line for the file, and
+ * the process exits with a status describing the whole run.
+ *
+ * <pre>
+ * usage: HeadlessRunner [-q] [-c cache] file|directory|archive...
+ *        HeadlessRunner -p archive directory
+ *        HeadlessRunner -u file|directory|archive...
+ *        HeadlessRunner -t runs file|directory...
+ *        HeadlessRunner -g puzzle count difficulty seed directory
+ *   -q          only print the summary line of each file
+ *   -c cache    reuse the reports of files graded by earlier runs, see {@link GradingCache}
+ *   -p archive  pack the puzzle files below the directory into a submission archive
+ *   -u          check that the initial board of each file has a unique solution instead of
+ *               verifying its proof
+ *   -t runs     load each file the given number of times and print how long loading its proof
+ *               took instead of verifying it
+ *   -g          generate puzzles of the named type with a unique solution into the directory, see
+ *               {@link PuzzleGenerator#generate(int, int, long)}
+ * </pre>
+ *
+ * With {@code -u}, a file whose board has a unique solution counts as solved and any other file
+ * as unsolved. With {@code -g}, the run counts as unsolved if fewer distinct puzzles than requested
+ * were found.
+ */
+public class HeadlessRunner {
+    /** Exit status when every file was verified and is solved */
+    public static final int EXIT_SOLVED = 0;
+
+    /** Exit status when every file was verified but at least one is not solved */
+    public static final int EXIT_UNSOLVED = 1;
+
+    /** Exit status when at least one file could not be loaded */
+    public static final int EXIT_INVALID = 2;
+
+    /** Exit status when the arguments or the configuration are invalid */
+    public static final int EXIT_USAGE = 64;
+
+    /**
+     * Verifies the puzzle files given as arguments and exits
+     *
+     * @param args options followed by files or directories to verify
+     */
+    public static void main(String[] args) {
+        if (System.getProperty("java.awt.headless") == null) {
+            System.setProperty("java.awt.headless", Boolean.TRUE.toString());
+        }
+        System.exit(run(args, System.out));
+    }
+
+    /**
+     * Verifies the puzzle files given as arguments
+     *
+     * @param args options followed by files or directories to verify
+     * @param out stream the results are printed to
+     * @return exit status of the run
+     */
+    public static int run(String[] args, PrintStream out) {
+        if (args.length > 0 && args[0].equals("-g")) {
+            return generate(Arrays.asList(args).subList(1, args.length), out);
+        }
+        boolean quiet = false;
+        File cacheFile = null;
+        File archiveFile = null;
+        boolean uniqueness = false;
+        int runs = 0;
+        int first = 0;
+        while (first < args.length && args[first].startsWith("-")) {
+            if (args[first].equals("-q")) {
+                quiet = true;
+            } else if (args[first].equals("-c") && first + 1 < args.length) {
+                cacheFile = new File(args[++first]);
+            } else if (args[first].equals("-p") && first + 1 < args.length) {
+                archiveFile = new File(args[++first]);
+            } else if (args[first].equals("-u")) {
+                uniqueness = true;
+            } else if (args[first].equals("-t") && first + 1 < args.length) {
+                try {
+                    runs = Integer.parseInt(args[++first]);
+                } catch (NumberFormatException e) {
+                    runs = 0;
+                }
+                if (runs < 1) {
+                    usage(out);
+                    return EXIT_USAGE;
+                }
+            } else {
+                usage(out);
+                return EXIT_USAGE;
+            }
+            first++;
+        }
+        List<String> names = Arrays.asList(args).subList(first, args.length);
+        if (names.isEmpty() || (archiveFile != null && names.size() != 1)) {
+            usage(out);
+            return EXIT_USAGE;
+        }
+        if (archiveFile != null) {
+            return pack(new File(names.get(0)), archiveFile, out);
+        }
+
+        Config config;
+        try {
+            config = new Config();
+        } catch (InvalidConfigException e) {
+            out.println("Invalid configuration: " + e.getMessage());
+            return EXIT_USAGE;
+        }
+        ProofVerifier verifier = new ProofVerifier(config);
+
+        List<File> files = new ArrayList<>();
+        for (String name : names) {
+            collectFiles(new File(name), files);
+        }
+        if (runs > 0) {
+            int status = EXIT_SOLVED;
+            for (File file : files) {
+                status = Math.max(status, time(file, verifier, runs, out));
+            }
+            return status;
+        }
+        if (uniqueness) {
+            int status = EXIT_SOLVED;
+            for (File file : files) {
+                status = Math.max(status, checkUniqueness(file, verifier, out));
+            }
+            return status;
+        }
+
+        GradingCache cache = null;
+        try {
+            if (cacheFile != null) {
+                cache = new GradingCache(cacheFile, GradingCache.fingerprint(config));
+            }
+            int status = EXIT_SOLVED;
+            for (File file : files) {
+                if (SubmissionArchive.isArchive(file)) {
+                    status = Math.max(status, verifyArchive(file, verifier, cache, quiet, out));
+                    continue;
+                }
+                try {
+                    VerificationReport report =
+                            cache != null ? cache.verify(file, verifier) : verifier.verify(file);
+                    status = Math.max(status, print(file.getPath(), report, quiet, out));
+                } catch (InvalidFileFormatException | IOException | RuntimeException e) {
+                    out.println(file.getPath() + "\tInvalid\t" + e.getMessage());
+                    status = EXIT_INVALID;
+                }
+            }
+            return status;
+        } catch (IOException e) {
+            out.println("Unable to open grading cache: " + e.getMessage());
+            return EXIT_USAGE;
+        } finally {
+            if (cache != null) {
+                try {
+                    cache.close();
+                } catch (IOException e) {
+                    out.println("Unable to close grading cache: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static int verifyArchive(
+            File file, ProofVerifier verifier, GradingCache cache, boolean quiet, PrintStream out) {
+        int status = EXIT_SOLVED;
+        try (SubmissionArchive archive = new SubmissionArchive(file)) {
+            for (SubmissionArchive.Entry entry : archive.getEntries()) {
+                String name = file.getPath() + "!" + entry.getPath();
+                try {
+                    VerificationReport report =
+                            cache != null
+                                    ? cache.verify(archive, entry, verifier)
+                                    : verifier.verify(archive.load(entry, verifier));
+                    status = Math.max(status, print(name, report, quiet, out));
+                } catch (InvalidFileFormatException | IOException | RuntimeException e) {
+                    out.println(name + "\tInvalid\t" + e.getMessage());
+                    status = EXIT_INVALID;
+                }
+            }
+        } catch (InvalidFileFormatException | IOException e) {
+            out.println(file.getPath() + "\tInvalid\t" + e.getMessage());
+            status = EXIT_INVALID;
+        }
+        return status;
+    }
+
+    private static int checkUniqueness(File file, ProofVerifier verifier, PrintStream out) {
+        if (!SubmissionArchive.isArchive(file)) {
+            try {
+                return print(file.getPath(), verifier.load(file), verifier, out);
+            } catch (InvalidFileFormatException | RuntimeException e) {
+                out.println(file.getPath() + "\tInvalid\t" + e.getMessage());
+                return EXIT_INVALID;
+            }
+        }
+        int status = EXIT_SOLVED;
+        try (SubmissionArchive archive = new SubmissionArchive(file)) {
+            for (SubmissionArchive.Entry entry : archive.getEntries()) {
+                String name = file.getPath() + "!" + entry.getPath();
+                try {
+                    status =
+                            Math.max(
+                                    status,
+                                    print(name, archive.load(entry, verifier), verifier, out));
+                } catch (InvalidFileFormatException | RuntimeException e) {
+                    out.println(name + "\tInvalid\t" + e.getMessage());
+                    status = EXIT_INVALID;
+                }
+            }
+        } catch (InvalidFileFormatException | IOException e) {
+            out.println(file.getPath() + "\tInvalid\t" + e.getMessage());
+            status = EXIT_INVALID;
+        }
+        return status;
+    }
+
+    private static int time(File file, ProofVerifier verifier, int runs, PrintStream out) {
+        try {
+            Puzzle puzzle = null;
+            long total = 0;
+            long best = Long.MAX_VALUE;
+            for (int i = 0; i < runs; i++) {
+                long start = System.nanoTime();
+                puzzle = verifier.load(file);
+                long elapsed = System.nanoTime() - start;
+                total += elapsed;
+                best = Math.min(best, elapsed);
+            }
+            out.println(
+                    file.getPath()
+                            + "\t"
+                            + puzzle.getName()
+                            + "\t"
+                            + countTransitions(puzzle.getTree().getRootNode())
+                            + " transitions\t"
+                            + String.format(
+                                    "%.3f ms mean\t%.3f ms best", total / 1e6 / runs, best / 1e6));
+            return EXIT_SOLVED;
+        } catch (InvalidFileFormatException | RuntimeException e) {
+            out.println(file.getPath() + "\tInvalid\t" + e.getMessage());
+            return EXIT_INVALID;
+        }
+    }
+
+    private static int countTransitions(TreeNode rootNode) {
+        Set<TreeTransition> transitions = new HashSet<>();
+        Deque<TreeNode> nodes = new ArrayDeque<>();
+        nodes.add(rootNode);
+        while (!nodes.isEmpty()) {
+            for (TreeTransition transition : nodes.poll().getChildren()) {
+                if (transitions.add(transition) && transition.getChildNode() != null) {
+                    nodes.add(transition.getChildNode());
+                }
+            }
+        }
+        return transitions.size();
+    }
+
+    private static int print(String name, Puzzle puzzle, ProofVerifier verifier, PrintStream out) {
+        UniquenessResult result =
+                verifier.checkUniqueness(puzzle, SolutionCounter.DEFAULT_TIMEOUT);
+        out.println(name + "\t" + puzzle.getName() + "\t" + result.getMessage());
+        return result.isUnique() ? EXIT_SOLVED : EXIT_UNSOLVED;
+    }
+
+    private static int print(
+            String name, VerificationReport report, boolean quiet, PrintStream out) {
+        if (!quiet) {
+            for (TransitionResult result : report.getTransitions()) {
+                out.println(name + "\t" + result);
+            }
+        }
+        out.println(
+                name
+                        + "\t"
+                        + report.getPuzzleName()
+                        + "\t"
+                        + (report.isComplete() ? "Solved" : "Unsolved"));
+        return report.isComplete() ? EXIT_SOLVED : EXIT_UNSOLVED;
+    }
+
+    private static int pack(File folder, File archiveFile, PrintStream out) {
+        if (!folder.isDirectory()) {
+            usage(out);
+            return EXIT_USAGE;
+        }
+        try {
+            int count = SubmissionArchiveWriter.pack(folder, archiveFile);
+            out.println(archiveFile.getPath() + "\t" + count + " files packed");
+            return EXIT_SOLVED;
+        } catch (IOException e) {
+            out.println("Unable to pack " + folder.getPath() + ": " + e.getMessage());
+            return EXIT_INVALID;
+        }
+    }
+
+    private static int generate(List<String> args, PrintStream out) {
+        if (args.size() != 5) {
+            usage(out);
+            return EXIT_USAGE;
+        }
+        int count;
+        int difficulty;
+        long seed;
+        try {
+            count = Integer.parseInt(args.get(1));
+            difficulty = Integer.parseInt(args.get(2));
+            seed = Long.parseLong(args.get(3));
+        } catch (NumberFormatException e) {
+            usage(out);
+            return EXIT_USAGE;
+        }
+        File folder = new File(args.get(4));
+        if (count < 1
+                || difficulty < PuzzleGenerator.MIN_DIFFICULTY
+                || difficulty > PuzzleGenerator.MAX_DIFFICULTY
+                || !(folder.isDirectory() || folder.mkdirs())) {
+            usage(out);
+            return EXIT_USAGE;
+        }
+
+        ProofVerifier verifier;
+        PuzzleGenerator generator;
+        try {
+            verifier = new ProofVerifier(new Config());
+            generator = verifier.createPuzzle(args.get(0)).getGenerator(difficulty);
+        } catch (InvalidConfigException | InvalidFileFormatException e) {
+            out.println(args.get(0) + "\tInvalid\t" + e.getMessage());
+            return EXIT_USAGE;
+        }
+        if (generator == null) {
+            out.println(args.get(0) + "\tInvalid\tno generator for this puzzle");
+            return EXIT_USAGE;
+        }
+
+        List<Board> boards = generator.generate(count, difficulty, seed);
+        for (int i = 0; i < boards.size(); i++) {
+            String tag = args.get(0) + "-" + difficulty + "-" + seed + "-" + (i + 1);
+            File file = new File(folder, tag + ".xml");
+            try {
+                Puzzle puzzle = verifier.createPuzzle(args.get(0));
+                puzzle.setTree(new Tree(boards.get(i)));
+                puzzle.setCurrentBoard(boards.get(i));
+                puzzle.setTag(tag);
+                puzzle.getExporter().exportPuzzle(file.getPath());
+                out.println(file.getPath() + "\t" + puzzle.getName() + "\tGenerated");
+            } catch (InvalidFileFormatException | ExportFileException e) {
+                out.println(file.getPath() + "\tInvalid\t" + e.getMessage());
+                return EXIT_INVALID;
+            }
+        }
+        if (boards.size() < count) {
+            out.println(args.get(0) + "\tonly " + boards.size() + " distinct puzzles found");
+            return EXIT_UNSOLVED;
+        }
+        return EXIT_SOLVED;
+    }
+
+    private static void usage(PrintStream out) {
+        out.println("usage: HeadlessRunner [-q] [-c cache] file|directory|archive...");
+        out.println("       HeadlessRunner -p archive directory");
+        out.println("       HeadlessRunner -u file|directory|archive...");
+        out.println("       HeadlessRunner -t runs file|directory...");
+        out.println("       HeadlessRunner -g puzzle count difficulty seed directory");
+    }
+
+    private static void collectFiles(File file, List<File> files) {
+        File[] children = file.listFiles();
+        if (children == null) {
+            if (!file.getName().equals(GradingCache.FILE_NAME)) {
+                files.add(file);
+            }
+            return;
+        }
+        Arrays.sort(children);
+        for (File child : children) {
+            collectFiles(child, files);
+        }
+    }
+}
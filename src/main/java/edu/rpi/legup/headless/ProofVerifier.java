@@ -0,0 +1,258 @@
+package edu.rpi.legup.headless;
+
+import edu.rpi.legup.app.Config;
+import edu.rpi.legup.app.InvalidConfigException;
+import edu.rpi.legup.headless.TransitionResult.Status;
+import edu.rpi.legup.model.Puzzle;
+import edu.rpi.legup.model.PuzzleImporter;
+import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.rules.CaseRule;
+import edu.rpi.legup.model.rules.Rule;
+import edu.rpi.legup.model.solver.SolutionCounter;
+import edu.rpi.legup.model.solver.UniquenessResult;
+import edu.rpi.legup.model.tree.Tree;
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import edu.rpi.legup.utility.Instrumentation;
+import edu.rpi.legup.utility.Instrumentation.Operation;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+/**
+ * The {@code ProofVerifier} class loads puzzle files and verifies their proofs without the user
+ * interface. Unlike {@link edu.rpi.legup.app.GameBoardFacade}, it holds no global state and never
+ * creates any views, so it can be used from servers and tests, and from several threads as long as
+ * each puzzle is only used by one thread at a time.
+ */
+public class ProofVerifier {
+    private static final Logger LOGGER = LogManager.getLogger(ProofVerifier.class.getName());
+
+    private final Config config;
+
+    /**
+     * ProofVerifier Constructor creates a verifier for the puzzles of the default configuration
+     *
+     * @throws InvalidConfigException if the configuration cannot be loaded
+     */
+    public ProofVerifier() throws InvalidConfigException {
+        this(new Config());
+    }
+
+    /**
+     * ProofVerifier Constructor creates a verifier for the puzzles of the specified configuration
+     *
+     * @param config configuration mapping puzzle names to puzzle classes
+     */
+    public ProofVerifier(Config config) {
+        this.config = config;
+    }
+
+    /**
+     * Loads a puzzle and its proof tree from the specified file
+     *
+     * @param file puzzle file
+     * @return the loaded puzzle
+     * @throws InvalidFileFormatException if the file cannot be read or is not a valid puzzle file
+     */
+    public Puzzle load(File file) throws InvalidFileFormatException {
+        try (InputStream inputStream = new FileInputStream(file)) {
+            return load(inputStream);
+        } catch (IOException e) {
+            LOGGER.error("Invalid file " + file, e);
+            throw new InvalidFileFormatException("Could not find file");
+        }
+    }
+
+    /**
+     * Loads a puzzle and its proof tree from the specified input stream
+     *
+     * @param inputStream input stream of a puzzle file
+     * @return the loaded puzzle
+     * @throws InvalidFileFormatException if the input is not a valid puzzle file
+     */
+    public Puzzle load(InputStream inputStream) throws InvalidFileFormatException {
+        long start = Instrumentation.start();
+        Document document;
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            document = builder.parse(inputStream);
+        } catch (IOException | SAXException | ParserConfigurationException e) {
+            LOGGER.error("Invalid file", e);
+            throw new InvalidFileFormatException("Could not find file");
+        }
+        Puzzle puzzle = load(document);
+        Instrumentation.record(Operation.IMPORT, puzzle.getName(), start);
+        return puzzle;
+    }
+
+    /**
+     * Loads a puzzle and its proof tree from a parsed puzzle file
+     *
+     * @param document parsed puzzle file
+     * @return the loaded puzzle
+     * @throws InvalidFileFormatException if the document is not a valid puzzle file
+     */
+    public Puzzle load(Document document) throws InvalidFileFormatException {
+        Element rootNode = document.getDocumentElement();
+        if (!rootNode.getTagName().equals("Legup")) {
+            throw new InvalidFileFormatException("Invalid file: must be a Legup file");
+        }
+        Node node = rootNode.getElementsByTagName("puzzle").item(0);
+        if (node == null || node.getAttributes().getNamedItem("name") == null) {
+            throw new InvalidFileFormatException("Invalid file: missing puzzle name");
+        }
+        Puzzle puzzle = createPuzzle(node.getAttributes().getNamedItem("name").getNodeValue());
+        PuzzleImporter importer = puzzle.getImporter();
+        if (importer == null) {
+            throw new InvalidFileFormatException("Puzzle importer null");
+        }
+        importer.initializePuzzle(node);
+        return puzzle;
+    }
+
+    /**
+     * Creates an empty puzzle of the specified type, for instance to generate boards of it
+     *
+     * @param name name of the puzzle in the configuration
+     * @return a new puzzle without a board
+     * @throws InvalidFileFormatException if the configuration has no puzzle with that name
+     */
+    public Puzzle createPuzzle(String name) throws InvalidFileFormatException {
+        String qualifiedClassName = config.getPuzzleClassForName(name);
+        if (qualifiedClassName == null) {
+            throw new InvalidFileFormatException(
+                    "Puzzle creation error: cannot find puzzle with that name");
+        }
+
+        try {
+            Class<?> c = Class.forName(qualifiedClassName);
+            Constructor<?> cons = c.getConstructor();
+            return (Puzzle) cons.newInstance();
+        } catch (ClassNotFoundException
+                | NoSuchMethodException
+                | InvocationTargetException
+                | IllegalAccessException
+                | InstantiationException e) {
+            LOGGER.error(e);
+            throw new InvalidFileFormatException("Puzzle creation error");
+        }
+    }
+
+    /**
+     * Loads the specified puzzle file and verifies its proof
+     *
+     * @param file puzzle file
+     * @return report of the verified proof
+     * @throws InvalidFileFormatException if the file cannot be read or is not a valid puzzle file
+     */
+    public VerificationReport verify(File file) throws InvalidFileFormatException {
+        return verify(load(file));
+    }
+
+    /**
+     * Verifies every transition of the proof tree of a loaded puzzle
+     *
+     * @param puzzle loaded puzzle
+     * @return report of the verified proof
+     */
+    public VerificationReport verify(Puzzle puzzle) {
+        List<TransitionResult> results = new ArrayList<>();
+        Tree tree = puzzle.getTree();
+        if (tree == null || tree.getRootNode() == null) {
+            return new VerificationReport(puzzle.getName(), results, false);
+        }
+
+        // merged transitions have several parents, so only the first path to them is reported
+        Set<TreeTransition> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        // a case rule checks a whole case split at once, so its message is kept per parent node
+        Map<TreeNode, String> caseMessages = new IdentityHashMap<>();
+        Queue<TreeNode> nodes = new ArrayDeque<>();
+        Queue<String> paths = new ArrayDeque<>();
+        nodes.add(tree.getRootNode());
+        paths.add("");
+        while (!nodes.isEmpty()) {
+            TreeNode node = nodes.poll();
+            String path = paths.poll();
+            List<TreeTransition> children = node.getChildren();
+            for (int i = 0; i < children.size(); i++) {
+                TreeTransition transition = children.get(i);
+                if (!visited.add(transition)) {
+                    continue;
+                }
+                String childPath = path.isEmpty() ? String.valueOf(i) : path + "." + i;
+                results.add(verify(transition, childPath, caseMessages));
+                if (transition.getChildNode() != null) {
+                    nodes.add(transition.getChildNode());
+                    paths.add(childPath);
+                }
+            }
+        }
+        return new VerificationReport(puzzle.getName(), results, puzzle.isPuzzleComplete());
+    }
+
+    /**
+     * Counts the solutions of the initial board of a loaded puzzle, up to {@link
+     * SolutionCounter#LIMIT}
+     *
+     * @param puzzle loaded puzzle
+     * @param timeout time after which the search gives up, in milliseconds
+     * @return result of the count
+     */
+    public UniquenessResult checkUniqueness(Puzzle puzzle, long timeout) {
+        Tree tree = puzzle.getTree();
+        Board board =
+                tree != null && tree.getRootNode() != null
+                        ? tree.getRootNode().getBoard()
+                        : puzzle.getCurrentBoard();
+        SolutionCounter counter = new SolutionCounter(puzzle);
+        counter.setTimeout(timeout);
+        return counter.count(board);
+    }
+
+    private TransitionResult verify(
+            TreeTransition transition, String path, Map<TreeNode, String> caseMessages) {
+        Rule rule = transition.getRule();
+        if (!transition.isJustified()) {
+            return new TransitionResult(path, null, null, Status.UNJUSTIFIED, null);
+        }
+        if (transition.isCorrect()) {
+            return new TransitionResult(
+                    path, rule.getRuleID(), rule.getRuleName(), Status.CORRECT, null);
+        }
+        String message;
+        if (rule instanceof CaseRule && transition.getParents().size() == 1) {
+            TreeNode parent = transition.getParents().get(0);
+            if (!caseMessages.containsKey(parent)) {
+                caseMessages.put(parent, rule.checkRule(transition));
+            }
+            message = caseMessages.get(parent);
+        } else {
+            message = rule.checkRule(transition);
+        }
+        return new TransitionResult(
+                path, rule.getRuleID(), rule.getRuleName(), Status.INCORRECT, message);
+    }
+}
@@ -0,0 +1,360 @@
+package edu.rpi.legup.headless;
+
+import edu.rpi.legup.model.Puzzle;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@code SubmissionArchive} class reads an archive of puzzle files written by {@link
+ * SubmissionArchiveWriter}. The whole archive is memory mapped when it is opened, and the index
+ * at its end lists the path, puzzle name, tag, solved state and content hash of every entry, so a
+ * grader can select and iterate thousands of submissions without opening or parsing a file per
+ * submission.
+ *
+ * <pre>
+ * header   magic "LGPA", version (int), entry count (int), index offset (long)
+ * contents the puzzle files, one after the other
+ * index    for each entry: path, puzzle name, tag, isSolved, lastSaved (int length followed by
+ *          UTF-8 bytes each), content offset (long), content length (int), SHA-256 of the
+ *          content (32 bytes)
+ * </pre>
+ *
+ * Archives are limited to 2 GB, the largest region that can be mapped at once.
+ */
+public class SubmissionArchive implements Closeable {
+    /** Extension used for submission archives */
+    public static final String EXTENSION = ".lga";
+
+    static final int MAGIC = 0x4c475041; // "LGPA"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 20;
+    static final int HASH_SIZE = 32;
+    // five empty strings, the content offset and length and the hash
+    static final int MIN_ENTRY_SIZE = 5 * Integer.BYTES + Long.BYTES + Integer.BYTES + HASH_SIZE;
+
+    private final File file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final List<Entry> entries;
+
+    /**
+     * SubmissionArchive Constructor maps the specified archive and reads its index
+     *
+     * @param file archive file
+     * @throws IOException if the file cannot be read
+     * @throws InvalidFileFormatException if the file is not a valid submission archive
+     */
+    public SubmissionArchive(File file) throws IOException, InvalidFileFormatException {
+        this.file = file;
+        this.channel = new RandomAccessFile(file, "r").getChannel();
+        try {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new InvalidFileFormatException("Invalid submission archive size");
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).asReadOnlyBuffer();
+            this.entries = Collections.unmodifiableList(readIndex());
+        } catch (IOException | InvalidFileFormatException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks whether a file starts with the header of a submission archive
+     *
+     * @param file file to check
+     * @return true if the file is a submission archive, false otherwise
+     */
+    public static boolean isArchive(File file) {
+        if (!file.isFile() || file.length() < HEADER_SIZE) {
+            return false;
+        }
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            return in.readInt() == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the archive file
+     *
+     * @return the archive file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Gets the entries of the archive, in the order they were added
+     *
+     * @return unmodifiable list of entries
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Gets the content of an entry without copying it
+     *
+     * @param entry entry of this archive
+     * @return read only buffer over the puzzle file of the entry
+     */
+    public ByteBuffer getContent(Entry entry) {
+        return buffer.slice(entry.offset, entry.length).asReadOnlyBuffer();
+    }
+
+    /**
+     * Opens a stream over the content of an entry
+     *
+     * @param entry entry of this archive
+     * @return stream reading the puzzle file of the entry
+     */
+    public InputStream openStream(Entry entry) {
+        return new ByteBufferInputStream(getContent(entry));
+    }
+
+    /**
+     * Loads the puzzle of an entry, after checking its content against the hash in the index
+     *
+     * @param entry entry of this archive
+     * @param verifier verifier used to load the puzzle
+     * @return the loaded puzzle
+     * @throws InvalidFileFormatException if the content of the entry does not match its hash or
+     *     is not a valid puzzle file
+     */
+    public Puzzle load(Entry entry, ProofVerifier verifier) throws InvalidFileFormatException {
+        if (!MessageDigest.isEqual(entry.hash, sha256(getContent(entry)))) {
+            throw new InvalidFileFormatException(
+                    "Corrupted submission archive entry " + entry.path);
+        }
+        return verifier.load(openStream(entry));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private List<Entry> readIndex() throws InvalidFileFormatException {
+        try {
+            ByteBuffer in = buffer.duplicate();
+            if (in.getInt() != MAGIC) {
+                throw new InvalidFileFormatException("Not a submission archive");
+            }
+            int version = in.getInt();
+            if (version != VERSION) {
+                throw new InvalidFileFormatException(
+                        "Unsupported submission archive version " + version);
+            }
+            int count = in.getInt();
+            long indexOffset = in.getLong();
+            if (count < 0 || indexOffset < HEADER_SIZE || indexOffset > buffer.limit()) {
+                throw new InvalidFileFormatException("Invalid submission archive header");
+            }
+            if (count > (buffer.limit() - indexOffset) / MIN_ENTRY_SIZE) {
+                throw new InvalidFileFormatException("Invalid submission archive entry count");
+            }
+
+            in.position((int) indexOffset);
+            List<Entry> list = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String path = readString(in);
+                String puzzleName = readString(in);
+                String tag = readString(in);
+                String isSolved = readString(in);
+                String lastSaved = readString(in);
+                long offset = in.getLong();
+                int length = in.getInt();
+                byte[] hash = new byte[HASH_SIZE];
+                in.get(hash);
+                if (offset < HEADER_SIZE || length < 0 || offset + length > indexOffset) {
+                    throw new InvalidFileFormatException(
+                            "Invalid submission archive entry " + path);
+                }
+                list.add(
+                        new Entry(
+                                path,
+                                puzzleName,
+                                tag,
+                                isSolved,
+                                lastSaved,
+                                (int) offset,
+                                length,
+                                hash));
+            }
+            return list;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new InvalidFileFormatException("Truncated submission archive");
+        }
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] sha256(ByteBuffer content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(content);
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /** An entry of a submission archive, as described by the index */
+    public static final class Entry {
+        private final String path;
+        private final String puzzleName;
+        private final String tag;
+        private final String isSolved;
+        private final String lastSaved;
+        private final int offset;
+        private final int length;
+        private final byte[] hash;
+
+        Entry(
+                String path,
+                String puzzleName,
+                String tag,
+                String isSolved,
+                String lastSaved,
+                int offset,
+                int length,
+                byte[] hash) {
+            this.path = path;
+            this.puzzleName = puzzleName;
+            this.tag = tag;
+            this.isSolved = isSolved;
+            this.lastSaved = lastSaved;
+            this.offset = offset;
+            this.length = length;
+            this.hash = hash;
+        }
+
+        /**
+         * Gets the path of the puzzle file relative to the packed folder, using '/' separators
+         *
+         * @return path of the entry
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * Gets the name of the puzzle file, the last segment of its path
+         *
+         * @return file name of the entry
+         */
+        public String getFileName() {
+            return path.substring(path.lastIndexOf('/') + 1);
+        }
+
+        /**
+         * Gets the folder of the puzzle file relative to the packed folder
+         *
+         * @return folder of the entry, or an empty string if it was at the top of the folder
+         */
+        public String getFolder() {
+            int index = path.lastIndexOf('/');
+            return index < 0 ? "" : path.substring(0, index);
+        }
+
+        public String getPuzzleName() {
+            return puzzleName;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+
+        /**
+         * Gets the obfuscated solved state saved in the puzzle file, see {@link
+         * edu.rpi.legup.model.PuzzleExporter#inverseHash(int, String)}
+         *
+         * @return the isSolved attribute, or an empty string if the file has none
+         */
+        public String getIsSolved() {
+            return isSolved;
+        }
+
+        /**
+         * Gets the time the puzzle file was saved
+         *
+         * @return the lastSaved attribute, or an empty string if the file has none
+         */
+        public String getLastSaved() {
+            return lastSaved;
+        }
+
+        /**
+         * Gets the length of the puzzle file
+         *
+         * @return length in bytes
+         */
+        public int getLength() {
+            return length;
+        }
+
+        /**
+         * Gets the SHA-256 hash of the puzzle file
+         *
+         * @return copy of the hash
+         */
+        public byte[] getHash() {
+            return hash.clone();
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package edu.rpi.legup.headless;
+
+import edu.rpi.legup.model.Puzzle;
+import edu.rpi.legup.model.PuzzleExporter;
+import edu.rpi.legup.save.ExportFileException;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.SAXException;
+
+/**
+ * The {@code SubmissionArchiveWriter} class packs puzzle files into a submission archive, see
+ * {@link SubmissionArchive} for the format. The contents are written as they are added and the
+ * index is written when the writer is closed.
+ */
+public class SubmissionArchiveWriter implements Closeable {
+    private static final Logger LOGGER =
+            LogManager.getLogger(SubmissionArchiveWriter.class.getName());
+
+    private final FileChannel channel;
+    private final ByteArrayOutputStream index;
+    private final DataOutputStream indexOut;
+    private long position;
+    private int count;
+    private boolean closed;
+
+    /**
+     * SubmissionArchiveWriter Constructor creates the specified archive, replacing any existing
+     * file
+     *
+     * @param file archive file
+     * @throws IOException if the file cannot be written
+     */
+    public SubmissionArchiveWriter(File file) throws IOException {
+        this.channel =
+                FileChannel.open(
+                        file.toPath(),
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+        this.index = new ByteArrayOutputStream();
+        this.indexOut = new DataOutputStream(index);
+        this.position = SubmissionArchive.HEADER_SIZE;
+        channel.position(position);
+    }
+
+    /**
+     * Packs the puzzle files found below a folder into an archive. Files that are not puzzle files,
+     * hidden files, grading results and other archives are skipped.
+     *
+     * @param folder folder to pack
+     * @param archive archive file to create
+     * @return number of puzzle files packed
+     * @throws IOException if a file cannot be read or the archive cannot be written
+     */
+    public static int pack(File folder, File archive) throws IOException {
+        try (SubmissionArchiveWriter writer = new SubmissionArchiveWriter(archive)) {
+            writer.addFolder(folder, "", archive.getAbsoluteFile());
+            return writer.count;
+        }
+    }
+
+    /**
+     * Adds a puzzle file to the archive
+     *
+     * @param path path of the puzzle file relative to the packed folder, using '/' separators
+     * @param content the puzzle file
+     * @throws InvalidFileFormatException if the content is not a puzzle file
+     * @throws IOException if the archive cannot be written
+     */
+    public void add(String path, byte[] content) throws InvalidFileFormatException, IOException {
+        Document document;
+        try {
+            document =
+                    DocumentBuilderFactory.newInstance()
+                            .newDocumentBuilder()
+                            .parse(new ByteArrayInputStream(content));
+        } catch (SAXException | ParserConfigurationException e) {
+            throw new InvalidFileFormatException("Could not parse " + path);
+        }
+        Element rootNode = document.getDocumentElement();
+        Element puzzleElement = (Element) rootNode.getElementsByTagName("puzzle").item(0);
+        if (!rootNode.getTagName().equals("Legup") || puzzleElement == null) {
+            throw new InvalidFileFormatException("Invalid file: must be a Legup file");
+        }
+        Element solvedElement = (Element) rootNode.getElementsByTagName("solved").item(0);
+        add(
+                path,
+                puzzleElement.getAttribute("name"),
+                puzzleElement.getAttribute("tag"),
+                solvedElement == null ? "" : solvedElement.getAttribute("isSolved"),
+                solvedElement == null ? "" : solvedElement.getAttribute("lastSaved"),
+                content);
+    }
+
+    /**
+     * Exports a puzzle and adds it to the archive
+     *
+     * @param path path of the puzzle file relative to the packed folder, using '/' separators
+     * @param puzzle puzzle to export
+     * @throws ExportFileException if the puzzle cannot be exported
+     * @throws IOException if the archive cannot be written
+     */
+    public void add(String path, Puzzle puzzle) throws ExportFileException, IOException {
+        PuzzleExporter exporter = puzzle.getExporter();
+        if (exporter == null) {
+            throw new ExportFileException("Puzzle exporter null");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.exportPuzzle(out);
+        try {
+            add(path, out.toByteArray());
+        } catch (InvalidFileFormatException e) {
+            throw new ExportFileException(e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the index and the header and closes the archive
+     *
+     * @throws IOException if the archive cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            indexOut.flush();
+            write(ByteBuffer.wrap(index.toByteArray()));
+            ByteBuffer header = ByteBuffer.allocate(SubmissionArchive.HEADER_SIZE);
+            header.putInt(SubmissionArchive.MAGIC);
+            header.putInt(SubmissionArchive.VERSION);
+            header.putInt(count);
+            header.putLong(position);
+            header.flip();
+            channel.position(0);
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void add(
+            String path,
+            String puzzleName,
+            String tag,
+            String isSolved,
+            String lastSaved,
+            byte[] content)
+            throws IOException {
+        if (position + content.length > Integer.MAX_VALUE) {
+            throw new IOException("Submission archive is limited to 2 GB");
+        }
+        long offset = position;
+        write(ByteBuffer.wrap(content));
+        position += content.length;
+
+        writeString(path);
+        writeString(puzzleName);
+        writeString(tag);
+        writeString(isSolved);
+        writeString(lastSaved);
+        indexOut.writeLong(offset);
+        indexOut.writeInt(content.length);
+        indexOut.write(sha256(content));
+        count++;
+    }
+
+    private void addFolder(File folder, String path, File archive) throws IOException {
+        File[] children = folder.listFiles();
+        if (children == null) {
+            return;
+        }
+        Arrays.sort(children);
+        for (File child : children) {
+            String name = child.getName();
+            String childPath = path.isEmpty() ? name : path + "/" + name;
+            if (child.isDirectory()) {
+                addFolder(child, childPath, archive);
+                continue;
+            }
+            if (name.startsWith(".")
+                    || name.equals("result.csv")
+                    || child.getAbsoluteFile().equals(archive)
+                    || SubmissionArchive.isArchive(child)) {
+                continue;
+            }
+            try {
+                add(childPath, Files.readAllBytes(child.toPath()));
+            } catch (InvalidFileFormatException e) {
+                LOGGER.info("Not packing " + childPath + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        indexOut.writeInt(bytes.length);
+        indexOut.write(bytes);
+    }
+
+    private void write(ByteBuffer data) throws IOException {
+        while (data.hasRemaining()) {
+            channel.write(data);
+        }
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package edu.rpi.legup.headless;
+
+/**
+ * The {@code TransitionResult} class holds the outcome of verifying a single transition of a proof
+ * tree without the user interface
+ */
+public class TransitionResult {
+    /** Verification status of a transition */
+    public enum Status {
+        CORRECT,
+        INCORRECT,
+        UNJUSTIFIED
+    }
+
+    private final String path;
+    private final String ruleId;
+    private final String ruleName;
+    private final Status status;
+    private final String message;
+
+    /**
+     * TransitionResult Constructor creates the result of verifying a transition
+     *
+     * @param path location of the transition in the proof tree
+     * @param ruleId id of the rule justifying the transition, null if it is unjustified
+     * @param ruleName name of the rule justifying the transition, null if it is unjustified
+     * @param status verification status of the transition
+     * @param message error message of the rule, null if the transition is correct
+     */
+    public TransitionResult(
+            String path, String ruleId, String ruleName, Status status, String message) {
+        this.path = path;
+        this.ruleId = ruleId;
+        this.ruleName = ruleName;
+        this.status = status;
+        this.message = message;
+    }
+
+    /**
+     * Gets the location of the transition in the proof tree. The location lists the index of the
+     * transition among the children of each node on the way from the root node, separated by
+     * {@code '.'}
+     *
+     * @return path of the transition
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the id of the rule justifying the transition
+     *
+     * @return rule id, or null if the transition is unjustified
+     */
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    /**
+     * Gets the name of the rule justifying the transition
+     *
+     * @return rule name, or null if the transition is unjustified
+     */
+    public String getRuleName() {
+        return ruleName;
+    }
+
+    /**
+     * Gets the verification status of the transition
+     *
+     * @return status of the transition
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the reason the transition is not correct
+     *
+     * @return error message, or null if the transition is correct
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Determines whether the transition is correctly justified
+     *
+     * @return true if the transition is correct, false otherwise
+     */
+    public boolean isCorrect() {
+        return status == Status.CORRECT;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(path).append('\t').append(status);
+        builder.append('\t').append(ruleName == null ? "-" : ruleName);
+        if (message != null) {
+            builder.append('\t').append(message);
+        }
+        return builder.toString();
+    }
+}
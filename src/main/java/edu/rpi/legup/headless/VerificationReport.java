@@ -0,0 +1,71 @@
+package edu.rpi.legup.headless;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@code VerificationReport} class holds the outcome of verifying the proof of a puzzle without
+ * the user interface: the result of every transition of the proof tree and whether the puzzle is
+ * solved
+ */
+public class VerificationReport {
+    private final String puzzleName;
+    private final List<TransitionResult> transitions;
+    private final boolean complete;
+
+    /**
+     * VerificationReport Constructor creates the report of a verified proof
+     *
+     * @param puzzleName name of the puzzle
+     * @param transitions results of the transitions of the proof tree, in breadth first order
+     * @param complete true if the puzzle is solved correctly, false otherwise
+     */
+    public VerificationReport(
+            String puzzleName, List<TransitionResult> transitions, boolean complete) {
+        this.puzzleName = puzzleName;
+        this.transitions = Collections.unmodifiableList(transitions);
+        this.complete = complete;
+    }
+
+    /**
+     * Gets the name of the verified puzzle
+     *
+     * @return puzzle name
+     */
+    public String getPuzzleName() {
+        return puzzleName;
+    }
+
+    /**
+     * Gets the results of the transitions of the proof tree
+     *
+     * @return unmodifiable list of transition results, in breadth first order
+     */
+    public List<TransitionResult> getTransitions() {
+        return transitions;
+    }
+
+    /**
+     * Determines whether every transition of the proof tree is correctly justified
+     *
+     * @return true if all transitions are correct, false otherwise
+     */
+    public boolean isValid() {
+        for (TransitionResult result : transitions) {
+            if (!result.isCorrect()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines whether the puzzle is solved correctly, as {@link
+     * edu.rpi.legup.model.Puzzle#isPuzzleComplete()}
+     *
+     * @return true if the puzzle is solved, false otherwise
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+}
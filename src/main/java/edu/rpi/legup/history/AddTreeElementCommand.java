@@ -38,7 +38,7 @@ public class AddTreeElementCommand extends PuzzleCommand {
     @Override
     public void executeCommand() {
         Tree tree = GameBoardFacade.getInstance().getTree();
-        TreeView treeView = GameBoardFacade.getInstance().getLegupUI().getTreePanel().getTreeView();
+        TreeView treeView = GameBoardFacade.getInstance().getTreeView();
         Puzzle puzzle = GameBoardFacade.getInstance().getPuzzleModule();
         final TreeViewSelection newSelection = new TreeViewSelection();
 
@@ -109,7 +109,7 @@ public class AddTreeElementCommand extends PuzzleCommand {
     @Override
     public void undoCommand() {
         Tree tree = GameBoardFacade.getInstance().getTree();
-        TreeView treeView = GameBoardFacade.getInstance().getLegupUI().getTreePanel().getTreeView();
+        TreeView treeView = GameBoardFacade.getInstance().getTreeView();
         Puzzle puzzle = GameBoardFacade.getInstance().getPuzzleModule();
         final TreeViewSelection newSelection = new TreeViewSelection();
 
@@ -6,6 +6,7 @@ import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.rules.DirectRule;
 import edu.rpi.legup.model.tree.*;
 import edu.rpi.legup.ui.proofeditorui.treeview.*;
+import edu.rpi.legup.utility.Instrumentation;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -13,9 +14,10 @@ import java.util.Map;
 /**
  * The ApplyDefaultDirectRuleCommand class represents a command to apply a default direct rule to
  * selected tree nodes in the proof tree. It extends the PuzzleCommand class to handle rule
- * application and undo operation.
+ * application and undo operation. The boards of the added transitions can always be regenerated
+ * from the rule, so they are released when the undone command is compacted.
  */
-public class ApplyDefaultDirectRuleCommand extends PuzzleCommand {
+public class ApplyDefaultDirectRuleCommand extends PuzzleCommand implements ICompactableCommand {
 
     private TreeViewSelection selection;
     private DirectRule rule;
@@ -81,7 +83,7 @@ public class ApplyDefaultDirectRuleCommand extends PuzzleCommand {
     @Override
     public void executeCommand() {
         Tree tree = GameBoardFacade.getInstance().getTree();
-        TreeView treeView = GameBoardFacade.getInstance().getLegupUI().getTreePanel().getTreeView();
+        TreeView treeView = GameBoardFacade.getInstance().getTreeView();
         Puzzle puzzle = GameBoardFacade.getInstance().getPuzzleModule();
         final TreeViewSelection newSelection = new TreeViewSelection();
 
@@ -102,7 +104,7 @@ public class ApplyDefaultDirectRuleCommand extends PuzzleCommand {
             transition.setRule(rule);
             Board defaultBoard = rule.getDefaultBoard(node);
             transition.setBoard(defaultBoard);
-            Board copyBoard = defaultBoard.copy();
+            Board copyBoard = Instrumentation.copy(defaultBoard);
             copyBoard.setModifiable(false);
             childNode.setBoard(copyBoard);
 
@@ -123,6 +125,7 @@ public class ApplyDefaultDirectRuleCommand extends PuzzleCommand {
      */
     @Override
     public void undoCommand() {
+        Tree tree = GameBoardFacade.getInstance().getTree();
         Puzzle puzzle = GameBoardFacade.getInstance().getPuzzleModule();
 
         for (TreeElementView selectedView : selection.getSelectedViews()) {
@@ -130,6 +133,7 @@ public class ApplyDefaultDirectRuleCommand extends PuzzleCommand {
             TreeNode node = nodeView.getTreeElement();
             final TreeTransition transition = addMap.get(node);
 
+            tree.removeTreeElement(transition);
             puzzle.notifyTreeListeners(listener -> listener.onTreeElementRemoved(transition));
         }
 
@@ -137,4 +141,57 @@ public class ApplyDefaultDirectRuleCommand extends PuzzleCommand {
         puzzle.notifyBoardListeners(listener -> listener.onTreeElementChanged(finalTreeElement));
         puzzle.notifyTreeListeners(listener -> listener.onTreeSelectionChanged(selection));
     }
+
+    /**
+     * Gets an estimate of the number of bytes retained by the transitions this command added while
+     * they are detached from the tree
+     *
+     * @return estimated size in bytes
+     */
+    @Override
+    public long getRetainedSize() {
+        long size = 0;
+        for (TreeTransition transition : addMap.values()) {
+            if (isDetached(transition)) {
+                size += TransitionDelta.estimateSize(transition);
+            }
+        }
+        return size;
+    }
+
+    /** Releases the boards of the added transitions while they are detached from the tree */
+    @Override
+    public void compact() {
+        for (TreeTransition transition : addMap.values()) {
+            if (isDetached(transition)) {
+                transition.setBoard(null);
+                if (transition.getChildNode() != null) {
+                    transition.getChildNode().setBoard(null);
+                }
+            }
+        }
+    }
+
+    /** Regenerates the released boards of the added transitions */
+    @Override
+    public void expand() {
+        for (Map.Entry<TreeNode, TreeTransition> entry : addMap.entrySet()) {
+            TreeTransition transition = entry.getValue();
+            if (transition.getBoard() == null) {
+                Board defaultBoard = rule.getDefaultBoard(entry.getKey());
+                transition.setBoard(defaultBoard);
+                if (transition.getChildNode() != null) {
+                    Board copyBoard = Instrumentation.copy(defaultBoard);
+                    copyBoard.setModifiable(false);
+                    transition.getChildNode().setBoard(copyBoard);
+                }
+            }
+        }
+    }
+
+    private boolean isDetached(TreeTransition transition) {
+        return getState() == CommandState.UNDOED
+                && transition.getParents().stream()
+                        .noneMatch(node -> node.getChildren().contains(transition));
+    }
 }
@@ -10,15 +10,22 @@ import edu.rpi.legup.model.rules.CaseRule;
 import edu.rpi.legup.model.tree.*;
 import edu.rpi.legup.ui.boardview.ElementView;
 import edu.rpi.legup.ui.proofeditorui.treeview.*;
+import edu.rpi.legup.utility.Instrumentation;
+import edu.rpi.legup.utility.Instrumentation.Operation;
 import java.awt.event.MouseEvent;
 import java.util.*;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 /**
  * The AutoCaseRuleCommand class represents a command to automatically apply a case rule to a
  * selected tree node in the proof tree. It extends the PuzzleCommand class to handle case rule
- * application and undo operation.
+ * application and undo operation. The case board is released once the cases have been generated,
+ * and the case transitions are compacted into {@link TransitionDelta}s while the command is undone.
  */
-public class AutoCaseRuleCommand extends PuzzleCommand {
+public class AutoCaseRuleCommand extends PuzzleCommand implements ICompactableCommand {
+    private static final Logger LOGGER =
+            LogManager.getLogger(AutoCaseRuleCommand.class.getName());
 
     private ElementView elementView;
     private TreeViewSelection selection;
@@ -27,6 +34,7 @@ public class AutoCaseRuleCommand extends PuzzleCommand {
     private MouseEvent mouseEvent;
 
     private List<TreeTransition> caseTrans;
+    private List<TransitionDelta> deltas;
 
     /**
      * AutoCaseRuleCommand Constructor creates a command for validating a case rule
@@ -49,6 +57,7 @@ public class AutoCaseRuleCommand extends PuzzleCommand {
         this.caseBoard = caseBoard;
         this.mouseEvent = mouseEvent;
         this.caseTrans = new ArrayList<>();
+        this.deltas = new ArrayList<>();
     }
 
     /**
@@ -58,14 +67,16 @@ public class AutoCaseRuleCommand extends PuzzleCommand {
     @Override
     public void executeCommand() {
         Tree tree = getInstance().getTree();
-        TreeView treeView = GameBoardFacade.getInstance().getLegupUI().getTreePanel().getTreeView();
+        TreeView treeView = GameBoardFacade.getInstance().getTreeView();
         Puzzle puzzle = GameBoardFacade.getInstance().getPuzzleModule();
         final TreeViewSelection newSelection = new TreeViewSelection();
 
         TreeNode node = (TreeNode) selection.getFirstSelection().getTreeElement();
         if (caseTrans.isEmpty()) {
+            long start = Instrumentation.start();
             List<Board> cases =
-                    caseRule.getCases(caseBoard.getBaseBoard(), elementView.getPuzzleElement());
+                    caseRule.getCases(caseBoard.getSourceBoard(), elementView.getPuzzleElement());
+            Instrumentation.record(Operation.GET_CASES, caseRule.getRuleID(), start);
             for (Board board : cases) {
                 final TreeTransition transition = (TreeTransition) tree.addTreeElement(node);
                 // board.setModifiable(false);
@@ -79,6 +90,8 @@ public class AutoCaseRuleCommand extends PuzzleCommand {
                 puzzle.notifyTreeListeners(listener -> listener.onTreeElementAdded(transition));
                 newSelection.addToSelection(treeView.getElementView(childNode));
             }
+            // the cases are kept by the transitions, the case board is only needed to generate them
+            caseBoard = null;
         } else {
             for (final TreeTransition transition : caseTrans) {
                 tree.addTreeElement(node, transition);
@@ -119,14 +132,15 @@ public class AutoCaseRuleCommand extends PuzzleCommand {
             return "The selected data element is not pickable with this case rule.";
         }
 
-        if (caseRule.getCases(caseBoard.getBaseBoard(), elementView.getPuzzleElement()).size()
-                == 0) {
+        long start = Instrumentation.start();
+        int numberOfCaseRules =
+                caseRule.countCases(caseBoard.getSourceBoard(), elementView.getPuzzleElement());
+        Instrumentation.record(Operation.GET_CASES, caseRule.getRuleID(), start);
+        if (numberOfCaseRules == 0) {
             return "The selection must produce at least one case";
         }
 
-        int numberOfCaseRules =
-                caseRule.getCases(caseBoard.getBaseBoard(), elementView.getPuzzleElement()).size();
-        System.out.println("Number of cases:" + numberOfCaseRules);
+        LOGGER.debug("Number of cases: {}", numberOfCaseRules);
         if (numberOfCaseRules > caseRule.MAX_CASES) {
             return "The selection can produce a max of " + caseRule.MAX_CASES + " cases";
         }
@@ -157,4 +171,51 @@ public class AutoCaseRuleCommand extends PuzzleCommand {
         puzzle.notifyBoardListeners(listener -> listener.onTreeElementChanged(finalTreeElement));
         puzzle.notifyTreeListeners(listener -> listener.onTreeSelectionChanged(selection));
     }
+
+    /**
+     * Gets an estimate of the number of bytes retained by the case board and by the case
+     * transitions of this command while they are detached from the tree
+     *
+     * @return estimated size in bytes
+     */
+    @Override
+    public long getRetainedSize() {
+        long size = caseBoard == null ? 0 : TransitionDelta.estimateSize(caseBoard.getBaseBoard());
+        if (!deltas.isEmpty()) {
+            for (TransitionDelta delta : deltas) {
+                size += delta.getSize();
+            }
+        } else if (getState() == CommandState.UNDOED) {
+            for (TreeTransition transition : caseTrans) {
+                size += TransitionDelta.estimateSize(transition);
+            }
+        }
+        return size;
+    }
+
+    /** Compacts the case transitions while they are detached from the tree */
+    @Override
+    public void compact() {
+        if (getState() != CommandState.UNDOED || !deltas.isEmpty()) {
+            return;
+        }
+        Puzzle puzzle = GameBoardFacade.getInstance().getPuzzleModule();
+        for (TreeTransition transition : caseTrans) {
+            TransitionDelta delta = TransitionDelta.compact(transition, puzzle.getFactory());
+            if (delta == null) {
+                expand();
+                return;
+            }
+            deltas.add(delta);
+        }
+    }
+
+    /** Rebuilds the case transitions if they were compacted */
+    @Override
+    public void expand() {
+        for (TransitionDelta delta : deltas) {
+            delta.rehydrate();
+        }
+        deltas.clear();
+    }
 }
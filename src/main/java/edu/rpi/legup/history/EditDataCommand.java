@@ -18,10 +18,12 @@ import javax.swing.*;
 /**
  * The EditDataCommand class represents a command to edit the data of a puzzle element within a tree
  * transition. It extends PuzzleCommand and provides functionality to execute and undo changes made
- * to puzzle elements.
+ * to puzzle elements. When the command created the transition and has been undone, the transition
+ * is detached from the tree and can be compacted into a {@link TransitionDelta}.
  */
-public class EditDataCommand extends PuzzleCommand {
+public class EditDataCommand extends PuzzleCommand implements ICompactableCommand {
     private TreeTransition transition;
+    private TransitionDelta delta;
     private PuzzleElement savePuzzleElement;
     private PuzzleElement puzzleElement;
 
@@ -51,8 +53,8 @@ public class EditDataCommand extends PuzzleCommand {
     public void executeCommand() {
         Puzzle puzzle = getInstance().getPuzzleModule();
         Tree tree = puzzle.getTree();
-        TreeView treeView = getInstance().getLegupUI().getTreePanel().getTreeView();
-        BoardView boardView = getInstance().getLegupUI().getBoardView();
+        TreeView treeView = getInstance().getTreeView();
+        BoardView boardView = getInstance().getBoardView();
         TreeElementView selectedView = selection.getFirstSelection();
         TreeElement treeElement = selectedView.getTreeElement();
 
@@ -64,6 +66,8 @@ public class EditDataCommand extends PuzzleCommand {
             if (treeNode.getChildren().isEmpty()) {
                 if (transition == null) {
                     transition = tree.addNewTransition(treeNode);
+                } else {
+                    tree.addTreeElement(treeNode, transition);
                 }
                 puzzle.notifyTreeListeners(listener -> listener.onTreeElementAdded(transition));
             }
@@ -167,4 +171,46 @@ public class EditDataCommand extends PuzzleCommand {
         puzzle.notifyBoardListeners(listener -> listener.onTreeElementChanged(finalTreeElement));
         puzzle.notifyTreeListeners(listener -> listener.onTreeSelectionChanged(selection));
     }
+
+    /**
+     * Gets an estimate of the number of bytes retained by the transition this command created
+     * while it is detached from the tree
+     *
+     * @return estimated size in bytes
+     */
+    @Override
+    public long getRetainedSize() {
+        if (delta != null) {
+            return delta.getSize();
+        }
+        return isDetached() ? TransitionDelta.estimateSize(transition) : 0;
+    }
+
+    /** Compacts the transition created by this command while it is detached from the tree */
+    @Override
+    public void compact() {
+        if (delta == null && isDetached()) {
+            delta =
+                    TransitionDelta.compact(
+                            transition, getInstance().getPuzzleModule().getFactory());
+        }
+    }
+
+    /** Rebuilds the transition board if it was compacted */
+    @Override
+    public void expand() {
+        if (delta != null) {
+            delta.rehydrate();
+            delta = null;
+        }
+    }
+
+    private boolean createdTransition() {
+        return transition != null
+                && selection.getFirstSelection().getType() == TreeElementType.NODE;
+    }
+
+    private boolean isDetached() {
+        return getState() == CommandState.UNDOED && createdTransition();
+    }
 }
@@ -1,6 +1,7 @@
 package edu.rpi.legup.history;
 
 import edu.rpi.legup.app.GameBoardFacade;
+import edu.rpi.legup.app.LegupPreferences;
 import java.util.ArrayList;
 import java.util.List;
 import org.apache.logging.log4j.LogManager;
@@ -10,6 +11,14 @@ import org.apache.logging.log4j.Logger;
  * The History class manages a stack of commands for undo and redo operations on the board and tree
  * structure. It maintains a list of commands and a current index to track the position in the
  * history stack.
+ *
+ * <p>The memory that only the history keeps alive is kept within a budget (see {@link
+ * LegupPreferences#HISTORY_MEMORY_BUDGET}). This is the memory retained by {@link
+ * ICompactableCommand}s for tree elements that are not part of the proof tree, such as the
+ * transitions of undone commands; the boards of executed commands belong to the tree and are not
+ * counted. When the budget is exceeded the oldest commands are compacted first, and if that is not
+ * enough the commands retaining memory are dropped from the stack, oldest first and then the
+ * furthest redo commands. Compacted commands are expanded again before they are undone or redone.
  */
 public class History {
     private static final Logger LOGGER = LogManager.getLogger(History.class.getName());
@@ -17,14 +26,26 @@ public class History {
     private final Object lock = new Object();
     private List<ICommand> history;
     private int curIndex;
+    private long memoryBudget;
 
     /**
      * Constructs a History object to keep track of changes and allow undo and redo operations. The
-     * history is implemented as a stack, with curIndex pointing to the top of the stack.
+     * history is implemented as a stack, with curIndex pointing to the top of the stack. The memory
+     * budget is read from the user preferences.
      */
     public History() {
+        this(getPreferredBudget());
+    }
+
+    /**
+     * Constructs a History object with the specified memory budget
+     *
+     * @param memoryBudget maximum number of bytes retained by the commands on the stack
+     */
+    public History(long memoryBudget) {
         history = new ArrayList<>();
         curIndex = -1;
+        this.memoryBudget = memoryBudget;
     }
 
     /**
@@ -43,6 +64,7 @@ public class History {
             }
             history.add(command);
             curIndex++;
+            enforceBudget();
             LOGGER.info("Pushed " + command.getClass().getSimpleName() + " to stack.");
             GameBoardFacade.getInstance().notifyHistoryListeners(l -> l.onPushChange(command));
         }
@@ -56,7 +78,9 @@ public class History {
         synchronized (lock) {
             if (curIndex > -1) {
                 ICommand command = history.get(curIndex--);
+                expand(command);
                 command.undo();
+                enforceBudget();
                 LOGGER.info("Undoed " + command.getClass().getSimpleName());
 
                 GameBoardFacade.getInstance()
@@ -74,7 +98,9 @@ public class History {
         synchronized (lock) {
             if (curIndex < history.size() - 1) {
                 ICommand command = history.get(++curIndex);
+                expand(command);
                 command.redo();
+                enforceBudget();
                 LOGGER.info("Redoed " + command.getClass().getSimpleName());
                 GameBoardFacade.getInstance()
                         .notifyHistoryListeners(
@@ -83,6 +109,110 @@ public class History {
         }
     }
 
+    /**
+     * Gets the estimated number of bytes retained by the commands on the stack
+     *
+     * @return retained size in bytes
+     */
+    public long getRetainedSize() {
+        synchronized (lock) {
+            long size = 0;
+            for (ICommand command : history) {
+                if (command instanceof ICompactableCommand) {
+                    size += ((ICompactableCommand) command).getRetainedSize();
+                }
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Gets the maximum number of bytes the commands on the stack may retain
+     *
+     * @return memory budget in bytes
+     */
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Sets the maximum number of bytes the commands on the stack may retain
+     *
+     * @param memoryBudget memory budget in bytes
+     */
+    public void setMemoryBudget(long memoryBudget) {
+        synchronized (lock) {
+            this.memoryBudget = memoryBudget;
+            enforceBudget();
+        }
+    }
+
+    /**
+     * Compacts the oldest commands until the retained size is within budget, then drops the oldest
+     * commands (and, as a last resort, the furthest redo commands) if it is still over budget. Old
+     * commands are only dropped while some of them retain memory, since dropping the others would
+     * lose undo steps without freeing anything. The command at the top of the stack is never
+     * dropped.
+     */
+    private void enforceBudget() {
+        long size = getRetainedSize();
+        if (size <= memoryBudget) {
+            return;
+        }
+        for (int i = 0; i < history.size() && size > memoryBudget; i++) {
+            ICommand command = history.get(i);
+            if (command instanceof ICompactableCommand) {
+                ICompactableCommand compactable = (ICompactableCommand) command;
+                long before = compactable.getRetainedSize();
+                compactable.compact();
+                size -= before - compactable.getRetainedSize();
+            }
+        }
+        long oldSize = 0;
+        for (int i = 0; i < curIndex; i++) {
+            oldSize += sizeOf(history.get(i));
+        }
+        int dropped = 0;
+        while (size > memoryBudget && oldSize > 0) {
+            long freed = sizeOf(history.remove(0));
+            size -= freed;
+            oldSize -= freed;
+            curIndex--;
+            dropped++;
+        }
+        while (size > memoryBudget && history.size() - 1 > curIndex && curIndex >= 0) {
+            size -= sizeOf(history.remove(history.size() - 1));
+            dropped++;
+        }
+        if (dropped > 0) {
+            LOGGER.info("Dropped " + dropped + " commands to stay within the history budget.");
+        }
+    }
+
+    private static long sizeOf(ICommand command) {
+        if (command instanceof ICompactableCommand) {
+            return ((ICompactableCommand) command).getRetainedSize();
+        }
+        return 0;
+    }
+
+    private static void expand(ICommand command) {
+        if (command instanceof ICompactableCommand) {
+            ((ICompactableCommand) command).expand();
+        }
+    }
+
+    private static long getPreferredBudget() {
+        String budget =
+                LegupPreferences.getInstance().getUserPref(LegupPreferences.HISTORY_MEMORY_BUDGET);
+        try {
+            return Long.parseLong(budget) * 1024 * 1024;
+        } catch (NumberFormatException e) {
+            LOGGER.error("Invalid history memory budget: " + budget);
+            return Long.parseLong(LegupPreferences.DEFAULT_HISTORY_MEMORY_BUDGET) * 1024 * 1024;
+        }
+    }
+
     /** Clears all actions from the history stack and resets the current index */
     public void clear() {
         history.clear();
@@ -0,0 +1,30 @@
+package edu.rpi.legup.history;
+
+/**
+ * The ICompactableCommand interface is implemented by commands that retain boards or tree elements
+ * outside of the proof tree (for example, to be able to redo themselves). {@link History} uses it
+ * to keep the memory used by the undo stack within its budget.
+ */
+public interface ICompactableCommand extends ICommand {
+    /**
+     * Gets an estimate of the number of bytes that only this command keeps alive: the boards of the
+     * tree elements it holds while they are detached from the proof tree, or their compact form.
+     * Boards of tree elements that are part of the proof tree are not counted, since dropping the
+     * command would not release them.
+     *
+     * @return estimated size in bytes
+     */
+    long getRetainedSize();
+
+    /**
+     * Replaces the boards retained by this command with a compact form. Does nothing if nothing can
+     * be compacted in the current state of the command.
+     */
+    void compact();
+
+    /**
+     * Rebuilds anything released by {@link #compact()}. Called by {@link History} before the
+     * command is undone or redone.
+     */
+    void expand();
+}
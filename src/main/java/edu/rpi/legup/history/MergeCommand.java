@@ -6,6 +6,7 @@ import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.rules.MergeRule;
 import edu.rpi.legup.model.tree.*;
 import edu.rpi.legup.ui.proofeditorui.treeview.*;
+import edu.rpi.legup.utility.Instrumentation;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -33,25 +34,19 @@ public class MergeCommand extends PuzzleCommand {
     public void executeCommand() {
         List<TreeElementView> selectedViews = selection.getSelectedViews();
 
-        TreeView treeView = GameBoardFacade.getInstance().getLegupUI().getTreePanel().getTreeView();
+        TreeView treeView = GameBoardFacade.getInstance().getTreeView();
         Puzzle puzzle = GameBoardFacade.getInstance().getPuzzleModule();
 
         TreeNode mergedNode;
         if (transition == null) {
             List<TreeNode> mergingNodes = new ArrayList<>();
-            List<Board> mergingBoards = new ArrayList<>();
             for (TreeElementView view : selectedViews) {
-                TreeNode node = ((TreeNodeView) view).getTreeElement();
-                mergingNodes.add(node);
-                mergingBoards.add(node.getBoard());
+                mergingNodes.add(((TreeNodeView) view).getTreeElement());
             }
 
-            TreeNode lca = Tree.getLowestCommonAncestor(mergingNodes);
-            Board lcaBoard = lca.getBoard();
+            Board mergedBoard = new BranchMerge(mergingNodes).getMergedBoard();
 
-            Board mergedBoard = lcaBoard.mergedBoard(lcaBoard, mergingBoards);
-
-            mergedNode = new TreeNode(mergedBoard.copy());
+            mergedNode = new TreeNode(Instrumentation.copy(mergedBoard));
             transition = new TreeTransition(mergedBoard);
             transition.setRule(new MergeRule());
             transition.setChildNode(mergedNode);
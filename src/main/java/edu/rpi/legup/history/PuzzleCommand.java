@@ -17,6 +17,15 @@ public abstract class PuzzleCommand implements ICommand {
         this.cachedError = null;
     }
 
+    /**
+     * Gets the current state of the command
+     *
+     * @return state of the command
+     */
+    protected CommandState getState() {
+        return state;
+    }
+
     /** Executes the command if it can be executed */
     @Override
     public final void execute() {
@@ -0,0 +1,286 @@
+package edu.rpi.legup.history;
+
+import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.gameboard.ElementFactory;
+import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Compact form of the boards held by a {@link TreeTransition} that is not currently part of the
+ * proof tree (for example, a transition kept by an undone command so that it can be redone). Only
+ * the modified elements of the transition board are kept, exported with the puzzle's {@link
+ * ElementFactory} and deflated in memory. The transition and its child node keep their identity,
+ * so other commands and views that reference them remain valid; only their boards are released
+ * until {@link #rehydrate()} rebuilds them from the parent node's board.
+ */
+public class TransitionDelta {
+    private static final Logger LOGGER = LogManager.getLogger(TransitionDelta.class.getName());
+
+    /** Rough number of bytes retained per puzzle element of a board (element, location, data) */
+    private static final int ELEMENT_SIZE = 96;
+
+    /** Rough number of bytes retained by a board regardless of its elements */
+    private static final int BOARD_SIZE = 128;
+
+    private static final int MODIFIABLE = 1;
+    private static final int MODIFIABLE_CASE_RULE = 2;
+    private static final int GIVEN = 4;
+
+    private final TreeTransition transition;
+    private final ElementFactory factory;
+    private final boolean transitionModifiable;
+    private final boolean childModifiable;
+    private final byte[] data;
+
+    private TransitionDelta(
+            TreeTransition transition,
+            ElementFactory factory,
+            boolean transitionModifiable,
+            boolean childModifiable,
+            byte[] data) {
+        this.transition = transition;
+        this.factory = factory;
+        this.transitionModifiable = transitionModifiable;
+        this.childModifiable = childModifiable;
+        this.data = data;
+    }
+
+    /**
+     * Estimates the number of bytes retained by a board
+     *
+     * @param board board to estimate, may be null
+     * @return estimated size in bytes
+     */
+    public static long estimateSize(Board board) {
+        if (board == null) {
+            return 0;
+        }
+        return BOARD_SIZE + (long) board.getElementCount() * ELEMENT_SIZE;
+    }
+
+    /**
+     * Estimates the number of bytes retained by the boards of a transition and its child node
+     *
+     * @param transition transition to estimate, may be null
+     * @return estimated size in bytes
+     */
+    public static long estimateSize(TreeTransition transition) {
+        if (transition == null) {
+            return 0;
+        }
+        long size = estimateSize(transition.getBoard());
+        if (transition.getChildNode() != null) {
+            size += estimateSize(transition.getChildNode().getBoard());
+        }
+        return size;
+    }
+
+    /**
+     * Compacts the boards of a detached transition and its child node. The boards are only released
+     * once the delta has been verified to rebuild an equivalent board.
+     *
+     * @param transition transition whose first parent node is still part of the tree
+     * @param factory element factory of the puzzle
+     * @return the delta, or null if the transition could not be compacted
+     */
+    public static TransitionDelta compact(TreeTransition transition, ElementFactory factory) {
+        Board board = transition.getBoard();
+        if (board == null || factory == null || transition.getParents().isEmpty()) {
+            return null;
+        }
+        TreeNode child = transition.getChildNode();
+        try {
+            TransitionDelta delta =
+                    new TransitionDelta(
+                            transition,
+                            factory,
+                            board.isModifiable(),
+                            child == null || child.getBoard() == null
+                                    || child.getBoard().isModifiable(),
+                            encode(board, factory));
+            Board rebuilt = delta.rebuild();
+            if (!board.equalsBoard(rebuilt)
+                    || !rebuilt.equalsBoard(board)
+                    || board.getModifiedData().size() != rebuilt.getModifiedData().size()) {
+                LOGGER.debug("Transition board could not be rebuilt from its delta");
+                return null;
+            }
+            transition.setBoard(null);
+            if (child != null) {
+                child.setBoard(null);
+            }
+            return delta;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Unable to compact transition", e);
+            return null;
+        }
+    }
+
+    /**
+     * Rebuilds the boards of the transition and its child node from the parent node's board. Does
+     * nothing if the boards are already present.
+     */
+    public void rehydrate() {
+        if (transition.getBoard() != null) {
+            return;
+        }
+        try {
+            Board board = rebuild();
+            transition.setBoard(board);
+            TreeNode child = transition.getChildNode();
+            if (child != null) {
+                Board childBoard = board.copy();
+                childBoard.setModifiable(childModifiable);
+                child.setBoard(childBoard);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to rehydrate compacted transition", e);
+        }
+    }
+
+    /**
+     * Gets the number of bytes used by the compressed delta
+     *
+     * @return size in bytes
+     */
+    public int getSize() {
+        return data.length;
+    }
+
+    /**
+     * Gets the transition this delta belongs to
+     *
+     * @return the transition
+     */
+    public TreeTransition getTransition() {
+        return transition;
+    }
+
+    private Board rebuild() throws IOException {
+        Board board = transition.getParents().get(0).getBoard().copy();
+        board.setModifiable(transitionModifiable);
+        try (DataInputStream in =
+                new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data)))) {
+            int count = in.readInt();
+            List<Integer> flags = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                flags.add((int) in.readByte());
+            }
+            Document document = parse(in.readBoolean() ? readXml(in) : "<delta/>");
+            List<Node> cells = new ArrayList<>();
+            for (Node node = document.getDocumentElement().getFirstChild();
+                    node != null;
+                    node = node.getNextSibling()) {
+                if (node.getNodeType() == Node.ELEMENT_NODE) {
+                    cells.add(node);
+                }
+            }
+            for (int i = 0; i < cells.size(); i++) {
+                PuzzleElement<?> element = factory.importCell(cells.get(i), board);
+                int flag = flags.get(i);
+                element.setModifiable((flag & MODIFIABLE) != 0);
+                element.setModifiableCaseRule((flag & MODIFIABLE_CASE_RULE) != 0);
+                element.setGiven((flag & GIVEN) != 0);
+                board.setPuzzleElement(element.getIndex(), element);
+                board.addModifiedData(element);
+            }
+        } catch (InvalidFileFormatException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        return board;
+    }
+
+    private static byte[] encode(Board board, ElementFactory factory) throws IOException {
+        Document document = newDocument();
+        Element root = document.createElement("delta");
+        document.appendChild(root);
+
+        List<PuzzleElement> elements = new ArrayList<>(board.getModifiedData());
+        for (PuzzleElement<?> element : elements) {
+            root.appendChild(factory.exportCell(document, element));
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            out.writeInt(elements.size());
+            for (PuzzleElement<?> element : elements) {
+                int flag = 0;
+                flag |= element.isModifiable() ? MODIFIABLE : 0;
+                flag |= element.isModifiableCaseRule() ? MODIFIABLE_CASE_RULE : 0;
+                flag |= element.isGiven() ? GIVEN : 0;
+                out.writeByte(flag);
+            }
+            out.writeBoolean(!elements.isEmpty());
+            if (!elements.isEmpty()) {
+                writeXml(out, document);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeXml(DataOutputStream out, Document document) throws IOException {
+        try {
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+            StringWriter writer = new StringWriter();
+            transformer.transform(new DOMSource(document), new StreamResult(writer));
+            byte[] xml = writer.toString().getBytes("UTF-8");
+            out.writeInt(xml.length);
+            out.write(xml);
+        } catch (TransformerException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private static String readXml(DataInputStream in) throws IOException {
+        byte[] xml = new byte[in.readInt()];
+        in.readFully(xml);
+        return new String(xml, "UTF-8");
+    }
+
+    private static Document newDocument() throws IOException {
+        try {
+            return DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        } catch (ParserConfigurationException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private static Document parse(String xml) throws IOException {
+        try {
+            DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+            return builder.parse(new InputSource(new StringReader(xml)));
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+}
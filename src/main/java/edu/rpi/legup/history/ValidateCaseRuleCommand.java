@@ -41,7 +41,7 @@ public class ValidateCaseRuleCommand extends PuzzleCommand {
     @Override
     public void executeCommand() {
         Tree tree = getInstance().getTree();
-        TreeView treeView = GameBoardFacade.getInstance().getLegupUI().getTreePanel().getTreeView();
+        TreeView treeView = GameBoardFacade.getInstance().getTreeView();
         Puzzle puzzle = GameBoardFacade.getInstance().getPuzzleModule();
         final TreeViewSelection newSelection = new TreeViewSelection();
 
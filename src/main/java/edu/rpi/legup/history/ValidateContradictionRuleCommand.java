@@ -40,7 +40,7 @@ public class ValidateContradictionRuleCommand extends PuzzleCommand {
     @Override
     public void executeCommand() {
         Tree tree = GameBoardFacade.getInstance().getTree();
-        TreeView treeView = GameBoardFacade.getInstance().getLegupUI().getTreePanel().getTreeView();
+        TreeView treeView = GameBoardFacade.getInstance().getTreeView();
         Puzzle puzzle = GameBoardFacade.getInstance().getPuzzleModule();
         final TreeViewSelection newSelection = new TreeViewSelection();
 
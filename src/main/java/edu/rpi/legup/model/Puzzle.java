@@ -4,6 +4,7 @@ import edu.rpi.legup.model.elements.*;
 import edu.rpi.legup.model.elements.Element;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.ElementFactory;
+import edu.rpi.legup.model.generator.PuzzleGenerator;
 import edu.rpi.legup.model.observer.IBoardListener;
 import edu.rpi.legup.model.observer.IBoardSubject;
 import edu.rpi.legup.model.observer.ITreeListener;
@@ -15,6 +16,8 @@ import edu.rpi.legup.model.tree.TreeElementType;
 import edu.rpi.legup.model.tree.TreeNode;
 import edu.rpi.legup.save.InvalidFileFormatException;
 import edu.rpi.legup.ui.boardview.BoardView;
+import edu.rpi.legup.utility.Instrumentation;
+import edu.rpi.legup.utility.Instrumentation.Operation;
 import edu.rpi.legup.utility.LegupUtils;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -191,6 +194,43 @@ public abstract class Puzzle implements IBoardSubject, ITreeSubject {
      */
     public abstract Board generatePuzzle(int difficulty);
 
+    /**
+     * Gets the generator of puzzles of the specified difficulty, for instance to generate a batch
+     * of distinct puzzles with {@link PuzzleGenerator#generate(int, int, long)}. Puzzles without a
+     * generator return null.
+     *
+     * @param difficulty level of difficulty (1-10)
+     * @return the generator, or null if this puzzle has none
+     */
+    public PuzzleGenerator getGenerator(int difficulty) {
+        return null;
+    }
+
+    /**
+     * Counts the solutions of a board with a solver specific to this puzzle, stopping at the
+     * specified limit. Puzzles without such a solver return -1.
+     *
+     * @param board board to solve
+     * @param limit number of solutions after which counting stops
+     * @return number of solutions, at most {@code limit}, or -1 if this puzzle has no solver
+     */
+    public int countSolutions(Board board, int limit) {
+        return -1;
+    }
+
+    /**
+     * Finds the solutions of a board with a solver specific to this puzzle, stopping at the
+     * specified limit. Puzzles without such a solver return null.
+     *
+     * @param board board to solve, it is not modified
+     * @param limit number of solutions after which the search stops
+     * @return solved copies of the board, at most {@code limit}, or null if this puzzle has no
+     *     solver
+     */
+    public List<Board> findSolutions(Board board, int limit) {
+        return null;
+    }
+
     /**
      * Checks if the given height and width are valid board dimensions for the given puzzle
      *
@@ -279,6 +319,7 @@ public abstract class Puzzle implements IBoardSubject, ITreeSubject {
      * @throws InvalidFileFormatException if file stream is invalid
      */
     public void importPuzzle(InputStream inputStream) throws InvalidFileFormatException {
+        long start = Instrumentation.start();
         Document document;
         try {
             DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
@@ -296,6 +337,7 @@ public abstract class Puzzle implements IBoardSubject, ITreeSubject {
                 throw new InvalidFileFormatException("Puzzle importer null");
             }
             importer.initializePuzzle(node);
+            Instrumentation.record(Operation.IMPORT, name, start);
         } else {
             LOGGER.error("Invalid file");
             throw new InvalidFileFormatException("Invalid file: must be a Legup file");
@@ -5,7 +5,10 @@ import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.tree.TreeNode;
 import edu.rpi.legup.model.tree.TreeTransition;
 import edu.rpi.legup.save.ExportFileException;
+import edu.rpi.legup.utility.Instrumentation;
+import edu.rpi.legup.utility.Instrumentation.Operation;
 import java.io.File;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
@@ -91,11 +94,30 @@ public abstract class PuzzleExporter {
      * @throws ExportFileException if puzzle can not be exported
      */
     public void exportPuzzle(String fileName) throws ExportFileException {
-        try {
-            // quick patch for ParserConfigurationException thrown
-            // when a double quote is placed in the file name
-            fileName = fileName.replace("\"", "");
+        // quick patch for ParserConfigurationException thrown
+        // when a double quote is placed in the file name
+        fileName = fileName.replace("\"", "");
+        String idStr =
+                puzzle.getTag().isEmpty()
+                        ? fileName.substring(fileName.lastIndexOf("\\") + 1)
+                        : puzzle.getTag();
+        exportPuzzle(idStr, new StreamResult(new File(fileName)));
+    }
+
+    /**
+     * Exports the puzzle in the xml format to a stream, for instance to pack it into a submission
+     * archive. The stream is not closed.
+     *
+     * @param outputStream stream the puzzle is written to
+     * @throws ExportFileException if puzzle can not be exported
+     */
+    public void exportPuzzle(OutputStream outputStream) throws ExportFileException {
+        exportPuzzle(puzzle.getTag(), new StreamResult(outputStream));
+    }
 
+    private void exportPuzzle(String idStr, StreamResult result) throws ExportFileException {
+        long start = Instrumentation.start();
+        try {
             DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
             DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
             Document newDocument = docBuilder.newDocument();
@@ -105,10 +127,6 @@ public abstract class PuzzleExporter {
             newDocument.appendChild(legupElement);
 
             org.w3c.dom.Element puzzleElement = newDocument.createElement("puzzle");
-            String idStr =
-                    puzzle.getTag().isEmpty()
-                            ? fileName.substring(fileName.lastIndexOf("\\") + 1)
-                            : puzzle.getTag();
             puzzleElement.setAttribute("tag", idStr);
             puzzleElement.setAttribute("name", puzzle.getName());
             legupElement.appendChild(puzzleElement);
@@ -135,9 +153,9 @@ public abstract class PuzzleExporter {
             transformer.setOutputProperty(OutputKeys.INDENT, "yes");
 
             DOMSource source = new DOMSource(newDocument);
-            StreamResult result = new StreamResult(new File(fileName));
 
             transformer.transform(source, result);
+            Instrumentation.record(Operation.EXPORT, puzzle.getName(), start);
         } catch (ParserConfigurationException | TransformerException e) {
             throw new ExportFileException("Puzzle Exporter: parser configuration exception");
         } catch (Exception e) {
@@ -177,7 +195,7 @@ public abstract class PuzzleExporter {
      * @param newDocument The XML document to create elements within.
      * @return An XML element representing the puzzle's tree structure.
      */
-    protected Element createTreeElement(Document newDocument) {
+    public Element createTreeElement(Document newDocument) {
         org.w3c.dom.Element treeElement = newDocument.createElement("tree");
 
         Set<TreeNode> visited = new HashSet<>();
@@ -189,35 +207,52 @@ public abstract class PuzzleExporter {
             if (!visited.contains(treeNode)) {
                 visited.add(treeNode);
 
-                org.w3c.dom.Element nodeElement = newDocument.createElement("node");
-                nodeElement.setAttribute("id", String.valueOf(treeNode.hashCode()));
-                if (treeNode.isRoot()) {
-                    nodeElement.setAttribute("root", "true");
+                treeElement.appendChild(createNodeElement(newDocument, treeNode));
+                for (TreeTransition transition : treeNode.getChildren()) {
+                    if (transition.getChildNode() != null) {
+                        nodes.add(transition.getChildNode());
+                    }
                 }
+            }
+        }
+        return treeElement;
+    }
 
-                for (TreeTransition transition : treeNode.getChildren()) {
-                    org.w3c.dom.Element transElement = newDocument.createElement("transition");
-                    transElement.setAttribute("id", String.valueOf(transition.hashCode()));
+    /**
+     * Creates an XML element representing a tree node and the transitions leading out of it. The
+     * ids of the node and of its transitions and child nodes are their hash codes, so the element
+     * can be matched with the elements of a tree exported earlier in the same session.
+     *
+     * @param newDocument The XML document to create elements within.
+     * @param treeNode The tree node to export.
+     * @return An XML element representing the tree node.
+     */
+    public Element createNodeElement(Document newDocument, TreeNode treeNode) {
+        org.w3c.dom.Element nodeElement = newDocument.createElement("node");
+        nodeElement.setAttribute("id", String.valueOf(treeNode.hashCode()));
+        if (treeNode.isRoot()) {
+            nodeElement.setAttribute("root", "true");
+        }
 
-                    TreeNode child = transition.getChildNode();
-                    if (child != null) {
-                        transElement.setAttribute("child", String.valueOf(child.hashCode()));
-                        nodes.add(child);
-                    }
+        for (TreeTransition transition : treeNode.getChildren()) {
+            org.w3c.dom.Element transElement = newDocument.createElement("transition");
+            transElement.setAttribute("id", String.valueOf(transition.hashCode()));
 
-                    if (transition.isJustified()) {
-                        transElement.setAttribute("rule", transition.getRule().getRuleName());
-                        transElement.setAttribute("rule_id", transition.getRule().getRuleID());
-                    }
+            TreeNode child = transition.getChildNode();
+            if (child != null) {
+                transElement.setAttribute("child", String.valueOf(child.hashCode()));
+            }
 
-                    for (PuzzleElement data : transition.getBoard().getModifiedData()) {
-                        transElement.appendChild(puzzle.getFactory().exportCell(newDocument, data));
-                    }
-                    nodeElement.appendChild(transElement);
-                }
-                treeElement.appendChild(nodeElement);
+            if (transition.isJustified()) {
+                transElement.setAttribute("rule", transition.getRule().getRuleName());
+                transElement.setAttribute("rule_id", transition.getRule().getRuleID());
             }
+
+            for (PuzzleElement data : transition.getBoard().getModifiedData()) {
+                transElement.appendChild(puzzle.getFactory().exportCell(newDocument, data));
+            }
+            nodeElement.appendChild(transElement);
         }
-        return treeElement;
+        return nodeElement;
     }
 }
@@ -6,6 +6,7 @@ import edu.rpi.legup.model.rules.MergeRule;
 import edu.rpi.legup.model.rules.Rule;
 import edu.rpi.legup.model.tree.*;
 import edu.rpi.legup.save.InvalidFileFormatException;
+import edu.rpi.legup.utility.Instrumentation;
 import java.util.*;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -222,7 +223,9 @@ public abstract class PuzzleImporter {
     }
 
     /**
-     * Creates the tree for the edu.rpi.legup.puzzle
+     * Creates the tree for the edu.rpi.legup.puzzle. The boards of the tree are built from the root
+     * down, each one copied once from the board of its parent and the changes recorded in the
+     * file, and every transition is verified once after the whole tree is built.
      *
      * @param node xml document node
      * @throws InvalidFileFormatException if file is invalid
@@ -235,9 +238,9 @@ public abstract class PuzzleImporter {
 
         NodeList nodeList = ((org.w3c.dom.Element) node).getElementsByTagName("node");
 
-        HashMap<String, TreeNode> treeNodes = new HashMap<>();
+        LinkedHashMap<String, TreeNode> treeNodes = new LinkedHashMap<>();
         HashMap<String, TreeTransition> treeTransitions = new HashMap<>();
-        HashMap<TreeTransition, Node> nodeChanges = new HashMap<>();
+        LinkedHashMap<TreeTransition, Node> nodeChanges = new LinkedHashMap<>();
 
         for (int i = 0; i < nodeList.getLength(); i++) {
             org.w3c.dom.Element treeNodeElement = (org.w3c.dom.Element) nodeList.item(i);
@@ -251,13 +254,15 @@ public abstract class PuzzleImporter {
                 throw new InvalidFileFormatException(
                         "Proof Tree construction error: duplicate tree node ID found");
             }
-            TreeNode treeNode = new TreeNode(puzzle.getCurrentBoard().copy());
+            // the board of a node is built when the transition leading to it is applied
+            TreeNode treeNode = new TreeNode(null);
             if (isRoot.equalsIgnoreCase("true")) {
                 if (tree.getRootNode() != null) {
                     throw new InvalidFileFormatException(
                             "Proof Tree construction error: multiple root nodes declared");
                 }
                 treeNode.setRoot(true);
+                treeNode.setBoard(Instrumentation.copy(puzzle.getCurrentBoard()));
                 tree.setRootNode(treeNode);
             }
             treeNodes.put(nodeId, treeNode);
@@ -290,7 +295,7 @@ public abstract class PuzzleImporter {
 
                 TreeNode child = treeNodes.get(childId);
 
-                transition = new TreeTransition(treeNode, treeNode.getBoard().copy());
+                transition = new TreeTransition(treeNode, null);
 
                 Rule rule;
                 if (!ruleName.isEmpty()) {
@@ -314,9 +319,63 @@ public abstract class PuzzleImporter {
         }
 
         // validateTreeStructure(treeNodes, treeTransitions);
-        System.err.println("Tree Size: " + treeTransitions.size());
+        LOGGER.debug("Tree Size: " + treeTransitions.size());
+        List<TreeTransition> applied = new ArrayList<>();
+        Set<TreeTransition> done = new HashSet<>();
+        if (tree.getRootNode() != null) {
+            applyTransitions(tree.getRootNode(), nodeChanges, applied, done);
+        }
+        // nodes the root does not lead to start from the initial board
+        for (TreeNode treeNode : treeNodes.values()) {
+            if (treeNode.getBoard() == null) {
+                treeNode.setBoard(Instrumentation.copy(puzzle.getCurrentBoard()));
+                applyTransitions(treeNode, nodeChanges, applied, done);
+            }
+        }
         for (Map.Entry<TreeTransition, Node> entry : nodeChanges.entrySet()) {
-            makeTransitionChanges(entry.getKey(), entry.getValue());
+            if (done.add(entry.getKey())) {
+                makeTransitionChanges(entry.getKey(), entry.getValue());
+                applied.add(entry.getKey());
+            }
+        }
+
+        for (TreeTransition transition : applied) {
+            transition.reverify();
+        }
+    }
+
+    /**
+     * Applies the transitions below a node in breadth first order. A transition is applied once
+     * all of its parents have a board, so a merge transition waits for its last parent.
+     *
+     * @param start node whose board is already built
+     * @param nodeChanges xml transition element of each transition
+     * @param applied transitions in the order they are applied
+     * @param done transitions that are applied already
+     * @throws InvalidFileFormatException if a transition is invalid
+     */
+    private void applyTransitions(
+            TreeNode start,
+            Map<TreeTransition, Node> nodeChanges,
+            List<TreeTransition> applied,
+            Set<TreeTransition> done)
+            throws InvalidFileFormatException {
+        Deque<TreeNode> ready = new ArrayDeque<>();
+        ready.add(start);
+        while (!ready.isEmpty()) {
+            TreeNode treeNode = ready.poll();
+            for (TreeTransition transition : treeNode.getChildren()) {
+                if (done.contains(transition)
+                        || transition.getParents().stream().anyMatch(p -> p.getBoard() == null)) {
+                    continue;
+                }
+                done.add(transition);
+                makeTransitionChanges(transition, nodeChanges.get(transition));
+                applied.add(transition);
+                if (transition.getChildNode() != null) {
+                    ready.add(transition.getChildNode());
+                }
+            }
         }
     }
 
@@ -395,7 +454,9 @@ public abstract class PuzzleImporter {
     }
 
     /**
-     * Updates the board state based on the changes specified in the TreeTransition.
+     * Builds the board of a TreeTransition and of its child node from the board of its parent
+     * and the changes specified in the xml transition element. The parents must have their boards
+     * already.
      *
      * @param transition the TreeTransition object representing the transition to be updated
      * @param transElement the XML node containing the transition data
@@ -405,36 +466,62 @@ public abstract class PuzzleImporter {
     protected void makeTransitionChanges(TreeTransition transition, Node transElement)
             throws InvalidFileFormatException {
         if (transition.getRule() instanceof MergeRule) {
-            List<TreeNode> mergingNodes = transition.getParents();
-            List<Board> mergingBoards = new ArrayList<>();
-            mergingNodes.forEach(n -> mergingBoards.add(n.getBoard()));
-
-            TreeNode lca = Tree.getLowestCommonAncestor(mergingNodes);
-            if (lca == null) {
+            Board mergedBoard = transition.getBranchMerge().getMergedBoard();
+            if (mergedBoard == null) {
                 throw new InvalidFileFormatException(
                         "Proof Tree construction error: unable to find merge node");
             }
-            Board lcaBoard = lca.getBoard();
-
-            Board mergedBoard = lcaBoard.mergedBoard(lcaBoard, mergingBoards);
 
             transition.setBoard(mergedBoard);
             TreeNode childNode = transition.getChildNode();
             if (childNode != null) {
-                childNode.setBoard(mergedBoard.copy());
+                childNode.setBoard(Instrumentation.copy(mergedBoard));
             }
         } else {
+            Board parentBoard = transition.getParents().get(0).getBoard();
+            Board board = Instrumentation.copy(parentBoard);
+            transition.setBoard(board);
+            TreeNode childNode = transition.getChildNode();
+            Board childBoard = childNode != null ? Instrumentation.copy(board) : null;
+
+            // find starting board
+            TreeNode head = transition.getParents().get(0);
+            while (head.getParent() != null) {
+                head = head.getParent().getParents().get(0);
+            }
+            Board headBoard = head.getBoard();
+
             NodeList cellList = transElement.getChildNodes();
+            List<String> elements = getImporterElements();
             for (int i = 0; i < cellList.getLength(); i++) {
                 Node node = cellList.item(i);
-                List<String> elements = getImporterElements();
                 if (elements.contains(node.getNodeName().toLowerCase())) {
-                    Board board = transition.getBoard();
                     PuzzleElement cell = puzzle.getFactory().importCell(node, board);
 
-                    board.setPuzzleElement(cell.getIndex(), cell);
-                    board.addModifiedData(cell);
-                    transition.propagateChange(cell);
+                    if (cell.getIndex() < 0) {
+                        // elements without an index, such as TreeTent lines, are added to the
+                        // board and are always a change of the transition
+                        board.setPuzzleElement(cell.getIndex(), cell);
+                        board.addModifiedData(cell);
+                    } else {
+                        board.setPuzzleElement(cell.getIndex(), cell);
+                        board.notifyChange(cell);
+                        if (!board.getPuzzleElement(cell)
+                                .equalsData(parentBoard.getPuzzleElement(cell))) {
+                            board.addModifiedData(cell);
+                        }
+                    }
+
+                    if (childBoard != null) {
+                        PuzzleElement copy = cell.copy();
+                        // Set as modifiable if reverted to starting value (and started modifiable)
+                        if (headBoard.getPuzzleElement(cell).equalsData(cell)) {
+                            copy.setModifiable(headBoard.getPuzzleElement(cell).isModifiable());
+                        } else {
+                            copy.setModifiable(false);
+                        }
+                        childBoard.notifyChange(copy);
+                    }
                 } else {
                     if (!node.getNodeName().equalsIgnoreCase("#text")) {
                         throw new InvalidFileFormatException(
@@ -442,6 +529,9 @@ public abstract class PuzzleImporter {
                     }
                 }
             }
+            if (childNode != null) {
+                childNode.setBoard(childBoard);
+            }
         }
     }
 
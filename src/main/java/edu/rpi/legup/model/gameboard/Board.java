@@ -1,8 +1,10 @@
 package edu.rpi.legup.model.gameboard;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -170,8 +172,35 @@ public abstract class Board {
      */
     public void notifyDeletion(PuzzleElement puzzleElement) {}
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Creates the board merging boards that branched from a common ancestor board, comparing every
+     * element of the ancestor
+     *
+     * @param lca board of the lowest common ancestor of the branches
+     * @param boards boards of the branches
+     * @return merged board, or null if there is no ancestor or no branch
+     */
     public Board mergedBoard(Board lca, List<Board> boards) {
+        if (lca == null) {
+            return null;
+        }
+        return mergedBoard(lca, boards, lca.getPuzzleElements());
+    }
+
+    /**
+     * Creates the board merging boards that branched from a common ancestor board. An element
+     * takes the data of the branches when they all agree on it, and keeps the data of the ancestor
+     * otherwise. Only the specified elements of the ancestor are compared, so they must include
+     * every element that differs from the ancestor in all the branches.
+     *
+     * @param lca board of the lowest common ancestor of the branches
+     * @param boards boards of the branches
+     * @param elements elements of the ancestor that may have been changed by the branches
+     * @return merged board, or null if there is no ancestor or no branch
+     */
+    @SuppressWarnings("unchecked")
+    public Board mergedBoard(
+            Board lca, List<Board> boards, Collection<? extends PuzzleElement> elements) {
         if (lca == null || boards.isEmpty()) {
             return null;
         }
@@ -179,15 +208,18 @@ public abstract class Board {
         Board mergedBoard = lca.copy();
 
         Board firstBoard = boards.get(0);
-        for (PuzzleElement lcaData : lca.getPuzzleElements()) {
+        for (PuzzleElement lcaData : elements) {
             PuzzleElement mData = firstBoard.getPuzzleElement(lcaData);
+            if (lcaData.equalsData(mData)) {
+                continue;
+            }
 
             boolean isSame = true;
-            for (Board board : boards) {
-                isSame &= mData.equalsData(board.getPuzzleElement(lcaData));
+            for (int i = 1; i < boards.size() && isSame; i++) {
+                isSame = mData.equalsData(boards.get(i).getPuzzleElement(lcaData));
             }
 
-            if (isSame && !lcaData.equalsData(mData)) {
+            if (isSame) {
                 PuzzleElement mergedData = mergedBoard.getPuzzleElement(lcaData);
                 mergedData.setData(mData.getData());
                 mergedBoard.addModifiedData(mergedData);
@@ -213,6 +245,21 @@ public abstract class Board {
         return true;
     }
 
+    /**
+     * Computes a hash of the contents of this board, the data of each of its {@link PuzzleElement},
+     * so that results computed for a board can be reused for boards with the same contents. Boards
+     * keeping state outside of their elements, such as lines, add it to the hash.
+     *
+     * @return hash of the contents of the board
+     */
+    public long getContentHash() {
+        long hash = getClass().getName().hashCode();
+        for (PuzzleElement element : puzzleElements) {
+            hash = hash * 1_000_003L + (element == null ? 0 : Objects.hashCode(element.getData()));
+        }
+        return hash;
+    }
+
     /**
      * Performs a deep copy of this board.
      *
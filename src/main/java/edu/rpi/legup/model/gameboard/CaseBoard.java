@@ -2,6 +2,7 @@ package edu.rpi.legup.model.gameboard;
 
 import edu.rpi.legup.model.rules.CaseRule;
 import java.awt.event.MouseEvent;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -11,6 +12,7 @@ import java.util.Set;
  */
 public class CaseBoard extends Board {
     protected Board baseBoard;
+    protected Board sourceBoard;
     protected CaseRule caseRule;
     protected Set<PuzzleElement> pickablePuzzleElements;
 
@@ -44,6 +46,15 @@ public class CaseBoard extends Board {
         pickablePuzzleElements.remove(puzzleElement);
     }
 
+    /**
+     * Gets the puzzle elements of the base board this case rule can be applied to
+     *
+     * @return unmodifiable set of the pickable elements
+     */
+    public Set<PuzzleElement> getPickableElements() {
+        return Collections.unmodifiableSet(pickablePuzzleElements);
+    }
+
     /**
      * Checks if a puzzle element is pickable based on the mouse event.
      *
@@ -73,6 +84,25 @@ public class CaseBoard extends Board {
         this.baseBoard = baseBoard;
     }
 
+    /**
+     * Gets the board the cases are generated from. This is the base board, unless the case rule
+     * shows something other than the board being split while an element is picked.
+     *
+     * @return the board the cases are generated from
+     */
+    public Board getSourceBoard() {
+        return sourceBoard != null ? sourceBoard : baseBoard;
+    }
+
+    /**
+     * Sets the board the cases are generated from, when it differs from the base board
+     *
+     * @param sourceBoard the board the cases are generated from
+     */
+    public void setSourceBoard(Board sourceBoard) {
+        this.sourceBoard = sourceBoard;
+    }
+
     /**
      * Retrieves the case rule for this CaseBoard.
      *
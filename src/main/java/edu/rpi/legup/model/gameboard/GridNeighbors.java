@@ -0,0 +1,135 @@
+package edu.rpi.legup.model.gameboard;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code GridNeighbors} class holds the neighbours of every cell of a grid as tables of grid
+ * indexes, where the index of the cell at (x, y) is {@code y * width + x}. The tables only depend
+ * on the dimension of the grid, so they are built once per dimension and shared by every board of
+ * that size. Neighbours are always listed column by column, from the top left to the bottom right.
+ */
+public final class GridNeighbors {
+    private static final Map<Dimension, GridNeighbors> CACHE = new ConcurrentHashMap<>();
+
+    private final int width;
+    private final int height;
+    private final int[][] square;
+    private final int[][] surrounding;
+    private final Map<Integer, int[][]> rings;
+
+    private GridNeighbors(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.square = new int[width * height][];
+        this.surrounding = new int[width * height][];
+        this.rings = new ConcurrentHashMap<>();
+        for (int i = 0; i < square.length; i++) {
+            square[i] = getWithin(i, 1, true);
+            surrounding[i] = getWithin(i, 1, false);
+        }
+    }
+
+    /**
+     * Gets the neighbour tables of a grid
+     *
+     * @param width width of the grid
+     * @param height height of the grid
+     * @return the shared tables for grids of that dimension
+     */
+    public static GridNeighbors of(int width, int height) {
+        return CACHE.computeIfAbsent(
+                new Dimension(width, height), d -> new GridNeighbors(d.width, d.height));
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the grid index of a location
+     *
+     * @param location location of a cell on the grid
+     * @return index of the cell in the tables and in the puzzle elements of a grid board
+     */
+    public int getIndex(Point location) {
+        return location.y * width + location.x;
+    }
+
+    /**
+     * Gets the cells of the 3x3 square centered on a cell, the cell itself included
+     *
+     * @param index grid index of the cell
+     * @return grid indexes of the cells of the square that are on the grid
+     */
+    public int[] getSquare(int index) {
+        return square[index];
+    }
+
+    /**
+     * Gets the cells touching a cell by a side or a corner, the cell itself excluded
+     *
+     * @param index grid index of the cell
+     * @return grid indexes of the up to 8 cells around the cell
+     */
+    public int[] getSurrounding(int index) {
+        return surrounding[index];
+    }
+
+    /**
+     * Gets the cells on the outline of the square of the given radius centered on a cell, that is
+     * the cells whose row or column is exactly {@code radius} away and the other is not further
+     *
+     * @param index grid index of the cell
+     * @param radius distance of the outline from the cell, at least 1
+     * @return grid indexes of the cells of the outline that are on the grid
+     */
+    public int[] getRing(int index, int radius) {
+        if (radius == 1) {
+            return surrounding[index];
+        }
+        return rings.computeIfAbsent(radius, this::buildRings)[index];
+    }
+
+    private int[][] buildRings(int radius) {
+        int[][] table = new int[width * height][];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = buildRing(i % width, i / width, radius);
+        }
+        return table;
+    }
+
+    private int[] getWithin(int index, int radius, boolean center) {
+        int x = index % width;
+        int y = index / width;
+        int[] cells = new int[(2 * radius + 1) * (2 * radius + 1)];
+        int count = 0;
+        for (int i = Math.max(0, x - radius); i <= Math.min(width - 1, x + radius); i++) {
+            for (int j = Math.max(0, y - radius); j <= Math.min(height - 1, y + radius); j++) {
+                if (center || i != x || j != y) {
+                    cells[count++] = j * width + i;
+                }
+            }
+        }
+        return Arrays.copyOf(cells, count);
+    }
+
+    private int[] buildRing(int x, int y, int radius) {
+        int[] cells = new int[8 * radius];
+        int count = 0;
+        for (int i = Math.max(0, x - radius); i <= Math.min(width - 1, x + radius); i++) {
+            for (int j = Math.max(0, y - radius); j <= Math.min(height - 1, y + radius); j++) {
+                if (Math.abs(i - x) == radius || Math.abs(j - y) == radius) {
+                    cells[count++] = j * width + i;
+                }
+            }
+        }
+        return Arrays.copyOf(cells, count);
+    }
+}
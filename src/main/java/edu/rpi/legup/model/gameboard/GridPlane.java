@@ -0,0 +1,167 @@
+package edu.rpi.legup.model.gameboard;
+
+import java.util.Arrays;
+
+/**
+ * The {@code GridPlane} class is a packed copy of the state of a grid: one byte per cell holding a
+ * small code chosen by the puzzle, such as the ordinal of the type of the cell, and for every code
+ * a bitmask per row and per column with the bit of each cell holding that code. Bit {@code x} of a
+ * row is the cell in column {@code x} and bit {@code y} of a column is the cell in row {@code y}.
+ *
+ * <p>Rules that walk whole rows or columns can instead count, compare or cut the lines with a few
+ * operations on the masks. A line has to fit in a long, so a plane only exists for grids no wider
+ * or higher than {@link #MAX_SIZE}; boards keep their cell by cell scans for larger grids.
+ */
+public class GridPlane {
+    /** Largest width or height of a grid that has a plane */
+    public static final int MAX_SIZE = Long.SIZE;
+
+    /** Code of a cell that is not in any mask */
+    public static final int NONE = -1;
+
+    private final int width;
+    private final int height;
+    private final byte[] cells;
+    private final long[][] rows;
+    private final long[][] columns;
+
+    /**
+     * GridPlane Constructor creates a plane where no cell holds a code
+     *
+     * @param width width of the grid
+     * @param height height of the grid
+     * @param codes number of codes, each cell holds a code from 0 to codes - 1 or {@link #NONE}
+     */
+    public GridPlane(int width, int height, int codes) {
+        if (!supports(width, height) || codes > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "A plane holds at most " + MAX_SIZE + " cells per line and 127 codes");
+        }
+        this.width = width;
+        this.height = height;
+        this.cells = new byte[width * height];
+        this.rows = new long[codes][height];
+        this.columns = new long[codes][width];
+        Arrays.fill(cells, (byte) NONE);
+    }
+
+    private GridPlane(GridPlane plane) {
+        this.width = plane.width;
+        this.height = plane.height;
+        this.cells = plane.cells.clone();
+        this.rows = new long[plane.rows.length][];
+        this.columns = new long[plane.columns.length][];
+        for (int code = 0; code < rows.length; code++) {
+            rows[code] = plane.rows[code].clone();
+            columns[code] = plane.columns[code].clone();
+        }
+    }
+
+    /**
+     * Determines whether a grid is small enough to have a plane
+     *
+     * @param width width of the grid
+     * @param height height of the grid
+     * @return true if every row and column fits in a long, false otherwise
+     */
+    public static boolean supports(int width, int height) {
+        return width <= MAX_SIZE && height <= MAX_SIZE;
+    }
+
+    public GridPlane copy() {
+        return new GridPlane(this);
+    }
+
+    /**
+     * Sets the code of a cell, moving its bit from the masks of its old code to those of the new
+     * one. Codes outside of the range of the plane are stored as {@link #NONE}.
+     *
+     * @param x x location of the cell
+     * @param y y location of the cell
+     * @param code new code of the cell
+     */
+    public void set(int x, int y, int code) {
+        if (code < 0 || code >= rows.length) {
+            code = NONE;
+        }
+        int i = y * width + x;
+        int old = cells[i];
+        if (old == code) {
+            return;
+        }
+        if (old != NONE) {
+            rows[old][y] &= ~(1L << x);
+            columns[old][x] &= ~(1L << y);
+        }
+        if (code != NONE) {
+            rows[code][y] |= 1L << x;
+            columns[code][x] |= 1L << y;
+        }
+        cells[i] = (byte) code;
+    }
+
+    /**
+     * Gets the code of a cell
+     *
+     * @param x x location of the cell
+     * @param y y location of the cell
+     * @return code of the cell, {@link #NONE} if it holds none
+     */
+    public int get(int x, int y) {
+        return cells[y * width + x];
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the cells of a row holding a code
+     *
+     * @param code code of the cells
+     * @param y row number
+     * @return mask with bit x set if the cell in column x holds the code
+     */
+    public long getRow(int code, int y) {
+        return rows[code][y];
+    }
+
+    /**
+     * Gets the cells of a column holding a code
+     *
+     * @param code code of the cells
+     * @param x column number
+     * @return mask with bit y set if the cell in row y holds the code
+     */
+    public long getColumn(int code, int x) {
+        return columns[code][x];
+    }
+
+    public int countRow(int code, int y) {
+        return Long.bitCount(rows[code][y]);
+    }
+
+    public int countColumn(int code, int x) {
+        return Long.bitCount(columns[code][x]);
+    }
+
+    /**
+     * Gets the run of a line that holds a position and is bounded by the blocking cells on either
+     * side, or by the ends of the line
+     *
+     * @param blockers mask of the blocking cells of the line
+     * @param position position in the line, which must not be blocking
+     * @return mask of the cells between the closest blockers before and after the position
+     */
+    public static long getSegment(long blockers, int position) {
+        long after = blockers & (-1L << position);
+        long before = blockers & ((1L << position) - 1);
+        long end = after == 0 ? -1L : (after & -after) - 1;
+        long start = before == 0 ? -1L : -(Long.highestOneBit(before) << 1);
+        return end & start;
+    }
+}
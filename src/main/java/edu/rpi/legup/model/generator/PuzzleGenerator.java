@@ -0,0 +1,210 @@
+package edu.rpi.legup.model.generator;
+
+import edu.rpi.legup.model.gameboard.Board;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Base class of the puzzle generators. A generator works on the cells of a puzzle encoded as an
+ * array of integers, with {@link #EMPTY} marking an unknown cell, and produces a puzzle in three
+ * steps:
+ *
+ * <ol>
+ *   <li>a random complete solution is built with the fast solver of the puzzle ({@link
+ *       #createSolution(Random)}),
+ *   <li>clues are removed in random order, putting back every clue whose removal allows a second
+ *       solution, until the number of clues of the requested difficulty is reached ({@link
+ *       #removeClues(int[], int, Random)}),
+ *   <li>the remaining clues are turned into a board ({@link #createBoard(int[])}).
+ * </ol>
+ *
+ * Counting solutions stops at the second one, so candidates that are not unique are rejected as
+ * soon as an alternative solution is found. Batches of puzzles are generated in parallel, one
+ * candidate per task, and duplicate candidates are dropped.
+ *
+ * <p>Generators hold no mutable state, so one instance may be used from several threads.
+ */
+public abstract class PuzzleGenerator {
+    /** Value of a cell without a clue */
+    public static final int EMPTY = -1;
+
+    /** Lowest difficulty accepted by {@link #generate(int, Random)} */
+    public static final int MIN_DIFFICULTY = 1;
+
+    /** Highest difficulty accepted by {@link #generate(int, Random)} */
+    public static final int MAX_DIFFICULTY = 10;
+
+    // number of candidates tried per requested puzzle before a batch gives up on finding more
+    private static final int ATTEMPTS_PER_PUZZLE = 4;
+
+    /**
+     * Generates a puzzle with a unique solution
+     *
+     * @param difficulty level of difficulty (1-10)
+     * @param random source of randomness
+     * @return board of the generated puzzle
+     */
+    public Board generate(int difficulty, Random random) {
+        return createBoard(generateClues(checkDifficulty(difficulty), random));
+    }
+
+    /**
+     * Generates distinct puzzles with a unique solution, in parallel. The same seed always gives
+     * the same puzzles in the same order.
+     *
+     * @param count number of puzzles to generate
+     * @param difficulty level of difficulty (1-10)
+     * @param seed seed of the random sources of the candidates
+     * @return the boards of the generated puzzles, fewer than requested if not enough distinct
+     *     puzzles were found
+     */
+    public List<Board> generate(int count, int difficulty, long seed) {
+        checkDifficulty(difficulty);
+        Map<String, int[]> puzzles = new LinkedHashMap<>();
+        int attempts = 0;
+        int maxAttempts = count * ATTEMPTS_PER_PUZZLE;
+        while (puzzles.size() < count && attempts < maxAttempts) {
+            int first = attempts;
+            int batch = Math.min(count - puzzles.size(), maxAttempts - attempts);
+            List<int[]> candidates =
+                    IntStream.range(first, first + batch)
+                            .parallel()
+                            .mapToObj(i -> generateClues(difficulty, new Random(seed * 31 + i)))
+                            .toList();
+            for (int[] clues : candidates) {
+                if (puzzles.size() < count) {
+                    puzzles.putIfAbsent(Arrays.toString(clues), clues);
+                }
+            }
+            attempts += batch;
+        }
+        List<Board> boards = new ArrayList<>(puzzles.size());
+        for (int[] clues : puzzles.values()) {
+            boards.add(createBoard(clues));
+        }
+        return boards;
+    }
+
+    /**
+     * Generates the clues of a puzzle with a unique solution
+     *
+     * @param difficulty level of difficulty (1-10)
+     * @param random source of randomness
+     * @return the clues of the puzzle, {@link #EMPTY} for the cells without a clue
+     */
+    public int[] generateClues(int difficulty, Random random) {
+        int[] solution = createSolution(random);
+        return removeClues(solution, difficulty, random);
+    }
+
+    /**
+     * Removes clues from a solution in random order while the puzzle keeps a unique solution,
+     * until at most {@link #getClueCount(int, int)} clues are left. Only the first {@link
+     * #getRemovableCount(int[])} values of the solution are considered.
+     *
+     * @param solution complete solution
+     * @param difficulty level of difficulty (1-10)
+     * @param random source of randomness
+     * @return the remaining clues, {@link #EMPTY} for the cells without a clue
+     */
+    protected int[] removeClues(int[] solution, int difficulty, Random random) {
+        int[] clues = solution.clone();
+        int removable = getRemovableCount(solution);
+        int target = getClueCount(difficulty, removable);
+        int[] order = IntStream.range(0, removable).toArray();
+        shuffle(order, random);
+
+        int remaining = removable;
+        for (int index : order) {
+            if (remaining <= target) {
+                break;
+            }
+            int clue = clues[index];
+            clues[index] = EMPTY;
+            if (countSolutions(clues, 2) == 1) {
+                remaining--;
+            } else {
+                clues[index] = clue;
+            }
+        }
+        return clues;
+    }
+
+    /**
+     * Gets the number of values at the start of a solution that are clues which may be removed. The
+     * values after them describe the puzzle itself and are always kept, such as the edge clues of
+     * Skyscrapers. By default every value may be removed.
+     *
+     * @param solution complete solution
+     * @return number of removable values
+     */
+    protected int getRemovableCount(int[] solution) {
+        return solution.length;
+    }
+
+    /**
+     * Gets the number of clues a puzzle of the specified difficulty should keep. Harder puzzles
+     * keep fewer clues; by default the kept share of the cells goes down linearly from one half at
+     * difficulty 1 to none at difficulty 10, where clues are removed for as long as the solution
+     * stays unique.
+     *
+     * @param difficulty level of difficulty (1-10)
+     * @param cells number of cells of the puzzle
+     * @return target number of clues
+     */
+    protected int getClueCount(int difficulty, int cells) {
+        return cells * (MAX_DIFFICULTY - difficulty) / (2 * (MAX_DIFFICULTY - MIN_DIFFICULTY));
+    }
+
+    /**
+     * Builds a random complete solution
+     *
+     * @param random source of randomness
+     * @return the values of all the cells
+     */
+    protected abstract int[] createSolution(Random random);
+
+    /**
+     * Counts the solutions of a puzzle, stopping at the specified limit
+     *
+     * @param clues the clues of the puzzle, {@link #EMPTY} for the cells without a clue
+     * @param limit number of solutions after which counting stops
+     * @return number of solutions, at most {@code limit}
+     */
+    public abstract int countSolutions(int[] clues, int limit);
+
+    /**
+     * Creates the board of a puzzle
+     *
+     * @param clues the clues of the puzzle, {@link #EMPTY} for the cells without a clue
+     * @return the board, with the clues marked as given
+     */
+    public abstract Board createBoard(int[] clues);
+
+    /**
+     * Shuffles an array in place
+     *
+     * @param values array to shuffle
+     * @param random source of randomness
+     */
+    protected static void shuffle(int[] values, Random random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+
+    private static int checkDifficulty(int difficulty) {
+        if (difficulty < MIN_DIFFICULTY || difficulty > MAX_DIFFICULTY) {
+            throw new IllegalArgumentException("Invalid difficulty " + difficulty);
+        }
+        return difficulty;
+    }
+}
@@ -0,0 +1,76 @@
+package edu.rpi.legup.model.rules;
+
+import edu.rpi.legup.model.gameboard.Board;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The {@code BoardAnalysis} class holds the structures computed from a board while its elements
+ * are checked one after another, such as the regions of the board, so that each structure is
+ * computed once per board rather than once per element. Structures are identified by {@link Key}
+ * constants declared by the rules or utility classes computing them, and are shared by every rule
+ * checking the board with the same analysis.
+ *
+ * <p>An analysis is only valid while its board is not modified, and is meant to be used by a single
+ * thread.
+ */
+public class BoardAnalysis {
+    private final Board board;
+    private final Map<Key<?>, Object> results;
+
+    /**
+     * BoardAnalysis Constructor creates an empty analysis of a board
+     *
+     * @param board board to analyse
+     */
+    public BoardAnalysis(Board board) {
+        this.board = board;
+        this.results = new HashMap<>();
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Gets a structure of the board, computing it on first use
+     *
+     * @param key key of the structure
+     * @param <T> type of the structure
+     * @return the structure computed from the board
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key<T> key) {
+        // not computeIfAbsent, a structure may be computed from other structures of the analysis
+        if (results.containsKey(key)) {
+            return (T) results.get(key);
+        }
+        T result = key.compute(this);
+        results.put(key, result);
+        return result;
+    }
+
+    /**
+     * Identifies a structure computed from a board. Keys are compared by identity, so each one is
+     * declared once as a constant.
+     *
+     * @param <T> type of the structure
+     */
+    public static final class Key<T> {
+        private final Function<BoardAnalysis, T> function;
+
+        /**
+         * Key Constructor creates a key for the structure computed by a function
+         *
+         * @param function computes the structure from the analysis of a board
+         */
+        public Key(Function<BoardAnalysis, T> function) {
+            this.function = function;
+        }
+
+        T compute(BoardAnalysis analysis) {
+            return function.apply(analysis);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package edu.rpi.legup.model.rules;
+
+import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.gameboard.PuzzleElement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A single case of a {@link CaseRule}, described by the puzzle elements it changes rather than by a
+ * full copy of the board. Each change is a puzzle element holding the index of the element it
+ * replaces and its new data; a change that is not modifiable also makes the element of the case
+ * board unmodifiable. Elements with a negative index (such as TreeTent lines) are added to the
+ * board instead. The case board is only created by {@link #apply(Board)}.
+ */
+public class CaseDelta {
+    private final List<PuzzleElement> changes;
+
+    /**
+     * CaseDelta Constructor creates a case that changes the specified elements
+     *
+     * @param changes puzzle elements holding the index and new data of each change
+     */
+    public CaseDelta(PuzzleElement... changes) {
+        this.changes = List.of(changes);
+    }
+
+    /**
+     * CaseDelta Constructor creates a case that changes the specified elements
+     *
+     * @param changes puzzle elements holding the index and new data of each change
+     */
+    public CaseDelta(Collection<? extends PuzzleElement> changes) {
+        this.changes = Collections.unmodifiableList(new ArrayList<>(changes));
+    }
+
+    /**
+     * Creates a case that sets the data of a single element
+     *
+     * @param puzzleElement element to change, it is copied and not modified
+     * @param data new data of the element
+     * @return the case
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static CaseDelta of(PuzzleElement<?> puzzleElement, Object data) {
+        PuzzleElement change = puzzleElement.copy();
+        change.setData(data);
+        return new CaseDelta(change);
+    }
+
+    /**
+     * Gets the changes made by this case
+     *
+     * @return unmodifiable list of the changed elements
+     */
+    public List<PuzzleElement> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Creates the board of this case by copying the specified board and applying the changes to
+     * the copy. The case board is notified of each changed element, so that state derived from
+     * the elements (such as the lit cells of LightUp) follows the change, and the changed elements
+     * are marked as modified data of the case board.
+     *
+     * @param board board the case rule is applied to
+     * @return a new board for this case
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Board apply(Board board) {
+        Board caseBoard = board.copy();
+        for (PuzzleElement<?> change : changes) {
+            PuzzleElement element =
+                    change.getIndex() < 0 ? null : caseBoard.getPuzzleElement(change);
+            if (element == null) {
+                element = change.copy();
+                caseBoard.setPuzzleElement(change.getIndex(), element);
+            } else {
+                element.setData(change.getData());
+                if (!change.isModifiable()) {
+                    element.setModifiable(false);
+                }
+                caseBoard.notifyChange(element);
+            }
+            caseBoard.addModifiedData(element);
+        }
+        return caseBoard;
+    }
+}
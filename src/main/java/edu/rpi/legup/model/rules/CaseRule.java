@@ -7,9 +7,16 @@ import edu.rpi.legup.model.gameboard.CaseBoard;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.tree.TreeNode;
 import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.utility.Instrumentation;
+import edu.rpi.legup.utility.Instrumentation.Operation;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 /**
  * CaseRule is an abstract class representing a rule that can be applied with multiple cases in a
@@ -18,6 +25,23 @@ import java.util.Set;
  */
 public abstract class CaseRule extends Rule {
 
+    /** Number of children of a case split from which they are matched on {@link #MATCH_POOL} */
+    static final int PARALLEL_CHILDREN = 4;
+
+    // matches the children of large case splits, kept apart from the common pool so that a
+    // verification never waits on or delays unrelated work; its threads are daemon threads
+    private static final ForkJoinPool MATCH_POOL =
+            new ForkJoinPool(
+                    Runtime.getRuntime().availableProcessors(),
+                    pool -> {
+                        ForkJoinWorkerThread thread =
+                                ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                        thread.setName("case-matcher-" + thread.getPoolIndex());
+                        return thread;
+                    },
+                    null,
+                    false);
+
     private final String INVALID_USE_MESSAGE;
     public int MAX_CASES;
     public int MIN_CASES;
@@ -47,6 +71,16 @@ public abstract class CaseRule extends Rule {
      */
     public abstract CaseBoard getCaseBoard(Board board);
 
+    /**
+     * Determines whether {@link #getCaseBoard(Board)} asks the user for input, in which case the
+     * rule is only applied from the user interface and never tried automatically
+     *
+     * @return true if getting the case board asks the user for input, false otherwise
+     */
+    public boolean isInteractive() {
+        return false;
+    }
+
     /**
      * Gets the possible cases for this {@link Board} at a specific {@link PuzzleElement} based on
      * this case rule.
@@ -57,6 +91,191 @@ public abstract class CaseRule extends Rule {
      */
     public abstract List<Board> getCases(Board board, PuzzleElement puzzleElement);
 
+    /**
+     * Gets the possible cases for this {@link Board} at a specific {@link PuzzleElement} as {@link
+     * CaseDelta}s, without copying the board. Case rules should override this method and implement
+     * {@link #getCases(Board, PuzzleElement)} with {@link #materializeCases(Board, PuzzleElement)};
+     * by default the deltas are taken from the modified data of the boards returned by getCases.
+     *
+     * @param board the current board state
+     * @param puzzleElement equivalent puzzleElement
+     * @return an iterator over the cases, which may be computed as it is advanced
+     */
+    public Iterator<CaseDelta> getCaseDeltas(Board board, PuzzleElement puzzleElement) {
+        List<CaseDelta> deltas = new ArrayList<>();
+        for (Board caseBoard : getCases(board, puzzleElement)) {
+            deltas.add(new CaseDelta(caseBoard.getModifiedData()));
+        }
+        return deltas.iterator();
+    }
+
+    /**
+     * Gets the number of cases for this {@link Board} at a specific {@link PuzzleElement} without
+     * creating the case boards
+     *
+     * @param board the current board state
+     * @param puzzleElement equivalent puzzleElement
+     * @return number of cases
+     */
+    public int countCases(Board board, PuzzleElement puzzleElement) {
+        Iterator<CaseDelta> cases = getCaseDeltas(board, puzzleElement);
+        int count = 0;
+        while (cases.hasNext()) {
+            cases.next();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Determines whether this case rule produces at least one case for this {@link Board} at a
+     * specific {@link PuzzleElement}, without creating the case boards
+     *
+     * @param board the current board state
+     * @param puzzleElement equivalent puzzleElement
+     * @return true if there is at least one case, false otherwise
+     */
+    public boolean hasCases(Board board, PuzzleElement puzzleElement) {
+        return getCaseDeltas(board, puzzleElement).hasNext();
+    }
+
+    /**
+     * Collects the cases returned by {@link #getCaseDeltas(Board, PuzzleElement)}, recording the
+     * time spent generating them. Used when checking a case split against its expected cases.
+     *
+     * @param board the current board state
+     * @param puzzleElement equivalent puzzleElement
+     * @return list of the cases
+     */
+    protected List<CaseDelta> collectCases(Board board, PuzzleElement puzzleElement) {
+        long start = Instrumentation.start();
+        List<CaseDelta> cases = new ArrayList<>();
+        getCaseDeltas(board, puzzleElement).forEachRemaining(cases::add);
+        Instrumentation.record(Operation.GET_CASES, ruleID, start);
+        return cases;
+    }
+
+    /**
+     * Creates a board for each case returned by {@link #getCaseDeltas(Board, PuzzleElement)}
+     *
+     * @param board the current board state
+     * @param puzzleElement equivalent puzzleElement
+     * @return a list of case boards
+     */
+    protected ArrayList<Board> materializeCases(Board board, PuzzleElement puzzleElement) {
+        ArrayList<Board> cases = new ArrayList<>();
+        Iterator<CaseDelta> deltas = getCaseDeltas(board, puzzleElement);
+        while (deltas.hasNext()) {
+            cases.add(deltas.next().apply(board));
+        }
+        return cases;
+    }
+
+    /**
+     * Determines whether the children of a case split make exactly the expected cases: each child
+     * makes the changes of a different case and every case is made by a child. The cases are
+     * generated once by the caller for the whole split, and the cases made by each child are found
+     * before the children are paired with the cases. Splits with {@link #PARALLEL_CHILDREN} or
+     * more children are compared on a dedicated pool, each task reading its own copies of the
+     * elements modified by its child, taken on the calling thread.
+     *
+     * @param children transitions of the case split
+     * @param cases expected cases of the split
+     * @return true if the children make the cases, false otherwise
+     */
+    protected boolean matchesCases(List<TreeTransition> children, List<CaseDelta> cases) {
+        int size = children.size();
+        if (size != cases.size()) {
+            return false;
+        }
+        int[][] made = new int[size][];
+        if (size < PARALLEL_CHILDREN) {
+            for (int i = 0; i < size; i++) {
+                made[i] = findCases(children.get(i).getBoard().getModifiedData(), cases);
+            }
+        } else {
+            List<ForkJoinTask<int[]>> tasks = new ArrayList<>(size);
+            for (TreeTransition child : children) {
+                List<PuzzleElement> modified = new ArrayList<>();
+                for (PuzzleElement<?> element : child.getBoard().getModifiedData()) {
+                    modified.add(element.copy());
+                }
+                tasks.add(MATCH_POOL.submit(() -> findCases(modified, cases)));
+            }
+            for (int i = 0; i < size; i++) {
+                made[i] = tasks.get(i).join();
+            }
+        }
+
+        // pairs the children with the cases along augmenting paths, in case a child makes several
+        int[] childOfCase = new int[size];
+        Arrays.fill(childOfCase, -1);
+        for (int child = 0; child < size; child++) {
+            if (!pair(child, made, childOfCase, new boolean[size])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int[] findCases(Collection<PuzzleElement> modified, List<CaseDelta> cases) {
+        int[] found = new int[cases.size()];
+        int count = 0;
+        for (int i = 0; i < cases.size(); i++) {
+            if (makesCase(modified, cases.get(i))) {
+                found[count++] = i;
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    private boolean makesCase(Collection<PuzzleElement> modified, CaseDelta delta) {
+        List<PuzzleElement> changes = delta.getChanges();
+        if (modified.size() != changes.size()) {
+            return false;
+        }
+        for (PuzzleElement<?> change : changes) {
+            boolean found = false;
+            for (PuzzleElement<?> element : modified) {
+                if (matchesChange(change, element)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean pair(int child, int[][] made, int[] childOfCase, boolean[] visited) {
+        for (int c : made[child]) {
+            if (!visited[c]) {
+                visited[c] = true;
+                if (childOfCase[c] < 0 || pair(childOfCase[c], made, childOfCase, visited)) {
+                    childOfCase[c] = child;
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determines whether an element modified by a child of a case split is a change of a case.
+     * Changes are matched by the index and data of the element; case rules adding elements to the
+     * board, which have no index, override this method.
+     *
+     * @param change change made by a case
+     * @param element element modified by a child
+     * @return true if the element is the change, false otherwise
+     */
+    @SuppressWarnings("unchecked")
+    protected boolean matchesChange(PuzzleElement change, PuzzleElement element) {
+        return change.getIndex() == element.getIndex() && change.equalsData(element);
+    }
+
     /**
      * Checks whether the {@link TreeTransition} logically follows from the parent node using this
      * rule.
@@ -83,7 +302,7 @@ public abstract class CaseRule extends Rule {
         boolean isCorrect = (check == null);
         for (TreeTransition childTrans : parentNodes.get(0).getChildren()) {
             childTrans.setCorrect(isCorrect);
-            for (PuzzleElement element : childTrans.getBoard().getModifiedData()) {
+            for (PuzzleElement<?> element : childTrans.getBoard().getModifiedData()) {
                 element.setValid(isCorrect);
             }
         }
@@ -140,10 +359,8 @@ public abstract class CaseRule extends Rule {
     public List<PuzzleElement> dependentElements(Board board, PuzzleElement puzzleElement) {
         List<PuzzleElement> elements = new ArrayList<>();
 
-        List<Board> cases = getCases(board, puzzleElement);
-        for (Board caseBoard : cases) {
-            Set<PuzzleElement> data = caseBoard.getModifiedData();
-            for (PuzzleElement element : data) {
+        for (CaseDelta delta : collectCases(board, puzzleElement)) {
+            for (PuzzleElement<?> element : delta.getChanges()) {
                 if (!elements.contains(board.getPuzzleElement(element))) {
                     elements.add(board.getPuzzleElement(element));
                 }
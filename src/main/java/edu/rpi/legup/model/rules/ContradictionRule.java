@@ -5,6 +5,8 @@ import static edu.rpi.legup.model.rules.RuleType.CONTRADICTION;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.utility.Instrumentation;
+import edu.rpi.legup.utility.Instrumentation.Operation;
 
 /**
  * ContradictionRule is an abstract class representing a rule that identifies contradictions in a
@@ -37,7 +39,10 @@ public abstract class ContradictionRule extends Rule {
      */
     @Override
     public String checkRule(TreeTransition transition) {
-        return checkContradiction(transition.getBoard());
+        long start = Instrumentation.start();
+        String checkStr = checkContradiction(transition.getBoard());
+        Instrumentation.record(Operation.CHECK_CONTRADICTION, ruleID, start);
+        return checkStr;
     }
 
     /**
@@ -51,7 +56,10 @@ public abstract class ContradictionRule extends Rule {
      */
     @Override
     public String checkRuleAt(TreeTransition transition, PuzzleElement puzzleElement) {
-        return checkContradictionAt(transition.getBoard(), puzzleElement);
+        long start = Instrumentation.start();
+        String checkStr = checkContradictionAt(transition.getBoard(), puzzleElement);
+        Instrumentation.record(Operation.CHECK_RULE_AT, ruleID, start);
+        return checkStr;
     }
 
     /**
@@ -88,15 +96,42 @@ public abstract class ContradictionRule extends Rule {
      * @return null if the tree node contains a contradiction, otherwise error message
      */
     public String checkContradiction(Board board) {
+        return checkContradiction(board, new BoardAnalysis(board));
+    }
+
+    /**
+     * Checks whether the board has a contradiction using this rule, reusing the structures of an
+     * analysis of the board that may be shared with other rules checking the same board. Only the
+     * elements accepted by {@link #isCandidate(Board, PuzzleElement)} are checked. Rules checking
+     * the board in another way override this method rather than {@link #checkContradiction(Board)}.
+     *
+     * @param board board to check contradiction
+     * @param analysis analysis of the board
+     * @return null if the board contains a contradiction, otherwise error message
+     */
+    public String checkContradiction(Board board, BoardAnalysis analysis) {
         for (PuzzleElement puzzleElement : board.getPuzzleElements()) {
-            String checkStr = checkContradictionAt(board, puzzleElement);
-            if (checkStr == null) {
-                return checkStr;
+            if (isCandidate(board, puzzleElement)
+                    && checkContradictionAt(board, puzzleElement, analysis) == null) {
+                return null;
             }
         }
         return this.NO_CONTRADICTION_MESSAGE;
     }
 
+    /**
+     * Determines whether the contradiction of this rule can be found at an element, from the
+     * element alone, such as its type. Elements that are not candidates are skipped when the whole
+     * board is checked.
+     *
+     * @param board board to check contradiction
+     * @param puzzleElement equivalent puzzleElement
+     * @return true if the element can hold the contradiction, false otherwise
+     */
+    protected boolean isCandidate(Board board, PuzzleElement puzzleElement) {
+        return true;
+    }
+
     public String getNoContradictionMessage() {
         return this.NO_CONTRADICTION_MESSAGE;
     }
@@ -111,4 +146,20 @@ public abstract class ContradictionRule extends Rule {
      *     otherwise error message
      */
     public abstract String checkContradictionAt(Board board, PuzzleElement puzzleElement);
+
+    /**
+     * Checks whether the board has a contradiction at the specific puzzleElement index using this
+     * rule, reusing the structures of an analysis of the board. Rules computing structures of the
+     * whole board for each element override this method and get them from the analysis.
+     *
+     * @param board board to check contradiction
+     * @param puzzleElement equivalent puzzleElement
+     * @param analysis analysis of the board
+     * @return null if the board contains a contradiction at the specified puzzleElement,
+     *     otherwise error message
+     */
+    public String checkContradictionAt(
+            Board board, PuzzleElement puzzleElement, BoardAnalysis analysis) {
+        return checkContradictionAt(board, puzzleElement);
+    }
 }
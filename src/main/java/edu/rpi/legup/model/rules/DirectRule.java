@@ -6,6 +6,8 @@ import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.tree.TreeNode;
 import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.utility.Instrumentation;
+import edu.rpi.legup.utility.Instrumentation.Operation;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -96,7 +98,9 @@ public abstract class DirectRule extends Rule {
                     || transition.getParents().get(0).getChildren().size() != 1) {
                 checkStr = "State must have only 1 parent and 1 child";
             } else {
+                long start = Instrumentation.start();
                 checkStr = checkRuleRawAt(transition, puzzleElement);
+                Instrumentation.record(Operation.CHECK_RULE_AT, ruleID, start);
             }
         }
         puzzleElement.setValid(checkStr == null);
@@ -4,11 +4,8 @@ import static edu.rpi.legup.model.rules.RuleType.MERGE;
 
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
-import edu.rpi.legup.model.tree.Tree;
-import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.BranchMerge;
 import edu.rpi.legup.model.tree.TreeTransition;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * MergeRule is an implementation of a rule that merges multiple nodes into one. It validates if the
@@ -36,20 +33,11 @@ public class MergeRule extends Rule {
     @Override
     public String checkRuleRaw(TreeTransition transition) {
         Board board = transition.getBoard();
-        List<TreeNode> mergingNodes = new ArrayList<>();
-        List<Board> mergingBoards = new ArrayList<>();
-        for (TreeNode treeNode : transition.getParents()) {
-            mergingNodes.add(treeNode);
-            mergingBoards.add(treeNode.getBoard());
-        }
-
-        TreeNode lca = Tree.getLowestCommonAncestor(mergingNodes);
-        if (lca == null) {
+        BranchMerge merge = transition.getBranchMerge();
+        Board mergedBoard = merge.getMergedBoard();
+        if (mergedBoard == null) {
             return "Merge was not correctly created.";
         }
-        Board lcaBoard = lca.getBoard();
-
-        Board mergedBoard = lcaBoard.mergedBoard(lcaBoard, mergingBoards);
 
         for (PuzzleElement m : mergedBoard.getPuzzleElements()) {
             if (!m.equalsData(board.getPuzzleElement(m))) {
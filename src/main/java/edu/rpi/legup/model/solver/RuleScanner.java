@@ -0,0 +1,240 @@
+package edu.rpi.legup.model.solver;
+
+import edu.rpi.legup.model.Puzzle;
+import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.gameboard.CaseBoard;
+import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.CaseDelta;
+import edu.rpi.legup.model.rules.CaseRule;
+import edu.rpi.legup.model.rules.ContradictionRule;
+import edu.rpi.legup.model.rules.DirectRule;
+import edu.rpi.legup.model.tree.TreeNode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The {@code RuleScanner} class finds the rules of a puzzle that can be applied at a tree node:
+ *
+ * <ul>
+ *   <li>a direct rule applies when its default board changes the board of the node,
+ *   <li>a contradiction rule applies when it finds a contradiction on the board,
+ *   <li>a case rule applies when its case board has elements to split on.
+ * </ul>
+ *
+ * Every rule is tried on its own copy of the board, in parallel, and the rules still running when
+ * the timeout expires are left out. The applicable rules are ranked as described by {@link
+ * RuleSuggestion}. Each rule is tried on a new instance of the rule, so the scan never shares the
+ * state a rule keeps with the user interface or with a scan that was cancelled but is still
+ * running. Complete scans are cached by the content hash of the board ({@link
+ * Board#getContentHash()}) and a cached scan is only used if its board has the same data, so going
+ * back to a node or to a board seen before is answered at once. Case rules asking the user for
+ * input ({@link CaseRule#isInteractive()}) are never tried.
+ */
+public class RuleScanner {
+    private static final Logger LOGGER = LogManager.getLogger(RuleScanner.class.getName());
+
+    /** Default time after which the rules still running are left out, in milliseconds */
+    public static final long DEFAULT_TIMEOUT = 1000;
+
+    // number of scanned boards kept in the cache
+    private static final int CACHE_SIZE = 128;
+
+    private final Puzzle puzzle;
+    private final ExecutorService executor;
+    private final Map<Long, Scan> cache;
+    private long timeout;
+
+    /**
+     * RuleScanner Constructor creates a scanner for the rules of the specified puzzle
+     *
+     * @param puzzle puzzle whose rules are tried
+     */
+    public RuleScanner(Puzzle puzzle) {
+        this.puzzle = puzzle;
+        this.timeout = DEFAULT_TIMEOUT;
+        this.executor =
+                Executors.newFixedThreadPool(
+                        Runtime.getRuntime().availableProcessors(),
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "rule-scanner");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        this.cache =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(
+                            Map.Entry<Long, Scan> eldest) {
+                        return size() > CACHE_SIZE;
+                    }
+                };
+    }
+
+    /**
+     * Sets the time after which the rules still running are left out of a scan
+     *
+     * @param timeout timeout in milliseconds
+     */
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Finds the rules that can be applied at a tree node. The board of the node must not change
+     * while the copies of the board are made at the start of the scan.
+     *
+     * @param node tree node to scan
+     * @return unmodifiable list of the applicable rules, best first
+     * @throws InterruptedException if the calling thread is interrupted during the scan
+     */
+    public List<RuleSuggestion> scan(TreeNode node) throws InterruptedException {
+        Board board = node.getBoard();
+        long key = board.getContentHash();
+        synchronized (cache) {
+            Scan cached = cache.get(key);
+            if (cached != null && cached.matches(board)) {
+                return cached.suggestions;
+            }
+        }
+
+        List<Callable<RuleSuggestion>> tasks = new ArrayList<>();
+        for (ContradictionRule rule : puzzle.getContradictionRules()) {
+            checkInterrupted();
+            ContradictionRule instance = SolutionCounter.newInstance(rule);
+            Board copy = board.copy();
+            tasks.add(
+                    () ->
+                            instance.checkContradiction(copy) == null
+                                    ? new RuleSuggestion(rule, 0)
+                                    : null);
+        }
+        for (DirectRule rule : puzzle.getDirectRules()) {
+            checkInterrupted();
+            DirectRule instance = SolutionCounter.newInstance(rule);
+            TreeNode copy = new TreeNode(board.copy());
+            tasks.add(() -> scanDirectRule(rule, instance, copy));
+        }
+        for (CaseRule rule : puzzle.getCaseRules()) {
+            if (!rule.isInteractive()) {
+                checkInterrupted();
+                CaseRule instance = SolutionCounter.newInstance(rule);
+                Board copy = board.copy();
+                tasks.add(() -> scanCaseRule(rule, instance, copy));
+            }
+        }
+        Board snapshot = board.copy();
+
+        List<RuleSuggestion> suggestions = new ArrayList<>();
+        boolean complete = true;
+        for (Future<RuleSuggestion> future :
+                executor.invokeAll(tasks, timeout, TimeUnit.MILLISECONDS)) {
+            try {
+                RuleSuggestion suggestion = future.get();
+                if (suggestion != null) {
+                    suggestions.add(suggestion);
+                }
+            } catch (CancellationException e) {
+                complete = false;
+            } catch (ExecutionException e) {
+                LOGGER.debug("Rule failed while scanning", e.getCause());
+            }
+        }
+        Collections.sort(suggestions);
+        List<RuleSuggestion> result = Collections.unmodifiableList(suggestions);
+        if (complete) {
+            synchronized (cache) {
+                cache.put(key, new Scan(snapshot, result));
+            }
+        } else {
+            LOGGER.debug("Rule scan timed out after {} ms", timeout);
+        }
+        return result;
+    }
+
+    /** Stops the threads of the scanner, which can no longer be used */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static void checkInterrupted() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    // the suggestion names the rule of the puzzle, the instance is only used for the scan
+    private static RuleSuggestion scanDirectRule(
+            DirectRule rule, DirectRule instance, TreeNode node) throws InterruptedException {
+        Board original = node.getBoard();
+        Board result = instance.getDefaultBoard(node);
+        if (result == null) {
+            return null;
+        }
+        int changes = 0;
+        for (PuzzleElement<?> element : result.getModifiedData()) {
+            checkInterrupted();
+            PuzzleElement<?> before = original.getPuzzleElement(element);
+            if (element.getIndex() < 0
+                    || before == null
+                    || !Objects.equals(before.getData(), element.getData())) {
+                changes++;
+            }
+        }
+        return changes > 0 ? new RuleSuggestion(rule, changes) : null;
+    }
+
+    private static RuleSuggestion scanCaseRule(CaseRule rule, CaseRule instance, Board board)
+            throws InterruptedException {
+        CaseBoard caseBoard = instance.getCaseBoard(board);
+        if (caseBoard == null || caseBoard.getCount() == 0) {
+            return null;
+        }
+        int fewest = Integer.MAX_VALUE;
+        for (PuzzleElement<?> element : caseBoard.getPickableElements()) {
+            Iterator<CaseDelta> cases = instance.getCaseDeltas(board, element);
+            int count = 0;
+            while (cases.hasNext() && count < fewest) {
+                checkInterrupted();
+                cases.next();
+                count++;
+            }
+            fewest = Math.min(fewest, count);
+            if (fewest <= 1) {
+                break;
+            }
+        }
+        return new RuleSuggestion(rule, fewest);
+    }
+
+    /** Applicable rules found for a board, kept with a copy of the board they were found for */
+    private static final class Scan {
+        private final Board board;
+        private final List<RuleSuggestion> suggestions;
+
+        Scan(Board board, List<RuleSuggestion> suggestions) {
+            this.board = board;
+            this.suggestions = suggestions;
+        }
+
+        // boards with the same content hash may still differ, so their data is compared
+        boolean matches(Board other) {
+            return board.getElementCount() == other.getElementCount()
+                    && board.equalsBoard(other)
+                    && other.equalsBoard(board);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package edu.rpi.legup.model.solver;
+
+import edu.rpi.legup.model.rules.Rule;
+import edu.rpi.legup.model.rules.RuleType;
+
+/**
+ * The {@code RuleSuggestion} class is a rule that {@link RuleScanner} found applicable at a tree
+ * node. Suggestions are ranked by how much they move the proof forward: contradiction rules first,
+ * as they close the branch, then direct rules changing the most elements, then case rules splitting
+ * the board into the fewest cases.
+ */
+public class RuleSuggestion implements Comparable<RuleSuggestion> {
+    private final Rule rule;
+    private final int count;
+
+    RuleSuggestion(Rule rule, int count) {
+        this.rule = rule;
+        this.count = count;
+    }
+
+    public Rule getRule() {
+        return rule;
+    }
+
+    /**
+     * Gets the number of elements changed by a direct rule, or the fewest cases a case rule splits
+     * the board into. Contradiction rules have a count of 0.
+     *
+     * @return number of changed elements or of cases
+     */
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public int compareTo(RuleSuggestion other) {
+        int order = Integer.compare(rank(rule.getRuleType()), rank(other.rule.getRuleType()));
+        if (order != 0) {
+            return order;
+        }
+        order =
+                rule.getRuleType() == RuleType.CASE
+                        ? Integer.compare(count, other.count)
+                        : Integer.compare(other.count, count);
+        return order != 0 ? order : rule.getRuleID().compareTo(other.rule.getRuleID());
+    }
+
+    private static int rank(RuleType type) {
+        switch (type) {
+            case CONTRADICTION:
+                return 0;
+            case BASIC:
+                return 1;
+            default:
+                return 2;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return rule.getRuleName() + " (" + count + ")";
+    }
+}
@@ -0,0 +1,391 @@
+package edu.rpi.legup.model.solver;
+
+import edu.rpi.legup.model.Puzzle;
+import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.gameboard.CaseBoard;
+import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.BoardAnalysis;
+import edu.rpi.legup.model.rules.CaseDelta;
+import edu.rpi.legup.model.rules.CaseRule;
+import edu.rpi.legup.model.rules.ContradictionRule;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The {@code SolutionCounter} class counts the solutions of a board of any puzzle, up to {@link
+ * #LIMIT}, so puzzle authors can tell whether a board has no solution, a unique solution or
+ * several. Puzzles with their own solver ({@link Puzzle#findSolutions(Board, int)}) are solved
+ * with it; otherwise the board is searched with the rules of the puzzle. Either way up to two
+ * solutions are kept, so that a board that is not unique comes with a cell they differ in. The
+ * search with the rules works as follows:
+ *
+ * <ul>
+ *   <li>a board on which a contradiction rule applies is abandoned,
+ *   <li>a board the puzzle considers complete is a solution,
+ *   <li>any other board is split with the case rule and element giving the fewest cases.
+ * </ul>
+ *
+ * The first levels of the search are expanded on the calling thread and the resulting boards are
+ * searched in parallel. The calling thread and each task use their own instances of the rules, so
+ * that rules keeping state between calls are never shared with the editor or between threads.
+ * The search stops once two solutions are found, when the timeout expires or when the calling
+ * thread is interrupted. The count is only as reliable as the rules: a contradiction rule that
+ * applies to a board that can still be solved hides its solutions.
+ */
+public class SolutionCounter {
+    private static final Logger LOGGER = LogManager.getLogger(SolutionCounter.class.getName());
+
+    /** Number of solutions after which counting stops */
+    public static final int LIMIT = 2;
+
+    /** Default time after which the search gives up, in milliseconds */
+    public static final long DEFAULT_TIMEOUT = 5000;
+
+    // boards expanded before the search is split between the threads, per thread
+    private static final int TASKS_PER_THREAD = 4;
+
+    private final Puzzle puzzle;
+    private long timeout;
+    private int threads;
+    private boolean usePuzzleSolver;
+
+    /**
+     * SolutionCounter Constructor creates a counter for boards of the specified puzzle
+     *
+     * @param puzzle puzzle whose rules are used to search the boards
+     */
+    public SolutionCounter(Puzzle puzzle) {
+        this.puzzle = puzzle;
+        this.timeout = DEFAULT_TIMEOUT;
+        this.threads = Runtime.getRuntime().availableProcessors();
+        this.usePuzzleSolver = true;
+    }
+
+    /**
+     * Sets the time after which the search gives up
+     *
+     * @param timeout timeout in milliseconds
+     */
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Sets the number of threads searching in parallel
+     *
+     * @param threads number of threads, 1 to search on the calling thread only
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Sets whether the solver of the puzzle is used before the rules are searched
+     *
+     * @param usePuzzleSolver false to only search with the rules, true otherwise
+     */
+    public void setUsePuzzleSolver(boolean usePuzzleSolver) {
+        this.usePuzzleSolver = usePuzzleSolver;
+    }
+
+    /**
+     * Counts the solutions of a board, up to {@link #LIMIT}. The board is not modified.
+     *
+     * @param board board to count the solutions of
+     * @return result of the count
+     */
+    public UniquenessResult count(Board board) {
+        long start = System.nanoTime();
+        Search search = new Search(start + TimeUnit.MILLISECONDS.toNanos(timeout));
+        List<Board> known = usePuzzleSolver ? puzzle.findSolutions(board, LIMIT) : null;
+        if (known != null) {
+            return getResult(known, false, false, start);
+        }
+
+        search.run(board.copy());
+        return getResult(search.getSolutions(), search.incomplete, search.timedOut, start);
+    }
+
+    private static UniquenessResult getResult(
+            List<Board> solutions, boolean incomplete, boolean timedOut, long start) {
+        PuzzleElement<?> differing = null;
+        if (solutions.size() >= LIMIT) {
+            differing = findDifference(solutions.get(0), solutions.get(1));
+        }
+        UniquenessResult.Status status;
+        int count = solutions.size();
+        if (count >= LIMIT) {
+            status = UniquenessResult.Status.MULTIPLE;
+            count = LIMIT;
+        } else if (incomplete) {
+            status = UniquenessResult.Status.UNKNOWN;
+        } else {
+            status = getStatus(count);
+        }
+        return new UniquenessResult(status, count, solutions, differing, timedOut, elapsed(start));
+    }
+
+    private static UniquenessResult.Status getStatus(int count) {
+        return count == 0 ? UniquenessResult.Status.NO_SOLUTION : UniquenessResult.Status.UNIQUE;
+    }
+
+    private static long elapsed(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static PuzzleElement<?> findDifference(Board first, Board second) {
+        List<PuzzleElement> elements = first.getPuzzleElements();
+        for (PuzzleElement<?> element : elements) {
+            PuzzleElement<?> other = second.getPuzzleElement(element);
+            if (other != null && !Objects.equals(element.getData(), other.getData())) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    /** State of one count, shared by the threads searching it */
+    private final class Search {
+        private final long deadline;
+        private final List<Board> solutions = new ArrayList<>();
+        private volatile boolean stopped;
+        private volatile boolean incomplete;
+        private volatile boolean timedOut;
+
+        Search(long deadline) {
+            this.deadline = deadline;
+        }
+
+        void run(Board root) {
+            // a board keeps changing at least one element per level, so the depth is bounded
+            int maxDepth = 2 * root.getElementCount() + 1;
+            Rules rules = new Rules(puzzle.getContradictionRules(), puzzle.getCaseRules()).copy();
+            List<Board> frontier = List.of(root);
+            int depth = 0;
+            while (!frontier.isEmpty()
+                    && frontier.size() < threads * TASKS_PER_THREAD
+                    && depth < maxDepth
+                    && !stopped) {
+                List<Board> next = new ArrayList<>();
+                for (Board board : frontier) {
+                    next.addAll(expand(board, rules));
+                }
+                frontier = next;
+                depth++;
+            }
+            if (frontier.isEmpty() || stopped) {
+                return;
+            }
+
+            int remainingDepth = maxDepth - depth;
+            if (threads == 1 || frontier.size() == 1) {
+                for (Board board : frontier) {
+                    search(board, remainingDepth, rules);
+                }
+                return;
+            }
+
+            ExecutorService executor =
+                    Executors.newFixedThreadPool(
+                            Math.min(threads, frontier.size()),
+                            runnable -> {
+                                Thread thread = new Thread(runnable, "solution-counter");
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+            try {
+                List<Callable<Void>> tasks = new ArrayList<>();
+                for (Board board : frontier) {
+                    Rules taskRules = rules.copy();
+                    tasks.add(
+                            () -> {
+                                search(board, remainingDepth, taskRules);
+                                return null;
+                            });
+                }
+                for (Future<Void> future : executor.invokeAll(tasks)) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                stop();
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                LOGGER.error("Solution search failed", e.getCause());
+                stop();
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        List<Board> getSolutions() {
+            synchronized (solutions) {
+                return new ArrayList<>(solutions.subList(0, Math.min(LIMIT, solutions.size())));
+            }
+        }
+
+        private void search(Board board, int depth, Rules rules) {
+            if (depth <= 0) {
+                incomplete = true;
+                return;
+            }
+            for (Board child : expand(board, rules)) {
+                search(child, depth - 1, rules);
+            }
+        }
+
+        // returns the boards to search below a board, recording it if it is a solution
+        private List<Board> expand(Board board, Rules rules) {
+            if (stopped) {
+                return List.of();
+            }
+            if (System.nanoTime() > deadline) {
+                timedOut = true;
+                stop();
+                return List.of();
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                stop();
+                return List.of();
+            }
+
+            BoardAnalysis analysis = new BoardAnalysis(board);
+            for (ContradictionRule rule : rules.contradictionRules) {
+                if (rule.checkContradiction(board, analysis) == null) {
+                    return List.of();
+                }
+            }
+            if (puzzle.isBoardComplete(board)) {
+                synchronized (solutions) {
+                    solutions.add(board);
+                    if (solutions.size() >= LIMIT) {
+                        stopped = true;
+                    }
+                }
+                return List.of();
+            }
+
+            List<CaseDelta> cases = findCases(board, rules);
+            if (cases == null) {
+                incomplete = true;
+                return List.of();
+            }
+            List<Board> children = new ArrayList<>(cases.size());
+            for (CaseDelta delta : cases) {
+                children.add(delta.apply(board));
+            }
+            return children;
+        }
+
+        private void stop() {
+            incomplete = true;
+            stopped = true;
+        }
+
+        // the cases of the case rule and element that split the board into the fewest boards
+        private List<CaseDelta> findCases(Board board, Rules rules) {
+            List<CaseDelta> best = null;
+            for (CaseRule rule : rules.caseRules) {
+                if (rule.isInteractive()) {
+                    continue;
+                }
+                CaseBoard caseBoard = rule.getCaseBoard(board);
+                if (caseBoard == null) {
+                    continue;
+                }
+                for (PuzzleElement<?> element : caseBoard.getPickableElements()) {
+                    int bound = best == null ? Integer.MAX_VALUE : best.size();
+                    List<CaseDelta> cases = getCases(board, rule, element, bound);
+                    if (cases != null) {
+                        best = cases;
+                        if (best.size() == 1) {
+                            return best;
+                        }
+                    }
+                }
+            }
+            return best;
+        }
+
+        // the cases of a rule at an element if there are fewer than the bound and each one changes
+        // the board, null otherwise
+        private List<CaseDelta> getCases(
+                Board board, CaseRule rule, PuzzleElement<?> element, int bound) {
+            List<CaseDelta> cases = new ArrayList<>();
+            Iterator<CaseDelta> deltas = rule.getCaseDeltas(board, element);
+            while (deltas.hasNext()) {
+                CaseDelta delta = deltas.next();
+                if (cases.size() + 1 >= bound || !changesBoard(board, delta)) {
+                    return null;
+                }
+                cases.add(delta);
+            }
+            return cases.isEmpty() ? null : cases;
+        }
+
+        private boolean changesBoard(Board board, CaseDelta delta) {
+            for (PuzzleElement<?> change : delta.getChanges()) {
+                if (change.getIndex() < 0) {
+                    return true;
+                }
+                PuzzleElement<?> element = board.getPuzzleElement(change);
+                if (element == null || !Objects.equals(element.getData(), change.getData())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /** Rules a search runs on one thread */
+    private static final class Rules {
+        private final List<ContradictionRule> contradictionRules;
+        private final List<CaseRule> caseRules;
+
+        Rules(List<ContradictionRule> contradictionRules, List<CaseRule> caseRules) {
+            this.contradictionRules = contradictionRules;
+            this.caseRules = caseRules;
+        }
+
+        // new instances of the rules, created the way the puzzle registers them
+        Rules copy() {
+            List<CaseRule> cases = new ArrayList<>(caseRules.size());
+            for (CaseRule rule : caseRules) {
+                if (!rule.isInteractive()) {
+                    cases.add(newInstance(rule));
+                }
+            }
+            List<ContradictionRule> contradictions = new ArrayList<>(contradictionRules.size());
+            for (ContradictionRule rule : contradictionRules) {
+                contradictions.add(newInstance(rule));
+            }
+            return new Rules(contradictions, cases);
+        }
+    }
+
+    /**
+     * Creates a new instance of a rule the way the puzzle registers it, so that a thread can use
+     * the rule without sharing the state it keeps
+     *
+     * @param rule rule to create a new instance of
+     * @return new instance of the rule
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T newInstance(T rule) {
+        try {
+            return (T) rule.getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(
+                    "Unable to create " + rule.getClass().getSimpleName(), e);
+        }
+    }
+}
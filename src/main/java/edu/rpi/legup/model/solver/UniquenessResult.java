@@ -0,0 +1,136 @@
+package edu.rpi.legup.model.solver;
+
+import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.gameboard.GridCell;
+import edu.rpi.legup.model.gameboard.PuzzleElement;
+import java.awt.Point;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@code UniquenessResult} class holds the outcome of counting the solutions of a board with
+ * {@link SolutionCounter}. The count is capped at {@link SolutionCounter#LIMIT}; when two solutions
+ * were found, an element on which they differ is given as an example for the author.
+ */
+public class UniquenessResult {
+    /** Outcome of a count */
+    public enum Status {
+        /** The board has no solution */
+        NO_SOLUTION,
+        /** The board has exactly one solution */
+        UNIQUE,
+        /** The board has at least two solutions */
+        MULTIPLE,
+        /** The search timed out, was cancelled or could not branch on some board */
+        UNKNOWN
+    }
+
+    private final Status status;
+    private final int solutionCount;
+    private final List<Board> solutions;
+    private final PuzzleElement<?> differingElement;
+    private final boolean timedOut;
+    private final long elapsedMillis;
+
+    UniquenessResult(
+            Status status,
+            int solutionCount,
+            List<Board> solutions,
+            PuzzleElement<?> differingElement,
+            boolean timedOut,
+            long elapsedMillis) {
+        this.status = status;
+        this.solutionCount = solutionCount;
+        this.solutions = Collections.unmodifiableList(solutions);
+        this.differingElement = differingElement;
+        this.timedOut = timedOut;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the number of solutions found, at most {@link SolutionCounter#LIMIT}. When the status is
+     * {@link Status#UNKNOWN} this is only a lower bound.
+     *
+     * @return number of solutions found
+     */
+    public int getSolutionCount() {
+        return solutionCount;
+    }
+
+    /**
+     * Gets the solved boards found by the search. Puzzles with their own solver may report a count
+     * without boards.
+     *
+     * @return unmodifiable list of at most {@link SolutionCounter#LIMIT} solved boards
+     */
+    public List<Board> getSolutions() {
+        return solutions;
+    }
+
+    /**
+     * Gets an element of the first solution whose data is different in the second one
+     *
+     * @return differing element, or null if fewer than two solved boards were found
+     */
+    public PuzzleElement<?> getDifferingElement() {
+        return differingElement;
+    }
+
+    public boolean isUnique() {
+        return status == Status.UNIQUE;
+    }
+
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Describes the result for the author of the puzzle
+     *
+     * @return description of the result
+     */
+    public String getMessage() {
+        switch (status) {
+            case NO_SOLUTION:
+                return "No solution";
+            case UNIQUE:
+                return "Unique solution";
+            case MULTIPLE:
+                if (differingElement == null) {
+                    return "Multiple solutions";
+                }
+                PuzzleElement<?> other = solutions.get(1).getPuzzleElement(differingElement);
+                return "Multiple solutions, "
+                        + describe(differingElement)
+                        + " can be "
+                        + differingElement.getData()
+                        + " or "
+                        + other.getData();
+            default:
+                return timedOut
+                        ? "Number of solutions unknown, the search timed out"
+                        : "Number of solutions unknown";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+
+    private static String describe(PuzzleElement<?> element) {
+        if (element instanceof GridCell) {
+            Point location = ((GridCell<?>) element).getLocation();
+            return "cell (" + location.x + ", " + location.y + ")";
+        }
+        return "element " + element.getIndex();
+    }
+}
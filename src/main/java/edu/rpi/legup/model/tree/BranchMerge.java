@@ -0,0 +1,156 @@
+package edu.rpi.legup.model.tree;
+
+import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.gameboard.PuzzleElement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The {@code BranchMerge} class merges the boards of tree nodes branching from their lowest common
+ * ancestor, as done by a merge transition. The ancestor is found once, and only the elements
+ * modified by the transitions between the ancestor and each branch are compared, rather than every
+ * element of the board on every branch. A merge transition keeps its {@code BranchMerge} while its
+ * parents are unchanged, so changes propagated from the branches are checked against the same
+ * ancestor.
+ */
+public class BranchMerge {
+    private final List<TreeNode> branches;
+    private final TreeNode lca;
+
+    /**
+     * BranchMerge Constructor creates the merge of tree nodes
+     *
+     * @param branches tree nodes to merge
+     */
+    public BranchMerge(List<TreeNode> branches) {
+        this.branches = new ArrayList<>(branches);
+        this.lca = Tree.getLowestCommonAncestor(this.branches);
+    }
+
+    /**
+     * Gets the lowest common ancestor of the branches
+     *
+     * @return lowest common ancestor, or null if the branches have none
+     */
+    public TreeNode getLowestCommonAncestor() {
+        return lca;
+    }
+
+    /**
+     * Determines whether this merge is of the specified tree nodes, in the same order
+     *
+     * @param nodes tree nodes to check
+     * @return true if this merge is of the tree nodes, false otherwise
+     */
+    public boolean isOf(List<TreeNode> nodes) {
+        return branches.equals(nodes);
+    }
+
+    /**
+     * Gets the element of the board of the lowest common ancestor equivalent to an element
+     *
+     * @param element equivalent puzzle element
+     * @return puzzle element of the ancestor
+     */
+    public PuzzleElement<?> getAncestorElement(PuzzleElement element) {
+        return lca.getBoard().getPuzzleElement(element);
+    }
+
+    /**
+     * Determines whether every branch has the data of an element
+     *
+     * @param element puzzle element with the data
+     * @return true if the equivalent element of every branch has the same data, false otherwise
+     */
+    @SuppressWarnings("unchecked")
+    public boolean agreesOn(PuzzleElement<?> element) {
+        for (TreeNode branch : branches) {
+            if (!element.equalsData(branch.getBoard().getPuzzleElement(element))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates the merged board of the branches
+     *
+     * @return merged board, or null if the branches have no common ancestor
+     */
+    public Board getMergedBoard() {
+        if (lca == null) {
+            return null;
+        }
+        Board lcaBoard = lca.getBoard();
+        List<Board> boards = new ArrayList<>();
+        for (TreeNode branch : branches) {
+            boards.add(branch.getBoard());
+        }
+
+        Set<Integer> changed = null;
+        for (TreeNode branch : branches) {
+            Set<Integer> indices = getModifiedIndices(branch);
+            if (indices == null) {
+                continue;
+            }
+            // an element can only be merged if every branch changed it
+            if (changed == null) {
+                changed = indices;
+            } else {
+                changed.retainAll(indices);
+            }
+        }
+        if (changed == null) {
+            return lcaBoard.mergedBoard(lcaBoard, boards);
+        }
+
+        List<PuzzleElement> elements = new ArrayList<>();
+        int size = lcaBoard.getPuzzleElements().size();
+        for (int index : new TreeSet<>(changed)) {
+            if (index >= 0 && index < size) {
+                elements.add(lcaBoard.getPuzzleElements().get(index));
+            }
+        }
+        return lcaBoard.mergedBoard(lcaBoard, boards, elements);
+    }
+
+    /**
+     * Gets the indices of the elements modified by the transitions between the lowest common
+     * ancestor and a branch
+     *
+     * @param branch tree node to start from
+     * @return indices of the modified elements, or null if the branch also reaches the root
+     *     without passing through the ancestor, so its changes cannot all be found this way
+     */
+    private Set<Integer> getModifiedIndices(TreeNode branch) {
+        Set<Integer> indices = new HashSet<>();
+        Set<TreeNode> visited = new HashSet<>();
+        Queue<TreeNode> queue = new ArrayDeque<>();
+        visited.add(branch);
+        queue.add(branch);
+        while (!queue.isEmpty()) {
+            TreeNode node = queue.poll();
+            if (node == lca) {
+                continue;
+            }
+            TreeTransition transition = node.getParent();
+            if (transition == null || transition.getBoard() == null) {
+                return null;
+            }
+            for (PuzzleElement<?> element : transition.getBoard().getModifiedData()) {
+                indices.add(element.getIndex());
+            }
+            for (TreeNode parent : transition.getParents()) {
+                if (visited.add(parent)) {
+                    queue.add(parent);
+                }
+            }
+        }
+        return indices;
+    }
+}
@@ -3,6 +3,7 @@ package edu.rpi.legup.model.tree;
 import edu.rpi.legup.controller.TreeController;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.ui.proofeditorui.treeview.TreeView;
+import edu.rpi.legup.utility.Instrumentation;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -37,7 +38,8 @@ public class Tree {
      * @return the created transition
      */
     public TreeTransition addNewTransition(TreeNode treeNode) {
-        TreeTransition transition = new TreeTransition(treeNode, treeNode.getBoard().copy());
+        TreeTransition transition =
+                new TreeTransition(treeNode, Instrumentation.copy(treeNode.getBoard()));
         treeNode.addChild(transition);
         treeNode.getChildren().forEach(TreeTransition::reverify);
         return transition;
@@ -52,11 +54,11 @@ public class Tree {
     public TreeElement addTreeElement(TreeElement element) {
         if (element.getType() == TreeElementType.NODE) {
             TreeNode treeNode = (TreeNode) element;
-            return addTreeElement(
-                    treeNode, new TreeTransition(treeNode, treeNode.getBoard().copy()));
+            Board copyBoard = Instrumentation.copy(treeNode.getBoard());
+            return addTreeElement(treeNode, new TreeTransition(treeNode, copyBoard));
         } else {
             TreeTransition transition = (TreeTransition) element;
-            Board copyBoard = transition.board.copy();
+            Board copyBoard = Instrumentation.copy(transition.board);
             copyBoard.setModifiable(true);
             return addTreeElement(transition, new TreeNode(copyBoard));
         }
@@ -186,17 +188,17 @@ public class Tree {
             if (nodes.size() == 1) {
                 return nodes.get(0);
             } else {
-                List<List<TreeNode>> ancestors = new ArrayList<>();
-                for (TreeNode node : nodes) {
-                    ancestors.add(node.getAncestors());
+                List<Set<TreeNode>> ancestors = new ArrayList<>();
+                for (int i = 1; i < nodes.size(); i++) {
+                    ancestors.add(new HashSet<>(nodes.get(i).getAncestors()));
                 }
 
-                List<TreeNode> first = ancestors.get(0);
+                List<TreeNode> first = nodes.get(0).getAncestors();
 
                 for (TreeNode node : first) {
                     boolean isCommon = true;
-                    for (List<TreeNode> nList : ancestors) {
-                        isCommon &= nList.contains(node);
+                    for (Set<TreeNode> nSet : ancestors) {
+                        isCommon &= nSet.contains(node);
                     }
 
                     if (isCommon) {
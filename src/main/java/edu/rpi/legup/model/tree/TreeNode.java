@@ -67,22 +67,21 @@ public class TreeNode extends TreeElement {
      */
     public List<TreeNode> getAncestors() {
         List<TreeNode> ancestors = new ArrayList<>();
+        Set<TreeNode> visited = new HashSet<>();
         Queue<TreeNode> it = new LinkedList<>();
+        visited.add(this);
         it.add(this);
 
         while (!it.isEmpty()) {
             TreeNode next = it.poll();
             if (next.getParent() != null) {
                 for (TreeNode treeNode : next.getParent().getParents()) {
-                    if (!it.contains(treeNode)) {
+                    if (visited.add(treeNode)) {
                         it.add(treeNode);
                     }
                 }
             }
-
-            if (!ancestors.contains(next)) {
-                ancestors.add(next);
-            }
+            ancestors.add(next);
         }
         return ancestors;
     }
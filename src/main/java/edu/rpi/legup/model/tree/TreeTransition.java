@@ -5,6 +5,8 @@ import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.CaseRule;
 import edu.rpi.legup.model.rules.Rule;
 import edu.rpi.legup.model.rules.RuleType;
+import edu.rpi.legup.utility.Instrumentation;
+import edu.rpi.legup.utility.Instrumentation.Operation;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -22,6 +24,9 @@ public class TreeTransition extends TreeElement {
     private boolean isCorrect;
     private boolean isVerified;
 
+    // merge of the parents of a merge transition, kept while the parents are unchanged
+    private BranchMerge branchMerge;
+
     /**
      * TreeTransition Constructor create a transition from one node to another
      *
@@ -57,17 +62,10 @@ public class TreeTransition extends TreeElement {
     @SuppressWarnings("unchecked")
     public void propagateChange(PuzzleElement element) {
         if (isJustified() && rule.getRuleType() == RuleType.MERGE) {
-            TreeNode lca = Tree.getLowestCommonAncestor(parents);
-            Board lcaBoard = lca.getBoard();
-            List<Board> boards = new ArrayList<>();
-            parents.forEach(p -> boards.add(p.getBoard()));
-            PuzzleElement lcaElement = lcaBoard.getPuzzleElement(element);
-            boolean isSame = true;
-            for (Board board : boards) {
-                isSame &= element.equalsData(board.getPuzzleElement(lcaElement));
-            }
+            BranchMerge merge = getBranchMerge();
+            PuzzleElement lcaElement = merge.getAncestorElement(element);
 
-            if (isSame) {
+            if (merge.agreesOn(element)) {
                 boolean changed = false;
                 PuzzleElement mergedData = board.getPuzzleElement(element);
                 if (lcaElement.equalsData(element) && !mergedData.equalsData(element)) {
@@ -143,17 +141,10 @@ public class TreeTransition extends TreeElement {
     @SuppressWarnings("unchecked")
     public void propagateAddition(PuzzleElement element) {
         if (isJustified() && rule.getRuleType() == RuleType.MERGE) {
-            TreeNode lca = Tree.getLowestCommonAncestor(parents);
-            Board lcaBoard = lca.getBoard();
-            List<Board> boards = new ArrayList<>();
-            parents.forEach(p -> boards.add(p.getBoard()));
-            PuzzleElement lcaElement = lcaBoard.getPuzzleElement(element);
-            boolean isSame = true;
-            for (Board board : boards) {
-                isSame &= element.equalsData(board.getPuzzleElement(lcaElement));
-            }
+            BranchMerge merge = getBranchMerge();
+            PuzzleElement lcaElement = merge.getAncestorElement(element);
 
-            if (isSame) {
+            if (merge.agreesOn(element)) {
                 boolean changed = false;
                 PuzzleElement mergedData = board.getPuzzleElement(element);
                 if (lcaElement.equalsData(element) && !mergedData.equalsData(element)) {
@@ -196,17 +187,10 @@ public class TreeTransition extends TreeElement {
     @SuppressWarnings("unchecked")
     public void propagateDeletion(PuzzleElement element) {
         if (isJustified() && rule.getRuleType() == RuleType.MERGE) {
-            TreeNode lca = Tree.getLowestCommonAncestor(parents);
-            Board lcaBoard = lca.getBoard();
-            List<Board> boards = new ArrayList<>();
-            parents.forEach(p -> boards.add(p.getBoard()));
-            PuzzleElement lcaElement = lcaBoard.getPuzzleElement(element);
-            boolean isSame = true;
-            for (Board board : boards) {
-                isSame &= element.equalsData(board.getPuzzleElement(lcaElement));
-            }
+            BranchMerge merge = getBranchMerge();
+            PuzzleElement lcaElement = merge.getAncestorElement(element);
 
-            if (isSame) {
+            if (merge.agreesOn(element)) {
                 boolean changed = false;
                 PuzzleElement mergedData = board.getPuzzleElement(element);
                 if (lcaElement.equalsData(element) && !mergedData.equalsData(element)) {
@@ -291,6 +275,19 @@ public class TreeTransition extends TreeElement {
         this.parents = parents;
     }
 
+    /**
+     * Gets the merge of the parent tree nodes of this transition, reusing the previous one while
+     * the parents are unchanged
+     *
+     * @return merge of the parents
+     */
+    public BranchMerge getBranchMerge() {
+        if (branchMerge == null || !branchMerge.isOf(parents)) {
+            branchMerge = new BranchMerge(parents);
+        }
+        return branchMerge;
+    }
+
     /**
      * Adds a parent tree node to this tree transition
      *
@@ -402,7 +399,9 @@ public class TreeTransition extends TreeElement {
      */
     public boolean isCorrect() {
         if (isJustified() && !isVerified) {
+            long start = Instrumentation.start();
             isCorrect = rule.checkRule(this) == null;
+            Instrumentation.record(Operation.CHECK_RULE, rule.getRuleID(), start);
             isVerified = true;
         }
         return isJustified() && isCorrect;
@@ -1,6 +1,7 @@
 package edu.rpi.legup.puzzle.battleship;
 
 import edu.rpi.legup.model.gameboard.GridBoard;
+import edu.rpi.legup.model.gameboard.GridCell;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import java.awt.*;
 import java.util.ArrayList;
@@ -10,6 +11,8 @@ public class BattleshipBoard extends GridBoard {
 
     private List<BattleshipClue> east;
     private List<BattleshipClue> south;
+    private int[] fleet;
+    private BattleshipFleetIndex fleetIndex;
 
     /**
      * Constructor for creating a rectangular battleship board.
@@ -58,11 +61,80 @@ public class BattleshipBoard extends GridBoard {
         return south;
     }
 
+    /**
+     * Gets the number of ships of each length the board must hold
+     *
+     * @return array whose element at index n is the number of ships of length n, or null if the
+     *     puzzle does not give its fleet
+     */
+    public int[] getFleet() {
+        return fleet;
+    }
+
+    /**
+     * Sets the number of ships of each length the board must hold
+     *
+     * @param fleet array whose element at index n is the number of ships of length n, or null if
+     *     the fleet is not given
+     */
+    public void setFleet(int[] fleet) {
+        this.fleet = fleet;
+        this.fleetIndex = null;
+    }
+
+    /**
+     * Gets the fleet index of the board, built on first use and updated whenever the type of one
+     * of its cells changes
+     *
+     * @return fleet index of the board
+     */
+    public BattleshipFleetIndex getFleetIndex() {
+        if (fleetIndex == null) {
+            fleetIndex = new BattleshipFleetIndex(this);
+        }
+        return fleetIndex;
+    }
+
+    void onCellChanged(BattleshipCell cell) {
+        Point loc = cell.getLocation();
+        if (fleetIndex != null && getCell(loc.x, loc.y) == cell) {
+            fleetIndex.update(cell);
+        }
+    }
+
     @Override
     public BattleshipCell getCell(int x, int y) {
         return (BattleshipCell) super.getCell(x, y);
     }
 
+    @Override
+    public void setCell(int x, int y, GridCell cell) {
+        super.setCell(x, y, cell);
+        if (cell != null) {
+            ((BattleshipCell) cell).setBoard(this);
+        }
+        fleetIndex = null;
+    }
+
+    @Override
+    public void setPuzzleElement(int index, PuzzleElement puzzleElement) {
+        super.setPuzzleElement(index, puzzleElement);
+        if (puzzleElement instanceof BattleshipCell
+                && getPuzzleElement(puzzleElement) == puzzleElement) {
+            ((BattleshipCell) puzzleElement).setBoard(this);
+            onCellChanged((BattleshipCell) puzzleElement);
+        }
+    }
+
+    @Override
+    public void notifyChange(PuzzleElement puzzleElement) {
+        super.notifyChange(puzzleElement);
+        if (puzzleElement instanceof BattleshipCell) {
+            ((BattleshipCell) puzzleElement).setBoard(this);
+        }
+        fleetIndex = null;
+    }
+
     @Override
     /**
      * Creates a copy of the current board
@@ -81,6 +153,10 @@ public class BattleshipBoard extends GridBoard {
         }
         copy.east = this.east;
         copy.south = this.south;
+        copy.fleet = this.fleet;
+        if (fleetIndex != null) {
+            copy.fleetIndex = fleetIndex.copy();
+        }
         return copy;
     }
 
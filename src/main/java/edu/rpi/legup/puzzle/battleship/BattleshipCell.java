@@ -5,6 +5,8 @@ import java.awt.*;
 
 public class BattleshipCell extends GridCell<BattleshipType> {
 
+    private BattleshipBoard board;
+
     /**
      * BattleShipCell Constructor - creates a BattleShipCell from the specified value and location
      *
@@ -24,6 +26,24 @@ public class BattleshipCell extends GridCell<BattleshipType> {
         return data;
     }
 
+    /**
+     * Sets the type of this BattleShipCell and updates the fleet index of the board holding it
+     *
+     * @param data new type of the BattleShipCell
+     */
+    @Override
+    public void setData(BattleshipType data) {
+        BattleshipType old = this.data;
+        super.setData(data);
+        if (board != null && old != data) {
+            board.onCellChanged(this);
+        }
+    }
+
+    void setBoard(BattleshipBoard board) {
+        this.board = board;
+    }
+
     /**
      * Performs a deep copy on the BattleShipCell
      *
@@ -52,7 +52,7 @@ public class BattleshipExporter extends PuzzleExporter {
 
         org.w3c.dom.Element axisSouth = newDocument.createElement("axis");
         axisSouth.setAttribute("side", "south");
-        for (BattleshipClue clue : board.getEast()) {
+        for (BattleshipClue clue : board.getSouth()) {
             org.w3c.dom.Element clueElement = newDocument.createElement("clue");
             clueElement.setAttribute("value", String.valueOf(clue.getData()));
             clueElement.setAttribute("index", String.valueOf(clue.getIndex()));
@@ -60,6 +60,20 @@ public class BattleshipExporter extends PuzzleExporter {
         }
         boardElement.appendChild(axisSouth);
 
+        int[] fleet = board.getFleet();
+        if (fleet != null) {
+            org.w3c.dom.Element shipsElement = newDocument.createElement("ships");
+            for (int length = 1; length < fleet.length; length++) {
+                if (fleet[length] > 0) {
+                    org.w3c.dom.Element shipElement = newDocument.createElement("ship");
+                    shipElement.setAttribute("length", String.valueOf(length));
+                    shipElement.setAttribute("count", String.valueOf(fleet[length]));
+                    shipsElement.appendChild(shipElement);
+                }
+            }
+            boardElement.appendChild(shipsElement);
+        }
+
         return boardElement;
     }
 }
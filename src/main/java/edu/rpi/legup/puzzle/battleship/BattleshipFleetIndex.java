@@ -0,0 +1,495 @@
+package edu.rpi.legup.puzzle.battleship;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@code BattleshipFleetIndex} class keeps the counts the Battleship rules need up to date as
+ * the cells of a {@link BattleshipBoard} change, so a rule can check a cell without collecting rows
+ * and columns: the number of ship segments and unknown cells of every row and column, and the ships
+ * formed by the segments. The counts are updated on every change; the ships are extracted again in
+ * a single pass over the board the first time they are needed after a change.
+ *
+ * <p>Submarines count as ship segments. A ship is complete when neither end can grow any more: the
+ * cell past the end is water or off the board, or the end segment is the matching end piece.
+ */
+public class BattleshipFleetIndex {
+    private final int width;
+    private final int height;
+    private final BattleshipType[] types;
+
+    private final int[] rowSegments;
+    private final int[] columnSegments;
+    private final int[] rowUnknown;
+    private final int[] columnUnknown;
+    private final List<BattleshipClue> east;
+    private final List<BattleshipClue> south;
+    private final int[] fleet;
+    private int unknownCount;
+    private int segmentCount;
+
+    private List<Ship> ships;
+    private int[] shipAt;
+    private int[] completeCount;
+
+    /** A horizontal or vertical run of ship segments */
+    public static class Ship {
+        private final int x;
+        private final int y;
+        private final int length;
+        private final boolean horizontal;
+        private final boolean complete;
+
+        Ship(int x, int y, int length, boolean horizontal, boolean complete) {
+            this.x = x;
+            this.y = y;
+            this.length = length;
+            this.horizontal = horizontal;
+            this.complete = complete;
+        }
+
+        /**
+         * Gets the location of the top or left segment of the ship
+         *
+         * @return location of the first segment
+         */
+        public Point getLocation() {
+            return new Point(x, y);
+        }
+
+        public int getLength() {
+            return length;
+        }
+
+        public boolean isHorizontal() {
+            return horizontal;
+        }
+
+        public boolean isComplete() {
+            return complete;
+        }
+    }
+
+    /**
+     * BattleshipFleetIndex Constructor creates the index of the cells and clues of a board
+     *
+     * @param board board to index
+     */
+    public BattleshipFleetIndex(BattleshipBoard board) {
+        this.width = board.getWidth();
+        this.height = board.getHeight();
+        this.types = new BattleshipType[width * height];
+        this.rowSegments = new int[height];
+        this.columnSegments = new int[width];
+        this.rowUnknown = new int[height];
+        this.columnUnknown = new int[width];
+        this.east = board.getEast();
+        this.south = board.getSouth();
+        this.fleet = board.getFleet();
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                BattleshipCell cell = board.getCell(x, y);
+                types[y * width + x] = cell == null ? BattleshipType.UNKNOWN : cell.getType();
+                count(x, y, 1);
+            }
+        }
+    }
+
+    private BattleshipFleetIndex(BattleshipFleetIndex index) {
+        this.width = index.width;
+        this.height = index.height;
+        this.types = index.types.clone();
+        this.rowSegments = index.rowSegments.clone();
+        this.columnSegments = index.columnSegments.clone();
+        this.rowUnknown = index.rowUnknown.clone();
+        this.columnUnknown = index.columnUnknown.clone();
+        this.east = index.east;
+        this.south = index.south;
+        this.fleet = index.fleet;
+        this.unknownCount = index.unknownCount;
+        this.segmentCount = index.segmentCount;
+        // ships are immutable, so the extracted ships can be shared until either index changes
+        this.ships = index.ships;
+        this.shipAt = index.shipAt;
+        this.completeCount = index.completeCount;
+    }
+
+    /**
+     * Creates a copy of this index
+     *
+     * @return copy of the index
+     */
+    public BattleshipFleetIndex copy() {
+        return new BattleshipFleetIndex(this);
+    }
+
+    /**
+     * Updates the index after the type of a cell changed
+     *
+     * @param cell cell that changed
+     */
+    public void update(BattleshipCell cell) {
+        Point p = cell.getLocation();
+        if (!inBounds(p.x, p.y) || types[p.y * width + p.x] == cell.getType()) {
+            return;
+        }
+        count(p.x, p.y, -1);
+        types[p.y * width + p.x] = cell.getType();
+        count(p.x, p.y, 1);
+        ships = null;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Determines whether a location is on the board
+     *
+     * @param x x location
+     * @param y y location
+     * @return true if the location is on the board, false otherwise
+     */
+    public boolean inBounds(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    /**
+     * Gets the type of a cell
+     *
+     * @param x x location of the cell
+     * @param y y location of the cell
+     * @return type of the cell, or {@link BattleshipType#WATER} off the board
+     */
+    public BattleshipType getType(int x, int y) {
+        return inBounds(x, y) ? types[y * width + x] : BattleshipType.WATER;
+    }
+
+    /**
+     * Determines whether a cell is a ship segment, including submarines
+     *
+     * @param x x location of the cell
+     * @param y y location of the cell
+     * @return true if the cell is on the board and a segment, false otherwise
+     */
+    public boolean isSegment(int x, int y) {
+        return inBounds(x, y) && isSegment(types[y * width + x]);
+    }
+
+    /**
+     * Determines whether a type is a ship segment, including submarines
+     *
+     * @param type type of a cell
+     * @return true if the type is a segment, false otherwise
+     */
+    public static boolean isSegment(BattleshipType type) {
+        return type == BattleshipType.SUBMARINE || BattleshipType.isShip(type);
+    }
+
+    public int getRowSegments(int y) {
+        return rowSegments[y];
+    }
+
+    public int getColumnSegments(int x) {
+        return columnSegments[x];
+    }
+
+    public int getRowUnknown(int y) {
+        return rowUnknown[y];
+    }
+
+    public int getColumnUnknown(int x) {
+        return columnUnknown[x];
+    }
+
+    /**
+     * Gets the number of segments a row must have
+     *
+     * @param y y location of the row
+     * @return clue of the row, or -1 if the row has no clue
+     */
+    public int getRowClue(int y) {
+        return getClue(east, y);
+    }
+
+    /**
+     * Gets the number of segments a column must have
+     *
+     * @param x x location of the column
+     * @return clue of the column, or -1 if the column has no clue
+     */
+    public int getColumnClue(int x) {
+        return getClue(south, x);
+    }
+
+    public int getUnknownCount() {
+        return unknownCount;
+    }
+
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    /**
+     * Gets the number of ships of each length the board must hold
+     *
+     * @return array whose element at index n is the number of ships of length n, or null if the
+     *     fleet is not given
+     */
+    public int[] getFleet() {
+        return fleet;
+    }
+
+    /**
+     * Gets the number of ships of a length the board must hold
+     *
+     * @param length length of the ships
+     * @return number of ships, 0 if the fleet has no ship of that length or is not given
+     */
+    public int getFleetCount(int length) {
+        return fleet == null || length >= fleet.length ? 0 : fleet[length];
+    }
+
+    /**
+     * Gets the ships on the board
+     *
+     * @return unmodifiable list of ships, complete or not
+     */
+    public List<Ship> getShips() {
+        extractShips();
+        return ships;
+    }
+
+    /**
+     * Gets the ship a segment belongs to
+     *
+     * @param x x location of the segment
+     * @param y y location of the segment
+     * @return ship of the segment, or null if the cell is not a segment
+     */
+    public Ship getShipAt(int x, int y) {
+        if (!isSegment(x, y)) {
+            return null;
+        }
+        extractShips();
+        return ships.get(shipAt[y * width + x]);
+    }
+
+    /**
+     * Gets the number of complete ships of a length
+     *
+     * @param length length of the ships
+     * @return number of complete ships of the length
+     */
+    public int getCompleteCount(int length) {
+        extractShips();
+        return length < completeCount.length ? completeCount[length] : 0;
+    }
+
+    /**
+     * Gets the length of the longest ship of the fleet that is not complete on the board yet
+     *
+     * @return length of the longest missing ship, or 0 if there is none or the fleet is not given
+     */
+    public int getLongestMissing() {
+        if (fleet == null) {
+            return 0;
+        }
+        for (int length = fleet.length - 1; length > 0; length--) {
+            if (getCompleteCount(length) < fleet[length]) {
+                return length;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the places a ship of a length fits on the board: every cell is unknown or a matching
+     * segment, the ship does not touch another segment, it does not exceed the clues of its rows
+     * and columns, and it is not a complete ship already.
+     *
+     * @param length length of the ship
+     * @return list of ships of the length at the places it fits
+     */
+    public List<Ship> getPlacements(int length) {
+        List<Ship> placements = new ArrayList<>();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (fits(x, y, length, true)) {
+                    placements.add(new Ship(x, y, length, true, true));
+                }
+                if (length > 1 && fits(x, y, length, false)) {
+                    placements.add(new Ship(x, y, length, false, true));
+                }
+            }
+        }
+        return placements;
+    }
+
+    /**
+     * Gets the type of a segment of a ship once the ship is complete
+     *
+     * @param ship ship
+     * @param position position of the segment from the top or left end of the ship
+     * @return type of the segment
+     */
+    public static BattleshipType getSegmentType(Ship ship, int position) {
+        if (ship.getLength() == 1) {
+            return BattleshipType.SUBMARINE;
+        }
+        if (position == 0) {
+            return ship.isHorizontal() ? BattleshipType.SHIP_LEFT : BattleshipType.SHIP_TOP;
+        }
+        if (position == ship.getLength() - 1) {
+            return ship.isHorizontal() ? BattleshipType.SHIP_RIGHT : BattleshipType.SHIP_BOTTOM;
+        }
+        return BattleshipType.SHIP_MIDDLE;
+    }
+
+    private boolean fits(int x, int y, int length, boolean horizontal) {
+        int dx = horizontal ? 1 : 0;
+        int dy = horizontal ? 0 : 1;
+        int endX = x + dx * (length - 1);
+        int endY = y + dy * (length - 1);
+        if (!inBounds(endX, endY)) {
+            return false;
+        }
+        Ship ship = new Ship(x, y, length, horizontal, true);
+        int added = 0;
+        boolean allSegments = true;
+        for (int k = 0; k < length; k++) {
+            BattleshipType type = types[(y + dy * k) * width + x + dx * k];
+            if (type == BattleshipType.UNKNOWN) {
+                added++;
+                allSegments = false;
+            } else if (type != BattleshipType.SHIP_UNKNOWN && type != getSegmentType(ship, k)) {
+                return false;
+            }
+        }
+        // the cells around the ship, including past its ends, must not be segments
+        for (int cy = y - 1; cy <= endY + 1; cy++) {
+            for (int cx = x - 1; cx <= endX + 1; cx++) {
+                boolean inside = cx >= x && cx <= endX && cy >= y && cy <= endY;
+                if (!inside && isSegment(cx, cy)) {
+                    return false;
+                }
+            }
+        }
+        if (allSegments) {
+            Ship existing = getShipAt(x, y);
+            if (existing.isComplete() && existing.getLength() == length) {
+                return false;
+            }
+        }
+        if (horizontal) {
+            if (exceeds(getRowClue(y), rowSegments[y] + added)) {
+                return false;
+            }
+            for (int k = 0; k < length; k++) {
+                if (types[y * width + x + k] == BattleshipType.UNKNOWN
+                        && exceeds(getColumnClue(x + k), columnSegments[x + k] + 1)) {
+                    return false;
+                }
+            }
+        } else {
+            if (exceeds(getColumnClue(x), columnSegments[x] + added)) {
+                return false;
+            }
+            for (int k = 0; k < length; k++) {
+                if (types[(y + k) * width + x] == BattleshipType.UNKNOWN
+                        && exceeds(getRowClue(y + k), rowSegments[y + k] + 1)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean exceeds(int clue, int segments) {
+        return clue >= 0 && segments > clue;
+    }
+
+    private void extractShips() {
+        if (ships != null) {
+            return;
+        }
+        List<Ship> found = new ArrayList<>();
+        int[] at = new int[types.length];
+        int[] complete = new int[Math.max(width, height) + 1];
+        boolean[] visited = new boolean[types.length];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (visited[y * width + x] || !isSegment(x, y)) {
+                    continue;
+                }
+                boolean horizontal = isSegment(x + 1, y) || !isSegment(x, y + 1);
+                int dx = horizontal ? 1 : 0;
+                int dy = horizontal ? 0 : 1;
+                int length = 0;
+                while (isSegment(x + dx * length, y + dy * length)
+                        && !visited[(y + dy * length) * width + x + dx * length]) {
+                    int i = (y + dy * length) * width + x + dx * length;
+                    visited[i] = true;
+                    at[i] = found.size();
+                    length++;
+                }
+                boolean isComplete = isComplete(x, y, length, horizontal);
+                if (isComplete) {
+                    complete[length]++;
+                }
+                found.add(new Ship(x, y, length, horizontal, isComplete));
+            }
+        }
+        this.shipAt = at;
+        this.completeCount = complete;
+        this.ships = Collections.unmodifiableList(found);
+    }
+
+    private boolean isComplete(int x, int y, int length, boolean horizontal) {
+        BattleshipType first = types[y * width + x];
+        if (length == 1) {
+            return first == BattleshipType.SUBMARINE
+                    || (isClosed(x - 1, y)
+                            && isClosed(x + 1, y)
+                            && isClosed(x, y - 1)
+                            && isClosed(x, y + 1));
+        }
+        if (horizontal) {
+            BattleshipType last = types[y * width + x + length - 1];
+            return (first == BattleshipType.SHIP_LEFT || isClosed(x - 1, y))
+                    && (last == BattleshipType.SHIP_RIGHT || isClosed(x + length, y));
+        }
+        BattleshipType last = types[(y + length - 1) * width + x];
+        return (first == BattleshipType.SHIP_TOP || isClosed(x, y - 1))
+                && (last == BattleshipType.SHIP_BOTTOM || isClosed(x, y + length));
+    }
+
+    private boolean isClosed(int x, int y) {
+        return getType(x, y) == BattleshipType.WATER;
+    }
+
+    private void count(int x, int y, int delta) {
+        BattleshipType type = types[y * width + x];
+        if (type == BattleshipType.UNKNOWN) {
+            rowUnknown[y] += delta;
+            columnUnknown[x] += delta;
+            unknownCount += delta;
+        } else if (isSegment(type)) {
+            rowSegments[y] += delta;
+            columnSegments[x] += delta;
+            segmentCount += delta;
+        }
+    }
+
+    private static int getClue(List<BattleshipClue> clues, int i) {
+        BattleshipClue clue = i < clues.size() ? clues.get(i) : null;
+        return clue == null ? -1 : clue.getData();
+    }
+}
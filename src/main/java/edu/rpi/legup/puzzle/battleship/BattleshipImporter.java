@@ -3,6 +3,7 @@ package edu.rpi.legup.puzzle.battleship;
 import edu.rpi.legup.model.PuzzleImporter;
 import edu.rpi.legup.save.InvalidFileFormatException;
 import java.awt.*;
+import java.util.Arrays;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -176,6 +177,27 @@ public class BattleshipImporter extends PuzzleImporter {
                                 new BattleshipClue(value, index, BattleshipType.CLUE_SOUTH));
             }
 
+            NodeList shipsList = boardElement.getElementsByTagName("ships");
+            if (shipsList.getLength() > 0) {
+                NodeList ships = ((Element) shipsList.item(0)).getElementsByTagName("ship");
+                int[] fleet = new int[Math.max(width, height) + 1];
+                for (int i = 0; i < ships.getLength(); i++) {
+                    Element ship = (Element) ships.item(i);
+                    int length = Integer.valueOf(ship.getAttribute("length"));
+                    int count = Integer.valueOf(ship.getAttribute("count"));
+                    if (length < 1 || length >= fleet.length || count < 0) {
+                        throw new InvalidFileFormatException(
+                                "BattleShip Importer: " + "invalid ship length or count");
+                    }
+                    fleet[length] += count;
+                }
+                int longest = fleet.length - 1;
+                while (longest > 0 && fleet[longest] == 0) {
+                    longest--;
+                }
+                battleShipBoard.setFleet(Arrays.copyOf(fleet, longest + 1));
+            }
+
             puzzle.setCurrentBoard(battleShipBoard);
         } catch (NumberFormatException e) {
             throw new InvalidFileFormatException(
@@ -3,9 +3,19 @@ package edu.rpi.legup.puzzle.battleship.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.CaseBoard;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.CaseDelta;
 import edu.rpi.legup.model.rules.CaseRule;
 import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.battleship.BattleshipBoard;
+import edu.rpi.legup.puzzle.battleship.BattleshipCell;
+import edu.rpi.legup.puzzle.battleship.BattleshipFleetIndex;
+import edu.rpi.legup.puzzle.battleship.BattleshipType;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 public class ShipLocationCaseRule extends CaseRule {
 
@@ -13,7 +23,7 @@ public class ShipLocationCaseRule extends CaseRule {
         super(
                 "BTSP-CASE-0002",
                 "Ship Location",
-                "",
+                "The longest ship missing from the fleet must be in one of the places it fits.",
                 "edu/rpi/legup/images/battleship/cases/ShipLocations.png");
     }
 
@@ -26,6 +36,31 @@ public class ShipLocationCaseRule extends CaseRule {
      */
     @Override
     public String checkRuleRaw(TreeTransition transition) {
+        BattleshipBoard parent = (BattleshipBoard) transition.getParents().get(0).getBoard();
+        List<TreeTransition> childTransitions = transition.getParents().get(0).getChildren();
+        List<Map<Point, BattleshipType>> placements = new ArrayList<>();
+        for (CaseDelta delta : collectCases(parent, null)) {
+            placements.add(toMap(delta.getChanges()));
+        }
+        if (placements.isEmpty()) {
+            return super.getInvalidUseOfRuleMessage()
+                    + ": The longest missing ship does not fit anywhere.";
+        }
+        if (childTransitions.size() != placements.size()) {
+            return super.getInvalidUseOfRuleMessage()
+                    + ": This case rule must have a case for each place the longest missing ship"
+                    + " fits.";
+        }
+
+        // every case must place the ship at a different one of the places it fits
+        for (TreeTransition child : childTransitions) {
+            Map<Point, BattleshipType> modified = toMap(child.getBoard().getModifiedData());
+            if (!placements.remove(modified)) {
+                return super.getInvalidUseOfRuleMessage()
+                        + ": Each case must place the longest missing ship at a different place"
+                        + " and surround its ends with water.";
+            }
+        }
         return null;
     }
 
@@ -53,7 +88,22 @@ public class ShipLocationCaseRule extends CaseRule {
      */
     @Override
     public CaseBoard getCaseBoard(Board board) {
-        return null;
+        BattleshipBoard battleshipBoard = (BattleshipBoard) board.copy();
+        battleshipBoard.setModifiable(false);
+        CaseBoard caseBoard = new CaseBoard(battleshipBoard, this);
+        BattleshipFleetIndex index = battleshipBoard.getFleetIndex();
+        int length = index.getLongestMissing();
+        if (length == 0) {
+            return caseBoard;
+        }
+        for (BattleshipFleetIndex.Ship ship : index.getPlacements(length)) {
+            for (BattleshipCell cell : getCells(battleshipBoard, ship)) {
+                if (cell.getType() == BattleshipType.UNKNOWN) {
+                    caseBoard.addPickableElement(cell);
+                }
+            }
+        }
+        return caseBoard;
     }
 
     /**
@@ -66,6 +116,81 @@ public class ShipLocationCaseRule extends CaseRule {
      */
     @Override
     public List<Board> getCases(Board board, PuzzleElement puzzleElement) {
-        return null;
+        return materializeCases(board, puzzleElement);
+    }
+
+    /**
+     * Gets the possible cases for this {@link Board} without copying the board for each case.
+     * There is a case for every place the longest ship missing from the fleet fits, which sets the
+     * cells of the ship to its segments and the unknown cells past both of its ends to water.
+     *
+     * @param board the current board state
+     * @param puzzleElement equivalent puzzleElement
+     * @return an iterator over the cases
+     */
+    @Override
+    public Iterator<CaseDelta> getCaseDeltas(Board board, PuzzleElement puzzleElement) {
+        BattleshipBoard battleshipBoard = (BattleshipBoard) board;
+        BattleshipFleetIndex index = battleshipBoard.getFleetIndex();
+        List<CaseDelta> cases = new ArrayList<>();
+        int length = index.getLongestMissing();
+        if (length == 0) {
+            return cases.iterator();
+        }
+
+        for (BattleshipFleetIndex.Ship ship : index.getPlacements(length)) {
+            List<PuzzleElement> changes = new ArrayList<>();
+            List<BattleshipCell> cells = getCells(battleshipBoard, ship);
+            for (int i = 0; i < length; i++) {
+                BattleshipType type = BattleshipFleetIndex.getSegmentType(ship, i);
+                if (cells.get(i).getType() != type) {
+                    BattleshipCell change = cells.get(i).copy();
+                    change.setData(type);
+                    changes.add(change);
+                }
+            }
+            Point start = ship.getLocation();
+            int dx = ship.isHorizontal() ? 1 : 0;
+            int dy = ship.isHorizontal() ? 0 : 1;
+            addWater(battleshipBoard, start.x - dx, start.y - dy, changes);
+            addWater(battleshipBoard, start.x + dx * length, start.y + dy * length, changes);
+            cases.add(new CaseDelta(changes));
+        }
+        return cases.iterator();
+    }
+
+    private static List<BattleshipCell> getCells(
+            BattleshipBoard board, BattleshipFleetIndex.Ship ship) {
+        List<BattleshipCell> cells = new ArrayList<>();
+        Point start = ship.getLocation();
+        for (int i = 0; i < ship.getLength(); i++) {
+            cells.add(
+                    ship.isHorizontal()
+                            ? board.getCell(start.x + i, start.y)
+                            : board.getCell(start.x, start.y + i));
+        }
+        return cells;
+    }
+
+    private static void addWater(
+            BattleshipBoard board, int x, int y, List<PuzzleElement> changes) {
+        if (x < 0 || y < 0 || x >= board.getWidth() || y >= board.getHeight()) {
+            return;
+        }
+        BattleshipCell cell = board.getCell(x, y);
+        if (cell.getType() == BattleshipType.UNKNOWN) {
+            BattleshipCell change = cell.copy();
+            change.setData(BattleshipType.WATER);
+            changes.add(change);
+        }
+    }
+
+    private static Map<Point, BattleshipType> toMap(Iterable<PuzzleElement> elements) {
+        Map<Point, BattleshipType> map = new HashMap<>();
+        for (PuzzleElement element : elements) {
+            BattleshipCell cell = (BattleshipCell) element;
+            map.put(cell.getLocation(), cell.getType());
+        }
+        return map;
     }
 }
@@ -3,6 +3,10 @@ package edu.rpi.legup.puzzle.battleship.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.ContradictionRule;
+import edu.rpi.legup.puzzle.battleship.BattleshipBoard;
+import edu.rpi.legup.puzzle.battleship.BattleshipCell;
+import edu.rpi.legup.puzzle.battleship.BattleshipFleetIndex;
+import java.awt.*;
 
 public class TooFewInFleetContradictionRule extends ContradictionRule {
 
@@ -10,7 +14,7 @@ public class TooFewInFleetContradictionRule extends ContradictionRule {
         super(
                 "BTSP-CONT-0003",
                 "Too Few in Fleet",
-                "",
+                "There must be room left for every ship of the fleet.",
                 "edu/rpi/legup/images/battleship/contradictions/too_few_in_fleet.png");
     }
 
@@ -25,6 +29,23 @@ public class TooFewInFleetContradictionRule extends ContradictionRule {
      */
     @Override
     public String checkContradictionAt(Board board, PuzzleElement puzzleElement) {
-        return null;
+        BattleshipFleetIndex index = ((BattleshipBoard) board).getFleetIndex();
+        Point loc = ((BattleshipCell) puzzleElement).getLocation();
+        int[] fleet = index.getFleet();
+        if (fleet == null) {
+            return super.getNoContradictionMessage();
+        }
+        int segments = 0;
+        boolean missing = false;
+        for (int length = 1; length < fleet.length; length++) {
+            segments += length * fleet[length];
+            missing |= index.getCompleteCount(length) < fleet[length];
+        }
+        // the fleet does not fit in the cells left, or a ship is missing from a finished board
+        if (index.getSegmentCount() + index.getUnknownCount() < segments
+                || (missing && index.getUnknownCount() == 0)) {
+            return null;
+        }
+        return super.getNoContradictionMessage();
     }
 }
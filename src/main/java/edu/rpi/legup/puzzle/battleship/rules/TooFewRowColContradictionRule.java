@@ -3,6 +3,10 @@ package edu.rpi.legup.puzzle.battleship.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.ContradictionRule;
+import edu.rpi.legup.puzzle.battleship.BattleshipBoard;
+import edu.rpi.legup.puzzle.battleship.BattleshipCell;
+import edu.rpi.legup.puzzle.battleship.BattleshipFleetIndex;
+import java.awt.*;
 
 public class TooFewRowColContradictionRule extends ContradictionRule {
 
@@ -10,7 +14,7 @@ public class TooFewRowColContradictionRule extends ContradictionRule {
         super(
                 "BTSP-CONT-0004",
                 "Too few in row/col",
-                "",
+                "A row or column cannot have too few unknown cells left to reach its clue.",
                 "edu/rpi/legup/images/battleship/contradictions/too_few_segments.png");
     }
 
@@ -25,6 +29,14 @@ public class TooFewRowColContradictionRule extends ContradictionRule {
      */
     @Override
     public String checkContradictionAt(Board board, PuzzleElement puzzleElement) {
-        return null;
+        BattleshipFleetIndex index = ((BattleshipBoard) board).getFleetIndex();
+        Point loc = ((BattleshipCell) puzzleElement).getLocation();
+        int rowClue = index.getRowClue(loc.y);
+        int columnClue = index.getColumnClue(loc.x);
+        if (index.getRowSegments(loc.y) + index.getRowUnknown(loc.y) < rowClue
+                || index.getColumnSegments(loc.x) + index.getColumnUnknown(loc.x) < columnClue) {
+            return null;
+        }
+        return super.getNoContradictionMessage();
     }
 }
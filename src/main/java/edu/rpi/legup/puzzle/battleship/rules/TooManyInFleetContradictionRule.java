@@ -3,6 +3,10 @@ package edu.rpi.legup.puzzle.battleship.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.ContradictionRule;
+import edu.rpi.legup.puzzle.battleship.BattleshipBoard;
+import edu.rpi.legup.puzzle.battleship.BattleshipCell;
+import edu.rpi.legup.puzzle.battleship.BattleshipFleetIndex;
+import java.awt.*;
 
 public class TooManyInFleetContradictionRule extends ContradictionRule {
 
@@ -10,7 +14,7 @@ public class TooManyInFleetContradictionRule extends ContradictionRule {
         super(
                 "BTSP-CONT-0005",
                 "Too Many in Fleet",
-                "",
+                "There cannot be more ships of a length than the fleet has.",
                 "edu/rpi/legup/images/battleship/contradictions/too_many_in_fleet.png");
     }
 
@@ -25,6 +29,19 @@ public class TooManyInFleetContradictionRule extends ContradictionRule {
      */
     @Override
     public String checkContradictionAt(Board board, PuzzleElement puzzleElement) {
-        return null;
+        BattleshipFleetIndex index = ((BattleshipBoard) board).getFleetIndex();
+        Point loc = ((BattleshipCell) puzzleElement).getLocation();
+        int[] fleet = index.getFleet();
+        BattleshipFleetIndex.Ship ship = index.getShipAt(loc.x, loc.y);
+        if (fleet == null || ship == null) {
+            return super.getNoContradictionMessage();
+        }
+        int length = ship.getLength();
+        if (length >= fleet.length
+                || (ship.isComplete()
+                        && index.getCompleteCount(length) > index.getFleetCount(length))) {
+            return null;
+        }
+        return super.getNoContradictionMessage();
     }
 }
@@ -3,6 +3,10 @@ package edu.rpi.legup.puzzle.battleship.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.ContradictionRule;
+import edu.rpi.legup.puzzle.battleship.BattleshipBoard;
+import edu.rpi.legup.puzzle.battleship.BattleshipCell;
+import edu.rpi.legup.puzzle.battleship.BattleshipFleetIndex;
+import java.awt.*;
 
 public class TooManyRowColContradiction extends ContradictionRule {
 
@@ -10,7 +14,7 @@ public class TooManyRowColContradiction extends ContradictionRule {
         super(
                 "BTSP-CONT-0006",
                 "Too Many row/col",
-                "",
+                "A row or column cannot have more ship segments than its clue.",
                 "edu/rpi/legup/images/battleship/contradictions/too_many_segments.png");
     }
 
@@ -25,6 +29,14 @@ public class TooManyRowColContradiction extends ContradictionRule {
      */
     @Override
     public String checkContradictionAt(Board board, PuzzleElement puzzleElement) {
-        return null;
+        BattleshipFleetIndex index = ((BattleshipBoard) board).getFleetIndex();
+        Point loc = ((BattleshipCell) puzzleElement).getLocation();
+        int rowClue = index.getRowClue(loc.y);
+        int columnClue = index.getColumnClue(loc.x);
+        if ((rowClue >= 0 && index.getRowSegments(loc.y) > rowClue)
+                || (columnClue >= 0 && index.getColumnSegments(loc.x) > columnClue)) {
+            return null;
+        }
+        return super.getNoContradictionMessage();
     }
 }
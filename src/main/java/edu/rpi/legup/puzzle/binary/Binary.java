@@ -3,7 +3,11 @@ package edu.rpi.legup.puzzle.binary;
 import edu.rpi.legup.model.Puzzle;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.generator.PuzzleGenerator;
 import edu.rpi.legup.model.rules.ContradictionRule;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 public class Binary extends Puzzle {
     public Binary() {
@@ -33,7 +37,79 @@ public class Binary extends Puzzle {
      */
     @Override
     public Board generatePuzzle(int difficulty) {
-        return null;
+        return getGenerator(difficulty).generate(difficulty, new Random());
+    }
+
+    @Override
+    public PuzzleGenerator getGenerator(int difficulty) {
+        return new BinaryGenerator(BinaryGenerator.getSize(difficulty));
+    }
+
+    /**
+     * Counts the solutions of a board with the propagating solver
+     *
+     * @param board board to solve
+     * @param limit number of solutions after which counting stops
+     * @return number of solutions, at most {@code limit}, or -1 if the board is not square
+     */
+    @Override
+    public int countSolutions(Board board, int limit) {
+        int[] cells = getCells((BinaryBoard) board);
+        if (cells == null) {
+            return -1;
+        }
+        return new BinarySolver(((BinaryBoard) board).getWidth()).countSolutions(cells, limit);
+    }
+
+    /**
+     * Finds the solutions of a board with the propagating solver
+     *
+     * @param board board to solve, it is not modified
+     * @param limit number of solutions after which the search stops
+     * @return solved copies of the board, at most {@code limit}, or null if the board is not
+     *     square
+     */
+    @Override
+    public List<Board> findSolutions(Board board, int limit) {
+        BinaryBoard binaryBoard = (BinaryBoard) board;
+        int[] cells = getCells(binaryBoard);
+        if (cells == null) {
+            return null;
+        }
+        int size = binaryBoard.getWidth();
+        List<Board> solutions = new ArrayList<>();
+        for (int[] solution : new BinarySolver(size).findSolutions(cells, limit)) {
+            BinaryBoard solved = binaryBoard.copy();
+            for (int y = 0; y < size; y++) {
+                for (int x = 0; x < size; x++) {
+                    BinaryCell cell = solved.getCell(x, y);
+                    if (cell.getType() == BinaryType.UNKNOWN) {
+                        cell.setData(solution[y * size + x]);
+                    }
+                }
+            }
+            solutions.add(solved);
+        }
+        return solutions;
+    }
+
+    // the cell values in row major order for the solver, null if the board is not square
+    private static int[] getCells(BinaryBoard board) {
+        int size = board.getWidth();
+        if (size != board.getHeight() || size < 2 || size % 2 != 0) {
+            return null;
+        }
+        int[] cells = new int[size * size];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                BinaryCell cell = board.getCell(x, y);
+                cells[y * size + x] =
+                        cell.getType() == BinaryType.UNKNOWN
+                                ? PuzzleGenerator.EMPTY
+                                : cell.getData();
+            }
+        }
+        return cells;
     }
 
     /**
@@ -77,6 +153,6 @@ public class Binary extends Puzzle {
      */
     @Override
     public boolean isValidDimensions(int rows, int columns) {
-        return rows >= 2 && rows % 2 == 0 && rows == columns;
+        return rows >= 2 && rows % 2 == 0 && rows == columns && rows <= BinaryBoard.MAX_SIZE;
     }
 }
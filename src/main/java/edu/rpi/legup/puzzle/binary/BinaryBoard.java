@@ -1,22 +1,41 @@
 package edu.rpi.legup.puzzle.binary;
 
 import edu.rpi.legup.model.gameboard.GridBoard;
+import edu.rpi.legup.model.gameboard.GridCell;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Set;
 
+/**
+ * The {@code BinaryBoard} keeps each row and each column as a pair of bitmasks, one with a bit set
+ * for every one and one with a bit set for every zero, so the rules can count and compare whole
+ * lines with bit operations. Bit {@code x} of a row is the cell in column {@code x} and bit {@code
+ * y} of a column is the cell in row {@code y}. The masks are updated whenever a cell is set or the
+ * data of one of its cells changes.
+ */
 public class BinaryBoard extends GridBoard {
+    /** Largest width or height of a board, so that each line fits in a long */
+    public static final int MAX_SIZE = Long.SIZE;
+
     private int size;
 
+    private final long[] rowOnes;
+    private final long[] rowZeros;
+    private final long[] colOnes;
+    private final long[] colZeros;
+
     public BinaryBoard(int width, int height) {
         super(width, height);
         this.size = width;
+        this.rowOnes = new long[height];
+        this.rowZeros = new long[height];
+        this.colOnes = new long[width];
+        this.colZeros = new long[width];
     }
 
     public BinaryBoard(int size) {
-        super(size, size);
-        this.size = size;
+        this(size, size);
     }
 
     /**
@@ -38,6 +57,144 @@ public class BinaryBoard extends GridBoard {
         return (BinaryCell) super.getCell(x, y);
     }
 
+    /**
+     * Sets the cell at the (x,y) position and updates the masks of its row and column
+     *
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @param cell cell to set at (x,y)
+     */
+    @Override
+    public void setCell(int x, int y, GridCell cell) {
+        super.setCell(x, y, cell);
+        if (cell instanceof BinaryCell
+                && x >= 0
+                && y >= 0
+                && x < dimension.width
+                && y < dimension.height) {
+            ((BinaryCell) cell).setBoard(this);
+            updateMasks(x, y, ((BinaryCell) cell).getType());
+        }
+    }
+
+    /**
+     * Sets the cell at the index, attaching it to this board and updating the masks of its row and
+     * column
+     *
+     * @param index index of the cell
+     * @param puzzleElement cell to set at the index
+     */
+    @Override
+    public void setPuzzleElement(int index, PuzzleElement puzzleElement) {
+        super.setPuzzleElement(index, puzzleElement);
+        if (puzzleElement instanceof BinaryCell
+                && getPuzzleElement(puzzleElement) == puzzleElement) {
+            BinaryCell cell = (BinaryCell) puzzleElement;
+            cell.setBoard(this);
+            onCellChanged(cell);
+        }
+    }
+
+    @Override
+    public void notifyChange(PuzzleElement puzzleElement) {
+        BinaryCell cell = (BinaryCell) puzzleElement;
+        setCell(cell.getLocation().x, cell.getLocation().y, cell);
+    }
+
+    void onCellChanged(BinaryCell cell) {
+        if (getCell(cell.getLocation().x, cell.getLocation().y) == cell) {
+            updateMasks(cell.getLocation().x, cell.getLocation().y, cell.getType());
+        }
+    }
+
+    private void updateMasks(int x, int y, BinaryType type) {
+        long rowBit = 1L << x;
+        long colBit = 1L << y;
+        rowOnes[y] &= ~rowBit;
+        rowZeros[y] &= ~rowBit;
+        colOnes[x] &= ~colBit;
+        colZeros[x] &= ~colBit;
+        if (type == BinaryType.ONE) {
+            rowOnes[y] |= rowBit;
+            colOnes[x] |= colBit;
+        } else if (type == BinaryType.ZERO) {
+            rowZeros[y] |= rowBit;
+            colZeros[x] |= colBit;
+        }
+    }
+
+    /**
+     * Gets the ones of a row
+     *
+     * @param rowNum row number
+     * @return mask with bit x set if the cell in column x is a one
+     */
+    public long getRowOnes(int rowNum) {
+        return rowOnes[rowNum];
+    }
+
+    /**
+     * Gets the zeros of a row
+     *
+     * @param rowNum row number
+     * @return mask with bit x set if the cell in column x is a zero
+     */
+    public long getRowZeros(int rowNum) {
+        return rowZeros[rowNum];
+    }
+
+    /**
+     * Gets the ones of a column
+     *
+     * @param colNum column number
+     * @return mask with bit y set if the cell in row y is a one
+     */
+    public long getColOnes(int colNum) {
+        return colOnes[colNum];
+    }
+
+    /**
+     * Gets the zeros of a column
+     *
+     * @param colNum column number
+     * @return mask with bit y set if the cell in row y is a zero
+     */
+    public long getColZeros(int colNum) {
+        return colZeros[colNum];
+    }
+
+    /**
+     * Gets the mask of every cell in a line of the given length
+     *
+     * @param length number of cells in the line
+     * @return mask with the lowest length bits set
+     */
+    public static long getFullMask(int length) {
+        return length >= Long.SIZE ? -1L : (1L << length) - 1;
+    }
+
+    /**
+     * Gets the start of every trio in a line, three adjacent cells of the same digit
+     *
+     * @param digits mask of the ones or the zeros of a line
+     * @return mask with bit i set if the cells i, i + 1 and i + 2 are all in digits
+     */
+    public static long getTrios(long digits) {
+        return digits & (digits >>> 1) & (digits >>> 2);
+    }
+
+    /**
+     * Determines whether the cell at a position of a line is part of a trio
+     *
+     * @param digits mask of the ones or the zeros of a line
+     * @param position position of the cell in the line
+     * @return true if one of the trios of the line covers the position, false otherwise
+     */
+    public static boolean inTrio(long digits, int position) {
+        long starts = position >= 2 ? 7L << (position - 2) : 7L >>> (2 - position);
+        return (getTrios(digits) & starts) != 0;
+    }
+
     /**
      * Get all the binary cells in a row
      *
@@ -4,8 +4,11 @@ import edu.rpi.legup.model.elements.Element;
 import edu.rpi.legup.model.gameboard.GridCell;
 import java.awt.Point;
 import java.awt.event.MouseEvent;
+import java.util.Objects;
 
 public class BinaryCell extends GridCell<Integer> {
+    private BinaryBoard board;
+
     /**
      * BinaryCell Constructor - creates a BinaryCell from the specified value and location
      *
@@ -37,6 +40,24 @@ public class BinaryCell extends GridCell<Integer> {
         return null;
     }
 
+    /**
+     * Sets the data of this cell and updates the masks of the board holding it
+     *
+     * @param data new data of the cell
+     */
+    @Override
+    public void setData(Integer data) {
+        Integer old = this.data;
+        super.setData(data);
+        if (board != null && !Objects.equals(old, data)) {
+            board.onCellChanged(this);
+        }
+    }
+
+    void setBoard(BinaryBoard board) {
+        this.board = board;
+    }
+
     /**
      * Performs a deep copy on the BinaryCell
      *
@@ -61,21 +82,21 @@ public class BinaryCell extends GridCell<Integer> {
         if (e.getElementName().equals("Number Tile")) {
             if (m.getButton() == MouseEvent.BUTTON1) {
                 if (this.data == 2) {
-                    this.data = 0;
+                    setData(0);
                 } else {
-                    this.data = this.data + 1;
+                    setData(this.data + 1);
                 }
             } else {
                 if (m.getButton() == MouseEvent.BUTTON3) {
                     if (this.data > 0) {
-                        this.data = this.data - 1;
+                        setData(this.data - 1);
                     } else {
-                        this.data = 2;
+                        setData(2);
                     }
                 }
             }
         } else { // unknown tile
-            this.data = 2;
+            setData(2);
         }
     }
 }
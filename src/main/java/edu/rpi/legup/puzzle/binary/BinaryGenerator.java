@@ -0,0 +1,74 @@
+package edu.rpi.legup.puzzle.binary;
+
+import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.generator.PuzzleGenerator;
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.Random;
+
+/** The {@code BinaryGenerator} class generates square Binary puzzles with a unique solution */
+public class BinaryGenerator extends PuzzleGenerator {
+    private final BinarySolver solver;
+
+    /**
+     * BinaryGenerator Constructor creates a generator of puzzles of the specified size
+     *
+     * @param size number of rows and columns, must be even
+     */
+    public BinaryGenerator(int size) {
+        this.solver = new BinarySolver(size);
+    }
+
+    /**
+     * Gets the size of the puzzles generated for a difficulty, from 6x6 for the easiest to 10x10
+     * for the hardest
+     *
+     * @param difficulty level of difficulty (1-10)
+     * @return number of rows and columns
+     */
+    public static int getSize(int difficulty) {
+        if (difficulty <= 3) {
+            return 6;
+        }
+        return difficulty <= 7 ? 8 : 10;
+    }
+
+    public int getSize() {
+        return solver.getSize();
+    }
+
+    @Override
+    protected int[] createSolution(Random random) {
+        int size = solver.getSize();
+        int[] empty = new int[size * size];
+        Arrays.fill(empty, EMPTY);
+        return solver.solve(empty, random);
+    }
+
+    @Override
+    public int countSolutions(int[] clues, int limit) {
+        return solver.countSolutions(clues, limit);
+    }
+
+    @Override
+    public Board createBoard(int[] clues) {
+        int size = solver.getSize();
+        BinaryBoard board = new BinaryBoard(size);
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int index = y * size + x;
+                int value = clues[index] == EMPTY ? BinaryType.UNKNOWN.toValue() : clues[index];
+                BinaryCell cell = new BinaryCell(value, new Point(x, y));
+                cell.setIndex(index);
+                if (clues[index] == EMPTY) {
+                    cell.setModifiable(true);
+                } else {
+                    cell.setModifiable(false);
+                    cell.setGiven(true);
+                }
+                board.setCell(x, y, cell);
+            }
+        }
+        return board;
+    }
+}
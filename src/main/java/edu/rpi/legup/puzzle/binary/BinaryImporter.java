@@ -92,7 +92,11 @@ public class BinaryImporter extends PuzzleImporter {
             int width = binaryBoard.getWidth();
             int height = binaryBoard.getHeight();
 
-            if (binaryBoard == null || width % 2 != 0 || height % 2 != 0) {
+            if (binaryBoard == null
+                    || width % 2 != 0
+                    || height % 2 != 0
+                    || width > BinaryBoard.MAX_SIZE
+                    || height > BinaryBoard.MAX_SIZE) {
                 throw new InvalidFileFormatException("Binary Importer: invalid board dimensions");
             }
 
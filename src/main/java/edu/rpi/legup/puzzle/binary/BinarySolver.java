@@ -0,0 +1,211 @@
+package edu.rpi.legup.puzzle.binary;
+
+import edu.rpi.legup.model.generator.PuzzleGenerator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The {@code BinarySolver} class solves Binary puzzles encoded as arrays of cell values in row
+ * major order, with {@link PuzzleGenerator#EMPTY} for the unknown cells. It propagates the same
+ * deductions as the direct rules of the puzzle (preventing trios and completing balanced rows and
+ * columns) and only branches on a cell when propagation gets stuck, which keeps the search small
+ * enough to count solutions many times while clues are removed.
+ */
+public class BinarySolver {
+    private final int size;
+    private final int[][] lines;
+
+    /**
+     * BinarySolver Constructor creates a solver for square boards of the specified size
+     *
+     * @param size number of rows and columns, must be even
+     */
+    public BinarySolver(int size) {
+        if (size < 2 || size % 2 != 0) {
+            throw new IllegalArgumentException("Invalid Binary size " + size);
+        }
+        this.size = size;
+        this.lines = new int[2 * size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                lines[i][j] = i * size + j;
+                lines[size + i][j] = j * size + i;
+            }
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Counts the solutions of a puzzle, stopping at the specified limit
+     *
+     * @param cells the cell values, {@link PuzzleGenerator#EMPTY} for the unknown cells
+     * @param limit number of solutions after which counting stops
+     * @return number of solutions, at most {@code limit}
+     */
+    public int countSolutions(int[] cells, int limit) {
+        int[] copy = cells.clone();
+        if (!propagate(copy)) {
+            return 0;
+        }
+        return search(copy, limit, null, null);
+    }
+
+    /**
+     * Finds the solutions of a puzzle, stopping at the specified limit
+     *
+     * @param cells the cell values, {@link PuzzleGenerator#EMPTY} for the unknown cells
+     * @param limit number of solutions after which the search stops
+     * @return the solved cell values of each solution found, at most {@code limit}
+     */
+    public List<int[]> findSolutions(int[] cells, int limit) {
+        List<int[]> solutions = new ArrayList<>();
+        int[] copy = cells.clone();
+        if (propagate(copy)) {
+            search(copy, limit, null, solutions);
+        }
+        return solutions;
+    }
+
+    /**
+     * Finds a solution of a puzzle
+     *
+     * @param cells the cell values, {@link PuzzleGenerator#EMPTY} for the unknown cells
+     * @param random source of randomness used to pick the value tried first on each branch, or
+     *     null to always try 0 first
+     * @return the solved cell values, or null if the puzzle has no solution
+     */
+    public int[] solve(int[] cells, Random random) {
+        int[] copy = cells.clone();
+        if (!propagate(copy)) {
+            return null;
+        }
+        List<int[]> solutions = new ArrayList<>(1);
+        return search(copy, 1, random, solutions) == 1 ? solutions.get(0) : null;
+    }
+
+    private int search(int[] cells, int limit, Random random, List<int[]> solutions) {
+        int index = -1;
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == PuzzleGenerator.EMPTY) {
+                index = i;
+                break;
+            }
+        }
+        if (index < 0) {
+            if (solutions != null) {
+                solutions.add(cells);
+            }
+            return 1;
+        }
+
+        int first = random == null ? 0 : random.nextInt(2);
+        int count = 0;
+        for (int k = 0; k < 2 && count < limit; k++) {
+            int[] next = cells.clone();
+            next[index] = first ^ k;
+            if (propagate(next)) {
+                count += search(next, limit - count, random, solutions);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Fills the cells forced by the rules of the puzzle
+     *
+     * @param cells the cell values, updated in place
+     * @return false if the cells break a rule of the puzzle, true otherwise
+     */
+    boolean propagate(int[] cells) {
+        int half = size / 2;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int[] line : lines) {
+                int zeros = 0;
+                int ones = 0;
+                for (int index : line) {
+                    if (cells[index] == 0) {
+                        zeros++;
+                    } else if (cells[index] == 1) {
+                        ones++;
+                    }
+                }
+                if (zeros > half || ones > half) {
+                    return false;
+                }
+                if ((zeros == half) != (ones == half)) {
+                    int fill = zeros == half ? 1 : 0;
+                    for (int index : line) {
+                        if (cells[index] == PuzzleGenerator.EMPTY) {
+                            cells[index] = fill;
+                        }
+                    }
+                    changed = true;
+                    continue;
+                }
+
+                for (int j = 0; j + 2 < size; j++) {
+                    int a = cells[line[j]];
+                    int b = cells[line[j + 1]];
+                    int c = cells[line[j + 2]];
+                    if (a != PuzzleGenerator.EMPTY && a == b && b == c) {
+                        return false;
+                    }
+                    if (a == PuzzleGenerator.EMPTY && b != PuzzleGenerator.EMPTY && b == c) {
+                        cells[line[j]] = 1 - b;
+                        changed = true;
+                    } else if (c == PuzzleGenerator.EMPTY
+                            && a != PuzzleGenerator.EMPTY
+                            && a == b) {
+                        cells[line[j + 2]] = 1 - a;
+                        changed = true;
+                    } else if (b == PuzzleGenerator.EMPTY
+                            && a != PuzzleGenerator.EMPTY
+                            && a == c) {
+                        cells[line[j + 1]] = 1 - a;
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return hasUniqueLines(cells, 0) && hasUniqueLines(cells, size);
+    }
+
+    // checks that no two complete rows (or columns) are the same
+    private boolean hasUniqueLines(int[] cells, int start) {
+        for (int i = start; i < start + size; i++) {
+            if (!isComplete(cells, lines[i])) {
+                continue;
+            }
+            for (int j = i + 1; j < start + size; j++) {
+                if (isComplete(cells, lines[j]) && isSame(cells, lines[i], lines[j])) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isComplete(int[] cells, int[] line) {
+        for (int index : line) {
+            if (cells[index] == PuzzleGenerator.EMPTY) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSame(int[] cells, int[] first, int[] second) {
+        for (int k = 0; k < first.length; k++) {
+            if (cells[first[k]] != cells[second[k]]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
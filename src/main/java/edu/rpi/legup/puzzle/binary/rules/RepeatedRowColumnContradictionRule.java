@@ -5,8 +5,6 @@ import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.ContradictionRule;
 import edu.rpi.legup.puzzle.binary.BinaryBoard;
 import edu.rpi.legup.puzzle.binary.BinaryCell;
-import edu.rpi.legup.puzzle.binary.BinaryType;
-import java.util.ArrayList;
 
 public class RepeatedRowColumnContradictionRule extends ContradictionRule {
     private final String NO_CONTRADICTION_MESSAGE =
@@ -34,15 +32,19 @@ public class RepeatedRowColumnContradictionRule extends ContradictionRule {
     public String checkContradictionAt(Board board, PuzzleElement puzzleElement) {
         BinaryBoard binaryBoard = (BinaryBoard) board;
         BinaryCell cell = (BinaryCell) binaryBoard.getPuzzleElement(puzzleElement);
+        int x = cell.getLocation().x;
+        int y = cell.getLocation().y;
 
         // Compare each row with row of current cell to see if they are equal, if so the rule is
         // applied correctly
-        ArrayList<BinaryType> row = binaryBoard.getRowTypes(cell.getLocation().y);
-        int size = row.size();
-        for (int i = 0; i < size; i++) {
-            if (i != cell.getLocation().y) {
-                ArrayList<BinaryType> currRow = binaryBoard.getRowTypes(i);
-                if (currRow.equals(row)) {
+        // Only complete rows and columns can repeat each other
+        long ones = binaryBoard.getRowOnes(y);
+        long zeros = binaryBoard.getRowZeros(y);
+        if ((ones | zeros) == BinaryBoard.getFullMask(binaryBoard.getWidth())) {
+            for (int i = 0; i < binaryBoard.getHeight(); i++) {
+                if (i != y
+                        && binaryBoard.getRowOnes(i) == ones
+                        && binaryBoard.getRowZeros(i) == zeros) {
                     return null;
                 }
             }
@@ -50,11 +52,13 @@ public class RepeatedRowColumnContradictionRule extends ContradictionRule {
 
         // Compare each column with column of current cell to see if they are equal, if so the rule
         // is applied correctly
-        ArrayList<BinaryType> col = binaryBoard.getColTypes(cell.getLocation().x);
-        for (int i = 0; i < size; i++) {
-            if (i != cell.getLocation().x) {
-                ArrayList<BinaryType> currCol = binaryBoard.getColTypes(i);
-                if (currCol.equals(col)) {
+        ones = binaryBoard.getColOnes(x);
+        zeros = binaryBoard.getColZeros(x);
+        if ((ones | zeros) == BinaryBoard.getFullMask(binaryBoard.getHeight())) {
+            for (int i = 0; i < binaryBoard.getWidth(); i++) {
+                if (i != x
+                        && binaryBoard.getColOnes(i) == ones
+                        && binaryBoard.getColZeros(i) == zeros) {
                     return null;
                 }
             }
@@ -5,8 +5,6 @@ import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.ContradictionRule;
 import edu.rpi.legup.puzzle.binary.BinaryBoard;
 import edu.rpi.legup.puzzle.binary.BinaryCell;
-import edu.rpi.legup.puzzle.binary.BinaryType;
-import java.util.Set;
 
 public class UnbalancedRowColumnContradictionRule extends ContradictionRule {
 
@@ -34,43 +32,21 @@ public class UnbalancedRowColumnContradictionRule extends ContradictionRule {
     @Override
     public String checkContradictionAt(Board board, PuzzleElement puzzleElement) {
         BinaryBoard binaryBoard = (BinaryBoard) board;
-
         BinaryCell cell = (BinaryCell) binaryBoard.getPuzzleElement(puzzleElement);
-        Set<BinaryCell> row = binaryBoard.getRowCells(cell.getLocation().y);
-
-        int size = row.size();
-        int rowNumZeros = 0;
-        int rowNumOnes = 0;
-
-        for (BinaryCell item : row) {
-            if (item.getType() == BinaryType.ZERO) {
-                rowNumZeros++;
-            } else if (item.getType() == BinaryType.ONE) {
-                rowNumOnes++;
-            }
-        }
+        int x = cell.getLocation().x;
+        int y = cell.getLocation().y;
 
         // if there are too many zeros or ones in this row
-        if (rowNumZeros > size / 2 || rowNumOnes > size / 2) {
+        int size = binaryBoard.getWidth();
+        if (Long.bitCount(binaryBoard.getRowZeros(y)) > size / 2
+                || Long.bitCount(binaryBoard.getRowOnes(y)) > size / 2) {
             return null;
         }
 
-        Set<BinaryCell> col = binaryBoard.getColCells(cell.getLocation().x);
-
-        size = col.size();
-        int colNumZeros = 0;
-        int colNumOnes = 0;
-
-        for (BinaryCell item : col) {
-            if (item.getType() == BinaryType.ZERO) {
-                colNumZeros++;
-            } else if (item.getType() == BinaryType.ONE) {
-                colNumOnes++;
-            }
-        }
-
         // if there are too many zeros or ones in this column
-        if (colNumZeros > size / 2 || colNumOnes > size / 2) {
+        size = binaryBoard.getHeight();
+        if (Long.bitCount(binaryBoard.getColZeros(x)) > size / 2
+                || Long.bitCount(binaryBoard.getColOnes(x)) > size / 2) {
             return null;
         }
 
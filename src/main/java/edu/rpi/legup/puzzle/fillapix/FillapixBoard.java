@@ -1,25 +1,164 @@
 package edu.rpi.legup.puzzle.fillapix;
 
 import edu.rpi.legup.model.gameboard.GridBoard;
+import edu.rpi.legup.model.gameboard.GridCell;
+import edu.rpi.legup.model.gameboard.GridNeighbors;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import java.awt.*;
+import java.util.Arrays;
 import java.util.logging.Logger;
 
+/**
+ * The {@code FillapixBoard} counts the black, white and unknown cells in the 3x3 square around
+ * every cell, so the number of a cell can be checked without looking at its neighbours. The counts
+ * are updated whenever a cell is set or the data of one of its cells changes, which touches the 9
+ * squares holding that cell. The board also keeps how many numbers have too many black cells or
+ * too few black and unknown cells around them.
+ */
 public class FillapixBoard extends GridBoard {
     private static final Logger LOGGER = Logger.getLogger(FillapixBoard.class.getName());
 
+    private final GridNeighbors neighbors;
+
+    // type and number of each cell as last seen by the board, -1 where there is no cell or number
+    private final int[] types;
+    private final int[] numbers;
+    // cells of each type in the square around each cell, indexed by the ordinal of the type
+    private final int[][] counts;
+    private int contradictions;
+
     public FillapixBoard(int width, int height) {
         super(width, height);
+        this.neighbors = GridNeighbors.of(width, height);
+        this.types = new int[width * height];
+        this.numbers = new int[width * height];
+        this.counts = new int[FillapixCellType.values().length][width * height];
+        Arrays.fill(types, -1);
+        Arrays.fill(numbers, -1);
     }
 
     public FillapixBoard(int size) {
         this(size, size);
     }
 
+    private FillapixBoard(FillapixBoard board) {
+        super(board.dimension.width, board.dimension.height);
+        this.neighbors = board.neighbors;
+        this.types = board.types.clone();
+        this.numbers = board.numbers.clone();
+        this.counts = new int[board.counts.length][];
+        for (int t = 0; t < counts.length; t++) {
+            counts[t] = board.counts[t].clone();
+        }
+        this.contradictions = board.contradictions;
+    }
+
     public FillapixCell getCell(int x, int y) {
         return (FillapixCell) super.getCell(x, y);
     }
 
+    /**
+     * Gets the cell at a grid index of the neighbour tables
+     *
+     * @param index grid index of the cell
+     * @return cell at the index
+     */
+    public FillapixCell getCell(int index) {
+        return (FillapixCell) puzzleElements.get(index);
+    }
+
+    /**
+     * Gets the neighbour tables shared by every board of this dimension
+     *
+     * @return neighbour tables of the board
+     */
+    public GridNeighbors getNeighbors() {
+        return neighbors;
+    }
+
+    /**
+     * Sets the cell at the (x,y) position and updates the counts of the squares holding it
+     *
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @param cell cell to set at (x,y)
+     */
+    @Override
+    public void setCell(int x, int y, GridCell cell) {
+        super.setCell(x, y, cell);
+        if (cell instanceof FillapixCell
+                && x >= 0
+                && y >= 0
+                && x < dimension.width
+                && y < dimension.height) {
+            ((FillapixCell) cell).setBoard(this);
+            update(y * dimension.width + x, (FillapixCell) cell);
+        }
+    }
+
+    @Override
+    public void setPuzzleElement(int index, PuzzleElement puzzleElement) {
+        super.setPuzzleElement(index, puzzleElement);
+        if (puzzleElement instanceof FillapixCell && index >= 0 && index < types.length) {
+            ((FillapixCell) puzzleElement).setBoard(this);
+            update(index, (FillapixCell) puzzleElement);
+        }
+    }
+
+    @Override
+    public void notifyChange(PuzzleElement puzzleElement) {
+        FillapixCell cell = (FillapixCell) puzzleElement;
+        setCell(cell.getLocation().x, cell.getLocation().y, cell);
+    }
+
+    void onCellChanged(FillapixCell cell) {
+        int index = neighbors.getIndex(cell.getLocation());
+        if (index >= 0 && index < types.length && puzzleElements.get(index) == cell) {
+            update(index, cell);
+        }
+    }
+
+    private void update(int index, FillapixCell cell) {
+        int type = cell.getType().ordinal();
+        if (type != types[index]) {
+            for (int i : neighbors.getSquare(index)) {
+                boolean before = isContradicted(i);
+                if (types[index] >= 0) {
+                    counts[types[index]][i]--;
+                }
+                counts[type][i]++;
+                contradictions += (isContradicted(i) ? 1 : 0) - (before ? 1 : 0);
+            }
+            types[index] = type;
+        }
+        int number = cell.getNumber();
+        if (number != numbers[index]) {
+            boolean before = isContradicted(index);
+            numbers[index] = number;
+            contradictions += (isContradicted(index) ? 1 : 0) - (before ? 1 : 0);
+        }
+    }
+
+    private boolean isContradicted(int index) {
+        int number = numbers[index];
+        if (number < 0 || number >= 10) {
+            return false;
+        }
+        int black = counts[FillapixCellType.BLACK.ordinal()][index];
+        return black > number
+                || black + counts[FillapixCellType.UNKNOWN.ordinal()][index] < number;
+    }
+
+    /**
+     * Determines whether a number of the board has more black cells around it than the number, or
+     * fewer black and unknown cells than the number
+     *
+     * @return true if any number of the board cannot be satisfied, false otherwise
+     */
+    public boolean hasNumberContradiction() {
+        return contradictions > 0;
+    }
+
     /**
      * Performs a deep copy of the Board
      *
@@ -27,10 +166,13 @@ public class FillapixBoard extends GridBoard {
      */
     @Override
     public FillapixBoard copy() {
-        FillapixBoard copy = new FillapixBoard(dimension.width, dimension.height);
-        for (int x = 0; x < this.dimension.width; x++) {
-            for (int y = 0; y < this.dimension.height; y++) {
-                copy.setCell(x, y, getCell(x, y).copy());
+        FillapixBoard copy = new FillapixBoard(this);
+        for (int i = 0; i < puzzleElements.size(); i++) {
+            FillapixCell cell = getCell(i);
+            if (cell != null) {
+                FillapixCell cellCopy = cell.copy();
+                cellCopy.setBoard(copy);
+                copy.puzzleElements.set(i, cellCopy);
             }
         }
         for (PuzzleElement e : modifiedData) {
@@ -47,21 +189,6 @@ public class FillapixBoard extends GridBoard {
      * @return integer number of cells that match specified type
      */
     public int getNumCells(FillapixCell cell, FillapixCellType type) {
-        Point loc = cell.getLocation();
-
-        int numCells = 0;
-        for (int i = -1; i < 2; i++) {
-            for (int j = -1; j < 2; j++) {
-                if (loc.x + i > dimension.width || loc.y + j > dimension.height) {
-                    continue;
-                }
-                FillapixCell c = getCell(loc.x + i, loc.y + j);
-                if (c != null && c.getType() == type) {
-                    numCells++;
-                }
-            }
-        }
-
-        return numCells;
+        return counts[type.ordinal()][neighbors.getIndex(cell.getLocation())];
     }
 }
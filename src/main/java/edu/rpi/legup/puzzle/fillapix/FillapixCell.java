@@ -10,6 +10,8 @@ public class FillapixCell extends GridCell<Integer> implements Comparable<Fillap
 
     public static final int DEFAULT_VALUE = 10;
 
+    private FillapixBoard board;
+
     public FillapixCell(int value, Point location) {
         super(value, location);
     }
@@ -21,7 +23,7 @@ public class FillapixCell extends GridCell<Integer> implements Comparable<Fillap
 
     public void setNumber(int number) {
         int temp = number == -1 ? 10 : number;
-        data = (data / 100) * 100 + temp;
+        setData((data / 100) * 100 + temp);
     }
 
     public FillapixCellType getType() {
@@ -36,7 +38,25 @@ public class FillapixCell extends GridCell<Integer> implements Comparable<Fillap
     }
 
     public void setCellType(FillapixCellType type) {
-        data = type.value * 100 + (data % 100);
+        setData(type.value * 100 + (data % 100));
+    }
+
+    /**
+     * Sets the data of this cell and updates the counts of the board holding it
+     *
+     * @param data new data of the cell
+     */
+    @Override
+    public void setData(Integer data) {
+        Integer old = this.data;
+        super.setData(data);
+        if (board != null && !Objects.equals(old, data)) {
+            board.onCellChanged(this);
+        }
+    }
+
+    void setBoard(FillapixBoard board) {
+        this.board = board;
     }
 
     @Override
@@ -67,8 +87,7 @@ public class FillapixCell extends GridCell<Integer> implements Comparable<Fillap
                 this.setNumber(n);
                 break;
             default:
-                this.setCellType(FillapixCellType.UNKNOWN);
-                this.data = -1;
+                this.setData(-1);
                 break;
         }
     }
@@ -1,37 +1,58 @@
 package edu.rpi.legup.puzzle.fillapix;
 
-import edu.rpi.legup.model.rules.ContradictionRule;
-import edu.rpi.legup.puzzle.fillapix.rules.TooFewBlackCellsContradictionRule;
-import edu.rpi.legup.puzzle.fillapix.rules.TooManyBlackCellsContradictionRule;
-import java.awt.*;
+import edu.rpi.legup.model.gameboard.GridNeighbors;
 import java.util.ArrayList;
 
 public class FillapixUtilities {
 
+    /**
+     * Determines whether a cell must be black because making it white would leave a number of its
+     * square with fewer black and unknown cells than the number
+     *
+     * @param board board holding the cell
+     * @param cell cell to check
+     * @return true if the cell is forced to be black, false otherwise
+     */
     public static boolean isForcedBlack(FillapixBoard board, FillapixCell cell) {
-        TooFewBlackCellsContradictionRule tooManyBlackCells =
-                new TooFewBlackCellsContradictionRule();
-        FillapixBoard whiteCaseBoard = board.copy();
-        FillapixCell whiteCell = (FillapixCell) whiteCaseBoard.getPuzzleElement(cell);
-        whiteCell.setCellType(FillapixCellType.WHITE);
-        ArrayList<FillapixCell> adjCells = getAdjacentCells(whiteCaseBoard, whiteCell);
-        for (FillapixCell adjCell : adjCells) {
-            if (tooManyBlackCells.checkContradictionAt(whiteCaseBoard, adjCell) == null) {
+        GridNeighbors neighbors = board.getNeighbors();
+        int index = neighbors.getIndex(cell.getLocation());
+        FillapixCellType type = board.getCell(index).getType();
+        int lostBlack = type == FillapixCellType.BLACK ? 1 : 0;
+        int lostUnknown = type == FillapixCellType.UNKNOWN ? 1 : 0;
+        for (int i : neighbors.getSquare(index)) {
+            FillapixCell adjCell = board.getCell(i);
+            int number = adjCell.getNumber();
+            if (number < 0 || number >= 10) {
+                continue;
+            }
+            int black = board.getNumCells(adjCell, FillapixCellType.BLACK) - lostBlack;
+            int unknown = board.getNumCells(adjCell, FillapixCellType.UNKNOWN) - lostUnknown;
+            if (black + unknown < number) {
                 return true;
             }
         }
         return false;
     }
 
+    /**
+     * Determines whether a cell must be white because making it black would leave a number of its
+     * square with more black cells than the number
+     *
+     * @param board board holding the cell
+     * @param cell cell to check
+     * @return true if the cell is forced to be white, false otherwise
+     */
     public static boolean isForcedWhite(FillapixBoard board, FillapixCell cell) {
-        TooManyBlackCellsContradictionRule tooManyBlackCells =
-                new TooManyBlackCellsContradictionRule();
-        FillapixBoard blackCaseBoard = board.copy();
-        FillapixCell blackCell = (FillapixCell) blackCaseBoard.getPuzzleElement(cell);
-        blackCell.setCellType(FillapixCellType.BLACK);
-        ArrayList<FillapixCell> adjCells = getAdjacentCells(blackCaseBoard, blackCell);
-        for (FillapixCell adjCell : adjCells) {
-            if (tooManyBlackCells.checkContradictionAt(blackCaseBoard, adjCell) == null) {
+        GridNeighbors neighbors = board.getNeighbors();
+        int index = neighbors.getIndex(cell.getLocation());
+        int addedBlack = board.getCell(index).getType() == FillapixCellType.BLACK ? 0 : 1;
+        for (int i : neighbors.getSquare(index)) {
+            FillapixCell adjCell = board.getCell(i);
+            int number = adjCell.getNumber();
+            if (number < 0 || number >= 10) {
+                continue;
+            }
+            if (board.getNumCells(adjCell, FillapixCellType.BLACK) + addedBlack > number) {
                 return true;
             }
         }
@@ -39,47 +60,16 @@ public class FillapixUtilities {
     }
 
     public static boolean isComplete(FillapixBoard board, FillapixCell cell) {
-        int cellNum = cell.getNumber();
-        int cellTouchBlack = 0;
-        ArrayList<FillapixCell> adjCells = getAdjacentCells(board, cell);
-        for (FillapixCell adjCell : adjCells) {
-            if (adjCell.getType() == FillapixCellType.BLACK) {
-                cellTouchBlack++;
-            }
-        }
-        return cellNum == cellTouchBlack;
+        return cell.getNumber() == board.getNumCells(cell, FillapixCellType.BLACK);
     }
 
     public static boolean hasEmptyAdjacent(FillapixBoard board, FillapixCell cell) {
-        ArrayList<FillapixCell> adjCells = getAdjacentCells(board, cell);
-        for (FillapixCell adjCell : adjCells) {
-            if (adjCell.getType() == FillapixCellType.UNKNOWN) {
-                return true;
-            }
-        }
-        return false;
+        return board.getNumCells(cell, FillapixCellType.UNKNOWN) > 0;
     }
 
     /** Gets all cells adjacent to a specific cell. The cell itself will be included. */
     public static ArrayList<FillapixCell> getAdjacentCells(FillapixBoard board, FillapixCell cell) {
-        ArrayList<FillapixCell> adjCells = new ArrayList<FillapixCell>();
-        Point cellLoc = cell.getLocation();
-        for (int i = -1; i <= 1; i++) {
-            for (int j = -1; j <= 1; j++) {
-                if (cellLoc.getX() + i < 0
-                        || cellLoc.y + j < 0
-                        || cellLoc.x + i >= board.getWidth()
-                        || cellLoc.y + j >= board.getHeight()) {
-                    continue;
-                }
-                FillapixCell adjCell = board.getCell(cellLoc.x + i, cellLoc.y + j);
-                if (adjCell == null) {
-                    continue;
-                }
-                adjCells.add(adjCell);
-            }
-        }
-        return adjCells;
+        return getCells(board, board.getNeighbors().getSquare(getIndex(board, cell)));
     }
 
     /**
@@ -100,75 +90,23 @@ public class FillapixUtilities {
      */
     public static ArrayList<FillapixCell> getCellsAtDistance(
             FillapixBoard board, FillapixCell cell, int distance) {
-        ArrayList<FillapixCell> adjCells = new ArrayList<FillapixCell>();
-        Point cellLoc = cell.getLocation();
-        int i = 0, j = 0;
-        // top line
-        for (i = cellLoc.x - (distance), j = cellLoc.y - (distance + 1);
-                i <= cellLoc.x + (distance + 1);
-                i++) {
-            if (cellLoc.getX() + i < 0
-                    || cellLoc.y + j < 0
-                    || cellLoc.x + i >= board.getWidth()
-                    || cellLoc.y + j >= board.getHeight()) {
-                continue;
-            }
-            FillapixCell adjCell = board.getCell(cellLoc.x + i, cellLoc.y + j);
-            if (adjCell == null) {
-                continue;
-            }
-            adjCells.add(adjCell);
-        }
-        // right line
-        for (i = cellLoc.x + (distance + 1), j = cellLoc.y - (distance);
-                j <= cellLoc.y + (distance + 1);
-                j++) {
-            if (cellLoc.getX() + i < 0
-                    || cellLoc.y + j < 0
-                    || cellLoc.x + i >= board.getWidth()
-                    || cellLoc.y + j >= board.getHeight()) {
-                continue;
-            }
-            FillapixCell adjCell = board.getCell(cellLoc.x + i, cellLoc.y + j);
-            if (adjCell == null) {
-                continue;
-            }
-            adjCells.add(adjCell);
-        }
-        // bottom line
-        for (i = cellLoc.x + (distance), j = cellLoc.y + (distance + 1);
-                i <= cellLoc.x - (distance + 1);
-                i--) {
-            if (cellLoc.getX() + i < 0
-                    || cellLoc.y + j < 0
-                    || cellLoc.x + i >= board.getWidth()
-                    || cellLoc.y + j >= board.getHeight()) {
-                continue;
-            }
-            FillapixCell adjCell = board.getCell(cellLoc.x + i, cellLoc.y + j);
-            if (adjCell == null) {
-                continue;
-            }
-            adjCells.add(adjCell);
-        }
-        // left line
-        for (i = cellLoc.x - (distance + 1), j = cellLoc.y + (distance);
-                j <= cellLoc.y - (distance + 1);
-                j--) {
-            if (cellLoc.getX() + i < 0
-                    || cellLoc.y + j < 0
-                    || cellLoc.x + i >= board.getWidth()
-                    || cellLoc.y + j >= board.getHeight()) {
-                continue;
-            }
-            FillapixCell adjCell = board.getCell(cellLoc.x + i, cellLoc.y + j);
-            if (adjCell == null) {
-                continue;
+        return getCells(
+                board, board.getNeighbors().getRing(getIndex(board, cell), distance + 1));
+    }
+
+    private static int getIndex(FillapixBoard board, FillapixCell cell) {
+        return board.getNeighbors().getIndex(cell.getLocation());
+    }
+
+    private static ArrayList<FillapixCell> getCells(FillapixBoard board, int[] indexes) {
+        ArrayList<FillapixCell> cells = new ArrayList<>(indexes.length);
+        for (int i : indexes) {
+            FillapixCell cell = board.getCell(i);
+            if (cell != null) {
+                cells.add(cell);
             }
-            adjCells.add(adjCell);
         }
-
-        return adjCells;
+        return cells;
     }
 
     /**
@@ -225,17 +163,13 @@ public class FillapixUtilities {
         recurseCombinations(result, curIndex + 1, maxBlack, numBlack, len, workingArray);
     }
 
+    /**
+     * Determines whether any number of the board has too many or too few black cells around it
+     *
+     * @param board board to check
+     * @return true if the board has a contradiction, false otherwise
+     */
     public static boolean checkBoardForContradiction(FillapixBoard board) {
-        ContradictionRule tooManyBlack = new TooManyBlackCellsContradictionRule();
-        ContradictionRule tooManyWhite = new TooFewBlackCellsContradictionRule();
-        for (int i = 0; i < board.getWidth(); i++) {
-            for (int j = 0; j < board.getHeight(); j++) {
-                if (tooManyBlack.checkContradictionAt(board, board.getCell(i, j)) == null
-                        || tooManyWhite.checkContradictionAt(board, board.getCell(i, j)) == null) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return board.hasNumberContradiction();
     }
 }
@@ -51,7 +51,7 @@ public class NonTouchingSharedDirectRule extends DirectRule {
         Iterator<FillapixCell> itr = adjCells.iterator();
         while (itr.hasNext()) {
             ArrayList<FillapixCell> sharingCells =
-                    FillapixUtilities.getCellsAtDistance(parentBoard, parentCell, 1);
+                    FillapixUtilities.getCellsAtDistance(parentBoard, itr.next(), 1);
             boolean found = false;
             for (FillapixCell sharingCell : sharingCells) {
                 if (sharingCell.getNumber() >= 0 && sharingCell.getNumber() < 10) {
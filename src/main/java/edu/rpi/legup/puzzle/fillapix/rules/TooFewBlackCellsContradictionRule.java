@@ -6,8 +6,6 @@ import edu.rpi.legup.model.rules.ContradictionRule;
 import edu.rpi.legup.puzzle.fillapix.FillapixBoard;
 import edu.rpi.legup.puzzle.fillapix.FillapixCell;
 import edu.rpi.legup.puzzle.fillapix.FillapixCellType;
-import edu.rpi.legup.puzzle.fillapix.FillapixUtilities;
-import java.util.ArrayList;
 
 public class TooFewBlackCellsContradictionRule extends ContradictionRule {
 
@@ -37,16 +35,8 @@ public class TooFewBlackCellsContradictionRule extends ContradictionRule {
         if (cellNum < 0 || cellNum >= 10) {
             return super.getNoContradictionMessage();
         }
-        int numBlack = 0, numEmpty = 0;
-        ArrayList<FillapixCell> adjCells = FillapixUtilities.getAdjacentCells(fillapixBoard, cell);
-        for (FillapixCell adjCell : adjCells) {
-            if (adjCell.getType() == FillapixCellType.BLACK) {
-                numBlack++;
-            }
-            if (adjCell.getType() == FillapixCellType.UNKNOWN) {
-                numEmpty++;
-            }
-        }
+        int numBlack = fillapixBoard.getNumCells(cell, FillapixCellType.BLACK);
+        int numEmpty = fillapixBoard.getNumCells(cell, FillapixCellType.UNKNOWN);
         if (numBlack + numEmpty < cellNum) {
             return null;
         }
@@ -6,8 +6,6 @@ import edu.rpi.legup.model.rules.ContradictionRule;
 import edu.rpi.legup.puzzle.fillapix.FillapixBoard;
 import edu.rpi.legup.puzzle.fillapix.FillapixCell;
 import edu.rpi.legup.puzzle.fillapix.FillapixCellType;
-import edu.rpi.legup.puzzle.fillapix.FillapixUtilities;
-import java.util.ArrayList;
 
 public class TooManyBlackCellsContradictionRule extends ContradictionRule {
 
@@ -37,14 +35,7 @@ public class TooManyBlackCellsContradictionRule extends ContradictionRule {
         if (cellNum < 0 || cellNum >= 10) {
             return super.getNoContradictionMessage();
         }
-        int numBlack = 0;
-        ArrayList<FillapixCell> adjCells = FillapixUtilities.getAdjacentCells(fillapixBoard, cell);
-        for (FillapixCell adjCell : adjCells) {
-            if (adjCell.getType() == FillapixCellType.BLACK) {
-                numBlack++;
-            }
-        }
-        if (numBlack > cellNum) {
+        if (fillapixBoard.getNumCells(cell, FillapixCellType.BLACK) > cellNum) {
             return null;
         }
 
@@ -1,8 +1,8 @@
 package edu.rpi.legup.puzzle.heyawake;
 
 import edu.rpi.legup.model.gameboard.GridBoard;
+import edu.rpi.legup.model.gameboard.GridCell;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
-import java.awt.*;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -11,6 +11,7 @@ import java.util.Map;
 public class HeyawakeBoard extends GridBoard {
 
     private Map<Integer, List<HeyawakeCell>> regions;
+    private HeyawakeRoomIndex roomIndex;
 
     public HeyawakeBoard(int width, int height) {
         super(width, height);
@@ -26,6 +27,36 @@ public class HeyawakeBoard extends GridBoard {
         return (HeyawakeCell) super.getCell(x, y);
     }
 
+    /**
+     * Sets the cell at the location (x,y) and adds it to the region of the cell
+     *
+     * @param x x location of the cell
+     * @param y y location of the cell
+     * @param cell heyawake cell to set at location (x,y)
+     */
+    @Override
+    public void setCell(int x, int y, GridCell cell) {
+        if (x < 0 || y < 0 || x >= dimension.width || y >= dimension.height) {
+            return;
+        }
+        HeyawakeCell old = getCell(x, y);
+        if (old != null) {
+            old.setBoard(null);
+            List<HeyawakeCell> region = regions.get(old.getRegionIndex());
+            if (region != null) {
+                region.remove(old);
+            }
+        }
+        super.setCell(x, y, cell);
+        HeyawakeCell heyawakeCell = (HeyawakeCell) cell;
+        if (heyawakeCell != null) {
+            heyawakeCell.setBoard(this);
+            regions.computeIfAbsent(heyawakeCell.getRegionIndex(), k -> new ArrayList<>())
+                    .add(heyawakeCell);
+        }
+        roomIndex = null;
+    }
+
     public List<HeyawakeCell> getRegion(int regionIndex) {
         return this.regions.get(regionIndex);
     }
@@ -34,18 +65,74 @@ public class HeyawakeBoard extends GridBoard {
         return this.regions;
     }
 
+    /**
+     * Gets the room index of the board, built on first use and updated whenever the data of one of
+     * its cells changes
+     *
+     * @return room index of the board
+     */
+    public HeyawakeRoomIndex getRoomIndex() {
+        if (roomIndex == null) {
+            roomIndex = new HeyawakeRoomIndex(this);
+        }
+        return roomIndex;
+    }
+
+    void onCellChanged(HeyawakeCell cell) {
+        if (roomIndex != null) {
+            roomIndex.update(cell);
+        }
+    }
+
+    /**
+     * Sets the cell at the index, adding it to the region of the cell and updating the room index
+     * of the board. The room index is rebuilt on next use if the cell moves to another room.
+     *
+     * @param index index of the cell
+     * @param puzzleElement cell to set at the index
+     */
+    @Override
+    public void setPuzzleElement(int index, PuzzleElement puzzleElement) {
+        if (!(puzzleElement instanceof HeyawakeCell)
+                || index < 0
+                || index >= puzzleElements.size()) {
+            super.setPuzzleElement(index, puzzleElement);
+            return;
+        }
+        HeyawakeCell cell = (HeyawakeCell) puzzleElement;
+        HeyawakeCell old = (HeyawakeCell) puzzleElements.get(index);
+        HeyawakeRoomIndex rooms = roomIndex;
+        setCell(index % dimension.width, index / dimension.width, cell);
+        if (rooms != null && old != null && old.getRegionIndex() == cell.getRegionIndex()) {
+            roomIndex = rooms;
+            roomIndex.update(cell);
+        }
+    }
+
+    @Override
+    public void notifyChange(PuzzleElement puzzleElement) {
+        HeyawakeCell cell = (HeyawakeCell) puzzleElement;
+        HeyawakeCell old = (HeyawakeCell) puzzleElements.get(cell.getIndex());
+        if (old != cell) {
+            setCell(cell.getLocation().x, cell.getLocation().y, cell);
+        } else {
+            onCellChanged(cell);
+        }
+    }
+
     @Override
     public HeyawakeBoard copy() {
         HeyawakeBoard copy = new HeyawakeBoard(dimension.width, dimension.height);
-        for (List<HeyawakeCell> region : regions.values()) {
-            List<HeyawakeCell> newCpy = new ArrayList<>();
-            for (HeyawakeCell cell : region) {
-                Point point = cell.getLocation();
-                HeyawakeCell cellCpy = cell.copy();
-                copy.setCell(point.x, point.y, cellCpy);
-                newCpy.add(cellCpy);
+        for (int x = 0; x < dimension.width; x++) {
+            for (int y = 0; y < dimension.height; y++) {
+                HeyawakeCell cell = getCell(x, y);
+                if (cell != null) {
+                    copy.setCell(x, y, cell.copy());
+                }
             }
-            copy.regions.put(region.get(0).getRegionIndex(), newCpy);
+        }
+        if (roomIndex != null) {
+            copy.roomIndex = roomIndex.copy();
         }
         for (PuzzleElement e : modifiedData) {
             copy.getPuzzleElement(e).setModifiable(false);
@@ -2,10 +2,12 @@ package edu.rpi.legup.puzzle.heyawake;
 
 import edu.rpi.legup.model.gameboard.GridCell;
 import java.awt.*;
+import java.util.Objects;
 
 public class HeyawakeCell extends GridCell<Integer> {
 
     private int regionIndex;
+    private HeyawakeBoard board;
 
     public HeyawakeCell(int valueInt, Point location, int regionIndex) {
         super(valueInt, location);
@@ -16,6 +18,44 @@ public class HeyawakeCell extends GridCell<Integer> {
         return this.regionIndex;
     }
 
+    /**
+     * Gets the type of this cell. A number is the clue of the room of the cell; the cell itself is
+     * treated as white.
+     *
+     * @return type of this cell
+     */
+    public HeyawakeType getType() {
+        switch (data) {
+            case -3:
+                return HeyawakeType.WHITE;
+            case -1:
+                return HeyawakeType.BLACK;
+            default:
+                if (data >= 0) {
+                    return HeyawakeType.NUMBER;
+                }
+                return HeyawakeType.UNKNOWN;
+        }
+    }
+
+    /**
+     * Sets the data of this cell and updates the room index of the board holding it
+     *
+     * @param data new data of the cell
+     */
+    @Override
+    public void setData(Integer data) {
+        Integer old = this.data;
+        super.setData(data);
+        if (board != null && !Objects.equals(old, data)) {
+            board.onCellChanged(this);
+        }
+    }
+
+    void setBoard(HeyawakeBoard board) {
+        this.board = board;
+    }
+
     @Override
     public HeyawakeCell copy() {
         HeyawakeCell copy = new HeyawakeCell(data, (Point) location.clone(), regionIndex);
@@ -0,0 +1,453 @@
+package edu.rpi.legup.puzzle.heyawake;
+
+import java.awt.*;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@code HeyawakeRoomIndex} class keeps the counts the Heyawake rules need up to date as the
+ * cells of a {@link HeyawakeBoard} change, so a rule can check a cell or a room without scanning
+ * the board:
+ *
+ * <ul>
+ *   <li>the number of black, white and unknown cells and the clue of every room,
+ *   <li>the number of rooms crossed by the horizontal and vertical runs of white cells through
+ *       every cell,
+ *   <li>a union-find over the cells that are not black, which tells whether the white cells can
+ *       still be connected.
+ * </ul>
+ *
+ * Clue cells count as white. A cell turning white or unknown joins the union-find directly; the
+ * union-find cannot split a set, so a cell turning black marks it stale and it is rebuilt the next
+ * time it is queried.
+ */
+public class HeyawakeRoomIndex {
+    private static final byte UNKNOWN = 0;
+    private static final byte WHITE = 1;
+    private static final byte BLACK = 2;
+
+    private static final int[] DX = {0, 1, 0, -1};
+    private static final int[] DY = {-1, 0, 1, 0};
+
+    private final int width;
+    private final int height;
+
+    private final byte[] state;
+    private final int[] room;
+    private final int[] rowRooms;
+    private final int[] columnRooms;
+
+    private final int[] roomClue;
+    private final int[] roomSize;
+    private final int[] roomBlack;
+    private final int[] roomWhite;
+    private final Map<Integer, Integer> roomIds;
+
+    // union-find over the cells that are not black, the white counts are only valid at the roots
+    private final int[] parent;
+    private final int[] whites;
+    private int whiteCount;
+    private boolean areasValid;
+
+    /**
+     * HeyawakeRoomIndex Constructor creates the index of the rooms and cells of a board
+     *
+     * @param board board to index
+     */
+    public HeyawakeRoomIndex(HeyawakeBoard board) {
+        this.width = board.getWidth();
+        this.height = board.getHeight();
+        int size = width * height;
+        this.state = new byte[size];
+        this.room = new int[size];
+        this.rowRooms = new int[size];
+        this.columnRooms = new int[size];
+        this.parent = new int[size];
+        this.whites = new int[size];
+        this.roomIds = new HashMap<>();
+
+        int[] clues = new int[size];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int i = y * width + x;
+                HeyawakeCell cell = board.getCell(x, y);
+                int regionIndex = cell == null ? -1 : cell.getRegionIndex();
+                Integer id = roomIds.get(regionIndex);
+                if (id == null) {
+                    id = roomIds.size();
+                    roomIds.put(regionIndex, id);
+                    clues[id] = -1;
+                }
+                room[i] = id;
+                if (cell != null && cell.getType() == HeyawakeType.NUMBER) {
+                    clues[id] = cell.getData();
+                }
+                state[i] = getState(cell);
+            }
+        }
+
+        int rooms = roomIds.size();
+        this.roomClue = new int[rooms];
+        this.roomSize = new int[rooms];
+        this.roomBlack = new int[rooms];
+        this.roomWhite = new int[rooms];
+        System.arraycopy(clues, 0, roomClue, 0, rooms);
+        for (int i = 0; i < size; i++) {
+            roomSize[room[i]]++;
+            count(i, 1);
+        }
+        for (int y = 0; y < height; y++) {
+            updateRuns(0, y, 0, width - 1, true);
+        }
+        for (int x = 0; x < width; x++) {
+            updateRuns(x, 0, 0, height - 1, false);
+        }
+        rebuildAreas();
+    }
+
+    private HeyawakeRoomIndex(HeyawakeRoomIndex index) {
+        this.width = index.width;
+        this.height = index.height;
+        this.state = index.state.clone();
+        this.room = index.room;
+        this.rowRooms = index.rowRooms.clone();
+        this.columnRooms = index.columnRooms.clone();
+        this.roomClue = index.roomClue;
+        this.roomSize = index.roomSize;
+        this.roomBlack = index.roomBlack.clone();
+        this.roomWhite = index.roomWhite.clone();
+        this.roomIds = index.roomIds;
+        this.parent = index.parent.clone();
+        this.whites = index.whites.clone();
+        this.whiteCount = index.whiteCount;
+        this.areasValid = index.areasValid;
+    }
+
+    /**
+     * Creates a copy of this index. The layout of the rooms, which does not change, is shared.
+     *
+     * @return copy of the index
+     */
+    public HeyawakeRoomIndex copy() {
+        return new HeyawakeRoomIndex(this);
+    }
+
+    /**
+     * Updates the index after the data of a cell changed
+     *
+     * @param cell cell that changed
+     */
+    public void update(HeyawakeCell cell) {
+        Point p = cell.getLocation();
+        if (!inBounds(p.x, p.y)) {
+            return;
+        }
+        int i = p.y * width + p.x;
+        byte next = getState(cell);
+        byte previous = state[i];
+        if (next == previous) {
+            return;
+        }
+        count(i, -1);
+        state[i] = next;
+        count(i, 1);
+        if (previous == WHITE || next == WHITE) {
+            updateRun(p.x, p.y, true);
+            updateRun(p.x, p.y, false);
+        }
+
+        if (!areasValid) {
+            return;
+        }
+        if (next == BLACK) {
+            areasValid = false;
+        } else if (previous == BLACK) {
+            parent[i] = i;
+            whites[i] = next == WHITE ? 1 : 0;
+            for (int dir = 0; dir < 4; dir++) {
+                int nx = p.x + DX[dir];
+                int ny = p.y + DY[dir];
+                if (inBounds(nx, ny) && state[ny * width + nx] != BLACK) {
+                    union(i, ny * width + nx);
+                }
+            }
+        } else {
+            whites[find(i)] += next == WHITE ? 1 : -1;
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Determines whether a location is on the board
+     *
+     * @param x x location
+     * @param y y location
+     * @return true if the location is on the board, false otherwise
+     */
+    public boolean inBounds(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    /**
+     * Determines whether a cell is black
+     *
+     * @param x x location of the cell
+     * @param y y location of the cell
+     * @return true if the cell is on the board and black, false otherwise
+     */
+    public boolean isBlack(int x, int y) {
+        return inBounds(x, y) && state[y * width + x] == BLACK;
+    }
+
+    /**
+     * Determines whether a cell is white or a clue
+     *
+     * @param x x location of the cell
+     * @param y y location of the cell
+     * @return true if the cell is on the board and white, false otherwise
+     */
+    public boolean isWhite(int x, int y) {
+        return inBounds(x, y) && state[y * width + x] == WHITE;
+    }
+
+    /**
+     * Determines whether a cell has a black cell next to it
+     *
+     * @param x x location of the cell
+     * @param y y location of the cell
+     * @return true if an orthogonal neighbour of the cell is black, false otherwise
+     */
+    public boolean hasBlackNeighbor(int x, int y) {
+        return isBlack(x - 1, y) || isBlack(x + 1, y) || isBlack(x, y - 1) || isBlack(x, y + 1);
+    }
+
+    /**
+     * Gets the room of a cell
+     *
+     * @param x x location of the cell
+     * @param y y location of the cell
+     * @return index of the room in this index, from 0 to {@link #getRoomCount()} - 1
+     */
+    public int getRoom(int x, int y) {
+        return room[y * width + x];
+    }
+
+    /**
+     * Gets the room of a region of the board
+     *
+     * @param regionIndex region index of the cells of the room
+     * @return index of the room in this index, or -1 if the board has no such region
+     */
+    public int getRoomOfRegion(int regionIndex) {
+        Integer id = roomIds.get(regionIndex);
+        return id == null ? -1 : id;
+    }
+
+    public int getRoomCount() {
+        return roomClue.length;
+    }
+
+    /**
+     * Gets the number of black cells a room must have
+     *
+     * @param room index of the room
+     * @return clue of the room, or -1 if the room has no clue
+     */
+    public int getClue(int room) {
+        return roomClue[room];
+    }
+
+    public int getRoomSize(int room) {
+        return roomSize[room];
+    }
+
+    public int getBlackCount(int room) {
+        return roomBlack[room];
+    }
+
+    public int getWhiteCount(int room) {
+        return roomWhite[room];
+    }
+
+    public int getUnknownCount(int room) {
+        return roomSize[room] - roomBlack[room] - roomWhite[room];
+    }
+
+    /**
+     * Gets the number of rooms crossed by the run of white cells through a cell
+     *
+     * @param x x location of the cell
+     * @param y y location of the cell
+     * @param horizontal true for the run along the row of the cell, false for the column
+     * @return number of rooms of the run, 0 if the cell is not white
+     */
+    public int getRunRooms(int x, int y, boolean horizontal) {
+        int i = y * width + x;
+        return horizontal ? rowRooms[i] : columnRooms[i];
+    }
+
+    /**
+     * Determines whether all white cells can still be connected through cells that are not black
+     *
+     * @return true if no white cell is cut off from the others, false otherwise
+     */
+    public boolean isWhiteConnected() {
+        if (whiteCount == 0) {
+            return true;
+        }
+        for (int i = 0; i < state.length; i++) {
+            if (state[i] == WHITE) {
+                return whites[find(i)] == whiteCount;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines whether a white cell can still be connected to every other white cell through
+     * cells that are not black
+     *
+     * @param x x location of the cell
+     * @param y y location of the cell
+     * @return false if the cell is white and cut off from another white cell, true otherwise
+     */
+    public boolean isWhiteConnected(int x, int y) {
+        int i = y * width + x;
+        return state[i] != WHITE || whites[find(i)] == whiteCount;
+    }
+
+    /**
+     * Determines whether two cells are connected through cells that are not black
+     *
+     * @param x1 x location of the first cell
+     * @param y1 y location of the first cell
+     * @param x2 x location of the second cell
+     * @param y2 y location of the second cell
+     * @return true if neither cell is black and they are connected, false otherwise
+     */
+    public boolean isConnected(int x1, int y1, int x2, int y2) {
+        int a = y1 * width + x1;
+        int b = y2 * width + x2;
+        return state[a] != BLACK && state[b] != BLACK && find(a) == find(b);
+    }
+
+    private static byte getState(HeyawakeCell cell) {
+        if (cell == null) {
+            return UNKNOWN;
+        }
+        switch (cell.getType()) {
+            case BLACK:
+                return BLACK;
+            case WHITE:
+            case NUMBER:
+                return WHITE;
+            default:
+                return UNKNOWN;
+        }
+    }
+
+    private void count(int i, int delta) {
+        if (state[i] == BLACK) {
+            roomBlack[room[i]] += delta;
+        } else if (state[i] == WHITE) {
+            roomWhite[room[i]] += delta;
+            whiteCount += delta;
+        }
+    }
+
+    // recomputes the runs of white cells along a line that may have changed at a cell
+    private void updateRun(int x, int y, boolean horizontal) {
+        int length = horizontal ? width : height;
+        int at = horizontal ? x : y;
+
+        int start = at;
+        while (start > 0 && state[cell(x, y, start - 1, horizontal)] == WHITE) {
+            start--;
+        }
+        int end = at;
+        while (end < length - 1 && state[cell(x, y, end + 1, horizontal)] == WHITE) {
+            end++;
+        }
+        updateRuns(x, y, start, end, horizontal);
+    }
+
+    // recomputes the runs of white cells between two positions of a line, which must not be in the
+    // middle of a run
+    private void updateRuns(int x, int y, int start, int end, boolean horizontal) {
+        int[] rooms = horizontal ? rowRooms : columnRooms;
+        int runStart = start;
+        int count = 0;
+        for (int k = start; k <= end + 1; k++) {
+            int i = k <= end ? cell(x, y, k, horizontal) : -1;
+            if (i >= 0 && state[i] == WHITE) {
+                if (count == 0 || room[i] != room[cell(x, y, k - 1, horizontal)]) {
+                    count++;
+                }
+                continue;
+            }
+            for (int j = runStart; j < k; j++) {
+                rooms[cell(x, y, j, horizontal)] = count;
+            }
+            if (i >= 0) {
+                rooms[i] = 0;
+            }
+            runStart = k + 1;
+            count = 0;
+        }
+    }
+
+    private int cell(int x, int y, int k, boolean horizontal) {
+        return horizontal ? y * width + k : k * width + x;
+    }
+
+    private int find(int i) {
+        if (!areasValid) {
+            rebuildAreas();
+        }
+        int root = i;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        while (parent[i] != root) {
+            int next = parent[i];
+            parent[i] = root;
+            i = next;
+        }
+        return root;
+    }
+
+    private void union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra != rb) {
+            parent[rb] = ra;
+            whites[ra] += whites[rb];
+        }
+    }
+
+    private void rebuildAreas() {
+        for (int i = 0; i < state.length; i++) {
+            parent[i] = i;
+            whites[i] = state[i] == WHITE ? 1 : 0;
+        }
+        areasValid = true;
+        for (int i = 0; i < state.length; i++) {
+            if (state[i] == BLACK) {
+                continue;
+            }
+            if (i % width < width - 1 && state[i + 1] != BLACK) {
+                union(i, i + 1);
+            }
+            if (i + width < state.length && state[i + width] != BLACK) {
+                union(i, i + width);
+            }
+        }
+    }
+}
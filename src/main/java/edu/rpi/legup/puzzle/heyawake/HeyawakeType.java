@@ -0,0 +1,14 @@
+package edu.rpi.legup.puzzle.heyawake;
+
+public enum HeyawakeType {
+    WHITE(-3),
+    UNKNOWN(-2),
+    BLACK(-1),
+    NUMBER(0);
+
+    public int value;
+
+    HeyawakeType(int value) {
+        this.value = value;
+    }
+}
@@ -3,6 +3,10 @@ package edu.rpi.legup.puzzle.heyawake.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.ContradictionRule;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeBoard;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeCell;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeRoomIndex;
+import java.awt.*;
 
 public class AdjacentBlacksContradictionRule extends ContradictionRule {
 
@@ -10,7 +14,7 @@ public class AdjacentBlacksContradictionRule extends ContradictionRule {
         super(
                 "HEYA-CONT-0001",
                 "Adjacent Blacks",
-                "",
+                "Black cells cannot be next to each other horizontally or vertically.",
                 "edu/rpi/legup/images/heyawake/contradictions/adjacentBlacks.png");
     }
 
@@ -25,6 +29,11 @@ public class AdjacentBlacksContradictionRule extends ContradictionRule {
      */
     @Override
     public String checkContradictionAt(Board board, PuzzleElement puzzleElement) {
-        return null;
+        HeyawakeRoomIndex index = ((HeyawakeBoard) board).getRoomIndex();
+        Point p = ((HeyawakeCell) puzzleElement).getLocation();
+        if (index.isBlack(p.x, p.y) && index.hasBlackNeighbor(p.x, p.y)) {
+            return null;
+        }
+        return super.getNoContradictionMessage();
     }
 }
@@ -5,6 +5,11 @@ import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.DirectRule;
 import edu.rpi.legup.model.tree.TreeNode;
 import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeBoard;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeCell;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeRoomIndex;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeType;
+import java.awt.*;
 
 public class FillRoomBlackDirectRule extends DirectRule {
 
@@ -12,7 +17,8 @@ public class FillRoomBlackDirectRule extends DirectRule {
         super(
                 "HEYA-BASC-0003",
                 "Fill Room Black",
-                "",
+                "If a room needs all of its remaining unknown cells to reach its number, they"
+                        + " are black.",
                 "edu/rpi/legup/images/heyawake/rules/FillRoomBlack.png");
     }
 
@@ -28,6 +34,18 @@ public class FillRoomBlackDirectRule extends DirectRule {
      */
     @Override
     protected String checkRuleRawAt(TreeTransition transition, PuzzleElement puzzleElement) {
+        HeyawakeBoard parentBoard = (HeyawakeBoard) transition.getParents().get(0).getBoard();
+        HeyawakeBoard finalBoard = (HeyawakeBoard) transition.getBoard();
+        HeyawakeCell parentCell = (HeyawakeCell) parentBoard.getPuzzleElement(puzzleElement);
+        HeyawakeCell finalCell = (HeyawakeCell) finalBoard.getPuzzleElement(puzzleElement);
+        if (parentCell.getType() != HeyawakeType.UNKNOWN
+                || finalCell.getType() != HeyawakeType.BLACK) {
+            return super.getInvalidUseOfRuleMessage() + ": Modified cells must be black";
+        }
+        if (!isForced(parentBoard.getRoomIndex(), parentCell.getLocation())) {
+            return super.getInvalidUseOfRuleMessage()
+                    + ": The room can reach its number without this cell";
+        }
         return null;
     }
 
@@ -40,6 +58,27 @@ public class FillRoomBlackDirectRule extends DirectRule {
      */
     @Override
     public Board getDefaultBoard(TreeNode node) {
-        return null;
+        HeyawakeBoard parentBoard = (HeyawakeBoard) node.getBoard();
+        HeyawakeRoomIndex index = parentBoard.getRoomIndex();
+        HeyawakeBoard heyawakeBoard = parentBoard.copy();
+        for (PuzzleElement element : heyawakeBoard.getPuzzleElements()) {
+            HeyawakeCell cell = (HeyawakeCell) element;
+            if (cell.getType() == HeyawakeType.UNKNOWN && isForced(index, cell.getLocation())) {
+                cell.setData(HeyawakeType.BLACK.value);
+                heyawakeBoard.addModifiedData(cell);
+            }
+        }
+        if (heyawakeBoard.getModifiedData().isEmpty()) {
+            return null;
+        } else {
+            return heyawakeBoard;
+        }
+    }
+
+    // whether the room of an unknown cell needs every one of its unknown cells to be black
+    private boolean isForced(HeyawakeRoomIndex index, Point p) {
+        int room = index.getRoom(p.x, p.y);
+        int clue = index.getClue(room);
+        return clue >= 0 && index.getBlackCount(room) + index.getUnknownCount(room) == clue;
     }
 }
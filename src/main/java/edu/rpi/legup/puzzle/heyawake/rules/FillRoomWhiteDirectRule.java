@@ -5,6 +5,11 @@ import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.DirectRule;
 import edu.rpi.legup.model.tree.TreeNode;
 import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeBoard;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeCell;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeRoomIndex;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeType;
+import java.awt.*;
 
 public class FillRoomWhiteDirectRule extends DirectRule {
 
@@ -12,7 +17,8 @@ public class FillRoomWhiteDirectRule extends DirectRule {
         super(
                 "HEYA-BASC-0004",
                 "Fill Room White",
-                "",
+                "If a room already has as many black cells as its number, its other cells are"
+                        + " white.",
                 "edu/rpi/legup/images/heyawake/rules/FillRoomWhite.png");
     }
 
@@ -28,6 +34,17 @@ public class FillRoomWhiteDirectRule extends DirectRule {
      */
     @Override
     protected String checkRuleRawAt(TreeTransition transition, PuzzleElement puzzleElement) {
+        HeyawakeBoard parentBoard = (HeyawakeBoard) transition.getParents().get(0).getBoard();
+        HeyawakeBoard finalBoard = (HeyawakeBoard) transition.getBoard();
+        HeyawakeCell parentCell = (HeyawakeCell) parentBoard.getPuzzleElement(puzzleElement);
+        HeyawakeCell finalCell = (HeyawakeCell) finalBoard.getPuzzleElement(puzzleElement);
+        if (parentCell.getType() != HeyawakeType.UNKNOWN
+                || finalCell.getType() != HeyawakeType.WHITE) {
+            return super.getInvalidUseOfRuleMessage() + ": Modified cells must be white";
+        }
+        if (!isForced(parentBoard.getRoomIndex(), parentCell.getLocation())) {
+            return super.getInvalidUseOfRuleMessage() + ": The room still needs black cells";
+        }
         return null;
     }
 
@@ -40,6 +57,26 @@ public class FillRoomWhiteDirectRule extends DirectRule {
      */
     @Override
     public Board getDefaultBoard(TreeNode node) {
-        return null;
+        HeyawakeBoard parentBoard = (HeyawakeBoard) node.getBoard();
+        HeyawakeRoomIndex index = parentBoard.getRoomIndex();
+        HeyawakeBoard heyawakeBoard = parentBoard.copy();
+        for (PuzzleElement element : heyawakeBoard.getPuzzleElements()) {
+            HeyawakeCell cell = (HeyawakeCell) element;
+            if (cell.getType() == HeyawakeType.UNKNOWN && isForced(index, cell.getLocation())) {
+                cell.setData(HeyawakeType.WHITE.value);
+                heyawakeBoard.addModifiedData(cell);
+            }
+        }
+        if (heyawakeBoard.getModifiedData().isEmpty()) {
+            return null;
+        } else {
+            return heyawakeBoard;
+        }
+    }
+
+    // whether the room of an unknown cell already has all of its black cells
+    private boolean isForced(HeyawakeRoomIndex index, Point p) {
+        int room = index.getRoom(p.x, p.y);
+        return index.getClue(room) >= 0 && index.getBlackCount(room) == index.getClue(room);
     }
 }
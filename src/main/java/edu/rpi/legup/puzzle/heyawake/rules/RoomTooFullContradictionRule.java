@@ -3,6 +3,10 @@ package edu.rpi.legup.puzzle.heyawake.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.ContradictionRule;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeBoard;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeCell;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeRoomIndex;
+import java.awt.*;
 
 public class RoomTooFullContradictionRule extends ContradictionRule {
 
@@ -10,7 +14,7 @@ public class RoomTooFullContradictionRule extends ContradictionRule {
         super(
                 "HEYA-CONT-0003",
                 "Room too Full",
-                "",
+                "A room cannot have more black cells than its number.",
                 "edu/rpi/legup/images/heyawake/contradictions/RoomTooFull.png");
     }
 
@@ -25,6 +29,13 @@ public class RoomTooFullContradictionRule extends ContradictionRule {
      */
     @Override
     public String checkContradictionAt(Board board, PuzzleElement puzzleElement) {
-        return null;
+        HeyawakeRoomIndex index = ((HeyawakeBoard) board).getRoomIndex();
+        Point p = ((HeyawakeCell) puzzleElement).getLocation();
+        int room = index.getRoom(p.x, p.y);
+        int clue = index.getClue(room);
+        if (clue >= 0 && index.getBlackCount(room) > clue) {
+            return null;
+        }
+        return super.getNoContradictionMessage();
     }
 }
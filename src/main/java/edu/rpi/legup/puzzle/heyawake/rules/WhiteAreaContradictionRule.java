@@ -3,6 +3,10 @@ package edu.rpi.legup.puzzle.heyawake.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.ContradictionRule;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeBoard;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeCell;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeRoomIndex;
+import java.awt.*;
 
 public class WhiteAreaContradictionRule extends ContradictionRule {
 
@@ -10,7 +14,7 @@ public class WhiteAreaContradictionRule extends ContradictionRule {
         super(
                 "HEYA-CONT-0004",
                 "White Area",
-                "",
+                "All white cells must be connected.",
                 "edu/rpi/legup/images/heyawake/contradictions/WhiteArea.png");
     }
 
@@ -25,6 +29,11 @@ public class WhiteAreaContradictionRule extends ContradictionRule {
      */
     @Override
     public String checkContradictionAt(Board board, PuzzleElement puzzleElement) {
-        return null;
+        HeyawakeRoomIndex index = ((HeyawakeBoard) board).getRoomIndex();
+        Point p = ((HeyawakeCell) puzzleElement).getLocation();
+        if (!index.isWhiteConnected(p.x, p.y)) {
+            return null;
+        }
+        return super.getNoContradictionMessage();
     }
 }
@@ -5,6 +5,11 @@ import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.DirectRule;
 import edu.rpi.legup.model.tree.TreeNode;
 import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeBoard;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeCell;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeRoomIndex;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeType;
+import java.awt.*;
 
 public class WhiteAroundBlackDirectRule extends DirectRule {
 
@@ -12,7 +17,7 @@ public class WhiteAroundBlackDirectRule extends DirectRule {
         super(
                 "HEYA-BASC-0009",
                 "White Around Black",
-                "",
+                "Cells next to a black cell are white.",
                 "edu/rpi/legup/images/heyawake/rules/WhiteAroundBlack.png");
     }
 
@@ -28,6 +33,17 @@ public class WhiteAroundBlackDirectRule extends DirectRule {
      */
     @Override
     protected String checkRuleRawAt(TreeTransition transition, PuzzleElement puzzleElement) {
+        HeyawakeBoard parentBoard = (HeyawakeBoard) transition.getParents().get(0).getBoard();
+        HeyawakeBoard finalBoard = (HeyawakeBoard) transition.getBoard();
+        HeyawakeCell parentCell = (HeyawakeCell) parentBoard.getPuzzleElement(puzzleElement);
+        HeyawakeCell finalCell = (HeyawakeCell) finalBoard.getPuzzleElement(puzzleElement);
+        if (parentCell.getType() != HeyawakeType.UNKNOWN
+                || finalCell.getType() != HeyawakeType.WHITE) {
+            return super.getInvalidUseOfRuleMessage() + ": Modified cells must be white";
+        }
+        if (!isForced(parentBoard.getRoomIndex(), parentCell.getLocation())) {
+            return super.getInvalidUseOfRuleMessage() + ": This cell is not next to a black cell";
+        }
         return null;
     }
 
@@ -40,6 +56,25 @@ public class WhiteAroundBlackDirectRule extends DirectRule {
      */
     @Override
     public Board getDefaultBoard(TreeNode node) {
-        return null;
+        HeyawakeBoard parentBoard = (HeyawakeBoard) node.getBoard();
+        HeyawakeRoomIndex index = parentBoard.getRoomIndex();
+        HeyawakeBoard heyawakeBoard = parentBoard.copy();
+        for (PuzzleElement element : heyawakeBoard.getPuzzleElements()) {
+            HeyawakeCell cell = (HeyawakeCell) element;
+            if (cell.getType() == HeyawakeType.UNKNOWN && isForced(index, cell.getLocation())) {
+                cell.setData(HeyawakeType.WHITE.value);
+                heyawakeBoard.addModifiedData(cell);
+            }
+        }
+        if (heyawakeBoard.getModifiedData().isEmpty()) {
+            return null;
+        } else {
+            return heyawakeBoard;
+        }
+    }
+
+    // whether an unknown cell is next to a black cell
+    private boolean isForced(HeyawakeRoomIndex index, Point p) {
+        return index.hasBlackNeighbor(p.x, p.y);
     }
 }
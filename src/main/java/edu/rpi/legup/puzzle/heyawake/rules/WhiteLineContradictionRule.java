@@ -3,6 +3,10 @@ package edu.rpi.legup.puzzle.heyawake.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.ContradictionRule;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeBoard;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeCell;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeRoomIndex;
+import java.awt.*;
 
 public class WhiteLineContradictionRule extends ContradictionRule {
 
@@ -10,7 +14,7 @@ public class WhiteLineContradictionRule extends ContradictionRule {
         super(
                 "HEYA-CONT-0005",
                 "White Line",
-                "",
+                "A horizontal or vertical line of white cells cannot span more than two rooms.",
                 "edu/rpi/legup/images/heyawake/contradictions/WhiteLine.png");
     }
 
@@ -25,6 +29,11 @@ public class WhiteLineContradictionRule extends ContradictionRule {
      */
     @Override
     public String checkContradictionAt(Board board, PuzzleElement puzzleElement) {
-        return null;
+        HeyawakeRoomIndex index = ((HeyawakeBoard) board).getRoomIndex();
+        Point p = ((HeyawakeCell) puzzleElement).getLocation();
+        if (index.getRunRooms(p.x, p.y, true) > 2 || index.getRunRooms(p.x, p.y, false) > 2) {
+            return null;
+        }
+        return super.getNoContradictionMessage();
     }
 }
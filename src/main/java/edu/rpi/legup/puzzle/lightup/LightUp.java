@@ -4,6 +4,7 @@ import edu.rpi.legup.model.Puzzle;
 import edu.rpi.legup.model.RegisterPuzzle;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.BoardAnalysis;
 import edu.rpi.legup.model.rules.ContradictionRule;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -64,8 +65,9 @@ public class LightUp extends Puzzle {
         LightUpBoard lightUpBoard = (LightUpBoard) board;
         lightUpBoard.fillWithLight();
 
+        BoardAnalysis analysis = new BoardAnalysis(lightUpBoard);
         for (ContradictionRule rule : contradictionRules) {
-            if (rule.checkContradiction(lightUpBoard) == null) {
+            if (rule.checkContradiction(lightUpBoard, analysis) == null) {
                 if (LOGGER.isTraceEnabled()) {
                     LOGGER.trace(rule.getRuleName());
                 }
@@ -1,18 +1,41 @@
 package edu.rpi.legup.puzzle.lightup;
 
 import edu.rpi.legup.model.gameboard.GridBoard;
+import edu.rpi.legup.model.gameboard.GridCell;
+import edu.rpi.legup.model.gameboard.GridPlane;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import java.awt.*;
 import java.util.HashSet;
 import java.util.Set;
 
+/**
+ * The {@code LightUpBoard} keeps a {@link GridPlane} of the types of its cells, coded by their
+ * ordinal, so the rules can find the bulbs and walls of a row or column with bit operations. The
+ * plane is updated whenever a cell is set or the data of one of its cells changes. Boards too large
+ * for a plane have none and the rules scan them cell by cell.
+ */
 public class LightUpBoard extends GridBoard {
+    private final GridPlane plane;
+
     public LightUpBoard(int width, int height) {
         super(width, height);
+        this.plane =
+                GridPlane.supports(width, height)
+                        ? new GridPlane(width, height, LightUpCellType.values().length)
+                        : null;
     }
 
     public LightUpBoard(int size) {
-        super(size, size);
+        this(size, size);
+    }
+
+    /**
+     * Gets the plane of the types of the cells
+     *
+     * @return plane of the board, null if the board is too large for one
+     */
+    public GridPlane getPlane() {
+        return plane;
     }
 
     /**
@@ -155,12 +178,59 @@ public class LightUpBoard extends GridBoard {
         return (LightUpCell) super.getCell(x, y);
     }
 
+    /**
+     * Sets the cell at the (x,y) position and updates the plane
+     *
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @param cell cell to set at (x,y)
+     */
+    @Override
+    public void setCell(int x, int y, GridCell cell) {
+        super.setCell(x, y, cell);
+        if (cell instanceof LightUpCell
+                && x >= 0
+                && y >= 0
+                && x < dimension.width
+                && y < dimension.height) {
+            ((LightUpCell) cell).setBoard(this);
+            updatePlane((LightUpCell) cell);
+        }
+    }
+
+    @Override
+    public void setPuzzleElement(int index, PuzzleElement puzzleElement) {
+        super.setPuzzleElement(index, puzzleElement);
+        if (puzzleElement instanceof LightUpCell
+                && getPuzzleElement(puzzleElement) == puzzleElement) {
+            ((LightUpCell) puzzleElement).setBoard(this);
+            updatePlane((LightUpCell) puzzleElement);
+        }
+    }
+
     @Override
     public void notifyChange(PuzzleElement puzzleElement) {
         super.notifyChange(puzzleElement);
+        ((LightUpCell) puzzleElement).setBoard(this);
+        updatePlane((LightUpCell) puzzleElement);
         fillWithLight();
     }
 
+    void onCellChanged(LightUpCell cell) {
+        Point loc = cell.getLocation();
+        if (getCell(loc.x, loc.y) == cell) {
+            updatePlane(cell);
+        }
+    }
+
+    private void updatePlane(LightUpCell cell) {
+        if (plane != null) {
+            LightUpCellType type = cell.getType();
+            Point loc = cell.getLocation();
+            plane.set(loc.x, loc.y, type == null ? GridPlane.NONE : type.ordinal());
+        }
+    }
+
     @Override
     public LightUpBoard copy() {
         LightUpBoard copy = new LightUpBoard(dimension.width, dimension.height);
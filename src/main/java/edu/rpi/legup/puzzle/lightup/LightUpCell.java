@@ -4,9 +4,11 @@ import edu.rpi.legup.model.elements.Element;
 import edu.rpi.legup.model.gameboard.GridCell;
 import java.awt.*;
 import java.awt.event.MouseEvent;
+import java.util.Objects;
 
 public class LightUpCell extends GridCell<Integer> {
     private boolean isLite;
+    private LightUpBoard board;
 
     public LightUpCell(int valueInt, Point location) {
         super(valueInt, location);
@@ -17,28 +19,28 @@ public class LightUpCell extends GridCell<Integer> {
     public void setType(Element e, MouseEvent m) {
         switch (e.getElementID()) {
             case "LTUP-ELEM-0002":
-                this.data = -4;
+                setData(-4);
                 break;
             case "LTUP-ELEM-0001":
-                this.data = -1;
+                setData(-1);
                 break;
             case "LTUP-ELEM-0004":
-                this.data = -2;
+                setData(-2);
                 break;
             case "LTUP-ELEM-0003":
                 switch (m.getButton()) {
                     case MouseEvent.BUTTON1:
                         if (this.data < 0 || this.data > 3) {
-                            this.data = 0;
+                            setData(0);
                         } else {
-                            this.data = this.data + 1;
+                            setData(this.data + 1);
                         }
                         break;
                     case MouseEvent.BUTTON3:
                         if (this.data > 0) {
-                            this.data = this.data - 1;
+                            setData(this.data - 1);
                         } else {
-                            this.data = 4;
+                            setData(4);
                         }
                         break;
                 }
@@ -72,6 +74,24 @@ public class LightUpCell extends GridCell<Integer> {
         this.isLite = isLite;
     }
 
+    /**
+     * Sets the data of this cell and updates the plane of the board holding it
+     *
+     * @param data new data of the cell
+     */
+    @Override
+    public void setData(Integer data) {
+        Integer old = this.data;
+        super.setData(data);
+        if (board != null && !Objects.equals(old, data)) {
+            board.onCellChanged(this);
+        }
+    }
+
+    void setBoard(LightUpBoard board) {
+        this.board = board;
+    }
+
     @Override
     public LightUpCell copy() {
         LightUpCell copy = new LightUpCell(data, (Point) location.clone());
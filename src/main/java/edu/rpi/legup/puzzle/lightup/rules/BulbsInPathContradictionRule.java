@@ -1,6 +1,7 @@
 package edu.rpi.legup.puzzle.lightup.rules;
 
 import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.gameboard.GridPlane;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.ContradictionRule;
 import edu.rpi.legup.puzzle.lightup.LightUpBoard;
@@ -36,6 +37,10 @@ public class BulbsInPathContradictionRule extends ContradictionRule {
         }
 
         Point location = cell.getLocation();
+        GridPlane plane = lightUpBoard.getPlane();
+        if (plane != null) {
+            return hasBulbInPath(plane, location) ? null : super.getNoContradictionMessage();
+        }
         for (int i = location.x + 1; i < lightUpBoard.getWidth(); i++) {
             LightUpCell c = lightUpBoard.getCell(i, location.y);
             if (c.getType() == LightUpCellType.BLACK || c.getType() == LightUpCellType.NUMBER) {
@@ -78,4 +83,32 @@ public class BulbsInPathContradictionRule extends ContradictionRule {
         }
         return super.getNoContradictionMessage();
     }
+
+    @Override
+    protected boolean isCandidate(Board board, PuzzleElement puzzleElement) {
+        return ((LightUpCell) puzzleElement).getType() == LightUpCellType.BULB;
+    }
+
+    /**
+     * Determines whether another bulb shares the row or column of a bulb without a wall between
+     * them, using the path of the bulb cut from its row and column masks
+     *
+     * @param plane plane of the board
+     * @param location location of the bulb
+     * @return true if another bulb is in the path of the bulb, false otherwise
+     */
+    private boolean hasBulbInPath(GridPlane plane, Point location) {
+        int bulb = LightUpCellType.BULB.ordinal();
+        int black = LightUpCellType.BLACK.ordinal();
+        int number = LightUpCellType.NUMBER.ordinal();
+
+        long rowWalls = plane.getRow(black, location.y) | plane.getRow(number, location.y);
+        long rowPath = GridPlane.getSegment(rowWalls, location.x) & ~(1L << location.x);
+        if ((plane.getRow(bulb, location.y) & rowPath) != 0) {
+            return true;
+        }
+        long colWalls = plane.getColumn(black, location.x) | plane.getColumn(number, location.x);
+        long colPath = GridPlane.getSegment(colWalls, location.y) & ~(1L << location.y);
+        return (plane.getColumn(bulb, location.x) & colPath) != 0;
+    }
 }
@@ -97,4 +97,10 @@ public class CannotLightACellContradictionRule extends ContradictionRule {
         }
         return super.getNoContradictionMessage();
     }
+
+    @Override
+    protected boolean isCandidate(Board board, PuzzleElement puzzleElement) {
+        LightUpCell cell = (LightUpCell) puzzleElement;
+        return cell.getType() == LightUpCellType.EMPTY && !cell.isLite();
+    }
 }
@@ -3,6 +3,7 @@ package edu.rpi.legup.puzzle.lightup.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.CaseBoard;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.CaseDelta;
 import edu.rpi.legup.model.rules.CaseRule;
 import edu.rpi.legup.model.tree.TreeNode;
 import edu.rpi.legup.model.tree.TreeTransition;
@@ -11,8 +12,10 @@ import edu.rpi.legup.puzzle.lightup.LightUpCell;
 import edu.rpi.legup.puzzle.lightup.LightUpCellType;
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -51,9 +54,22 @@ public class SatisfyNumberCaseRule extends CaseRule {
      */
     @Override
     public ArrayList<Board> getCases(Board board, PuzzleElement puzzleElement) {
-        ArrayList<Board> cases = new ArrayList<>();
+        return materializeCases(board, puzzleElement);
+    }
+
+    /**
+     * Gets the possible cases at a specific location without copying the board. Each case places
+     * bulbs on a different combination of the open cells around the number, and the combinations
+     * are generated as the iterator is advanced.
+     *
+     * @param board the current board state
+     * @param puzzleElement puzzleElement to determine the possible cases for
+     * @return an iterator over the cases
+     */
+    @Override
+    public Iterator<CaseDelta> getCaseDeltas(Board board, PuzzleElement puzzleElement) {
         if (puzzleElement == null) {
-            return cases;
+            return Collections.emptyIterator();
         }
 
         LightUpBoard lightUpBoard = (LightUpBoard) board;
@@ -64,116 +80,78 @@ public class SatisfyNumberCaseRule extends CaseRule {
 
         int numNeeded = cell.getData();
 
-        LightUpCell checkCell = lightUpBoard.getCell(loc.x + 1, loc.y);
-        if (checkCell != null) {
-            if (checkCell.getType() == LightUpCellType.UNKNOWN && !checkCell.isLite()) {
-                openSpots.add(checkCell);
-            } else {
-                if (checkCell.getType() == LightUpCellType.BULB) {
-                    numNeeded--;
-                }
-            }
-        }
-        checkCell = lightUpBoard.getCell(loc.x, loc.y + 1);
-        if (checkCell != null) {
-            if (checkCell.getType() == LightUpCellType.UNKNOWN && !checkCell.isLite()) {
-                openSpots.add(checkCell);
-            } else {
-                if (checkCell.getType() == LightUpCellType.BULB) {
-                    numNeeded--;
-                }
-            }
-        }
-        checkCell = lightUpBoard.getCell(loc.x - 1, loc.y);
-        if (checkCell != null) {
-            if (checkCell.getType() == LightUpCellType.UNKNOWN && !checkCell.isLite()) {
-                openSpots.add(checkCell);
-            } else {
-                if (checkCell.getType() == LightUpCellType.BULB) {
-                    numNeeded--;
-                }
-            }
-        }
-        checkCell = lightUpBoard.getCell(loc.x, loc.y - 1);
-        if (checkCell != null) {
-            if (checkCell.getType() == LightUpCellType.UNKNOWN && !checkCell.isLite()) {
-                openSpots.add(checkCell);
-            } else {
-                if (checkCell.getType() == LightUpCellType.BULB) {
-                    numNeeded--;
+        Point[] neighbors = {
+            new Point(loc.x + 1, loc.y),
+            new Point(loc.x, loc.y + 1),
+            new Point(loc.x - 1, loc.y),
+            new Point(loc.x, loc.y - 1)
+        };
+        for (Point neighbor : neighbors) {
+            LightUpCell checkCell = lightUpBoard.getCell(neighbor.x, neighbor.y);
+            if (checkCell != null) {
+                if (checkCell.getType() == LightUpCellType.UNKNOWN && !checkCell.isLite()) {
+                    openSpots.add(checkCell);
+                } else {
+                    if (checkCell.getType() == LightUpCellType.BULB) {
+                        numNeeded--;
+                    }
                 }
             }
         }
 
-        if (numNeeded == 0) {
-            return cases;
+        if (numNeeded == 0 || Math.max(numNeeded, 1) > openSpots.size()) {
+            return Collections.emptyIterator();
         }
 
-        generateCases(lightUpBoard, numNeeded, openSpots, cases);
-
-        return cases;
+        return new BulbCombinations(openSpots, Math.max(numNeeded, 1));
     }
 
-    private void generateCases(
-            final LightUpBoard board,
-            final int num,
-            List<LightUpCell> openSpots,
-            List<Board> cases) {
-        if (num > openSpots.size()) {
-            return;
-        }
-
-        for (int i = 0; i < openSpots.size(); i++) {
-            LightUpCell c = openSpots.get(i);
-            LightUpBoard newCase = board.copy();
-            LightUpCell newCell = c.copy();
-            Point loc = c.getLocation();
-
-            newCell.setData(-4);
-            newCase.setCell(loc.x, loc.y, newCell);
-            newCase.addModifiedData(newCell);
-
-            generateCases(board, num, openSpots, cases, newCase, i);
+    /** Iterates over every way of placing a number of bulbs on a list of open cells */
+    private static class BulbCombinations implements Iterator<CaseDelta> {
+        private final List<LightUpCell> openSpots;
+        private final int[] selected;
+        private boolean hasNext;
+
+        BulbCombinations(List<LightUpCell> openSpots, int num) {
+            this.openSpots = openSpots;
+            this.selected = new int[num];
+            for (int i = 0; i < num; i++) {
+                selected[i] = i;
+            }
+            this.hasNext = true;
         }
-    }
 
-    private void generateCases(
-            final LightUpBoard board,
-            final int num,
-            List<LightUpCell> openSpots,
-            List<Board> cases,
-            LightUpBoard curBoard,
-            int index) {
-        if (num <= curBoard.getModifiedData().size()) {
-            cases.add(curBoard);
-            return;
+        @Override
+        public boolean hasNext() {
+            return hasNext;
         }
 
-        for (int i = index + 1; i < openSpots.size(); i++) {
-            LightUpCell c = openSpots.get(i);
-            Point loc = c.getLocation();
-            LightUpCell cc = curBoard.getCell(loc.x, loc.y);
-            if (!curBoard.getModifiedData().contains(cc)) {
-                LightUpBoard newCase = board.copy();
-                LightUpCell newCell = c.copy();
-
-                for (PuzzleElement mod : curBoard.getModifiedData()) {
-                    LightUpCell modCell = (LightUpCell) mod.copy();
-                    Point modLoc = modCell.getLocation();
-
-                    modCell.setData(-4);
+        @Override
+        public CaseDelta next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            List<PuzzleElement> bulbs = new ArrayList<>();
+            for (int index : selected) {
+                LightUpCell bulb = openSpots.get(index).copy();
+                bulb.setData(-4);
+                bulbs.add(bulb);
+            }
 
-                    newCase.setCell(modLoc.x, modLoc.y, modCell);
-                    newCase.addModifiedData(modCell);
+            // advance to the next combination in lexicographic order
+            int i = selected.length - 1;
+            while (i >= 0 && selected[i] == openSpots.size() - selected.length + i) {
+                i--;
+            }
+            if (i < 0) {
+                hasNext = false;
+            } else {
+                selected[i]++;
+                for (int j = i + 1; j < selected.length; j++) {
+                    selected[j] = selected[j - 1] + 1;
                 }
-
-                newCell.setData(-4);
-
-                newCase.setCell(loc.x, loc.y, newCell);
-                newCase.addModifiedData(newCell);
-
-                generateCases(board, num, openSpots, cases, newCase, i);
             }
+            return new CaseDelta(bulbs);
         }
     }
 
@@ -194,7 +172,7 @@ public class SatisfyNumberCaseRule extends CaseRule {
         }
 
         for (LightUpCell c : spots) {
-            ArrayList<Board> cases = getCases(parent.getBoard(), c);
+            List<CaseDelta> cases = collectCases(parent.getBoard(), c);
 
             // Note: we will allow case rules to have only one option
 
@@ -222,15 +200,14 @@ public class SatisfyNumberCaseRule extends CaseRule {
                 for (TreeTransition childTrans : childTransitions) {
                     LightUpBoard actCase = (LightUpBoard) childTrans.getBoard();
                     boolean foundBoard = false;
-                    for (Board b : cases) {
-                        LightUpBoard posCase = (LightUpBoard) b;
+                    for (CaseDelta posCase : cases) {
                         boolean foundAllCells = false;
-                        if (posCase.getModifiedData().size() == actCase.getModifiedData().size()) {
+                        if (posCase.getChanges().size() == actCase.getModifiedData().size()) {
                             foundAllCells = true;
                             for (PuzzleElement actEle : actCase.getModifiedData()) {
                                 LightUpCell actCell = (LightUpCell) actEle;
                                 boolean foundCell = false;
-                                for (PuzzleElement posEle : posCase.getModifiedData()) {
+                                for (PuzzleElement posEle : posCase.getChanges()) {
                                     LightUpCell posCell = (LightUpCell) posEle;
                                     if (actCell.getType() == posCell.getType()
                                             && actCell.getLocation()
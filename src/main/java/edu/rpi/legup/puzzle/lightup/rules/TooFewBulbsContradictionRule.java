@@ -43,4 +43,9 @@ public class TooFewBulbsContradictionRule extends ContradictionRule {
         }
         return super.getNoContradictionMessage();
     }
+
+    @Override
+    protected boolean isCandidate(Board board, PuzzleElement puzzleElement) {
+        return ((LightUpCell) puzzleElement).getType() == LightUpCellType.NUMBER;
+    }
 }
@@ -61,4 +61,9 @@ public class TooManyBulbsContradictionRule extends ContradictionRule {
         }
         return super.getNoContradictionMessage();
     }
+
+    @Override
+    protected boolean isCandidate(Board board, PuzzleElement puzzleElement) {
+        return ((LightUpCell) puzzleElement).getType() == LightUpCellType.NUMBER;
+    }
 }
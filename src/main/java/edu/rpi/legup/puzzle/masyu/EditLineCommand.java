@@ -101,17 +101,15 @@ public class EditLineCommand extends PuzzleCommand {
                 }
             }
         }
-        for (int i = 0; i < board.getLines().size(); i++) {
-            if (board.getLines().get(i).compare((MasyuLine) newData)) {
-                contains = true;
-            }
+        if (board.findLine((MasyuLine) newData) != null) {
+            contains = true;
         }
         if (contains || mod_contains) {
             if (LOGGER.isTraceEnabled()) {
                 LOGGER.trace("delete");
             }
             board.getModifiedData().remove(dup_line);
-            board.getLines().remove(dup_line);
+            board.removeLine((MasyuLine) newData);
             //            puzzle.notifyBoardListeners((IBoardListener listener) ->
             // listener.onTreeElementChanged(editBoard));
         } else {
@@ -119,7 +117,7 @@ public class EditLineCommand extends PuzzleCommand {
                 LOGGER.trace("adding");
             }
             board.getModifiedData().add(newData);
-            board.getLines().add((MasyuLine) newData);
+            board.addLine((MasyuLine) newData);
             //            puzzle.notifyBoardListeners((IBoardListener listener) ->
             // listener.onTreeElementChanged(editBoard));
         }
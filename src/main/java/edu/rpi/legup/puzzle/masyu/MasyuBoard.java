@@ -1,6 +1,7 @@
 package edu.rpi.legup.puzzle.masyu;
 
 import edu.rpi.legup.model.gameboard.GridBoard;
+import edu.rpi.legup.model.gameboard.GridCell;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import java.util.ArrayList;
 import java.util.List;
@@ -8,6 +9,7 @@ import java.util.List;
 public class MasyuBoard extends GridBoard {
 
     private List<MasyuLine> lines;
+    private MasyuPathIndex pathIndex;
 
     public MasyuBoard(int width, int height) {
         super(width, height);
@@ -29,17 +31,105 @@ public class MasyuBoard extends GridBoard {
 
     public void setLines(List<MasyuLine> lines) {
         this.lines = lines;
+        this.pathIndex = null;
+    }
+
+    /**
+     * Adds a line to the board unless the board already has a line between the same cells
+     *
+     * @param line line to add
+     * @return true if the line was added, false otherwise
+     */
+    public boolean addLine(MasyuLine line) {
+        if (findLine(line) != null) {
+            return false;
+        }
+        lines.add(line);
+        if (pathIndex != null) {
+            pathIndex.addLine(line);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the line of the board between the same cells as a line
+     *
+     * @param line line to remove, in either direction
+     * @return true if a line was removed, false otherwise
+     */
+    public boolean removeLine(MasyuLine line) {
+        MasyuLine existing = findLine(line);
+        if (existing == null) {
+            return false;
+        }
+        lines.remove(existing);
+        if (pathIndex != null) {
+            pathIndex.removeLine(existing);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the line of the board between the same cells as a line
+     *
+     * @param line line to find, in either direction
+     * @return line of the board, or null if there is none
+     */
+    public MasyuLine findLine(MasyuLine line) {
+        for (MasyuLine l : lines) {
+            if (l.compare(line)) {
+                return l;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the index of the lines of the board, built on first use and kept up to date by {@link
+     * #addLine(MasyuLine)} and {@link #removeLine(MasyuLine)}
+     *
+     * @return path index of the board
+     */
+    public MasyuPathIndex getPathIndex() {
+        if (pathIndex == null) {
+            pathIndex = new MasyuPathIndex(this);
+        }
+        return pathIndex;
+    }
+
+    @Override
+    public void setCell(int x, int y, GridCell cell) {
+        super.setCell(x, y, cell);
+        pathIndex = null;
     }
 
     @Override
     public void notifyChange(PuzzleElement puzzleElement) {
         if (puzzleElement instanceof MasyuLine) {
-            lines.add((MasyuLine) puzzleElement);
+            addLine((MasyuLine) puzzleElement);
         } else {
             super.notifyChange(puzzleElement);
+            pathIndex = null;
         }
     }
 
+    /**
+     * Computes a hash of the contents of this board, adding the lines of the board in any order and
+     * direction to the hash of the cells
+     *
+     * @return hash of the contents of the board
+     */
+    @Override
+    public long getContentHash() {
+        long lineHash = 0;
+        for (MasyuLine line : lines) {
+            long start = line.getC1().getLocation().hashCode();
+            long end = line.getC2().getLocation().hashCode();
+            lineHash += start * end + start + end;
+        }
+        return super.getContentHash() * 31 + lineHash;
+    }
+
     @Override
     public MasyuBoard copy() {
         MasyuBoard copy = new MasyuBoard(dimension.width, dimension.height);
@@ -51,6 +141,9 @@ public class MasyuBoard extends GridBoard {
         for (MasyuLine line : lines) {
             copy.lines.add(line.copy());
         }
+        if (pathIndex != null) {
+            copy.pathIndex = pathIndex.copy();
+        }
         for (PuzzleElement e : modifiedData) {
             copy.getPuzzleElement(e).setModifiable(false);
         }
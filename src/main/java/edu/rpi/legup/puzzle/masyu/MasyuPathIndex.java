@@ -0,0 +1,380 @@
+package edu.rpi.legup.puzzle.masyu;
+
+import edu.rpi.legup.model.gameboard.PuzzleElement;
+import java.awt.*;
+import java.util.List;
+
+/**
+ * The {@code MasyuPathIndex} class keeps track of the lines of a {@link MasyuBoard} so the Masyu
+ * rules can check a cell without walking the path. For each cell it stores the directions in which
+ * it has a line and its degree; a union-find over the cells groups them into path segments and
+ * counts the lines and circles of each segment, which tells in nearly constant time whether a cell
+ * is on a closed loop and whether that loop leaves anything out.
+ *
+ * <p>Adding a line updates the index directly. The union-find cannot split a segment, so removing a
+ * line only updates the degrees and the segments are rebuilt the next time they are queried.
+ */
+public final class MasyuPathIndex {
+    /** Directions of the lines of a cell */
+    public static final int UP = 0;
+
+    public static final int RIGHT = 1;
+    public static final int DOWN = 2;
+    public static final int LEFT = 3;
+
+    private static final int[] DX = {0, 1, 0, -1};
+    private static final int[] DY = {-1, 0, 1, 0};
+
+    private final int width;
+    private final int height;
+
+    private final byte[] links;
+    private final byte[] degree;
+    private final boolean[] circle;
+    private int lineCount;
+    private int circleCount;
+
+    // union-find over the cells, the counts are only valid at the roots
+    private final int[] parent;
+    private final int[] cells;
+    private final int[] edges;
+    private final int[] circles;
+    private boolean segmentsValid;
+
+    /**
+     * MasyuPathIndex Constructor creates the index of the cells and lines of a board
+     *
+     * @param board board to index
+     */
+    public MasyuPathIndex(MasyuBoard board) {
+        this.width = board.getWidth();
+        this.height = board.getHeight();
+        int size = width * height;
+        this.links = new byte[size];
+        this.degree = new byte[size];
+        this.circle = new boolean[size];
+        this.parent = new int[size];
+        this.cells = new int[size];
+        this.edges = new int[size];
+        this.circles = new int[size];
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                MasyuCell cell = board.getCell(x, y);
+                MasyuType type = cell == null ? MasyuType.UNKNOWN : cell.getType();
+                if (type == MasyuType.BLACK || type == MasyuType.WHITE) {
+                    circle[y * width + x] = true;
+                    circleCount++;
+                }
+            }
+        }
+        resetSegments();
+        for (MasyuLine line : board.getLines()) {
+            addLine(line);
+        }
+    }
+
+    private MasyuPathIndex(MasyuPathIndex index) {
+        this.width = index.width;
+        this.height = index.height;
+        this.links = index.links.clone();
+        this.degree = index.degree.clone();
+        this.circle = index.circle.clone();
+        this.lineCount = index.lineCount;
+        this.circleCount = index.circleCount;
+        this.parent = index.parent.clone();
+        this.cells = index.cells.clone();
+        this.edges = index.edges.clone();
+        this.circles = index.circles.clone();
+        this.segmentsValid = index.segmentsValid;
+    }
+
+    /**
+     * Creates a copy of this index
+     *
+     * @return copy of the index
+     */
+    public MasyuPathIndex copy() {
+        return new MasyuPathIndex(this);
+    }
+
+    /**
+     * Adds a line to the index
+     *
+     * @param line line between two adjacent cells
+     * @return true if the line was added, false if it is already indexed or does not join two
+     *     adjacent cells of the board
+     */
+    public boolean addLine(MasyuLine line) {
+        Point p1 = line.getC1().getLocation();
+        Point p2 = line.getC2().getLocation();
+        int dir = getDirection(p1, p2);
+        if (dir < 0 || !inBounds(p1.x, p1.y) || !inBounds(p2.x, p2.y)) {
+            return false;
+        }
+        int a = p1.y * width + p1.x;
+        int b = p2.y * width + p2.x;
+        if ((links[a] & (1 << dir)) != 0) {
+            return false;
+        }
+        links[a] |= (byte) (1 << dir);
+        links[b] |= (byte) (1 << opposite(dir));
+        degree[a]++;
+        degree[b]++;
+        lineCount++;
+
+        if (segmentsValid) {
+            union(a, b);
+        }
+        return true;
+    }
+
+    /**
+     * Removes a line from the index
+     *
+     * @param line line between two adjacent cells
+     * @return true if the line was removed, false if it is not indexed
+     */
+    public boolean removeLine(MasyuLine line) {
+        Point p1 = line.getC1().getLocation();
+        Point p2 = line.getC2().getLocation();
+        int dir = getDirection(p1, p2);
+        if (dir < 0 || !inBounds(p1.x, p1.y) || !inBounds(p2.x, p2.y)) {
+            return false;
+        }
+        int a = p1.y * width + p1.x;
+        int b = p2.y * width + p2.x;
+        if ((links[a] & (1 << dir)) == 0) {
+            return false;
+        }
+        links[a] &= (byte) ~(1 << dir);
+        links[b] &= (byte) ~(1 << opposite(dir));
+        degree[a]--;
+        degree[b]--;
+        lineCount--;
+        segmentsValid = false;
+        return true;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the number of lines of the board
+     *
+     * @return number of lines
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Gets the number of lines of a cell
+     *
+     * @param x x location of the cell
+     * @param y y location of the cell
+     * @return number of lines of the cell, 0 if the location is out of bounds
+     */
+    public int getDegree(int x, int y) {
+        return inBounds(x, y) ? degree[y * width + x] : 0;
+    }
+
+    /**
+     * Determines whether a cell has a line in a direction
+     *
+     * @param x x location of the cell
+     * @param y y location of the cell
+     * @param dir direction of the line
+     * @return true if the cell has a line in the direction, false otherwise
+     */
+    public boolean hasLine(int x, int y, int dir) {
+        return inBounds(x, y) && (links[y * width + x] & (1 << dir)) != 0;
+    }
+
+    /**
+     * Determines whether a cell has a line in a direction other than along an axis
+     *
+     * @param x x location of the cell
+     * @param y y location of the cell
+     * @param dir direction of the axis
+     * @return true if the cell has a line perpendicular to the direction, false otherwise
+     */
+    public boolean hasTurn(int x, int y, int dir) {
+        return hasLine(x, y, turn(dir)) || hasLine(x, y, opposite(turn(dir)));
+    }
+
+    /**
+     * Determines whether a location is on the board
+     *
+     * @param x x location
+     * @param y y location
+     * @return true if the location is on the board, false otherwise
+     */
+    public boolean inBounds(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    /**
+     * Determines whether a cell is part of a closed loop
+     *
+     * @param x x location of the cell
+     * @param y y location of the cell
+     * @return true if the segment of the cell contains a loop, false otherwise
+     */
+    public boolean isOnLoop(int x, int y) {
+        if (getDegree(x, y) == 0) {
+            return false;
+        }
+        int root = find(y * width + x);
+        return edges[root] >= cells[root];
+    }
+
+    /**
+     * Determines whether a cell is part of a closed loop that leaves out a line or a circle, which
+     * can never become the single loop of a solution
+     *
+     * @param x x location of the cell
+     * @param y y location of the cell
+     * @return true if the cell is on a loop that is closed too early, false otherwise
+     */
+    public boolean isOnPrematureLoop(int x, int y) {
+        if (!isOnLoop(x, y)) {
+            return false;
+        }
+        int root = find(y * width + x);
+        return edges[root] < lineCount || circles[root] < circleCount;
+    }
+
+    /**
+     * Determines whether a line could still be drawn from a cell to its neighbour: the neighbour is
+     * on the board, neither cell has two lines already, and the line would not close a loop too
+     * early
+     *
+     * @param x x location of the cell
+     * @param y y location of the cell
+     * @param dir direction of the neighbour
+     * @return true if the cell has or can get a line in the direction, false otherwise
+     */
+    public boolean canLine(int x, int y, int dir) {
+        if (hasLine(x, y, dir)) {
+            return true;
+        }
+        int nx = x + DX[dir];
+        int ny = y + DY[dir];
+        if (!inBounds(x, y)
+                || !inBounds(nx, ny)
+                || getDegree(x, y) >= 2
+                || getDegree(nx, ny) >= 2) {
+            return false;
+        }
+        int root = find(y * width + x);
+        if (root != find(ny * width + nx)) {
+            return true;
+        }
+        // closes the loop, which must then hold every line and circle
+        return edges[root] == lineCount && circles[root] == circleCount;
+    }
+
+    /**
+     * Gets the locations of the cells of an element, the cell itself or both ends of a line
+     *
+     * @param puzzleElement cell or line
+     * @return locations of the cells of the element
+     */
+    public static List<Point> getLocations(PuzzleElement puzzleElement) {
+        if (puzzleElement instanceof MasyuLine) {
+            MasyuLine line = (MasyuLine) puzzleElement;
+            return List.of(line.getC1().getLocation(), line.getC2().getLocation());
+        }
+        if (puzzleElement instanceof MasyuCell) {
+            return List.of(((MasyuCell) puzzleElement).getLocation());
+        }
+        return List.of();
+    }
+
+    public static int getDeltaX(int dir) {
+        return DX[dir];
+    }
+
+    public static int getDeltaY(int dir) {
+        return DY[dir];
+    }
+
+    public static int opposite(int dir) {
+        return (dir + 2) & 3;
+    }
+
+    public static int turn(int dir) {
+        return (dir + 1) & 3;
+    }
+
+    private static int getDirection(Point from, Point to) {
+        for (int dir = 0; dir < 4; dir++) {
+            if (to.x - from.x == DX[dir] && to.y - from.y == DY[dir]) {
+                return dir;
+            }
+        }
+        return -1;
+    }
+
+    private int find(int cell) {
+        if (!segmentsValid) {
+            rebuildSegments();
+        }
+        int root = cell;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        while (parent[cell] != root) {
+            int next = parent[cell];
+            parent[cell] = root;
+            cell = next;
+        }
+        return root;
+    }
+
+    private void union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra == rb) {
+            edges[ra]++;
+            return;
+        }
+        if (cells[ra] < cells[rb]) {
+            int swap = ra;
+            ra = rb;
+            rb = swap;
+        }
+        parent[rb] = ra;
+        cells[ra] += cells[rb];
+        edges[ra] += edges[rb] + 1;
+        circles[ra] += circles[rb];
+    }
+
+    private void resetSegments() {
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+            cells[i] = 1;
+            edges[i] = 0;
+            circles[i] = circle[i] ? 1 : 0;
+        }
+        segmentsValid = true;
+    }
+
+    private void rebuildSegments() {
+        resetSegments();
+        for (int i = 0; i < links.length; i++) {
+            if ((links[i] & (1 << RIGHT)) != 0) {
+                union(i, i + 1);
+            }
+            if ((links[i] & (1 << DOWN)) != 0) {
+                union(i, i + width);
+            }
+        }
+    }
+}
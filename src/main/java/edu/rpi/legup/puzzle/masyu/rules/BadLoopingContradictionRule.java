@@ -3,6 +3,9 @@ package edu.rpi.legup.puzzle.masyu.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.ContradictionRule;
+import edu.rpi.legup.puzzle.masyu.MasyuBoard;
+import edu.rpi.legup.puzzle.masyu.MasyuPathIndex;
+import java.awt.*;
 
 public class BadLoopingContradictionRule extends ContradictionRule {
 
@@ -10,7 +13,7 @@ public class BadLoopingContradictionRule extends ContradictionRule {
         super(
                 "MASY-CONT-0001",
                 "Bad Looping",
-                "",
+                "A loop cannot be closed while lines or circles are left outside of it.",
                 "edu/rpi/legup/images/masyu/ContradictionBadLooping.png");
     }
 
@@ -25,6 +28,13 @@ public class BadLoopingContradictionRule extends ContradictionRule {
      */
     @Override
     public String checkContradictionAt(Board board, PuzzleElement puzzleElement) {
-        return null;
+        MasyuBoard masyuBoard = (MasyuBoard) board;
+        MasyuPathIndex index = masyuBoard.getPathIndex();
+        for (Point p : MasyuPathIndex.getLocations(puzzleElement)) {
+            if (index.isOnPrematureLoop(p.x, p.y)) {
+                return null;
+            }
+        }
+        return super.getNoContradictionMessage();
     }
 }
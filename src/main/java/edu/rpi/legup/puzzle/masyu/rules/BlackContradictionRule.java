@@ -3,11 +3,21 @@ package edu.rpi.legup.puzzle.masyu.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.ContradictionRule;
+import edu.rpi.legup.puzzle.masyu.MasyuBoard;
+import edu.rpi.legup.puzzle.masyu.MasyuCell;
+import edu.rpi.legup.puzzle.masyu.MasyuPathIndex;
+import edu.rpi.legup.puzzle.masyu.MasyuType;
+import java.awt.*;
 
 public class BlackContradictionRule extends ContradictionRule {
 
     public BlackContradictionRule() {
-        super("MASY-CONT-0002", "Black", "", "edu/rpi/legup/images/masyu/ContradictionBlack.png");
+        super(
+                "MASY-CONT-0002",
+                "Black",
+                "The line must turn at a black circle and go straight through the next cell on both"
+                        + " sides.",
+                "edu/rpi/legup/images/masyu/ContradictionBlack.png");
     }
 
     /**
@@ -21,6 +31,56 @@ public class BlackContradictionRule extends ContradictionRule {
      */
     @Override
     public String checkContradictionAt(Board board, PuzzleElement puzzleElement) {
-        return null;
+        MasyuBoard masyuBoard = (MasyuBoard) board;
+        for (Point p : MasyuPathIndex.getLocations(puzzleElement)) {
+            MasyuCell cell = masyuBoard.getCell(p.x, p.y);
+            if (cell != null && cell.getType() == MasyuType.BLACK && isBroken(masyuBoard, p)) {
+                return null;
+            }
+        }
+        return super.getNoContradictionMessage();
+    }
+
+    /**
+     * Determines whether the line cannot turn at a black circle and extend two cells on each side
+     *
+     * @param board board of the circle
+     * @param p location of the black circle
+     * @return true if the black circle cannot be satisfied, false otherwise
+     */
+    static boolean isBroken(MasyuBoard board, Point p) {
+        MasyuPathIndex index = board.getPathIndex();
+        for (int dir = 0; dir < 2; dir++) {
+            int opposite = MasyuPathIndex.opposite(dir);
+            if (index.hasLine(p.x, p.y, dir) && index.hasLine(p.x, p.y, opposite)) {
+                return true;
+            }
+            // the line leaves the circle once along each axis
+            if (!canExtend(board, p, dir) && !canExtend(board, p, opposite)) {
+                return true;
+            }
+        }
+        for (int dir = 0; dir < 4; dir++) {
+            if (index.hasLine(p.x, p.y, dir) && !canExtend(board, p, dir)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // whether the line can leave the circle in a direction and go straight through the next cell
+    private static boolean canExtend(MasyuBoard board, Point p, int dir) {
+        MasyuPathIndex index = board.getPathIndex();
+        int x = p.x + MasyuPathIndex.getDeltaX(dir);
+        int y = p.y + MasyuPathIndex.getDeltaY(dir);
+        int farX = x + MasyuPathIndex.getDeltaX(dir);
+        int farY = y + MasyuPathIndex.getDeltaY(dir);
+        if (!index.canLine(p.x, p.y, dir)
+                || !index.inBounds(farX, farY)
+                || index.hasTurn(x, y, dir)
+                || board.getCell(x, y).getType() == MasyuType.BLACK) {
+            return false;
+        }
+        return index.hasLine(x, y, dir) || index.getDegree(x, y) < 2;
     }
 }
@@ -3,6 +3,11 @@ package edu.rpi.legup.puzzle.masyu.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.ContradictionRule;
+import edu.rpi.legup.puzzle.masyu.MasyuBoard;
+import edu.rpi.legup.puzzle.masyu.MasyuCell;
+import edu.rpi.legup.puzzle.masyu.MasyuPathIndex;
+import edu.rpi.legup.puzzle.masyu.MasyuType;
+import java.awt.*;
 
 public class NoOptionsContradictionRule extends ContradictionRule {
 
@@ -10,7 +15,7 @@ public class NoOptionsContradictionRule extends ContradictionRule {
         super(
                 "MASY-CONT-0003",
                 "No Options",
-                "",
+                "A cell on the path must have two directions the line can take.",
                 "edu/rpi/legup/images/masyu/ContradictionNoOptions.png");
     }
 
@@ -25,6 +30,27 @@ public class NoOptionsContradictionRule extends ContradictionRule {
      */
     @Override
     public String checkContradictionAt(Board board, PuzzleElement puzzleElement) {
-        return null;
+        MasyuBoard masyuBoard = (MasyuBoard) board;
+        MasyuPathIndex index = masyuBoard.getPathIndex();
+        for (Point p : MasyuPathIndex.getLocations(puzzleElement)) {
+            MasyuCell cell = masyuBoard.getCell(p.x, p.y);
+            if (cell == null) {
+                continue;
+            }
+            boolean onPath = cell.getType() != MasyuType.UNKNOWN || index.getDegree(p.x, p.y) > 0;
+            if (!onPath || index.getDegree(p.x, p.y) >= 2) {
+                continue;
+            }
+            int options = 0;
+            for (int dir = 0; dir < 4; dir++) {
+                if (index.canLine(p.x, p.y, dir)) {
+                    options++;
+                }
+            }
+            if (options < 2) {
+                return null;
+            }
+        }
+        return super.getNoContradictionMessage();
     }
 }
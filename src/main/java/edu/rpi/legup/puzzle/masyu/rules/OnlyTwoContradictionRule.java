@@ -3,6 +3,9 @@ package edu.rpi.legup.puzzle.masyu.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.ContradictionRule;
+import edu.rpi.legup.puzzle.masyu.MasyuBoard;
+import edu.rpi.legup.puzzle.masyu.MasyuPathIndex;
+import java.awt.*;
 
 public class OnlyTwoContradictionRule extends ContradictionRule {
 
@@ -10,7 +13,7 @@ public class OnlyTwoContradictionRule extends ContradictionRule {
         super(
                 "MASY-CONT-0004",
                 "Only Two",
-                "",
+                "A cell cannot have more than two lines.",
                 "edu/rpi/legup/images/masyu/ContradictionOnly2.png");
     }
 
@@ -25,6 +28,13 @@ public class OnlyTwoContradictionRule extends ContradictionRule {
      */
     @Override
     public String checkContradictionAt(Board board, PuzzleElement puzzleElement) {
-        return null;
+        MasyuBoard masyuBoard = (MasyuBoard) board;
+        MasyuPathIndex index = masyuBoard.getPathIndex();
+        for (Point p : MasyuPathIndex.getLocations(puzzleElement)) {
+            if (index.getDegree(p.x, p.y) > 2) {
+                return null;
+            }
+        }
+        return super.getNoContradictionMessage();
     }
 }
@@ -3,11 +3,21 @@ package edu.rpi.legup.puzzle.masyu.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.ContradictionRule;
+import edu.rpi.legup.puzzle.masyu.MasyuBoard;
+import edu.rpi.legup.puzzle.masyu.MasyuCell;
+import edu.rpi.legup.puzzle.masyu.MasyuPathIndex;
+import edu.rpi.legup.puzzle.masyu.MasyuType;
+import java.awt.*;
 
 public class WhiteContradictionRule extends ContradictionRule {
 
     public WhiteContradictionRule() {
-        super("MASY-CONT-0005", "White", "", "edu/rpi/legup/images/masyu/ContradictionWhite.png");
+        super(
+                "MASY-CONT-0005",
+                "White",
+                "The line must go straight through a white circle and turn in at least one of the"
+                        + " cells next to it.",
+                "edu/rpi/legup/images/masyu/ContradictionWhite.png");
     }
 
     /**
@@ -21,6 +31,53 @@ public class WhiteContradictionRule extends ContradictionRule {
      */
     @Override
     public String checkContradictionAt(Board board, PuzzleElement puzzleElement) {
-        return null;
+        MasyuBoard masyuBoard = (MasyuBoard) board;
+        MasyuPathIndex index = masyuBoard.getPathIndex();
+        for (Point p : MasyuPathIndex.getLocations(puzzleElement)) {
+            MasyuCell cell = masyuBoard.getCell(p.x, p.y);
+            if (cell != null && cell.getType() == MasyuType.WHITE && isBroken(index, p)) {
+                return null;
+            }
+        }
+        return super.getNoContradictionMessage();
+    }
+
+    /**
+     * Determines whether the line cannot go straight through a white circle and turn next to it
+     *
+     * @param index path index of the board
+     * @param p location of the white circle
+     * @return true if the white circle cannot be satisfied, false otherwise
+     */
+    static boolean isBroken(MasyuPathIndex index, Point p) {
+        boolean possible = false;
+        for (int dir = 0; dir < 2; dir++) {
+            int opposite = MasyuPathIndex.opposite(dir);
+            boolean along = index.hasLine(p.x, p.y, dir) || index.hasLine(p.x, p.y, opposite);
+            if (along && index.hasTurn(p.x, p.y, dir)) {
+                return true;
+            }
+            if (index.canLine(p.x, p.y, dir)
+                    && index.canLine(p.x, p.y, opposite)
+                    && !index.hasTurn(p.x, p.y, dir)
+                    && (canTurn(index, p, dir) || canTurn(index, p, opposite))) {
+                possible = true;
+            }
+        }
+        return !possible;
+    }
+
+    // whether the line can turn in the cell next to the circle in a direction
+    private static boolean canTurn(MasyuPathIndex index, Point p, int dir) {
+        int x = p.x + MasyuPathIndex.getDeltaX(dir);
+        int y = p.y + MasyuPathIndex.getDeltaY(dir);
+        if (index.hasTurn(x, y, dir)) {
+            return true;
+        }
+        if (index.hasLine(x, y, dir)) {
+            return false;
+        }
+        int side = MasyuPathIndex.turn(dir);
+        return index.canLine(x, y, side) || index.canLine(x, y, MasyuPathIndex.opposite(side));
     }
 }
@@ -1,16 +1,52 @@
 package edu.rpi.legup.puzzle.minesweeper;
 
 import edu.rpi.legup.model.gameboard.GridBoard;
+import edu.rpi.legup.model.gameboard.GridCell;
+import edu.rpi.legup.model.gameboard.GridNeighbors;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import java.util.Arrays;
 
+/**
+ * The {@code MinesweeperBoard} counts the cells of each {@link MinesweeperTileType} around every
+ * cell, the cell itself excluded, so the number of a cell can be checked without looking at its
+ * neighbours. The counts are updated whenever a cell is set or the data of one of its cells
+ * changes, which touches the up to 8 cells around it. The board also keeps how many numbers have
+ * too many mines or too few mines and unset cells around them.
+ */
 public class MinesweeperBoard extends GridBoard {
 
+    private final GridNeighbors neighbors;
+
+    // type and number of each cell as last seen by the board, -1 where there is no cell
+    private final int[] types;
+    private final int[] numbers;
+    // cells of each type around each cell, indexed by the ordinal of the type
+    private final int[][] counts;
+    private int contradictions;
+
     public MinesweeperBoard(int width, int height) {
         super(width, height);
+        this.neighbors = GridNeighbors.of(width, height);
+        this.types = new int[width * height];
+        this.numbers = new int[width * height];
+        this.counts = new int[MinesweeperTileType.values().length][width * height];
+        Arrays.fill(types, -1);
     }
 
     public MinesweeperBoard(int size) {
-        super(size);
+        this(size, size);
+    }
+
+    private MinesweeperBoard(MinesweeperBoard board) {
+        super(board.dimension.width, board.dimension.height);
+        this.neighbors = board.neighbors;
+        this.types = board.types.clone();
+        this.numbers = board.numbers.clone();
+        this.counts = new int[board.counts.length][];
+        for (int t = 0; t < counts.length; t++) {
+            counts[t] = board.counts[t].clone();
+        }
+        this.contradictions = board.contradictions;
     }
 
     @Override
@@ -18,6 +54,119 @@ public class MinesweeperBoard extends GridBoard {
         return (MinesweeperCell) super.getCell(x, y);
     }
 
+    /**
+     * Gets the cell at a grid index of the neighbour tables
+     *
+     * @param index grid index of the cell
+     * @return cell at the index
+     */
+    public MinesweeperCell getCell(int index) {
+        return (MinesweeperCell) puzzleElements.get(index);
+    }
+
+    /**
+     * Gets the neighbour tables shared by every board of this dimension
+     *
+     * @return neighbour tables of the board
+     */
+    public GridNeighbors getNeighbors() {
+        return neighbors;
+    }
+
+    /**
+     * Sets the cell at the (x,y) position and updates the counts of the cells around it
+     *
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @param cell cell to set at (x,y)
+     */
+    @Override
+    public void setCell(int x, int y, GridCell cell) {
+        super.setCell(x, y, cell);
+        if (cell instanceof MinesweeperCell
+                && x >= 0
+                && y >= 0
+                && x < dimension.width
+                && y < dimension.height) {
+            ((MinesweeperCell) cell).setBoard(this);
+            update(y * dimension.width + x, (MinesweeperCell) cell);
+        }
+    }
+
+    @Override
+    public void setPuzzleElement(int index, PuzzleElement puzzleElement) {
+        super.setPuzzleElement(index, puzzleElement);
+        if (puzzleElement instanceof MinesweeperCell && index >= 0 && index < types.length) {
+            ((MinesweeperCell) puzzleElement).setBoard(this);
+            update(index, (MinesweeperCell) puzzleElement);
+        }
+    }
+
+    @Override
+    public void notifyChange(PuzzleElement puzzleElement) {
+        MinesweeperCell cell = (MinesweeperCell) puzzleElement;
+        setCell(cell.getLocation().x, cell.getLocation().y, cell);
+    }
+
+    void onCellChanged(MinesweeperCell cell) {
+        int index = neighbors.getIndex(cell.getLocation());
+        if (index >= 0 && index < types.length && puzzleElements.get(index) == cell) {
+            update(index, cell);
+        }
+    }
+
+    private void update(int index, MinesweeperCell cell) {
+        int type = cell.getTileType().ordinal();
+        if (type != types[index]) {
+            for (int i : neighbors.getSurrounding(index)) {
+                boolean before = isContradicted(i);
+                if (types[index] >= 0) {
+                    counts[types[index]][i]--;
+                }
+                counts[type][i]++;
+                contradictions += (isContradicted(i) ? 1 : 0) - (before ? 1 : 0);
+            }
+            types[index] = type;
+        }
+        int number = cell.getTileNumber();
+        if (number != numbers[index]) {
+            boolean before = isContradicted(index);
+            numbers[index] = number;
+            contradictions += (isContradicted(index) ? 1 : 0) - (before ? 1 : 0);
+        }
+    }
+
+    private boolean isContradicted(int index) {
+        int number = numbers[index];
+        if (number <= 0 || number >= 9) {
+            return false;
+        }
+        int mines = counts[MinesweeperTileType.MINE.ordinal()][index];
+        return mines > number
+                || mines + counts[MinesweeperTileType.UNSET.ordinal()][index] < number;
+    }
+
+    /**
+     * Determines whether a number of the board has more mines around it than the number, or fewer
+     * mines and unset cells than the number
+     *
+     * @return true if any number of the board cannot be satisfied, false otherwise
+     */
+    public boolean hasNumberContradiction() {
+        return contradictions > 0;
+    }
+
+    /**
+     * Gets the number of cells of a type around a cell, the cell itself excluded
+     *
+     * @param cell the cell to look around
+     * @param type type of the cells to count
+     * @return number of cells of that type touching the cell
+     */
+    public int countSurrounding(MinesweeperCell cell, MinesweeperTileType type) {
+        return counts[type.ordinal()][neighbors.getIndex(cell.getLocation())];
+    }
+
     /**
      * Performs a deep copy of the Board
      *
@@ -25,11 +174,13 @@ public class MinesweeperBoard extends GridBoard {
      */
     @Override
     public MinesweeperBoard copy() {
-        MinesweeperBoard newMinesweeperBoard =
-                new MinesweeperBoard(this.dimension.width, this.dimension.height);
-        for (int x = 0; x < this.dimension.width; x++) {
-            for (int y = 0; y < this.dimension.height; y++) {
-                newMinesweeperBoard.setCell(x, y, getCell(x, y).copy());
+        MinesweeperBoard newMinesweeperBoard = new MinesweeperBoard(this);
+        for (int i = 0; i < puzzleElements.size(); i++) {
+            MinesweeperCell cell = getCell(i);
+            if (cell != null) {
+                MinesweeperCell cellCopy = cell.copy();
+                cellCopy.setBoard(newMinesweeperBoard);
+                newMinesweeperBoard.puzzleElements.set(i, cellCopy);
             }
         }
         for (PuzzleElement e : modifiedData) {
@@ -4,10 +4,12 @@ import edu.rpi.legup.model.elements.Element;
 import edu.rpi.legup.model.gameboard.GridCell;
 import java.awt.*;
 import java.awt.event.MouseEvent;
+import java.util.Objects;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 public class MinesweeperCell extends GridCell<MinesweeperTileData> {
+    private MinesweeperBoard board;
 
     public MinesweeperCell(@NotNull MinesweeperTileData value, @NotNull Point location) {
         super(value, location);
@@ -58,7 +60,25 @@ public class MinesweeperCell extends GridCell<MinesweeperTileData> {
     }
 
     public void setCellType(MinesweeperTileData type) {
-        this.data = type;
+        setData(type);
+    }
+
+    /**
+     * Sets the data of this cell and updates the counts of the board holding it
+     *
+     * @param data new data of the cell
+     */
+    @Override
+    public void setData(MinesweeperTileData data) {
+        MinesweeperTileData old = this.data;
+        super.setData(data);
+        if (board != null && !Objects.equals(old, data)) {
+            board.onCellChanged(this);
+        }
+    }
+
+    void setBoard(MinesweeperBoard board) {
+        this.board = board;
     }
 
     @Override
@@ -157,18 +157,9 @@ public class SatisfyNumberCaseRule extends CaseRule {
         /* Now go through the remaining centers, and check if their combinations
          * match the transitions */
         for (MinesweeperCell possibleCenter : possibleCenters) {
-            int numBlack = 0;
-            int numEmpty = 0;
+            int numBlack = board.countSurrounding(possibleCenter, MinesweeperTileType.MINE);
+            int numEmpty = board.countSurrounding(possibleCenter, MinesweeperTileType.UNSET);
             int maxBlack = possibleCenter.getTileNumber();
-            for (MinesweeperCell adjCell :
-                    MinesweeperUtilities.getAdjacentCells(board, possibleCenter)) {
-                if (adjCell.getTileType() == MinesweeperTileType.MINE) {
-                    numBlack++;
-                }
-                if (adjCell.getTileType() == MinesweeperTileType.UNSET) {
-                    numEmpty++;
-                }
-            }
             if (numEmpty <= 0 || numBlack > maxBlack) {
                 // this cell has no cases (no empty) or is already broken (too many black)
                 continue;
@@ -4,7 +4,6 @@ import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.ContradictionRule;
 import edu.rpi.legup.puzzle.minesweeper.*;
-import java.util.ArrayList;
 
 public class TooFewMinesContradictionRule extends ContradictionRule {
     private final String NO_CONTRADICTION_MESSAGE =
@@ -37,19 +36,8 @@ public class TooFewMinesContradictionRule extends ContradictionRule {
         if (cellNum <= 0 || cellNum >= 9) {
             return super.getNoContradictionMessage();
         }
-        int numMines = 0;
-        int numUnset = 0;
-        ArrayList<MinesweeperCell> adjCells =
-                MinesweeperUtilities.getAdjacentCells(minesweeperBoard, cell);
-        for (MinesweeperCell adjCell : adjCells) {
-            if (adjCell.getTileType() == MinesweeperTileType.MINE) {
-                numMines++;
-            }
-            if (adjCell.getTileType() == MinesweeperTileType.UNSET) {
-                numUnset++;
-            }
-        }
-
+        int numMines = minesweeperBoard.countSurrounding(cell, MinesweeperTileType.MINE);
+        int numUnset = minesweeperBoard.countSurrounding(cell, MinesweeperTileType.UNSET);
         if (cellNum > numUnset + numMines) {
             return null;
         }
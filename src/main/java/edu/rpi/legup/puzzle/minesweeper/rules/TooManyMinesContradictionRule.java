@@ -6,8 +6,6 @@ import edu.rpi.legup.model.rules.ContradictionRule;
 import edu.rpi.legup.puzzle.minesweeper.MinesweeperBoard;
 import edu.rpi.legup.puzzle.minesweeper.MinesweeperCell;
 import edu.rpi.legup.puzzle.minesweeper.MinesweeperTileType;
-import edu.rpi.legup.puzzle.minesweeper.MinesweeperUtilities;
-import java.util.ArrayList;
 
 public class TooManyMinesContradictionRule extends ContradictionRule {
 
@@ -37,15 +35,7 @@ public class TooManyMinesContradictionRule extends ContradictionRule {
         if (cellNum <= 0 || cellNum >= 9) {
             return super.getNoContradictionMessage();
         }
-        int numMines = 0;
-        ArrayList<MinesweeperCell> adjCells =
-                MinesweeperUtilities.getAdjacentCells(minesweeperBoard, cell);
-        for (MinesweeperCell adjCell : adjCells) {
-            if (adjCell.getTileType() == MinesweeperTileType.MINE) {
-                numMines++;
-            }
-        }
-
+        int numMines = minesweeperBoard.countSurrounding(cell, MinesweeperTileType.MINE);
         if (cellNum < numMines) {
             return null;
         }
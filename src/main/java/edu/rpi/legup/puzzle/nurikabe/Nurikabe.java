@@ -3,6 +3,7 @@ package edu.rpi.legup.puzzle.nurikabe;
 import edu.rpi.legup.model.Puzzle;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.BoardAnalysis;
 import edu.rpi.legup.model.rules.ContradictionRule;
 
 public class Nurikabe extends Puzzle {
@@ -58,8 +59,9 @@ public class Nurikabe extends Puzzle {
     public boolean isBoardComplete(Board board) {
         NurikabeBoard nurikabeBoard = (NurikabeBoard) board;
 
+        BoardAnalysis analysis = new BoardAnalysis(nurikabeBoard);
         for (ContradictionRule rule : contradictionRules) {
-            if (rule.checkContradiction(nurikabeBoard) == null) {
+            if (rule.checkContradiction(nurikabeBoard, analysis) == null) {
                 return false;
             }
         }
@@ -1,6 +1,7 @@
 package edu.rpi.legup.puzzle.nurikabe;
 
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.BoardAnalysis;
 import edu.rpi.legup.utility.DisjointSets;
 import java.awt.*;
 import java.util.HashMap;
@@ -13,6 +14,32 @@ import org.apache.logging.log4j.Logger;
 public class NurikabeUtilities {
     private static final Logger LOGGER = LogManager.getLogger(NurikabeUtilities.class.getName());
 
+    /** Regions of a board being analysed, see {@link #getNurikabeRegions(NurikabeBoard)} */
+    public static final BoardAnalysis.Key<DisjointSets<NurikabeCell>> REGIONS =
+            new BoardAnalysis.Key<>(
+                    analysis -> getNurikabeRegions((NurikabeBoard) analysis.getBoard()));
+
+    /**
+     * Possible black regions of a board being analysed, see {@link
+     * #getPossibleBlackRegions(NurikabeBoard)}
+     */
+    public static final BoardAnalysis.Key<DisjointSets<NurikabeCell>> POSSIBLE_BLACK_REGIONS =
+            new BoardAnalysis.Key<>(
+                    analysis -> getPossibleBlackRegions((NurikabeBoard) analysis.getBoard()));
+
+    /**
+     * Possible white regions of a board being analysed, see {@link
+     * #getPossibleWhiteRegions(NurikabeBoard)}
+     */
+    public static final BoardAnalysis.Key<DisjointSets<NurikabeCell>> POSSIBLE_WHITE_REGIONS =
+            new BoardAnalysis.Key<>(
+                    analysis -> getPossibleWhiteRegions((NurikabeBoard) analysis.getBoard()));
+
+    /** White region map of a board being analysed, see {@link #getWhiteRegionMap(NurikabeBoard)} */
+    public static final BoardAnalysis.Key<HashMap<NurikabeCell, Integer>> WHITE_REGION_MAP =
+            new BoardAnalysis.Key<>(
+                    analysis -> getWhiteRegionMap((NurikabeBoard) analysis.getBoard()));
+
     /**
      * Gets all of the numbered cells in the Nurikabe board
      *
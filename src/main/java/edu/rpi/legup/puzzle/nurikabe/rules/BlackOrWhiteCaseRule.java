@@ -3,12 +3,15 @@ package edu.rpi.legup.puzzle.nurikabe.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.CaseBoard;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.CaseDelta;
 import edu.rpi.legup.model.rules.CaseRule;
 import edu.rpi.legup.model.tree.TreeTransition;
 import edu.rpi.legup.puzzle.nurikabe.NurikabeBoard;
 import edu.rpi.legup.puzzle.nurikabe.NurikabeCell;
 import edu.rpi.legup.puzzle.nurikabe.NurikabeType;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 public class BlackOrWhiteCaseRule extends CaseRule {
@@ -90,24 +93,25 @@ public class BlackOrWhiteCaseRule extends CaseRule {
      */
     @Override
     public ArrayList<Board> getCases(Board board, PuzzleElement puzzleElement) {
-        ArrayList<Board> cases = new ArrayList<>();
+        return materializeCases(board, puzzleElement);
+    }
+
+    /**
+     * Gets the possible cases at a specific location without copying the board
+     *
+     * @param board the current board state
+     * @param puzzleElement equivalent puzzleElement
+     * @return an iterator over the two cases
+     */
+    @Override
+    public Iterator<CaseDelta> getCaseDeltas(Board board, PuzzleElement puzzleElement) {
         if (puzzleElement == null) {
-            return cases;
+            return Collections.emptyIterator();
         }
-
-        Board case1 = board.copy();
-        PuzzleElement data1 = case1.getPuzzleElement(puzzleElement);
-        data1.setData(NurikabeType.WHITE.toValue());
-        case1.addModifiedData(data1);
-        cases.add(case1);
-
-        Board case2 = board.copy();
-        PuzzleElement data2 = case2.getPuzzleElement(puzzleElement);
-        data2.setData(NurikabeType.BLACK.toValue());
-        case2.addModifiedData(data2);
-        cases.add(case2);
-
-        return cases;
+        return List.of(
+                        CaseDelta.of(puzzleElement, NurikabeType.WHITE.toValue()),
+                        CaseDelta.of(puzzleElement, NurikabeType.BLACK.toValue()))
+                .iterator();
     }
 
     /**
@@ -57,4 +57,9 @@ public class BlackSquareContradictionRule extends ContradictionRule {
 
         return super.getNoContradictionMessage() + ": " + this.NO_CONTRADICTION_MESSAGE;
     }
+
+    @Override
+    protected boolean isCandidate(Board board, PuzzleElement puzzleElement) {
+        return ((NurikabeCell) puzzleElement).getType() == NurikabeType.BLACK;
+    }
 }
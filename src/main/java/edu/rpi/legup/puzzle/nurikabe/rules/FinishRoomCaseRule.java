@@ -3,6 +3,7 @@ package edu.rpi.legup.puzzle.nurikabe.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.CaseBoard;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.CaseDelta;
 import edu.rpi.legup.model.rules.CaseRule;
 import edu.rpi.legup.model.tree.TreeTransition;
 import edu.rpi.legup.puzzle.nurikabe.NurikabeBoard;
@@ -13,6 +14,7 @@ import edu.rpi.legup.utility.DisjointSets;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -100,8 +102,8 @@ public class FinishRoomCaseRule extends CaseRule {
                     + ": There must be only one possible origin cell.";
         }
         NurikabeCell selectedElement = possibleOrigins.get(0);
-        // Check if the number of child transitions matches expected cases for the selected element
-        ArrayList<Board> expectedCases = getCases(prevBoardState, selectedElement);
+        // Check that the child transitions are the expected cases for the selected element
+        List<CaseDelta> expectedCases = collectCases(prevBoardState, selectedElement);
         if (childTransitions.size() != expectedCases.size()) {
             return super.getInvalidUseOfRuleMessage()
                     + ": Invalid number of child transitions. Expected "
@@ -110,6 +112,10 @@ public class FinishRoomCaseRule extends CaseRule {
                     + childTransitions.size()
                     + ".";
         }
+        if (!matchesCases(childTransitions, expectedCases)) {
+            return super.getInvalidUseOfRuleMessage()
+                    + ": Each case must fill the room in a different way.";
+        }
 
         return null;
     }
@@ -166,9 +172,21 @@ public class FinishRoomCaseRule extends CaseRule {
      */
     @Override
     public ArrayList<Board> getCases(Board board, PuzzleElement puzzleElement) {
-        ArrayList<Board> cases = new ArrayList<>(); // makes array list of cases
+        return materializeCases(board, puzzleElement);
+    }
+
+    /**
+     * Gets the possible cases at a specific location without copying the board for each case
+     *
+     * @param board the current board state
+     * @param puzzleElement equivalent puzzleElement
+     * @return an iterator over the cases
+     */
+    @Override
+    public Iterator<CaseDelta> getCaseDeltas(Board board, PuzzleElement puzzleElement) {
+        List<CaseDelta> cases = new ArrayList<>(); // makes list of cases
         if (puzzleElement == null) {
-            return cases;
+            return cases.iterator();
         }
 
         NurikabeBoard nuriBoard = (NurikabeBoard) board.copy(); // nurikabe board to edit
@@ -199,6 +217,7 @@ public class FinishRoomCaseRule extends CaseRule {
                 NurikabeUtilities.getNurikabeRegions(nuriBoard); // gathers regions
         Set<NurikabeCell> numberCellRegion = regions.getSet(numberCell); // set of white spaces
 
+        Set<Set<Point>> generated = new HashSet<>();
         for (NurikabeCell d : numberCellRegion) {
             generateCases(
                     nuriBoard,
@@ -207,11 +226,12 @@ public class FinishRoomCaseRule extends CaseRule {
                     directions,
                     checkedPoints,
                     cases,
+                    generated,
                     origPoint,
                     new ArrayList<>());
         }
 
-        return cases;
+        return cases.iterator();
     }
 
     /**
@@ -223,7 +243,8 @@ public class FinishRoomCaseRule extends CaseRule {
      * @param filledRoomSize the target size for the room being filled
      * @param directions the set of possible directions to expand the room
      * @param checkedPoints the set of points already evaluated to avoid redundancy
-     * @param cases the list of valid board cases generated
+     * @param cases the list of valid cases generated
+     * @param generated the sets of points already made white by a generated case
      * @param origPoint the original point of the number cell initiating the room filling
      * @param modifiedPoints the list of points modified in the current recursive path
      */
@@ -233,7 +254,8 @@ public class FinishRoomCaseRule extends CaseRule {
             int filledRoomSize,
             Set<Point> directions,
             Set<Point> checkedPoints,
-            ArrayList<Board> cases,
+            List<CaseDelta> cases,
+            Set<Set<Point>> generated,
             Point origPoint,
             List<Point> modifiedPoints) {
 
@@ -273,25 +295,17 @@ public class FinishRoomCaseRule extends CaseRule {
                 if (!touchesDifferentRoom(
                         nuriBoard, newCell, filledRoomSize, directions, origPoint)) {
                     if (newRoomSet.size() == filledRoomSize) {
-                        // Create a new board with all modified cells marked
-                        NurikabeBoard caseBoard = (NurikabeBoard) nuriBoard.copy();
-
-                        for (Point p : newModList) {
-                            NurikabeCell c = caseBoard.getCell(p.x, p.y);
-                            c.setData(NurikabeType.WHITE.toValue());
-                            c.setModifiable(false);
-                            caseBoard.addModifiedData(c);
-                        }
-
-                        boolean unique = true;
-                        for (Board board : cases) {
-                            if (caseBoard.equalsBoard(board)) {
-                                unique = false;
-                                break;
+                        // Create a new case with all modified cells marked, unless the same
+                        // cells were already filled by another case
+                        if (generated.add(new HashSet<>(newModList))) {
+                            List<PuzzleElement> changes = new ArrayList<>();
+                            for (Point p : newModList) {
+                                NurikabeCell c = nuriBoard.getCell(p.x, p.y).copy();
+                                c.setData(NurikabeType.WHITE.toValue());
+                                c.setModifiable(false);
+                                changes.add(c);
                             }
-                        }
-                        if (unique) {
-                            cases.add(caseBoard);
+                            cases.add(new CaseDelta(changes));
                         }
 
                     } else if (newRoomSet.size() < filledRoomSize) {
@@ -303,6 +317,7 @@ public class FinishRoomCaseRule extends CaseRule {
                                     directions,
                                     checkedPoints,
                                     cases,
+                                    generated,
                                     origPoint,
                                     newModList);
                         }
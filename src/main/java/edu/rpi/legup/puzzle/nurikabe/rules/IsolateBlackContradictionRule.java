@@ -2,6 +2,7 @@ package edu.rpi.legup.puzzle.nurikabe.rules;
 
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.BoardAnalysis;
 import edu.rpi.legup.model.rules.ContradictionRule;
 import edu.rpi.legup.puzzle.nurikabe.NurikabeBoard;
 import edu.rpi.legup.puzzle.nurikabe.NurikabeCell;
@@ -12,6 +13,13 @@ import java.util.Set;
 
 public class IsolateBlackContradictionRule extends ContradictionRule {
 
+    // whether the black cells of the board can no longer be connected, the same for every cell
+    private static final BoardAnalysis.Key<Boolean> ISOLATED =
+            new BoardAnalysis.Key<>(
+                    analysis ->
+                            isIsolated(
+                                    analysis.get(NurikabeUtilities.POSSIBLE_BLACK_REGIONS)));
+
     private final String NO_CONTRADICTION_MESSAGE =
             "Contradiction applied incorrectly. No isolated Blacks.";
     private final String INVALID_USE_MESSAGE = "Contradiction must be a black cell";
@@ -41,14 +49,56 @@ public class IsolateBlackContradictionRule extends ContradictionRule {
             return super.getInvalidUseOfRuleMessage() + ": " + this.INVALID_USE_MESSAGE;
         }
 
-        DisjointSets<NurikabeCell> blackRegions =
-                NurikabeUtilities.getPossibleBlackRegions(nurikabeBoard);
+        if (isIsolated(NurikabeUtilities.getPossibleBlackRegions(nurikabeBoard))) {
+            return null;
+        }
+        return super.getNoContradictionMessage() + ": " + this.NO_CONTRADICTION_MESSAGE;
+    }
+
+    /**
+     * Checks whether the board has a contradiction at the specific {@link PuzzleElement} index
+     * using this rule, getting the possible black regions from the analysis of the board
+     *
+     * @param board board to check contradiction
+     * @param puzzleElement equivalent puzzleElement
+     * @param analysis analysis of the board
+     * @return null if the board contains a contradiction at the specified puzzleElement,
+     *     otherwise error message
+     */
+    @Override
+    public String checkContradictionAt(
+            Board board, PuzzleElement puzzleElement, BoardAnalysis analysis) {
+        NurikabeBoard nurikabeBoard = (NurikabeBoard) board;
+        NurikabeCell cell = (NurikabeCell) nurikabeBoard.getPuzzleElement(puzzleElement);
+        if (cell.getType() != NurikabeType.BLACK) {
+            return super.getInvalidUseOfRuleMessage() + ": " + this.INVALID_USE_MESSAGE;
+        }
+
+        if (analysis.get(ISOLATED)) {
+            return null;
+        }
+        return super.getNoContradictionMessage() + ": " + this.NO_CONTRADICTION_MESSAGE;
+    }
+
+    @Override
+    protected boolean isCandidate(Board board, PuzzleElement puzzleElement) {
+        return ((NurikabeCell) puzzleElement).getType() == NurikabeType.BLACK;
+    }
+
+    /**
+     * Checks whether the black cells of a board are split between more than one region of cells
+     * that could still be black
+     *
+     * @param blackRegions possible black regions of the board
+     * @return true if the black cells can no longer be connected, false otherwise
+     */
+    private static boolean isIsolated(DisjointSets<NurikabeCell> blackRegions) {
         boolean oneRegion = false;
         for (Set<NurikabeCell> region : blackRegions.getAllSets()) {
             for (NurikabeCell c : region) {
                 if (c.getType() == NurikabeType.BLACK) {
                     if (oneRegion) {
-                        return null;
+                        return true;
                     } else {
                         oneRegion = true;
                         break;
@@ -56,6 +106,6 @@ public class IsolateBlackContradictionRule extends ContradictionRule {
                 }
             }
         }
-        return super.getNoContradictionMessage() + ": " + this.NO_CONTRADICTION_MESSAGE;
+        return false;
     }
 }
@@ -2,6 +2,7 @@ package edu.rpi.legup.puzzle.nurikabe.rules;
 
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.BoardAnalysis;
 import edu.rpi.legup.model.rules.ContradictionRule;
 import edu.rpi.legup.puzzle.nurikabe.NurikabeBoard;
 import edu.rpi.legup.puzzle.nurikabe.NurikabeCell;
@@ -35,13 +36,29 @@ public class MultipleNumbersContradictionRule extends ContradictionRule {
      */
     @Override
     public String checkContradictionAt(Board board, PuzzleElement puzzleElement) {
+        return checkContradictionAt(board, puzzleElement, new BoardAnalysis(board));
+    }
+
+    /**
+     * Checks whether the board has a contradiction at the specific {@link PuzzleElement} index
+     * using this rule, getting the regions from the analysis of the board
+     *
+     * @param board board to check contradiction
+     * @param puzzleElement equivalent puzzleElement
+     * @param analysis analysis of the board
+     * @return null if the board contains a contradiction at the specified puzzleElement,
+     *     otherwise error message
+     */
+    @Override
+    public String checkContradictionAt(
+            Board board, PuzzleElement puzzleElement, BoardAnalysis analysis) {
         NurikabeBoard nurikabeBoard = (NurikabeBoard) board;
 
         NurikabeCell cell = (NurikabeCell) nurikabeBoard.getPuzzleElement(puzzleElement);
         if (cell.getType() != NurikabeType.NUMBER) {
             return super.getInvalidUseOfRuleMessage() + ": " + INVALID_USE_MESSAGE;
         }
-        DisjointSets<NurikabeCell> regions = NurikabeUtilities.getNurikabeRegions(nurikabeBoard);
+        DisjointSets<NurikabeCell> regions = analysis.get(NurikabeUtilities.REGIONS);
         Set<NurikabeCell> numberedRegion = regions.getSet(cell);
         for (NurikabeCell c : numberedRegion) {
             if (c != cell && c.getType() == NurikabeType.NUMBER) {
@@ -50,4 +67,9 @@ public class MultipleNumbersContradictionRule extends ContradictionRule {
         }
         return super.getNoContradictionMessage() + ": " + NO_CONTRADICTION_MESSAGE;
     }
+
+    @Override
+    protected boolean isCandidate(Board board, PuzzleElement puzzleElement) {
+        return ((NurikabeCell) puzzleElement).getType() == NurikabeType.NUMBER;
+    }
 }
@@ -57,6 +57,11 @@ public class NoNumberContradictionRule extends ContradictionRule {
         return super.getNoContradictionMessage() + ": " + this.NO_CONTRADICTION_MESSAGE;
     }
 
+    @Override
+    protected boolean isCandidate(Board board, PuzzleElement puzzleElement) {
+        return ((NurikabeCell) puzzleElement).getType() == NurikabeType.WHITE;
+    }
+
     /**
      * Checks whether a give NurikabeCell is empty.
      *
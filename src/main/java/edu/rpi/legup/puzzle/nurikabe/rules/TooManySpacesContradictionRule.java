@@ -2,6 +2,7 @@ package edu.rpi.legup.puzzle.nurikabe.rules;
 
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.BoardAnalysis;
 import edu.rpi.legup.model.rules.ContradictionRule;
 import edu.rpi.legup.puzzle.nurikabe.NurikabeBoard;
 import edu.rpi.legup.puzzle.nurikabe.NurikabeCell;
@@ -36,6 +37,22 @@ public class TooManySpacesContradictionRule extends ContradictionRule {
      */
     @Override
     public String checkContradictionAt(Board board, PuzzleElement puzzleElement) {
+        return checkContradictionAt(board, puzzleElement, new BoardAnalysis(board));
+    }
+
+    /**
+     * Checks whether the board has a contradiction at the specific {@link PuzzleElement} index
+     * using this rule, getting the regions from the analysis of the board
+     *
+     * @param board board to check contradiction
+     * @param puzzleElement equivalent puzzleElement
+     * @param analysis analysis of the board
+     * @return null if the board contains a contradiction at the specified puzzleElement,
+     *     otherwise error message
+     */
+    @Override
+    public String checkContradictionAt(
+            Board board, PuzzleElement puzzleElement, BoardAnalysis analysis) {
         NurikabeBoard nurikabeBoard = (NurikabeBoard) board;
 
         NurikabeCell cell = (NurikabeCell) nurikabeBoard.getPuzzleElement(puzzleElement);
@@ -43,7 +60,7 @@ public class TooManySpacesContradictionRule extends ContradictionRule {
             return super.getInvalidUseOfRuleMessage() + ": " + this.INVALID_USE_MESSAGE;
         }
 
-        DisjointSets<NurikabeCell> regions = NurikabeUtilities.getNurikabeRegions(nurikabeBoard);
+        DisjointSets<NurikabeCell> regions = analysis.get(NurikabeUtilities.REGIONS);
         Set<NurikabeCell> whiteRegion = regions.getSet(cell);
         ArrayList<NurikabeCell> numberedCells = new ArrayList<>();
         for (NurikabeCell c : whiteRegion) {
@@ -59,4 +76,10 @@ public class TooManySpacesContradictionRule extends ContradictionRule {
         }
         return super.getNoContradictionMessage() + ":" + this.NO_CONTRADICTION_MESSAGE;
     }
+
+    @Override
+    protected boolean isCandidate(Board board, PuzzleElement puzzleElement) {
+        NurikabeType type = ((NurikabeCell) puzzleElement).getType();
+        return type == NurikabeType.WHITE || type == NurikabeType.NUMBER;
+    }
 }
@@ -2,6 +2,7 @@ package edu.rpi.legup.puzzle.nurikabe.rules;
 
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.BoardAnalysis;
 import edu.rpi.legup.model.rules.ContradictionRule;
 import edu.rpi.legup.puzzle.nurikabe.NurikabeBoard;
 import edu.rpi.legup.puzzle.nurikabe.NurikabeCell;
@@ -34,6 +35,22 @@ public class UnreachableWhiteCellContradictionRule extends ContradictionRule {
      */
     @Override
     public String checkContradictionAt(Board board, PuzzleElement puzzleElement) {
+        return checkContradictionAt(board, puzzleElement, new BoardAnalysis(board));
+    }
+
+    /**
+     * Checks whether the board has a contradiction at the specific {@link PuzzleElement} index
+     * using this rule, getting the white regions from the analysis of the board
+     *
+     * @param board board to check contradiction
+     * @param puzzleElement equivalent puzzleElement
+     * @param analysis analysis of the board
+     * @return null if the board contains a contradiction at the specified puzzleElement,
+     *     otherwise error message
+     */
+    @Override
+    public String checkContradictionAt(
+            Board board, PuzzleElement puzzleElement, BoardAnalysis analysis) {
         NurikabeBoard nurikabeBoard = (NurikabeBoard) board;
 
         NurikabeCell cell = (NurikabeCell) nurikabeBoard.getPuzzleElement(puzzleElement);
@@ -46,7 +63,7 @@ public class UnreachableWhiteCellContradictionRule extends ContradictionRule {
 
         // Get regions
         HashMap<NurikabeCell, Integer> whiteRegionMap =
-                NurikabeUtilities.getWhiteRegionMap(nurikabeBoard);
+                analysis.get(NurikabeUtilities.WHITE_REGION_MAP);
         //        if (whiteRegionMap.containsKey(cell)) {
         //            return super.getNoContradictionMessage() + ": " +
         // this.NO_CONTRADICTION_MESSAGE;
@@ -107,4 +124,9 @@ public class UnreachableWhiteCellContradictionRule extends ContradictionRule {
 
         return null;
     }
+
+    @Override
+    protected boolean isCandidate(Board board, PuzzleElement puzzleElement) {
+        return ((NurikabeCell) puzzleElement).getType() == NurikabeType.WHITE;
+    }
 }
@@ -44,7 +44,7 @@ public class ShortTruthTableBoard extends GridBoard {
     @Override
     public ShortTruthTableBoard copy() {
 
-        // Copy the statements
+        // Copy the statements; the copies share the parsed statements and only copy the cells
         ShortTruthTableStatement[] statementsCopy =
                 new ShortTruthTableStatement[this.statements.length];
         for (int i = 0; i < statements.length; i++) {
@@ -65,9 +65,6 @@ public class ShortTruthTableBoard extends GridBoard {
         for (PuzzleElement e : modifiedData) {
             boardCopy.getPuzzleElement(e).setModifiable(false);
         }
-        System.out.println("Board.copy()");
-        System.out.println("original:\n" + this);
-        System.out.println("copy:\n" + boardCopy);
         return boardCopy;
     }
 
@@ -105,7 +102,6 @@ public class ShortTruthTableBoard extends GridBoard {
 
     @Override
     public String toString() {
-        System.out.println("ShortTruthTableBoard toString() called");
         StringBuilder str = new StringBuilder();
         for (int i = 0; i < dimension.height; i += 2) {
             for (int j = 0; j < dimension.width; j++) {
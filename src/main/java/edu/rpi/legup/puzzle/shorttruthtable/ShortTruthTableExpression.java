@@ -0,0 +1,167 @@
+package edu.rpi.legup.puzzle.shorttruthtable;
+
+/**
+ * Immutable operator tree of a Short Truth Table statement. The statement string is parsed once
+ * when the puzzle is imported; every copy of the board then shares the same tree and only binds
+ * its own cells to it (see {@link ShortTruthTableStatement}), so copying a board does no string
+ * work.
+ */
+public final class ShortTruthTableExpression {
+    // the representation string for this statement (including its parens, if any)
+    private final String stringRep;
+
+    // column of the first character of the string rep in the statement's row
+    private final int offset;
+
+    // column of the character this statement represents in the statement's row
+    private final int cellIndex;
+
+    // child nodes of the tree
+    private final ShortTruthTableExpression left;
+    private final ShortTruthTableExpression right;
+
+    private ShortTruthTableExpression(String statement, int offset) {
+        this.stringRep = statement;
+        this.offset = offset;
+
+        // remove the parens for parsing the statement
+        String inner = removeParens(statement);
+        int innerOffset = inner.length() == statement.length() ? offset : offset + 1;
+
+        // get the index of the char that this statement represents
+        int index = indexOfOperator(inner);
+        this.cellIndex = innerOffset + index;
+
+        // construct sub-statements if necessary
+        String leftRep = inner.substring(0, index);
+        String rightRep = inner.substring(index + 1);
+        this.left =
+                leftRep.isEmpty() ? null : new ShortTruthTableExpression(leftRep, innerOffset);
+        this.right =
+                rightRep.isEmpty()
+                        ? null
+                        : new ShortTruthTableExpression(rightRep, innerOffset + index + 1);
+    }
+
+    /**
+     * Parses a statement into its operator tree
+     *
+     * @param statement the statement, one character per cell
+     * @return root of the operator tree
+     */
+    public static ShortTruthTableExpression parse(String statement) {
+        return new ShortTruthTableExpression(statement, 0);
+    }
+
+    // removes the parens around the whole statement, if there are any
+    static String removeParens(String statement) {
+
+        if (statement.charAt(0) != '(') {
+            return statement;
+        }
+
+        // if the statement does start with a paren, check that it matches with the last paren
+        int openParenCount = 1;
+        int i = 1;
+        while (i < statement.length() - 1) {
+            char c = statement.charAt(i);
+            if (c == '(') {
+                openParenCount++;
+            } else {
+                if (c == ')') openParenCount--;
+            }
+
+            // if the first paren has been closed, and it is not the end of the string,
+            // then there is no whole statement parens to remove
+            if (openParenCount == 0 && i != statement.length() - 1) {
+                return statement;
+            }
+
+            i++;
+        }
+        // if the while loop made it through the entire statement, there are parens around the whole
+        // thing
+        return statement.substring(1, statement.length() - 1);
+    }
+
+    // gets the index of the main operator of a statement without parens around the whole thing
+    static int indexOfOperator(String statement) {
+
+        // Split by and, or, CONDITIONAL, or biconditional
+        // keep track of the parens, it must be equal to zero to split
+        int openParenCount = 0;
+        // index for stepping through the string
+        int i = 0;
+        // step through each char in the statement
+        while (i < statement.length()) {
+            // get the char
+            char c = statement.charAt(i);
+            // keep track of the open parens
+            if (c == '(') {
+                openParenCount++;
+            } else {
+                if (c == ')') {
+                    openParenCount--;
+                }
+                // if the char is an operator, and there are no open parens, split the statement
+                // here
+                else {
+                    if (openParenCount == 0
+                            && ShortTruthTableOperation.isOperation(c)
+                            && c != ShortTruthTableOperation.NOT) {
+                        return i;
+                    }
+                }
+            }
+            // increment the index
+            i++;
+        }
+
+        // if it made it through the while loop:
+        // this is an atomic statement or a negation
+        // either way, the important char is the first character in the string
+        return 0;
+    }
+
+    // Getters
+
+    public String getStringRep() {
+        return stringRep;
+    }
+
+    /**
+     * Gets the column of the first cell of this statement in its row
+     *
+     * @return column offset of this statement
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the length of the statement in cells, including the cells used for parenthesis
+     *
+     * @return the number of cells contained in this statement
+     */
+    public int getLength() {
+        return stringRep.length();
+    }
+
+    /**
+     * Gets the column of the cell this statement represents (its main operator, or its atom) in its
+     * row
+     *
+     * @return column of the cell of this statement
+     */
+    public int getCellIndex() {
+        return cellIndex;
+    }
+
+    public ShortTruthTableExpression getLeft() {
+        return left;
+    }
+
+    public ShortTruthTableExpression getRight() {
+        return right;
+    }
+}
@@ -9,6 +9,9 @@ import java.util.Set;
 
 public class ShortTruthTableStatement extends PuzzleElement<String> {
 
+    // the shared operator tree of this statement
+    private final ShortTruthTableExpression expression;
+
     // the cell that this statement holds
     private final ShortTruthTableCell cell;
 
@@ -17,161 +20,53 @@ public class ShortTruthTableStatement extends PuzzleElement<String> {
     private final ShortTruthTableStatement leftStatement;
     private final ShortTruthTableStatement rightStatement;
 
-    // the representation string for this statement
-    private final String stringRep;
-    private final List<ShortTruthTableCell> cells;
+    // all the cells of the row of the root statement, shared by every statement of the tree
+    private final List<ShortTruthTableCell> row;
 
     // constructor for root statement, sets parent to null
     public ShortTruthTableStatement(String statement, List<ShortTruthTableCell> cells) {
-        this(statement, null, cells);
+        this(ShortTruthTableExpression.parse(statement), cells);
     }
 
-    // recursive constructor; constructs child statement nodes if necessary
-    private ShortTruthTableStatement(
-            String statement, ShortTruthTableStatement parent, List<ShortTruthTableCell> cells) {
+    /**
+     * Constructs a root statement by binding the cells of a row to an already parsed operator tree
+     *
+     * @param expression operator tree of the statement
+     * @param cells the cells of the row, one per character of the statement
+     */
+    public ShortTruthTableStatement(
+            ShortTruthTableExpression expression, List<ShortTruthTableCell> cells) {
+        this(expression, null, new ArrayList<>(cells));
+    }
 
+    // recursive constructor; binds the cells of the child statement nodes if necessary
+    private ShortTruthTableStatement(
+            ShortTruthTableExpression expression,
+            ShortTruthTableStatement parent,
+            List<ShortTruthTableCell> row) {
+        this.expression = expression;
         this.parentStatement = parent;
+        this.row = row;
 
-        // set the string rep to the statement (include parens in case this is a sub statement)
-        this.stringRep = statement;
-        this.cells = new ArrayList<ShortTruthTableCell>(cells);
-
-        // remove the parens for parsing the statement
-        statement = removeParens(statement);
-        removeParens(cells);
-
-        // get the index of the char that this statement represents
-        int index = parse(statement);
-
-        // construct the cell for this node in the tree
-        cell = cells.get(index);
+        // get the cell for this node in the tree
+        cell = row.get(expression.getCellIndex());
         // give the cell a reference back to this statement
         cell.setStatementReference(this);
 
-        // get the strings on either side of this char in the string rep
-        String left = statement.substring(0, index);
-        String right = statement.substring(index + 1);
-
-        List<ShortTruthTableCell> leftCells =
-                new ArrayList<ShortTruthTableCell>(cells.subList(0, index));
-        List<ShortTruthTableCell> rightCells =
-                new ArrayList<ShortTruthTableCell>(cells.subList(index + 1, cells.size()));
-
         // construct sub-statements if necessary
-        if (left.length() > 0) {
-            leftStatement = new ShortTruthTableStatement(left, this, leftCells);
+        if (expression.getLeft() != null) {
+            leftStatement = new ShortTruthTableStatement(expression.getLeft(), this, row);
         } else {
             leftStatement = null;
         }
 
-        if (right.length() > 0) {
-            rightStatement = new ShortTruthTableStatement(right, this, rightCells);
+        if (expression.getRight() != null) {
+            rightStatement = new ShortTruthTableStatement(expression.getRight(), this, row);
         } else {
             rightStatement = null;
         }
     }
 
-    // parsing for the constructor
-    static String removeParens(String statement) {
-
-        if (statement.charAt(0) != '(') {
-            return statement;
-        }
-
-        // if the statement does start with a paren, check that it matches with the last paren
-        int openParenCount = 1;
-        int i = 1;
-        while (i < statement.length() - 1) {
-            char c = statement.charAt(i);
-            if (c == '(') {
-                openParenCount++;
-            } else {
-                if (c == ')') openParenCount--;
-            }
-
-            // if the first paren has been closed, and it is not the end of the string,
-            // then there is no whole statement parens to remove
-            if (openParenCount == 0 && i != statement.length() - 1) {
-                return statement;
-            }
-
-            i++;
-        }
-        // if the while loop made it through the entire statement, there are parens around the whole
-        // thing
-        return statement.substring(1, statement.length() - 1);
-    }
-
-    int parse(String statement) {
-
-        // Split by and, or, CONDITIONAL, or biconditional
-        // keep track of the parens, it must be equal to zero to split
-        int openParenCount = 0;
-        // index for stepping through the string
-        int i = 0;
-        // step through each char in the statement
-        while (i < statement.length()) {
-            // get the char
-            char c = statement.charAt(i);
-            // keep track of the open parens
-            if (c == '(') {
-                openParenCount++;
-            } else {
-                if (c == ')') {
-                    openParenCount--;
-                }
-                // if the char is an operator, and there are no open parens, split the statement
-                // here
-                else {
-                    if (openParenCount == 0
-                            && ShortTruthTableOperation.isOperation(c)
-                            && c != ShortTruthTableOperation.NOT) {
-                        return i;
-                    }
-                }
-            }
-            // increment the index
-            i++;
-        }
-
-        // if it made it through the while loop:
-        // this is an atomic statement or a negation
-        // either way, the important char is the first character in the string
-        return 0;
-    }
-
-    static void removeParens(List<ShortTruthTableCell> cells) {
-
-        if (cells.get(0).getSymbol() != '(') {
-            return;
-        }
-
-        // if the statement does start with a paren, check that it matches with the last paren
-        int openParenCount = 1;
-        int i = 1;
-        while (i < cells.size() - 1) {
-            char c = cells.get(i).getSymbol();
-            if (c == '(') {
-                openParenCount++;
-            } else {
-                if (c == ')') openParenCount--;
-            }
-
-            // if the first paren has been closed, and it is not the end of the string,
-            // then there is no whole statement parens to remove
-            if (openParenCount == 0 && i != cells.size() - 1) {
-                return;
-            }
-
-            i++;
-        }
-
-        // if the while loop made it through the entire statement, there are parens around the whole
-        // thing
-        cells.remove(cells.size() - 1);
-        cells.remove(0);
-    }
-
     // Getters
 
     public ShortTruthTableCell getCell() {
@@ -190,16 +85,25 @@ public class ShortTruthTableStatement extends PuzzleElement<String> {
         return parentStatement;
     }
 
+    /**
+     * Gets the operator tree of this statement, which is shared by all copies of the statement
+     *
+     * @return the parsed statement
+     */
+    public ShortTruthTableExpression getExpression() {
+        return expression;
+    }
+
     @Override
     public String toString() {
         if (this.parentStatement == null) {
-            return "SST_Statement: " + stringRep + " parent: null";
+            return "SST_Statement: " + getStringRep() + " parent: null";
         }
-        return "SST_Statement: " + stringRep + " parent: " + parentStatement.stringRep;
+        return "SST_Statement: " + getStringRep() + " parent: " + parentStatement.getStringRep();
     }
 
     public String getStringRep() {
-        return this.stringRep;
+        return expression.getStringRep();
     }
 
     /**
@@ -208,11 +112,11 @@ public class ShortTruthTableStatement extends PuzzleElement<String> {
      * @return the number of cells contained in this statement
      */
     public int getLength() {
-        return stringRep.length();
+        return expression.getLength();
     }
 
     public ShortTruthTableCell getCell(int i) {
-        return cells.get(i);
+        return row.get(expression.getOffset() + i);
     }
 
     // Getters (recursive)
@@ -238,9 +142,7 @@ public class ShortTruthTableStatement extends PuzzleElement<String> {
     public ShortTruthTableCellType[] getCellTypePattern() {
         // get this type and the right type, they will always be used
         ShortTruthTableCellType type = this.cell.getType();
-        System.out.println("Right statement: " + rightStatement.getCell());
         ShortTruthTableCellType rightType = this.rightStatement.getCell().getType();
-        System.out.println("Right type: " + rightType);
         // if this is a not statement, there is no left side
         if (cell.getSymbol() == ShortTruthTableOperation.NOT) {
             return new ShortTruthTableCellType[] {null, type, rightType};
@@ -274,27 +176,25 @@ public class ShortTruthTableStatement extends PuzzleElement<String> {
 
     public ShortTruthTableStatement copy() {
         // copy all the cells
-        List<ShortTruthTableCell> cellsCopy = new ArrayList<>();
-        for (ShortTruthTableCell c : cells) {
+        List<ShortTruthTableCell> cellsCopy = new ArrayList<>(row.size());
+        for (ShortTruthTableCell c : row) {
             cellsCopy.add(c.copy());
         }
-        // make a copy of the statement with all the copied cells
-        // return the new statement
-        return new ShortTruthTableStatement(stringRep, cellsCopy);
+        // bind the copied cells to the same operator tree
+        return new ShortTruthTableStatement(expression, null, cellsCopy);
     }
 
     public ShortTruthTableStatement replace(int column, ShortTruthTableCell cell) {
-        // copy all the cells (replacing one)
-        List<ShortTruthTableCell> cellsCopy = new ArrayList<>();
-        for (ShortTruthTableCell c : cells) {
+        // copy the row of cells (replacing one)
+        List<ShortTruthTableCell> cellsCopy = new ArrayList<>(row.size());
+        for (ShortTruthTableCell c : row) {
             if (c.getX() == column) {
                 cellsCopy.add(cell);
             } else {
                 cellsCopy.add(c);
             }
         }
-        // make a copy of the statement with all the copied cells
-        // return the new statement
-        return new ShortTruthTableStatement(stringRep, cellsCopy);
+        // bind the cells to the same operator tree
+        return new ShortTruthTableStatement(expression, null, cellsCopy);
     }
 }
@@ -3,7 +3,9 @@ package edu.rpi.legup.puzzle.skyscrapers;
 import edu.rpi.legup.model.Puzzle;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.generator.PuzzleGenerator;
 import edu.rpi.legup.model.rules.ContradictionRule;
+import java.util.Random;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -37,7 +39,12 @@ public class Skyscrapers extends Puzzle {
      */
     @Override
     public Board generatePuzzle(int difficulty) {
-        return null;
+        return getGenerator(difficulty).generate(difficulty, new Random());
+    }
+
+    @Override
+    public PuzzleGenerator getGenerator(int difficulty) {
+        return new SkyscrapersGenerator(SkyscrapersGenerator.getSize(difficulty));
     }
 
     @Override
@@ -2,6 +2,8 @@ package edu.rpi.legup.puzzle.skyscrapers;
 
 import edu.rpi.legup.model.elements.Element;
 import edu.rpi.legup.model.gameboard.GridBoard;
+import edu.rpi.legup.model.gameboard.GridCell;
+import edu.rpi.legup.model.gameboard.GridPlane;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import java.awt.*;
 import java.awt.event.MouseEvent;
@@ -10,6 +12,12 @@ import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+/**
+ * The {@code SkyscrapersBoard} keeps a {@link GridPlane} of the heights of its cells, coded by the
+ * height with 0 for an unknown cell, so the rules can find the cells of a given height in a row or
+ * column with bit operations. The plane is updated whenever a cell is set or the data of one of its
+ * cells changes. Boards too large for a plane have none and are scanned cell by cell.
+ */
 public class SkyscrapersBoard extends GridBoard {
     private static final Logger LOGGER = LogManager.getLogger(SkyscrapersBoard.class.getName());
 
@@ -25,6 +33,8 @@ public class SkyscrapersBoard extends GridBoard {
     private boolean viewFlag = false;
     private boolean dupeFlag = false;
 
+    private final GridPlane plane;
+
     public SkyscrapersBoard(int size) {
         super(size, size);
 
@@ -39,6 +49,70 @@ public class SkyscrapersBoard extends GridBoard {
             westClues.add(null);
             northClues.add(null);
         }
+        this.plane = GridPlane.supports(size, size) ? new GridPlane(size, size, size + 1) : null;
+    }
+
+    /**
+     * Gets the plane of the heights of the cells
+     *
+     * @return plane of the board, null if the board is too large for one
+     */
+    public GridPlane getPlane() {
+        return plane;
+    }
+
+    /**
+     * Sets the cell at the (x,y) position and updates the plane
+     *
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @param cell cell to set at (x,y)
+     */
+    @Override
+    public void setCell(int x, int y, GridCell cell) {
+        super.setCell(x, y, cell);
+        if (cell instanceof SkyscrapersCell
+                && x >= 0
+                && y >= 0
+                && x < dimension.width
+                && y < dimension.height) {
+            ((SkyscrapersCell) cell).setBoard(this);
+            updatePlane((SkyscrapersCell) cell);
+        }
+    }
+
+    @Override
+    public void setPuzzleElement(int index, PuzzleElement puzzleElement) {
+        super.setPuzzleElement(index, puzzleElement);
+        if (puzzleElement instanceof SkyscrapersCell
+                && index >= 0
+                && super.getPuzzleElement(puzzleElement) == puzzleElement) {
+            ((SkyscrapersCell) puzzleElement).setBoard(this);
+            updatePlane((SkyscrapersCell) puzzleElement);
+        }
+    }
+
+    @Override
+    public void notifyChange(PuzzleElement puzzleElement) {
+        super.notifyChange(puzzleElement);
+        if (puzzleElement instanceof SkyscrapersCell) {
+            ((SkyscrapersCell) puzzleElement).setBoard(this);
+            updatePlane((SkyscrapersCell) puzzleElement);
+        }
+    }
+
+    void onCellChanged(SkyscrapersCell cell) {
+        Point loc = cell.getLocation();
+        if (getCell(loc.x, loc.y) == cell) {
+            updatePlane(cell);
+        }
+    }
+
+    private void updatePlane(SkyscrapersCell cell) {
+        if (plane != null) {
+            Point loc = cell.getLocation();
+            plane.set(loc.x, loc.y, cell.getData());
+        }
     }
 
     /**
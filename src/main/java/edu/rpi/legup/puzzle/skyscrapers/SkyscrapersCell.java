@@ -6,9 +6,11 @@ import edu.rpi.legup.model.elements.Element;
 import edu.rpi.legup.model.gameboard.GridCell;
 import java.awt.*;
 import java.awt.event.MouseEvent;
+import java.util.Objects;
 
 public class SkyscrapersCell extends GridCell<Integer> {
     private int max;
+    private SkyscrapersBoard board;
 
     public SkyscrapersCell(Integer value, Point location, int size) {
         super(value, location);
@@ -28,22 +30,22 @@ public class SkyscrapersCell extends GridCell<Integer> {
     public void setType(Element e, MouseEvent m) {
         switch (e.getElementID()) {
             case "SKYS-ELEM-0002":
-                this.data = 0;
+                setData(0);
                 break;
             case "SKYS-ELEM-0001":
                 switch (m.getButton()) {
                     case MouseEvent.BUTTON1:
                         if (this.data <= 0 || this.data >= this.max) {
-                            this.data = 1;
+                            setData(1);
                         } else {
-                            this.data = this.data + 1;
+                            setData(this.data + 1);
                         }
                         break;
                     case MouseEvent.BUTTON3:
                         if (this.data > 1) {
-                            this.data = this.data - 1;
+                            setData(this.data - 1);
                         } else {
-                            this.data = this.max;
+                            setData(this.max);
                         }
                         break;
                 }
@@ -55,6 +57,24 @@ public class SkyscrapersCell extends GridCell<Integer> {
         return max;
     }
 
+    /**
+     * Sets the data of this cell and updates the plane of the board holding it
+     *
+     * @param data new data of the cell
+     */
+    @Override
+    public void setData(Integer data) {
+        Integer old = this.data;
+        super.setData(data);
+        if (board != null && !Objects.equals(old, data)) {
+            board.onCellChanged(this);
+        }
+    }
+
+    void setBoard(SkyscrapersBoard board) {
+        this.board = board;
+    }
+
     @Override
     public SkyscrapersCell copy() {
         SkyscrapersCell copy = new SkyscrapersCell(data, (Point) location.clone(), max);
@@ -0,0 +1,117 @@
+package edu.rpi.legup.puzzle.skyscrapers;
+
+import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.generator.PuzzleGenerator;
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The {@code SkyscrapersGenerator} class generates Skyscrapers puzzles with a unique solution
+ * using {@link SkyscrapersSolver}. The rules of the puzzle expect a clue on every edge, so the
+ * generated puzzles keep all the edge clues of the solution and only the heights of the cells are
+ * removed. The clues handled by {@link PuzzleGenerator} are the cells in row major order followed
+ * by the edge clues, in the order of {@link SkyscrapersSolver#getEdges(int[])}.
+ */
+public class SkyscrapersGenerator extends PuzzleGenerator {
+    private final SkyscrapersSolver solver;
+
+    /**
+     * SkyscrapersGenerator Constructor creates a generator of puzzles of the specified size
+     *
+     * @param size number of rows and columns
+     */
+    public SkyscrapersGenerator(int size) {
+        this.solver = new SkyscrapersSolver(size);
+    }
+
+    /**
+     * Gets the size of the puzzles generated for a difficulty, from 4x4 for the easiest to 6x6 for
+     * the hardest
+     *
+     * @param difficulty level of difficulty (1-10)
+     * @return number of rows and columns
+     */
+    public static int getSize(int difficulty) {
+        if (difficulty <= 3) {
+            return 4;
+        }
+        return difficulty <= 7 ? 5 : 6;
+    }
+
+    public int getSize() {
+        return solver.getSize();
+    }
+
+    @Override
+    protected int[] createSolution(Random random) {
+        int size = solver.getSize();
+        int[] cells = solver.solve(new int[size * size], new int[4 * size], random);
+        int[] solution = Arrays.copyOf(cells, cells.length + 4 * size);
+        System.arraycopy(solver.getEdges(cells), 0, solution, cells.length, 4 * size);
+        return solution;
+    }
+
+    @Override
+    protected int getRemovableCount(int[] solution) {
+        return solver.getSize() * solver.getSize();
+    }
+
+    @Override
+    public int countSolutions(int[] clues, int limit) {
+        int area = solver.getSize() * solver.getSize();
+        int[] cells = new int[area];
+        for (int i = 0; i < area; i++) {
+            cells[i] = clues[i] == EMPTY ? 0 : clues[i];
+        }
+        return solver.countSolutions(cells, Arrays.copyOfRange(clues, area, clues.length), limit);
+    }
+
+    @Override
+    public Board createBoard(int[] clues) {
+        int size = solver.getSize();
+        SkyscrapersBoard board = new SkyscrapersBoard(size);
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int index = y * size + x;
+                int value = clues[index];
+                if (value == EMPTY) {
+                    value = SkyscrapersType.UNKNOWN.toValue();
+                }
+                SkyscrapersCell cell = new SkyscrapersCell(value, new Point(x, y), size);
+                cell.setIndex(index);
+                if (clues[index] == EMPTY) {
+                    cell.setModifiable(true);
+                } else {
+                    cell.setModifiable(false);
+                    cell.setGiven(true);
+                }
+                board.setCell(x, y, cell);
+            }
+        }
+
+        int edges = size * size;
+        for (int i = 0; i < size; i++) {
+            board.getWestClues()
+                    .set(i, new SkyscrapersClue(clues[edges + i], i, SkyscrapersType.CLUE_WEST));
+            board.getEastClues()
+                    .set(
+                            i,
+                            new SkyscrapersClue(
+                                    clues[edges + size + i], i, SkyscrapersType.CLUE_EAST));
+            board.getNorthClues()
+                    .set(
+                            i,
+                            new SkyscrapersClue(
+                                    clues[edges + 2 * size + i], i, SkyscrapersType.CLUE_NORTH));
+            board.getSouthClues()
+                    .set(
+                            i,
+                            new SkyscrapersClue(
+                                    clues[edges + 3 * size + i], i, SkyscrapersType.CLUE_SOUTH));
+        }
+        board.setDupeFlag(true);
+        board.setViewFlag(false);
+        return board;
+    }
+}
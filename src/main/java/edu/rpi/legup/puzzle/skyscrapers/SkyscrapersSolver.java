@@ -0,0 +1,232 @@
+package edu.rpi.legup.puzzle.skyscrapers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The {@code SkyscrapersSolver} class solves Skyscrapers puzzles encoded as arrays of integers.
+ * The cells are given in row major order, with 0 for an empty cell and 1 to the size of the board
+ * for a height. The edge clues are given as four runs of one clue per row or column: west and east
+ * for the rows, then north and south for the columns, with 0 for a missing clue.
+ *
+ * <p>Cells are filled in row major order, keeping the heights used by each row and column as bit
+ * masks. The clues seen from the west and the north are checked on every cell placed, since the
+ * buildings visible so far can only grow; the clues seen from the east and the south are checked
+ * when a row or column is complete. Instances are immutable and can be shared between threads.
+ */
+public class SkyscrapersSolver {
+    private final int size;
+
+    /**
+     * SkyscrapersSolver Constructor creates a solver for boards of the specified size
+     *
+     * @param size number of rows and columns
+     */
+    public SkyscrapersSolver(int size) {
+        if (size < 1 || size > 30) {
+            throw new IllegalArgumentException("Invalid Skyscrapers size " + size);
+        }
+        this.size = size;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the edge clues of a complete solution
+     *
+     * @param cells the heights of all the cells
+     * @return the number of buildings visible from the west and east of each row, then from the
+     *     north and south of each column
+     */
+    public int[] getEdges(int[] cells) {
+        int[] edges = new int[4 * size];
+        for (int i = 0; i < size; i++) {
+            edges[i] = countVisible(cells, i * size, 1);
+            edges[size + i] = countVisible(cells, i * size + size - 1, -1);
+            edges[2 * size + i] = countVisible(cells, i, size);
+            edges[3 * size + i] = countVisible(cells, (size - 1) * size + i, -size);
+        }
+        return edges;
+    }
+
+    /**
+     * Counts the solutions of a puzzle, stopping at the specified limit
+     *
+     * @param cells the cell values, 0 for the empty cells
+     * @param edges the edge clues, 0 for the missing clues
+     * @param limit number of solutions after which counting stops
+     * @return number of solutions, at most {@code limit}
+     */
+    public int countSolutions(int[] cells, int[] edges, int limit) {
+        return new Search(edges, null, null).run(cells, limit);
+    }
+
+    /**
+     * Finds the solutions of a puzzle, stopping at the specified limit
+     *
+     * @param cells the cell values, 0 for the empty cells
+     * @param edges the edge clues, 0 for the missing clues
+     * @param limit number of solutions after which the search stops
+     * @return the solved cell values of each solution found, at most {@code limit}
+     */
+    public List<int[]> findSolutions(int[] cells, int[] edges, int limit) {
+        List<int[]> solutions = new ArrayList<>();
+        new Search(edges, null, solutions).run(cells, limit);
+        return solutions;
+    }
+
+    /**
+     * Finds a solution of a puzzle
+     *
+     * @param cells the cell values, 0 for the empty cells
+     * @param edges the edge clues, 0 for the missing clues
+     * @param random source of randomness used to order the heights tried on each cell, or null to
+     *     try them in increasing order
+     * @return the solved cell values, or null if the puzzle has no solution
+     */
+    public int[] solve(int[] cells, int[] edges, Random random) {
+        List<int[]> solutions = new ArrayList<>(1);
+        return new Search(edges, random, solutions).run(cells, 1) == 1 ? solutions.get(0) : null;
+    }
+
+    // the number of buildings visible along a line of cells, starting at a cell and stepping by
+    // the specified amount
+    private int countVisible(int[] cells, int start, int step) {
+        int visible = 0;
+        int max = 0;
+        for (int i = 0, index = start; i < size; i++, index += step) {
+            if (cells[index] > max) {
+                max = cells[index];
+                visible++;
+            }
+        }
+        return visible;
+    }
+
+    /** State of a single search */
+    private final class Search {
+        private final int[] edges;
+        private final Random random;
+        private final List<int[]> solutions;
+        private final int[] cells = new int[size * size];
+        private final int[] rowUsed = new int[size];
+        private final int[] colUsed = new int[size];
+        // tallest building and number of buildings seen so far from the west of each row and from
+        // the north of each column
+        private final int[] rowMax = new int[size];
+        private final int[] rowSeen = new int[size];
+        private final int[] colMax = new int[size];
+        private final int[] colSeen = new int[size];
+
+        Search(int[] edges, Random random, List<int[]> solutions) {
+            if (edges.length != 4 * size) {
+                throw new IllegalArgumentException("Expected " + 4 * size + " edge clues");
+            }
+            this.edges = edges;
+            this.random = random;
+            this.solutions = solutions;
+        }
+
+        int run(int[] given, int limit) {
+            if (given.length != size * size) {
+                throw new IllegalArgumentException("Expected " + size * size + " cells");
+            }
+            for (int value : given) {
+                if (value < 0 || value > size) {
+                    return 0;
+                }
+            }
+            return search(given, 0, limit);
+        }
+
+        private int search(int[] given, int index, int limit) {
+            if (index == cells.length) {
+                if (solutions != null) {
+                    solutions.add(cells.clone());
+                }
+                return 1;
+            }
+            int x = index % size;
+            int y = index / size;
+            int used = rowUsed[y] | colUsed[x];
+
+            int[] heights;
+            if (given[index] != 0) {
+                heights = new int[] {given[index]};
+            } else {
+                heights = new int[size];
+                for (int h = 0; h < size; h++) {
+                    heights[h] = h + 1;
+                }
+                if (random != null) {
+                    for (int i = size - 1; i > 0; i--) {
+                        int j = random.nextInt(i + 1);
+                        int height = heights[i];
+                        heights[i] = heights[j];
+                        heights[j] = height;
+                    }
+                }
+            }
+
+            int count = 0;
+            for (int i = 0; i < heights.length && count < limit; i++) {
+                int height = heights[i];
+                int bit = 1 << (height - 1);
+                if ((used & bit) != 0) {
+                    continue;
+                }
+                int oldRowMax = rowMax[y];
+                int oldRowSeen = rowSeen[y];
+                int oldColMax = colMax[x];
+                int oldColSeen = colSeen[x];
+                if (height > oldRowMax) {
+                    rowMax[y] = height;
+                    rowSeen[y]++;
+                }
+                if (height > oldColMax) {
+                    colMax[x] = height;
+                    colSeen[x]++;
+                }
+                cells[index] = height;
+                rowUsed[y] |= bit;
+                colUsed[x] |= bit;
+                if (fits(x, y)) {
+                    count += search(given, index + 1, limit - count);
+                }
+                rowUsed[y] &= ~bit;
+                colUsed[x] &= ~bit;
+                cells[index] = 0;
+                rowMax[y] = oldRowMax;
+                rowSeen[y] = oldRowSeen;
+                colMax[x] = oldColMax;
+                colSeen[x] = oldColSeen;
+            }
+            return count;
+        }
+
+        // checks the clues of the row and column of the cell just placed
+        private boolean fits(int x, int y) {
+            if (!fitsPrefix(rowSeen[y], rowMax[y], edges[y])
+                    || !fitsPrefix(colSeen[x], colMax[x], edges[2 * size + x])) {
+                return false;
+            }
+            if (x == size - 1
+                    && edges[size + y] != 0
+                    && countVisible(cells, y * size + size - 1, -1) != edges[size + y]) {
+                return false;
+            }
+            return y != size - 1
+                    || edges[3 * size + x] == 0
+                    || countVisible(cells, (size - 1) * size + x, -size) == edges[3 * size + x];
+        }
+
+        // the buildings seen so far may not exceed the clue, and once the tallest building is
+        // placed no other one can be seen
+        private boolean fitsPrefix(int seen, int max, int clue) {
+            return clue == 0 || (seen <= clue && (max < size || seen == clue));
+        }
+    }
+}
@@ -6,6 +6,8 @@ import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.CaseRule;
 import edu.rpi.legup.model.tree.TreeTransition;
 import edu.rpi.legup.puzzle.skyscrapers.*;
+import edu.rpi.legup.utility.Instrumentation;
+import edu.rpi.legup.utility.Instrumentation.Operation;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -22,6 +24,11 @@ public class CellForNumberCaseRule extends CaseRule {
 
     private Integer selectedNumber;
 
+    @Override
+    public boolean isInteractive() {
+        return true;
+    }
+
     @Override
     public CaseBoard getCaseBoard(Board board) {
         SkyscrapersBoard currentBoard = (SkyscrapersBoard) board.copy();
@@ -114,19 +121,21 @@ public class CellForNumberCaseRule extends CaseRule {
             return "This case rule must have at least one child.";
         }
 
-        if (childTransitions.size()
-                != getCasesFor(
-                                oldBoard,
-                                oldBoard.getPuzzleElement(transition.getSelection()),
-                                (Integer)
-                                        childTransitions
-                                                .get(0)
-                                                .getBoard()
-                                                .getModifiedData()
-                                                .iterator()
-                                                .next()
-                                                .getData())
-                        .size()) {
+        Integer number =
+                (Integer)
+                        childTransitions
+                                .get(0)
+                                .getBoard()
+                                .getModifiedData()
+                                .iterator()
+                                .next()
+                                .getData();
+        long start = Instrumentation.start();
+        int numberOfCases =
+                getCasesFor(oldBoard, oldBoard.getPuzzleElement(transition.getSelection()), number)
+                        .size();
+        Instrumentation.record(Operation.GET_CASES, getRuleID(), start);
+        if (childTransitions.size() != numberOfCases) {
             // System.out.println("Wrong number of cases.");
             return "Wrong number of cases.";
         }
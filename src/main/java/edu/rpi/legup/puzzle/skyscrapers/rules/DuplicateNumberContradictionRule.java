@@ -1,14 +1,13 @@
 package edu.rpi.legup.puzzle.skyscrapers.rules;
 
 import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.gameboard.GridPlane;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.ContradictionRule;
 import edu.rpi.legup.puzzle.skyscrapers.SkyscrapersBoard;
 import edu.rpi.legup.puzzle.skyscrapers.SkyscrapersCell;
 import edu.rpi.legup.puzzle.skyscrapers.SkyscrapersType;
 import java.awt.*;
-import java.util.HashSet;
-import java.util.Set;
 
 public class DuplicateNumberContradictionRule extends ContradictionRule {
 
@@ -35,7 +34,21 @@ public class DuplicateNumberContradictionRule extends ContradictionRule {
         SkyscrapersBoard skyscrapersboard = (SkyscrapersBoard) board;
         Point loc = cell.getLocation();
 
-        Set<Integer> candidates = new HashSet<Integer>();
+        if (cell.getType() != SkyscrapersType.Number) {
+            return super.getNoContradictionMessage();
+        }
+
+        GridPlane plane = skyscrapersboard.getPlane();
+        int height = cell.getData();
+        if (plane != null && height > 0 && height <= skyscrapersboard.getSize()) {
+            // any other cell of the row or column with the same height
+            long row = plane.getRow(height, loc.y) & ~(1L << loc.x);
+            long col = plane.getColumn(height, loc.x) & ~(1L << loc.y);
+            if (row != 0 || col != 0) {
+                return null;
+            }
+            return super.getNoContradictionMessage();
+        }
 
         // check row
         for (int i = 0; i < skyscrapersboard.getWidth(); i++) {
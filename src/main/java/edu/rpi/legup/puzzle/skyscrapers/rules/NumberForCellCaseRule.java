@@ -8,6 +8,8 @@ import edu.rpi.legup.model.tree.TreeTransition;
 import edu.rpi.legup.puzzle.skyscrapers.SkyscrapersBoard;
 import edu.rpi.legup.puzzle.skyscrapers.SkyscrapersCell;
 import edu.rpi.legup.puzzle.skyscrapers.SkyscrapersType;
+import edu.rpi.legup.utility.Instrumentation;
+import edu.rpi.legup.utility.Instrumentation.Operation;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -94,16 +96,12 @@ public class NumberForCellCaseRule extends CaseRule {
         if (childTransitions.size() == 0) {
             return "This case rule must have at least one child.";
         } else {
-            if (childTransitions.size()
-                    != getCases(
-                                    transition.getBoard(),
-                                    childTransitions
-                                            .get(0)
-                                            .getBoard()
-                                            .getModifiedData()
-                                            .iterator()
-                                            .next())
-                            .size()) {
+            PuzzleElement modified =
+                    childTransitions.get(0).getBoard().getModifiedData().iterator().next();
+            long start = Instrumentation.start();
+            int numberOfCases = getCases(transition.getBoard(), modified).size();
+            Instrumentation.record(Operation.GET_CASES, getRuleID(), start);
+            if (childTransitions.size() != numberOfCases) {
                 return "Wrong number of children.";
             }
         }
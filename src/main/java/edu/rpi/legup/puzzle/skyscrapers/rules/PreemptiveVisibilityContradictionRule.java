@@ -2,6 +2,7 @@ package edu.rpi.legup.puzzle.skyscrapers.rules;
 
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.BoardAnalysis;
 import edu.rpi.legup.model.rules.ContradictionRule;
 import edu.rpi.legup.puzzle.skyscrapers.SkyscrapersBoard;
 import edu.rpi.legup.puzzle.skyscrapers.SkyscrapersCell;
@@ -186,10 +187,11 @@ public class PreemptiveVisibilityContradictionRule extends ContradictionRule {
      * Checks whether the tree node has a contradiction using this rule
      *
      * @param board board to check contradiction
+     * @param analysis analysis of the board
      * @return null if the tree node contains a contradiction, otherwise error message
      */
     @Override
-    public String checkContradiction(Board board) {
+    public String checkContradiction(Board board, BoardAnalysis analysis) {
         SkyscrapersBoard skyscrapersBoard = (SkyscrapersBoard) board;
         for (int i = 0; i < skyscrapersBoard.getWidth(); i++) {
             // checks the middle diagonal (checkContradictionAt checks row/col off each)
@@ -1,14 +1,24 @@
 package edu.rpi.legup.puzzle.starbattle;
 
 import edu.rpi.legup.model.gameboard.GridBoard;
+import edu.rpi.legup.model.gameboard.GridCell;
+import edu.rpi.legup.model.gameboard.GridPlane;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import java.awt.Point;
 import java.util.*;
 
+/**
+ * The {@code StarBattleBoard} keeps a {@link GridPlane} of the types of its cells, coded by their
+ * ordinal, so the stars of a row or column are counted with a bit count instead of a scan. The
+ * plane is updated whenever a cell is set or the data of one of its cells changes. Boards too large
+ * for a plane have none and are scanned cell by cell.
+ */
 public class StarBattleBoard extends GridBoard {
 
     private int size;
     private int puzzleNum;
     protected List<StarBattleRegion> regions;
+    private final GridPlane plane;
 
     // private ArrayList<Integer> groupSizes;
 
@@ -20,6 +30,10 @@ public class StarBattleBoard extends GridBoard {
         for (int i = 0; i < size; i++) {
             regions.add(new StarBattleRegion());
         }
+        this.plane =
+                GridPlane.supports(size, size)
+                        ? new GridPlane(size, size, StarBattleCellType.values().length)
+                        : null;
     }
 
     @Override
@@ -27,6 +41,67 @@ public class StarBattleBoard extends GridBoard {
         return (StarBattleCell) super.getCell(x, y);
     }
 
+    /**
+     * Sets the cell at the (x,y) position and updates the plane
+     *
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @param cell cell to set at (x,y)
+     */
+    @Override
+    public void setCell(int x, int y, GridCell cell) {
+        super.setCell(x, y, cell);
+        if (cell instanceof StarBattleCell
+                && x >= 0
+                && y >= 0
+                && x < dimension.width
+                && y < dimension.height) {
+            ((StarBattleCell) cell).setBoard(this);
+            updatePlane((StarBattleCell) cell);
+        }
+    }
+
+    @Override
+    public void setPuzzleElement(int index, PuzzleElement puzzleElement) {
+        super.setPuzzleElement(index, puzzleElement);
+        if (puzzleElement instanceof StarBattleCell
+                && getPuzzleElement(puzzleElement) == puzzleElement) {
+            ((StarBattleCell) puzzleElement).setBoard(this);
+            updatePlane((StarBattleCell) puzzleElement);
+        }
+    }
+
+    @Override
+    public void notifyChange(PuzzleElement puzzleElement) {
+        super.notifyChange(puzzleElement);
+        ((StarBattleCell) puzzleElement).setBoard(this);
+        updatePlane((StarBattleCell) puzzleElement);
+    }
+
+    void onCellChanged(StarBattleCell cell) {
+        Point loc = cell.getLocation();
+        if (getCell(loc.x, loc.y) == cell) {
+            updatePlane(cell);
+        }
+    }
+
+    private void updatePlane(StarBattleCell cell) {
+        if (plane != null) {
+            StarBattleCellType type = cell.getType();
+            Point loc = cell.getLocation();
+            plane.set(loc.x, loc.y, type == null ? GridPlane.NONE : type.ordinal());
+        }
+    }
+
+    /**
+     * Gets the plane of the types of the cells
+     *
+     * @return plane of the board, null if the board is too large for one
+     */
+    public GridPlane getPlane() {
+        return plane;
+    }
+
     /*
     public StarBattleCell getCell(int groupIndex, int x, int y) {
         return getCell(x + (groupIndex % groupSize) * groupSize, y + (groupIndex / groupSize) * groupSize);
@@ -72,6 +147,9 @@ public class StarBattleBoard extends GridBoard {
     }
 
     public int columnStars(int columnIndex) {
+        if (plane != null && columnIndex < size) {
+            return plane.countColumn(StarBattleCellType.STAR.ordinal(), columnIndex);
+        }
         int stars = 0;
         if (columnIndex < size) {
             for (StarBattleCell c : this.getCol(columnIndex)) {
@@ -84,6 +162,9 @@ public class StarBattleBoard extends GridBoard {
     }
 
     public int rowStars(int rowIndex) {
+        if (plane != null && rowIndex < size) {
+            return plane.countRow(StarBattleCellType.STAR.ordinal(), rowIndex);
+        }
         int stars = 0;
         if (rowIndex < size) {
             for (StarBattleCell c : this.getRow(rowIndex)) {
@@ -4,10 +4,12 @@ import edu.rpi.legup.model.elements.Element;
 import edu.rpi.legup.model.gameboard.GridCell;
 import java.awt.*;
 import java.awt.event.MouseEvent;
+import java.util.Objects;
 
 public class StarBattleCell extends GridCell<Integer> {
     private int groupIndex; // This is the region the cell is in
     private int max;
+    private StarBattleBoard board;
 
     /**
      * StarBattleCell Constructor - creates a new StarBattle cell to hold the puzzleElement
@@ -31,29 +33,29 @@ public class StarBattleCell extends GridCell<Integer> {
     public void setType(Element e, MouseEvent m) {
         switch (e.getElementID()) {
             case "STBL-PLAC-0001":
-                this.data = -3;
+                setData(-3);
                 break;
             case "STBL-PLAC-0002":
-                this.data = -2;
+                setData(-2);
                 break;
             case "STBL-PLAC-0003":
-                this.data = -1;
+                setData(-1);
                 break;
 
             case "STBL-UNPL-0001": // Not sure how button events work
                 switch (m.getButton()) {
                     case MouseEvent.BUTTON1:
                         if (this.data > 0 || this.data < -3) {
-                            this.data = -3;
+                            setData(-3);
                         } else {
-                            this.data = this.data + 1;
+                            setData(this.data + 1);
                         }
                         break;
                     case MouseEvent.BUTTON3:
                         if (this.data > -4) {
-                            this.data = this.data - 1;
+                            setData(this.data - 1);
                         } else {
-                            this.data = -1; // Unsure
+                            setData(-1); // Unsure
                         }
                         break;
                 }
@@ -77,6 +79,24 @@ public class StarBattleCell extends GridCell<Integer> {
         return null;
     }
 
+    /**
+     * Sets the data of this cell and updates the plane of the board holding it
+     *
+     * @param data new data of the cell
+     */
+    @Override
+    public void setData(Integer data) {
+        Integer old = this.data;
+        super.setData(data);
+        if (board != null && !Objects.equals(old, data)) {
+            board.onCellChanged(this);
+        }
+    }
+
+    void setBoard(StarBattleBoard board) {
+        this.board = board;
+    }
+
     public StarBattleCell copy() {
         StarBattleCell copy = new StarBattleCell(data, (Point) location.clone(), groupIndex, max);
         copy.setIndex(index);
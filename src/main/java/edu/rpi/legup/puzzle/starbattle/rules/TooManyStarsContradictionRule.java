@@ -1,6 +1,7 @@
 package edu.rpi.legup.puzzle.starbattle.rules;
 
 import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.gameboard.GridPlane;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.ContradictionRule;
 import edu.rpi.legup.puzzle.starbattle.StarBattleBoard;
@@ -44,49 +45,58 @@ public class TooManyStarsContradictionRule extends ContradictionRule {
             return this.INVALID_USE_MESSAGE;
         }
 
-        // check row
-        for (int i = location.x - 1; i >= 0; i--) {
-            StarBattleCell check = starbattleBoard.getCell(i, location.y);
-            if (check.getType() == StarBattleCellType.STAR) {
-                starCount++;
-                if (starCount >= puzzleNum) {
-                    valid = false;
-                    break;
+        GridPlane plane = starbattleBoard.getPlane();
+        if (plane != null) {
+            // the masks count the whole row and column, this star included
+            int star = StarBattleCellType.STAR.ordinal();
+            valid =
+                    plane.countRow(star, location.y) <= puzzleNum
+                            && plane.countColumn(star, location.x) <= puzzleNum;
+        } else {
+            // check row
+            for (int i = location.x - 1; i >= 0; i--) {
+                StarBattleCell check = starbattleBoard.getCell(i, location.y);
+                if (check.getType() == StarBattleCellType.STAR) {
+                    starCount++;
+                    if (starCount >= puzzleNum) {
+                        valid = false;
+                        break;
+                    }
                 }
             }
-        }
 
-        for (int i = location.x + 1; i < starbattleBoard.getWidth(); i++) {
-            StarBattleCell check = starbattleBoard.getCell(i, location.y);
-            if (check.getType() == StarBattleCellType.STAR) {
-                starCount++;
-                if (starCount >= puzzleNum) {
-                    valid = false;
-                    break;
+            for (int i = location.x + 1; i < starbattleBoard.getWidth(); i++) {
+                StarBattleCell check = starbattleBoard.getCell(i, location.y);
+                if (check.getType() == StarBattleCellType.STAR) {
+                    starCount++;
+                    if (starCount >= puzzleNum) {
+                        valid = false;
+                        break;
+                    }
                 }
             }
-        }
 
-        // check column
-        starCount = 0;
-        for (int j = location.y - 1; j >= 0; j--) {
-            StarBattleCell check = starbattleBoard.getCell(location.x, j);
-            if (check.getType() == StarBattleCellType.STAR) {
-                starCount++;
-                if (starCount >= puzzleNum) {
-                    valid = false;
-                    break;
+            // check column
+            starCount = 0;
+            for (int j = location.y - 1; j >= 0; j--) {
+                StarBattleCell check = starbattleBoard.getCell(location.x, j);
+                if (check.getType() == StarBattleCellType.STAR) {
+                    starCount++;
+                    if (starCount >= puzzleNum) {
+                        valid = false;
+                        break;
+                    }
                 }
             }
-        }
 
-        for (int j = location.y + 1; j < starbattleBoard.getWidth(); j++) {
-            StarBattleCell check = starbattleBoard.getCell(location.x, j);
-            if (check.getType() == StarBattleCellType.STAR) {
-                starCount++;
-                if (starCount >= puzzleNum) {
-                    valid = false;
-                    break;
+            for (int j = location.y + 1; j < starbattleBoard.getWidth(); j++) {
+                StarBattleCell check = starbattleBoard.getCell(location.x, j);
+                if (check.getType() == StarBattleCellType.STAR) {
+                    starCount++;
+                    if (starCount >= puzzleNum) {
+                        valid = false;
+                        break;
+                    }
                 }
             }
         }
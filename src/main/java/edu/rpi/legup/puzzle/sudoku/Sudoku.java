@@ -3,11 +3,17 @@ package edu.rpi.legup.puzzle.sudoku;
 import edu.rpi.legup.model.Puzzle;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.generator.PuzzleGenerator;
+import edu.rpi.legup.model.rules.BoardAnalysis;
 import edu.rpi.legup.model.rules.ContradictionRule;
 import edu.rpi.legup.ui.boardview.BoardView;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 public class Sudoku extends Puzzle {
     private SudokuView boardView;
+    private volatile SudokuSolver solver;
 
     /** Sudoku Constructor */
     public Sudoku() {
@@ -41,7 +47,61 @@ public class Sudoku extends Puzzle {
      */
     @Override
     public Board generatePuzzle(int difficulty) {
-        return null;
+        return getGenerator(difficulty).generate(difficulty, new Random());
+    }
+
+    @Override
+    public PuzzleGenerator getGenerator(int difficulty) {
+        return new SudokuGenerator(9);
+    }
+
+    /**
+     * Counts the solutions of a board with the exact cover solver
+     *
+     * @param board board to solve
+     * @param limit number of solutions after which counting stops
+     * @return number of solutions, at most {@code limit}
+     */
+    @Override
+    public int countSolutions(Board board, int limit) {
+        SudokuBoard sudokuBoard = (SudokuBoard) board;
+        return getSolver(sudokuBoard.getSize())
+                .countSolutions(SudokuSolver.getCells(sudokuBoard), limit);
+    }
+
+    /**
+     * Finds the solutions of a board with the exact cover solver
+     *
+     * @param board board to solve, it is not modified
+     * @param limit number of solutions after which the search stops
+     * @return solved copies of the board, at most {@code limit}
+     */
+    @Override
+    public List<Board> findSolutions(Board board, int limit) {
+        SudokuBoard sudokuBoard = (SudokuBoard) board;
+        int size = sudokuBoard.getSize();
+        List<Board> solutions = new ArrayList<>();
+        for (int[] solution :
+                getSolver(size).findSolutions(SudokuSolver.getCells(sudokuBoard), limit)) {
+            SudokuBoard solved = sudokuBoard.copy();
+            for (int y = 0; y < size; y++) {
+                for (int x = 0; x < size; x++) {
+                    solved.getCell(x, y).setData(solution[y * size + x]);
+                }
+            }
+            solutions.add(solved);
+        }
+        return solutions;
+    }
+
+    // the exact cover matrix only depends on the size, so the solver is kept between checks
+    private SudokuSolver getSolver(int size) {
+        SudokuSolver current = solver;
+        if (current == null || current.getSize() != size) {
+            current = new SudokuSolver(size);
+            solver = current;
+        }
+        return current;
     }
 
     @Override
@@ -85,8 +145,9 @@ public class Sudoku extends Puzzle {
     public boolean isBoardComplete(Board board) {
         SudokuBoard sudokuBoard = (SudokuBoard) board;
 
+        BoardAnalysis analysis = new BoardAnalysis(sudokuBoard);
         for (ContradictionRule rule : contradictionRules) {
-            if (rule.checkContradiction(sudokuBoard) == null) {
+            if (rule.checkContradiction(sudokuBoard, analysis) == null) {
                 return false;
             }
         }
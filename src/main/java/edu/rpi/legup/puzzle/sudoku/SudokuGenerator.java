@@ -0,0 +1,67 @@
+package edu.rpi.legup.puzzle.sudoku;
+
+import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.generator.PuzzleGenerator;
+import java.awt.Point;
+import java.util.Random;
+
+/**
+ * The {@code SudokuGenerator} class generates Sudoku puzzles with a unique solution using {@link
+ * SudokuSolver}. At the highest difficulty the puzzles are minimal: removing any remaining clue
+ * would allow a second solution.
+ */
+public class SudokuGenerator extends PuzzleGenerator {
+    private final SudokuSolver solver;
+
+    /**
+     * SudokuGenerator Constructor creates a generator of puzzles of the specified size
+     *
+     * @param size number of rows and columns, must be a perfect square
+     */
+    public SudokuGenerator(int size) {
+        this.solver = new SudokuSolver(size);
+    }
+
+    public int getSize() {
+        return solver.getSize();
+    }
+
+    @Override
+    protected int[] createSolution(Random random) {
+        int size = solver.getSize();
+        return solver.solve(new int[size * size], random);
+    }
+
+    @Override
+    public int countSolutions(int[] clues, int limit) {
+        int[] cells = new int[clues.length];
+        for (int i = 0; i < clues.length; i++) {
+            cells[i] = clues[i] == EMPTY ? 0 : clues[i];
+        }
+        return solver.countSolutions(cells, limit);
+    }
+
+    @Override
+    public Board createBoard(int[] clues) {
+        int size = solver.getSize();
+        int groupSize = (int) Math.sqrt(size);
+        SudokuBoard board = new SudokuBoard(size);
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int index = y * size + x;
+                int groupIndex = x / groupSize + y / groupSize * groupSize;
+                int value = clues[index] == EMPTY ? 0 : clues[index];
+                SudokuCell cell = new SudokuCell(value, new Point(x, y), groupIndex, size);
+                cell.setIndex(index);
+                if (value == 0) {
+                    cell.setModifiable(true);
+                } else {
+                    cell.setModifiable(false);
+                    cell.setGiven(true);
+                }
+                board.setCell(x, y, cell);
+            }
+        }
+        return board;
+    }
+}
@@ -0,0 +1,289 @@
+package edu.rpi.legup.puzzle.sudoku;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The {@code SudokuSolver} class solves Sudoku boards as an exact cover problem with Knuth's
+ * Dancing Links. Every candidate (cell, number) is a row of the matrix covering four constraints:
+ * the cell is filled, and the number appears once in its row, its column and its region. The
+ * matrix of a board size is built once as flat arrays of links; each solve copies the links,
+ * covers the rows of the filled cells and searches the rest, always branching on the constraint
+ * with the fewest candidates.
+ *
+ * <p>Cell values are encoded in row major order, with 0 for an empty cell and 1 to the size of
+ * the board for a number, as in {@link SudokuCell}. Instances are immutable and can be shared
+ * between threads.
+ */
+public class SudokuSolver {
+    private final int size;
+    private final int groupSize;
+    private final int columns;
+
+    // links of the matrix: node 0 is the root, nodes 1..columns the column headers, then the
+    // candidate rows with four nodes each
+    private final int[] left;
+    private final int[] right;
+    private final int[] up;
+    private final int[] down;
+    private final int[] column;
+    private final int[] columnSize;
+
+    /**
+     * SudokuSolver Constructor builds the exact cover matrix of boards of the specified size
+     *
+     * @param size number of rows and columns, must be a perfect square
+     */
+    public SudokuSolver(int size) {
+        int groupSize = (int) Math.sqrt(size);
+        if (size < 1 || groupSize * groupSize != size) {
+            throw new IllegalArgumentException("Invalid Sudoku size " + size);
+        }
+        this.size = size;
+        this.groupSize = groupSize;
+        this.columns = 4 * size * size;
+
+        int nodes = columns + 1 + 4 * size * size * size;
+        this.left = new int[nodes];
+        this.right = new int[nodes];
+        this.up = new int[nodes];
+        this.down = new int[nodes];
+        this.column = new int[nodes];
+        this.columnSize = new int[columns + 1];
+
+        for (int c = 0; c <= columns; c++) {
+            left[c] = c == 0 ? columns : c - 1;
+            right[c] = c == columns ? 0 : c + 1;
+            up[c] = c;
+            down[c] = c;
+            column[c] = c;
+        }
+        for (int candidate = 0; candidate < size * size * size; candidate++) {
+            int first = getNode(candidate);
+            int[] constraints = getConstraints(candidate);
+            for (int k = 0; k < 4; k++) {
+                int node = first + k;
+                int c = constraints[k];
+                left[node] = first + (k + 3) % 4;
+                right[node] = first + (k + 1) % 4;
+                column[node] = c;
+                up[node] = up[c];
+                down[node] = c;
+                down[up[c]] = node;
+                up[c] = node;
+                columnSize[c]++;
+            }
+        }
+    }
+
+    /**
+     * Gets the cell values of a board
+     *
+     * @param board sudoku board
+     * @return the cell values in row major order, 0 for the empty cells
+     */
+    public static int[] getCells(SudokuBoard board) {
+        int size = board.getSize();
+        int[] cells = new int[size * size];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                cells[y * size + x] = board.getCell(x, y).getData();
+            }
+        }
+        return cells;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Counts the solutions of a board, stopping at the specified limit
+     *
+     * @param cells the cell values, 0 for the empty cells
+     * @param limit number of solutions after which counting stops
+     * @return number of solutions, at most {@code limit}
+     */
+    public int countSolutions(int[] cells, int limit) {
+        return new Search(null).run(cells, limit);
+    }
+
+    /**
+     * Finds the solutions of a board, stopping at the specified limit
+     *
+     * @param cells the cell values, 0 for the empty cells
+     * @param limit number of solutions after which the search stops
+     * @return the solved cell values of each solution found, at most {@code limit}
+     */
+    public List<int[]> findSolutions(int[] cells, int limit) {
+        Search search = new Search(null);
+        search.run(cells, limit);
+        return search.solutions;
+    }
+
+    /**
+     * Checks whether a board can still be completed
+     *
+     * @param board sudoku board
+     * @return true if the board has at least one solution, false otherwise
+     */
+    public boolean isSolvable(SudokuBoard board) {
+        return countSolutions(getCells(board), 1) > 0;
+    }
+
+    /**
+     * Finds a solution of a board
+     *
+     * @param cells the cell values, 0 for the empty cells
+     * @param random source of randomness used to order the candidates of each branch, or null to
+     *     try them in order
+     * @return the solved cell values, or null if the board has no solution
+     */
+    public int[] solve(int[] cells, Random random) {
+        Search search = new Search(random);
+        return search.run(cells, 1) == 1 ? search.solutions.get(0) : null;
+    }
+
+    private int getNode(int candidate) {
+        return columns + 1 + 4 * candidate;
+    }
+
+    // the four constraint columns (1 based) covered by the candidate placing a number in a cell
+    private int[] getConstraints(int candidate) {
+        int cell = candidate / size;
+        int number = candidate % size;
+        int row = cell / size;
+        int col = cell % size;
+        int region = (row / groupSize) * groupSize + col / groupSize;
+        int area = size * size;
+        return new int[] {
+            1 + cell,
+            1 + area + row * size + number,
+            1 + 2 * area + col * size + number,
+            1 + 3 * area + region * size + number
+        };
+    }
+
+    /** A search over a private copy of the links */
+    private final class Search {
+        private final int[] l = left.clone();
+        private final int[] r = right.clone();
+        private final int[] u = up.clone();
+        private final int[] d = down.clone();
+        private final int[] s = columnSize.clone();
+        private final Random random;
+        private final int[] chosen = new int[size * size];
+        private final List<int[]> solutions = new ArrayList<>(1);
+
+        Search(Random random) {
+            this.random = random;
+        }
+
+        int run(int[] cells, int limit) {
+            if (cells.length != size * size) {
+                throw new IllegalArgumentException("Expected " + size * size + " cells");
+            }
+            boolean[] covered = new boolean[columns + 1];
+            int depth = 0;
+            for (int cell = 0; cell < cells.length; cell++) {
+                int value = cells[cell];
+                if (value == 0) {
+                    continue;
+                }
+                if (value < 0 || value > size) {
+                    return 0;
+                }
+                int candidate = cell * size + value - 1;
+                int node = getNode(candidate);
+                for (int k = 0; k < 4; k++) {
+                    if (covered[column[node + k]]) {
+                        return 0;
+                    }
+                }
+                for (int k = 0; k < 4; k++) {
+                    covered[column[node + k]] = true;
+                    cover(column[node + k]);
+                }
+                chosen[depth++] = node;
+            }
+            return search(depth, limit);
+        }
+
+        private int search(int depth, int limit) {
+            if (r[0] == 0) {
+                int[] solution = new int[size * size];
+                for (int i = 0; i < depth; i++) {
+                    int candidate = (chosen[i] - columns - 1) / 4;
+                    solution[candidate / size] = candidate % size + 1;
+                }
+                solutions.add(solution);
+                return 1;
+            }
+
+            int best = r[0];
+            for (int c = r[best]; c != 0; c = r[c]) {
+                if (s[c] < s[best]) {
+                    best = c;
+                }
+            }
+            if (s[best] == 0) {
+                return 0;
+            }
+
+            cover(best);
+            int[] rows = new int[s[best]];
+            int n = 0;
+            for (int node = d[best]; node != best; node = d[node]) {
+                rows[n++] = node;
+            }
+            if (random != null) {
+                for (int i = n - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    int row = rows[i];
+                    rows[i] = rows[j];
+                    rows[j] = row;
+                }
+            }
+
+            int count = 0;
+            for (int i = 0; i < n && count < limit; i++) {
+                int node = rows[i];
+                chosen[depth] = node;
+                for (int j = r[node]; j != node; j = r[j]) {
+                    cover(column[j]);
+                }
+                count += search(depth + 1, limit - count);
+                for (int j = l[node]; j != node; j = l[j]) {
+                    uncover(column[j]);
+                }
+            }
+            uncover(best);
+            return count;
+        }
+
+        private void cover(int c) {
+            r[l[c]] = r[c];
+            l[r[c]] = l[c];
+            for (int i = d[c]; i != c; i = d[i]) {
+                for (int j = r[i]; j != i; j = r[j]) {
+                    d[u[j]] = d[j];
+                    u[d[j]] = u[j];
+                    s[column[j]]--;
+                }
+            }
+        }
+
+        private void uncover(int c) {
+            for (int i = u[c]; i != c; i = u[i]) {
+                for (int j = l[i]; j != i; j = l[j]) {
+                    s[column[j]]++;
+                    d[u[j]] = j;
+                    u[d[j]] = j;
+                }
+            }
+            r[l[c]] = c;
+            l[r[c]] = c;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package edu.rpi.legup.puzzle.sudoku.rules;
 
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.BoardAnalysis;
 import edu.rpi.legup.model.rules.ContradictionRule;
 import edu.rpi.legup.puzzle.sudoku.SudokuBoard;
 import edu.rpi.legup.puzzle.sudoku.SudokuCell;
@@ -10,6 +11,11 @@ import java.util.Set;
 
 public class NoCellForNumberColumnContradictionRule extends ContradictionRule {
 
+    // whether each group index has a contradiction, filled in as the groups are checked
+    private static final BoardAnalysis.Key<Boolean[]> CONTRADICTIONS =
+            new BoardAnalysis.Key<>(
+                    analysis -> new Boolean[((SudokuBoard) analysis.getBoard()).getSize()]);
+
     public NoCellForNumberColumnContradictionRule() {
         super(
                 "SUDO-CONT-0003",
@@ -34,10 +40,56 @@ public class NoCellForNumberColumnContradictionRule extends ContradictionRule {
         if (cell.getData() != 0) {
             return super.getNoContradictionMessage();
         }
+        return hasNoCellForNumber(sudokuBoard, cell.getGroupIndex())
+                ? null
+                : super.getNoContradictionMessage();
+    }
+
+    /**
+     * Checks whether the board has a contradiction at the specific {@link PuzzleElement} index
+     * using this rule, reusing the results of the groups already checked on the board
+     *
+     * @param board board to check contradiction
+     * @param puzzleElement equivalent puzzleElement
+     * @param analysis analysis of the board
+     * @return null if the board contains a contradiction at the specified puzzleElement,
+     *     otherwise error message
+     */
+    @Override
+    public String checkContradictionAt(
+            Board board, PuzzleElement puzzleElement, BoardAnalysis analysis) {
+        SudokuBoard sudokuBoard = (SudokuBoard) board;
+        SudokuCell cell = (SudokuCell) sudokuBoard.getPuzzleElement(puzzleElement);
+        if (cell.getData() != 0) {
+            return super.getNoContradictionMessage();
+        }
+
+        // the result only depends on the group index of the cell, checked once per group
+        Boolean[] contradictions = analysis.get(CONTRADICTIONS);
+        int groupIndex = cell.getGroupIndex();
+        if (contradictions[groupIndex] == null) {
+            contradictions[groupIndex] = hasNoCellForNumber(sudokuBoard, groupIndex);
+        }
+        return contradictions[groupIndex] ? null : super.getNoContradictionMessage();
+    }
 
+    @Override
+    protected boolean isCandidate(Board board, PuzzleElement puzzleElement) {
+        return ((SudokuCell) puzzleElement).getData() == 0;
+    }
+
+    /**
+     * Checks whether a number missing from the column of a group index cannot be placed in any of
+     * its empty cells
+     *
+     * @param sudokuBoard board to check
+     * @param groupIndex group index of the empty cell being checked
+     * @return true if some number has no cell left in the column, false otherwise
+     */
+    private static boolean hasNoCellForNumber(SudokuBoard sudokuBoard, int groupIndex) {
         int groupSize = sudokuBoard.getSize();
 
-        Set<SudokuCell> col = sudokuBoard.getCol(cell.getGroupIndex());
+        Set<SudokuCell> col = sudokuBoard.getCol(groupIndex);
         Set<Integer> numbersNotInColumn = new HashSet<>();
 
         for (int i = 1; i <= groupSize; i++) {
@@ -82,9 +134,9 @@ public class NoCellForNumberColumnContradictionRule extends ContradictionRule {
             }
             // If the number can't fit anywhere in region then contradiction
             if (!canFit) {
-                return null;
+                return true;
             }
         }
-        return super.getNoContradictionMessage();
+        return false;
     }
 }
@@ -59,4 +59,9 @@ public class NoNumberForCellContradictionRule extends ContradictionRule {
 
         return super.getNoContradictionMessage();
     }
+
+    @Override
+    protected boolean isCandidate(Board board, PuzzleElement puzzleElement) {
+        return ((SudokuCell) puzzleElement).getData() == 0;
+    }
 }
@@ -3,6 +3,7 @@ package edu.rpi.legup.puzzle.sudoku.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.CaseBoard;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.CaseDelta;
 import edu.rpi.legup.model.rules.CaseRule;
 import edu.rpi.legup.model.tree.TreeTransition;
 import edu.rpi.legup.puzzle.sudoku.GroupType;
@@ -10,6 +11,8 @@ import edu.rpi.legup.puzzle.sudoku.ModelSudokuBoard;
 import edu.rpi.legup.puzzle.sudoku.SudokuBoard;
 import edu.rpi.legup.puzzle.sudoku.SudokuCell;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 public class PossibleCellsForNumberColumnCaseRule extends CaseRule {
@@ -17,9 +20,6 @@ public class PossibleCellsForNumberColumnCaseRule extends CaseRule {
     // Board math for translating indexes to numbers
     private ModelSudokuBoard model = new ModelSudokuBoard();
 
-    // Old board for caseBoard reference
-    private SudokuBoard lagBoard;
-
     public PossibleCellsForNumberColumnCaseRule() {
         super(
                 "SUDO-CASE-0004",
@@ -56,8 +56,9 @@ public class PossibleCellsForNumberColumnCaseRule extends CaseRule {
     @Override
     public CaseBoard getCaseBoard(Board board) {
         SudokuBoard sudokuBoard = (SudokuBoard) board.copy();
-        lagBoard = (SudokuBoard) sudokuBoard.copy();
         CaseBoard caseBoard = new CaseBoard(sudokuBoard, this);
+        // the cells show the number picking them splits on, so the cases come from another copy
+        caseBoard.setSourceBoard(board.copy());
         for (PuzzleElement puzzleElement : sudokuBoard.getPuzzleElements()) {
             puzzleElement.setData(model.getModelColumnNumbers(puzzleElement.getIndex()));
             caseBoard.addPickableElement(puzzleElement);
@@ -88,20 +89,28 @@ public class PossibleCellsForNumberColumnCaseRule extends CaseRule {
      */
     public ArrayList<Board> getCases(
             Board board, PuzzleElement puzzleElement, int value, GroupType groupType) {
-        ArrayList<Board> cases = new ArrayList<>();
-        SudokuBoard sudokuBoard = lagBoard;
+        return materializeCases(board, puzzleElement);
+    }
+
+    /**
+     * Gets the possible cases at a specific location without copying the board
+     *
+     * @param board the current board state
+     * @param puzzleElement equivalent puzzleElement
+     * @return an iterator over the cases
+     */
+    @Override
+    public Iterator<CaseDelta> getCaseDeltas(Board board, PuzzleElement puzzleElement) {
+        List<CaseDelta> cases = new ArrayList<>();
+        SudokuBoard sudokuBoard = (SudokuBoard) board;
         SudokuCell sourceCell = (SudokuCell) puzzleElement;
 
         Set<SudokuCell> group = sudokuBoard.getCol(sourceCell.getLocation().x);
         for (SudokuCell cell : group) {
             if (cell.getData() == 0) {
-                Board newCase = sudokuBoard.copy();
-                PuzzleElement element = newCase.getPuzzleElement(cell);
-                element.setData(model.getModelColumnNumbers(sourceCell.getIndex()));
-                newCase.addModifiedData(element);
-                cases.add(newCase);
+                cases.add(CaseDelta.of(cell, model.getModelColumnNumbers(sourceCell.getIndex())));
             }
         }
-        return cases;
+        return cases.iterator();
     }
 }
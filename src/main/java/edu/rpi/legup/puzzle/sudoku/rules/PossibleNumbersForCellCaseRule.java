@@ -3,10 +3,12 @@ package edu.rpi.legup.puzzle.sudoku.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.CaseBoard;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.CaseDelta;
 import edu.rpi.legup.model.rules.CaseRule;
 import edu.rpi.legup.model.tree.TreeTransition;
 import edu.rpi.legup.puzzle.sudoku.*;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 public class PossibleNumbersForCellCaseRule extends CaseRule {
@@ -79,23 +81,27 @@ public class PossibleNumbersForCellCaseRule extends CaseRule {
      */
     public ArrayList<Board> getCases(
             Board board, PuzzleElement puzzleElement, int value, GroupType groupType) {
-        ArrayList<Board> cases = new ArrayList<>();
+        return materializeCases(board, puzzleElement);
+    }
+
+    /**
+     * Gets the possible cases at a specific location without copying the board
+     *
+     * @param board the current board state
+     * @param puzzleElement equivalent puzzleElement
+     * @return an iterator over the cases, one for each number
+     */
+    @Override
+    public Iterator<CaseDelta> getCaseDeltas(Board board, PuzzleElement puzzleElement) {
+        List<CaseDelta> cases = new ArrayList<>();
         if (puzzleElement == null) {
-            return cases;
+            return cases.iterator();
         }
 
-        SudokuBoard sudokuBoard = (SudokuBoard) board;
-        List<SudokuCell> caseCells = new ArrayList<>();
-        SudokuCell cell = (SudokuCell) puzzleElement;
-
         for (int i = 1; i <= 9; i++) {
-            Board newCase = sudokuBoard.copy();
-            PuzzleElement element = newCase.getPuzzleElement(puzzleElement);
-            element.setData(i);
-            newCase.addModifiedData(element);
-            cases.add(newCase);
+            cases.add(CaseDelta.of(puzzleElement, i));
         }
 
-        return cases;
+        return cases.iterator();
     }
 }
@@ -78,4 +78,10 @@ public class RepeatedNumberContradictionRule extends ContradictionRule {
 
         return super.getNoContradictionMessage();
     }
+
+    @Override
+    protected boolean isCandidate(Board board, PuzzleElement puzzleElement) {
+        // the whole board is checked whichever element is given, so one element is enough
+        return puzzleElement.getIndex() == 0;
+    }
 }
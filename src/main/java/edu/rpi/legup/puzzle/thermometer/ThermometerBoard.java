@@ -1,8 +1,11 @@
 package edu.rpi.legup.puzzle.thermometer;
 
 import edu.rpi.legup.model.gameboard.GridBoard;
+import edu.rpi.legup.model.gameboard.GridCell;
+import edu.rpi.legup.model.gameboard.PuzzleElement;
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 public class ThermometerBoard extends GridBoard {
 
@@ -16,10 +19,20 @@ public class ThermometerBoard extends GridBoard {
 
     private ThermometerCell dummyCell;
 
+    // the vial and the position in it of each cell, by cell index, -1 for the number cells
+    private int[] vialAt;
+    private int[] positionAt;
+    private ThermometerVialIndex vialIndex;
+
     // constructors for the boards and variables
     public ThermometerBoard(int width, int height) {
         super(width, height);
 
+        vialAt = new int[width * height];
+        positionAt = new int[width * height];
+        Arrays.fill(vialAt, -1);
+        Arrays.fill(positionAt, -1);
+
         // initializing the row/col number arrays with zeros, so they can be
         // easily updated using the setRow/ColNumber functions
         colNumbers = new ArrayList<>();
@@ -30,7 +43,7 @@ public class ThermometerBoard extends GridBoard {
                             ThermometerType.UNKNOWN,
                             ThermometerFill.UNKNOWN,
                             0);
-            cell.setIndex((height - 1) * height + i);
+            cell.setIndex((height - 1) * width + i);
             colNumbers.add(cell);
             this.setCell(i, height - 1, cell);
         }
@@ -42,7 +55,7 @@ public class ThermometerBoard extends GridBoard {
                             ThermometerType.UNKNOWN,
                             ThermometerFill.UNKNOWN,
                             0);
-            cell.setIndex(i * height + (width - 1));
+            cell.setIndex(i * width + (width - 1));
             rowNumbers.add(cell);
             this.setCell(width - 1, i, cell);
         }
@@ -54,7 +67,7 @@ public class ThermometerBoard extends GridBoard {
                         ThermometerType.UNKNOWN,
                         ThermometerFill.UNKNOWN,
                         -1);
-        dummyCell.setIndex((height - 1) * height + width);
+        dummyCell.setIndex((height - 1) * width + (width - 1));
         this.setCell(width - 1, height - 1, dummyCell);
 
         // creating our empty vial of thermometers to add to
@@ -63,7 +76,14 @@ public class ThermometerBoard extends GridBoard {
 
     // setters and accessors for our array of vials
     public void addVial(ThermometerVial v) {
+        ArrayList<ThermometerCell> cells = v.getCells();
+        for (int i = 0; i < cells.size(); i++) {
+            Point loc = cells.get(i).getLocation();
+            vialAt[loc.y * getWidth() + loc.x] = thermometerVials.size();
+            positionAt[loc.y * getWidth() + loc.x] = i;
+        }
         thermometerVials.add(v);
+        vialIndex = null;
     }
 
     public ArrayList<ThermometerVial> getVials() {
@@ -76,6 +96,7 @@ public class ThermometerBoard extends GridBoard {
         // second check is to verify the new number can be achieved by the puzzle
         if (row < rowNumbers.size() && num <= colNumbers.size()) {
             rowNumbers.get(row).setRotation(num);
+            vialIndex = null;
             return true;
         }
         return false;
@@ -86,6 +107,7 @@ public class ThermometerBoard extends GridBoard {
         // second check is to verify the new number can be achieved by the puzzle
         if (col < colNumbers.size() && num <= rowNumbers.size()) {
             colNumbers.get(col).setRotation(num);
+            vialIndex = null;
             return true;
         }
         return false;
@@ -98,7 +120,7 @@ public class ThermometerBoard extends GridBoard {
     }
 
     public int getColNumber(int col) {
-        if (col < 0 || col >= rowNumbers.size()) return -1;
+        if (col < 0 || col >= colNumbers.size()) return -1;
         return colNumbers.get(col).getRotation();
     }
 
@@ -111,29 +133,109 @@ public class ThermometerBoard extends GridBoard {
         return colNumbers;
     }
 
-    // we all suck at programming so instead of using provided array list
-    // we use our own array lists to keep track of the vials
-    // marginally useful because it means we are guaranteed to get a
-    // thermometer cell when calling get cell, but using some type casting
-    // this override function could very likely be refactored out
+    // gets the vial holding the cell at a location, null for the number cells
+    public ThermometerVial getVialAt(int x, int y) {
+        int vial = getVialNumber(x, y);
+        return vial < 0 ? null : thermometerVials.get(vial);
+    }
+
+    // gets the position of the cell at a location in its vial counting from the head, -1 for the
+    // number cells
+    public int getVialPosition(int x, int y) {
+        if (x < 0 || y < 0 || x >= getWidth() || y >= getHeight()) return -1;
+        return positionAt[y * getWidth() + x];
+    }
+
+    // gets the index in getVials() of the vial holding the cell at a location, -1 for the number
+    // cells
+    public int getVialNumber(int x, int y) {
+        if (x < 0 || y < 0 || x >= getWidth() || y >= getHeight()) return -1;
+        return vialAt[y * getWidth() + x];
+    }
+
+    /**
+     * Gets the vial index of the board, built on first use and updated whenever the fill of one of
+     * its cells changes
+     *
+     * @return vial index of the board
+     */
+    public ThermometerVialIndex getVialIndex() {
+        if (vialIndex == null) {
+            vialIndex = new ThermometerVialIndex(this);
+        }
+        return vialIndex;
+    }
+
+    void onCellChanged(ThermometerCell cell) {
+        Point loc = cell.getLocation();
+        if (vialIndex != null && getCell(loc.x, loc.y) == cell) {
+            vialIndex.update(cell);
+        }
+    }
+
+    // every cell of the board is stored in the grid, so vial cells can be found by location
+    // directly; out of bounds locations give null
     @Override
     public ThermometerCell getCell(int x, int y) {
-        for (ThermometerVial vial : this.thermometerVials) {
-            for (ThermometerCell cell : vial.getCells()) {
-                if (cell.getLocation().x == x && cell.getLocation().y == y) return cell;
-            }
-        }
+        if (x < 0 || y < 0 || x >= getWidth() || y >= getHeight()) return null;
+        return (ThermometerCell) super.getCell(x, y);
+    }
 
-        for (ThermometerCell cell : rowNumbers) {
-            if (cell.getLocation().x == x && cell.getLocation().y == y) return cell;
+    // keeps the vials pointing at the cells of the board when a cell is replaced
+    @Override
+    public void setCell(int x, int y, GridCell cell) {
+        super.setCell(x, y, cell);
+        if (cell instanceof ThermometerCell) {
+            ((ThermometerCell) cell).setBoard(this);
+            ThermometerVial vial = getVialAt(x, y);
+            if (vial != null) {
+                vial.setCell(getVialPosition(x, y), (ThermometerCell) cell);
+            }
         }
+        vialIndex = null;
+    }
 
-        for (ThermometerCell cell : colNumbers) {
-            if (cell.getLocation().x == x && cell.getLocation().y == y) return cell;
+    // keeps the vials pointing at the cells of the board and updates the vial index in place
+    @Override
+    public void setPuzzleElement(int index, PuzzleElement puzzleElement) {
+        super.setPuzzleElement(index, puzzleElement);
+        if (puzzleElement instanceof ThermometerCell
+                && getPuzzleElement(puzzleElement) == puzzleElement) {
+            ThermometerCell cell = (ThermometerCell) puzzleElement;
+            Point loc = cell.getLocation();
+            cell.setBoard(this);
+            ThermometerVial vial = getVialAt(loc.x, loc.y);
+            if (vial != null) {
+                vial.setCell(getVialPosition(loc.x, loc.y), cell);
+            }
+            onCellChanged(cell);
         }
+    }
 
-        if (x == this.getWidth() - 1 && y == this.getHeight() - 1) return dummyCell;
+    @Override
+    public void notifyChange(PuzzleElement puzzleElement) {
+        ThermometerCell cell = (ThermometerCell) puzzleElement;
+        setCell(cell.getLocation().x, cell.getLocation().y, cell);
+    }
 
-        return null;
+    @Override
+    public ThermometerBoard copy() {
+        ThermometerBoard copy = new ThermometerBoard(getWidth(), getHeight());
+        for (int i = 0; i < rowNumbers.size(); i++) {
+            copy.setRowNumber(i, getRowNumber(i));
+        }
+        for (int i = 0; i < colNumbers.size(); i++) {
+            copy.setColNumber(i, getColNumber(i));
+        }
+        for (ThermometerVial vial : thermometerVials) {
+            copy.addVial(vial.copy(copy));
+        }
+        for (PuzzleElement e : modifiedData) {
+            copy.getPuzzleElement(e).setModifiable(false);
+        }
+        if (vialIndex != null) {
+            copy.vialIndex = vialIndex.copy();
+        }
+        return copy;
     }
 }
@@ -9,6 +9,7 @@ public class ThermometerCell extends GridCell<Integer> {
     private ThermometerType type;
     private ThermometerFill fill;
     private int rotation;
+    private ThermometerBoard board;
 
     public ThermometerCell(Point location, ThermometerType t, ThermometerFill f, int r) {
         // since we do not use get/set data value int can be any value
@@ -27,8 +28,13 @@ public class ThermometerCell extends GridCell<Integer> {
         return type;
     }
 
+    // also updates the vial index of the board holding the cell
     public void setFill(ThermometerFill f) {
+        ThermometerFill old = fill;
         fill = f;
+        if (board != null && old != f) {
+            board.onCellChanged(this);
+        }
     }
 
     public ThermometerFill getFill() {
@@ -43,6 +49,10 @@ public class ThermometerCell extends GridCell<Integer> {
         return rotation;
     }
 
+    void setBoard(ThermometerBoard board) {
+        this.board = board;
+    }
+
     @Override
     public ThermometerCell copy() {
         ThermometerCell copy =
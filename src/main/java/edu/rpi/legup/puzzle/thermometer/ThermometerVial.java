@@ -2,6 +2,7 @@ package edu.rpi.legup.puzzle.thermometer;
 
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.List;
 
 public class ThermometerVial {
     private ArrayList<ThermometerCell> cells;
@@ -13,6 +14,21 @@ public class ThermometerVial {
         fillData(headX, headY, tipX, tipY, board);
     }
 
+    private ThermometerVial(List<ThermometerCell> cells) {
+        this.cells = new ArrayList<>(cells);
+    }
+
+    // copies the cells of the vial onto another board
+    public ThermometerVial copy(ThermometerBoard board) {
+        ArrayList<ThermometerCell> copies = new ArrayList<>();
+        for (ThermometerCell cell : cells) {
+            ThermometerCell copy = cell.copy();
+            copies.add(copy);
+            board.setCell(cell.getLocation().x, cell.getLocation().y, copy);
+        }
+        return new ThermometerVial(copies);
+    }
+
     // function called by the constructor which adds in all of the cells to the array
     // as well as updates their type on the board
     private void fillData(int headX, int headY, int tipX, int tipY, ThermometerBoard board) {
@@ -51,26 +67,33 @@ public class ThermometerVial {
     private void addCell(int x, int y, ThermometerType t, int rotation, ThermometerBoard board) {
         ThermometerCell cell =
                 new ThermometerCell(new Point(x, y), t, ThermometerFill.EMPTY, rotation);
-        cell.setIndex(y * board.getHeight() + x);
+        cell.setIndex(y * board.getWidth() + x);
         this.cells.add(cell);
         // still important for element view stuff
         board.setCell(x, y, cell);
     }
 
-    // TODO (probably) DOES NOT WORK AS INTENDED
-    // BECAUSE MOST RULES GET A PUZZLE ELEMENT PASSED IN AND WEIRD
-    // TYPE CASTING STUFF, PAY ATTENTION TO THIS WHEN WE START
-    // DEBUGGING RULES
-    // a basic accessor to check if a cell is contained in vial
+    // a basic accessor to check if a cell is contained in vial, cells are compared by location
+    // since the board may hold a copy of the cell
     public boolean containsCell(ThermometerCell cell) {
         for (ThermometerCell c : cells) {
-            if (c.getLocation() == cell.getLocation()) {
+            if (c.getLocation().equals(cell.getLocation())) {
                 return true;
             }
         }
         return false;
     }
 
+    // replaces the cell at a position, used by the board when one of its cells is replaced
+    void setCell(int position, ThermometerCell cell) {
+        cells.set(position, cell);
+    }
+
+    // Returns the number of cells in the vial
+    public int getLength() {
+        return cells.size();
+    }
+
     // Returns cell containing head of thermometer
     public ThermometerCell getHead() {
         return cells.getFirst();
@@ -0,0 +1,354 @@
+package edu.rpi.legup.puzzle.thermometer;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The {@code ThermometerVialIndex} class keeps track of the fill of the vials of a {@link
+ * ThermometerBoard} so the Thermometer rules can check a cell without scanning its vial, row or
+ * column. For each vial it stores how far the mercury is known to reach: the filled cells from the
+ * head, the blocked cells from the tip, the last filled and the first blocked cell. For each row
+ * and column it counts the filled, blocked and empty cells.
+ *
+ * <p>Changing the fill of a cell updates the counts of its row and column directly and recomputes
+ * the state of its vial, which takes time proportional to the length of the vial.
+ */
+public class ThermometerVialIndex {
+    private final int width;
+    private final int height;
+    private final int boardWidth;
+
+    // grid indexes of the cells of each vial from head to tip, and the vial of each grid index
+    private final int[][] vialCells;
+    private final int[] vialOf;
+    private final ThermometerFill[] fills;
+
+    private final int[] filledPrefix;
+    private final int[] blockedSuffix;
+    private final int[] lastFilled;
+    private final int[] firstBlocked;
+
+    private final int[] rowFilled;
+    private final int[] rowBlocked;
+    private final int[] rowEmpty;
+    private final int[] colFilled;
+    private final int[] colBlocked;
+    private final int[] colEmpty;
+    private final int[] rowClues;
+    private final int[] colClues;
+
+    /**
+     * ThermometerVialIndex Constructor creates the index of the vials and numbers of a board
+     *
+     * @param board board to index
+     */
+    public ThermometerVialIndex(ThermometerBoard board) {
+        this.width = board.getWidth() - 1;
+        this.height = board.getHeight() - 1;
+        this.boardWidth = board.getWidth();
+
+        ArrayList<ThermometerVial> vials = board.getVials();
+        int count = vials.size();
+        this.vialCells = new int[count][];
+        this.vialOf = new int[board.getWidth() * board.getHeight()];
+        this.fills = new ThermometerFill[vialOf.length];
+        this.filledPrefix = new int[count];
+        this.blockedSuffix = new int[count];
+        this.lastFilled = new int[count];
+        this.firstBlocked = new int[count];
+        this.rowFilled = new int[height];
+        this.rowBlocked = new int[height];
+        this.rowEmpty = new int[height];
+        this.colFilled = new int[width];
+        this.colBlocked = new int[width];
+        this.colEmpty = new int[width];
+        this.rowClues = new int[height];
+        this.colClues = new int[width];
+
+        Arrays.fill(vialOf, -1);
+        for (int v = 0; v < count; v++) {
+            ArrayList<ThermometerCell> cells = vials.get(v).getCells();
+            vialCells[v] = new int[cells.size()];
+            for (int p = 0; p < cells.size(); p++) {
+                Point loc = cells.get(p).getLocation();
+                int i = loc.y * boardWidth + loc.x;
+                vialCells[v][p] = i;
+                vialOf[i] = v;
+                fills[i] = cells.get(p).getFill();
+                count(i, 1);
+            }
+            updateVial(v);
+        }
+        for (int y = 0; y < height; y++) {
+            rowClues[y] = board.getRowNumber(y);
+        }
+        for (int x = 0; x < width; x++) {
+            colClues[x] = board.getColNumber(x);
+        }
+    }
+
+    private ThermometerVialIndex(ThermometerVialIndex index) {
+        this.width = index.width;
+        this.height = index.height;
+        this.boardWidth = index.boardWidth;
+        this.vialCells = index.vialCells;
+        this.vialOf = index.vialOf;
+        this.fills = index.fills.clone();
+        this.filledPrefix = index.filledPrefix.clone();
+        this.blockedSuffix = index.blockedSuffix.clone();
+        this.lastFilled = index.lastFilled.clone();
+        this.firstBlocked = index.firstBlocked.clone();
+        this.rowFilled = index.rowFilled.clone();
+        this.rowBlocked = index.rowBlocked.clone();
+        this.rowEmpty = index.rowEmpty.clone();
+        this.colFilled = index.colFilled.clone();
+        this.colBlocked = index.colBlocked.clone();
+        this.colEmpty = index.colEmpty.clone();
+        this.rowClues = index.rowClues;
+        this.colClues = index.colClues;
+    }
+
+    /**
+     * Creates a copy of this index, the vials and numbers never change so they are shared
+     *
+     * @return copy of the index
+     */
+    public ThermometerVialIndex copy() {
+        return new ThermometerVialIndex(this);
+    }
+
+    /**
+     * Updates the index after the fill of a cell changed
+     *
+     * @param cell cell whose fill changed
+     */
+    public void update(ThermometerCell cell) {
+        Point loc = cell.getLocation();
+        int i = loc.y * boardWidth + loc.x;
+        if (i < 0 || i >= vialOf.length || vialOf[i] < 0) {
+            return;
+        }
+        count(i, -1);
+        fills[i] = cell.getFill();
+        count(i, 1);
+        updateVial(vialOf[i]);
+    }
+
+    /**
+     * Gets the number of columns of vial cells, the board has one more for the row numbers
+     *
+     * @return width of the vial grid
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the number of rows of vial cells, the board has one more for the column numbers
+     *
+     * @return height of the vial grid
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    public int getVialCount() {
+        return vialCells.length;
+    }
+
+    /**
+     * Gets the vial holding the cell at a location
+     *
+     * @param x x location of the cell
+     * @param y y location of the cell
+     * @return index of the vial in the vials of the board, -1 if the cell is not in a vial
+     */
+    public int getVial(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return -1;
+        }
+        return vialOf[y * boardWidth + x];
+    }
+
+    /**
+     * Gets the fill of the cell at a location
+     *
+     * @param x x location of the cell
+     * @param y y location of the cell
+     * @return fill of the cell, null if the cell is not in a vial
+     */
+    public ThermometerFill getFill(int x, int y) {
+        return getVial(x, y) < 0 ? null : fills[y * boardWidth + x];
+    }
+
+    public int getLength(int vial) {
+        return vialCells[vial].length;
+    }
+
+    /**
+     * Gets the location of a cell of a vial
+     *
+     * @param vial index of the vial
+     * @param position position of the cell counting from the head
+     * @return location of the cell
+     */
+    public Point getLocation(int vial, int position) {
+        int i = vialCells[vial][position];
+        return new Point(i % boardWidth, i / boardWidth);
+    }
+
+    /**
+     * Gets the number of filled cells at the head of a vial before any empty or blocked cell
+     *
+     * @param vial index of the vial
+     * @return length of the filled prefix
+     */
+    public int getFilledPrefix(int vial) {
+        return filledPrefix[vial];
+    }
+
+    /**
+     * Gets the number of blocked cells at the tip of a vial after any empty or filled cell
+     *
+     * @param vial index of the vial
+     * @return length of the blocked suffix
+     */
+    public int getBlockedSuffix(int vial) {
+        return blockedSuffix[vial];
+    }
+
+    /**
+     * Gets the position of the filled cell of a vial closest to the tip
+     *
+     * @param vial index of the vial
+     * @return position of the last filled cell, -1 if no cell is filled
+     */
+    public int getLastFilled(int vial) {
+        return lastFilled[vial];
+    }
+
+    /**
+     * Gets the position of the blocked cell of a vial closest to the head
+     *
+     * @param vial index of the vial
+     * @return position of the first blocked cell, the length of the vial if no cell is blocked
+     */
+    public int getFirstBlocked(int vial) {
+        return firstBlocked[vial];
+    }
+
+    /**
+     * Determines whether the filled cells of a vial all come before its other cells
+     *
+     * @param vial index of the vial
+     * @return true if the mercury of the vial is continuous, false otherwise
+     */
+    public boolean isContinuous(int vial) {
+        return lastFilled[vial] < filledPrefix[vial];
+    }
+
+    /**
+     * Gets the lowest number of cells of a vial the mercury can fill, up to its last filled cell
+     *
+     * @param vial index of the vial
+     * @return lowest mercury level
+     */
+    public int getMinLevel(int vial) {
+        return lastFilled[vial] + 1;
+    }
+
+    /**
+     * Gets the highest number of cells of a vial the mercury can fill, up to its first blocked
+     * cell. The level is lower than {@link #getMinLevel(int)} if the vial cannot be filled.
+     *
+     * @param vial index of the vial
+     * @return highest mercury level
+     */
+    public int getMaxLevel(int vial) {
+        return firstBlocked[vial];
+    }
+
+    public int getRowFilled(int y) {
+        return rowFilled[y];
+    }
+
+    public int getRowBlocked(int y) {
+        return rowBlocked[y];
+    }
+
+    public int getRowEmpty(int y) {
+        return rowEmpty[y];
+    }
+
+    public int getColFilled(int x) {
+        return colFilled[x];
+    }
+
+    public int getColBlocked(int x) {
+        return colBlocked[x];
+    }
+
+    public int getColEmpty(int x) {
+        return colEmpty[x];
+    }
+
+    public int getRowClue(int y) {
+        return rowClues[y];
+    }
+
+    public int getColClue(int x) {
+        return colClues[x];
+    }
+
+    /**
+     * Determines whether a fill is not decided yet
+     *
+     * @param fill fill of a cell
+     * @return true if the fill is empty or unknown, false if the cell is filled or blocked
+     */
+    public static boolean isEmpty(ThermometerFill fill) {
+        return fill != ThermometerFill.FILLED && fill != ThermometerFill.BLOCKED;
+    }
+
+    private void count(int i, int delta) {
+        int x = i % boardWidth;
+        int y = i / boardWidth;
+        if (fills[i] == ThermometerFill.FILLED) {
+            rowFilled[y] += delta;
+            colFilled[x] += delta;
+        } else if (fills[i] == ThermometerFill.BLOCKED) {
+            rowBlocked[y] += delta;
+            colBlocked[x] += delta;
+        } else {
+            rowEmpty[y] += delta;
+            colEmpty[x] += delta;
+        }
+    }
+
+    private void updateVial(int vial) {
+        int[] cells = vialCells[vial];
+        int prefix = 0;
+        while (prefix < cells.length && fills[cells[prefix]] == ThermometerFill.FILLED) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < cells.length
+                && fills[cells[cells.length - 1 - suffix]] == ThermometerFill.BLOCKED) {
+            suffix++;
+        }
+        int last = -1;
+        int first = cells.length;
+        for (int p = 0; p < cells.length; p++) {
+            if (fills[cells[p]] == ThermometerFill.FILLED) {
+                last = p;
+            } else if (fills[cells[p]] == ThermometerFill.BLOCKED && first == cells.length) {
+                first = p;
+            }
+        }
+        filledPrefix[vial] = prefix;
+        blockedSuffix[vial] = suffix;
+        lastFilled[vial] = last;
+        firstBlocked[vial] = first;
+    }
+}
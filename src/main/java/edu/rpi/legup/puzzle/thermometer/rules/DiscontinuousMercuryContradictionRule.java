@@ -5,10 +5,8 @@ import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.ContradictionRule;
 import edu.rpi.legup.puzzle.thermometer.ThermometerBoard;
 import edu.rpi.legup.puzzle.thermometer.ThermometerCell;
-import edu.rpi.legup.puzzle.thermometer.ThermometerVial;
-import java.util.ArrayList;
+import edu.rpi.legup.puzzle.thermometer.ThermometerVialIndex;
 
-// TODO: Rule is untested
 public class DiscontinuousMercuryContradictionRule extends ContradictionRule {
 
     private final String NO_CONTRADICTION_MESSAGE =
@@ -35,28 +33,21 @@ public class DiscontinuousMercuryContradictionRule extends ContradictionRule {
     // User can click on any cell in a vial with a discontinuous flow
     @Override
     public String checkContradictionAt(Board board, PuzzleElement puzzleElement) {
-        // useful variables
         ThermometerBoard thermometerBoard = (ThermometerBoard) board;
-
         ThermometerCell cell = (ThermometerCell) thermometerBoard.getPuzzleElement(puzzleElement);
 
-        ArrayList<ThermometerVial> thermometerVials = thermometerBoard.getVials();
-
         // finding out which vial contains the specified cell
-        for (int i = 0; i < thermometerVials.size(); i++) {
-            ThermometerVial thermometerVial = thermometerVials.get(i);
-            // if a vial contains the clicked on cell
-            // checking if the vial has a break in the flow
-            if (thermometerVial.containsCell(cell)) {
-                if (thermometerVial.continuousFlow()) {
-                    return super.getNoContradictionMessage() + ": " + this.NO_CONTRADICTION_MESSAGE;
-                } else {
-                    return null;
-                }
-            }
+        ThermometerVialIndex index = thermometerBoard.getVialIndex();
+        int vial = index.getVial(cell.getLocation().x, cell.getLocation().y);
+        if (vial < 0) {
+            // if none of the vials contain the clicked on cell yell at user
+            return super.getInvalidUseOfRuleMessage() + ": " + this.INVALID_USE_MESSAGE;
         }
 
-        // if none of the vials contain the clicked on cell yell at user
-        return super.getInvalidUseOfRuleMessage() + ": " + this.INVALID_USE_MESSAGE;
+        // checking if the vial has a break in the flow
+        if (index.isContinuous(vial)) {
+            return super.getNoContradictionMessage() + ": " + this.NO_CONTRADICTION_MESSAGE;
+        }
+        return null;
     }
 }
@@ -5,9 +5,16 @@ import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.DirectRule;
 import edu.rpi.legup.model.tree.TreeNode;
 import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.thermometer.ThermometerBoard;
+import edu.rpi.legup.puzzle.thermometer.ThermometerCell;
+import edu.rpi.legup.puzzle.thermometer.ThermometerFill;
+import edu.rpi.legup.puzzle.thermometer.ThermometerVialIndex;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
 
-// TODO: Rule is unimplemented
 public class FinishWithBlockedDirectRule extends DirectRule {
+
     public FinishWithBlockedDirectRule() {
         super(
                 "THERM-BASC-0004",
@@ -16,29 +23,51 @@ public class FinishWithBlockedDirectRule extends DirectRule {
                 "edu/rpi/legup/images/thermometer/FinishWithBlocked.png");
     }
 
-    /**
-     * Checks whether the child node logically follows from the parent node at the specific
-     * puzzleElement index using this rule
-     *
-     * @param transition transition to check
-     * @param puzzleElement equivalent puzzleElement
-     * @return null if the child node logically follow from the parent node at the specified
-     *     puzzleElement, otherwise error message
-     */
-    @Override
     public String checkRuleRawAt(TreeTransition transition, PuzzleElement puzzleElement) {
-        return null;
+        ThermometerBoard initialBoard =
+                (ThermometerBoard) transition.getParents().get(0).getBoard();
+        ThermometerBoard finalBoard = (ThermometerBoard) transition.getBoard();
+
+        ThermometerCell cell = (ThermometerCell) finalBoard.getPuzzleElement(puzzleElement);
+        if (cell.getFill() != ThermometerFill.BLOCKED) {
+            return super.getInvalidUseOfRuleMessage() + ": Cell is not blocked at this index";
+        }
+
+        Point loc = cell.getLocation();
+        ThermometerVialIndex index = initialBoard.getVialIndex();
+        if (index.getVial(loc.x, loc.y) < 0) {
+            return super.getInvalidUseOfRuleMessage() + ": Cell is not in a vial";
+        }
+        if (isForced(initialBoard, loc.x, loc.y)) {
+            return null;
+        }
+        return super.getInvalidUseOfRuleMessage()
+                + ": The row and column of this cell still need mercury";
+    }
+
+    // a cell must be blocked when its row or column has all the mercury of its number
+    private boolean isForced(ThermometerBoard board, int x, int y) {
+        ThermometerVialIndex index = board.getVialIndex();
+        return index.getRowFilled(y) >= index.getRowClue(y)
+                || index.getColFilled(x) >= index.getColClue(x);
     }
 
-    /**
-     * Creates a transition {@link Board} that has this rule applied to it using the {@link
-     * TreeNode}.
-     *
-     * @param node tree node used to create default transition board
-     * @return default board or null if this rule cannot be applied to this tree node
-     */
     @Override
     public Board getDefaultBoard(TreeNode node) {
-        return null;
+        ThermometerBoard board = (ThermometerBoard) node.getBoard().copy();
+        ThermometerVialIndex index = board.getVialIndex();
+        List<ThermometerCell> forced = new ArrayList<>();
+        for (int y = 0; y < index.getHeight(); y++) {
+            for (int x = 0; x < index.getWidth(); x++) {
+                if (ThermometerVialIndex.isEmpty(index.getFill(x, y)) && isForced(board, x, y)) {
+                    forced.add(board.getCell(x, y));
+                }
+            }
+        }
+        for (ThermometerCell cell : forced) {
+            cell.setFill(ThermometerFill.BLOCKED);
+            board.addModifiedData(cell);
+        }
+        return forced.isEmpty() ? null : board;
     }
 }
@@ -8,10 +8,11 @@ import edu.rpi.legup.model.tree.TreeTransition;
 import edu.rpi.legup.puzzle.thermometer.ThermometerBoard;
 import edu.rpi.legup.puzzle.thermometer.ThermometerCell;
 import edu.rpi.legup.puzzle.thermometer.ThermometerFill;
-import edu.rpi.legup.puzzle.thermometer.ThermometerVial;
+import edu.rpi.legup.puzzle.thermometer.ThermometerVialIndex;
+import java.awt.*;
 import java.util.ArrayList;
+import java.util.List;
 
-// TODO: Rule is untested
 public class RestEmptyDirectRule extends DirectRule {
 
     public RestEmptyDirectRule() {
@@ -22,15 +23,6 @@ public class RestEmptyDirectRule extends DirectRule {
                 "edu/rpi/legup/images/thermometer/RestIsEmpty.png");
     }
 
-    /**
-     * Checks whether the child node logically follows from the parent node at the specific
-     * puzzleElement index using this rule
-     *
-     * @param transition transition to check
-     * @param puzzleElement equivalent puzzleElement
-     * @return null if the child node logically follow from the parent node at the specified
-     *     puzzleElement, otherwise error message
-     */
     public String checkRuleRawAt(TreeTransition transition, PuzzleElement puzzleElement) {
         ThermometerBoard initialBoard =
                 (ThermometerBoard) transition.getParents().get(0).getBoard();
@@ -41,61 +33,41 @@ public class RestEmptyDirectRule extends DirectRule {
             return super.getInvalidUseOfRuleMessage() + ": Cell is not blocked at this index";
         }
 
-        ArrayList<ThermometerVial> allVials = finalBoard.getVials();
-        ThermometerVial host = null;
-        for (ThermometerVial vials : allVials) {
-            if (vials.containsCell((cell))) {
-                host = vials;
-            }
+        Point loc = cell.getLocation();
+        ThermometerVialIndex index = initialBoard.getVialIndex();
+        if (index.getVial(loc.x, loc.y) < 0) {
+            return super.getInvalidUseOfRuleMessage() + ": Cell is not in a vial";
         }
-        if (host == null) return super.getInvalidUseOfRuleMessage() + ": Something went wrong - 1";
-        int x = (int) cell.getLocation().getX();
-        int y = (int) cell.getLocation().getX();
-
-        // Identifies previous cell from head location, checks if it is blocked
-        if (host.getHead() == cell) {
-            return super.getInvalidUseOfRuleMessage() + ": rule can not apply to head";
-        } else if (host.getHead().getLocation().getX() == x) {
-            if (host.getHead().getLocation().getY() > y) {
-                if (initialBoard.getCell(x, y + 1).getFill() == ThermometerFill.BLOCKED) {
-                    return null;
-                } else {
-                    return super.getInvalidUseOfRuleMessage() + "rule does not apply to this cell";
-                }
-            } else if (host.getHead().getLocation().getY() < y) {
-                if (initialBoard.getCell(x, y - 1).getFill() == ThermometerFill.BLOCKED) {
-                    return null;
-                } else {
-                    return super.getInvalidUseOfRuleMessage() + "rule does not apply to this cell";
-                }
-            } else return super.getInvalidUseOfRuleMessage() + ": Something went wrong - 2";
-        } else if (host.getHead().getLocation().getY() == y) {
-            if (host.getHead().getLocation().getX() > x) {
-                if (initialBoard.getCell(x + 1, y).getFill() == ThermometerFill.BLOCKED) {
-                    return null;
-                } else {
-                    return super.getInvalidUseOfRuleMessage() + "rule does not apply to this cell";
-                }
-            } else if (host.getHead().getLocation().getX() < x) {
-                if (initialBoard.getCell(x - 1, y).getFill() == ThermometerFill.BLOCKED) {
-                    return null;
-                } else {
-                    return super.getInvalidUseOfRuleMessage() + "rule does not apply to this cell";
-                }
-            } else return super.getInvalidUseOfRuleMessage() + ": Something went wrong - 2.1";
+        if (isForced(initialBoard, loc.x, loc.y)) {
+            return null;
         }
-        return super.getInvalidUseOfRuleMessage() + "Something went wrong - 3";
+        return super.getInvalidUseOfRuleMessage()
+                + ": No cell before this one in its vial is blocked";
+    }
+
+    // a cell must be blocked when a cell closer to the head of its vial is blocked
+    private boolean isForced(ThermometerBoard board, int x, int y) {
+        ThermometerVialIndex index = board.getVialIndex();
+        int vial = index.getVial(x, y);
+        return vial >= 0 && index.getFirstBlocked(vial) < board.getVialPosition(x, y);
     }
 
-    /**
-     * Creates a transition {@link Board} that has this rule applied to it using the {@link
-     * TreeNode}.
-     *
-     * @param node tree node used to create default transition board
-     * @return default board or null if this rule cannot be applied to this tree node
-     */
     @Override
     public Board getDefaultBoard(TreeNode node) {
-        return null;
+        ThermometerBoard board = (ThermometerBoard) node.getBoard().copy();
+        ThermometerVialIndex index = board.getVialIndex();
+        List<ThermometerCell> forced = new ArrayList<>();
+        for (int y = 0; y < index.getHeight(); y++) {
+            for (int x = 0; x < index.getWidth(); x++) {
+                if (ThermometerVialIndex.isEmpty(index.getFill(x, y)) && isForced(board, x, y)) {
+                    forced.add(board.getCell(x, y));
+                }
+            }
+        }
+        for (ThermometerCell cell : forced) {
+            cell.setFill(ThermometerFill.BLOCKED);
+            board.addModifiedData(cell);
+        }
+        return forced.isEmpty() ? null : board;
     }
 }
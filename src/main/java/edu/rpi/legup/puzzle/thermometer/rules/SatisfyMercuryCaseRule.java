@@ -3,12 +3,18 @@ package edu.rpi.legup.puzzle.thermometer.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.CaseBoard;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.CaseDelta;
 import edu.rpi.legup.model.rules.CaseRule;
 import edu.rpi.legup.model.tree.TreeTransition;
 import edu.rpi.legup.puzzle.thermometer.*;
+import edu.rpi.legup.utility.Instrumentation;
+import edu.rpi.legup.utility.Instrumentation.Operation;
+import java.awt.*;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
-// TODO:This rule is unimplemented
 public class SatisfyMercuryCaseRule extends CaseRule {
     public SatisfyMercuryCaseRule() {
         super(
@@ -26,7 +32,27 @@ public class SatisfyMercuryCaseRule extends CaseRule {
      */
     @Override
     public String checkRuleRaw(TreeTransition transition) {
-        return null;
+        ThermometerBoard parent = (ThermometerBoard) transition.getParents().get(0).getBoard();
+        List<TreeTransition> childTransitions = transition.getParents().get(0).getChildren();
+        Board first = childTransitions.get(0).getBoard();
+        if (first.getModifiedData().isEmpty()) {
+            return super.getInvalidUseOfRuleMessage()
+                    + ": Each case must fill or block a cell of the row or column.";
+        }
+
+        // the cases are either those of the row or those of the column of a modified cell
+        Point loc = ((ThermometerCell) first.getModifiedData().iterator().next()).getLocation();
+        ThermometerVialIndex index = parent.getVialIndex();
+        if (loc.y < index.getHeight()
+                && matchesCases(childTransitions, collectCases(parent, loc.y, true))) {
+            return null;
+        }
+        if (loc.x < index.getWidth()
+                && matchesCases(childTransitions, collectCases(parent, loc.x, false))) {
+            return null;
+        }
+        return super.getInvalidUseOfRuleMessage()
+                + ": The cases must be every way to satisfy the number of a row or column.";
     }
 
     /**
@@ -47,16 +73,187 @@ public class SatisfyMercuryCaseRule extends CaseRule {
      * Gets the possible cases at a specific location based on this case rule
      *
      * @param board the current board state
-     * @param puzzleElement equivalent puzzleElement
+     * @param puzzleElement number cell of the row or column to satisfy
      * @return a list of elements the specified could be
      */
     @Override
     public ArrayList<Board> getCases(Board board, PuzzleElement puzzleElement) {
-        return null;
+        ThermometerBoard thermometerBoard = (ThermometerBoard) board;
+        Point loc = ((ThermometerCell) puzzleElement).getLocation();
+        if (loc.x == thermometerBoard.getWidth() - 1) {
+            return getCases(thermometerBoard, loc.y, true);
+        }
+        return getCases(thermometerBoard, loc.x, false);
     }
 
     @Override
     public CaseBoard getCaseBoard(Board board) {
-        return null;
+        ThermometerBoard thermometerBoard = (ThermometerBoard) board.copy();
+        CaseBoard caseBoard = new CaseBoard(thermometerBoard, this);
+        thermometerBoard.setModifiable(false);
+        ThermometerVialIndex index = thermometerBoard.getVialIndex();
+        for (int y = 0; y < index.getHeight(); y++) {
+            if (index.getRowEmpty(y) > 0) {
+                caseBoard.addPickableElement(thermometerBoard.getRowNumbers().get(y));
+            }
+        }
+        for (int x = 0; x < index.getWidth(); x++) {
+            if (index.getColEmpty(x) > 0) {
+                caseBoard.addPickableElement(thermometerBoard.getColNumbers().get(x));
+            }
+        }
+        return caseBoard;
+    }
+
+    /**
+     * Gets the ways the mercury of the vials crossing a row or column can reach its number. The
+     * mercury of each vial rises to some level between its last filled and its first blocked cell,
+     * which fills the cells of the line below that level and blocks the others.
+     *
+     * @param board the current board state
+     * @param line index of the row or column
+     * @param row true for a row, false for a column
+     * @return a board for each way to satisfy the number of the line
+     */
+    private ArrayList<Board> getCases(ThermometerBoard board, int line, boolean row) {
+        ArrayList<Board> cases = new ArrayList<>();
+        ThermometerVialIndex index = board.getVialIndex();
+        int length = row ? index.getWidth() : index.getHeight();
+        int clue = row ? index.getRowClue(line) : index.getColClue(line);
+
+        // positions of the cells of the line in each vial crossing it, from head to tip
+        Map<Integer, List<Integer>> positions = new LinkedHashMap<>();
+        for (int i = 0; i < length; i++) {
+            int x = row ? i : line;
+            int y = row ? line : i;
+            int vial = index.getVial(x, y);
+            if (vial >= 0) {
+                positions
+                        .computeIfAbsent(vial, v -> new ArrayList<>())
+                        .add(board.getVialPosition(x, y));
+            }
+        }
+
+        // the number of line cells each vial can fill
+        int[] vials = new int[positions.size()];
+        int[][] options = new int[positions.size()][];
+        int n = 0;
+        for (Map.Entry<Integer, List<Integer>> entry : positions.entrySet()) {
+            int vial = entry.getKey();
+            List<Integer> cells = entry.getValue();
+            cells.sort(null);
+            ArrayList<Integer> counts = new ArrayList<>();
+            for (int level = index.getMinLevel(vial); level <= index.getMaxLevel(vial); level++) {
+                int count = 0;
+                while (count < cells.size() && cells.get(count) < level) {
+                    count++;
+                }
+                if (counts.isEmpty() || counts.get(counts.size() - 1) != count) {
+                    counts.add(count);
+                }
+            }
+            if (counts.isEmpty()) {
+                return cases;
+            }
+            vials[n] = vial;
+            options[n] = counts.stream().mapToInt(Integer::intValue).toArray();
+            n++;
+        }
+
+        // the lowest and highest number of cells the remaining vials can fill
+        int[] minRest = new int[n + 1];
+        int[] maxRest = new int[n + 1];
+        for (int i = n - 1; i >= 0; i--) {
+            minRest[i] = minRest[i + 1] + options[i][0];
+            maxRest[i] = maxRest[i + 1] + options[i][options[i].length - 1];
+        }
+        addCases(board, positions, vials, options, minRest, maxRest, new int[n], 0, clue, cases);
+        return cases;
+    }
+
+    private void addCases(
+            ThermometerBoard board,
+            Map<Integer, List<Integer>> positions,
+            int[] vials,
+            int[][] options,
+            int[] minRest,
+            int[] maxRest,
+            int[] chosen,
+            int depth,
+            int remaining,
+            ArrayList<Board> cases) {
+        if (remaining < minRest[depth] || remaining > maxRest[depth]) {
+            return;
+        }
+        if (depth == vials.length) {
+            ThermometerBoard caseBoard = board.copy();
+            ThermometerVialIndex index = board.getVialIndex();
+            for (int i = 0; i < vials.length; i++) {
+                List<Integer> cells = positions.get(vials[i]);
+                for (int j = 0; j < cells.size(); j++) {
+                    Point loc = index.getLocation(vials[i], cells.get(j));
+                    ThermometerCell cell = caseBoard.getCell(loc.x, loc.y);
+                    ThermometerFill fill =
+                            j < chosen[i] ? ThermometerFill.FILLED : ThermometerFill.BLOCKED;
+                    if (cell.getFill() != fill) {
+                        cell.setFill(fill);
+                        caseBoard.addModifiedData(cell);
+                    }
+                }
+            }
+            cases.add(caseBoard);
+            return;
+        }
+        for (int count : options[depth]) {
+            chosen[depth] = count;
+            addCases(
+                    board,
+                    positions,
+                    vials,
+                    options,
+                    minRest,
+                    maxRest,
+                    chosen,
+                    depth + 1,
+                    remaining - count,
+                    cases);
+        }
+    }
+
+    /**
+     * Gets the changes of the ways the mercury can reach the number of a row or column, recording
+     * the time spent generating them
+     *
+     * @param board the current board state
+     * @param line index of the row or column
+     * @param row true for a row, false for a column
+     * @return the changes of each way to satisfy the number of the line
+     */
+    private List<CaseDelta> collectCases(ThermometerBoard board, int line, boolean row) {
+        long start = Instrumentation.start();
+        List<Board> cases = getCases(board, line, row);
+        List<CaseDelta> deltas = new ArrayList<>(cases.size());
+        for (Board caseBoard : cases) {
+            deltas.add(new CaseDelta(caseBoard.getModifiedData()));
+        }
+        Instrumentation.record(Operation.GET_CASES, getRuleID(), start);
+        return deltas;
+    }
+
+    /**
+     * Determines whether a cell modified by a child is a change of a case. Thermometer cells keep
+     * their state in their fill rather than their data, so the cells are matched by location and
+     * fill.
+     *
+     * @param change change made by a case
+     * @param element element modified by a child
+     * @return true if the element is the change, false otherwise
+     */
+    @Override
+    protected boolean matchesChange(PuzzleElement change, PuzzleElement element) {
+        ThermometerCell expected = (ThermometerCell) change;
+        ThermometerCell cell = (ThermometerCell) element;
+        return expected.getLocation().equals(cell.getLocation())
+                && expected.getFill() == cell.getFill();
     }
 }
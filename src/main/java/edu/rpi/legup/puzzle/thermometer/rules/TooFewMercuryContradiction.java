@@ -5,9 +5,8 @@ import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.ContradictionRule;
 import edu.rpi.legup.puzzle.thermometer.ThermometerBoard;
 import edu.rpi.legup.puzzle.thermometer.ThermometerCell;
-import edu.rpi.legup.puzzle.thermometer.ThermometerFill;
+import edu.rpi.legup.puzzle.thermometer.ThermometerVialIndex;
 
-// TODO: Rule is untested
 public class TooFewMercuryContradiction extends ContradictionRule {
 
     private final String Invalid_Use_Message = "Mercury can still reach limit";
@@ -30,28 +29,20 @@ public class TooFewMercuryContradiction extends ContradictionRule {
      *     otherwise error message
      */
     @Override
-    // Checks if row or column of input element has too many blocked tiles
+    // Checks if row or column of input element has too many blocked tiles to reach its number
     public String checkContradictionAt(Board board, PuzzleElement puzzleElement) {
         ThermometerBoard grid = (ThermometerBoard) board;
         ThermometerCell cell = (ThermometerCell) grid.getPuzzleElement(puzzleElement);
-        int blocked = 0;
-        for (int i = 0; i < grid.getHeight(); i++) {
-            if (grid.getCell((int) cell.getLocation().getX(), i).getFill()
-                    == ThermometerFill.BLOCKED) {
-                blocked++;
-            }
+        ThermometerVialIndex index = grid.getVialIndex();
+        int x = cell.getLocation().x;
+        int y = cell.getLocation().y;
+        if (index.getVial(x, y) < 0) {
+            return Invalid_Use_Message;
         }
-        if (grid.getRowNumber((int) cell.getLocation().getX()) > blocked) return null;
-
-        blocked = 0;
-        for (int i = 0; i < grid.getWidth(); i++) {
-            if (grid.getCell(i, (int) cell.getLocation().getY()).getFill()
-                    == ThermometerFill.BLOCKED) {
-                blocked++;
-            }
+        if (index.getRowFilled(y) + index.getRowEmpty(y) < index.getRowClue(y)
+                || index.getColFilled(x) + index.getColEmpty(x) < index.getColClue(x)) {
+            return null;
         }
-        if (grid.getColNumber((int) cell.getLocation().getY()) > blocked) return null;
-
         return Invalid_Use_Message;
     }
 }
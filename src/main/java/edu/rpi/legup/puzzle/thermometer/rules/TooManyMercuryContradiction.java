@@ -5,9 +5,8 @@ import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.ContradictionRule;
 import edu.rpi.legup.puzzle.thermometer.ThermometerBoard;
 import edu.rpi.legup.puzzle.thermometer.ThermometerCell;
-import edu.rpi.legup.puzzle.thermometer.ThermometerFill;
+import edu.rpi.legup.puzzle.thermometer.ThermometerVialIndex;
 
-// TODO: Rule is untested
 public class TooManyMercuryContradiction extends ContradictionRule {
 
     private final String Invalid_Use_Message = "Mercury does not exceed limit";
@@ -33,24 +32,16 @@ public class TooManyMercuryContradiction extends ContradictionRule {
     public String checkContradictionAt(Board board, PuzzleElement puzzleElement) {
         ThermometerBoard grid = (ThermometerBoard) board;
         ThermometerCell cell = (ThermometerCell) grid.getPuzzleElement(puzzleElement);
-        int filled = 0;
-        for (int i = 0; i < grid.getHeight(); i++) {
-            if (grid.getCell((int) cell.getLocation().getX(), i).getFill()
-                    == ThermometerFill.FILLED) {
-                filled++;
-            }
+        ThermometerVialIndex index = grid.getVialIndex();
+        int x = cell.getLocation().x;
+        int y = cell.getLocation().y;
+        if (index.getVial(x, y) < 0) {
+            return Invalid_Use_Message;
         }
-        if (grid.getRowNumber((int) cell.getLocation().getX()) > filled) return null;
-
-        filled = 0;
-        for (int i = 0; i < grid.getWidth(); i++) {
-            if (grid.getCell(i, (int) cell.getLocation().getY()).getFill()
-                    == ThermometerFill.FILLED) {
-                filled++;
-            }
+        if (index.getRowFilled(y) > index.getRowClue(y)
+                || index.getColFilled(x) > index.getColClue(x)) {
+            return null;
         }
-        if (grid.getColNumber((int) cell.getLocation().getY()) > filled) return null;
-
         return Invalid_Use_Message;
     }
 }
@@ -67,12 +67,12 @@ public class EditLineCommand extends PuzzleCommand {
         final TreeTentLine notifyLine;
         if (dupLine == null) {
             board.addModifiedData(line);
-            board.getLines().add(line);
+            board.addLine(line);
             notifyLine = line;
             transition.propagateAddition(notifyLine);
         } else {
             board.removeModifiedData(dupLine);
-            board.getLines().remove(dupLine);
+            board.removeLine(dupLine);
             notifyLine = dupLine;
             transition.propagateDeletion(notifyLine);
         }
@@ -177,11 +177,11 @@ public class EditLineCommand extends PuzzleCommand {
         final TreeTentLine notifyLine;
         if (dupLine == null) {
             board.addModifiedData(line);
-            board.getLines().add(line);
+            board.addLine(line);
             notifyLine = line;
         } else {
             board.removeModifiedData(dupLine);
-            board.getLines().remove(dupLine);
+            board.removeLine(dupLine);
             notifyLine = dupLine;
         }
         transition.propagateChange(notifyLine);
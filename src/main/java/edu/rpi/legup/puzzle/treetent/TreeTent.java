@@ -3,6 +3,7 @@ package edu.rpi.legup.puzzle.treetent;
 import edu.rpi.legup.model.Puzzle;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.BoardAnalysis;
 import edu.rpi.legup.model.rules.ContradictionRule;
 import java.util.List;
 
@@ -61,8 +62,9 @@ public class TreeTent extends Puzzle {
     public boolean isBoardComplete(Board board) {
         TreeTentBoard treeTentBoard = (TreeTentBoard) board;
 
+        BoardAnalysis analysis = new BoardAnalysis(treeTentBoard);
         for (ContradictionRule rule : contradictionRules) {
-            if (rule.checkContradiction(treeTentBoard) == null) {
+            if (rule.checkContradiction(treeTentBoard, analysis) == null) {
                 return false;
             }
         }
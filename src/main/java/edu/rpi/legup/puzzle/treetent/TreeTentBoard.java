@@ -3,13 +3,35 @@ package edu.rpi.legup.puzzle.treetent;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.GridBoard;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.BoardAnalysis;
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class TreeTentBoard extends GridBoard {
 
-    private ArrayList<TreeTentLine> lines;
+    /** Counts of the cells of each type in every row of an analysed board */
+    public static final BoardAnalysis.Key<int[][]> ROW_COUNTS =
+            new BoardAnalysis.Key<>(
+                    analysis -> ((TreeTentBoard) analysis.getBoard()).countRowCol(true));
+
+    /** Counts of the cells of each type in every column of an analysed board */
+    public static final BoardAnalysis.Key<int[][]> COL_COUNTS =
+            new BoardAnalysis.Key<>(
+                    analysis -> ((TreeTentBoard) analysis.getBoard()).countRowCol(false));
+
+    private LineList lines;
+
+    /**
+     * Lines attached to each cell, indexed by the cell's index on the board. Kept in sync with
+     * {@link #lines} by {@link #addLine(TreeTentLine)} and {@link #removeLine(TreeTentLine)}, and
+     * rebuilt if the list returned by {@link #getLines()} has been modified directly. Only built
+     * once links are first looked up, so copies that are never queried do not pay for it.
+     */
+    private List<TreeTentLine>[] links;
+
+    private int linksModCount;
 
     private ArrayList<TreeTentClue> rowClues;
     private ArrayList<TreeTentClue> colClues;
@@ -17,7 +39,7 @@ public class TreeTentBoard extends GridBoard {
     public TreeTentBoard(int width, int height) {
         super(width, height);
 
-        this.lines = new ArrayList<>();
+        this.lines = new LineList();
 
         this.rowClues = new ArrayList<>();
         this.colClues = new ArrayList<>();
@@ -38,6 +60,124 @@ public class TreeTentBoard extends GridBoard {
         return lines;
     }
 
+    /**
+     * Determines whether a line is connected to the cell at the location of the specified cell
+     *
+     * @param cell cell to check
+     * @return true if a line starts or ends at the cell, false otherwise
+     */
+    public boolean isLinked(TreeTentCell cell) {
+        return !getLinks(cell).isEmpty();
+    }
+
+    /**
+     * Gets the lines that start or end at the location of the specified cell
+     *
+     * @param cell cell to check
+     * @return unmodifiable list of the lines connected to the cell
+     */
+    public List<TreeTentLine> getLinks(TreeTentCell cell) {
+        int index = locationIndex(cell);
+        if (index < 0) {
+            return Collections.emptyList();
+        }
+        if (!isIndexed()) {
+            reindexLines();
+        }
+        List<TreeTentLine> cellLinks = links[index];
+        if (cellLinks == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(cellLinks);
+    }
+
+    /**
+     * Adds a line to the board and to the lines of both of its cells
+     *
+     * @param line line to add
+     */
+    public void addLine(TreeTentLine line) {
+        boolean indexed = isIndexed();
+        lines.add(line);
+        if (indexed) {
+            indexLine(line);
+            linksModCount = lines.getModCount();
+        }
+    }
+
+    /**
+     * Removes the first line that connects the same cells as the specified line
+     *
+     * @param line line to remove
+     * @return the removed line, or null if no such line is on the board
+     */
+    public TreeTentLine removeLine(TreeTentLine line) {
+        for (int i = 0; i < lines.size(); i++) {
+            TreeTentLine l = lines.get(i);
+            if (l.compare(line)) {
+                boolean indexed = isIndexed();
+                lines.remove(i);
+                if (indexed) {
+                    unindexLine(l);
+                    linksModCount = lines.getModCount();
+                }
+                return l;
+            }
+        }
+        return null;
+    }
+
+    private boolean isIndexed() {
+        return links != null && linksModCount == lines.getModCount();
+    }
+
+    private int locationIndex(TreeTentCell cell) {
+        Point loc = cell.getLocation();
+        if (loc.x < 0 || loc.x >= dimension.width || loc.y < 0 || loc.y >= dimension.height) {
+            return -1;
+        }
+        return loc.y * dimension.width + loc.x;
+    }
+
+    private void indexLine(TreeTentLine line) {
+        linkCell(line.getC1(), line);
+        if (!line.getC1().getLocation().equals(line.getC2().getLocation())) {
+            linkCell(line.getC2(), line);
+        }
+    }
+
+    private void linkCell(TreeTentCell cell, TreeTentLine line) {
+        int index = locationIndex(cell);
+        if (index >= 0) {
+            if (links[index] == null) {
+                links[index] = new ArrayList<>(2);
+            }
+            links[index].add(line);
+        }
+    }
+
+    private void unindexLine(TreeTentLine line) {
+        for (TreeTentCell cell : new TreeTentCell[] {line.getC1(), line.getC2()}) {
+            int index = locationIndex(cell);
+            if (index >= 0 && links[index] != null) {
+                links[index].remove(line);
+            }
+        }
+    }
+
+    private void reindexLines() {
+        links = newLinks(dimension.width * dimension.height);
+        for (TreeTentLine line : lines) {
+            indexLine(line);
+        }
+        linksModCount = lines.getModCount();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<TreeTentLine>[] newLinks(int size) {
+        return (List<TreeTentLine>[]) new List[size];
+    }
+
     public ArrayList<TreeTentClue> getRowClues() {
         return rowClues;
     }
@@ -63,7 +203,7 @@ public class TreeTentBoard extends GridBoard {
     @Override
     public void setPuzzleElement(int index, PuzzleElement puzzleElement) {
         if (index == -1) {
-            lines.add((TreeTentLine) puzzleElement);
+            addLine((TreeTentLine) puzzleElement);
         } else if (index < puzzleElements.size()) {
             puzzleElements.set(index, puzzleElement);
         }
@@ -73,7 +213,7 @@ public class TreeTentBoard extends GridBoard {
     public void notifyChange(PuzzleElement puzzleElement) {
         int index = puzzleElement.getIndex();
         if (index == -1) {
-            lines.add((TreeTentLine) puzzleElement);
+            addLine((TreeTentLine) puzzleElement);
         } else if (index < puzzleElements.size()) {
             puzzleElements.set(index, puzzleElement);
         }
@@ -99,7 +239,7 @@ public class TreeTentBoard extends GridBoard {
     @Override
     public void notifyAddition(PuzzleElement puzzleElement) {
         if (puzzleElement instanceof TreeTentLine) {
-            lines.add((TreeTentLine) puzzleElement);
+            addLine((TreeTentLine) puzzleElement);
         }
     }
 
@@ -112,12 +252,7 @@ public class TreeTentBoard extends GridBoard {
     @Override
     public void notifyDeletion(PuzzleElement puzzleElement) {
         if (puzzleElement instanceof TreeTentLine) {
-            for (TreeTentLine line : lines) {
-                if (line.compare((TreeTentLine) puzzleElement)) {
-                    lines.remove(line);
-                    break;
-                }
-            }
+            removeLine((TreeTentLine) puzzleElement);
         }
     }
 
@@ -199,6 +334,23 @@ public class TreeTentBoard extends GridBoard {
         return list;
     }
 
+    /**
+     * Counts the cells of each type in every row or every column, in a single pass over the board
+     *
+     * @param isRow boolean value based on whether rows or columns are counted
+     * @return counts indexed by the row or column number, then by the ordinal of the TreeTentType
+     */
+    public int[][] countRowCol(boolean isRow) {
+        int[][] counts =
+                new int[isRow ? dimension.height : dimension.width][TreeTentType.values().length];
+        for (int y = 0; y < dimension.height; y++) {
+            for (int x = 0; x < dimension.width; x++) {
+                counts[isRow ? y : x][getCell(x, y).getType().ordinal()]++;
+            }
+        }
+        return counts;
+    }
+
     /**
      * Determines if this board contains the equivalent puzzle elements as the one specified
      *
@@ -222,6 +374,23 @@ public class TreeTentBoard extends GridBoard {
         return super.equalsBoard(treeTentBoard);
     }
 
+    /**
+     * Computes a hash of the contents of this board, adding the lines of the board in any order and
+     * direction to the hash of the cells
+     *
+     * @return hash of the contents of the board
+     */
+    @Override
+    public long getContentHash() {
+        long lineHash = 0;
+        for (TreeTentLine line : lines) {
+            long start = line.getC1().getLocation().hashCode();
+            long end = line.getC2().getLocation().hashCode();
+            lineHash += start * end + start + end;
+        }
+        return super.getContentHash() * 31 + lineHash;
+    }
+
     /**
      * Performs a deep copy of the TreeTentBoard
      *
@@ -238,7 +407,7 @@ public class TreeTentBoard extends GridBoard {
         for (TreeTentLine line : lines) {
             TreeTentLine lineCpy = line.copy();
             lineCpy.setModifiable(false);
-            copy.getLines().add(lineCpy);
+            copy.addLine(lineCpy);
         }
         for (PuzzleElement e : modifiedData) {
             copy.getPuzzleElement(e).setModifiable(false);
@@ -247,4 +416,13 @@ public class TreeTentBoard extends GridBoard {
         copy.colClues = colClues;
         return copy;
     }
+
+    /** List of lines that exposes its modification count so direct changes can be detected */
+    private static class LineList extends ArrayList<TreeTentLine> {
+        private static final long serialVersionUID = 1L;
+
+        int getModCount() {
+            return modCount;
+        }
+    }
 }
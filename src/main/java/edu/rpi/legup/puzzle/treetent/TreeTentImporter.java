@@ -198,12 +198,10 @@ public class TreeTentImporter extends PuzzleImporter {
                 Element linesElement = (Element) boardElement.getElementsByTagName("lines").item(0);
                 NodeList linesList = linesElement.getElementsByTagName("line");
                 for (int i = 0; i < linesList.getLength(); i++) {
-                    treeTentBoard
-                            .getLines()
-                            .add(
-                                    (TreeTentLine)
-                                            puzzle.getFactory()
-                                                    .importCell(linesList.item(i), treeTentBoard));
+                    treeTentBoard.addLine(
+                            (TreeTentLine)
+                                    puzzle.getFactory()
+                                            .importCell(linesList.item(i), treeTentBoard));
                 }
             }
 
@@ -3,6 +3,7 @@ package edu.rpi.legup.puzzle.treetent.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.CaseBoard;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.CaseDelta;
 import edu.rpi.legup.model.rules.CaseRule;
 import edu.rpi.legup.model.tree.TreeTransition;
 import edu.rpi.legup.puzzle.treetent.TreeTentBoard;
@@ -11,6 +12,7 @@ import edu.rpi.legup.puzzle.treetent.TreeTentClue;
 import edu.rpi.legup.puzzle.treetent.TreeTentType;
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 public class FillinRowCaseRule extends CaseRule {
@@ -57,69 +59,59 @@ public class FillinRowCaseRule extends CaseRule {
      *
      * @param board the current board state
      * @param puzzleElement equivalent puzzleElement
-     * @return a list of elements the specified could be
+     * @return a list of elements the specified could be, or null if there are none
      */
     @Override
     public ArrayList<Board> getCases(Board board, PuzzleElement puzzleElement) {
+        ArrayList<Board> cases = materializeCases(board, puzzleElement);
+        if (cases.size() > 0) {
+            return cases;
+        }
+        return puzzleElement == null ? cases : null;
+    }
+
+    /**
+     * Gets the possible cases at a specific location without copying the board for each case.
+     * Every case fills the unknown tiles of the row or column with the tents still needed and
+     * grass.
+     *
+     * @param board the current board state
+     * @param puzzleElement equivalent puzzleElement
+     * @return an iterator over the cases
+     */
+    @Override
+    public Iterator<CaseDelta> getCaseDeltas(Board board, PuzzleElement puzzleElement) {
+        List<CaseDelta> cases = new ArrayList<>();
         if (puzzleElement == null) {
-            return new ArrayList<Board>();
+            return cases.iterator();
         }
-        ArrayList<Board> cases;
 
         List<TreeTentCell> group;
         int tentsLeft;
         TreeTentClue clue = ((TreeTentClue) puzzleElement);
         int clueIndex = clue.getClueIndex() - 1;
-        TreeTentBoard tBoard = (TreeTentBoard) board;
+        // tents are placed on a single scratch copy so the given board is never modified
+        TreeTentBoard tBoard = (TreeTentBoard) board.copy();
         if (clue.getType() == TreeTentType.CLUE_SOUTH) {
             group = tBoard.getRowCol(clueIndex, TreeTentType.UNKNOWN, false);
             tentsLeft =
                     tBoard.getColClues().get(clueIndex).getData()
                             - tBoard.getRowCol(clueIndex, TreeTentType.TENT, false).size();
-            cases = genCombinations(tBoard, group, tentsLeft, clueIndex, false);
+            genCombRecursive(
+                    tBoard, group, tentsLeft, 0, new ArrayList<>(), 0, clueIndex, cases, false);
         } else {
             group = tBoard.getRowCol(clueIndex, TreeTentType.UNKNOWN, true);
             tentsLeft =
                     tBoard.getRowClues().get(clueIndex).getData()
                             - tBoard.getRowCol(clueIndex, TreeTentType.TENT, true).size();
-            cases = genCombinations(tBoard, group, tentsLeft, clueIndex, true);
+            genCombRecursive(
+                    tBoard, group, tentsLeft, 0, new ArrayList<>(), 0, clueIndex, cases, true);
         }
 
         // generate every combination (nCr)
         // call goodBoard for each generated combination
         // alternative would be to implement collision avoidance while generating instead of after
-        if (cases.size() > 0) {
-            return cases;
-        }
-        return null;
-    }
-
-    /**
-     * @param iBoard the board to place tents onto
-     * @param tiles the locations where tents can be placed
-     * @param target the target number of tents to place
-     * @param index the index of tiles which is trying to be placed
-     * @param isRow Used to check validity of board
-     * @return the list of boards created
-     */
-    private ArrayList<Board> genCombinations(
-            TreeTentBoard iBoard,
-            List<TreeTentCell> tiles,
-            int target,
-            Integer index,
-            boolean isRow) {
-        ArrayList<Board> generatedBoards = new ArrayList<>();
-        genCombRecursive(
-                iBoard,
-                tiles,
-                target,
-                0,
-                new ArrayList<TreeTentCell>(),
-                0,
-                index,
-                generatedBoards,
-                isRow);
-        return generatedBoards;
+        return cases.iterator();
     }
 
     /**
@@ -133,8 +125,9 @@ public class FillinRowCaseRule extends CaseRule {
      * @param currentTile index of the next tile to add
      * @param selected the cells which have tents
      * @param index The index of the clue
+     * @param cases the list of cases generated
      * @param isRow Used for checking if the board is good
-     *     <p>The generated boards are placed into generatedBoards (passed by reference)
+     *     <p>The generated cases are placed into cases (passed by reference)
      */
     private void genCombRecursive(
             TreeTentBoard iBoard,
@@ -144,24 +137,22 @@ public class FillinRowCaseRule extends CaseRule {
             List<TreeTentCell> selected,
             int currentTile,
             Integer index,
-            ArrayList<Board> generatedBoards,
+            List<CaseDelta> cases,
             boolean isRow) {
         // Base Case: Enough tents have been placed
         if (target == current) {
-            TreeTentBoard boardCopy = iBoard.copy();
             // Selected Tiles should already be filled
             // Fill in other tiles with Grass
+            List<PuzzleElement> changes = new ArrayList<>();
             for (TreeTentCell tile : tiles) {
-                if (!selected.contains(tile)) {
-                    PuzzleElement element = boardCopy.getPuzzleElement(tile);
-                    element.setData(TreeTentType.GRASS);
-                    boardCopy.addModifiedData(element);
-                }
+                TreeTentCell change = tile.copy();
+                change.setData(selected.contains(tile) ? TreeTentType.TENT : TreeTentType.GRASS);
+                changes.add(change);
             }
             // board validity is checked after placing every tent
             // because the base case doesn't place any tents, the board
             // should still be valid
-            generatedBoards.add(boardCopy);
+            cases.add(new CaseDelta(changes));
             return;
         }
 
@@ -175,23 +166,12 @@ public class FillinRowCaseRule extends CaseRule {
         for (int i = currentTile; i < tiles.size(); ++i) {
             TreeTentCell tile = tiles.get(i);
             selected.add(tile);
-            PuzzleElement element = iBoard.getPuzzleElement(tile);
-            element.setData(TreeTentType.TENT);
-            iBoard.addModifiedData(element);
+            tile.setData(TreeTentType.TENT);
             if (goodBoard(iBoard, index, isRow)) {
                 genCombRecursive(
-                        iBoard,
-                        tiles,
-                        target,
-                        current + 1,
-                        selected,
-                        i + 1,
-                        index,
-                        generatedBoards,
-                        isRow);
+                        iBoard, tiles, target, current + 1, selected, i + 1, index, cases, isRow);
             }
-            element.setData(TreeTentType.UNKNOWN);
-            iBoard.addModifiedData(element);
+            tile.setData(TreeTentType.UNKNOWN);
             selected.remove(tile);
         }
     }
@@ -3,6 +3,7 @@ package edu.rpi.legup.puzzle.treetent.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.CaseBoard;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.CaseDelta;
 import edu.rpi.legup.model.rules.CaseRule;
 import edu.rpi.legup.model.tree.TreeTransition;
 import edu.rpi.legup.puzzle.treetent.TreeTentBoard;
@@ -10,6 +11,7 @@ import edu.rpi.legup.puzzle.treetent.TreeTentCell;
 import edu.rpi.legup.puzzle.treetent.TreeTentLine;
 import edu.rpi.legup.puzzle.treetent.TreeTentType;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -29,22 +31,11 @@ public class LinkTentCaseRule extends CaseRule {
         treeTentBoard.setModifiable(false);
         CaseBoard caseBoard = new CaseBoard(treeTentBoard, this);
         for (PuzzleElement element : treeTentBoard.getPuzzleElements()) {
-            if (((TreeTentCell) element).getType() == TreeTentType.TENT
-                    && !getCases(board, element).isEmpty()) {
-                Boolean canAdd = true;
-                List<TreeTentLine> lines = treeTentBoard.getLines();
-                for (TreeTentLine l : lines) {
-                    if (l.getC1().getLocation().equals(((TreeTentCell) element).getLocation())
-                            || l.getC2()
-                                    .getLocation()
-                                    .equals(((TreeTentCell) element).getLocation())) {
-                        canAdd = false;
-                        break;
-                    }
-                }
-                if (canAdd) {
-                    caseBoard.addPickableElement(element);
-                }
+            TreeTentCell cell = (TreeTentCell) element;
+            if (cell.getType() == TreeTentType.TENT
+                    && !treeTentBoard.isLinked(cell)
+                    && hasCases(board, element)) {
+                caseBoard.addPickableElement(element);
             }
         }
         return caseBoard;
@@ -59,35 +50,32 @@ public class LinkTentCaseRule extends CaseRule {
      */
     @Override
     public ArrayList<Board> getCases(Board board, PuzzleElement puzzleElement) {
-        ArrayList<Board> cases = new ArrayList<Board>();
+        return materializeCases(board, puzzleElement);
+    }
+
+    /**
+     * Gets the possible cases at a specific location without copying the board. Each case adds a
+     * line from the tent to an adjacent tree that is not linked yet.
+     *
+     * @param board the current board state
+     * @param puzzleElement equivalent puzzleElement
+     * @return an iterator over the cases
+     */
+    @Override
+    public Iterator<CaseDelta> getCaseDeltas(Board board, PuzzleElement puzzleElement) {
+        List<CaseDelta> cases = new ArrayList<>();
         if (puzzleElement == null) {
-            return cases;
+            return cases.iterator();
         }
 
+        TreeTentBoard treeTentBoard = (TreeTentBoard) board;
         TreeTentCell cell = (TreeTentCell) puzzleElement;
-        List<TreeTentCell> adj = ((TreeTentBoard) board).getAdjacent(cell, TreeTentType.TREE);
-        List<TreeTentLine> lines = ((TreeTentBoard) board).getLines();
-
-        for (TreeTentCell tree : adj) {
-            Boolean makeline = true;
-            for (TreeTentLine l : ((TreeTentBoard) board).getLines()) {
-                if (l.getC1().getLocation().equals(tree.getLocation())
-                        || l.getC2().getLocation().equals(tree.getLocation())) {
-                    makeline = false;
-                }
-            }
-            if (makeline) {
-                TreeTentBoard temp = ((TreeTentBoard) board).copy();
-                TreeTentLine l =
-                        new TreeTentLine(
-                                (TreeTentCell) temp.getPuzzleElement(cell),
-                                (TreeTentCell) temp.getPuzzleElement(tree));
-                temp.getLines().add(l);
-                temp.addModifiedData(l);
-                cases.add(temp);
+        for (TreeTentCell tree : treeTentBoard.getAdjacent(cell, TreeTentType.TREE)) {
+            if (!treeTentBoard.isLinked(tree)) {
+                cases.add(new CaseDelta(new TreeTentLine(cell, tree)));
             }
         }
-        return cases;
+        return cases.iterator();
     }
 
     /**
@@ -121,14 +109,12 @@ public class LinkTentCaseRule extends CaseRule {
         }
 
         TreeTentBoard parentBoard = (TreeTentBoard) transition.getParents().get(0).getBoard();
-        ArrayList<Board> cases = getCases(parentBoard, tent);
         List<TreeTransition> childTransitions = transition.getParents().get(0).getChildren();
-        if (childTransitions.size() != cases.size()) {
+        if (childTransitions.size() != countCases(parentBoard, tent)) {
             return super.getInvalidUseOfRuleMessage();
         }
-        for (Board caseBoard : cases) {
-            TreeTentBoard cBoard = (TreeTentBoard) caseBoard;
-            TreeTentLine cLine = (TreeTentLine) cBoard.getModifiedData().iterator().next();
+        for (CaseDelta delta : collectCases(parentBoard, tent)) {
+            TreeTentLine cLine = (TreeTentLine) delta.getChanges().get(0);
             boolean hasLine = false;
             for (TreeTransition tran : childTransitions) {
                 TreeTentBoard tBoard = (TreeTentBoard) tran.getBoard();
@@ -3,6 +3,7 @@ package edu.rpi.legup.puzzle.treetent.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.CaseBoard;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.CaseDelta;
 import edu.rpi.legup.model.rules.CaseRule;
 import edu.rpi.legup.model.tree.TreeTransition;
 import edu.rpi.legup.puzzle.treetent.TreeTentBoard;
@@ -11,6 +12,7 @@ import edu.rpi.legup.puzzle.treetent.TreeTentLine;
 import edu.rpi.legup.puzzle.treetent.TreeTentType;
 import java.awt.Point;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -30,23 +32,11 @@ public class LinkTreeCaseRule extends CaseRule {
         treeTentBoard.setModifiable(false);
         CaseBoard caseBoard = new CaseBoard(treeTentBoard, this);
         for (PuzzleElement element : treeTentBoard.getPuzzleElements()) {
-            if (((TreeTentCell) element).getType() == TreeTentType.TREE
-                    && !getCases(treeTentBoard, element).isEmpty()) {
-
-                Boolean canAdd = true;
-                List<TreeTentLine> lines = treeTentBoard.getLines();
-                for (TreeTentLine l : lines) {
-                    if (l.getC1().getLocation().equals(((TreeTentCell) element).getLocation())
-                            || l.getC2()
-                                    .getLocation()
-                                    .equals(((TreeTentCell) element).getLocation())) {
-                        canAdd = false;
-                        break;
-                    }
-                }
-                if (canAdd) {
-                    caseBoard.addPickableElement(element);
-                }
+            TreeTentCell cell = (TreeTentCell) element;
+            if (cell.getType() == TreeTentType.TREE
+                    && !treeTentBoard.isLinked(cell)
+                    && hasCases(treeTentBoard, element)) {
+                caseBoard.addPickableElement(element);
             }
         }
         return caseBoard;
@@ -61,31 +51,32 @@ public class LinkTreeCaseRule extends CaseRule {
      */
     @Override
     public ArrayList<Board> getCases(Board board, PuzzleElement puzzleElement) {
-        ArrayList<Board> cases = new ArrayList<>();
+        return materializeCases(board, puzzleElement);
+    }
+
+    /**
+     * Gets the possible cases at a specific location without copying the board. Each case adds a
+     * line from the tree to an adjacent tent that is not linked yet.
+     *
+     * @param board the current board state
+     * @param puzzleElement equivalent puzzleElement
+     * @return an iterator over the cases
+     */
+    @Override
+    public Iterator<CaseDelta> getCaseDeltas(Board board, PuzzleElement puzzleElement) {
+        List<CaseDelta> cases = new ArrayList<>();
         if (puzzleElement == null) {
-            return cases;
+            return cases.iterator();
         }
 
         TreeTentBoard treeTentBoard = (TreeTentBoard) board;
         TreeTentCell cell = (TreeTentCell) puzzleElement;
-        List<TreeTentCell> adjCells = treeTentBoard.getAdjacent(cell, TreeTentType.TENT);
-        for (TreeTentCell c : adjCells) {
-            Boolean makeline = true;
-            for (TreeTentLine l : treeTentBoard.getLines()) {
-                if (l.getC1().getLocation().equals(c.getLocation())
-                        || l.getC2().getLocation().equals(c.getLocation())) {
-                    makeline = false;
-                }
-            }
-            if (makeline) {
-                TreeTentBoard caseBoard = (TreeTentBoard) board.copy();
-                TreeTentLine line = new TreeTentLine(cell, c);
-                caseBoard.getLines().add(line);
-                caseBoard.addModifiedData(line);
-                cases.add(caseBoard);
+        for (TreeTentCell c : treeTentBoard.getAdjacent(cell, TreeTentType.TENT)) {
+            if (!treeTentBoard.isLinked(c)) {
+                cases.add(new CaseDelta(new TreeTentLine(cell, c)));
             }
         }
-        return cases;
+        return cases.iterator();
     }
 
     /**
@@ -119,33 +110,20 @@ public class LinkTreeCaseRule extends CaseRule {
         }
 
         TreeTentBoard parentBoard = (TreeTentBoard) transition.getParents().get(0).getBoard();
-        ArrayList<Board> cases = getCases(parentBoard, tree);
         List<TreeTransition> childTransitions = transition.getParents().get(0).getChildren();
-        if (childTransitions.size() != cases.size()) {
-            return super.getInvalidUseOfRuleMessage();
-        }
-        for (Board caseBoard : cases) {
-            TreeTentBoard cBoard = (TreeTentBoard) caseBoard;
-            TreeTentLine cLine = (TreeTentLine) cBoard.getModifiedData().iterator().next();
-            boolean hasLine = false;
-            for (TreeTransition tran : childTransitions) {
-                TreeTentBoard tBoard = (TreeTentBoard) tran.getBoard();
-                if (tBoard.getModifiedData().size() != 1) {
-                    return super.getInvalidUseOfRuleMessage();
-                }
-                PuzzleElement tElement = tBoard.getModifiedData().iterator().next();
-                if (!(tElement instanceof TreeTentLine)) {
-                    return super.getInvalidUseOfRuleMessage()
-                            + ": This case rule only involves tree and tent connection lines";
-                }
-                if (cLine.compare((TreeTentLine) tElement)) {
-                    hasLine = true;
-                    break;
-                }
-            }
-            if (!hasLine) {
+        for (TreeTransition tran : childTransitions) {
+            Set<PuzzleElement> modified = tran.getBoard().getModifiedData();
+            if (modified.size() != 1) {
                 return super.getInvalidUseOfRuleMessage();
             }
+            if (!(modified.iterator().next() instanceof TreeTentLine)) {
+                return super.getInvalidUseOfRuleMessage()
+                        + ": This case rule only involves tree and tent connection lines";
+            }
+        }
+        List<CaseDelta> cases = collectCases(parentBoard, tree);
+        if (!matchesCases(childTransitions, cases)) {
+            return super.getInvalidUseOfRuleMessage();
         }
 
         return null;
@@ -165,6 +143,21 @@ public class LinkTreeCaseRule extends CaseRule {
         return checkRuleRaw(transition);
     }
 
+    /**
+     * Determines whether a line added by a child is the line of a case, whichever way round it
+     * links the tree and the tent
+     *
+     * @param change line added by a case
+     * @param element element modified by a child
+     * @return true if the element is the same line, false otherwise
+     */
+    @Override
+    protected boolean matchesChange(PuzzleElement change, PuzzleElement element) {
+        return change instanceof TreeTentLine
+                && element instanceof TreeTentLine
+                && ((TreeTentLine) change).compare((TreeTentLine) element);
+    }
+
     /**
      * Returns the elements necessary for the cases returned by getCases(board,puzzleElement) to be
      * valid Overridden by case rules dependent on more than just the modified data
@@ -42,20 +42,11 @@ public class NoTentForTreeContradictionRule extends ContradictionRule {
             return null;
         } else {
             if (adjTent != 0) {
-                List<TreeTentLine> lines = treeTentBoard.getLines();
                 List<TreeTentCell> adjTents = treeTentBoard.getAdjacent(cell, TreeTentType.TENT);
-                for (TreeTentLine l : lines) {
-                    Iterator<TreeTentCell> i = adjTents.iterator();
-                    while (i.hasNext()) {
-                        TreeTentCell t = i.next();
-                        if (t.getLocation().equals(l.getC1().getLocation())
-                                && !(cell.getLocation().equals(l.getC2().getLocation()))) {
-                            i.remove();
-                        }
-                        if (t.getLocation().equals(l.getC2().getLocation())
-                                && !(cell.getLocation().equals(l.getC2().getLocation()))) {
-                            i.remove();
-                        }
+                Iterator<TreeTentCell> i = adjTents.iterator();
+                while (i.hasNext()) {
+                    if (isLinkedElsewhere(treeTentBoard, i.next(), cell)) {
+                        i.remove();
                     }
                 }
                 if (adjTents.size() == 0 && adjUnknown == 0) {
@@ -65,4 +56,28 @@ public class NoTentForTreeContradictionRule extends ContradictionRule {
             return super.getNoContradictionMessage();
         }
     }
+
+    @Override
+    protected boolean isCandidate(Board board, PuzzleElement puzzleElement) {
+        return ((TreeTentCell) puzzleElement).getType() == TreeTentType.TREE;
+    }
+
+    /**
+     * Determines whether a cell is linked to anything other than by a line starting at it and
+     * ending at the specified cell
+     *
+     * @param board board containing the cells
+     * @param cell cell whose links are checked
+     * @param other the cell a line from the checked cell is allowed to end at
+     * @return true if the cell has any other line
+     */
+    static boolean isLinkedElsewhere(TreeTentBoard board, TreeTentCell cell, TreeTentCell other) {
+        for (TreeTentLine l : board.getLinks(cell)) {
+            if (cell.getLocation().equals(l.getC2().getLocation())
+                    || !other.getLocation().equals(l.getC2().getLocation())) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -5,7 +5,6 @@ import edu.rpi.legup.model.gameboard.PuzzleElement;
 import edu.rpi.legup.model.rules.ContradictionRule;
 import edu.rpi.legup.puzzle.treetent.TreeTentBoard;
 import edu.rpi.legup.puzzle.treetent.TreeTentCell;
-import edu.rpi.legup.puzzle.treetent.TreeTentLine;
 import edu.rpi.legup.puzzle.treetent.TreeTentType;
 import java.util.Iterator;
 import java.util.List;
@@ -37,19 +36,10 @@ public class NoTreeForTentContradictionRule extends ContradictionRule {
             return super.getNoContradictionMessage();
         }
         List<TreeTentCell> adjTrees = treeTentBoard.getAdjacent(cell, TreeTentType.TREE);
-        List<TreeTentLine> lines = treeTentBoard.getLines();
-        for (TreeTentLine l : lines) {
-            Iterator<TreeTentCell> i = adjTrees.iterator();
-            while (i.hasNext()) {
-                TreeTentCell t = i.next();
-                if (t.getLocation().equals(l.getC1().getLocation())
-                        && !(cell.getLocation().equals(l.getC2().getLocation()))) {
-                    i.remove();
-                }
-                if (t.getLocation().equals(l.getC2().getLocation())
-                        && !(cell.getLocation().equals(l.getC2().getLocation()))) {
-                    i.remove();
-                }
+        Iterator<TreeTentCell> i = adjTrees.iterator();
+        while (i.hasNext()) {
+            if (NoTentForTreeContradictionRule.isLinkedElsewhere(treeTentBoard, i.next(), cell)) {
+                i.remove();
             }
         }
         int adjTree = adjTrees.size();
@@ -59,4 +49,9 @@ public class NoTreeForTentContradictionRule extends ContradictionRule {
             return super.getNoContradictionMessage();
         }
     }
+
+    @Override
+    protected boolean isCandidate(Board board, PuzzleElement puzzleElement) {
+        return ((TreeTentCell) puzzleElement).getType() == TreeTentType.TENT;
+    }
 }
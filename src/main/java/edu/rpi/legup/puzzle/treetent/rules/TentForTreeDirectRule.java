@@ -9,7 +9,7 @@ import edu.rpi.legup.puzzle.treetent.TreeTentBoard;
 import edu.rpi.legup.puzzle.treetent.TreeTentCell;
 import edu.rpi.legup.puzzle.treetent.TreeTentLine;
 import edu.rpi.legup.puzzle.treetent.TreeTentType;
-import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 public class TentForTreeDirectRule extends DirectRule {
@@ -75,34 +75,25 @@ public class TentForTreeDirectRule extends DirectRule {
             TreeTentBoard board, TreeTentCell tree, TreeTentCell tent, TreeTentLine line) {
         List<TreeTentCell> adjTents = board.getAdjacent(tree, TreeTentType.TENT);
         adjTents.remove(tent);
-        List<TreeTentLine> lines = board.getLines();
-        lines.remove(line);
-        for (TreeTentLine l : lines) {
-            ArrayList<TreeTentCell> toRemove = new ArrayList<>();
-            if (l.getC1().getLocation().equals(tree.getLocation())
-                    || l.getC2().getLocation().equals(tree.getLocation())) {
+        for (TreeTentLine l : board.getLinks(tree)) {
+            if (!l.compare(line)) {
                 return -2;
             }
-            for (TreeTentCell c : adjTents) {
-                if (l.getC1().getLocation().equals(c.getLocation())) {
-                    if (l.getC2().getLocation().equals(tree.getLocation())) {
-                        return -1;
-                    }
-                    toRemove.add(c);
-
-                } else {
-                    if (l.getC2().getLocation().equals(c.getLocation())) {
-                        if (l.getC1().getLocation().equals(tree.getLocation())) {
-                            return -1;
-                        }
-                        toRemove.add(c);
-                    }
+        }
+        Iterator<TreeTentCell> i = adjTents.iterator();
+        while (i.hasNext()) {
+            TreeTentCell c = i.next();
+            for (TreeTentLine l : board.getLinks(c)) {
+                if (l.compare(line)) {
+                    continue;
                 }
+                if (l.getC1().getLocation().equals(tree.getLocation())
+                        || l.getC2().getLocation().equals(tree.getLocation())) {
+                    return -1;
+                }
+                i.remove();
+                break;
             }
-            for (TreeTentCell c : toRemove) {
-                adjTents.remove(c);
-            }
-            toRemove.clear();
         }
         if (adjTents.size() == 0) {
             return 1;
@@ -3,12 +3,15 @@ package edu.rpi.legup.puzzle.treetent.rules;
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.CaseBoard;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.CaseDelta;
 import edu.rpi.legup.model.rules.CaseRule;
 import edu.rpi.legup.model.tree.TreeTransition;
 import edu.rpi.legup.puzzle.treetent.TreeTentBoard;
 import edu.rpi.legup.puzzle.treetent.TreeTentCell;
 import edu.rpi.legup.puzzle.treetent.TreeTentType;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 public class TentOrGrassCaseRule extends CaseRule {
@@ -41,23 +44,27 @@ public class TentOrGrassCaseRule extends CaseRule {
      * @param puzzleElement equivalent puzzleElement
      * @return a list of elements the specified could be
      */
-    @SuppressWarnings("unchecked")
     @Override
     public ArrayList<Board> getCases(Board board, PuzzleElement puzzleElement) {
-        ArrayList<Board> cases = new ArrayList<>();
-        Board case1 = board.copy();
-        PuzzleElement data1 = case1.getPuzzleElement(puzzleElement);
-        data1.setData(TreeTentType.TENT);
-        case1.addModifiedData(data1);
-        cases.add(case1);
-
-        Board case2 = board.copy();
-        PuzzleElement data2 = case2.getPuzzleElement(puzzleElement);
-        data2.setData(TreeTentType.GRASS);
-        case2.addModifiedData(data2);
-        cases.add(case2);
+        return materializeCases(board, puzzleElement);
+    }
 
-        return cases;
+    /**
+     * Gets the possible cases at a specific location without copying the board
+     *
+     * @param board the current board state
+     * @param puzzleElement equivalent puzzleElement
+     * @return an iterator over the two cases
+     */
+    @Override
+    public Iterator<CaseDelta> getCaseDeltas(Board board, PuzzleElement puzzleElement) {
+        if (puzzleElement == null) {
+            return Collections.emptyIterator();
+        }
+        return List.of(
+                        CaseDelta.of(puzzleElement, TreeTentType.TENT),
+                        CaseDelta.of(puzzleElement, TreeTentType.GRASS))
+                .iterator();
     }
 
     /**
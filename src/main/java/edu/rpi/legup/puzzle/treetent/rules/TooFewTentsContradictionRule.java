@@ -2,6 +2,7 @@ package edu.rpi.legup.puzzle.treetent.rules;
 
 import edu.rpi.legup.model.gameboard.Board;
 import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.BoardAnalysis;
 import edu.rpi.legup.model.rules.ContradictionRule;
 import edu.rpi.legup.puzzle.treetent.TreeTentBoard;
 import edu.rpi.legup.puzzle.treetent.TreeTentCell;
@@ -45,4 +46,43 @@ public class TooFewTentsContradictionRule extends ContradictionRule {
             return super.getNoContradictionMessage();
         }
     }
+
+    /**
+     * Checks whether the board has a contradiction at the specific {@link PuzzleElement} index
+     * using this rule, getting the counts of each row and column from the analysis of the board
+     *
+     * @param board board to check contradiction
+     * @param puzzleElement equivalent puzzleElement
+     * @param analysis analysis of the board
+     * @return null if the board contains a contradiction at the specified puzzleElement,
+     *     otherwise error message
+     */
+    @Override
+    public String checkContradictionAt(
+            Board board, PuzzleElement puzzleElement, BoardAnalysis analysis) {
+        TreeTentBoard treeTentBoard = (TreeTentBoard) board;
+        TreeTentCell cell = (TreeTentCell) puzzleElement;
+
+        Point loc = cell.getLocation();
+        int[] rowCounts = analysis.get(TreeTentBoard.ROW_COUNTS)[loc.y];
+        int[] colCounts = analysis.get(TreeTentBoard.COL_COUNTS)[loc.x];
+        int rowTents = rowCounts[TreeTentType.TENT.ordinal()];
+        int colTents = colCounts[TreeTentType.TENT.ordinal()];
+        int rowUnknowns = rowCounts[TreeTentType.UNKNOWN.ordinal()];
+        int colUnknowns = colCounts[TreeTentType.UNKNOWN.ordinal()];
+
+        if (rowTents + rowUnknowns < treeTentBoard.getRowClues().get(loc.y).getData()
+                || colTents + colUnknowns < treeTentBoard.getColClues().get(loc.x).getData()) {
+            return null;
+        } else {
+            return super.getNoContradictionMessage();
+        }
+    }
+
+    @Override
+    protected boolean isCandidate(Board board, PuzzleElement puzzleElement) {
+        // every cell of a row or column gives the same result, the first row and column cover all
+        Point loc = ((TreeTentCell) puzzleElement).getLocation();
+        return loc.x == 0 || loc.y == 0;
+    }
 }
@@ -41,4 +41,9 @@ public class TouchingTentsContradictionRule extends ContradictionRule {
             return super.getNoContradictionMessage();
         }
     }
+
+    @Override
+    protected boolean isCandidate(Board board, PuzzleElement puzzleElement) {
+        return ((TreeTentCell) puzzleElement).getType() == TreeTentType.TENT;
+    }
 }
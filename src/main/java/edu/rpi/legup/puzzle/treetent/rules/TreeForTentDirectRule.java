@@ -9,7 +9,7 @@ import edu.rpi.legup.puzzle.treetent.TreeTentBoard;
 import edu.rpi.legup.puzzle.treetent.TreeTentCell;
 import edu.rpi.legup.puzzle.treetent.TreeTentLine;
 import edu.rpi.legup.puzzle.treetent.TreeTentType;
-import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 public class TreeForTentDirectRule extends DirectRule {
@@ -74,34 +74,25 @@ public class TreeForTentDirectRule extends DirectRule {
             TreeTentBoard board, TreeTentCell tree, TreeTentCell tent, TreeTentLine line) {
         List<TreeTentCell> adjTrees = board.getAdjacent(tent, TreeTentType.TREE);
         adjTrees.remove(tree);
-        List<TreeTentLine> lines = board.getLines();
-        lines.remove(line);
-        for (TreeTentLine l : lines) {
-            ArrayList<TreeTentCell> toRemove = new ArrayList<>();
-            if (l.getC1().getLocation().equals(tree.getLocation())
-                    || l.getC2().getLocation().equals(tree.getLocation())) {
+        for (TreeTentLine l : board.getLinks(tree)) {
+            if (!l.compare(line)) {
                 return -2;
             }
-            for (TreeTentCell c : adjTrees) {
-                if (l.getC1().getLocation().equals(c.getLocation())) {
-                    if (l.getC2().getLocation().equals(tent.getLocation())) {
-                        return -1;
-                    }
-                    toRemove.add(c);
-
-                } else {
-                    if (l.getC2().getLocation().equals(c.getLocation())) {
-                        if (l.getC1().getLocation().equals(tent.getLocation())) {
-                            return -1;
-                        }
-                        toRemove.add(c);
-                    }
+        }
+        Iterator<TreeTentCell> i = adjTrees.iterator();
+        while (i.hasNext()) {
+            TreeTentCell c = i.next();
+            for (TreeTentLine l : board.getLinks(c)) {
+                if (l.compare(line)) {
+                    continue;
                 }
+                if (l.getC1().getLocation().equals(tent.getLocation())
+                        || l.getC2().getLocation().equals(tent.getLocation())) {
+                    return -1;
+                }
+                i.remove();
+                break;
             }
-            for (TreeTentCell c : toRemove) {
-                adjTrees.remove(c);
-            }
-            toRemove.clear();
         }
         if (adjTrees.size() == 0) {
             return 1;
@@ -0,0 +1,522 @@
+package edu.rpi.legup.save;
+
+import edu.rpi.legup.history.ICommand;
+import edu.rpi.legup.history.IHistoryListener;
+import edu.rpi.legup.model.Puzzle;
+import edu.rpi.legup.model.PuzzleExporter;
+import edu.rpi.legup.model.gameboard.CaseBoard;
+import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.observer.IBoardListener;
+import edu.rpi.legup.model.observer.ITreeListener;
+import edu.rpi.legup.model.tree.TreeElement;
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.ui.proofeditorui.treeview.TreeElementView;
+import edu.rpi.legup.ui.proofeditorui.treeview.TreeViewSelection;
+import java.awt.EventQueue;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * The {@code ProofJournal} class keeps an append-only journal of the changes made to the proof
+ * tree of a puzzle file, so that the proof survives a crash without rewriting the whole file after
+ * every change.
+ *
+ * <p>The journal is kept next to the puzzle file (see {@link #getJournalFile(File)}). Its first
+ * line records the size and modification time of the puzzle file it applies to, and every other
+ * line is a {@code node} element in the format written by {@link PuzzleExporter}, holding a tree
+ * node and the transitions leading out of it. The tree elements touched by a command are collected
+ * from the tree and board listener events, and when the command is pushed, undone or redone only
+ * the nodes around them are appended, so the cost of a change does not depend on the size of the
+ * proof. When the journal grows past the compaction threshold it is folded back into the puzzle
+ * file and truncated.
+ *
+ * <p>Element ids are hash codes, which only match the puzzle file written in the same session. A
+ * new journal therefore starts with a snapshot of the whole tree, unless the puzzle file has just
+ * been written from the same tree.
+ */
+public class ProofJournal implements IHistoryListener, ITreeListener, IBoardListener, Closeable {
+    private static final Logger LOGGER = LogManager.getLogger(ProofJournal.class.getName());
+
+    /** Extension appended to the name of the puzzle file to get the name of its journal */
+    public static final String EXTENSION = ".journal";
+
+    /** Number of records after which the journal is folded into the puzzle file */
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 256;
+
+    private static final String HEADER = "# legup proof journal v1";
+
+    private final Puzzle puzzle;
+    private final PuzzleExporter exporter;
+    private File puzzleFile;
+    private File journalFile;
+    private BufferedWriter writer;
+
+    private final Document document;
+    private final Transformer transformer;
+    private final Set<TreeNode> dirty;
+
+    private int records;
+    private int compactionThreshold;
+    private boolean compactionPending;
+
+    /**
+     * ProofJournal Constructor starts a journal of the specified puzzle, replacing any journal
+     * kept for its file
+     *
+     * @param puzzle puzzle whose proof tree is journaled
+     * @param puzzleFile file the puzzle was loaded from
+     * @throws IOException if the journal cannot be written
+     */
+    public ProofJournal(Puzzle puzzle, File puzzleFile) throws IOException {
+        this.puzzle = puzzle;
+        this.exporter = puzzle.getExporter();
+        if (exporter == null) {
+            throw new IOException("Puzzle exporter null");
+        }
+        this.puzzleFile = puzzleFile;
+        this.journalFile = getJournalFile(puzzleFile);
+        this.dirty = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+        try {
+            this.document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+            this.transformer = TransformerFactory.newInstance().newTransformer();
+        } catch (ParserConfigurationException | TransformerException e) {
+            throw new IOException("Unable to create journal records", e);
+        }
+        transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        transformer.setOutputProperty(OutputKeys.INDENT, "no");
+        start(true);
+    }
+
+    /**
+     * Gets the journal kept for a puzzle file
+     *
+     * @param puzzleFile puzzle file
+     * @return the journal file, which may not exist
+     */
+    public static File getJournalFile(File puzzleFile) {
+        return new File(puzzleFile.getPath() + EXTENSION);
+    }
+
+    /**
+     * Applies the journal kept for a puzzle file to the parsed puzzle file. The journal is ignored
+     * if the puzzle file was written after it was started, and a record left incomplete by a crash
+     * ends the replay.
+     *
+     * @param document parsed puzzle file
+     * @param puzzleFile puzzle file the document was parsed from
+     * @return true if any record was applied, false otherwise
+     * @throws InvalidFileFormatException if the document is not a valid puzzle file
+     */
+    public static boolean replay(Document document, File puzzleFile)
+            throws InvalidFileFormatException {
+        File journalFile = getJournalFile(puzzleFile);
+        if (!journalFile.isFile()) {
+            return false;
+        }
+        Element puzzleElement =
+                (Element) document.getDocumentElement().getElementsByTagName("puzzle").item(0);
+        if (puzzleElement == null) {
+            throw new InvalidFileFormatException("Invalid file: missing puzzle");
+        }
+
+        List<Element> recordElements = new ArrayList<>();
+        try (BufferedReader reader =
+                new BufferedReader(
+                        new InputStreamReader(
+                                new FileInputStream(journalFile), StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null || !header.equals(header(puzzleFile))) {
+                LOGGER.warn("Ignoring out of date proof journal " + journalFile);
+                return false;
+            }
+            DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    recordElements.add(
+                            builder.parse(new InputSource(new StringReader(line)))
+                                    .getDocumentElement());
+                } catch (SAXException e) {
+                    LOGGER.warn("Ignoring incomplete proof journal record", e);
+                    break;
+                }
+            }
+        } catch (IOException | ParserConfigurationException e) {
+            LOGGER.error("Unable to read proof journal " + journalFile, e);
+            return false;
+        }
+        if (recordElements.isEmpty()) {
+            return false;
+        }
+
+        Element treeElement = getTreeElement(puzzleElement);
+        Map<String, Element> nodeElements = getNodeElements(treeElement);
+        for (Element record : recordElements) {
+            Element imported = (Element) document.importNode(record, true);
+            if (imported.getTagName().equals("tree")) {
+                treeElement.getParentNode().replaceChild(imported, treeElement);
+                treeElement = imported;
+                nodeElements = getNodeElements(treeElement);
+            } else if (imported.getTagName().equals("node")) {
+                Element previous = nodeElements.put(imported.getAttribute("id"), imported);
+                if (previous != null) {
+                    treeElement.replaceChild(imported, previous);
+                } else {
+                    treeElement.appendChild(imported);
+                }
+            } else {
+                throw new InvalidFileFormatException(
+                        "Proof journal error: unknown record " + imported.getTagName());
+            }
+        }
+        removeUnreachableNodes(treeElement, nodeElements);
+        return true;
+    }
+
+    /**
+     * Sets the number of records after which the journal is folded into the puzzle file
+     *
+     * @param compactionThreshold number of records, or 0 to never compact automatically
+     */
+    public void setCompactionThreshold(int compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Gets the number of records appended since the journal was started or compacted
+     *
+     * @return number of records
+     */
+    public int getRecordCount() {
+        return records;
+    }
+
+    /**
+     * Gets the journal file
+     *
+     * @return the journal file
+     */
+    public File getJournalFile() {
+        return journalFile;
+    }
+
+    /**
+     * Writes any pending records and folds the journal into the puzzle file. The puzzle file is
+     * replaced atomically before the journal is truncated, so a crash at any point leaves either
+     * the journal or the new puzzle file describing the latest proof.
+     *
+     * @throws IOException if the puzzle file or the journal cannot be written
+     */
+    public void compact() throws IOException {
+        compactionPending = false;
+        flush();
+        File temp = new File(puzzleFile.getPath() + ".tmp");
+        try {
+            exporter.exportPuzzle(temp.getPath());
+        } catch (ExportFileException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        Files.move(
+                temp.toPath(),
+                puzzleFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        start(false);
+    }
+
+    /**
+     * Called after the puzzle has been saved. The saved file now holds the whole proof, so the
+     * journal is truncated, or moved next to the new file if the puzzle was saved elsewhere.
+     *
+     * @param savedFile file the puzzle was saved to
+     * @throws IOException if the journal cannot be written
+     */
+    public void onSaved(File savedFile) throws IOException {
+        dirty.clear();
+        if (!savedFile.getAbsoluteFile().equals(puzzleFile.getAbsoluteFile())) {
+            writer.close();
+            Files.deleteIfExists(journalFile.toPath());
+            puzzleFile = savedFile;
+            journalFile = getJournalFile(savedFile);
+        }
+        start(false);
+    }
+
+    /**
+     * Closes the journal and deletes it. Used once the proof no longer needs to be recovered, for
+     * instance when the puzzle is closed after saving.
+     *
+     * @throws IOException if the journal cannot be deleted
+     */
+    public void discard() throws IOException {
+        close();
+        Files.deleteIfExists(journalFile.toPath());
+    }
+
+    /**
+     * Closes the journal, leaving it in place to be replayed the next time the puzzle file is
+     * loaded
+     *
+     * @throws IOException if the pending records cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Appends a record for every tree node touched since the last record
+     *
+     * @throws IOException if the records cannot be written
+     */
+    public void flush() throws IOException {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        for (TreeNode node : dirty) {
+            writeRecord(exporter.createNodeElement(document, node));
+        }
+        dirty.clear();
+        writer.flush();
+        if (compactionThreshold > 0 && records >= compactionThreshold && !compactionPending) {
+            // compact once the command that filled the journal has finished updating the tree
+            compactionPending = true;
+            EventQueue.invokeLater(
+                    () -> {
+                        try {
+                            if (compactionPending) {
+                                compact();
+                            }
+                        } catch (IOException e) {
+                            LOGGER.error("Unable to compact proof journal " + journalFile, e);
+                        }
+                    });
+        }
+    }
+
+    @Override
+    public void onPushChange(ICommand command) {
+        flushQuietly();
+    }
+
+    @Override
+    public void onUndo(boolean isBottom, boolean isTop) {
+        flushQuietly();
+    }
+
+    @Override
+    public void onRedo(boolean isBottom, boolean isTop) {
+        flushQuietly();
+    }
+
+    @Override
+    public void onClearHistory() {}
+
+    @Override
+    public void onTreeElementAdded(TreeElement treeElement) {
+        // the element may be a subtree restored by an undo, which the puzzle file may not hold
+        Deque<TreeElement> elements = new ArrayDeque<>();
+        elements.push(treeElement);
+        while (!elements.isEmpty()) {
+            TreeElement element = elements.pop();
+            touch(element);
+            if (element instanceof TreeNode) {
+                ((TreeNode) element).getChildren().forEach(elements::push);
+            } else {
+                TreeNode child = ((TreeTransition) element).getChildNode();
+                if (child != null && !dirty.contains(child)) {
+                    elements.push(child);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onTreeElementRemoved(TreeElement element) {
+        touch(element);
+    }
+
+    @Override
+    public void onTreeSelectionChanged(TreeViewSelection selection) {
+        for (TreeElementView view : selection.getSelectedViews()) {
+            if (view.getTreeElement() != null) {
+                touch(view.getTreeElement());
+            }
+        }
+    }
+
+    @Override
+    public void onUpdateTree() {}
+
+    @Override
+    public void onTreeElementChanged(TreeElement treeElement) {
+        if (treeElement != null) {
+            touch(treeElement);
+        }
+    }
+
+    @Override
+    public void onCaseBoardAdded(CaseBoard caseBoard) {}
+
+    @Override
+    public void onBoardDataChanged(PuzzleElement puzzleElement) {}
+
+    // marks the nodes whose records describe the element: the nodes a transition leads out of,
+    // and a node together with the nodes leading into it
+    private void touch(TreeElement element) {
+        if (element instanceof TreeTransition) {
+            dirty.addAll(((TreeTransition) element).getParents());
+        } else if (element instanceof TreeNode) {
+            TreeNode node = (TreeNode) element;
+            dirty.add(node);
+            if (node.getParent() != null) {
+                dirty.addAll(node.getParent().getParents());
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException e) {
+            LOGGER.error("Unable to write proof journal " + journalFile, e);
+        }
+    }
+
+    private void start(boolean snapshot) throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+        writer =
+                new BufferedWriter(
+                        new OutputStreamWriter(
+                                new FileOutputStream(journalFile, false), StandardCharsets.UTF_8));
+        writer.write(header(puzzleFile));
+        writer.newLine();
+        records = 0;
+        if (snapshot && puzzle.getTree() != null) {
+            writeRecord(exporter.createTreeElement(document));
+        }
+        writer.flush();
+    }
+
+    private void writeRecord(Element element) throws IOException {
+        StringWriter record = new StringWriter();
+        try {
+            transformer.transform(new DOMSource(element), new StreamResult(record));
+        } catch (TransformerException e) {
+            throw new IOException("Unable to write journal record", e);
+        }
+        writer.write(record.toString());
+        writer.newLine();
+        records++;
+    }
+
+    private static String header(File puzzleFile) {
+        return HEADER + "\t" + puzzleFile.length() + "\t" + puzzleFile.lastModified();
+    }
+
+    // gets the tree of the proof, creating an empty one if the file has no proof
+    private static Element getTreeElement(Element puzzleElement) {
+        Document document = puzzleElement.getOwnerDocument();
+        Element proofElement = (Element) puzzleElement.getElementsByTagName("proof").item(0);
+        if (proofElement == null) {
+            proofElement = document.createElement("proof");
+            puzzleElement.appendChild(proofElement);
+        }
+        Element treeElement = (Element) proofElement.getElementsByTagName("tree").item(0);
+        if (treeElement == null) {
+            treeElement = document.createElement("tree");
+            proofElement.appendChild(treeElement);
+        }
+        return treeElement;
+    }
+
+    private static Map<String, Element> getNodeElements(Element treeElement) {
+        Map<String, Element> nodeElements = new HashMap<>();
+        NodeList children = treeElement.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node child = children.item(i);
+            if (child instanceof Element && child.getNodeName().equals("node")) {
+                nodeElements.put(((Element) child).getAttribute("id"), (Element) child);
+            }
+        }
+        return nodeElements;
+    }
+
+    // deleted subtrees are only dropped from the records of their parents
+    private static void removeUnreachableNodes(
+            Element treeElement, Map<String, Element> nodeElements) {
+        Set<String> reachable = new HashSet<>();
+        Deque<Element> stack = new ArrayDeque<>();
+        for (Element nodeElement : nodeElements.values()) {
+            if (nodeElement.getAttribute("root").equalsIgnoreCase("true")) {
+                stack.push(nodeElement);
+            }
+        }
+        while (!stack.isEmpty()) {
+            Element nodeElement = stack.pop();
+            if (!reachable.add(nodeElement.getAttribute("id"))) {
+                continue;
+            }
+            NodeList transitions = nodeElement.getElementsByTagName("transition");
+            for (int i = 0; i < transitions.getLength(); i++) {
+                Element child =
+                        nodeElements.get(((Element) transitions.item(i)).getAttribute("child"));
+                if (child != null) {
+                    stack.push(child);
+                }
+            }
+        }
+        for (Map.Entry<String, Element> entry : nodeElements.entrySet()) {
+            if (!reachable.contains(entry.getKey())) {
+                treeElement.removeChild(entry.getValue());
+            }
+        }
+    }
+}
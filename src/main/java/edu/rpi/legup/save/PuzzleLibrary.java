@@ -0,0 +1,605 @@
+package edu.rpi.legup.save;
+
+import static edu.rpi.legup.utility.TabSeparated.escape;
+import static edu.rpi.legup.utility.TabSeparated.unescape;
+
+import edu.rpi.legup.model.PuzzleExporter;
+import java.awt.Dimension;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The {@code PuzzleLibrary} class keeps an index of the puzzle files found in a set of
+ * directories: the puzzle type, tag, board size, difficulty and solved state of each of them. The
+ * metadata is read with a streaming pass over each file, without building its document, and the
+ * index is saved to a file together with the modification time and length of every puzzle file, so
+ * a later scan only reads the files that are new or have changed since.
+ *
+ * <p>Scans are meant to run in the background (see {@link #scanInBackground()}); the listings are
+ * served from an immutable snapshot of the index that is replaced at the end of every scan, so
+ * they never wait for a scan in progress.
+ */
+public class PuzzleLibrary {
+    private static final Logger LOGGER = LogManager.getLogger(PuzzleLibrary.class.getName());
+
+    /** Name of the index file kept in the home directory of the user */
+    public static final String FILE_NAME = ".legup-library";
+
+    private static final String HEADER = "# legup puzzle library v1";
+
+    // path, last modified, length, puzzle type, tag, width, height, difficulty, solved
+    private static final int ENTRY_FIELDS = 9;
+
+    // longest first, so that "Very Hard" is not taken for "Hard"
+    private static final String[] DIFFICULTIES = {
+        "Very Hard", "Extreme", "Expert", "Medium", "Normal", "Basic", "Hard", "Easy"
+    };
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = newInputFactory();
+
+    private final File indexFile;
+    private final List<File> directories;
+    private final List<Runnable> listeners;
+    private final ExecutorService executor;
+    private volatile Map<String, Entry> entries;
+
+    /**
+     * PuzzleLibrary Constructor creates a library kept in the specified index file, loading the
+     * entries the file already holds
+     *
+     * @param indexFile file the index is kept in
+     */
+    public PuzzleLibrary(File indexFile) {
+        this.indexFile = indexFile;
+        this.directories = new CopyOnWriteArrayList<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.executor =
+                Executors.newSingleThreadExecutor(
+                        r -> {
+                            Thread thread = new Thread(r, "puzzle-library-scan");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        this.entries = Collections.emptyMap();
+        if (indexFile.isFile()) {
+            try {
+                entries = Collections.unmodifiableMap(load(indexFile));
+            } catch (IOException e) {
+                LOGGER.warn("Unable to load the puzzle library index " + indexFile, e);
+            }
+        }
+    }
+
+    /**
+     * Adds a directory to the directories scanned by the library, along with its subdirectories
+     *
+     * @param directory directory of puzzle files
+     */
+    public void addDirectory(File directory) {
+        File absolute = directory.getAbsoluteFile();
+        if (!directories.contains(absolute)) {
+            directories.add(absolute);
+        }
+    }
+
+    public List<File> getDirectories() {
+        return Collections.unmodifiableList(directories);
+    }
+
+    /**
+     * Adds a listener called, on the scanning thread, at the end of every scan
+     *
+     * @param listener listener to call
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Scans the directories of the library in the background
+     *
+     * @return future holding the number of puzzle files read by the scan
+     */
+    public Future<Integer> scanInBackground() {
+        return executor.submit(() -> scan());
+    }
+
+    /**
+     * Scans the directories of the library, reading the files that are not in the index or have
+     * changed since they were indexed and dropping the files that no longer exist, then saves the
+     * index and notifies the listeners
+     *
+     * @return number of puzzle files read by the scan
+     */
+    public synchronized int scan() {
+        Map<String, Entry> previous = entries;
+        Map<String, Entry> scanned = new HashMap<>();
+        int read = 0;
+        for (File directory : directories) {
+            read += scan(directory, previous, scanned);
+        }
+        // entries outside of the scanned directories are kept until their directory is scanned
+        for (Entry entry : previous.values()) {
+            if (!scanned.containsKey(entry.getPath()) && !isScanned(entry.getFile())) {
+                scanned.put(entry.getPath(), entry);
+            }
+        }
+        entries = Collections.unmodifiableMap(scanned);
+        try {
+            save();
+        } catch (IOException e) {
+            LOGGER.warn("Unable to save the puzzle library index " + indexFile, e);
+        }
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+        return read;
+    }
+
+    private int scan(File directory, Map<String, Entry> previous, Map<String, Entry> scanned) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return 0;
+        }
+        int read = 0;
+        for (File file : files) {
+            if (file.getName().startsWith(".")) {
+                continue;
+            }
+            if (file.isDirectory()) {
+                read += scan(file, previous, scanned);
+                continue;
+            }
+            String path = file.getAbsolutePath();
+            Entry entry = previous.get(path);
+            if (entry == null
+                    || entry.getLastModified() != file.lastModified()
+                    || entry.getLength() != file.length()) {
+                entry = read(file);
+                read++;
+            }
+            scanned.put(path, entry);
+        }
+        return read;
+    }
+
+    private boolean isScanned(File file) {
+        for (File directory : directories) {
+            if (file.getAbsolutePath().startsWith(directory.getPath() + File.separator)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets every puzzle of the library
+     *
+     * @return puzzles of the library, sorted by puzzle type, size and tag
+     */
+    public List<Entry> getEntries() {
+        return find(null, 0, 0, null);
+    }
+
+    /**
+     * Gets the puzzles of the library matching a filter. A null or zero part of the filter matches
+     * any puzzle.
+     *
+     * @param puzzleType name of the puzzle type, such as "Binary"
+     * @param width width of the board
+     * @param height height of the board
+     * @param difficulty difficulty of the puzzle, such as "Hard"
+     * @return puzzles matching the filter, sorted by puzzle type, size and tag
+     */
+    public List<Entry> find(String puzzleType, int width, int height, String difficulty) {
+        List<Entry> found = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (entry.isPuzzle()
+                    && (puzzleType == null || puzzleType.equals(entry.getPuzzleType()))
+                    && (width == 0 || width == entry.getWidth())
+                    && (height == 0 || height == entry.getHeight())
+                    && (difficulty == null || difficulty.equals(entry.getDifficulty()))) {
+                found.add(entry);
+            }
+        }
+        found.sort(
+                Comparator.comparing(Entry::getPuzzleType)
+                        .thenComparingInt(Entry::getWidth)
+                        .thenComparingInt(Entry::getHeight)
+                        .thenComparing(Entry::getTag)
+                        .thenComparing(Entry::getPath));
+        return found;
+    }
+
+    /**
+     * Gets the puzzle types of the puzzles of the library
+     *
+     * @return sorted names of the puzzle types
+     */
+    public List<String> getPuzzleTypes() {
+        TreeSet<String> types = new TreeSet<>();
+        for (Entry entry : entries.values()) {
+            if (entry.isPuzzle()) {
+                types.add(entry.getPuzzleType());
+            }
+        }
+        return new ArrayList<>(types);
+    }
+
+    /**
+     * Gets the board sizes of the puzzles of the library
+     *
+     * @return sizes sorted by width then height, boards without a size are left out
+     */
+    public List<Dimension> getSizes() {
+        TreeSet<Dimension> sizes =
+                new TreeSet<>(
+                        Comparator.comparingInt((Dimension d) -> d.width)
+                                .thenComparingInt(d -> d.height));
+        for (Entry entry : entries.values()) {
+            if (entry.isPuzzle() && (entry.getWidth() > 0 || entry.getHeight() > 0)) {
+                sizes.add(new Dimension(entry.getWidth(), entry.getHeight()));
+            }
+        }
+        return new ArrayList<>(sizes);
+    }
+
+    /**
+     * Gets the difficulties of the puzzles of the library
+     *
+     * @return sorted difficulties, puzzles without a known difficulty are left out
+     */
+    public List<String> getDifficulties() {
+        TreeSet<String> difficulties = new TreeSet<>();
+        for (Entry entry : entries.values()) {
+            if (entry.isPuzzle() && entry.getDifficulty() != null) {
+                difficulties.add(entry.getDifficulty());
+            }
+        }
+        return new ArrayList<>(difficulties);
+    }
+
+    /**
+     * Gets the number of files in the index, puzzle files or not
+     *
+     * @return number of indexed files
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /** Stops the background scans once the scan in progress, if any, is done */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Reads the metadata of a puzzle file. The file is read as a stream of XML events, without
+     * building its document, and files whose root is not a LEGUP element are rejected at once.
+     *
+     * @param file puzzle file
+     * @return entry of the file, which is not a puzzle if the file is not a valid LEGUP file
+     */
+    public static Entry read(File file) {
+        Entry entry = new Entry(file, file.lastModified(), file.length());
+        try (InputStream in = new FileInputStream(file)) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            try {
+                read(reader, entry);
+            } finally {
+                reader.close();
+            }
+        } catch (IOException | XMLStreamException e) {
+            LOGGER.debug("'{}' is not a LEGUP puzzle file", file.getPath());
+            entry.puzzleType = null;
+        }
+        if (entry.puzzleType != null) {
+            if (entry.tag == null || entry.tag.isEmpty()) {
+                entry.tag = file.getName();
+            }
+            entry.difficulty = findDifficulty(entry.tag);
+            for (File parent = file.getParentFile();
+                    entry.difficulty == null && parent != null;
+                    parent = parent.getParentFile()) {
+                entry.difficulty = findDifficulty(parent.getName());
+            }
+        }
+        return entry;
+    }
+
+    private static void read(XMLStreamReader reader, Entry entry) throws XMLStreamException {
+        reader.nextTag();
+        if (!reader.getLocalName().equals("Legup")) {
+            throw new XMLStreamException("Not a LEGUP file");
+        }
+        while (reader.hasNext()) {
+            if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            switch (reader.getLocalName()) {
+                case "puzzle" -> {
+                    if (entry.puzzleType == null) {
+                        entry.puzzleType = reader.getAttributeValue(null, "name");
+                        entry.tag = reader.getAttributeValue(null, "tag");
+                    }
+                }
+                case "board" -> {
+                    if (entry.width == 0 && entry.height == 0) {
+                        entry.width = parseSize(reader, "width");
+                        entry.height = parseSize(reader, "height");
+                    }
+                }
+                case "solved" -> {
+                    String isSolved = reader.getAttributeValue(null, "isSolved");
+                    String lastSaved = reader.getAttributeValue(null, "lastSaved");
+                    try {
+                        entry.solved =
+                                PuzzleExporter.inverseHash(
+                                        Integer.parseInt(isSolved),
+                                        lastSaved == null ? "" : lastSaved);
+                    } catch (NumberFormatException e) {
+                        entry.solved = null;
+                    }
+                }
+                default -> {}
+            }
+        }
+    }
+
+    // square boards only have a size attribute
+    private static int parseSize(XMLStreamReader reader, String name) {
+        String value = reader.getAttributeValue(null, name);
+        if (value == null) {
+            value = reader.getAttributeValue(null, "size");
+        }
+        try {
+            return value == null ? 0 : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String findDifficulty(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        for (String difficulty : DIFFICULTIES) {
+            String word = difficulty.toLowerCase(Locale.ROOT);
+            for (int i = lower.indexOf(word); i >= 0; i = lower.indexOf(word, i + 1)) {
+                int end = i + word.length();
+                if ((i == 0 || !Character.isLetter(lower.charAt(i - 1)))
+                        && (end == lower.length() || !Character.isLetter(lower.charAt(end)))) {
+                    return difficulty;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static XMLInputFactory newInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private static Map<String, Entry> load(File file) throws IOException {
+        Map<String, Entry> loaded = new HashMap<>();
+        try (BufferedReader reader =
+                new BufferedReader(
+                        new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            if (!HEADER.equals(line)) {
+                LOGGER.warn("Ignoring puzzle library index of an unknown version " + file);
+                return loaded;
+            }
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\t", -1);
+                try {
+                    Entry entry = parse(fields);
+                    loaded.put(entry.getPath(), entry);
+                } catch (RuntimeException e) {
+                    LOGGER.debug("Ignoring invalid puzzle library entry", e);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private static Entry parse(String[] fields) {
+        if (fields.length != ENTRY_FIELDS) {
+            throw new IllegalArgumentException("Incomplete puzzle library entry");
+        }
+        Entry entry =
+                new Entry(
+                        new File(unescape(fields[0])),
+                        Long.parseLong(fields[1]),
+                        Long.parseLong(fields[2]));
+        entry.puzzleType = unescape(fields[3]);
+        entry.tag = unescape(fields[4]);
+        entry.width = Integer.parseInt(fields[5]);
+        entry.height = Integer.parseInt(fields[6]);
+        entry.difficulty = unescape(fields[7]);
+        entry.solved = fields[8].equals("\\") ? null : fields[8].equals("1");
+        return entry;
+    }
+
+    // the index is written next to its file and moved over it, so a crash keeps the old index
+    private void save() throws IOException {
+        File parent = indexFile.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Unable to create " + parent);
+        }
+        File temporary = new File(indexFile.getPath() + ".tmp");
+        try (BufferedWriter writer =
+                new BufferedWriter(
+                        new OutputStreamWriter(
+                                new FileOutputStream(temporary), StandardCharsets.UTF_8))) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (Entry entry : entries.values()) {
+                writer.write(escape(entry.getPath()));
+                writer.write('\t');
+                writer.write(Long.toString(entry.getLastModified()));
+                writer.write('\t');
+                writer.write(Long.toString(entry.getLength()));
+                writer.write('\t');
+                writer.write(escape(entry.getPuzzleType()));
+                writer.write('\t');
+                writer.write(escape(entry.getTag()));
+                writer.write('\t');
+                writer.write(Integer.toString(entry.getWidth()));
+                writer.write('\t');
+                writer.write(Integer.toString(entry.getHeight()));
+                writer.write('\t');
+                writer.write(escape(entry.getDifficulty()));
+                writer.write('\t');
+                writer.write(entry.isSolved() == null ? "\\" : entry.isSolved() ? "1" : "0");
+                writer.newLine();
+            }
+        }
+        Files.move(
+                temporary.toPath(),
+                indexFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** The metadata of a file of the library */
+    public static final class Entry {
+        private final File file;
+        private final long lastModified;
+        private final long length;
+        private String puzzleType;
+        private String tag;
+        private int width;
+        private int height;
+        private String difficulty;
+        private Boolean solved;
+
+        private Entry(File file, long lastModified, long length) {
+            this.file = file;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public String getPath() {
+            return file.getAbsolutePath();
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        /**
+         * Determines whether the file is a LEGUP puzzle file
+         *
+         * @return true if the file holds a puzzle, false otherwise
+         */
+        public boolean isPuzzle() {
+            return puzzleType != null;
+        }
+
+        /**
+         * Gets the name of the puzzle type of the file
+         *
+         * @return name of the puzzle type, null if the file is not a puzzle file
+         */
+        public String getPuzzleType() {
+            return puzzleType;
+        }
+
+        /**
+         * Gets the tag of the puzzle, which is the name of the file for puzzles without a tag
+         *
+         * @return tag of the puzzle
+         */
+        public String getTag() {
+            return tag;
+        }
+
+        /**
+         * Gets the width of the board
+         *
+         * @return width of the board, 0 if the board has no size such as a short truth table
+         */
+        public int getWidth() {
+            return width;
+        }
+
+        /**
+         * Gets the height of the board
+         *
+         * @return height of the board, 0 if the board has no size such as a short truth table
+         */
+        public int getHeight() {
+            return height;
+        }
+
+        /**
+         * Gets the difficulty of the puzzle, taken from its tag or the name of a directory holding
+         * it
+         *
+         * @return difficulty of the puzzle, null if it is not known
+         */
+        public String getDifficulty() {
+            return difficulty;
+        }
+
+        /**
+         * Gets the solved state saved with the puzzle
+         *
+         * @return true if the puzzle was saved solved, false if it was saved unsolved, null if it
+         *     was never saved by LEGUP or the state cannot be read
+         */
+        public Boolean isSolved() {
+            return solved;
+        }
+
+        @Override
+        public String toString() {
+            return tag;
+        }
+    }
+}
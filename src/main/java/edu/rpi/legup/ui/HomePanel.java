@@ -4,7 +4,9 @@ import edu.rpi.legup.app.GameBoardFacade;
 import edu.rpi.legup.app.LegupPreferences;
 import edu.rpi.legup.app.VersionInfo;
 import edu.rpi.legup.controller.CursorController;
+import edu.rpi.legup.headless.SubmissionArchive;
 import edu.rpi.legup.model.PuzzleExporter;
+import edu.rpi.legup.save.InvalidFileFormatException;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
@@ -78,6 +80,13 @@ public class HomePanel extends LegupPanel {
      */
     public JMenuBar getMenuBar() {
         this.menuBar = new JMenuBar();
+        JMenu library = new JMenu("Library");
+        menuBar.add(library);
+        JMenuItem browse = new JMenuItem("Browse Puzzles");
+        browse.addActionListener(
+                a -> new PuzzleLibraryDialog(this.frame, legupUI).setVisible(true));
+        library.add(browse);
+
         JMenu settings = new JMenu("Settings");
         menuBar.add(settings);
         JMenuItem preferences = new JMenuItem("Preferences");
@@ -321,6 +330,11 @@ public class HomePanel extends LegupPanel {
                 // use this helper function to write to the .csv file
                 recursive_parser(folderEntry, writer, path);
             }
+            // Submission archives are graded from their index, without parsing any submission
+            for (final File archiveEntry :
+                    Objects.requireNonNull(folder.listFiles(SubmissionArchive::isArchive))) {
+                archive_parser(archiveEntry, writer);
+            }
         } catch (IOException ex) {
             LOGGER.error(ex.getMessage());
         }
@@ -391,9 +405,22 @@ public class HomePanel extends LegupPanel {
         }
 
         Element solvedElement = (Element) solvedNodes.item(0);
-        String isSolved = solvedElement.getAttribute("isSolved");
-        String lastSaved = solvedElement.getAttribute("lastSaved");
+        writeSolvedState(
+                solvedElement.getAttribute("isSolved"),
+                solvedElement.getAttribute("lastSaved"),
+                writer);
+    }
 
+    /**
+     * Unhashes the solved state and prints it out to csv together with the export timestamp
+     *
+     * @param isSolved - the hashed solved state
+     * @param lastSaved - the export timestamp
+     * @param writer - write to .csv
+     * @throws IOException
+     */
+    private void writeSolvedState(String isSolved, String lastSaved, BufferedWriter writer)
+            throws IOException {
         // unhash solved flag
         writer.write(",");
         try {
@@ -498,6 +525,52 @@ public class HomePanel extends LegupPanel {
         }
     }
 
+    /**
+     * Writes a line to the .csv file for every entry of a submission archive, using only the
+     * archive index
+     *
+     * @param archiveFile - the submission archive
+     * @param writer - write to .csv
+     * @throws IOException
+     */
+    private void archive_parser(File archiveFile, BufferedWriter writer) throws IOException {
+        try (SubmissionArchive archive = new SubmissionArchive(archiveFile)) {
+            for (SubmissionArchive.Entry entry : archive.getEntries()) {
+                String puzzleTag = entry.getTag();
+                String puzzleType = entry.getPuzzleName();
+                if (!_tagsToGrade.isEmpty()
+                        && _tagsToGrade.stream().noneMatch(puzzleTag::contains)) {
+                    continue;
+                }
+                if (!_typesToGrade.isEmpty()
+                        && _typesToGrade.stream().noneMatch(puzzleType::contains)) {
+                    continue;
+                }
+
+                String folder = entry.getFolder();
+                writer.write(
+                        folder.isEmpty()
+                                ? archiveFile.getName()
+                                : folder.substring(folder.lastIndexOf('/') + 1));
+                writer.write(",");
+                writer.write(entry.getFileName());
+                writer.write(",");
+                writer.write(puzzleType.isEmpty() ? "not a LEGUP puzzle!" : puzzleType);
+                writer.write(",");
+                writer.write(puzzleTag.isEmpty() ? "No tag given" : puzzleTag);
+                if (entry.getIsSolved().isEmpty()) {
+                    writer.write(",missing flag!");
+                } else {
+                    writeSolvedState(entry.getIsSolved(), entry.getLastSaved(), writer);
+                }
+                writer.write("\n");
+            }
+        } catch (InvalidFileFormatException e) {
+            LOGGER.error("'{}' is not a valid submission archive", archiveFile.getPath());
+            writer.write(archiveFile.getName() + ",Invalid submission archive!\n");
+        }
+    }
+
     /**
      * Updates all old puzzle files to the new tagged variant and hashes all solved states
      *
@@ -4,10 +4,12 @@ import com.formdev.flatlaf.FlatDarkLaf;
 import com.formdev.flatlaf.FlatLightLaf;
 import edu.rpi.legup.app.GameBoardFacade;
 import edu.rpi.legup.app.LegupPreferences;
+import edu.rpi.legup.save.PuzzleLibrary;
 import edu.rpi.legup.ui.boardview.BoardView;
 import edu.rpi.legup.ui.proofeditorui.treeview.TreePanel;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.File;
 import java.security.InvalidParameterException;
 import java.util.Objects;
 import javax.swing.*;
@@ -25,6 +27,7 @@ public class LegupUI extends JFrame implements WindowListener {
     protected FileDialog fileDialog;
     protected JPanel window;
     protected LegupPanel[] panels;
+    protected transient PuzzleLibrary puzzleLibrary;
 
     /**
      * Identifies operating system
@@ -60,6 +63,7 @@ public class LegupUI extends JFrame implements WindowListener {
 
         fileDialog = new FileDialog(this);
 
+        initPuzzleLibrary();
         initPanels();
         displayPanel(0);
 
@@ -97,6 +101,27 @@ public class LegupUI extends JFrame implements WindowListener {
         setVisible(true);
     }
 
+    /**
+     * Initializes the puzzle library over the bundled puzzle files and the work directory, and
+     * starts its first scan in the background. The work directory is left out while it is the home
+     * directory of the user, which would be far too large to scan.
+     */
+    private void initPuzzleLibrary() {
+        String home = System.getProperty("user.home");
+        puzzleLibrary = new PuzzleLibrary(new File(home, PuzzleLibrary.FILE_NAME));
+        File bundled = new File("puzzles files");
+        if (bundled.isDirectory()) {
+            puzzleLibrary.addDirectory(bundled);
+        }
+        String workPath =
+                LegupPreferences.getInstance().getUserPref(LegupPreferences.WORK_DIRECTORY);
+        File workDirectory = new File(workPath);
+        if (workDirectory.isDirectory() && !workDirectory.equals(new File(home))) {
+            puzzleLibrary.addDirectory(workDirectory);
+        }
+        puzzleLibrary.scanInBackground();
+    }
+
     /** Initializes the panels used in the UI. Sets up the layout and adds panels to the window. */
     private void initPanels() {
         window = new JPanel();
@@ -128,6 +153,15 @@ public class LegupUI extends JFrame implements WindowListener {
         repaint();
     }
 
+    /**
+     * Gets the library of the puzzle files known to the application
+     *
+     * @return the PuzzleLibrary
+     */
+    public PuzzleLibrary getPuzzleLibrary() {
+        return puzzleLibrary;
+    }
+
     /**
      * Gets the ProofEditorPanel instance
      *
@@ -31,11 +31,13 @@ public class PreferencesDialog extends JDialog {
 
     private JCheckBox fullScreen,
             autoUpdate,
+            proofJournal,
             darkMode,
             showMistakes,
             showAnnotations,
             allowDefault,
             generateCases,
+            showApplicableRules,
             immFeedback,
             colorBlind;
 
@@ -202,6 +204,20 @@ public class PreferencesDialog extends JDialog {
         autoUpdateRow.setMaximumSize(
                 new Dimension(Integer.MAX_VALUE, autoUpdateRow.getPreferredSize().height));
         contentPane.add(autoUpdateRow);
+
+        proofJournal =
+                new JCheckBox(
+                        "Keep Proof Journal",
+                        Boolean.valueOf(prefs.getUserPref(LegupPreferences.PROOF_JOURNAL)));
+        proofJournal.setToolTipText(
+                "If checked this keeps unsaved proof changes in a journal next to the puzzle file"
+                        + " and restores them when the file is opened again");
+        JPanel proofJournalRow = new JPanel();
+        proofJournalRow.setLayout(new BorderLayout());
+        proofJournalRow.add(proofJournal, BorderLayout.WEST);
+        proofJournalRow.setMaximumSize(
+                new Dimension(Integer.MAX_VALUE, proofJournalRow.getPreferredSize().height));
+        contentPane.add(proofJournalRow);
         //        contentPane.add(Box.createRigidArea(new Dimension(0, 10)));
 
         darkMode =
@@ -276,6 +292,20 @@ public class PreferencesDialog extends JDialog {
         generateCasesRow.setMaximumSize(
                 new Dimension(Integer.MAX_VALUE, generateCasesRow.getPreferredSize().height));
         contentPane.add(generateCasesRow);
+
+        showApplicableRules =
+                new JCheckBox(
+                        "Highlight Applicable Rules",
+                        Boolean.valueOf(prefs.getUserPref(LegupPreferences.SHOW_APPLICABLE_RULES)));
+        showApplicableRules.setToolTipText(
+                "If checked this highlights the rules that can be applied at the selected node");
+        JPanel showApplicableRulesRow = new JPanel();
+        showApplicableRulesRow.setLayout(new BorderLayout());
+        showApplicableRulesRow.add(showApplicableRules, BorderLayout.WEST);
+        showApplicableRulesRow.setMaximumSize(
+                new Dimension(
+                        Integer.MAX_VALUE, showApplicableRulesRow.getPreferredSize().height));
+        contentPane.add(showApplicableRulesRow);
         contentPane.add(Box.createRigidArea(new Dimension(0, 10)));
 
         immFeedback =
@@ -467,6 +497,8 @@ public class PreferencesDialog extends JDialog {
         prefs.setUserPref(
                 LegupPreferences.START_FULL_SCREEN, Boolean.toString(fullScreen.isSelected()));
         prefs.setUserPref(LegupPreferences.AUTO_UPDATE, Boolean.toString(autoUpdate.isSelected()));
+        prefs.setUserPref(
+                LegupPreferences.PROOF_JOURNAL, Boolean.toString(proofJournal.isSelected()));
         prefs.setUserPref(LegupPreferences.DARK_MODE, Boolean.toString(darkMode.isSelected()));
         prefs.setUserPref(
                 LegupPreferences.SHOW_MISTAKES, Boolean.toString(showMistakes.isSelected()));
@@ -476,6 +508,9 @@ public class PreferencesDialog extends JDialog {
                 LegupPreferences.ALLOW_DEFAULT_RULES, Boolean.toString(allowDefault.isSelected()));
         prefs.setUserPref(
                 LegupPreferences.AUTO_GENERATE_CASES, Boolean.toString(generateCases.isSelected()));
+        prefs.setUserPref(
+                LegupPreferences.SHOW_APPLICABLE_RULES,
+                Boolean.toString(showApplicableRules.isSelected()));
         prefs.setUserPref(
                 LegupPreferences.IMMEDIATE_FEEDBACK, Boolean.toString(immFeedback.isSelected()));
         prefs.setUserPref(LegupPreferences.COLOR_BLIND, Boolean.toString(colorBlind.isSelected()));
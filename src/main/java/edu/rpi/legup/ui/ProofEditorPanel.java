@@ -5,6 +5,10 @@ import edu.rpi.legup.app.LegupPreferences;
 import edu.rpi.legup.app.VersionInfo;
 import edu.rpi.legup.controller.BoardController;
 import edu.rpi.legup.controller.RuleController;
+import edu.rpi.legup.headless.GradingCache;
+import edu.rpi.legup.headless.ProofVerifier;
+import edu.rpi.legup.headless.SubmissionArchive;
+import edu.rpi.legup.headless.VerificationReport;
 import edu.rpi.legup.history.ICommand;
 import edu.rpi.legup.history.IHistoryListener;
 import edu.rpi.legup.model.Puzzle;
@@ -17,9 +21,11 @@ import edu.rpi.legup.save.ExportFileException;
 import edu.rpi.legup.save.InvalidFileFormatException;
 import edu.rpi.legup.ui.boardview.BoardView;
 import edu.rpi.legup.ui.proofeditorui.rulesview.RuleFrame;
+import edu.rpi.legup.ui.proofeditorui.rulesview.RuleHighlighter;
 import edu.rpi.legup.ui.proofeditorui.treeview.TreePanel;
 import edu.rpi.legup.ui.proofeditorui.treeview.TreeViewSelection;
 import edu.rpi.legup.user.Submission;
+import edu.rpi.legup.utility.Instrumentation;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
@@ -51,6 +57,7 @@ public class ProofEditorPanel extends LegupPanel implements IHistoryListener {
     private FileDialog fileDialog;
     private JFrame frame;
     private RuleFrame ruleFrame;
+    private transient RuleHighlighter ruleHighlighter;
     private DynamicView dynamicBoardView;
     private JSplitPane topHalfPanel, mainPanel;
     private TitledBorder boardBorder;
@@ -61,6 +68,7 @@ public class ProofEditorPanel extends LegupPanel implements IHistoryListener {
             resetPuzzle,
             saveProofAs,
             saveProofChange,
+            exportStatistics,
             helpTutorial,
             preferences,
             exit;
@@ -70,7 +78,7 @@ public class ProofEditorPanel extends LegupPanel implements IHistoryListener {
     private JMenu view;
 
     private JMenu proof;
-    private JMenuItem add, delete, merge, collapse;
+    private JMenuItem add, delete, merge, collapse, checkSolvable;
     private JCheckBoxMenuItem allowDefault, caseRuleGen, imdFeedback;
     private JMenu about, help;
     private JMenuItem helpLegup, aboutLegup;
@@ -178,6 +186,7 @@ public class ProofEditorPanel extends LegupPanel implements IHistoryListener {
         // generator
         saveProofAs = new JMenuItem("Save As"); // create a new file to save
         saveProofChange = new JMenuItem("Save"); // save to the current file
+        exportStatistics = new JMenuItem("Export Rule Statistics");
         preferences = new JMenuItem("Preferences");
         helpTutorial = new JMenuItem("Help"); // jump to web page
         exit = new JMenuItem("Exit");
@@ -240,6 +249,10 @@ public class ProofEditorPanel extends LegupPanel implements IHistoryListener {
         collapse.setEnabled(false);
         proof.add(collapse);
 
+        checkSolvable = new JMenuItem("Is Board Still Solvable?");
+        checkSolvable.addActionListener(a -> checkSolvable());
+        proof.add(checkSolvable);
+
         allowDefault =
                 new JCheckBoxMenuItem(
                         "Allow Default Rule Applications",
@@ -377,6 +390,11 @@ public class ProofEditorPanel extends LegupPanel implements IHistoryListener {
         saveProofChange.addActionListener((ActionEvent) -> saveProofChange());
         file.addSeparator();
 
+        // rule timing statistics
+        file.add(exportStatistics);
+        exportStatistics.addActionListener((ActionEvent) -> exportStatistics());
+        file.addSeparator();
+
         // preference
         file.add(preferences);
         preferences.addActionListener(
@@ -646,6 +664,7 @@ public class ProofEditorPanel extends LegupPanel implements IHistoryListener {
                     throw new ExportFileException("Puzzle exporter null");
                 }
                 exporter.exportPuzzle(fileName);
+                GameBoardFacade.getInstance().onPuzzleSaved(fileName);
             } catch (ExportFileException e) {
                 e.printStackTrace();
             }
@@ -687,12 +706,41 @@ public class ProofEditorPanel extends LegupPanel implements IHistoryListener {
                     throw new ExportFileException("Puzzle exporter null");
                 }
                 exporter.exportPuzzle(path);
+                GameBoardFacade.getInstance().onPuzzleSaved(path);
             } catch (ExportFileException e) {
                 e.printStackTrace();
             }
         }
     }
 
+    /**
+     * Opens a file chooser dialog for the user to select a CSV file and writes the call counts and
+     * latency histograms collected by {@link Instrumentation} to it.
+     */
+    private void exportStatistics() {
+        LegupPreferences preferences = LegupPreferences.getInstance();
+        File preferredDirectory =
+                new File(preferences.getUserPref(LegupPreferences.WORK_DIRECTORY));
+        JFileChooser fileBrowser = new JFileChooser(preferredDirectory);
+        fileBrowser.setDialogTitle("Export Rule Statistics");
+        fileBrowser.setSelectedFile(new File(preferredDirectory, "legup-statistics.csv"));
+
+        if (fileBrowser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = fileBrowser.getSelectedFile();
+        try {
+            Instrumentation.exportCsv(file);
+        } catch (IOException e) {
+            LOGGER.error("Unable to export rule statistics", e);
+            JOptionPane.showMessageDialog(
+                    this,
+                    "Could not write " + file.getName(),
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
     // Hyperlink for help button; links to wiki page for tutorials
     /**
      * Opens the default web browser to a help page related to the type of puzzle currently being
@@ -768,6 +816,7 @@ public class ProofEditorPanel extends LegupPanel implements IHistoryListener {
                     throw new ExportFileException("Puzzle exporter null");
                 }
                 exporter.exportPuzzle(fileName);
+                GameBoardFacade.getInstance().onPuzzleSaved(fileName);
                 // Save confirmation
                 JOptionPane.showMessageDialog(
                         null, "Successfully Saved", "Confirm", JOptionPane.INFORMATION_MESSAGE);
@@ -1007,6 +1056,33 @@ public class ProofEditorPanel extends LegupPanel implements IHistoryListener {
         return toolBar2Buttons;
     }
 
+    /**
+     * Hint that tells the user whether the selected board can still be completed, using the
+     * solver of the puzzle
+     */
+    private void checkSolvable() {
+        GameBoardFacade facade = GameBoardFacade.getInstance();
+        Puzzle puzzle = facade.getPuzzleModule();
+        Board board = facade.getBoard();
+        if (puzzle == null || board == null) {
+            return;
+        }
+        int count = puzzle.countSolutions(board, 1);
+        if (count < 0) {
+            JOptionPane.showMessageDialog(
+                    null, "There is no solver for " + puzzle.getName() + " puzzles yet.");
+        } else if (count == 0) {
+            JOptionPane.showMessageDialog(
+                    null,
+                    "This board can no longer be solved.",
+                    "Hint",
+                    JOptionPane.WARNING_MESSAGE);
+        } else {
+            JOptionPane.showMessageDialog(
+                    null, "This board can still be solved.", "Hint", JOptionPane.PLAIN_MESSAGE);
+        }
+    }
+
     /**
      * Uses the {@link GameBoardFacade} to obtain the current puzzle and board. If the puzzle is
      * complete, it notifies the user of a correct proof. If not, it alerts the user that the board
@@ -1113,6 +1189,13 @@ public class ProofEditorPanel extends LegupPanel implements IHistoryListener {
         puzzle.addTreeListener(treePanel.getTreeView());
         puzzle.addBoardListener(puzzle.getBoardView());
 
+        if (ruleHighlighter != null) {
+            ruleHighlighter.dispose();
+        }
+        ruleHighlighter = new RuleHighlighter(ruleFrame, puzzle);
+        puzzle.addTreeListener(ruleHighlighter);
+        puzzle.addBoardListener(ruleHighlighter);
+
         ruleFrame.getDirectRulePanel().setRules(puzzle.getDirectRules());
         ruleFrame.getCasePanel().setRules(puzzle.getCaseRules());
         ruleFrame.getContradictionPanel().setRules(puzzle.getContradictionRules());
@@ -1164,8 +1247,13 @@ public class ProofEditorPanel extends LegupPanel implements IHistoryListener {
         File folder = folderBrowser.getSelectedFile();
 
         // Write csv file (Path,File-Name,Puzzle-Type,Score,Solved?)
+        // Files graded by an earlier run are read from the grading cache kept in the folder
         File resultFile = new File(folder.getAbsolutePath() + File.separator + "result.csv");
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(resultFile))) {
+        File cacheFile = new File(folder, GradingCache.FILE_NAME);
+        ProofVerifier verifier = new ProofVerifier(facade.getConfig());
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(resultFile));
+                GradingCache cache =
+                        new GradingCache(cacheFile, GradingCache.fingerprint(facade.getConfig()))) {
             writer.append("Name,File Name,Puzzle Type,Score,Solved?\n");
 
             // Go through student folders
@@ -1173,7 +1261,7 @@ public class ProofEditorPanel extends LegupPanel implements IHistoryListener {
                     Objects.requireNonNull(folder.listFiles(File::isDirectory))) {
                 // Write path
                 String path = folderEntry.getName();
-                traverseDir(folderEntry, writer, path);
+                traverseDir(folderEntry, writer, path, verifier, cache);
             }
         } catch (IOException ex) {
             LOGGER.error(ex.getMessage());
@@ -1192,12 +1280,18 @@ public class ProofEditorPanel extends LegupPanel implements IHistoryListener {
      * @param folder the folder to traverse
      * @param writer the CSV writer
      * @param path the current path in the directory traversal
+     * @param verifier verifier used to grade the proofs
+     * @param cache cache of the proofs graded by earlier runs
      * @throws IOException if an error occurs while writing to the CSV file
      */
-    private void traverseDir(File folder, BufferedWriter writer, String path) throws IOException {
+    private void traverseDir(
+            File folder,
+            BufferedWriter writer,
+            String path,
+            ProofVerifier verifier,
+            GradingCache cache)
+            throws IOException {
         // Recursively traverse directory
-        GameBoardFacade facade = GameBoardFacade.getInstance();
-
         // Folder is empty
         if (Objects.requireNonNull(folder.listFiles()).length == 0) {
             writer.append(path).append(",Empty folder,,Ungradeable\n");
@@ -1209,7 +1303,11 @@ public class ProofEditorPanel extends LegupPanel implements IHistoryListener {
         for (final File f : Objects.requireNonNull(folder.listFiles())) {
             // Recurse
             if (f.isDirectory()) {
-                traverseDir(f, writer, path + "/" + f.getName());
+                traverseDir(f, writer, path + "/" + f.getName(), verifier, cache);
+                continue;
+            }
+            if (SubmissionArchive.isArchive(f)) {
+                traverseArchive(f, writer, path, verifier, cache);
                 continue;
             }
 
@@ -1224,17 +1322,13 @@ public class ProofEditorPanel extends LegupPanel implements IHistoryListener {
             if (puzzleFile.exists()) {
                 // Try to load file. If invalid, note in csv
                 try {
-                    // Load puzzle, run checker
-                    GameBoardFacade.getInstance().loadPuzzle(fPath);
-                    String puzzleName = GameBoardFacade.getInstance().getPuzzleModule().getName();
-                    frame.setTitle(puzzleName + " - " + puzzleFile.getName());
-                    facade = GameBoardFacade.getInstance();
-                    Puzzle puzzle = facade.getPuzzleModule();
+                    // Load puzzle, run checker, unless the file has been graded before
+                    VerificationReport report = cache.verify(puzzleFile, verifier);
 
                     // Write data
                     writer.append(fName).append(",");
-                    writer.append(puzzle.getName()).append(",");
-                    if (puzzle.isPuzzleComplete()) {
+                    writer.append(report.getPuzzleName()).append(",");
+                    if (report.isComplete()) {
                         writer.append("1,Solved\n");
                     } else {
                         writer.append("0,Unsolved\n");
@@ -1250,6 +1344,47 @@ public class ProofEditorPanel extends LegupPanel implements IHistoryListener {
         }
     }
 
+    /**
+     * Grades the proofs packed in a submission archive and writes the results to the specified CSV
+     * writer, in the same format as {@link #traverseDir}
+     *
+     * @param archiveFile the submission archive
+     * @param writer the CSV writer
+     * @param path the path of the folder holding the archive
+     * @param verifier verifier used to grade the proofs
+     * @param cache cache of the proofs graded by earlier runs
+     * @throws IOException if an error occurs while writing to the CSV file
+     */
+    private void traverseArchive(
+            File archiveFile,
+            BufferedWriter writer,
+            String path,
+            ProofVerifier verifier,
+            GradingCache cache)
+            throws IOException {
+        try (SubmissionArchive archive = new SubmissionArchive(archiveFile)) {
+            for (SubmissionArchive.Entry entry : archive.getEntries()) {
+                String folder = entry.getFolder();
+                writer.append(folder.isEmpty() ? path : path + "/" + folder).append(",");
+                writer.append(entry.getFileName()).append(",");
+                try {
+                    VerificationReport report = cache.verify(archive, entry, verifier);
+                    writer.append(report.getPuzzleName()).append(",");
+                    if (report.isComplete()) {
+                        writer.append("1,Solved\n");
+                    } else {
+                        writer.append("0,Unsolved\n");
+                    }
+                } catch (InvalidFileFormatException e) {
+                    writer.append("Invalid,,Ungradeable\n");
+                }
+            }
+        } catch (InvalidFileFormatException e) {
+            writer.append(path).append(",").append(archiveFile.getName());
+            writer.append(",Invalid,,Ungradeable\n");
+        }
+    }
+
     /**
      * Returns the current board view.
      *
@@ -14,11 +14,14 @@ import edu.rpi.legup.model.PuzzleExporter;
 import edu.rpi.legup.save.ExportFileException;
 import edu.rpi.legup.save.InvalidFileFormatException;
 import edu.rpi.legup.ui.boardview.BoardView;
+import edu.rpi.legup.ui.puzzleeditorui.UniquenessStatus;
 import edu.rpi.legup.ui.puzzleeditorui.elementsview.ElementFrame;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.InputEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
@@ -54,7 +57,7 @@ public class PuzzleEditorPanel extends LegupPanel implements IHistoryListener {
     private TitledBorder boardBorder;
     // private JSplitPane splitPanel, topHalfPanel;
     private FileDialog fileDialog;
-    private JMenuItem undo, redo, fitBoardToScreen;
+    private JMenuItem undo, redo, fitBoardToScreen, checkUniqueness;
     private ElementFrame elementFrame;
     private JPanel treePanel;
     private LegupUI legupUI;
@@ -64,6 +67,7 @@ public class PuzzleEditorPanel extends LegupPanel implements IHistoryListener {
     private boolean existingPuzzle;
     private String fileName;
     private File puzzleFile;
+    private UniquenessStatus uniquenessStatus;
 
     /**
      * Constructs a {@code PuzzleEditorPanel} with the specified file dialog, frame, and Legup UI
@@ -239,6 +243,15 @@ public class PuzzleEditorPanel extends LegupPanel implements IHistoryListener {
         fitBoardToScreen.addActionListener(
                 (ActionEvent) -> dynamicBoardView.fitBoardViewToScreen());
 
+        checkUniqueness = new JMenuItem("Count Solutions");
+        checkUniqueness.addActionListener(
+                (ActionEvent) -> {
+                    if (uniquenessStatus != null) {
+                        uniquenessStatus.check();
+                    }
+                });
+        menus[1].add(checkUniqueness);
+
         // HELP
         menus[2] = new JMenu("Help");
         helpLegup = new JMenuItem("Help Legup");
@@ -273,6 +286,9 @@ public class PuzzleEditorPanel extends LegupPanel implements IHistoryListener {
      */
     public void exitEditor() {
         // Wipes the puzzle entirely as if LEGUP just started
+        if (uniquenessStatus != null) {
+            uniquenessStatus.cancel();
+        }
         GameBoardFacade.getInstance().clearPuzzle();
         this.legupUI.displayPanel(0);
         treePanel = null;
@@ -456,6 +472,13 @@ public class PuzzleEditorPanel extends LegupPanel implements IHistoryListener {
         getToolBar2Buttons()[2] = saveandsolve;
         toolBar2.add(getToolBar2Buttons()[2]);
 
+        if (uniquenessStatus != null) {
+            uniquenessStatus.cancel();
+        }
+        uniquenessStatus = new UniquenessStatus();
+        toolBar2.addSeparator();
+        toolBar2.add(uniquenessStatus);
+
         this.add(toolBar2, BorderLayout.NORTH);
     }
 
@@ -698,6 +721,16 @@ public class PuzzleEditorPanel extends LegupPanel implements IHistoryListener {
         }
         toolBar1.setVisible(false);
         setupToolBar2();
+
+        // edits in the editor change the board directly, so the board is recounted after clicks
+        boardView.addMouseListener(
+                new MouseAdapter() {
+                    @Override
+                    public void mouseReleased(MouseEvent e) {
+                        uniquenessStatus.scheduleCheck();
+                    }
+                });
+        uniquenessStatus.scheduleCheck();
     }
 
     /** Saves a puzzle */
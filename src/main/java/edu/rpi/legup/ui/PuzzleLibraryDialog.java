@@ -0,0 +1,212 @@
+package edu.rpi.legup.ui;
+
+import edu.rpi.legup.save.PuzzleLibrary;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * The {@code PuzzleLibraryDialog} lists the puzzles of the {@link PuzzleLibrary} of the
+ * application, filtered by puzzle type, board size and difficulty, and opens the selected puzzle in
+ * the proof editor. The listing is taken from the index of the library, so it is shown at once and
+ * refreshed whenever a background scan of the library ends.
+ */
+public final class PuzzleLibraryDialog extends JDialog {
+    private static final long serialVersionUID = 1L;
+
+    private static final String ANY = "Any";
+    private static final String[] COLUMNS = {"Type", "Puzzle", "Size", "Difficulty", "Solved"};
+
+    private final transient LegupUI legupUI;
+    private final transient PuzzleLibrary library;
+    private final transient Runnable libraryListener =
+            () -> SwingUtilities.invokeLater(this::refresh);
+
+    private final JComboBox<String> typeBox = new JComboBox<>();
+    private final JComboBox<String> sizeBox = new JComboBox<>();
+    private final JComboBox<String> difficultyBox = new JComboBox<>();
+    private final EntryTableModel tableModel = new EntryTableModel();
+    private final JTable table = new JTable(tableModel);
+    private final JLabel status = new JLabel();
+    private boolean updatingFilters;
+
+    /**
+     * Constructs a {@code PuzzleLibraryDialog} listing the puzzles of the library of the
+     * application
+     *
+     * @param frame the main application frame
+     * @param legupUI the LEGUP user interface
+     */
+    public PuzzleLibraryDialog(JFrame frame, LegupUI legupUI) {
+        super(frame, "Puzzle Library", true);
+        this.legupUI = legupUI;
+        this.library = legupUI.getPuzzleLibrary();
+
+        JPanel filters = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        filters.add(new JLabel("Type:"));
+        filters.add(typeBox);
+        filters.add(new JLabel("Size:"));
+        filters.add(sizeBox);
+        filters.add(new JLabel("Difficulty:"));
+        filters.add(difficultyBox);
+        typeBox.addActionListener(e -> filter());
+        sizeBox.addActionListener(e -> filter());
+        difficultyBox.addActionListener(e -> filter());
+
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.setAutoCreateRowSorter(true);
+        table.addMouseListener(
+                new MouseAdapter() {
+                    @Override
+                    public void mouseClicked(MouseEvent e) {
+                        if (e.getClickCount() == 2) {
+                            openSelected();
+                        }
+                    }
+                });
+
+        JButton open = new JButton("Open");
+        open.addActionListener(e -> openSelected());
+        JButton rescan = new JButton("Rescan");
+        rescan.addActionListener(
+                e -> {
+                    status.setText("Scanning...");
+                    library.scanInBackground();
+                });
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttons.add(status);
+        buttons.add(rescan);
+        buttons.add(open);
+
+        setLayout(new BorderLayout());
+        add(filters, BorderLayout.NORTH);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+        add(buttons, BorderLayout.SOUTH);
+        setSize(640, 420);
+        setLocationRelativeTo(frame);
+
+        library.addListener(libraryListener);
+        addWindowListener(
+                new WindowAdapter() {
+                    @Override
+                    public void windowClosed(WindowEvent e) {
+                        library.removeListener(libraryListener);
+                    }
+                });
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        refresh();
+    }
+
+    /** Reloads the filter choices and the listing from the library, keeping the chosen filters */
+    private void refresh() {
+        updatingFilters = true;
+        List<String> sizes = new ArrayList<>();
+        for (Dimension size : library.getSizes()) {
+            sizes.add(size.width + "x" + size.height);
+        }
+        setChoices(typeBox, library.getPuzzleTypes());
+        setChoices(sizeBox, sizes);
+        setChoices(difficultyBox, library.getDifficulties());
+        updatingFilters = false;
+        status.setText(library.size() == 0 ? "Scanning..." : "");
+        filter();
+    }
+
+    private static void setChoices(JComboBox<String> box, List<String> choices) {
+        Object selected = box.getSelectedItem();
+        box.removeAllItems();
+        box.addItem(ANY);
+        for (String choice : choices) {
+            box.addItem(choice);
+        }
+        box.setSelectedItem(selected != null && choices.contains(selected) ? selected : ANY);
+    }
+
+    /** Lists the puzzles of the library matching the chosen filters */
+    private void filter() {
+        if (updatingFilters) {
+            return;
+        }
+        String type = getChoice(typeBox);
+        String size = getChoice(sizeBox);
+        int width = 0;
+        int height = 0;
+        if (size != null) {
+            String[] parts = size.split("x");
+            width = Integer.parseInt(parts[0]);
+            height = Integer.parseInt(parts[1]);
+        }
+        tableModel.setEntries(library.find(type, width, height, getChoice(difficultyBox)));
+    }
+
+    private static String getChoice(JComboBox<String> box) {
+        Object selected = box.getSelectedItem();
+        return selected == null || ANY.equals(selected) ? null : (String) selected;
+    }
+
+    private static String formatSize(PuzzleLibrary.Entry entry) {
+        if (entry.getWidth() == 0 && entry.getHeight() == 0) {
+            return "";
+        }
+        return entry.getWidth() + "x" + entry.getHeight();
+    }
+
+    /** Opens the selected puzzle in the proof editor */
+    private void openSelected() {
+        int row = table.getSelectedRow();
+        if (row < 0) {
+            return;
+        }
+        PuzzleLibrary.Entry entry = tableModel.getEntry(table.convertRowIndexToModel(row));
+        dispose();
+        legupUI.getProofEditor().loadPuzzle(entry.getPath(), entry.getFile());
+    }
+
+    private static class EntryTableModel extends AbstractTableModel {
+        private static final long serialVersionUID = 1L;
+
+        private transient List<PuzzleLibrary.Entry> entries = new ArrayList<>();
+
+        void setEntries(List<PuzzleLibrary.Entry> entries) {
+            this.entries = entries;
+            fireTableDataChanged();
+        }
+
+        PuzzleLibrary.Entry getEntry(int row) {
+            return entries.get(row);
+        }
+
+        @Override
+        public int getRowCount() {
+            return entries.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            PuzzleLibrary.Entry entry = entries.get(row);
+            return switch (column) {
+                case 0 -> entry.getPuzzleType();
+                case 1 -> entry.getTag();
+                case 2 -> formatSize(entry);
+                case 3 -> entry.getDifficulty() == null ? "" : entry.getDifficulty();
+                default -> entry.isSolved() == null ? "" : entry.isSolved() ? "Yes" : "No";
+            };
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package edu.rpi.legup.ui.proofeditorui.rulesview;
 
 import edu.rpi.legup.model.rules.Rule;
+import java.awt.Color;
 import javax.swing.*;
+import javax.swing.border.Border;
 
 /**
  * The {@code RuleButton} class is a custom button that represents a rule in the user interface. It
@@ -9,7 +11,13 @@ import javax.swing.*;
  * initialized with a {@link Rule} object, which provides the name and icon for the button.
  */
 public class RuleButton extends JButton {
+    private static final long serialVersionUID = 1L;
+
+    private static final Border HIGHLIGHT_BORDER =
+            BorderFactory.createLineBorder(new Color(0, 150, 0), 3);
+
     private Rule rule;
+    private transient Border border;
 
     /**
      * RuleButton Constructor - creates a button for a rule
@@ -41,4 +49,22 @@ public class RuleButton extends JButton {
     void setRule(Rule rule) {
         this.rule = rule;
     }
+
+    /**
+     * Sets whether the button is highlighted as a rule that can be applied at the selected node
+     *
+     * @param highlighted true to highlight the button, false otherwise
+     */
+    void setHighlighted(boolean highlighted) {
+        if (highlighted == (border != null)) {
+            return;
+        }
+        if (highlighted) {
+            border = getBorder();
+            setBorder(BorderFactory.createCompoundBorder(HIGHLIGHT_BORDER, border));
+        } else {
+            setBorder(border);
+            border = null;
+        }
+    }
 }
@@ -7,6 +7,7 @@ import edu.rpi.legup.model.rules.Rule;
 import edu.rpi.legup.ui.lookandfeel.components.MaterialTabbedPaneUI;
 import java.awt.BorderLayout;
 import java.awt.Dimension;
+import java.util.Collection;
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
 
@@ -111,6 +112,17 @@ public class RuleFrame extends JPanel {
         contradictionPanel.setSelectionByRule(rule);
     }
 
+    /**
+     * Highlights the buttons of the specified rules in every rule panel
+     *
+     * @param rules rules to highlight, the other rules are no longer highlighted
+     */
+    public void setHighlightedRules(Collection<? extends Rule> rules) {
+        DirectRulePanel.setHighlightedRules(rules);
+        casePanel.setHighlightedRules(rules);
+        contradictionPanel.setHighlightedRules(rules);
+    }
+
     /** Reset the rules button and status string */
     public void resetRuleButtons() {
         resetStatus();
@@ -0,0 +1,151 @@
+package edu.rpi.legup.ui.proofeditorui.rulesview;
+
+import edu.rpi.legup.app.LegupPreferences;
+import edu.rpi.legup.model.Puzzle;
+import edu.rpi.legup.model.gameboard.CaseBoard;
+import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.observer.IBoardListener;
+import edu.rpi.legup.model.observer.ITreeListener;
+import edu.rpi.legup.model.rules.Rule;
+import edu.rpi.legup.model.solver.RuleScanner;
+import edu.rpi.legup.model.solver.RuleSuggestion;
+import edu.rpi.legup.model.tree.TreeElement;
+import edu.rpi.legup.model.tree.TreeElementType;
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.ui.proofeditorui.treeview.TreeViewSelection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import javax.swing.*;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Highlights in a {@link RuleFrame} the rules that can be applied at the selected tree node, when
+ * the {@link LegupPreferences#SHOW_APPLICABLE_RULES} preference is set. The rules are tried by a
+ * {@link RuleScanner} in the background on a copy of the board of the node, a short delay after the
+ * selection, the tree or the data of the board last changed; a change made while scanning cancels
+ * the scan and starts a new one.
+ */
+public class RuleHighlighter implements ITreeListener, IBoardListener {
+    private static final Logger LOGGER = LogManager.getLogger(RuleHighlighter.class.getName());
+
+    // delay between the last change and the start of a scan, in milliseconds
+    private static final int DELAY = 200;
+
+    private final RuleFrame ruleFrame;
+    private final RuleScanner scanner;
+    private final Timer timer;
+    private TreeViewSelection selection;
+    private SwingWorker<List<RuleSuggestion>, Void> worker;
+
+    /**
+     * RuleHighlighter Constructor creates a highlighter for the rules of a puzzle
+     *
+     * @param ruleFrame rule frame showing the rules of the puzzle
+     * @param puzzle puzzle whose rules are highlighted
+     */
+    public RuleHighlighter(RuleFrame ruleFrame, Puzzle puzzle) {
+        this.ruleFrame = ruleFrame;
+        this.scanner = new RuleScanner(puzzle);
+        this.timer = new Timer(DELAY, e -> scan());
+        this.timer.setRepeats(false);
+    }
+
+    @Override
+    public void onTreeElementAdded(TreeElement treeElement) {
+        timer.restart();
+    }
+
+    @Override
+    public void onTreeElementRemoved(TreeElement element) {
+        timer.restart();
+    }
+
+    @Override
+    public void onTreeSelectionChanged(TreeViewSelection selection) {
+        this.selection = selection;
+        timer.restart();
+    }
+
+    @Override
+    public void onUpdateTree() {
+        timer.restart();
+    }
+
+    @Override
+    public void onTreeElementChanged(TreeElement treeElement) {
+        timer.restart();
+    }
+
+    @Override
+    public void onCaseBoardAdded(CaseBoard caseBoard) {}
+
+    @Override
+    public void onBoardDataChanged(PuzzleElement puzzleElement) {
+        timer.restart();
+    }
+
+    /** Cancels the scheduled or running scan and stops the threads of the scanner */
+    public void dispose() {
+        cancel();
+        scanner.shutdown();
+    }
+
+    private void cancel() {
+        timer.stop();
+        if (worker != null) {
+            worker.cancel(true);
+            worker = null;
+        }
+    }
+
+    /** Starts scanning the selected tree node now */
+    private void scan() {
+        cancel();
+        TreeNode node = getSelectedNode();
+        if (node == null
+                || !LegupPreferences.getInstance()
+                        .getUserPrefAsBool(LegupPreferences.SHOW_APPLICABLE_RULES)) {
+            ruleFrame.setHighlightedRules(List.of());
+            return;
+        }
+
+        TreeNode snapshot = new TreeNode(node.getBoard().copy());
+        SwingWorker<List<RuleSuggestion>, Void> current =
+                new SwingWorker<>() {
+                    @Override
+                    protected List<RuleSuggestion> doInBackground() throws InterruptedException {
+                        return scanner.scan(snapshot);
+                    }
+
+                    @Override
+                    protected void done() {
+                        if (isCancelled() || worker != this) {
+                            return;
+                        }
+                        worker = null;
+                        try {
+                            List<Rule> rules = new ArrayList<>();
+                            for (RuleSuggestion suggestion : get()) {
+                                rules.add(suggestion.getRule());
+                            }
+                            ruleFrame.setHighlightedRules(rules);
+                        } catch (InterruptedException | ExecutionException e) {
+                            LOGGER.error("Unable to find the applicable rules", e);
+                            ruleFrame.setHighlightedRules(List.of());
+                        }
+                    }
+                };
+        worker = current;
+        current.execute();
+    }
+
+    private TreeNode getSelectedNode() {
+        if (selection == null || selection.getSelectedViews().size() != 1) {
+            return null;
+        }
+        TreeElement element = selection.getFirstSelection().getTreeElement();
+        return element.getType() == TreeElementType.NODE ? (TreeNode) element : null;
+    }
+}
@@ -6,6 +6,7 @@ import edu.rpi.legup.ui.WrapLayout;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import javax.swing.*;
 import org.apache.logging.log4j.LogManager;
@@ -325,6 +326,21 @@ public abstract class RulePanel extends JPanel {
         }
     }
 
+    /**
+     * Highlights the buttons of the specified rules and removes the highlight of the other buttons
+     *
+     * @param highlighted rules to highlight
+     */
+    public void setHighlightedRules(Collection<? extends Rule> highlighted) {
+        if (ruleButtons != null) {
+            for (RuleButton button : ruleButtons) {
+                if (button != null) {
+                    button.setHighlighted(highlighted.contains(button.getRule()));
+                }
+            }
+        }
+    }
+
     /** Clears the rule buttons off this panel */
     protected void clearButtons() {
         if (ruleButtons != null) {
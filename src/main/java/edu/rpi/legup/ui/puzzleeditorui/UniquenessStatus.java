@@ -0,0 +1,108 @@
+package edu.rpi.legup.ui.puzzleeditorui;
+
+import edu.rpi.legup.app.GameBoardFacade;
+import edu.rpi.legup.model.Puzzle;
+import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.solver.SolutionCounter;
+import edu.rpi.legup.model.solver.UniquenessResult;
+import java.awt.*;
+import java.util.concurrent.ExecutionException;
+import javax.swing.*;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Label of the puzzle editor showing whether the board being edited has no solution, a unique
+ * solution or several. The solutions are counted in the background on a copy of the board, a short
+ * delay after the last edit, so the author can keep editing; an edit made while counting cancels
+ * the count and starts a new one.
+ */
+public final class UniquenessStatus extends JLabel {
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOGGER = LogManager.getLogger(UniquenessStatus.class.getName());
+
+    // delay between the last edit and the start of a count, in milliseconds
+    private static final int DELAY = 500;
+
+    private static final Color UNIQUE_COLOR = new Color(0, 150, 0);
+    private static final Color ERROR_COLOR = new Color(200, 0, 0);
+
+    private final Timer timer;
+    private transient SwingWorker<UniquenessResult, Void> worker;
+
+    /** UniquenessStatus Constructor creates an empty label */
+    public UniquenessStatus() {
+        super(" ");
+        this.timer = new Timer(DELAY, e -> check());
+        this.timer.setRepeats(false);
+    }
+
+    /** Schedules a count of the current board, delaying any count already scheduled */
+    public void scheduleCheck() {
+        timer.restart();
+    }
+
+    /** Cancels the scheduled or running count */
+    public void cancel() {
+        timer.stop();
+        if (worker != null) {
+            worker.cancel(true);
+            worker = null;
+        }
+    }
+
+    /** Starts counting the solutions of the current board now */
+    public void check() {
+        cancel();
+        Puzzle puzzle = GameBoardFacade.getInstance().getPuzzleModule();
+        Board board = puzzle == null ? null : puzzle.getCurrentBoard();
+        if (board == null) {
+            setText(" ");
+            return;
+        }
+
+        Board snapshot = board.copy();
+        setForeground(UIManager.getColor("Label.foreground"));
+        setText("Counting solutions...");
+        SwingWorker<UniquenessResult, Void> current =
+                new SwingWorker<>() {
+                    @Override
+                    protected UniquenessResult doInBackground() {
+                        return new SolutionCounter(puzzle).count(snapshot);
+                    }
+
+                    @Override
+                    protected void done() {
+                        if (isCancelled() || worker != this) {
+                            return;
+                        }
+                        worker = null;
+                        try {
+                            show(get());
+                        } catch (InterruptedException | ExecutionException e) {
+                            LOGGER.error("Unable to count the solutions", e);
+                            setForeground(ERROR_COLOR);
+                            setText("Unable to count the solutions");
+                        }
+                    }
+                };
+        worker = current;
+        current.execute();
+    }
+
+    private void show(UniquenessResult result) {
+        switch (result.getStatus()) {
+            case UNIQUE:
+                setForeground(UNIQUE_COLOR);
+                break;
+            case UNKNOWN:
+                setForeground(UIManager.getColor("Label.foreground"));
+                break;
+            default:
+                setForeground(ERROR_COLOR);
+                break;
+        }
+        setText(result.getMessage());
+    }
+}
@@ -0,0 +1,346 @@
+package edu.rpi.legup.utility;
+
+import edu.rpi.legup.model.gameboard.Board;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Collects call counts and latency histograms for rule checks, case generation, board copies and
+ * puzzle import/export, keyed by the operation and the id of the rule (or the class of the board,
+ * or the name of the puzzle). The statistics are exposed through the {@link InstrumentationMXBean}
+ * registered on the platform MBean server, can be dumped to a CSV file, and every measurement is
+ * also emitted as an {@link InstrumentationEvent} when a Java Flight Recorder recording is running.
+ *
+ * <p>Instrumentation can be turned off by starting LEGUP with {@code
+ * -Dlegup.instrumentation=false}.
+ */
+public final class Instrumentation {
+    private static final Logger LOGGER = LogManager.getLogger(Instrumentation.class.getName());
+
+    private static final String OBJECT_NAME = "edu.rpi.legup:type=Instrumentation";
+
+    /** Upper bounds (exclusive, in nanoseconds) of the latency histogram buckets */
+    private static final long[] BUCKET_BOUNDS = {
+        10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L
+    };
+
+    private static final String[] BUCKET_LABELS = {
+        "<10us", "<100us", "<1ms", "<10ms", "<100ms", "<1s", ">=1s"
+    };
+
+    /**
+     * Value returned by {@link #start()} while instrumentation is disabled. The origin of {@link
+     * System#nanoTime()} is arbitrary so a timestamp may well be 0, unlike the lowest long.
+     */
+    public static final long DISABLED = Long.MIN_VALUE;
+
+    private static final Map<String, Stat> stats = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled =
+            !Boolean.FALSE.toString().equalsIgnoreCase(System.getProperty("legup.instrumentation"));
+
+    private static volatile boolean registered = false;
+
+    /** The instrumented operations */
+    public enum Operation {
+        CHECK_RULE("Rule.checkRule"),
+        CHECK_RULE_AT("Rule.checkRuleAt"),
+        GET_CASES("CaseRule.getCases"),
+        CHECK_CONTRADICTION("ContradictionRule.checkContradiction"),
+        BOARD_COPY("Board.copy"),
+        IMPORT("PuzzleImporter.importPuzzle"),
+        EXPORT("PuzzleExporter.exportPuzzle");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Gets the method name this operation measures
+         *
+         * @return label of the operation
+         */
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private Instrumentation() {}
+
+    /**
+     * Gets whether measurements are currently being recorded
+     *
+     * @return true if instrumentation is enabled, false otherwise
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether measurements should be recorded
+     *
+     * @param isEnabled true to record measurements, false otherwise
+     */
+    public static void setEnabled(boolean isEnabled) {
+        enabled = isEnabled;
+    }
+
+    /**
+     * Starts a measurement. The returned value must be passed to {@link #record(Operation, String,
+     * long)} once the measured call returns.
+     *
+     * @return start timestamp in nanoseconds, or {@link #DISABLED} if instrumentation is
+     *     disabled
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : DISABLED;
+    }
+
+    /**
+     * Records a measurement that was started with {@link #start()}
+     *
+     * @param operation operation that was measured
+     * @param id id of the rule, board class or puzzle the operation was performed on
+     * @param start value returned by {@link #start()}
+     */
+    public static void record(Operation operation, String id, long start) {
+        if (!enabled || start == DISABLED) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        String key = operation.getLabel() + "#" + id;
+        Stat stat = stats.get(key);
+        if (stat == null) {
+            register();
+            stat = stats.computeIfAbsent(key, k -> new Stat(operation, id));
+        }
+        stat.add(elapsed);
+
+        InstrumentationEvent event = new InstrumentationEvent();
+        if (event.isEnabled()) {
+            event.operation = operation.getLabel();
+            event.id = id;
+            event.elapsed = elapsed;
+            event.commit();
+        }
+    }
+
+    /**
+     * Performs a deep copy of the specified board and records the time spent doing so
+     *
+     * @param board board to copy
+     * @return a new copy of the board
+     */
+    public static Board copy(Board board) {
+        long start = start();
+        Board copy = board.copy();
+        record(Operation.BOARD_COPY, board.getClass().getSimpleName(), start);
+        return copy;
+    }
+
+    /** Clears all recorded measurements */
+    public static void reset() {
+        stats.clear();
+    }
+
+    /**
+     * Gets a snapshot of the recorded statistics, ordered by operation and id
+     *
+     * @return list of the recorded statistics
+     */
+    public static List<Stat> getStats() {
+        List<Stat> snapshot = new ArrayList<>(new TreeMap<>(stats).values());
+        return Collections.unmodifiableList(snapshot);
+    }
+
+    /**
+     * Writes the recorded statistics to a CSV file, one row per operation and id
+     *
+     * @param file file to write to
+     * @throws IOException if the file cannot be written
+     */
+    public static void exportCsv(File file) throws IOException {
+        try (PrintWriter writer = new PrintWriter(file, "UTF-8")) {
+            StringBuilder header =
+                    new StringBuilder("operation,id,count,total_ms,mean_ms,max_ms");
+            for (String label : BUCKET_LABELS) {
+                header.append(',').append(label);
+            }
+            writer.println(header);
+
+            for (Stat stat : getStats()) {
+                StringBuilder row = new StringBuilder();
+                row.append(stat.getOperation().getLabel()).append(',');
+                row.append(escapeCsv(stat.getId())).append(',');
+                row.append(stat.getCount()).append(',');
+                row.append(stat.getTotalMillis()).append(',');
+                row.append(stat.getMeanMillis()).append(',');
+                row.append(stat.getMaxMillis());
+                for (long bucket : stat.getHistogram()) {
+                    row.append(',').append(bucket);
+                }
+                writer.println(row);
+            }
+        }
+        LOGGER.info("Exported instrumentation statistics to {}", file.getAbsolutePath());
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.contains(",") || value.contains("\"")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    /** Registers the MBean on the platform MBean server the first time a measurement is made */
+    private static synchronized void register() {
+        if (registered) {
+            return;
+        }
+        registered = true;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MXBean(), name);
+            }
+        } catch (JMException | RuntimeException e) {
+            LOGGER.error("Unable to register instrumentation MBean", e);
+        }
+    }
+
+    /** Statistics of a single operation performed on a single rule, board class or puzzle */
+    public static final class Stat {
+        private final Operation operation;
+        private final String id;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Long::max, 0L);
+        private final LongAdder[] histogram = new LongAdder[BUCKET_LABELS.length];
+
+        private Stat(Operation operation, String id) {
+            this.operation = operation;
+            this.id = id;
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+
+        private void add(long nanos) {
+            count.increment();
+            total.add(nanos);
+            max.accumulate(nanos);
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS.length && nanos >= BUCKET_BOUNDS[bucket]) {
+                bucket++;
+            }
+            histogram[bucket].increment();
+        }
+
+        public Operation getOperation() {
+            return operation;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public double getTotalMillis() {
+            return total.sum() / 1e6;
+        }
+
+        public double getMeanMillis() {
+            long n = count.sum();
+            return n == 0 ? 0.0 : total.sum() / 1e6 / n;
+        }
+
+        public double getMaxMillis() {
+            return max.get() / 1e6;
+        }
+
+        /**
+         * Gets the number of calls that fell into each latency bucket
+         *
+         * @return bucket counts from fastest to slowest
+         */
+        public long[] getHistogram() {
+            long[] counts = new long[histogram.length];
+            for (int i = 0; i < histogram.length; i++) {
+                counts[i] = histogram[i].sum();
+            }
+            return counts;
+        }
+    }
+
+    /** MBean implementation backed by the static statistics */
+    private static final class MXBean implements InstrumentationMXBean {
+        @Override
+        public boolean isEnabled() {
+            return Instrumentation.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            Instrumentation.setEnabled(enabled);
+        }
+
+        @Override
+        public Map<String, Long> getCallCounts() {
+            Map<String, Long> counts = new TreeMap<>();
+            stats.forEach((key, stat) -> counts.put(key, stat.getCount()));
+            return counts;
+        }
+
+        @Override
+        public Map<String, Double> getMeanMillis() {
+            Map<String, Double> means = new TreeMap<>();
+            stats.forEach((key, stat) -> means.put(key, stat.getMeanMillis()));
+            return means;
+        }
+
+        @Override
+        public Map<String, Double> getMaxMillis() {
+            Map<String, Double> maxes = new TreeMap<>();
+            stats.forEach((key, stat) -> maxes.put(key, stat.getMaxMillis()));
+            return maxes;
+        }
+
+        @Override
+        public Map<String, Double> getTotalMillis() {
+            Map<String, Double> totals = new TreeMap<>();
+            stats.forEach((key, stat) -> totals.put(key, stat.getTotalMillis()));
+            return totals;
+        }
+
+        @Override
+        public void reset() {
+            Instrumentation.reset();
+        }
+
+        @Override
+        public void dumpCsv(String fileName) throws IOException {
+            Instrumentation.exportCsv(new File(fileName));
+        }
+    }
+}
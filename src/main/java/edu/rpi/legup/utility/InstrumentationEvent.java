@@ -0,0 +1,31 @@
+package edu.rpi.legup.utility;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event emitted by {@link Instrumentation} for every measured call. Events are only
+ * committed while a recording that enables {@code edu.rpi.legup.Instrumentation} is running.
+ */
+@Name("edu.rpi.legup.Instrumentation")
+@Label("LEGUP Operation")
+@Category("LEGUP")
+@Description("Rule check, case generation, board copy or puzzle import/export")
+@StackTrace(false)
+class InstrumentationEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Id")
+    @Description("Rule id, board class or puzzle name")
+    String id;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+}
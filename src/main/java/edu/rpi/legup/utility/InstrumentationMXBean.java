@@ -0,0 +1,34 @@
+package edu.rpi.legup.utility;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Management interface of {@link Instrumentation}, registered as {@code
+ * edu.rpi.legup:type=Instrumentation}. Keys of the returned maps are of the form {@code
+ * operation#id}, for example {@code Rule.checkRule#TREE-BASC-0001}.
+ */
+public interface InstrumentationMXBean {
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    Map<String, Long> getCallCounts();
+
+    Map<String, Double> getMeanMillis();
+
+    Map<String, Double> getMaxMillis();
+
+    Map<String, Double> getTotalMillis();
+
+    /** Clears all recorded measurements */
+    void reset();
+
+    /**
+     * Writes the recorded statistics to a CSV file
+     *
+     * @param fileName path of the file to write
+     * @throws IOException if the file cannot be written
+     */
+    void dumpCsv(String fileName) throws IOException;
+}
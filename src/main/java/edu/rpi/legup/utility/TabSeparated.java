@@ -0,0 +1,63 @@
+package edu.rpi.legup.utility;
+
+/**
+ * The {@code TabSeparated} class escapes the fields of the tab separated index files written by
+ * the puzzle library and the grading cache, so that a field never holds a tab or a line break. A
+ * backslash starts an escape, and a null field is written as a lone backslash, which escaping
+ * never produces.
+ */
+public final class TabSeparated {
+    private TabSeparated() {}
+
+    /**
+     * Escapes a field so it can be written between tabs on a single line
+     *
+     * @param value field to escape, may be null
+     * @return escaped field
+     */
+    public static String escape(String value) {
+        if (value == null) {
+            return "\\";
+        }
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> builder.append("\\\\");
+                case '\t' -> builder.append("\\t");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                default -> builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Reads back a field written by {@link #escape(String)}
+     *
+     * @param value escaped field
+     * @return original field, null if a null field was escaped
+     */
+    public static String unescape(String value) {
+        if (value.equals("\\")) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                switch (next) {
+                    case 't' -> builder.append('\t');
+                    case 'n' -> builder.append('\n');
+                    case 'r' -> builder.append('\r');
+                    default -> builder.append(next);
+                }
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+}
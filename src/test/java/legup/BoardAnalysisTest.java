@@ -0,0 +1,115 @@
+package legup;
+
+import edu.rpi.legup.model.Puzzle;
+import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.BoardAnalysis;
+import edu.rpi.legup.model.rules.ContradictionRule;
+import edu.rpi.legup.puzzle.lightup.LightUp;
+import edu.rpi.legup.puzzle.lightup.LightUpBoard;
+import edu.rpi.legup.puzzle.nurikabe.Nurikabe;
+import edu.rpi.legup.puzzle.sudoku.Sudoku;
+import edu.rpi.legup.puzzle.treetent.TreeTent;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class BoardAnalysisTest {
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+    }
+
+    /** Checks that structures are computed once, including those computed from other structures */
+    @Test
+    public void MemoTest() {
+        AtomicInteger computed = new AtomicInteger();
+        BoardAnalysis.Key<Object> first =
+                new BoardAnalysis.Key<>(
+                        analysis -> {
+                            computed.incrementAndGet();
+                            return new Object();
+                        });
+        BoardAnalysis.Key<Object[]> second =
+                new BoardAnalysis.Key<>(analysis -> new Object[] {analysis.get(first)});
+
+        BoardAnalysis analysis = new BoardAnalysis(null);
+        Object[] result = analysis.get(second);
+        Assert.assertSame(result, analysis.get(second));
+        Assert.assertSame(result[0], analysis.get(first));
+        Assert.assertEquals(1, computed.get());
+
+        Assert.assertNotSame(result[0], new BoardAnalysis(null).get(first));
+        Assert.assertEquals(2, computed.get());
+    }
+
+    /**
+     * Checks that skipping the elements that cannot hold a contradiction and sharing one analysis
+     * between rules finds the same contradictions as checking every element on its own
+     */
+    @Test
+    public void PruningTest() throws InvalidFileFormatException {
+        checkPuzzle(
+                new Nurikabe(),
+                "puzzles/nurikabe/rules/BlackSquareContradictionRule/SimpleBlackSquare",
+                "puzzles/nurikabe/rules/IsolateBlackContradictionRule/DiagonalIsolateBlack",
+                "puzzles/nurikabe/rules/IsolateBlackContradictionRule/FalseIsolateBlack",
+                "puzzles/nurikabe/rules/MultipleNumbersContradictionRule/ComplexRegion",
+                "puzzles/nurikabe/rules/TooFewSpacesContradictionRule/InsufficientSpace",
+                "puzzles/nurikabe/rules/TooManySpacesContradictionRule/ExtraDiagonalSpace",
+                "puzzles/nurikabe/rules/UnreachableWhiteCellContradictionRule/"
+                        + "SimpleUnreachableTest");
+        checkPuzzle(
+                new LightUp(),
+                "puzzles/lightup/rules/BulbsInPathContradictionRule/LightInHorizontalPath",
+                "puzzles/lightup/rules/CannotLightACellContradictionRule/CannotLight",
+                "puzzles/lightup/rules/CannotLightACellContradictionRule/FullLightTest",
+                "puzzles/lightup/rules/TooFewBulbsContradictionRule/TooFew",
+                "puzzles/lightup/rules/TooManyBulbsContradictionRule/TooMany");
+        checkPuzzle(
+                new TreeTent(),
+                "puzzles/treetent/rules/NoTentForTreeContradictionRule/NoTentForTreeTwoTrees",
+                "puzzles/treetent/rules/NoTreeForTentContradictionRule/NoTreeForTentYesTree",
+                "puzzles/treetent/rules/TooFewTentsContradictionRule/TooFewTents3x3Column",
+                "puzzles/treetent/rules/TooFewTentsContradictionRule/TooFewTentsNoContradiction",
+                "puzzles/treetent/rules/TooManyTentsContradictionRule/TooManyTentsBottomRight",
+                "puzzles/treetent/rules/TouchingTentsContradictionRule/TouchingTentsDiagonal");
+        checkPuzzle(
+                new Sudoku(),
+                "puzzles/sudoku/rules/LastCellForNumberDirectRule/CorneredRegion",
+                "puzzles/sudoku/rules/LastNumberForCellDirectRule/FullMixed",
+                "puzzles/sudoku/rules/RepeatedNumberContradictionRule/BlankBoard4");
+    }
+
+    private static void checkPuzzle(Puzzle puzzle, String... fileNames)
+            throws InvalidFileFormatException {
+        for (String fileName : fileNames) {
+            TestUtilities.importTestBoard(fileName, puzzle);
+            Board board = puzzle.getTree().getRootNode().getBoard().copy();
+            if (board instanceof LightUpBoard) {
+                ((LightUpBoard) board).fillWithLight();
+            }
+            checkBoard(puzzle, board, fileName);
+        }
+    }
+
+    private static void checkBoard(Puzzle puzzle, Board board, String fileName) {
+        BoardAnalysis analysis = new BoardAnalysis(board);
+        for (ContradictionRule rule : puzzle.getContradictionRules()) {
+            boolean expected = false;
+            for (PuzzleElement element : board.getPuzzleElements()) {
+                if (rule.checkContradictionAt(board, element) == null) {
+                    expected = true;
+                    break;
+                }
+            }
+            String message = rule.getRuleName() + " on " + fileName;
+            Assert.assertEquals(message, expected, rule.checkContradiction(board) == null);
+            Assert.assertEquals(
+                    message, expected, rule.checkContradiction(board, analysis) == null);
+        }
+    }
+}
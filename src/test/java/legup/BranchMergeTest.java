@@ -0,0 +1,140 @@
+package legup;
+
+import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.MergeRule;
+import edu.rpi.legup.model.tree.BranchMerge;
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.lightup.LightUp;
+import edu.rpi.legup.puzzle.lightup.LightUpBoard;
+import edu.rpi.legup.puzzle.lightup.LightUpCell;
+import edu.rpi.legup.puzzle.lightup.LightUpCellType;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class BranchMergeTest {
+    private static LightUp lightUp;
+
+    private TreeNode root;
+    private List<LightUpCell> unknown;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        lightUp = new LightUp();
+    }
+
+    @Before
+    public void importBoard() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/lightup/rules/TooFewBulbsContradictionRule/TooFew", lightUp);
+        LightUpBoard board = (LightUpBoard) lightUp.getTree().getRootNode().getBoard();
+        root = new TreeNode(board.copy());
+        unknown = new ArrayList<>();
+        for (PuzzleElement element : board.getPuzzleElements()) {
+            if (((LightUpCell) element).getType() == LightUpCellType.UNKNOWN) {
+                unknown.add((LightUpCell) element);
+            }
+        }
+        Assert.assertTrue(unknown.size() >= 3);
+    }
+
+    /**
+     * Adds a child node to a node, setting cells to the specified types
+     *
+     * @param parent node to add the child to
+     * @param cells cells to change
+     * @param types types of the cells
+     * @return added child node
+     */
+    private static TreeNode addChild(
+            TreeNode parent, List<LightUpCell> cells, List<LightUpCellType> types) {
+        LightUpBoard board = (LightUpBoard) parent.getBoard().copy();
+        for (int i = 0; i < cells.size(); i++) {
+            LightUpCell cell = (LightUpCell) board.getPuzzleElement(cells.get(i));
+            cell.setData(types.get(i).value);
+            board.addModifiedData(cell);
+        }
+        TreeTransition transition = new TreeTransition(parent, board);
+        parent.addChild(transition);
+        TreeNode child = new TreeNode(board.copy());
+        transition.setChildNode(child);
+        child.setParent(transition);
+        return child;
+    }
+
+    /**
+     * Checks that the elements every branch changed the same way are merged, and that the merge
+     * matches comparing every element of the board
+     */
+    @Test
+    public void MergedBoardTest() {
+        LightUpCell above = unknown.get(0);
+        LightUpCell same = unknown.get(1);
+        LightUpCell different = unknown.get(2);
+
+        TreeNode lca = addChild(root, List.of(above), List.of(LightUpCellType.EMPTY));
+        TreeNode first =
+                addChild(
+                        lca,
+                        List.of(same, different),
+                        List.of(LightUpCellType.EMPTY, LightUpCellType.BULB));
+        TreeNode second =
+                addChild(
+                        lca,
+                        List.of(same, different),
+                        List.of(LightUpCellType.EMPTY, LightUpCellType.EMPTY));
+        first = addChild(first, List.of(), List.of());
+
+        BranchMerge merge = new BranchMerge(List.of(first, second));
+        Assert.assertSame(lca, merge.getLowestCommonAncestor());
+
+        Board merged = merge.getMergedBoard();
+        LightUpBoard lcaBoard = (LightUpBoard) lca.getBoard();
+        Board expected =
+                lcaBoard.mergedBoard(lcaBoard, List.of(first.getBoard(), second.getBoard()));
+        for (PuzzleElement element : expected.getPuzzleElements()) {
+            Assert.assertTrue(element.equalsData(merged.getPuzzleElement(element)));
+        }
+        Assert.assertEquals(expected.getModifiedData().size(), merged.getModifiedData().size());
+
+        Assert.assertEquals(
+                LightUpCellType.EMPTY, ((LightUpCell) merged.getPuzzleElement(above)).getType());
+        Assert.assertEquals(
+                LightUpCellType.EMPTY, ((LightUpCell) merged.getPuzzleElement(same)).getType());
+        Assert.assertEquals(
+                LightUpCellType.UNKNOWN,
+                ((LightUpCell) merged.getPuzzleElement(different)).getType());
+        Assert.assertEquals(1, merged.getModifiedData().size());
+    }
+
+    /** Checks that a merge transition keeps its merge until its parents change */
+    @Test
+    public void MergeTransitionTest() {
+        TreeNode first = addChild(root, List.of(unknown.get(0)), List.of(LightUpCellType.EMPTY));
+        TreeNode second = addChild(root, List.of(unknown.get(0)), List.of(LightUpCellType.EMPTY));
+        TreeNode third = addChild(root, List.of(unknown.get(0)), List.of(LightUpCellType.BULB));
+
+        Board mergedBoard = new BranchMerge(List.of(first, second)).getMergedBoard();
+        TreeTransition transition = new TreeTransition(mergedBoard);
+        MergeRule rule = new MergeRule();
+        transition.setRule(rule);
+        transition.addParent(first);
+        transition.addParent(second);
+
+        BranchMerge merge = transition.getBranchMerge();
+        Assert.assertSame(merge, transition.getBranchMerge());
+        Assert.assertNull(rule.checkRule(transition));
+
+        transition.removeParent(second);
+        transition.addParent(third);
+        Assert.assertNotSame(merge, transition.getBranchMerge());
+        Assert.assertNotNull(rule.checkRule(transition));
+    }
+}
@@ -0,0 +1,150 @@
+package legup;
+
+import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.gameboard.CaseBoard;
+import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.rules.CaseDelta;
+import edu.rpi.legup.model.rules.CaseRule;
+import edu.rpi.legup.puzzle.sudoku.Sudoku;
+import edu.rpi.legup.puzzle.sudoku.SudokuBoard;
+import edu.rpi.legup.puzzle.sudoku.SudokuCell;
+import edu.rpi.legup.puzzle.sudoku.rules.PossibleCellsForNumberColumnCaseRule;
+import edu.rpi.legup.puzzle.sudoku.rules.PossibleCellsForNumberRegionCaseRule;
+import edu.rpi.legup.puzzle.sudoku.rules.PossibleCellsForNumberRowCaseRule;
+import edu.rpi.legup.puzzle.treetent.TreeTent;
+import edu.rpi.legup.puzzle.treetent.TreeTentBoard;
+import edu.rpi.legup.puzzle.treetent.TreeTentLine;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class CaseDeltaTest {
+    private static Sudoku sudoku;
+    private static TreeTent treetent;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        sudoku = new Sudoku();
+        treetent = new TreeTent();
+    }
+
+    private static SudokuBoard importSudoku(String fileName) throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(fileName, sudoku);
+        return (SudokuBoard) sudoku.getTree().getRootNode().getBoard().copy();
+    }
+
+    /** Checks that applying a case changes a copy of the board and marks the change as modified */
+    @Test
+    public void ApplyCopiesBoardTest() throws InvalidFileFormatException {
+        SudokuBoard board =
+                importSudoku("puzzles/sudoku/rules/LastCellForNumberDirectRule/CorneredRegion");
+        SudokuCell cell = board.getCell(0, 0);
+        Assert.assertEquals(0, (int) cell.getData());
+
+        CaseDelta delta = CaseDelta.of(cell, 5);
+        Assert.assertEquals(0, (int) cell.getData());
+        Assert.assertEquals(1, delta.getChanges().size());
+
+        SudokuBoard caseBoard = (SudokuBoard) delta.apply(board);
+        Assert.assertNotSame(board, caseBoard);
+        Assert.assertEquals(5, (int) caseBoard.getCell(0, 0).getData());
+        Assert.assertTrue(caseBoard.getCell(0, 0).isModifiable());
+        Assert.assertEquals(1, caseBoard.getModifiedData().size());
+        Assert.assertTrue(caseBoard.getModifiedData().contains(caseBoard.getCell(0, 0)));
+
+        // the board the case was applied to is left as it was
+        Assert.assertEquals(0, (int) board.getCell(0, 0).getData());
+        Assert.assertTrue(board.getModifiedData().isEmpty());
+    }
+
+    /** Checks that a change that is not modifiable makes the element of the case board fixed */
+    @Test
+    public void ApplyUnmodifiableChangeTest() throws InvalidFileFormatException {
+        SudokuBoard board =
+                importSudoku("puzzles/sudoku/rules/LastCellForNumberDirectRule/CorneredRegion");
+        SudokuCell change = board.getCell(4, 4).copy();
+        change.setData(7);
+        change.setModifiable(false);
+
+        SudokuBoard caseBoard = (SudokuBoard) new CaseDelta(change).apply(board);
+        Assert.assertEquals(7, (int) caseBoard.getCell(4, 4).getData());
+        Assert.assertFalse(caseBoard.getCell(4, 4).isModifiable());
+        Assert.assertTrue(board.getCell(4, 4).isModifiable());
+    }
+
+    /** Checks that an element without an index, such as a TreeTent line, is added to the board */
+    @Test
+    public void ApplyLineTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard("puzzles/treetent/rules/LinkTreeCaseRule/TwoTents", treetent);
+        TreeTentBoard board = (TreeTentBoard) treetent.getTree().getRootNode().getBoard();
+        TreeTentLine line = new TreeTentLine(board.getCell(1, 1), board.getCell(0, 1));
+
+        TreeTentBoard caseBoard = (TreeTentBoard) new CaseDelta(line).apply(board);
+        Assert.assertEquals(1, caseBoard.getLines().size());
+        Assert.assertTrue(caseBoard.getLines().get(0).compare(line));
+        Assert.assertEquals(1, caseBoard.getModifiedData().size());
+        Assert.assertTrue(board.getLines().isEmpty());
+    }
+
+    /**
+     * Checks that the cases of the Sudoku cell case rules, applied one at a time, are equal to the
+     * boards returned by getCases
+     */
+    @Test
+    public void SudokuCasesEqualBoardsTest() throws InvalidFileFormatException {
+        SudokuBoard board =
+                importSudoku("puzzles/sudoku/rules/LastCellForNumberDirectRule/CorneredRegion");
+        List<CaseRule> rules =
+                List.of(
+                        new PossibleCellsForNumberRegionCaseRule(),
+                        new PossibleCellsForNumberRowCaseRule(),
+                        new PossibleCellsForNumberColumnCaseRule());
+        for (CaseRule rule : rules) {
+            CaseBoard caseBoard = rule.getCaseBoard(board);
+            Assert.assertTrue(caseBoard.getSourceBoard().equalsBoard(board));
+            for (PuzzleElement element : caseBoard.getPickableElements()) {
+                // the cells of a group are a set, so the cases can come in any order
+                List<Board> cases = rule.getCases(caseBoard.getSourceBoard(), element);
+                Iterator<CaseDelta> deltas = rule.getCaseDeltas(board, element);
+                while (deltas.hasNext()) {
+                    Board actual = deltas.next().apply(board);
+                    Assert.assertEquals(1, actual.getModifiedData().size());
+                    Assert.assertTrue(cases.removeIf(actual::equalsBoard));
+                }
+                Assert.assertTrue(cases.isEmpty());
+            }
+        }
+    }
+
+    /**
+     * Checks that the Sudoku cell case rules generate their cases from the board they are given,
+     * not from the last board a case board was created for
+     */
+    @Test
+    public void SudokuCasesFromGivenBoardTest() throws InvalidFileFormatException {
+        SudokuBoard fullRegion =
+                importSudoku("puzzles/sudoku/rules/LastNumberForCellDirectRule/FullRegion");
+        SudokuBoard cornered =
+                importSudoku("puzzles/sudoku/rules/LastCellForNumberDirectRule/CorneredRegion");
+        PossibleCellsForNumberRegionCaseRule rule = new PossibleCellsForNumberRegionCaseRule();
+
+        CaseBoard caseBoard = rule.getCaseBoard(fullRegion);
+        PuzzleElement picked = caseBoard.getBaseBoard().getPuzzleElement(fullRegion.getCell(0, 3));
+        Assert.assertEquals(1, rule.countCases(fullRegion, picked));
+
+        List<CaseDelta> cases = new ArrayList<>();
+        rule.getCaseDeltas(cornered, picked).forEachRemaining(cases::add);
+        Assert.assertEquals(8, cases.size());
+        for (CaseDelta delta : cases) {
+            SudokuCell change = (SudokuCell) delta.getChanges().get(0);
+            Assert.assertEquals(3, change.getGroupIndex());
+            Assert.assertEquals(0, (int) cornered.getPuzzleElement(change).getData());
+            Assert.assertEquals(1, (int) change.getData());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package legup;
+
+import edu.rpi.legup.app.Config;
+import edu.rpi.legup.app.InvalidConfigException;
+import edu.rpi.legup.headless.GradingCache;
+import edu.rpi.legup.headless.ProofVerifier;
+import edu.rpi.legup.headless.VerificationReport;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class GradingCacheTest {
+    private static final String EMPTY_FIELD =
+            "puzzles/treetent/rules/EmptyFieldDirectRule/EmptyField";
+
+    private static ProofVerifier verifier;
+    private static String fingerprint;
+
+    @BeforeClass
+    public static void setUp() throws InvalidConfigException {
+        Config config = new Config();
+        verifier = new ProofVerifier(config);
+        fingerprint = GradingCache.fingerprint(config);
+    }
+
+    private static File copyResource(File folder, String name) throws IOException {
+        File file = new File(folder, name);
+        try (InputStream in = ClassLoader.getSystemResourceAsStream(EMPTY_FIELD)) {
+            Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+
+    /**
+     * Grades a file, then checks that it is read from the cache by the same and a later run, and
+     * graded again once it changes
+     */
+    @Test
+    public void ReusesReportsOfUnchangedFilesTest() throws IOException, InvalidFileFormatException {
+        File folder = Files.createTempDirectory("legup-grades").toFile();
+        File proof = copyResource(folder, "proof");
+        File cacheFile = new File(folder, GradingCache.FILE_NAME);
+
+        try (GradingCache cache = new GradingCache(cacheFile, fingerprint)) {
+            VerificationReport report = cache.verify(proof, verifier);
+            Assert.assertEquals(0, cache.getHits());
+            Assert.assertSame(report, cache.verify(proof, verifier));
+            Assert.assertEquals(1, cache.getHits());
+        }
+
+        try (GradingCache cache = new GradingCache(cacheFile, fingerprint)) {
+            Assert.assertEquals(1, cache.size());
+            VerificationReport report = cache.verify(proof, verifier);
+            Assert.assertEquals(1, cache.getHits());
+            Assert.assertEquals("TreeTent", report.getPuzzleName());
+            Assert.assertFalse(report.isComplete());
+
+            try (FileWriter writer = new FileWriter(proof, true)) {
+                writer.write("\n");
+            }
+            cache.verify(proof, verifier);
+            Assert.assertEquals(1, cache.getHits());
+            Assert.assertEquals(2, cache.size());
+        }
+
+        // a different rule set never reuses the old reports
+        try (GradingCache cache = new GradingCache(cacheFile, fingerprint + "0")) {
+            cache.verify(proof, verifier);
+            Assert.assertEquals(0, cache.getHits());
+        }
+    }
+
+    /** Checks that a partial entry left by an interrupted run is ignored */
+    @Test
+    public void IgnoresPartialEntryTest() throws IOException, InvalidFileFormatException {
+        File folder = Files.createTempDirectory("legup-grades").toFile();
+        File proof = copyResource(folder, "proof");
+        File cacheFile = new File(folder, GradingCache.FILE_NAME);
+
+        try (GradingCache cache = new GradingCache(cacheFile, fingerprint)) {
+            cache.verify(proof, verifier);
+        }
+        try (FileWriter writer = new FileWriter(cacheFile, true)) {
+            writer.write("0123\t1\tTreeTent\t2\t0");
+        }
+        File other = copyResource(folder, "other");
+        try (FileWriter writer = new FileWriter(other, true)) {
+            writer.write(" ");
+        }
+        try (GradingCache cache = new GradingCache(cacheFile, fingerprint)) {
+            Assert.assertEquals(1, cache.size());
+            cache.verify(other, verifier);
+        }
+        try (GradingCache cache = new GradingCache(cacheFile, fingerprint)) {
+            Assert.assertEquals(2, cache.size());
+        }
+    }
+}
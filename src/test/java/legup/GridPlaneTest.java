@@ -0,0 +1,82 @@
+package legup;
+
+import edu.rpi.legup.model.gameboard.GridPlane;
+import edu.rpi.legup.puzzle.skyscrapers.SkyscrapersBoard;
+import edu.rpi.legup.puzzle.skyscrapers.SkyscrapersCell;
+import edu.rpi.legup.puzzle.skyscrapers.rules.DuplicateNumberContradictionRule;
+import java.awt.*;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class GridPlaneTest {
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+    }
+
+    /** Checks that setting a cell moves its bit between the masks of its codes */
+    @Test
+    public void MaskTest() {
+        GridPlane plane = new GridPlane(5, 4, 3);
+        plane.set(1, 2, 0);
+        plane.set(3, 2, 0);
+        Assert.assertEquals(0b01010L, plane.getRow(0, 2));
+        Assert.assertEquals(0b0100L, plane.getColumn(0, 1));
+        Assert.assertEquals(2, plane.countRow(0, 2));
+
+        GridPlane copy = plane.copy();
+        plane.set(1, 2, 2);
+        plane.set(3, 2, 7);
+        Assert.assertEquals(0L, plane.getRow(0, 2));
+        Assert.assertEquals(0b00010L, plane.getRow(2, 2));
+        Assert.assertEquals(GridPlane.NONE, plane.get(3, 2));
+        Assert.assertEquals(2, copy.countRow(0, 2));
+
+        Assert.assertTrue(GridPlane.supports(64, 64));
+        Assert.assertFalse(GridPlane.supports(65, 1));
+    }
+
+    /** Checks the runs cut by blockers on either side of a position and at the ends of a line */
+    @Test
+    public void SegmentTest() {
+        Assert.assertEquals(0b0111000L, GridPlane.getSegment(0b1000100L, 4));
+        Assert.assertEquals(0b0000011L, GridPlane.getSegment(0b0000100L, 0));
+        Assert.assertEquals(-1L << 3, GridPlane.getSegment(0b0000100L, 5));
+        Assert.assertEquals(-1L, GridPlane.getSegment(0L, 63));
+        Assert.assertEquals(1L << 63, GridPlane.getSegment(1L << 62, 63));
+    }
+
+    /** Compares the duplicate number rule on random boards with a scan of every row and column */
+    @Test
+    public void DuplicateNumberTest() {
+        int size = 6;
+        SkyscrapersBoard board = new SkyscrapersBoard(size);
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                board.setCell(x, y, new SkyscrapersCell(0, new Point(x, y), size));
+            }
+        }
+        DuplicateNumberContradictionRule rule = new DuplicateNumberContradictionRule();
+        Random random = new Random(5);
+        for (int i = 0; i < 300; i++) {
+            board.getCell(random.nextInt(size), random.nextInt(size))
+                    .setData(random.nextInt(size + 1));
+
+            for (int y = 0; y < size; y++) {
+                for (int x = 0; x < size; x++) {
+                    int height = board.getCell(x, y).getData();
+                    boolean duplicate = false;
+                    for (int j = 0; j < size && height > 0; j++) {
+                        duplicate |= j != x && board.getCell(j, y).getData() == height;
+                        duplicate |= j != y && board.getCell(x, j).getData() == height;
+                    }
+                    String message = rule.checkContradictionAt(board, board.getCell(x, y));
+                    Assert.assertEquals(duplicate, message == null);
+                }
+            }
+        }
+    }
+}
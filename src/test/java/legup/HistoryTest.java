@@ -0,0 +1,419 @@
+package legup;
+
+import edu.rpi.legup.controller.TreeController;
+import edu.rpi.legup.history.ApplyDefaultDirectRuleCommand;
+import edu.rpi.legup.history.AutoCaseRuleCommand;
+import edu.rpi.legup.history.EditDataCommand;
+import edu.rpi.legup.history.History;
+import edu.rpi.legup.history.ICompactableCommand;
+import edu.rpi.legup.history.TransitionDelta;
+import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.gameboard.CaseBoard;
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.treetent.TreeTent;
+import edu.rpi.legup.puzzle.treetent.TreeTentBoard;
+import edu.rpi.legup.puzzle.treetent.TreeTentCell;
+import edu.rpi.legup.puzzle.treetent.TreeTentType;
+import edu.rpi.legup.puzzle.treetent.rules.EmptyFieldDirectRule;
+import edu.rpi.legup.puzzle.treetent.rules.LinkTreeCaseRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import edu.rpi.legup.ui.boardview.ElementView;
+import edu.rpi.legup.ui.proofeditorui.treeview.TreeNodeView;
+import edu.rpi.legup.ui.proofeditorui.treeview.TreeView;
+import edu.rpi.legup.ui.proofeditorui.treeview.TreeViewSelection;
+import java.awt.event.MouseEvent;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.JPanel;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class HistoryTest {
+    private static final int EDITS = 5000;
+    private static final long BUDGET = 512 * 1024;
+
+    private static TreeTent treetent;
+
+    private TreeView treeView;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        treetent = new TreeTent();
+    }
+
+    @After
+    public void removeViews() {
+        if (treeView != null) {
+            treetent.removeTreeListener(treeView);
+            ((MockGameBoardFacade) MockGameBoardFacade.getInstance()).setViews(null, null);
+            treeView = null;
+        }
+    }
+
+    /**
+     * Imports a board without adding a transition to it, and sets up the views the commands select
+     * the tree elements they add in
+     *
+     * @param fileName name of the board to import
+     * @return root node of the imported tree
+     */
+    private TreeNode importWithViews(String fileName) throws InvalidFileFormatException {
+        InputStream inputStream = ClassLoader.getSystemResourceAsStream(fileName);
+        Assert.assertNotNull(inputStream);
+        treetent.importPuzzle(inputStream);
+        treetent.initializeView();
+
+        MockGameBoardFacade facade = (MockGameBoardFacade) MockGameBoardFacade.getInstance();
+        facade.setPuzzle(treetent);
+        treeView = new TreeView(new TreeController());
+        treeView.setTree(treetent.getTree());
+        treeView.createViews(new TreeNodeView(treetent.getTree().getRootNode()));
+        treetent.addTreeListener(treeView);
+        facade.setViews(treeView, treetent.getBoardView());
+        return treetent.getTree().getRootNode();
+    }
+
+    private static MouseEvent leftClick() {
+        return new MouseEvent(
+                new JPanel(),
+                MouseEvent.MOUSE_RELEASED,
+                0,
+                0,
+                0,
+                0,
+                1,
+                false,
+                MouseEvent.BUTTON1);
+    }
+
+    /**
+     * Pushes 5,000 edits that each retain a detached transition and checks that the history never
+     * retains more than its budget, and that undoing compacted edits rebuilds their boards
+     */
+    @Test
+    public void HistoryStaysWithinBudgetTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/treetent/rules/EmptyFieldDirectRule/EmptyField", treetent);
+        TreeNode rootNode = treetent.getTree().getRootNode();
+
+        History history = new History(BUDGET);
+        for (int i = 0; i < EDITS; i++) {
+            EditCommand command = new EditCommand(rootNode, i);
+            command.execute();
+            history.pushChange(command);
+            Assert.assertTrue(history.getRetainedSize() <= BUDGET);
+        }
+
+        // the full boards of every edit could not have fit, so older edits were compacted
+        Assert.assertTrue(
+                EDITS * TransitionDelta.estimateSize(rootNode.getBoard()) * 2 > BUDGET);
+        Assert.assertTrue(history.size() > 1);
+
+        int undos = Math.min(history.size(), 200);
+        for (int i = 0; i < undos; i++) {
+            history.undo();
+            Assert.assertTrue(history.getRetainedSize() <= BUDGET);
+        }
+        Assert.assertEquals(history.size() - undos - 1, history.getIndex());
+
+        for (int i = 0; i < undos; i++) {
+            history.redo();
+            Assert.assertTrue(history.getRetainedSize() <= BUDGET);
+        }
+    }
+
+    /**
+     * Compacts a single edit and checks that the rebuilt boards are equal to the original ones
+     */
+    @Test
+    public void CompactedTransitionRehydratesTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/treetent/rules/EmptyFieldDirectRule/EmptyField", treetent);
+        TreeNode rootNode = treetent.getTree().getRootNode();
+
+        EditCommand command = new EditCommand(rootNode, 4);
+        command.execute();
+        TreeTentBoard original = (TreeTentBoard) command.transition.getBoard().copy();
+        long fullSize = command.getRetainedSize();
+
+        command.compact();
+        Assert.assertNull(command.transition.getBoard());
+        Assert.assertNull(command.transition.getChildNode().getBoard());
+        Assert.assertTrue(command.getRetainedSize() < fullSize);
+
+        command.expand();
+        TreeTentBoard board = (TreeTentBoard) command.transition.getBoard();
+        Assert.assertNotNull(board);
+        Assert.assertTrue(board.equalsBoard(original));
+        Assert.assertEquals(1, board.getModifiedData().size());
+        Assert.assertEquals(TreeTentType.GRASS, board.getCell(1, 1).getType());
+        Assert.assertTrue(command.transition.getChildNode().getBoard().equalsBoard(original));
+    }
+
+    /**
+     * Applies a case rule, undoes it, compacts the undone case transitions and redoes it. The case
+     * boards are only charged to the history while the command is undone, and the redone cases are
+     * the same transitions with equal boards.
+     */
+    @Test
+    public void AutoCaseRuleCommandTest() throws InvalidFileFormatException {
+        TreeNode rootNode = importWithViews("puzzles/treetent/rules/LinkTreeCaseRule/TwoTents");
+        TreeTentBoard board = (TreeTentBoard) rootNode.getBoard();
+        LinkTreeCaseRule rule = new LinkTreeCaseRule();
+        CaseBoard caseBoard = rule.getCaseBoard(board);
+        ElementView elementView =
+                treetent.getBoardView().getElement(board.getCell(1, 1).getIndex());
+        TreeViewSelection selection = new TreeViewSelection(treeView.getElementView(rootNode));
+
+        AutoCaseRuleCommand command =
+                new AutoCaseRuleCommand(elementView, selection, rule, caseBoard, leftClick());
+        Assert.assertTrue(command.canExecute());
+        History history = new History(BUDGET);
+        command.execute();
+        history.pushChange(command);
+
+        List<TreeTransition> cases = new ArrayList<>(rootNode.getChildren());
+        Assert.assertEquals(2, cases.size());
+        List<Board> caseBoards = new ArrayList<>();
+        for (TreeTransition transition : cases) {
+            caseBoards.add(transition.getBoard().copy());
+        }
+        Assert.assertEquals(0, command.getRetainedSize());
+
+        history.undo();
+        Assert.assertTrue(rootNode.getChildren().isEmpty());
+        long undoneSize = command.getRetainedSize();
+        Assert.assertEquals(
+                TransitionDelta.estimateSize(cases.get(0))
+                        + TransitionDelta.estimateSize(cases.get(1)),
+                undoneSize);
+        Assert.assertEquals(undoneSize, history.getRetainedSize());
+        history.setMemoryBudget(undoneSize - 1);
+        Assert.assertNull(cases.get(0).getBoard());
+        Assert.assertTrue(command.getRetainedSize() < undoneSize);
+
+        history.setMemoryBudget(BUDGET);
+        history.redo();
+        Assert.assertEquals(cases, rootNode.getChildren());
+        for (int i = 0; i < cases.size(); i++) {
+            Assert.assertTrue(cases.get(i).getBoard().equalsBoard(caseBoards.get(i)));
+            Assert.assertNull(rule.checkRule(cases.get(i)));
+        }
+        Assert.assertEquals(0, command.getRetainedSize());
+    }
+
+    /**
+     * Edits a cell of a node without children, undoes the edit, compacts the undone transition and
+     * redoes the edit
+     */
+    @Test
+    public void EditDataCommandTest() throws InvalidFileFormatException {
+        TreeNode rootNode =
+                importWithViews("puzzles/treetent/rules/EmptyFieldDirectRule/EmptyField");
+        TreeTentCell cell = ((TreeTentBoard) rootNode.getBoard()).getCell(1, 1);
+        Assert.assertEquals(TreeTentType.UNKNOWN, cell.getType());
+        ElementView elementView = treetent.getBoardView().getElement(cell.getIndex());
+        TreeViewSelection selection = new TreeViewSelection(treeView.getElementView(rootNode));
+
+        EditDataCommand command = new EditDataCommand(elementView, selection, leftClick());
+        Assert.assertTrue(command.canExecute());
+        History history = new History(BUDGET);
+        command.execute();
+        history.pushChange(command);
+
+        TreeTransition transition = rootNode.getChildren().get(0);
+        Assert.assertEquals(0, command.getRetainedSize());
+
+        history.undo();
+        Assert.assertTrue(rootNode.getChildren().isEmpty());
+        long undoneSize = command.getRetainedSize();
+        Assert.assertEquals(TransitionDelta.estimateSize(transition), undoneSize);
+        history.setMemoryBudget(undoneSize - 1);
+        Assert.assertNull(transition.getBoard());
+        Assert.assertTrue(command.getRetainedSize() < undoneSize);
+
+        history.setMemoryBudget(BUDGET);
+        history.redo();
+        Assert.assertEquals(List.of(transition), rootNode.getChildren());
+        TreeTentBoard board = (TreeTentBoard) transition.getBoard();
+        Assert.assertEquals(TreeTentType.GRASS, board.getCell(1, 1).getType());
+        Assert.assertEquals(1, board.getModifiedData().size());
+        Assert.assertEquals(0, command.getRetainedSize());
+    }
+
+    /**
+     * Edits the root node and then the node below the edit, undoes the second edit and lowers
+     * the budget until it is dropped. The memory the history was charged for the undone edit is
+     * released with it, while the first edit, whose boards belong to the tree, stays on the stack.
+     */
+    @Test
+    public void DroppedCommandIsReleasedTest() throws InvalidFileFormatException {
+        TreeNode rootNode =
+                importWithViews("puzzles/treetent/rules/EmptyFieldDirectRule/EmptyField");
+        History history = new History(BUDGET);
+        TreeTransition first = pushEdit(history, rootNode, 1, 1);
+        Assert.assertEquals(0, history.getRetainedSize());
+        TreeNode childNode = (TreeNode) treetent.getTree().addTreeElement(first);
+        treetent.notifyTreeListeners(listener -> listener.onTreeElementAdded(childNode));
+
+        List<WeakReference<Object>> released = new ArrayList<>();
+        long charged = pushUndoneEdit(history, childNode, released);
+        Assert.assertTrue(charged > 0);
+        Assert.assertEquals(charged, history.getRetainedSize());
+
+        history.setMemoryBudget(0);
+        Assert.assertEquals(1, history.size());
+        Assert.assertEquals(0, history.getIndex());
+        Assert.assertEquals(0, history.getRetainedSize());
+        Assert.assertTrue(childNode.getChildren().isEmpty());
+        for (int i = 0; i < 50 && released.stream().anyMatch(r -> r.get() != null); i++) {
+            System.gc();
+        }
+        for (WeakReference<Object> reference : released) {
+            Assert.assertNull(reference.get());
+        }
+    }
+
+    // executes and pushes an edit of a cell of the board of a node, returning the new transition
+    private TreeTransition pushEdit(History history, TreeNode node, int x, int y) {
+        TreeTentCell cell = ((TreeTentBoard) node.getBoard()).getCell(x, y);
+        ElementView elementView = treetent.getBoardView().getElement(cell.getIndex());
+        TreeViewSelection selection = new TreeViewSelection(treeView.getElementView(node));
+        EditDataCommand command = new EditDataCommand(elementView, selection, leftClick());
+        Assert.assertTrue(command.canExecute());
+        command.execute();
+        history.pushChange(command);
+        return node.getChildren().get(0);
+    }
+
+    // pushes and undoes an edit of a node, keeping only weak references to what it retains
+    private long pushUndoneEdit(
+            History history, TreeNode node, List<WeakReference<Object>> released) {
+        TreeTransition transition = pushEdit(history, node, 0, 0);
+        history.undo();
+        released.add(new WeakReference<>(transition));
+        released.add(new WeakReference<>(transition.getBoard()));
+        return history.getRetainedSize();
+    }
+
+    /**
+     * Applies the default board of a direct rule, undoes it, releases the boards of the undone
+     * transition and redoes it, regenerating the default board
+     */
+    @Test
+    public void ApplyDefaultDirectRuleCommandTest() throws InvalidFileFormatException {
+        TreeNode rootNode =
+                importWithViews("puzzles/treetent/rules/EmptyFieldDirectRule/EmptyField");
+        EmptyFieldDirectRule rule = new EmptyFieldDirectRule();
+        Board defaultBoard = rule.getDefaultBoard(rootNode);
+        Assert.assertNotNull(defaultBoard);
+        TreeViewSelection selection = new TreeViewSelection(treeView.getElementView(rootNode));
+
+        ApplyDefaultDirectRuleCommand command = new ApplyDefaultDirectRuleCommand(selection, rule);
+        Assert.assertTrue(command.canExecute());
+        History history = new History(BUDGET);
+        command.execute();
+        history.pushChange(command);
+
+        TreeTransition transition = rootNode.getChildren().get(0);
+        Assert.assertEquals(0, command.getRetainedSize());
+
+        history.undo();
+        Assert.assertTrue(rootNode.getChildren().isEmpty());
+        Assert.assertEquals(TransitionDelta.estimateSize(transition), command.getRetainedSize());
+        history.setMemoryBudget(1);
+        Assert.assertNull(transition.getBoard());
+        Assert.assertEquals(0, command.getRetainedSize());
+
+        history.setMemoryBudget(BUDGET);
+        history.redo();
+        Assert.assertEquals(List.of(transition), rootNode.getChildren());
+        Assert.assertTrue(transition.getBoard().equalsBoard(defaultBoard));
+        Assert.assertNull(rule.checkRule(transition));
+        Assert.assertEquals(0, command.getRetainedSize());
+    }
+
+    /**
+     * Edit that changes a single cell of a new transition off of the root node. The transition is
+     * never added to the tree, so it is retained by the command and can always be compacted.
+     */
+    private static class EditCommand implements ICompactableCommand {
+        private final TreeNode rootNode;
+        private final int edit;
+        private TreeTransition transition;
+        private TransitionDelta delta;
+
+        EditCommand(TreeNode rootNode, int edit) {
+            this.rootNode = rootNode;
+            this.edit = edit;
+        }
+
+        @Override
+        public void execute() {
+            TreeTentBoard board = (TreeTentBoard) rootNode.getBoard().copy();
+            TreeTentCell cell = board.getCell(edit % 3, (edit / 3) % 3);
+            cell.setData(edit % 2 == 0 ? TreeTentType.GRASS : TreeTentType.TENT);
+            board.addModifiedData(cell);
+
+            transition = new TreeTransition(rootNode, board);
+            TreeNode childNode = new TreeNode(board.copy());
+            transition.setChildNode(childNode);
+            childNode.setParent(transition);
+        }
+
+        @Override
+        public boolean canExecute() {
+            return true;
+        }
+
+        @Override
+        public String getError() {
+            return null;
+        }
+
+        @Override
+        public void undo() {
+            checkBoard();
+        }
+
+        @Override
+        public void redo() {
+            checkBoard();
+        }
+
+        @Override
+        public long getRetainedSize() {
+            return delta != null ? delta.getSize() : TransitionDelta.estimateSize(transition);
+        }
+
+        @Override
+        public void compact() {
+            if (delta == null) {
+                delta = TransitionDelta.compact(transition, treetent.getFactory());
+            }
+        }
+
+        @Override
+        public void expand() {
+            if (delta != null) {
+                delta.rehydrate();
+                delta = null;
+            }
+        }
+
+        private void checkBoard() {
+            TreeTentBoard board = (TreeTentBoard) transition.getBoard();
+            Assert.assertNotNull(board);
+            TreeTentCell cell = board.getCell(edit % 3, (edit / 3) % 3);
+            Assert.assertEquals(
+                    edit % 2 == 0 ? TreeTentType.GRASS : TreeTentType.TENT, cell.getType());
+            Assert.assertTrue(board.getModifiedData().contains(cell));
+        }
+    }
+}
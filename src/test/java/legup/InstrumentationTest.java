@@ -0,0 +1,160 @@
+package legup;
+
+import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.treetent.TreeTent;
+import edu.rpi.legup.puzzle.treetent.TreeTentBoard;
+import edu.rpi.legup.puzzle.treetent.rules.LinkTreeCaseRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import edu.rpi.legup.utility.Instrumentation;
+import edu.rpi.legup.utility.Instrumentation.Operation;
+import edu.rpi.legup.utility.Instrumentation.Stat;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class InstrumentationTest {
+    private static TreeTent treetent;
+
+    private boolean wasEnabled;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        treetent = new TreeTent();
+    }
+
+    @Before
+    public void resetStats() {
+        wasEnabled = Instrumentation.isEnabled();
+        Instrumentation.setEnabled(true);
+        Instrumentation.reset();
+    }
+
+    @After
+    public void restoreEnabled() {
+        Instrumentation.setEnabled(wasEnabled);
+        Instrumentation.reset();
+    }
+
+    /**
+     * Gets the statistics recorded for an operation on an id
+     *
+     * @param operation measured operation
+     * @param id id of the rule, board class or puzzle
+     * @return the statistics, or null if nothing was recorded
+     */
+    private static Stat getStat(Operation operation, String id) {
+        for (Stat stat : Instrumentation.getStats()) {
+            if (stat.getOperation() == operation && stat.getId().equals(id)) {
+                return stat;
+            }
+        }
+        return null;
+    }
+
+    /** Checks that each measurement is counted once and falls into exactly one latency bucket */
+    @Test
+    public void RecordTest() {
+        for (int i = 0; i < 3; i++) {
+            Instrumentation.record(Operation.CHECK_RULE, "TEST-0001", Instrumentation.start());
+        }
+        Instrumentation.record(Operation.CHECK_RULE_AT, "TEST-0001", Instrumentation.start());
+
+        Stat stat = getStat(Operation.CHECK_RULE, "TEST-0001");
+        Assert.assertNotNull(stat);
+        Assert.assertEquals(3, stat.getCount());
+        long bucketed = 0;
+        for (long bucket : stat.getHistogram()) {
+            bucketed += bucket;
+        }
+        Assert.assertEquals(3, bucketed);
+        Assert.assertTrue(stat.getMaxMillis() <= stat.getTotalMillis());
+        Assert.assertEquals(1, getStat(Operation.CHECK_RULE_AT, "TEST-0001").getCount());
+
+        Instrumentation.reset();
+        Assert.assertTrue(Instrumentation.getStats().isEmpty());
+    }
+
+    /** Checks that nothing is recorded while instrumentation is disabled */
+    @Test
+    public void DisabledTest() {
+        Instrumentation.setEnabled(false);
+        long start = Instrumentation.start();
+        Assert.assertEquals(Instrumentation.DISABLED, start);
+        Instrumentation.record(Operation.CHECK_RULE, "TEST-0001", start);
+
+        // a measurement started while disabled is dropped even if it ends while enabled
+        Instrumentation.setEnabled(true);
+        Instrumentation.record(Operation.CHECK_RULE, "TEST-0001", start);
+        Assert.assertTrue(Instrumentation.getStats().isEmpty());
+    }
+
+    /** Checks that a measurement started at a timestamp of 0 is still recorded */
+    @Test
+    public void ZeroStartTest() {
+        Instrumentation.record(Operation.CHECK_RULE, "TEST-0001", 0L);
+        Assert.assertEquals(1L, getStat(Operation.CHECK_RULE, "TEST-0001").getCount());
+    }
+
+    /**
+     * Checks that copying a board and checking a case split are recorded, the case generation
+     * under the id of the case rule
+     *
+     * @throws InvalidFileFormatException
+     */
+    @Test
+    public void CaseRuleCheckTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard("puzzles/treetent/rules/LinkTreeCaseRule/TwoTents", treetent);
+        LinkTreeCaseRule rule = new LinkTreeCaseRule();
+        TreeTentBoard board = (TreeTentBoard) treetent.getTree().getRootNode().getBoard();
+
+        TreeNode parent = new TreeNode(Instrumentation.copy(board));
+        List<Board> cases = rule.getCases(parent.getBoard(), board.getCell(1, 1));
+        Assert.assertEquals(2, cases.size());
+        for (Board caseBoard : cases) {
+            TreeTransition transition = new TreeTransition(parent, caseBoard);
+            transition.setRule(rule);
+            parent.addChild(transition);
+        }
+        Assert.assertEquals(1, getStat(Operation.BOARD_COPY, "TreeTentBoard").getCount());
+
+        Instrumentation.reset();
+        Assert.assertNull(rule.checkRule(parent.getChildren().get(0)));
+        Stat stat = getStat(Operation.GET_CASES, rule.getRuleID());
+        Assert.assertNotNull(stat);
+        Assert.assertEquals(1, stat.getCount());
+    }
+
+    /**
+     * Checks that the exported CSV file has a header and one row per operation and id
+     *
+     * @throws IOException
+     */
+    @Test
+    public void ExportCsvTest() throws IOException {
+        Instrumentation.record(Operation.CHECK_RULE, "TEST-0001", Instrumentation.start());
+        Instrumentation.record(Operation.IMPORT, "Tree,Tent", Instrumentation.start());
+
+        File file = File.createTempFile("instrumentation", ".csv");
+        try {
+            Instrumentation.exportCsv(file);
+            List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+            Assert.assertEquals(3, lines.size());
+            Assert.assertTrue(lines.get(0).startsWith("operation,id,count"));
+            Assert.assertTrue(
+                    lines.get(1).startsWith("PuzzleImporter.importPuzzle,\"Tree,Tent\",1,"));
+            Assert.assertTrue(lines.get(2).startsWith("Rule.checkRule,TEST-0001,1,"));
+        } finally {
+            file.delete();
+        }
+    }
+}
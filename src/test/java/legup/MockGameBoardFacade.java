@@ -4,8 +4,13 @@ import edu.rpi.legup.app.Config;
 import edu.rpi.legup.app.GameBoardFacade;
 import edu.rpi.legup.app.InvalidConfigException;
 import edu.rpi.legup.model.Puzzle;
+import edu.rpi.legup.ui.boardview.BoardView;
+import edu.rpi.legup.ui.proofeditorui.treeview.TreeView;
 
 public class MockGameBoardFacade extends GameBoardFacade {
+    private TreeView treeView;
+    private BoardView boardView;
+
     protected MockGameBoardFacade() {
         super();
         Config config = null;
@@ -39,4 +44,25 @@ public class MockGameBoardFacade extends GameBoardFacade {
 
     @Override
     public void setWindowTitle(String puzzleName, String fileName) {}
+
+    @Override
+    public TreeView getTreeView() {
+        return treeView;
+    }
+
+    @Override
+    public BoardView getBoardView() {
+        return boardView;
+    }
+
+    /**
+     * Sets the views the commands use in place of those of the proof editor
+     *
+     * @param treeView tree view of the tree of the puzzle
+     * @param boardView board view of the puzzle
+     */
+    public void setViews(TreeView treeView, BoardView boardView) {
+        this.treeView = treeView;
+        this.boardView = boardView;
+    }
 }
@@ -0,0 +1,148 @@
+package legup;
+
+import edu.rpi.legup.app.InvalidConfigException;
+import edu.rpi.legup.headless.ProofVerifier;
+import edu.rpi.legup.model.Puzzle;
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.treetent.TreeTentBoard;
+import edu.rpi.legup.puzzle.treetent.TreeTentCell;
+import edu.rpi.legup.puzzle.treetent.TreeTentType;
+import edu.rpi.legup.puzzle.treetent.rules.EmptyFieldDirectRule;
+import edu.rpi.legup.save.ProofJournal;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+public class ProofJournalTest {
+    private static final String EMPTY_FIELD =
+            "puzzles/treetent/rules/EmptyFieldDirectRule/EmptyField";
+
+    private static ProofVerifier verifier;
+
+    private File file;
+
+    @BeforeClass
+    public static void setUpClass() throws InvalidConfigException {
+        verifier = new ProofVerifier();
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("legup-journal", ".xml");
+        try (InputStream in = ClassLoader.getSystemResourceAsStream(EMPTY_FIELD)) {
+            Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(ProofJournal.getJournalFile(file).toPath());
+        Files.deleteIfExists(file.toPath());
+    }
+
+    /**
+     * Journals two transitions added to a loaded puzzle without saving it and checks that
+     * replaying the journal onto the unchanged file recovers both of them
+     */
+    @Test
+    public void ReplaysAddedTransitionsTest() throws Exception {
+        Puzzle puzzle = verifier.load(file);
+        ProofJournal journal = new ProofJournal(puzzle, file);
+        journal.setCompactionThreshold(0);
+
+        TreeTransition first = addTransition(journal, puzzle.getTree().getRootNode(), 1, 1);
+        addTransition(journal, first.getChildNode(), 0, 0);
+        journal.close();
+
+        Puzzle recovered = load(true);
+        TreeNode root = recovered.getTree().getRootNode();
+        Assert.assertEquals(1, root.getChildren().size());
+        TreeTransition transition = root.getChildren().get(0);
+        Assert.assertEquals(
+                new EmptyFieldDirectRule().getRuleID(), transition.getRule().getRuleID());
+        Assert.assertEquals(TreeTentType.GRASS, getType(transition, 1, 1));
+
+        TreeNode child = transition.getChildNode();
+        Assert.assertEquals(1, child.getChildren().size());
+        Assert.assertEquals(TreeTentType.GRASS, getType(child.getChildren().get(0), 0, 0));
+    }
+
+    /**
+     * Checks that a deleted transition is dropped on replay, that compaction folds the journal
+     * into the puzzle file, and that a journal older than the puzzle file is ignored
+     */
+    @Test
+    public void DeletionAndCompactionTest() throws Exception {
+        Puzzle puzzle = verifier.load(file);
+        ProofJournal journal = new ProofJournal(puzzle, file);
+        journal.setCompactionThreshold(0);
+
+        TreeTransition first = addTransition(journal, puzzle.getTree().getRootNode(), 1, 1);
+        TreeNode node = first.getChildNode();
+        TreeTransition second = addTransition(journal, node, 0, 0);
+        node.getChildren().remove(second);
+        journal.onTreeElementRemoved(second);
+        journal.onPushChange(null);
+
+        Puzzle recovered = load(true);
+        TreeNode root = recovered.getTree().getRootNode();
+        Assert.assertEquals(1, root.getChildren().size());
+        Assert.assertTrue(root.getChildren().get(0).getChildNode().getChildren().isEmpty());
+
+        journal.compact();
+        Assert.assertEquals(0, journal.getRecordCount());
+        Assert.assertEquals(1, Files.readAllLines(journal.getJournalFile().toPath()).size());
+        Assert.assertEquals(1, verifier.load(file).getTree().getRootNode().getChildren().size());
+        Assert.assertFalse(ProofJournal.replay(parse(), file));
+
+        addTransition(journal, node, 0, 0);
+        journal.close();
+        Assert.assertTrue(file.setLastModified(file.lastModified() + 2000));
+        Assert.assertFalse(ProofJournal.replay(parse(), file));
+    }
+
+    private Puzzle load(boolean replayed) throws Exception {
+        Document document = parse();
+        Assert.assertEquals(replayed, ProofJournal.replay(document, file));
+        return verifier.load(document);
+    }
+
+    private Document parse() throws Exception {
+        return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(file);
+    }
+
+    private static TreeTentType getType(TreeTransition transition, int x, int y) {
+        return ((TreeTentBoard) transition.getBoard()).getCell(x, y).getType();
+    }
+
+    // adds a justified transition marking a cell as grass, as the proof editor would
+    private static TreeTransition addTransition(
+            ProofJournal journal, TreeNode parent, int x, int y) {
+        TreeTentBoard board = (TreeTentBoard) parent.getBoard().copy();
+        TreeTentCell cell = board.getCell(x, y);
+        cell.setData(TreeTentType.GRASS);
+        board.addModifiedData(cell);
+
+        TreeTransition transition = new TreeTransition(parent, board);
+        transition.setRule(new EmptyFieldDirectRule());
+        parent.getChildren().add(transition);
+
+        TreeNode childNode = new TreeNode(board.copy());
+        transition.setChildNode(childNode);
+        childNode.setParent(transition);
+
+        journal.onTreeElementAdded(transition);
+        journal.onPushChange(null);
+        return transition;
+    }
+}
@@ -0,0 +1,198 @@
+package legup;
+
+import edu.rpi.legup.app.InvalidConfigException;
+import edu.rpi.legup.headless.HeadlessRunner;
+import edu.rpi.legup.headless.ProofVerifier;
+import edu.rpi.legup.headless.TransitionResult;
+import edu.rpi.legup.headless.VerificationReport;
+import edu.rpi.legup.model.Puzzle;
+import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.treetent.TreeTentBoard;
+import edu.rpi.legup.puzzle.treetent.TreeTentCell;
+import edu.rpi.legup.puzzle.treetent.TreeTentType;
+import edu.rpi.legup.puzzle.treetent.rules.EmptyFieldDirectRule;
+import edu.rpi.legup.puzzle.treetent.rules.LinkTreeCaseRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ProofVerifierTest {
+    private static final String EMPTY_FIELD =
+            "puzzles/treetent/rules/EmptyFieldDirectRule/EmptyField";
+
+    private static ProofVerifier verifier;
+
+    @BeforeClass
+    public static void setUp() throws InvalidConfigException {
+        verifier = new ProofVerifier();
+    }
+
+    /**
+     * Loads a 3x3 TreeTent puzzle without the facade, adds a chain of a correct, an incorrect and
+     * an unjustified transition to the root node and checks the result reported for each of them
+     */
+    @Test
+    public void VerifiesEachTransitionTest() throws InvalidFileFormatException {
+        Puzzle puzzle = verifier.load(ClassLoader.getSystemResourceAsStream(EMPTY_FIELD));
+        Assert.assertEquals("TreeTent", puzzle.getName());
+        TreeNode rootNode = puzzle.getTree().getRootNode();
+
+        TreeNode node = addTransition(rootNode, 1, 1, TreeTentType.GRASS, true);
+        node = addTransition(node, 0, 0, TreeTentType.TENT, true);
+        addTransition(node, 2, 2, TreeTentType.GRASS, false);
+
+        VerificationReport report = verifier.verify(puzzle);
+        List<TransitionResult> results = report.getTransitions();
+        Assert.assertEquals(3, results.size());
+
+        Assert.assertEquals("0", results.get(0).getPath());
+        Assert.assertEquals(TransitionResult.Status.CORRECT, results.get(0).getStatus());
+        Assert.assertNull(results.get(0).getMessage());
+
+        Assert.assertEquals("0.0", results.get(1).getPath());
+        Assert.assertEquals(TransitionResult.Status.INCORRECT, results.get(1).getStatus());
+        Assert.assertNotNull(results.get(1).getMessage());
+
+        Assert.assertEquals("0.0.0", results.get(2).getPath());
+        Assert.assertEquals(TransitionResult.Status.UNJUSTIFIED, results.get(2).getStatus());
+        Assert.assertNull(results.get(2).getRuleName());
+
+        Assert.assertFalse(report.isValid());
+        Assert.assertFalse(report.isComplete());
+    }
+
+    /** Checks the exit status of the command line runner for unsolved, missing and no files */
+    @Test
+    public void RunnerExitStatusTest() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes);
+
+        String file = "src/test/resources/" + EMPTY_FIELD;
+        Assert.assertEquals(
+                HeadlessRunner.EXIT_UNSOLVED, HeadlessRunner.run(new String[] {"-q", file}, out));
+        Assert.assertTrue(bytes.toString().contains("TreeTent\tUnsolved"));
+
+        Assert.assertEquals(
+                HeadlessRunner.EXIT_INVALID,
+                HeadlessRunner.run(new String[] {file, file + "-missing"}, out));
+        Assert.assertEquals(HeadlessRunner.EXIT_USAGE, HeadlessRunner.run(new String[0], out));
+
+        Assert.assertEquals(
+                HeadlessRunner.EXIT_SOLVED,
+                HeadlessRunner.run(new String[] {"-t", "2", file}, out));
+        Assert.assertTrue(bytes.toString().contains("TreeTent\t0 transitions\t"));
+        Assert.assertEquals(
+                HeadlessRunner.EXIT_USAGE, HeadlessRunner.run(new String[] {"-t", "0", file}, out));
+    }
+
+    /**
+     * Saves a proof with two branches, one of which changes a cell of an earlier transition again,
+     * and checks the boards rebuilt when it is loaded
+     */
+    @Test
+    public void ImportRebuildsBoardsTest() throws Exception {
+        Puzzle puzzle = verifier.load(ClassLoader.getSystemResourceAsStream(EMPTY_FIELD));
+        TreeNode rootNode = puzzle.getTree().getRootNode();
+        TreeNode node = addTransition(rootNode, 1, 1, TreeTentType.GRASS, true);
+        node = addTransition(node, 0, 0, TreeTentType.TENT, true);
+        addTransition(node, 1, 1, TreeTentType.TENT, false);
+        addTransition(rootNode, 2, 2, TreeTentType.GRASS, true);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        puzzle.getExporter().exportPuzzle(bytes);
+        Puzzle loaded = verifier.load(new ByteArrayInputStream(bytes.toByteArray()));
+        rootNode = loaded.getTree().getRootNode();
+        Assert.assertEquals(2, rootNode.getChildren().size());
+        Assert.assertEquals(TreeTentType.UNKNOWN, getType(rootNode, 1, 1));
+
+        TreeTransition first = rootNode.getChildren().get(0);
+        Assert.assertEquals(EmptyFieldDirectRule.class, first.getRule().getClass());
+        Assert.assertEquals(1, first.getBoard().getModifiedData().size());
+        TreeNode firstNode = first.getChildNode();
+        Assert.assertEquals(TreeTentType.GRASS, getType(firstNode, 1, 1));
+        Assert.assertFalse(((TreeTentBoard) firstNode.getBoard()).getCell(1, 1).isModifiable());
+
+        TreeTransition last =
+                firstNode.getChildren().get(0).getChildNode().getChildren().get(0);
+        Assert.assertFalse(last.isJustified());
+        Assert.assertEquals(1, last.getBoard().getModifiedData().size());
+        Assert.assertEquals(TreeTentType.TENT, getType(last.getChildNode(), 1, 1));
+        Assert.assertEquals(TreeTentType.TENT, getType(last.getChildNode(), 0, 0));
+
+        TreeNode other = rootNode.getChildren().get(1).getChildNode();
+        Assert.assertEquals(TreeTentType.GRASS, getType(other, 2, 2));
+        Assert.assertEquals(TreeTentType.UNKNOWN, getType(other, 1, 1));
+    }
+
+    /**
+     * Applies the LinkTreeCaseRule, whose cases add lines to the board, exports the proof and
+     * checks that the cases are still correct once it is loaded again
+     */
+    @Test
+    public void ImportLinesTest() throws Exception {
+        Puzzle puzzle =
+                verifier.load(
+                        ClassLoader.getSystemResourceAsStream(
+                                "puzzles/treetent/rules/LinkTreeCaseRule/TwoTents"));
+        TreeNode rootNode = puzzle.getTree().getRootNode();
+        TreeTentBoard board = (TreeTentBoard) rootNode.getBoard();
+        LinkTreeCaseRule rule = new LinkTreeCaseRule();
+        for (Board caseBoard : rule.getCases(board, board.getCell(1, 1))) {
+            TreeTransition transition = new TreeTransition(rootNode, caseBoard);
+            transition.setRule(rule);
+            rootNode.addChild(transition);
+            TreeNode childNode = new TreeNode(caseBoard.copy());
+            transition.setChildNode(childNode);
+            childNode.setParent(transition);
+        }
+        for (TreeTransition transition : rootNode.getChildren()) {
+            Assert.assertNull(rule.checkRule(transition));
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        puzzle.getExporter().exportPuzzle(bytes);
+        Puzzle loaded = verifier.load(new ByteArrayInputStream(bytes.toByteArray()));
+        rootNode = loaded.getTree().getRootNode();
+        Assert.assertEquals(2, rootNode.getChildren().size());
+        for (TreeTransition transition : rootNode.getChildren()) {
+            TreeTentBoard transitionBoard = (TreeTentBoard) transition.getBoard();
+            Assert.assertEquals(1, transitionBoard.getLines().size());
+            Assert.assertEquals(1, transitionBoard.getModifiedData().size());
+            Assert.assertEquals(
+                    1, ((TreeTentBoard) transition.getChildNode().getBoard()).getLines().size());
+        }
+        for (TransitionResult result : verifier.verify(loaded).getTransitions()) {
+            Assert.assertEquals(TransitionResult.Status.CORRECT, result.getStatus());
+        }
+    }
+
+    private static TreeTentType getType(TreeNode node, int x, int y) {
+        return ((TreeTentBoard) node.getBoard()).getCell(x, y).getType();
+    }
+
+    private static TreeNode addTransition(
+            TreeNode parent, int x, int y, TreeTentType type, boolean justified) {
+        TreeTentBoard board = (TreeTentBoard) parent.getBoard().copy();
+        TreeTentCell cell = board.getCell(x, y);
+        cell.setData(type);
+        board.addModifiedData(cell);
+
+        TreeTransition transition = new TreeTransition(parent, board);
+        if (justified) {
+            transition.setRule(new EmptyFieldDirectRule());
+        }
+        parent.getChildren().add(transition);
+
+        TreeNode childNode = new TreeNode(board.copy());
+        transition.setChildNode(childNode);
+        childNode.setParent(transition);
+        return childNode;
+    }
+}
@@ -0,0 +1,141 @@
+package legup;
+
+import edu.rpi.legup.model.PuzzleExporter;
+import edu.rpi.legup.save.PuzzleLibrary;
+import java.awt.Dimension;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PuzzleLibraryTest {
+    private static final String LAST_SAVED = "2024-03-01 12:00:00";
+
+    private static File write(File folder, String name, String content) throws IOException {
+        File file = new File(folder, name);
+        file.getParentFile().mkdirs();
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(content);
+        }
+        return file;
+    }
+
+    private static String puzzle(String name, String tag, String board, boolean solved) {
+        return "<Legup version=\"6.0.0\">\n"
+                + "    <puzzle name=\""
+                + name
+                + "\""
+                + (tag == null ? "" : " tag=\"" + tag + "\"")
+                + ">\n"
+                + "        "
+                + board
+                + "\n"
+                + "    </puzzle>\n"
+                + "    <solved isSolved=\""
+                + PuzzleExporter.obfHash(solved, LAST_SAVED)
+                + "\" lastSaved=\""
+                + LAST_SAVED
+                + "\"/>\n"
+                + "</Legup>\n";
+    }
+
+    /** Checks the metadata read from puzzle files and the filtered listings */
+    @Test
+    public void ScanTest() throws IOException {
+        File folder = Files.createTempDirectory("legup-library").toFile();
+        write(
+                folder,
+                "binary/8x8 Binary Very Hard/8x8 Binary Very Hard 1",
+                puzzle(
+                        "Binary",
+                        "8x8 Binary Very Hard 1",
+                        "<board height=\"8\" width=\"8\"/>",
+                        true));
+        write(
+                folder,
+                "binary/6x6 Binary Hard/puzzle",
+                puzzle("Binary", null, "<board height=\"6\" width=\"6\"/>", false));
+        write(
+                folder,
+                "sudoku/Easy/1922600",
+                puzzle("Sudoku", "1922600", "<board size=\"9\"/>", false));
+        write(folder, "notes.txt", "not a puzzle");
+        write(folder, "other.xml", "<html><body/></html>");
+
+        PuzzleLibrary library = new PuzzleLibrary(new File(folder, PuzzleLibrary.FILE_NAME));
+        library.addDirectory(folder);
+        Assert.assertEquals(5, library.scan());
+        Assert.assertEquals(5, library.size());
+        Assert.assertEquals(3, library.getEntries().size());
+        Assert.assertEquals(Arrays.asList("Binary", "Sudoku"), library.getPuzzleTypes());
+        Assert.assertEquals(Arrays.asList("Easy", "Hard", "Very Hard"), library.getDifficulties());
+        Assert.assertEquals(
+                Arrays.asList(new Dimension(6, 6), new Dimension(8, 8), new Dimension(9, 9)),
+                library.getSizes());
+
+        List<PuzzleLibrary.Entry> hard = library.find("Binary", 0, 0, "Hard");
+        Assert.assertEquals(1, hard.size());
+        Assert.assertEquals("puzzle", hard.get(0).getTag());
+        Assert.assertEquals(Boolean.FALSE, hard.get(0).isSolved());
+
+        List<PuzzleLibrary.Entry> large = library.find(null, 8, 8, null);
+        Assert.assertEquals(1, large.size());
+        Assert.assertEquals("Very Hard", large.get(0).getDifficulty());
+        Assert.assertEquals(Boolean.TRUE, large.get(0).isSolved());
+
+        PuzzleLibrary.Entry sudoku = library.find("Sudoku", 9, 9, "Easy").get(0);
+        Assert.assertEquals("1922600", sudoku.getTag());
+        Assert.assertTrue(library.find("Sudoku", 8, 8, null).isEmpty());
+    }
+
+    /**
+     * Checks that a later library only reads the files that are new or changed since the index was
+     * saved, and drops the files that are gone
+     */
+    @Test
+    public void IndexTest() throws IOException, InterruptedException, ExecutionException {
+        File folder = Files.createTempDirectory("legup-library").toFile();
+        File indexFile = new File(folder, PuzzleLibrary.FILE_NAME);
+        File first =
+                write(
+                        folder,
+                        "Medium/first",
+                        puzzle("LightUp", "first", "<board height=\"7\" width=\"7\"/>", false));
+        File second =
+                write(
+                        folder,
+                        "Medium/second",
+                        puzzle("LightUp", "second", "<board height=\"7\" width=\"7\"/>", false));
+
+        PuzzleLibrary library = new PuzzleLibrary(indexFile);
+        library.addDirectory(folder);
+        Assert.assertEquals(2, (int) library.scanInBackground().get());
+        library.shutdown();
+
+        PuzzleLibrary reopened = new PuzzleLibrary(indexFile);
+        reopened.addDirectory(folder);
+        // the listing is served from the index before any scan
+        Assert.assertEquals(2, reopened.find("LightUp", 7, 7, "Medium").size());
+        Assert.assertEquals(0, reopened.scan());
+
+        write(folder, "Medium/first", puzzle("LightUp", "first", "<board size=\"10\"/>", true));
+        first.setLastModified(first.lastModified() + 2000);
+        Assert.assertTrue(second.delete());
+        Assert.assertEquals(1, reopened.scan());
+        List<PuzzleLibrary.Entry> entries = reopened.getEntries();
+        Assert.assertEquals(1, entries.size());
+        Assert.assertEquals(10, entries.get(0).getWidth());
+        Assert.assertEquals(Boolean.TRUE, entries.get(0).isSolved());
+
+        // a library scanning another folder keeps the entries of this one
+        PuzzleLibrary other = new PuzzleLibrary(indexFile);
+        other.addDirectory(Files.createTempDirectory("legup-library").toFile());
+        Assert.assertEquals(0, other.scan());
+        Assert.assertEquals(1, other.getEntries().size());
+    }
+}
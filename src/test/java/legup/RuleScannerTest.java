@@ -0,0 +1,142 @@
+package legup;
+
+import edu.rpi.legup.model.rules.CaseRule;
+import edu.rpi.legup.model.rules.ContradictionRule;
+import edu.rpi.legup.model.rules.Rule;
+import edu.rpi.legup.model.rules.RuleType;
+import edu.rpi.legup.model.solver.RuleScanner;
+import edu.rpi.legup.model.solver.RuleSuggestion;
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.puzzle.lightup.LightUp;
+import edu.rpi.legup.puzzle.lightup.LightUpBoard;
+import edu.rpi.legup.puzzle.lightup.LightUpCellType;
+import edu.rpi.legup.puzzle.lightup.rules.BulbsInPathContradictionRule;
+import edu.rpi.legup.puzzle.lightup.rules.LightOrEmptyCaseRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class RuleScannerTest {
+    private static LightUp lightUp;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        lightUp = new LightUp();
+    }
+
+    private static List<Rule> getRules(List<RuleSuggestion> suggestions) {
+        List<Rule> rules = new ArrayList<>();
+        for (RuleSuggestion suggestion : suggestions) {
+            rules.add(suggestion.getRule());
+        }
+        return rules;
+    }
+
+    /**
+     * Checks that the contradiction rules finding a contradiction are ranked first and that the
+     * case rules splitting the board are found
+     */
+    @Test
+    public void ScanTest() throws InvalidFileFormatException, InterruptedException {
+        TestUtilities.importTestBoard(
+                "puzzles/lightup/rules/BulbsInPathContradictionRule/LightInHorizontalPath",
+                lightUp);
+        LightUpBoard board = (LightUpBoard) lightUp.getTree().getRootNode().getBoard();
+        RuleScanner scanner = new RuleScanner(lightUp);
+        try {
+            List<RuleSuggestion> suggestions = scanner.scan(new TreeNode(board));
+            List<Rule> rules = getRules(suggestions);
+
+            Assert.assertEquals(RuleType.CONTRADICTION, rules.get(0).getRuleType());
+            Assert.assertTrue(
+                    rules.stream().anyMatch(rule -> rule instanceof BulbsInPathContradictionRule));
+            for (ContradictionRule rule : lightUp.getContradictionRules()) {
+                Assert.assertEquals(
+                        rule.checkContradiction(board) == null, rules.contains(rule));
+            }
+            for (RuleSuggestion suggestion : suggestions) {
+                if (suggestion.getRule() instanceof LightOrEmptyCaseRule) {
+                    Assert.assertEquals(2, suggestion.getCount());
+                }
+            }
+            Assert.assertTrue(rules.stream().anyMatch(rule -> rule instanceof CaseRule));
+
+            List<RuleSuggestion> sorted = new ArrayList<>(suggestions);
+            Collections.sort(sorted);
+            Assert.assertEquals(sorted, suggestions);
+        } finally {
+            scanner.shutdown();
+        }
+    }
+
+    /** Checks that scans are reused for boards with the same contents only */
+    @Test
+    public void CacheTest() throws InvalidFileFormatException, InterruptedException {
+        TestUtilities.importTestBoard(
+                "puzzles/lightup/rules/BulbsInPathContradictionRule/LightInHorizontalPath",
+                lightUp);
+        LightUpBoard board = (LightUpBoard) lightUp.getTree().getRootNode().getBoard();
+        RuleScanner scanner = new RuleScanner(lightUp);
+        try {
+            List<RuleSuggestion> first = scanner.scan(new TreeNode(board));
+            Assert.assertSame(first, scanner.scan(new TreeNode(board.copy())));
+
+            LightUpBoard changed = board.copy();
+            changed.getCell(2, 0).setData(LightUpCellType.EMPTY.value);
+            Assert.assertNotEquals(board.getContentHash(), changed.getContentHash());
+            List<RuleSuggestion> second = scanner.scan(new TreeNode(changed));
+            Assert.assertNotSame(first, second);
+            Assert.assertFalse(
+                    getRules(second).stream()
+                            .anyMatch(rule -> rule instanceof BulbsInPathContradictionRule));
+        } finally {
+            scanner.shutdown();
+        }
+    }
+
+    /** Checks that a cached scan is not reused for a board whose content hash collides */
+    @Test
+    public void CacheCollisionTest() throws InvalidFileFormatException, InterruptedException {
+        TestUtilities.importTestBoard(
+                "puzzles/lightup/rules/BulbsInPathContradictionRule/LightInHorizontalPath",
+                lightUp);
+        LightUpBoard board = (LightUpBoard) lightUp.getTree().getRootNode().getBoard();
+        RuleScanner scanner = new RuleScanner(lightUp);
+        try {
+            List<RuleSuggestion> first = scanner.scan(new TreeNode(new CollidingBoard(board)));
+            Assert.assertSame(first, scanner.scan(new TreeNode(new CollidingBoard(board))));
+
+            CollidingBoard changed = new CollidingBoard(board);
+            changed.getCell(2, 0).setData(LightUpCellType.EMPTY.value);
+            List<RuleSuggestion> second = scanner.scan(new TreeNode(changed));
+            Assert.assertNotSame(first, second);
+            Assert.assertFalse(
+                    getRules(second).stream()
+                            .anyMatch(rule -> rule instanceof BulbsInPathContradictionRule));
+        } finally {
+            scanner.shutdown();
+        }
+    }
+
+    /** Copy of a LightUp board whose content hash is the same whatever its cells */
+    private static class CollidingBoard extends LightUpBoard {
+        CollidingBoard(LightUpBoard board) {
+            super(board.getWidth(), board.getHeight());
+            for (int y = 0; y < board.getHeight(); y++) {
+                for (int x = 0; x < board.getWidth(); x++) {
+                    setCell(x, y, board.getCell(x, y).copy());
+                }
+            }
+        }
+
+        @Override
+        public long getContentHash() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package legup;
+
+import edu.rpi.legup.headless.HeadlessRunner;
+import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.gameboard.PuzzleElement;
+import edu.rpi.legup.model.generator.PuzzleGenerator;
+import edu.rpi.legup.model.solver.SolutionCounter;
+import edu.rpi.legup.model.solver.UniquenessResult;
+import edu.rpi.legup.puzzle.binary.Binary;
+import edu.rpi.legup.puzzle.binary.BinaryGenerator;
+import edu.rpi.legup.puzzle.lightup.LightUp;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SolutionCounterTest {
+    private static final String SOLVED_SKYSCRAPERS = "puzzles/skyscrapers/rules/common/Solved";
+    private static final String SINGLE_LIGHTUP = "puzzles/lightup/solver/SingleSolution";
+
+    private static BinaryGenerator generator;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        generator = new BinaryGenerator(4);
+    }
+
+    /**
+     * Counts with the rules of the puzzle only and checks the result against the solver of the
+     * puzzle
+     */
+    @Test
+    public void RuleSearchTest() {
+        SolutionCounter counter = new SolutionCounter(new Binary());
+        counter.setUsePuzzleSolver(false);
+
+        int[] clues = generator.generateClues(10, new Random(5));
+        UniquenessResult unique = counter.count(generator.createBoard(clues));
+        Assert.assertEquals(UniquenessResult.Status.UNIQUE, unique.getStatus());
+        Assert.assertEquals(1, unique.getSolutions().size());
+
+        int[] empty = new int[16];
+        Arrays.fill(empty, PuzzleGenerator.EMPTY);
+        checkMultiple(counter.count(generator.createBoard(empty)));
+
+        int[] trio = empty.clone();
+        trio[0] = 1;
+        trio[1] = 1;
+        trio[2] = 1;
+        UniquenessResult none = counter.count(generator.createBoard(trio));
+        Assert.assertEquals(UniquenessResult.Status.NO_SOLUTION, none.getStatus());
+        Assert.assertEquals(0, none.getSolutionCount());
+    }
+
+    /**
+     * Checks that the solutions found by the solver of the puzzle are used without searching the
+     * rules, and that they come with a cell to tell them apart
+     */
+    @Test
+    public void PuzzleSolverTest() {
+        SolutionCounter counter = new SolutionCounter(new Binary());
+        counter.setThreads(1);
+        counter.setTimeout(0);
+        int[] clues = generator.generateClues(10, new Random(9));
+        Board board = generator.createBoard(clues);
+        UniquenessResult unique = counter.count(board);
+        Assert.assertTrue(unique.isUnique());
+        Assert.assertEquals(1, unique.getSolutions().size());
+        Assert.assertNotSame(board, unique.getSolutions().get(0));
+
+        int[] empty = new int[16];
+        Arrays.fill(empty, PuzzleGenerator.EMPTY);
+        checkMultiple(counter.count(generator.createBoard(empty)));
+    }
+
+    /** Checks that a search split between threads finds the same solutions as a single thread */
+    @Test
+    public void ParallelSearchTest() {
+        SolutionCounter counter = new SolutionCounter(new Binary());
+        counter.setUsePuzzleSolver(false);
+        counter.setThreads(4);
+
+        int[] clues = generator.generateClues(10, new Random(5));
+        UniquenessResult unique = counter.count(generator.createBoard(clues));
+        Assert.assertEquals(UniquenessResult.Status.UNIQUE, unique.getStatus());
+
+        int[] empty = new int[16];
+        Arrays.fill(empty, PuzzleGenerator.EMPTY);
+        checkMultiple(counter.count(generator.createBoard(empty)));
+    }
+
+    /**
+     * Counts a LightUp puzzle with exactly one solution. The case rules of LightUp light the board
+     * when a bulb is placed, so each case board has to be lit before its contradictions are checked
+     */
+    @Test
+    public void LightUpRuleSearchTest() throws InvalidFileFormatException {
+        LightUp lightUp = new LightUp();
+        TestUtilities.importTestBoard(SINGLE_LIGHTUP, lightUp);
+        SolutionCounter counter = new SolutionCounter(lightUp);
+        counter.setTimeout(60000);
+        UniquenessResult result = counter.count(lightUp.getTree().getRootNode().getBoard());
+        Assert.assertEquals(UniquenessResult.Status.UNIQUE, result.getStatus());
+        Assert.assertEquals(1, result.getSolutionCount());
+    }
+
+    /** Checks that a search that runs out of time reports an unknown count */
+    @Test
+    public void TimeoutTest() {
+        SolutionCounter counter = new SolutionCounter(new Binary());
+        counter.setUsePuzzleSolver(false);
+        counter.setTimeout(0);
+        int[] clues = generator.generateClues(10, new Random(5));
+        UniquenessResult result = counter.count(generator.createBoard(clues));
+        Assert.assertEquals(UniquenessResult.Status.UNKNOWN, result.getStatus());
+        Assert.assertTrue(result.isTimedOut());
+    }
+
+    /** Checks the uniqueness mode of the command line runner */
+    @Test
+    public void RunnerTest() throws URISyntaxException {
+        File file = new File(ClassLoader.getSystemResource(SOLVED_SKYSCRAPERS).toURI());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        Assert.assertEquals(
+                HeadlessRunner.EXIT_SOLVED,
+                HeadlessRunner.run(new String[] {"-u", file.getPath()}, out));
+        Assert.assertTrue(
+                bytes.toString(StandardCharsets.UTF_8).contains("Skyscrapers\tUnique solution"));
+    }
+
+    /**
+     * Checks the generation mode of the command line runner: the generated files load back with a
+     * unique solution, and puzzles without a generator are refused
+     */
+    @Test
+    public void GeneratorRunnerTest() throws IOException {
+        File folder = Files.createTempDirectory("legup-generated").toFile();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        String[] args = {"-g", "Skyscrapers", "2", "2", "11", folder.getPath()};
+        Assert.assertEquals(HeadlessRunner.EXIT_SOLVED, HeadlessRunner.run(args, out));
+        File[] files = folder.listFiles();
+        Assert.assertEquals(2, files.length);
+        Assert.assertTrue(new File(folder, "Skyscrapers-2-11-1.xml").isFile());
+
+        bytes.reset();
+        Assert.assertEquals(
+                HeadlessRunner.EXIT_SOLVED,
+                HeadlessRunner.run(new String[] {"-u", folder.getPath()}, out));
+        String output = bytes.toString(StandardCharsets.UTF_8);
+        Assert.assertEquals(2, output.split("Skyscrapers\tUnique solution").length - 1);
+
+        String[] unsupported = {"-g", "LightUp", "1", "2", "11", folder.getPath()};
+        Assert.assertEquals(HeadlessRunner.EXIT_USAGE, HeadlessRunner.run(unsupported, out));
+        for (File file : files) {
+            Assert.assertTrue(file.delete());
+        }
+        Assert.assertTrue(folder.delete());
+    }
+
+    private static void checkMultiple(UniquenessResult result) {
+        Assert.assertEquals(UniquenessResult.Status.MULTIPLE, result.getStatus());
+        Assert.assertEquals(SolutionCounter.LIMIT, result.getSolutionCount());
+        Assert.assertEquals(2, result.getSolutions().size());
+        PuzzleElement element = result.getDifferingElement();
+        Assert.assertNotNull(element);
+        Board second = result.getSolutions().get(1);
+        Assert.assertNotEquals(element.getData(), second.getPuzzleElement(element).getData());
+        Assert.assertTrue(result.getMessage().startsWith("Multiple solutions, cell ("));
+    }
+}
@@ -0,0 +1,174 @@
+package legup;
+
+import edu.rpi.legup.app.Config;
+import edu.rpi.legup.app.InvalidConfigException;
+import edu.rpi.legup.headless.GradingCache;
+import edu.rpi.legup.headless.HeadlessRunner;
+import edu.rpi.legup.headless.ProofVerifier;
+import edu.rpi.legup.headless.SubmissionArchive;
+import edu.rpi.legup.headless.SubmissionArchiveWriter;
+import edu.rpi.legup.model.Puzzle;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SubmissionArchiveTest {
+    private static final String EMPTY_FIELD =
+            "puzzles/treetent/rules/EmptyFieldDirectRule/EmptyField";
+
+    private static Config config;
+    private static ProofVerifier verifier;
+
+    private File folder;
+    private File archiveFile;
+
+    @BeforeClass
+    public static void setUpClass() throws InvalidConfigException {
+        config = new Config();
+        verifier = new ProofVerifier(config);
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory("legup-submissions").toFile();
+        archiveFile = new File(folder, "submissions" + SubmissionArchive.EXTENSION);
+        copy(new File(folder, "student1/proof.xml"));
+        copy(new File(folder, "student2/nested/proof.xml"));
+        Files.writeString(new File(folder, "student2/notes.txt").toPath(), "not a puzzle");
+        Files.writeString(new File(folder, "result.csv").toPath(), "Name\n");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(folder.toPath())) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    /** Packs a folder and checks the index and the contents of the entries */
+    @Test
+    public void PacksFolderTest() throws IOException, InvalidFileFormatException {
+        Assert.assertEquals(2, SubmissionArchiveWriter.pack(folder, archiveFile));
+        Assert.assertTrue(SubmissionArchive.isArchive(archiveFile));
+        Assert.assertFalse(SubmissionArchive.isArchive(new File(folder, "result.csv")));
+
+        byte[] original = Files.readAllBytes(new File(folder, "student1/proof.xml").toPath());
+        try (SubmissionArchive archive = new SubmissionArchive(archiveFile)) {
+            List<SubmissionArchive.Entry> entries = archive.getEntries();
+            Assert.assertEquals(2, entries.size());
+
+            SubmissionArchive.Entry first = entries.get(0);
+            Assert.assertEquals("student1/proof.xml", first.getPath());
+            Assert.assertEquals("student1", first.getFolder());
+            Assert.assertEquals("proof.xml", first.getFileName());
+            Assert.assertEquals("TreeTent", first.getPuzzleName());
+            Assert.assertEquals(original.length, first.getLength());
+
+            ByteBuffer content = archive.getContent(first);
+            byte[] packed = new byte[content.remaining()];
+            content.get(packed);
+            Assert.assertArrayEquals(original, packed);
+
+            SubmissionArchive.Entry second = entries.get(1);
+            Assert.assertEquals("student2/nested", second.getFolder());
+            Puzzle puzzle = archive.load(second, verifier);
+            Assert.assertEquals("TreeTent", puzzle.getName());
+
+            GradingCache cache =
+                    new GradingCache(new File(folder, GradingCache.FILE_NAME), "fingerprint");
+            try {
+                Assert.assertEquals(
+                        cache.key(new File(folder, "student1/proof.xml")),
+                        cache.key(archive.getContent(first)));
+                cache.verify(archive, first, verifier);
+                cache.verify(archive, second, verifier);
+                Assert.assertEquals(1, cache.getHits());
+            } finally {
+                cache.close();
+            }
+        }
+    }
+
+    /** Checks that a damaged archive is rejected and that the runner grades packed entries */
+    @Test
+    public void RunnerAndInvalidArchiveTest() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        Assert.assertEquals(
+                HeadlessRunner.EXIT_SOLVED,
+                HeadlessRunner.run(
+                        new String[] {"-p", archiveFile.getPath(), folder.getPath()}, out));
+        Assert.assertEquals(
+                HeadlessRunner.EXIT_UNSOLVED,
+                HeadlessRunner.run(new String[] {"-q", archiveFile.getPath()}, out));
+        Assert.assertTrue(
+                bytes.toString(StandardCharsets.UTF_8)
+                        .contains("!student2/nested/proof.xml\tTreeTent\tUnsolved"));
+
+        byte[] data = Files.readAllBytes(archiveFile.toPath());
+        File truncated = new File(folder, "truncated" + SubmissionArchive.EXTENSION);
+        Files.write(truncated.toPath(), Arrays.copyOf(data, data.length - 10));
+        try {
+            new SubmissionArchive(truncated).close();
+            Assert.fail("Truncated archive was accepted");
+        } catch (InvalidFileFormatException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Checks that an entry whose content no longer matches its hash is not loaded, and that an
+     * entry count larger than the index can hold is rejected
+     */
+    @Test
+    public void CorruptedArchiveTest() throws IOException, InvalidFileFormatException {
+        SubmissionArchiveWriter.pack(folder, archiveFile);
+        byte[] data = Files.readAllBytes(archiveFile.toPath());
+
+        File corrupted = new File(folder, "corrupted" + SubmissionArchive.EXTENSION);
+        byte[] changed = data.clone();
+        // the content of the first entry starts right after the 20 byte header
+        changed[20]++;
+        Files.write(corrupted.toPath(), changed);
+        try (SubmissionArchive archive = new SubmissionArchive(corrupted)) {
+            archive.load(archive.getEntries().get(0), verifier);
+            Assert.fail("Corrupted entry was loaded");
+        } catch (InvalidFileFormatException e) {
+            // expected
+        }
+
+        File counted = new File(folder, "counted" + SubmissionArchive.EXTENSION);
+        // the entry count follows the magic number and the version
+        ByteBuffer.wrap(data).putInt(8, Integer.MAX_VALUE);
+        Files.write(counted.toPath(), data);
+        try {
+            new SubmissionArchive(counted).close();
+            Assert.fail("Archive with too many entries was accepted");
+        } catch (InvalidFileFormatException e) {
+            // expected
+        }
+    }
+
+    private static void copy(File target) throws IOException {
+        target.getParentFile().mkdirs();
+        try (InputStream in = ClassLoader.getSystemResourceAsStream(EMPTY_FIELD)) {
+            Files.copy(in, target.toPath());
+        }
+    }
+}
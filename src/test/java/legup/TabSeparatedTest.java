@@ -0,0 +1,29 @@
+package legup;
+
+import edu.rpi.legup.utility.TabSeparated;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TabSeparatedTest {
+    /** Escapes fields holding separators and backslashes, and reads each one back */
+    @Test
+    public void RoundTripTest() {
+        String[] values = {"", "plain", "a\tb", "two\nlines\r\n", "C:\\puzzles\\t.xml", "\\"};
+        for (String value : values) {
+            String escaped = TabSeparated.escape(value);
+            Assert.assertEquals(-1, escaped.indexOf('\t'));
+            Assert.assertEquals(-1, escaped.indexOf('\n'));
+            Assert.assertEquals(-1, escaped.indexOf('\r'));
+            Assert.assertEquals(value, TabSeparated.unescape(escaped));
+        }
+        Assert.assertEquals("C:\\\\puzzles\\\\t.xml", TabSeparated.escape("C:\\puzzles\\t.xml"));
+    }
+
+    /** Writes null as a lone backslash, which no other field escapes to */
+    @Test
+    public void NullTest() {
+        Assert.assertEquals("\\", TabSeparated.escape(null));
+        Assert.assertNull(TabSeparated.unescape("\\"));
+        Assert.assertEquals("\\\\", TabSeparated.escape("\\"));
+    }
+}
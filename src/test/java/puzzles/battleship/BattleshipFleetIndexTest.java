@@ -0,0 +1,195 @@
+package puzzles.battleship;
+
+import edu.rpi.legup.puzzle.battleship.Battleship;
+import edu.rpi.legup.puzzle.battleship.BattleshipBoard;
+import edu.rpi.legup.puzzle.battleship.BattleshipCell;
+import edu.rpi.legup.puzzle.battleship.BattleshipFleetIndex;
+import edu.rpi.legup.puzzle.battleship.BattleshipType;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import java.awt.Point;
+import java.util.List;
+import java.util.Random;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class BattleshipFleetIndexTest {
+    private static Battleship battleship;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        battleship = new Battleship();
+    }
+
+    /** Checks the clues read from the board and the segment and unknown counts of its lines */
+    @Test
+    public void LineCountTest() throws InvalidFileFormatException {
+        BattleshipBoard board = importBoard();
+        BattleshipFleetIndex index = board.getFleetIndex();
+        Assert.assertEquals(2, index.getRowClue(0));
+        Assert.assertEquals(0, index.getRowClue(3));
+        Assert.assertEquals(2, index.getColumnClue(4));
+        Assert.assertEquals(5, index.getRowUnknown(0));
+        Assert.assertEquals(4, index.getColumnUnknown(0));
+        Assert.assertEquals(20, index.getUnknownCount());
+
+        board.getCell(1, 0).setData(BattleshipType.SHIP_TOP);
+        board.getCell(1, 1).setData(BattleshipType.SHIP_BOTTOM);
+        board.getCell(1, 2).setData(BattleshipType.WATER);
+        Assert.assertEquals(1, index.getRowSegments(0));
+        Assert.assertEquals(1, index.getRowSegments(1));
+        Assert.assertEquals(2, index.getColumnSegments(1));
+        Assert.assertEquals(1, index.getColumnUnknown(1));
+        Assert.assertEquals(17, index.getUnknownCount());
+        Assert.assertEquals(2, index.getSegmentCount());
+
+        board.getCell(1, 1).setData(BattleshipType.UNKNOWN);
+        Assert.assertEquals(0, index.getRowSegments(1));
+        Assert.assertEquals(2, index.getColumnUnknown(1));
+    }
+
+    /** Builds a destroyer one segment at a time and checks the ships found along the way */
+    @Test
+    public void ShipTest() throws InvalidFileFormatException {
+        BattleshipBoard board = importBoard();
+        BattleshipFleetIndex index = board.getFleetIndex();
+        Assert.assertEquals(3, index.getLongestMissing());
+        Assert.assertEquals(2, index.getFleetCount(1));
+
+        board.getCell(0, 0).setData(BattleshipType.SHIP_LEFT);
+        board.getCell(1, 0).setData(BattleshipType.SHIP_UNKNOWN);
+        Assert.assertEquals(1, index.getShips().size());
+        BattleshipFleetIndex.Ship ship = index.getShipAt(1, 0);
+        Assert.assertSame(ship, index.getShipAt(0, 0));
+        Assert.assertEquals(new Point(0, 0), ship.getLocation());
+        Assert.assertEquals(2, ship.getLength());
+        Assert.assertTrue(ship.isHorizontal());
+        Assert.assertFalse(ship.isComplete());
+        Assert.assertNull(index.getShipAt(2, 0));
+
+        board.getCell(1, 0).setData(BattleshipType.SHIP_RIGHT);
+        Assert.assertTrue(index.getShipAt(0, 0).isComplete());
+        Assert.assertEquals(1, index.getCompleteCount(2));
+
+        // a submarine is complete on its own
+        board.getCell(4, 2).setData(BattleshipType.SUBMARINE);
+        Assert.assertEquals(2, index.getShips().size());
+        Assert.assertEquals(1, index.getCompleteCount(1));
+        Assert.assertEquals(3, index.getLongestMissing());
+    }
+
+    /** Checks the places left for a destroyer by the clues, and as water is added */
+    @Test
+    public void PlacementTest() throws InvalidFileFormatException {
+        BattleshipBoard board = importBoard();
+        BattleshipFleetIndex index = board.getFleetIndex();
+        // the middle column and the last row need no segment, so a destroyer lies along the first
+        // or third row, or down the second or last column above the last row
+        List<BattleshipFleetIndex.Ship> placements = index.getPlacements(2);
+        Assert.assertEquals(8, placements.size());
+        Assert.assertTrue(index.getPlacements(3).isEmpty());
+        BattleshipFleetIndex.Ship first = placements.get(0);
+        Assert.assertEquals(new Point(0, 0), first.getLocation());
+        Assert.assertTrue(first.isHorizontal());
+        Assert.assertEquals(
+                BattleshipType.SHIP_LEFT, BattleshipFleetIndex.getSegmentType(first, 0));
+        Assert.assertEquals(
+                BattleshipType.SHIP_RIGHT, BattleshipFleetIndex.getSegmentType(first, 1));
+
+        board.getCell(1, 1).setData(BattleshipType.WATER);
+        Assert.assertEquals(6, index.getPlacements(2).size());
+    }
+
+    /** Checks that a copy of the board has an index of its own */
+    @Test
+    public void CopyTest() throws InvalidFileFormatException {
+        BattleshipBoard board = importBoard();
+        board.getCell(0, 0).setData(BattleshipType.SUBMARINE);
+        BattleshipBoard copy = board.copy();
+        Assert.assertNotSame(board.getFleetIndex(), copy.getFleetIndex());
+
+        board.getCell(2, 2).setData(BattleshipType.SUBMARINE);
+        Assert.assertEquals(2, board.getFleetIndex().getCompleteCount(1));
+        Assert.assertEquals(1, copy.getFleetIndex().getCompleteCount(1));
+        copy.getCell(0, 0).setData(BattleshipType.WATER);
+        Assert.assertEquals(2, board.getFleetIndex().getCompleteCount(1));
+        Assert.assertEquals(0, copy.getFleetIndex().getCompleteCount(1));
+    }
+
+    /**
+     * Puts a submarine copy of a cell on the board in its place and checks that the index counts
+     * the submarine, and no longer hears from the cell that was taken off
+     */
+    @Test
+    public void ReplacedCellTest() throws InvalidFileFormatException {
+        BattleshipBoard board = importBoard();
+        BattleshipFleetIndex index = board.getFleetIndex();
+
+        BattleshipCell old = board.getCell(0, 0);
+        BattleshipCell cell = old.copy();
+        cell.setData(BattleshipType.SUBMARINE);
+        board.setPuzzleElement(old.getIndex(), cell);
+        Assert.assertSame(cell, board.getCell(0, 0));
+        Assert.assertSame(index, board.getFleetIndex());
+        Assert.assertEquals(1, index.getCompleteCount(1));
+        Assert.assertEquals(1, index.getRowSegments(0));
+
+        old.setData(BattleshipType.WATER);
+        Assert.assertEquals(1, index.getCompleteCount(1));
+        board.getCell(0, 0).setData(BattleshipType.WATER);
+        Assert.assertEquals(0, index.getCompleteCount(1));
+        Assert.assertEquals(0, index.getRowSegments(0));
+    }
+
+    /**
+     * Sets random segments and water with a fixed seed, and after each one compares the line
+     * counts, the ships and the fleet counts with a fresh index of the board
+     */
+    @Test
+    public void RandomSegmentsTest() throws InvalidFileFormatException {
+        BattleshipBoard board = importBoard();
+        BattleshipFleetIndex index = board.getFleetIndex();
+        BattleshipType[] types = {
+            BattleshipType.UNKNOWN,
+            BattleshipType.WATER,
+            BattleshipType.SHIP_UNKNOWN,
+            BattleshipType.SUBMARINE,
+            BattleshipType.SHIP_LEFT,
+            BattleshipType.SHIP_RIGHT,
+            BattleshipType.SHIP_MIDDLE
+        };
+        Random random = new Random(11);
+        for (int i = 0; i < 500; i++) {
+            int x = random.nextInt(board.getWidth());
+            int y = random.nextInt(board.getHeight());
+            board.getCell(x, y).setData(types[random.nextInt(types.length)]);
+
+            BattleshipFleetIndex fresh = new BattleshipFleetIndex(board);
+            Assert.assertEquals(fresh.getUnknownCount(), index.getUnknownCount());
+            Assert.assertEquals(fresh.getSegmentCount(), index.getSegmentCount());
+            Assert.assertEquals(fresh.getShips().size(), index.getShips().size());
+            for (int row = 0; row < board.getHeight(); row++) {
+                Assert.assertEquals(fresh.getRowSegments(row), index.getRowSegments(row));
+                Assert.assertEquals(fresh.getRowUnknown(row), index.getRowUnknown(row));
+            }
+            for (int col = 0; col < board.getWidth(); col++) {
+                Assert.assertEquals(fresh.getColumnSegments(col), index.getColumnSegments(col));
+                Assert.assertEquals(fresh.getColumnUnknown(col), index.getColumnUnknown(col));
+            }
+            for (int length = 1; length < 5; length++) {
+                Assert.assertEquals(
+                        fresh.getCompleteCount(length), index.getCompleteCount(length));
+            }
+        }
+    }
+
+    // a 5x4 board whose rows need 2, 1, 3 and 0 segments and columns 1, 2, 0, 1 and 2, for a fleet
+    // of two submarines, a destroyer and a cruiser
+    private static BattleshipBoard importBoard() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard("puzzles/battleship/FleetAndClues", battleship);
+        return (BattleshipBoard) battleship.getTree().getRootNode().getBoard().copy();
+    }
+}
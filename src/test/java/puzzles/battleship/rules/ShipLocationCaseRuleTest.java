@@ -0,0 +1,75 @@
+package puzzles.battleship.rules;
+
+import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.battleship.Battleship;
+import edu.rpi.legup.puzzle.battleship.BattleshipBoard;
+import edu.rpi.legup.puzzle.battleship.BattleshipType;
+import edu.rpi.legup.puzzle.battleship.rules.ShipLocationCaseRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import java.util.List;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ShipLocationCaseRuleTest {
+    private static final ShipLocationCaseRule RULE = new ShipLocationCaseRule();
+    private static Battleship battleship;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        battleship = new Battleship();
+    }
+
+    /**
+     * Tests the Ship Location case rule for a cruiser on an empty 3x3 board, which fits in each
+     * row and column, and in the first row and column only once the center is water
+     */
+    @Test
+    public void ShipLocationCaseRule_CruiserTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/battleship/rules/ShipLocationCaseRule/Cruiser", battleship);
+        TreeNode rootNode = battleship.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        BattleshipBoard board = (BattleshipBoard) transition.getBoard();
+        Assert.assertEquals(6, RULE.countCases(board, null));
+
+        board.getCell(1, 1).setData(BattleshipType.WATER);
+        List<Board> cases = RULE.getCases(board, board.getCell(0, 0));
+        Assert.assertEquals(4, cases.size());
+        BattleshipBoard first = (BattleshipBoard) cases.get(0);
+        Assert.assertEquals(BattleshipType.SHIP_LEFT, first.getCell(0, 0).getType());
+        Assert.assertEquals(BattleshipType.SHIP_MIDDLE, first.getCell(1, 0).getType());
+        Assert.assertEquals(BattleshipType.SHIP_RIGHT, first.getCell(2, 0).getType());
+        Assert.assertEquals(3, first.getModifiedData().size());
+    }
+
+    /**
+     * Tests the Ship Location case rule for a destroyer in a row of four, where the cells at the
+     * ends of each placement are closed with water
+     */
+    @Test
+    public void ShipLocationCaseRule_DestroyerTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/battleship/rules/ShipLocationCaseRule/Destroyer", battleship);
+        TreeNode rootNode = battleship.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        BattleshipBoard board = (BattleshipBoard) transition.getBoard();
+        List<Board> cases = RULE.getCases(board, board.getCell(0, 0));
+        Assert.assertEquals(3, cases.size());
+        BattleshipBoard middle = (BattleshipBoard) cases.get(1);
+        Assert.assertEquals(BattleshipType.WATER, middle.getCell(0, 0).getType());
+        Assert.assertEquals(BattleshipType.SHIP_LEFT, middle.getCell(1, 0).getType());
+        Assert.assertEquals(BattleshipType.SHIP_RIGHT, middle.getCell(2, 0).getType());
+        Assert.assertEquals(BattleshipType.WATER, middle.getCell(3, 0).getType());
+        Assert.assertEquals(4, middle.getModifiedData().size());
+    }
+}
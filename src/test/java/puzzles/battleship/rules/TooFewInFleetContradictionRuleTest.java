@@ -0,0 +1,81 @@
+package puzzles.battleship.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.battleship.Battleship;
+import edu.rpi.legup.puzzle.battleship.BattleshipBoard;
+import edu.rpi.legup.puzzle.battleship.BattleshipType;
+import edu.rpi.legup.puzzle.battleship.rules.TooFewInFleetContradictionRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class TooFewInFleetContradictionRuleTest {
+    private static final TooFewInFleetContradictionRule RULE = new TooFewInFleetContradictionRule();
+    private static Battleship battleship;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        battleship = new Battleship();
+    }
+
+    /**
+     * Tests the Too Few In Fleet contradiction rule for a submarine and a destroyer that need three
+     * cells once two of the four cells are water
+     */
+    @Test
+    public void TooFewInFleetContradictionRule_NoRoomTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/battleship/rules/TooFewInFleetContradictionRule/SubmarineAndDestroyer",
+                battleship);
+        TreeNode rootNode = battleship.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        BattleshipBoard board = (BattleshipBoard) transition.getBoard();
+        Assert.assertNotNull(RULE.checkContradiction(board));
+        board.getCell(0, 0).setData(BattleshipType.WATER);
+        Assert.assertNotNull(RULE.checkContradiction(board));
+        board.getCell(1, 1).setData(BattleshipType.WATER);
+        Assert.assertNull(RULE.checkContradiction(board));
+    }
+
+    /**
+     * Tests the Too Few In Fleet contradiction rule for a finished board, which is only a
+     * contradiction if its submarine is missing
+     */
+    @Test
+    public void TooFewInFleetContradictionRule_FinishedTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/battleship/rules/TooFewInFleetContradictionRule/Submarine", battleship);
+        TreeNode rootNode = battleship.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        BattleshipBoard board = (BattleshipBoard) transition.getBoard();
+        board.getCell(0, 0).setData(BattleshipType.SUBMARINE);
+        board.getCell(1, 0).setData(BattleshipType.WATER);
+        Assert.assertNotNull(RULE.checkContradiction(board));
+        board.getCell(0, 0).setData(BattleshipType.WATER);
+        Assert.assertNull(RULE.checkContradiction(board));
+    }
+
+    /** Tests the Too Few In Fleet contradiction rule for a board without a fleet */
+    @Test
+    public void TooFewInFleetContradictionRule_NoFleetTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/battleship/rules/TooFewInFleetContradictionRule/NoFleet", battleship);
+        TreeNode rootNode = battleship.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        BattleshipBoard board = (BattleshipBoard) transition.getBoard();
+        board.getCell(0, 0).setData(BattleshipType.WATER);
+        board.getCell(1, 0).setData(BattleshipType.WATER);
+        Assert.assertNotNull(RULE.checkContradiction(board));
+    }
+}
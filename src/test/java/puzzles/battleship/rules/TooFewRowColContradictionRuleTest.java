@@ -0,0 +1,55 @@
+package puzzles.battleship.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.battleship.Battleship;
+import edu.rpi.legup.puzzle.battleship.BattleshipBoard;
+import edu.rpi.legup.puzzle.battleship.rules.TooFewRowColContradictionRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class TooFewRowColContradictionRuleTest {
+    private static final TooFewRowColContradictionRule RULE = new TooFewRowColContradictionRule();
+    private static Battleship battleship;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        battleship = new Battleship();
+    }
+
+    /**
+     * Tests the Too Few Row Col contradiction rule for a column that needs two segments but has
+     * only one unknown cell left
+     */
+    @Test
+    public void TooFewRowColContradictionRule_WaterColumnTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/battleship/rules/TooFewRowColContradictionRule/WaterColumn", battleship);
+        TreeNode rootNode = battleship.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        BattleshipBoard board = (BattleshipBoard) transition.getBoard();
+        Assert.assertNull(RULE.checkContradiction(board));
+        Assert.assertNull(RULE.checkContradictionAt(board, board.getCell(0, 0)));
+        Assert.assertNotNull(RULE.checkContradictionAt(board, board.getCell(1, 0)));
+    }
+
+    /** Tests the Too Few Row Col contradiction rule for rows and columns with room left */
+    @Test
+    public void TooFewRowColContradictionRule_OneWaterTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/battleship/rules/TooFewRowColContradictionRule/OneWater", battleship);
+        TreeNode rootNode = battleship.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        BattleshipBoard board = (BattleshipBoard) transition.getBoard();
+        Assert.assertNotNull(RULE.checkContradiction(board));
+    }
+}
@@ -0,0 +1,82 @@
+package puzzles.battleship.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.battleship.Battleship;
+import edu.rpi.legup.puzzle.battleship.BattleshipBoard;
+import edu.rpi.legup.puzzle.battleship.BattleshipType;
+import edu.rpi.legup.puzzle.battleship.rules.TooManyInFleetContradictionRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class TooManyInFleetContradictionRuleTest {
+    private static final TooManyInFleetContradictionRule RULE =
+            new TooManyInFleetContradictionRule();
+    private static Battleship battleship;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        battleship = new Battleship();
+    }
+
+    /** Tests the Too Many In Fleet contradiction rule for two submarines in a fleet of one */
+    @Test
+    public void TooManyInFleetContradictionRule_TwoSubmarinesTest()
+            throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/battleship/rules/TooManyInFleetContradictionRule/TwoSubmarines",
+                battleship);
+        TreeNode rootNode = battleship.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        BattleshipBoard board = (BattleshipBoard) transition.getBoard();
+        Assert.assertNull(RULE.checkContradiction(board));
+        Assert.assertNull(RULE.checkContradictionAt(board, board.getCell(2, 2)));
+        Assert.assertNotNull(RULE.checkContradictionAt(board, board.getCell(1, 1)));
+    }
+
+    /** Tests the Too Many In Fleet contradiction rule for a ship longer than any of the fleet */
+    @Test
+    public void TooManyInFleetContradictionRule_LongShipTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/battleship/rules/TooManyInFleetContradictionRule/LongShip", battleship);
+        TreeNode rootNode = battleship.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        BattleshipBoard board = (BattleshipBoard) transition.getBoard();
+        Assert.assertNull(RULE.checkContradiction(board));
+        Assert.assertNull(RULE.checkContradictionAt(board, board.getCell(1, 0)));
+    }
+
+    /**
+     * Tests the Too Many In Fleet contradiction rule for two destroyers, which is only a
+     * contradiction once the second one is closed at both ends
+     */
+    @Test
+    public void TooManyInFleetContradictionRule_TwoDestroyersTest()
+            throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/battleship/rules/TooManyInFleetContradictionRule/SubmarineAndDestroyer",
+                battleship);
+        TreeNode rootNode = battleship.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        BattleshipBoard board = (BattleshipBoard) transition.getBoard();
+        board.getCell(0, 0).setData(BattleshipType.SHIP_LEFT);
+        board.getCell(1, 0).setData(BattleshipType.SHIP_RIGHT);
+        board.getCell(0, 3).setData(BattleshipType.SHIP_LEFT);
+        board.getCell(1, 3).setData(BattleshipType.SHIP_UNKNOWN);
+        Assert.assertNotNull(RULE.checkContradiction(board));
+
+        board.getCell(1, 3).setData(BattleshipType.SHIP_RIGHT);
+        Assert.assertNull(RULE.checkContradiction(board));
+    }
+}
@@ -0,0 +1,73 @@
+package puzzles.battleship.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.battleship.Battleship;
+import edu.rpi.legup.puzzle.battleship.BattleshipBoard;
+import edu.rpi.legup.puzzle.battleship.BattleshipType;
+import edu.rpi.legup.puzzle.battleship.rules.TooManyRowColContradiction;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class TooManyRowColContradictionTest {
+    private static final TooManyRowColContradiction RULE = new TooManyRowColContradiction();
+    private static Battleship battleship;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        battleship = new Battleship();
+    }
+
+    /** Tests the Too Many Row Col contradiction rule for a submarine in a row that needs none */
+    @Test
+    public void TooManyRowColContradiction_CrowdedRowTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/battleship/rules/TooManyRowColContradiction/CrowdedRow", battleship);
+        TreeNode rootNode = battleship.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        BattleshipBoard board = (BattleshipBoard) transition.getBoard();
+        Assert.assertNull(RULE.checkContradiction(board));
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                if (y == 1) {
+                    Assert.assertNull(RULE.checkContradictionAt(board, board.getCell(x, y)));
+                } else {
+                    Assert.assertNotNull(RULE.checkContradictionAt(board, board.getCell(x, y)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests the Too Many Row Col contradiction rule for a column whose clue of 2 is only exceeded
+     * by a third ship segment
+     */
+    @Test
+    public void TooManyRowColContradiction_ColumnTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/battleship/rules/TooManyRowColContradiction/RowColClues", battleship);
+        TreeNode rootNode = battleship.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        BattleshipBoard board = (BattleshipBoard) transition.getBoard();
+        Assert.assertNotNull(RULE.checkContradiction(board));
+
+        board.getCell(0, 0).setData(BattleshipType.SHIP_TOP);
+        board.getCell(0, 1).setData(BattleshipType.SHIP_BOTTOM);
+        // the second row needs no segment
+        Assert.assertNull(RULE.checkContradiction(board));
+        board.getCell(0, 1).setData(BattleshipType.WATER);
+        board.getCell(0, 2).setData(BattleshipType.SUBMARINE);
+        Assert.assertNotNull(RULE.checkContradiction(board));
+        board.getCell(0, 3).setData(BattleshipType.SUBMARINE);
+        Assert.assertNull(RULE.checkContradictionAt(board, board.getCell(0, 1)));
+    }
+}
@@ -0,0 +1,218 @@
+package puzzles.binary;
+
+import edu.rpi.legup.history.TransitionDelta;
+import edu.rpi.legup.model.rules.ContradictionRule;
+import edu.rpi.legup.model.rules.DirectRule;
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.binary.Binary;
+import edu.rpi.legup.puzzle.binary.BinaryBoard;
+import edu.rpi.legup.puzzle.binary.BinaryCell;
+import edu.rpi.legup.puzzle.binary.BinaryType;
+import edu.rpi.legup.puzzle.binary.rules.EliminateTheImpossibleDirectRule;
+import edu.rpi.legup.puzzle.binary.rules.RepeatedRowColumnContradictionRule;
+import edu.rpi.legup.puzzle.binary.rules.TrioContradictionRule;
+import edu.rpi.legup.puzzle.binary.rules.UnbalancedRowColumnContradictionRule;
+import edu.rpi.legup.puzzle.binary.rules.UniqueRowColumnDirectRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import java.util.Random;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class BinaryBoardTest {
+    private static Binary binary;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        binary = new Binary();
+    }
+
+    /** Checks that the masks follow changes to the cells and are copied with the board */
+    @Test
+    public void MasksTest() throws InvalidFileFormatException {
+        BinaryBoard board = importBoard(4);
+        set(board, 1, 0, BinaryType.ONE);
+        set(board, 3, 0, BinaryType.ZERO);
+        set(board, 1, 2, BinaryType.ONE);
+        Assert.assertEquals(0b0010, board.getRowOnes(0));
+        Assert.assertEquals(0b1000, board.getRowZeros(0));
+        Assert.assertEquals(0b0101, board.getColOnes(1));
+        Assert.assertEquals(0b0001, board.getColZeros(3));
+
+        BinaryBoard copy = board.copy();
+        set(board, 1, 0, BinaryType.ZERO);
+        Assert.assertEquals(0, board.getRowOnes(0));
+        Assert.assertEquals(0b1010, board.getRowZeros(0));
+        Assert.assertEquals(0b0010, copy.getRowOnes(0));
+
+        set(board, 1, 0, BinaryType.UNKNOWN);
+        Assert.assertEquals(0b1000, board.getRowZeros(0));
+        Assert.assertEquals(0b0100, board.getColOnes(1));
+    }
+
+    /** Finds trios, unbalanced lines and repeated lines */
+    @Test
+    public void ContradictionTest() throws InvalidFileFormatException {
+        BinaryBoard board = importBoard(6);
+        set(board, 0, 0, BinaryType.ONE);
+        set(board, 2, 0, BinaryType.ONE);
+        assertContradiction(new TrioContradictionRule(), board, false);
+        set(board, 1, 0, BinaryType.ONE);
+        assertContradiction(new TrioContradictionRule(), board, true);
+        set(board, 1, 0, BinaryType.ZERO);
+        set(board, 2, 1, BinaryType.ONE);
+        set(board, 2, 2, BinaryType.ONE);
+        assertContradiction(new TrioContradictionRule(), board, true);
+
+        board = importBoard(4);
+        setRow(board, 0, 0, 1, 1, 0);
+        assertContradiction(new UnbalancedRowColumnContradictionRule(), board, false);
+        set(board, 0, 1, BinaryType.ZERO);
+        set(board, 0, 2, BinaryType.ZERO);
+        assertContradiction(new UnbalancedRowColumnContradictionRule(), board, true);
+
+        board = importBoard(4);
+        setRow(board, 0, 0, 1, 1, 0);
+        setRow(board, 1, 0, 1, 1, 2);
+        assertContradiction(new RepeatedRowColumnContradictionRule(), board, false);
+        set(board, 3, 1, BinaryType.ZERO);
+        assertContradiction(new RepeatedRowColumnContradictionRule(), board, true);
+        set(board, 3, 1, BinaryType.ONE);
+        assertContradiction(new RepeatedRowColumnContradictionRule(), board, false);
+    }
+
+    /** Fills the cells that keep a row from repeating a complete one */
+    @Test
+    public void UniqueRowColumnTest() throws InvalidFileFormatException {
+        BinaryBoard board = importBoard(4);
+        setRow(board, 0, 0, 1, 0, 1);
+        setRow(board, 1, 0, 1, 2, 2);
+        UniqueRowColumnDirectRule rule = new UniqueRowColumnDirectRule();
+        Assert.assertNull(checkRuleAt(rule, board, 2, 1, BinaryType.ONE));
+        Assert.assertNotNull(checkRuleAt(rule, board, 2, 1, BinaryType.ZERO));
+        Assert.assertNull(checkRuleAt(rule, board, 3, 1, BinaryType.ZERO));
+
+        BinaryBoard result = (BinaryBoard) rule.getDefaultBoard(new TreeNode(board));
+        Assert.assertEquals(BinaryType.ONE, result.getCell(2, 1).getType());
+        Assert.assertEquals(BinaryType.ZERO, result.getCell(3, 1).getType());
+        Assert.assertEquals(2, result.getModifiedData().size());
+
+        // a zero here no longer completes the row, it still needs two zeros
+        set(board, 0, 1, BinaryType.UNKNOWN);
+        Assert.assertNotNull(checkRuleAt(rule, board, 2, 1, BinaryType.ONE));
+    }
+
+    /** Fills the cells that have the same digit in every way to complete their line */
+    @Test
+    public void EliminateTheImpossibleTest() throws InvalidFileFormatException {
+        BinaryBoard board = importBoard(6);
+        setRow(board, 0, 1, 1, 2, 2, 2, 2);
+        EliminateTheImpossibleDirectRule rule = new EliminateTheImpossibleDirectRule();
+        Assert.assertNull(checkRuleAt(rule, board, 2, 0, BinaryType.ZERO));
+        Assert.assertNull(checkRuleAt(rule, board, 5, 0, BinaryType.ZERO));
+        Assert.assertNotNull(checkRuleAt(rule, board, 3, 0, BinaryType.ZERO));
+        Assert.assertNotNull(checkRuleAt(rule, board, 2, 0, BinaryType.ONE));
+
+        BinaryBoard result = (BinaryBoard) rule.getDefaultBoard(new TreeNode(board));
+        Assert.assertEquals(2, result.getModifiedData().size());
+        Assert.assertEquals(BinaryType.ZERO, result.getCell(5, 0).getType());
+        Assert.assertNull(rule.getDefaultBoard(new TreeNode(importBoard(6))));
+    }
+
+    /** Applies random changes and compares the masks with the types of the cells */
+    @Test
+    public void IncrementalUpdateTest() throws InvalidFileFormatException {
+        BinaryBoard board = importBoard(6);
+        BinaryType[] types = {BinaryType.ZERO, BinaryType.ONE, BinaryType.UNKNOWN};
+        Random random = new Random(3);
+        for (int i = 0; i < 500; i++) {
+            set(board, random.nextInt(6), random.nextInt(6), types[random.nextInt(3)]);
+            for (int y = 0; y < 6; y++) {
+                for (int x = 0; x < 6; x++) {
+                    BinaryType type = board.getCell(x, y).getType();
+                    Assert.assertEquals(
+                            type == BinaryType.ONE, (board.getRowOnes(y) >> x & 1) == 1);
+                    Assert.assertEquals(
+                            type == BinaryType.ZERO, (board.getRowZeros(y) >> x & 1) == 1);
+                    Assert.assertEquals(
+                            type == BinaryType.ONE, (board.getColOnes(x) >> y & 1) == 1);
+                    Assert.assertEquals(
+                            type == BinaryType.ZERO, (board.getColZeros(x) >> y & 1) == 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compacts a transition and rebuilds it, checking that the masks of the rebuilt board match its
+     * cells and follow later changes of the cells
+     */
+    @Test
+    public void TransitionDeltaTest() throws InvalidFileFormatException {
+        BinaryBoard board = importBoard(4);
+        setRow(board, 0, 1, 0, -1, -1);
+        BinaryBoard child = board.copy();
+        BinaryCell cell = child.getCell(2, 0);
+        cell.setData(BinaryType.ONE.toValue());
+        child.addModifiedData(cell);
+        TreeNode node = new TreeNode(board);
+        TreeTransition transition = new TreeTransition(node, child);
+        node.addChild(transition);
+        transition.setChildNode(new TreeNode(child.copy()));
+
+        TransitionDelta delta = TransitionDelta.compact(transition, binary.getFactory());
+        Assert.assertNotNull(delta);
+        Assert.assertNull(transition.getBoard());
+        delta.rehydrate();
+
+        BinaryBoard rebuilt = (BinaryBoard) transition.getBoard();
+        Assert.assertEquals(0b0101, rebuilt.getRowOnes(0));
+        Assert.assertEquals(0b0010, rebuilt.getRowZeros(0));
+        Assert.assertEquals(1, rebuilt.getColOnes(2));
+        Assert.assertEquals(1, rebuilt.getModifiedData().size());
+
+        // the rebuilt cell belongs to the rebuilt board, so changing it updates the masks
+        set(rebuilt, 2, 0, BinaryType.ZERO);
+        Assert.assertEquals(0b0001, rebuilt.getRowOnes(0));
+        Assert.assertEquals(0b0110, rebuilt.getRowZeros(0));
+        Assert.assertEquals(1, rebuilt.getColZeros(2));
+    }
+
+    // an empty board of the given size
+    private static BinaryBoard importBoard(int size) throws InvalidFileFormatException {
+        TestUtilities.importTestBoard("puzzles/binary/Empty" + size, binary);
+        return (BinaryBoard) binary.getTree().getRootNode().getBoard().copy();
+    }
+
+    private static void set(BinaryBoard board, int x, int y, BinaryType type) {
+        board.getCell(x, y).setData(type.toValue());
+    }
+
+    private static void setRow(BinaryBoard board, int y, int... values) {
+        for (int x = 0; x < values.length; x++) {
+            board.getCell(x, y).setData(values[x]);
+        }
+    }
+
+    private static String checkRuleAt(
+            DirectRule rule, BinaryBoard board, int x, int y, BinaryType type) {
+        BinaryBoard child = board.copy();
+        BinaryCell cell = child.getCell(x, y);
+        cell.setData(type.toValue());
+        child.addModifiedData(cell);
+        TreeNode node = new TreeNode(board);
+        TreeTransition transition = new TreeTransition(node, child);
+        node.addChild(transition);
+        transition.setChildNode(new TreeNode(child));
+        return rule.checkRuleAt(transition, cell);
+    }
+
+    private static void assertContradiction(
+            ContradictionRule rule, BinaryBoard board, boolean contradiction) {
+        Assert.assertEquals(contradiction, rule.checkContradiction(board) == null);
+    }
+}
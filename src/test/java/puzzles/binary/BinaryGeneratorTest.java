@@ -0,0 +1,108 @@
+package puzzles.binary;
+
+import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.generator.PuzzleGenerator;
+import edu.rpi.legup.puzzle.binary.BinaryBoard;
+import edu.rpi.legup.puzzle.binary.BinaryCell;
+import edu.rpi.legup.puzzle.binary.BinaryGenerator;
+import edu.rpi.legup.puzzle.binary.BinarySolver;
+import edu.rpi.legup.puzzle.binary.BinaryType;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BinaryGeneratorTest {
+
+    /** Checks that the solver finds the single solution of a known puzzle and rejects a bad one */
+    @Test
+    public void SolverTest() {
+        int e = PuzzleGenerator.EMPTY;
+        BinarySolver solver = new BinarySolver(4);
+        int[] solution = {0, 0, 1, 1, 1, 1, 0, 0, 0, 1, 1, 0, 1, 0, 0, 1};
+        Assert.assertEquals(1, solver.countSolutions(solution, 2));
+
+        int[] empty = new int[16];
+        Arrays.fill(empty, e);
+        Assert.assertEquals(2, solver.countSolutions(empty, 2));
+        Assert.assertEquals(72, solver.countSolutions(empty, 1000));
+
+        int[] trio = empty.clone();
+        trio[0] = 1;
+        trio[1] = 1;
+        trio[2] = 1;
+        Assert.assertEquals(0, solver.countSolutions(trio, 2));
+        Assert.assertNull(solver.solve(trio, null));
+    }
+
+    /** Generates a batch of puzzles and checks that each one is distinct and uniquely solvable */
+    @Test
+    public void GeneratesUniquePuzzlesTest() {
+        BinaryGenerator generator = new BinaryGenerator(6);
+        List<Board> boards = generator.generate(5, 6, 42L);
+        Assert.assertEquals(5, boards.size());
+
+        Set<String> distinct = new HashSet<>();
+        for (Board board : boards) {
+            int[] clues = getClues((BinaryBoard) board);
+            Assert.assertEquals(1, generator.countSolutions(clues, 2));
+            Assert.assertTrue(distinct.add(Arrays.toString(clues)));
+        }
+
+        List<Board> again = generator.generate(5, 6, 42L);
+        for (int i = 0; i < boards.size(); i++) {
+            Assert.assertArrayEquals(
+                    getClues((BinaryBoard) boards.get(i)), getClues((BinaryBoard) again.get(i)));
+        }
+    }
+
+    /** Checks that harder puzzles keep fewer clues and that the clues are marked as given */
+    @Test
+    public void DifficultyTest() {
+        BinaryGenerator generator = new BinaryGenerator(8);
+        int[] easy = generator.generateClues(1, new Random(7));
+        int[] hard = generator.generateClues(10, new Random(7));
+        Assert.assertTrue(countClues(hard) < countClues(easy));
+        Assert.assertEquals(1, generator.countSolutions(hard, 2));
+
+        BinaryBoard board = (BinaryBoard) generator.createBoard(hard);
+        Assert.assertEquals(8, board.getWidth());
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                BinaryCell cell = board.getCell(x, y);
+                boolean given = cell.getType() != BinaryType.UNKNOWN;
+                Assert.assertEquals(given, cell.isGiven());
+                Assert.assertEquals(!given, cell.isModifiable());
+            }
+        }
+
+        try {
+            generator.generate(0, new Random());
+            Assert.fail("Invalid difficulty was accepted");
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    private static int countClues(int[] clues) {
+        return (int) Arrays.stream(clues).filter(v -> v != PuzzleGenerator.EMPTY).count();
+    }
+
+    private static int[] getClues(BinaryBoard board) {
+        int size = board.getWidth();
+        int[] clues = new int[size * size];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                BinaryCell cell = board.getCell(x, y);
+                clues[y * size + x] =
+                        cell.getType() == BinaryType.UNKNOWN
+                                ? PuzzleGenerator.EMPTY
+                                : cell.getData();
+            }
+        }
+        return clues;
+    }
+}
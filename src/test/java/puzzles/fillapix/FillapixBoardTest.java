@@ -0,0 +1,124 @@
+package puzzles.fillapix;
+
+import edu.rpi.legup.model.gameboard.GridNeighbors;
+import edu.rpi.legup.puzzle.fillapix.Fillapix;
+import edu.rpi.legup.puzzle.fillapix.FillapixBoard;
+import edu.rpi.legup.puzzle.fillapix.FillapixCell;
+import edu.rpi.legup.puzzle.fillapix.FillapixCellType;
+import edu.rpi.legup.puzzle.fillapix.FillapixUtilities;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import java.util.ArrayList;
+import java.util.Random;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class FillapixBoardTest {
+    private static Fillapix fillapix;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        fillapix = new Fillapix();
+    }
+
+    /** Checks the shared neighbour tables at the corner and in the middle of a grid */
+    @Test
+    public void NeighborsTest() throws InvalidFileFormatException {
+        GridNeighbors neighbors = GridNeighbors.of(5, 4);
+        Assert.assertSame(neighbors, GridNeighbors.of(5, 4));
+        Assert.assertArrayEquals(new int[] {0, 5, 1, 6}, neighbors.getSquare(0));
+        Assert.assertArrayEquals(new int[] {5, 1, 6}, neighbors.getSurrounding(0));
+        Assert.assertEquals(9, neighbors.getSquare(6).length);
+        Assert.assertEquals(8, neighbors.getSurrounding(6).length);
+
+        // the outline two cells away from (2, 2) is cut by the bottom of the grid
+        Assert.assertEquals(11, neighbors.getRing(12, 2).length);
+        FillapixBoard board = importBoard("Empty5x5");
+        ArrayList<FillapixCell> ring =
+                FillapixUtilities.getCellsAtDistance(board, board.getCell(0, 0), 1);
+        Assert.assertEquals(5, ring.size());
+        Assert.assertTrue(ring.contains(board.getCell(2, 2)));
+    }
+
+    /** Checks the numbers against the counts of their squares */
+    @Test
+    public void NumberTest() throws InvalidFileFormatException {
+        FillapixBoard board = importBoard("CenterTwo");
+        Assert.assertEquals(9, board.getNumCells(board.getCell(1, 1), FillapixCellType.UNKNOWN));
+        Assert.assertFalse(FillapixUtilities.checkBoardForContradiction(board));
+
+        board.getCell(0, 0).setCellType(FillapixCellType.BLACK);
+        board.getCell(2, 2).setCellType(FillapixCellType.BLACK);
+        Assert.assertTrue(FillapixUtilities.isComplete(board, board.getCell(1, 1)));
+        Assert.assertTrue(FillapixUtilities.isForcedWhite(board, board.getCell(0, 1)));
+        Assert.assertFalse(FillapixUtilities.isForcedBlack(board, board.getCell(0, 1)));
+
+        FillapixBoard copy = board.copy();
+        board.getCell(0, 1).setCellType(FillapixCellType.BLACK);
+        Assert.assertTrue(FillapixUtilities.checkBoardForContradiction(board));
+        Assert.assertFalse(FillapixUtilities.checkBoardForContradiction(copy));
+        Assert.assertEquals(2, copy.getNumCells(copy.getCell(1, 1), FillapixCellType.BLACK));
+
+        // the number is still satisfied once the unknown cells are white, until a black one is
+        // made white too
+        for (int x = 0; x < 3; x++) {
+            for (int y = 0; y < 3; y++) {
+                if (copy.getCell(x, y).getType() == FillapixCellType.UNKNOWN && x + y != 4) {
+                    copy.getCell(x, y).setCellType(FillapixCellType.WHITE);
+                }
+            }
+        }
+        Assert.assertFalse(FillapixUtilities.checkBoardForContradiction(copy));
+        copy.getCell(2, 2).setCellType(FillapixCellType.WHITE);
+        Assert.assertTrue(FillapixUtilities.checkBoardForContradiction(copy));
+    }
+
+    /** Applies random changes and compares the counts with the cells of each square */
+    @Test
+    public void IncrementalUpdateTest() throws InvalidFileFormatException {
+        FillapixBoard board = importBoard("Empty5x4");
+        FillapixCellType[] types = FillapixCellType.values();
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            FillapixCell cell = board.getCell(random.nextInt(5), random.nextInt(4));
+            if (random.nextInt(4) == 0) {
+                cell.setNumber(random.nextInt(11) - 1);
+            } else {
+                cell.setCellType(types[random.nextInt(types.length)]);
+            }
+
+            boolean contradiction = false;
+            for (int x = 0; x < 5; x++) {
+                for (int y = 0; y < 4; y++) {
+                    FillapixCell center = board.getCell(x, y);
+                    int[] expected = new int[types.length];
+                    for (int dx = -1; dx <= 1; dx++) {
+                        for (int dy = -1; dy <= 1; dy++) {
+                            if (x + dx >= 0 && y + dy >= 0 && x + dx < 5 && y + dy < 4) {
+                                expected[board.getCell(x + dx, y + dy).getType().ordinal()]++;
+                            }
+                        }
+                    }
+                    for (FillapixCellType type : types) {
+                        Assert.assertEquals(
+                                expected[type.ordinal()], board.getNumCells(center, type));
+                    }
+                    int number = center.getNumber();
+                    int black = expected[FillapixCellType.BLACK.ordinal()];
+                    int unknown = expected[FillapixCellType.UNKNOWN.ordinal()];
+                    contradiction |=
+                            number >= 0 && (black > number || black + unknown < number);
+                }
+            }
+            Assert.assertEquals(contradiction, FillapixUtilities.checkBoardForContradiction(board));
+        }
+    }
+
+    private static FillapixBoard importBoard(String fileName) throws InvalidFileFormatException {
+        TestUtilities.importTestBoard("puzzles/fillapix/" + fileName, fillapix);
+        return (FillapixBoard) fillapix.getTree().getRootNode().getBoard().copy();
+    }
+}
@@ -0,0 +1,181 @@
+package puzzles.heyawake;
+
+import edu.rpi.legup.puzzle.heyawake.Heyawake;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeBoard;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeCell;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeRoomIndex;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeType;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import java.util.Random;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class HeyawakeRoomIndexTest {
+    private static Heyawake heyawake;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        heyawake = new Heyawake();
+    }
+
+    /** Checks the rooms found from the regions of the board and their black and white counts */
+    @Test
+    public void RoomCountTest() throws InvalidFileFormatException {
+        HeyawakeBoard board = importBoard();
+        HeyawakeRoomIndex index = board.getRoomIndex();
+        int room = index.getRoom(0, 1);
+        Assert.assertEquals(3, index.getRoomCount());
+        Assert.assertEquals(room, index.getRoom(0, 2));
+        Assert.assertNotEquals(room, index.getRoom(1, 1));
+        Assert.assertEquals(index.getRoom(2, 0), index.getRoom(3, 2));
+        Assert.assertEquals(1, index.getClue(room));
+        Assert.assertEquals(-1, index.getClue(index.getRoom(1, 1)));
+        Assert.assertEquals(3, index.getRoomSize(room));
+        Assert.assertEquals(6, index.getRoomSize(index.getRoom(2, 0)));
+
+        // the numbered cell counts as white
+        Assert.assertEquals(1, index.getWhiteCount(room));
+        Assert.assertEquals(2, index.getUnknownCount(room));
+
+        board.getCell(0, 1).setData(HeyawakeType.BLACK.value);
+        board.getCell(0, 2).setData(HeyawakeType.WHITE.value);
+        Assert.assertEquals(1, index.getBlackCount(room));
+        Assert.assertEquals(2, index.getWhiteCount(room));
+        Assert.assertEquals(0, index.getUnknownCount(room));
+        Assert.assertTrue(index.isBlack(0, 1));
+        Assert.assertTrue(index.hasBlackNeighbor(1, 1));
+        Assert.assertFalse(index.hasBlackNeighbor(1, 0));
+
+        board.getCell(0, 1).setData(HeyawakeType.UNKNOWN.value);
+        Assert.assertEquals(0, index.getBlackCount(room));
+        Assert.assertEquals(1, index.getUnknownCount(room));
+        Assert.assertFalse(index.hasBlackNeighbor(1, 1));
+    }
+
+    /** Checks the number of rooms crossed by the runs of white cells along rows and columns */
+    @Test
+    public void RunRoomsTest() throws InvalidFileFormatException {
+        HeyawakeBoard board = importBoard();
+        HeyawakeRoomIndex index = board.getRoomIndex();
+        Assert.assertEquals(0, index.getRunRooms(1, 1, true));
+
+        board.getCell(0, 1).setData(HeyawakeType.WHITE.value);
+        board.getCell(1, 1).setData(HeyawakeType.WHITE.value);
+        Assert.assertEquals(2, index.getRunRooms(0, 1, true));
+        Assert.assertEquals(1, index.getRunRooms(1, 1, false));
+
+        // the two cells of the last room still count as one room
+        board.getCell(2, 1).setData(HeyawakeType.WHITE.value);
+        board.getCell(3, 1).setData(HeyawakeType.WHITE.value);
+        Assert.assertEquals(3, index.getRunRooms(3, 1, true));
+
+        // the column of the numbered cell stays in its room
+        board.getCell(0, 2).setData(HeyawakeType.WHITE.value);
+        Assert.assertEquals(1, index.getRunRooms(0, 0, false));
+
+        board.getCell(1, 1).setData(HeyawakeType.BLACK.value);
+        Assert.assertEquals(0, index.getRunRooms(1, 1, true));
+        Assert.assertEquals(1, index.getRunRooms(0, 1, true));
+        Assert.assertEquals(1, index.getRunRooms(2, 1, true));
+    }
+
+    /** Walls off the numbered corner, joins it again, and checks a copy keeps the walled state */
+    @Test
+    public void ConnectivityTest() throws InvalidFileFormatException {
+        HeyawakeBoard board = importBoard();
+        HeyawakeRoomIndex index = board.getRoomIndex();
+        board.getCell(3, 2).setData(HeyawakeType.WHITE.value);
+        Assert.assertTrue(index.isWhiteConnected());
+        Assert.assertTrue(index.isConnected(0, 0, 3, 2));
+
+        board.getCell(1, 0).setData(HeyawakeType.BLACK.value);
+        board.getCell(0, 1).setData(HeyawakeType.BLACK.value);
+        Assert.assertFalse(index.isWhiteConnected());
+        Assert.assertFalse(index.isWhiteConnected(0, 0));
+        Assert.assertFalse(index.isConnected(0, 0, 3, 2));
+        Assert.assertTrue(index.isConnected(1, 1, 3, 2));
+
+        HeyawakeBoard copy = board.copy();
+        board.getCell(1, 0).setData(HeyawakeType.UNKNOWN.value);
+        Assert.assertTrue(index.isWhiteConnected());
+        Assert.assertNotSame(index, copy.getRoomIndex());
+        Assert.assertFalse(copy.getRoomIndex().isWhiteConnected());
+    }
+
+    /**
+     * Swaps a cell of the board for a black copy and checks that the region lists and the room
+     * counts follow the copy, while the cell taken off the board no longer reaches the index
+     */
+    @Test
+    public void ReplacedCellTest() throws InvalidFileFormatException {
+        HeyawakeBoard board = importBoard();
+        HeyawakeRoomIndex index = board.getRoomIndex();
+        int room = index.getRoom(0, 1);
+
+        HeyawakeCell old = board.getCell(0, 1);
+        HeyawakeCell cell = old.copy();
+        cell.setData(HeyawakeType.BLACK.value);
+        board.setPuzzleElement(old.getIndex(), cell);
+        Assert.assertSame(cell, board.getCell(0, 1));
+        Assert.assertTrue(board.getRegion(old.getRegionIndex()).contains(cell));
+        Assert.assertFalse(board.getRegion(old.getRegionIndex()).contains(old));
+        Assert.assertSame(index, board.getRoomIndex());
+        Assert.assertEquals(1, index.getBlackCount(room));
+
+        old.setData(HeyawakeType.WHITE.value);
+        Assert.assertEquals(1, index.getBlackCount(room));
+        Assert.assertTrue(index.hasBlackNeighbor(0, 2));
+        board.getCell(0, 1).setData(HeyawakeType.WHITE.value);
+        Assert.assertEquals(0, index.getBlackCount(room));
+        Assert.assertFalse(index.hasBlackNeighbor(0, 2));
+    }
+
+    /**
+     * Paints random cells white, black or unknown with a fixed seed and, after every change,
+     * compares the room counts, the runs and the white connectivity with an index rebuilt from the
+     * board
+     */
+    @Test
+    public void RandomPaintingTest() throws InvalidFileFormatException {
+        HeyawakeBoard board = importBoard();
+        HeyawakeRoomIndex index = board.getRoomIndex();
+        HeyawakeType[] types = {HeyawakeType.WHITE, HeyawakeType.BLACK, HeyawakeType.UNKNOWN};
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            int x = random.nextInt(board.getWidth());
+            int y = random.nextInt(board.getHeight());
+            if (x == 0 && y == 0) {
+                continue;
+            }
+            board.getCell(x, y).setData(types[random.nextInt(types.length)].value);
+
+            HeyawakeRoomIndex rebuilt = new HeyawakeRoomIndex(board);
+            Assert.assertEquals(rebuilt.isWhiteConnected(), index.isWhiteConnected());
+            for (int room = 0; room < rebuilt.getRoomCount(); room++) {
+                Assert.assertEquals(rebuilt.getBlackCount(room), index.getBlackCount(room));
+                Assert.assertEquals(rebuilt.getWhiteCount(room), index.getWhiteCount(room));
+            }
+            for (int cy = 0; cy < board.getHeight(); cy++) {
+                for (int cx = 0; cx < board.getWidth(); cx++) {
+                    Assert.assertEquals(
+                            rebuilt.getRunRooms(cx, cy, true), index.getRunRooms(cx, cy, true));
+                    Assert.assertEquals(
+                            rebuilt.getRunRooms(cx, cy, false), index.getRunRooms(cx, cy, false));
+                    Assert.assertEquals(
+                            rebuilt.isConnected(cx, cy, 0, 0), index.isConnected(cx, cy, 0, 0));
+                }
+            }
+        }
+    }
+
+    // rooms are the first column, the second column and the last two columns; the first room needs
+    // one black cell
+    private static HeyawakeBoard importBoard() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard("puzzles/heyawake/ThreeRooms", heyawake);
+        return (HeyawakeBoard) heyawake.getTree().getRootNode().getBoard().copy();
+    }
+}
@@ -0,0 +1,60 @@
+package puzzles.heyawake.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.heyawake.Heyawake;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeBoard;
+import edu.rpi.legup.puzzle.heyawake.rules.AdjacentBlacksContradictionRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class AdjacentBlacksContradictionRuleTest {
+    private static final AdjacentBlacksContradictionRule RULE =
+            new AdjacentBlacksContradictionRule();
+    private static Heyawake heyawake;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        heyawake = new Heyawake();
+    }
+
+    /** Tests the Adjacent Blacks contradiction rule for two black cells above each other */
+    @Test
+    public void AdjacentBlacksContradictionRule_AdjacentTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/heyawake/rules/AdjacentBlacksContradictionRule/AdjacentBlacks", heyawake);
+        TreeNode rootNode = heyawake.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        HeyawakeBoard board = (HeyawakeBoard) transition.getBoard();
+        Assert.assertNull(RULE.checkContradiction(board));
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                if (x == 0 && y > 0) {
+                    Assert.assertNull(RULE.checkContradictionAt(board, board.getCell(x, y)));
+                } else {
+                    Assert.assertNotNull(RULE.checkContradictionAt(board, board.getCell(x, y)));
+                }
+            }
+        }
+    }
+
+    /** Tests the Adjacent Blacks contradiction rule for black cells that only touch diagonally */
+    @Test
+    public void AdjacentBlacksContradictionRule_DiagonalTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/heyawake/rules/AdjacentBlacksContradictionRule/DiagonalBlacks", heyawake);
+        TreeNode rootNode = heyawake.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        HeyawakeBoard board = (HeyawakeBoard) transition.getBoard();
+        Assert.assertNotNull(RULE.checkContradiction(board));
+    }
+}
@@ -0,0 +1,66 @@
+package puzzles.heyawake.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.heyawake.Heyawake;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeBoard;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeCell;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeType;
+import edu.rpi.legup.puzzle.heyawake.rules.FillRoomBlackDirectRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class FillRoomBlackDirectRuleTest {
+    private static final FillRoomBlackDirectRule RULE = new FillRoomBlackDirectRule();
+    private static Heyawake heyawake;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        heyawake = new Heyawake();
+    }
+
+    /**
+     * Tests the Fill Room Black direct rule for a room of 1 whose only unknown cell left must be
+     * the black one
+     */
+    @Test
+    public void FillRoomBlackDirectRule_OneUnknownLeftTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/heyawake/rules/FillRoomBlackDirectRule/OneUnknownLeft", heyawake);
+        TreeNode rootNode = heyawake.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        HeyawakeBoard board = (HeyawakeBoard) transition.getBoard();
+        HeyawakeCell cell = board.getCell(0, 2);
+        cell.setData(HeyawakeType.BLACK.value);
+        board.addModifiedData(cell);
+        Assert.assertNull(RULE.checkRule(transition));
+
+        HeyawakeBoard defaultBoard = (HeyawakeBoard) RULE.getDefaultBoard(rootNode);
+        Assert.assertEquals(1, defaultBoard.getModifiedData().size());
+        Assert.assertEquals(HeyawakeType.BLACK, defaultBoard.getCell(0, 2).getType());
+    }
+
+    /** Tests the Fill Room Black direct rule for a cell of a room without a number */
+    @Test
+    public void FillRoomBlackDirectRule_NoNumberTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/heyawake/rules/FillRoomBlackDirectRule/OneUnknownLeft", heyawake);
+        TreeNode rootNode = heyawake.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        HeyawakeBoard board = (HeyawakeBoard) transition.getBoard();
+        HeyawakeCell cell = board.getCell(1, 1);
+        cell.setData(HeyawakeType.BLACK.value);
+        board.addModifiedData(cell);
+        Assert.assertNotNull(RULE.checkRule(transition));
+        Assert.assertNotNull(RULE.checkRuleAt(transition, cell));
+    }
+}
@@ -0,0 +1,70 @@
+package puzzles.heyawake.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.heyawake.Heyawake;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeBoard;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeCell;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeType;
+import edu.rpi.legup.puzzle.heyawake.rules.FillRoomWhiteDirectRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class FillRoomWhiteDirectRuleTest {
+    private static final FillRoomWhiteDirectRule RULE = new FillRoomWhiteDirectRule();
+    private static Heyawake heyawake;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        heyawake = new Heyawake();
+    }
+
+    /**
+     * Tests the Fill Room White direct rule for a room of 1 that already has its black cell, so
+     * the cell left in the room is white
+     */
+    @Test
+    public void FillRoomWhiteDirectRule_RoomFullTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/heyawake/rules/FillRoomWhiteDirectRule/RoomFull", heyawake);
+        TreeNode rootNode = heyawake.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        HeyawakeBoard board = (HeyawakeBoard) transition.getBoard();
+        HeyawakeCell cell = board.getCell(0, 1);
+        cell.setData(HeyawakeType.WHITE.value);
+        board.addModifiedData(cell);
+        Assert.assertNull(RULE.checkRule(transition));
+
+        // a cell of the room next door, which has no number
+        HeyawakeCell other = board.getCell(1, 1);
+        other.setData(HeyawakeType.WHITE.value);
+        board.addModifiedData(other);
+        Assert.assertNotNull(RULE.checkRule(transition));
+        Assert.assertNull(RULE.checkRuleAt(transition, cell));
+        Assert.assertNotNull(RULE.checkRuleAt(transition, other));
+    }
+
+    /** Tests the Fill Room White direct rule for a room that still needs its black cell */
+    @Test
+    public void FillRoomWhiteDirectRule_RoomOpenTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/heyawake/rules/FillRoomBlackDirectRule/OneUnknownLeft", heyawake);
+        TreeNode rootNode = heyawake.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        HeyawakeBoard board = (HeyawakeBoard) transition.getBoard();
+        HeyawakeCell cell = board.getCell(0, 2);
+        cell.setData(HeyawakeType.WHITE.value);
+        board.addModifiedData(cell);
+        Assert.assertNotNull(RULE.checkRule(transition));
+        Assert.assertNull(RULE.getDefaultBoard(rootNode));
+    }
+}
@@ -0,0 +1,58 @@
+package puzzles.heyawake.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.heyawake.Heyawake;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeBoard;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeType;
+import edu.rpi.legup.puzzle.heyawake.rules.RoomTooEmptyContradictionRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class RoomTooEmptyContradictionRuleTest {
+    private static final RoomTooEmptyContradictionRule RULE = new RoomTooEmptyContradictionRule();
+    private static Heyawake heyawake;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        heyawake = new Heyawake();
+    }
+
+    /** Tests the Room Too Empty contradiction rule for a room of 1 whose cells are all white */
+    @Test
+    public void RoomTooEmptyContradictionRule_AllWhiteTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/heyawake/rules/RoomTooEmptyContradictionRule/AllWhite", heyawake);
+        TreeNode rootNode = heyawake.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        HeyawakeBoard board = (HeyawakeBoard) transition.getBoard();
+        Assert.assertNull(RULE.checkContradiction(board));
+        Assert.assertNull(RULE.checkContradictionAt(board, board.getCell(2, 2)));
+    }
+
+    /**
+     * Tests the Room Too Empty contradiction rule for a room of 1 with a single unknown cell left,
+     * which is only a contradiction once that cell is made white as well
+     */
+    @Test
+    public void RoomTooEmptyContradictionRule_OneUnknownTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/heyawake/rules/RoomTooEmptyContradictionRule/OneUnknown", heyawake);
+        TreeNode rootNode = heyawake.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        HeyawakeBoard board = (HeyawakeBoard) transition.getBoard();
+        Assert.assertNotNull(RULE.checkContradiction(board));
+
+        board.getCell(2, 2).setData(HeyawakeType.WHITE.value);
+        Assert.assertNull(RULE.checkContradiction(board));
+    }
+}
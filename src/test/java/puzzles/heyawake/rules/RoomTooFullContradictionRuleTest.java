@@ -0,0 +1,52 @@
+package puzzles.heyawake.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.heyawake.Heyawake;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeBoard;
+import edu.rpi.legup.puzzle.heyawake.rules.RoomTooFullContradictionRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class RoomTooFullContradictionRuleTest {
+    private static final RoomTooFullContradictionRule RULE = new RoomTooFullContradictionRule();
+    private static Heyawake heyawake;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        heyawake = new Heyawake();
+    }
+
+    /** Tests the Room Too Full contradiction rule for a room of 1 with two black cells */
+    @Test
+    public void RoomTooFullContradictionRule_TwoBlacksTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/heyawake/rules/RoomTooFullContradictionRule/TwoBlacks", heyawake);
+        TreeNode rootNode = heyawake.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        HeyawakeBoard board = (HeyawakeBoard) transition.getBoard();
+        Assert.assertNull(RULE.checkContradiction(board));
+        // every cell of the room shows the contradiction, not only the black ones
+        Assert.assertNull(RULE.checkContradictionAt(board, board.getCell(1, 0)));
+    }
+
+    /** Tests the Room Too Full contradiction rule for a room of 1 with exactly one black cell */
+    @Test
+    public void RoomTooFullContradictionRule_OneBlackTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/heyawake/rules/RoomTooFullContradictionRule/OneBlack", heyawake);
+        TreeNode rootNode = heyawake.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        HeyawakeBoard board = (HeyawakeBoard) transition.getBoard();
+        Assert.assertNotNull(RULE.checkContradiction(board));
+    }
+}
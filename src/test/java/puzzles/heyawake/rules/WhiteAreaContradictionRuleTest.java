@@ -0,0 +1,59 @@
+package puzzles.heyawake.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.heyawake.Heyawake;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeBoard;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeType;
+import edu.rpi.legup.puzzle.heyawake.rules.WhiteAreaContradictionRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class WhiteAreaContradictionRuleTest {
+    private static final WhiteAreaContradictionRule RULE = new WhiteAreaContradictionRule();
+    private static Heyawake heyawake;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        heyawake = new Heyawake();
+    }
+
+    /**
+     * Tests the White Area contradiction rule for the numbered corner cell walled in by two black
+     * cells, away from the white cell in the opposite corner
+     */
+    @Test
+    public void WhiteAreaContradictionRule_CutOffCornerTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/heyawake/rules/WhiteAreaContradictionRule/CutOffCorner", heyawake);
+        TreeNode rootNode = heyawake.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        HeyawakeBoard board = (HeyawakeBoard) transition.getBoard();
+        Assert.assertNull(RULE.checkContradiction(board));
+        Assert.assertNull(RULE.checkContradictionAt(board, board.getCell(0, 0)));
+
+        // removing one of the walls joins the corner to the rest of the board
+        board.getCell(1, 0).setData(HeyawakeType.UNKNOWN.value);
+        Assert.assertNotNull(RULE.checkContradiction(board));
+    }
+
+    /** Tests the White Area contradiction rule for a corner with one side still open */
+    @Test
+    public void WhiteAreaContradictionRule_OpenCornerTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/heyawake/rules/WhiteAreaContradictionRule/OpenCorner", heyawake);
+        TreeNode rootNode = heyawake.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        HeyawakeBoard board = (HeyawakeBoard) transition.getBoard();
+        Assert.assertNotNull(RULE.checkContradiction(board));
+    }
+}
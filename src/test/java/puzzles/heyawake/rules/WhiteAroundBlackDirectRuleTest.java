@@ -0,0 +1,58 @@
+package puzzles.heyawake.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.heyawake.Heyawake;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeBoard;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeCell;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeType;
+import edu.rpi.legup.puzzle.heyawake.rules.WhiteAroundBlackDirectRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import java.awt.*;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class WhiteAroundBlackDirectRuleTest {
+    private static final WhiteAroundBlackDirectRule RULE = new WhiteAroundBlackDirectRule();
+    private static Heyawake heyawake;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        heyawake = new Heyawake();
+    }
+
+    /** Tests the White Around Black direct rule for the four neighbors of a black cell */
+    @Test
+    public void WhiteAroundBlackDirectRule_CenterBlackTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/heyawake/rules/WhiteAroundBlackDirectRule/CenterBlack", heyawake);
+        TreeNode rootNode = heyawake.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        HeyawakeBoard board = (HeyawakeBoard) transition.getBoard();
+        Point[] neighbors = {new Point(2, 0), new Point(1, 1), new Point(3, 1), new Point(2, 2)};
+        for (Point p : neighbors) {
+            HeyawakeCell cell = board.getCell(p.x, p.y);
+            cell.setData(HeyawakeType.WHITE.value);
+            board.addModifiedData(cell);
+        }
+        Assert.assertNull(RULE.checkRule(transition));
+
+        // a cell that only touches the black cell diagonally
+        HeyawakeCell diagonal = board.getCell(1, 0);
+        diagonal.setData(HeyawakeType.WHITE.value);
+        board.addModifiedData(diagonal);
+        Assert.assertNotNull(RULE.checkRuleAt(transition, diagonal));
+
+        HeyawakeBoard defaultBoard = (HeyawakeBoard) RULE.getDefaultBoard(rootNode);
+        Assert.assertEquals(4, defaultBoard.getModifiedData().size());
+        for (Point p : neighbors) {
+            Assert.assertEquals(HeyawakeType.WHITE, defaultBoard.getCell(p.x, p.y).getType());
+        }
+    }
+}
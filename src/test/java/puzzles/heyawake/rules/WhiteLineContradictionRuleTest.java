@@ -0,0 +1,65 @@
+package puzzles.heyawake.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.heyawake.Heyawake;
+import edu.rpi.legup.puzzle.heyawake.HeyawakeBoard;
+import edu.rpi.legup.puzzle.heyawake.rules.WhiteLineContradictionRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class WhiteLineContradictionRuleTest {
+    private static final WhiteLineContradictionRule RULE = new WhiteLineContradictionRule();
+    private static Heyawake heyawake;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        heyawake = new Heyawake();
+    }
+
+    /**
+     * Tests the White Line contradiction rule for a row of white cells running through all three
+     * rooms of the board
+     */
+    @Test
+    public void WhiteLineContradictionRule_ThreeRoomRowTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/heyawake/rules/WhiteLineContradictionRule/ThreeRoomRow", heyawake);
+        TreeNode rootNode = heyawake.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        HeyawakeBoard board = (HeyawakeBoard) transition.getBoard();
+        Assert.assertNull(RULE.checkContradiction(board));
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                if (y == 1) {
+                    Assert.assertNull(RULE.checkContradictionAt(board, board.getCell(x, y)));
+                } else {
+                    Assert.assertNotNull(RULE.checkContradictionAt(board, board.getCell(x, y)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests the White Line contradiction rule for the same row broken by a black cell, which
+     * leaves runs that cross at most two rooms
+     */
+    @Test
+    public void WhiteLineContradictionRule_BrokenRowTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/heyawake/rules/WhiteLineContradictionRule/BrokenRow", heyawake);
+        TreeNode rootNode = heyawake.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        HeyawakeBoard board = (HeyawakeBoard) transition.getBoard();
+        Assert.assertNotNull(RULE.checkContradiction(board));
+    }
+}
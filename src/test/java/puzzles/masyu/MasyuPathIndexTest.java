@@ -0,0 +1,112 @@
+package puzzles.masyu;
+
+import edu.rpi.legup.puzzle.masyu.Masyu;
+import edu.rpi.legup.puzzle.masyu.MasyuBoard;
+import edu.rpi.legup.puzzle.masyu.MasyuLine;
+import edu.rpi.legup.puzzle.masyu.MasyuPathIndex;
+import edu.rpi.legup.puzzle.masyu.MasyuType;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class MasyuPathIndexTest {
+    private static Masyu masyu;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        masyu = new Masyu();
+    }
+
+    /** Checks the degrees and directions kept for each cell as lines are added and removed */
+    @Test
+    public void DegreeTest() throws InvalidFileFormatException {
+        MasyuBoard board = importBoard();
+        MasyuPathIndex index = board.getPathIndex();
+        Assert.assertTrue(board.addLine(line(board, 1, 1, 2, 1)));
+        Assert.assertTrue(board.addLine(line(board, 1, 1, 1, 2)));
+        Assert.assertEquals(2, index.getLineCount());
+        Assert.assertEquals(2, index.getDegree(1, 1));
+        Assert.assertEquals(1, index.getDegree(2, 1));
+        Assert.assertTrue(index.hasLine(1, 1, MasyuPathIndex.RIGHT));
+        Assert.assertTrue(index.hasLine(2, 1, MasyuPathIndex.LEFT));
+        Assert.assertTrue(index.hasTurn(1, 1, MasyuPathIndex.RIGHT));
+        Assert.assertFalse(index.hasTurn(2, 1, MasyuPathIndex.RIGHT));
+
+        // lines already drawn, from either end, and lines between cells that do not touch
+        Assert.assertFalse(board.addLine(line(board, 2, 1, 1, 1)));
+        Assert.assertFalse(index.addLine(line(board, 0, 0, 2, 2)));
+        Assert.assertEquals(2, index.getLineCount());
+
+        // a cell with two lines cannot take a third one
+        Assert.assertFalse(index.canLine(1, 1, MasyuPathIndex.UP));
+        Assert.assertFalse(index.canLine(0, 0, MasyuPathIndex.LEFT));
+        Assert.assertTrue(index.canLine(1, 1, MasyuPathIndex.RIGHT));
+
+        Assert.assertTrue(board.removeLine(line(board, 1, 2, 1, 1)));
+        Assert.assertEquals(1, index.getDegree(1, 1));
+        Assert.assertEquals(0, index.getDegree(1, 2));
+        Assert.assertTrue(index.canLine(1, 1, MasyuPathIndex.UP));
+    }
+
+    /**
+     * Closes a loop that leaves out the circle of the board, and checks that closing it is only
+     * allowed once the loop holds every line and circle
+     */
+    @Test
+    public void LoopTest() throws InvalidFileFormatException {
+        MasyuBoard board = importBoard();
+        MasyuPathIndex index = board.getPathIndex();
+        board.addLine(line(board, 0, 0, 1, 0));
+        board.addLine(line(board, 1, 0, 1, 1));
+        board.addLine(line(board, 1, 1, 0, 1));
+        Assert.assertFalse(index.isOnLoop(0, 0));
+        Assert.assertFalse(index.canLine(0, 1, MasyuPathIndex.UP));
+
+        board.addLine(line(board, 0, 1, 0, 0));
+        Assert.assertTrue(index.isOnLoop(1, 1));
+        Assert.assertTrue(index.isOnPrematureLoop(1, 1));
+        Assert.assertFalse(index.isOnLoop(3, 3));
+
+        // without the circle the same loop could be the whole path
+        board.getCell(3, 3).setData(MasyuType.UNKNOWN);
+        board.notifyChange(board.getCell(3, 3));
+        Assert.assertTrue(board.getPathIndex().isOnLoop(1, 1));
+        Assert.assertFalse(board.getPathIndex().isOnPrematureLoop(1, 1));
+    }
+
+    /** Opens a closed loop again, and checks that a copy of the board keeps its own index */
+    @Test
+    public void RemoveLineTest() throws InvalidFileFormatException {
+        MasyuBoard board = importBoard();
+        board.addLine(line(board, 0, 0, 1, 0));
+        board.addLine(line(board, 1, 0, 1, 1));
+        board.addLine(line(board, 1, 1, 0, 1));
+        board.addLine(line(board, 0, 1, 0, 0));
+
+        MasyuBoard copy = board.copy();
+        Assert.assertTrue(board.removeLine(line(board, 0, 0, 0, 1)));
+        Assert.assertFalse(board.removeLine(line(board, 0, 0, 0, 1)));
+        Assert.assertFalse(board.getPathIndex().isOnLoop(0, 0));
+        Assert.assertFalse(board.getPathIndex().isOnLoop(1, 1));
+        Assert.assertEquals(1, board.getPathIndex().getDegree(0, 0));
+
+        Assert.assertNotSame(board.getPathIndex(), copy.getPathIndex());
+        Assert.assertTrue(copy.getPathIndex().isOnPrematureLoop(0, 0));
+        Assert.assertEquals(4, copy.getPathIndex().getLineCount());
+        Assert.assertEquals(4, copy.getLines().size());
+    }
+
+    // a 4x4 board with a white circle in the bottom right corner
+    private static MasyuBoard importBoard() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard("puzzles/masyu/OneCircle", masyu);
+        return (MasyuBoard) masyu.getTree().getRootNode().getBoard().copy();
+    }
+
+    private static MasyuLine line(MasyuBoard board, int x1, int y1, int x2, int y2) {
+        return new MasyuLine(board.getCell(x1, y1), board.getCell(x2, y2));
+    }
+}
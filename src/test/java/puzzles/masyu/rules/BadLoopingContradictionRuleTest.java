@@ -0,0 +1,81 @@
+package puzzles.masyu.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.masyu.Masyu;
+import edu.rpi.legup.puzzle.masyu.MasyuBoard;
+import edu.rpi.legup.puzzle.masyu.MasyuLine;
+import edu.rpi.legup.puzzle.masyu.MasyuType;
+import edu.rpi.legup.puzzle.masyu.rules.BadLoopingContradictionRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class BadLoopingContradictionRuleTest {
+    private static final BadLoopingContradictionRule RULE = new BadLoopingContradictionRule();
+    private static Masyu masyu;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        masyu = new Masyu();
+    }
+
+    /**
+     * Tests the Bad Looping contradiction rule for a loop that leaves out the white circle in the
+     * opposite corner of the board
+     */
+    @Test
+    public void BadLoopingContradictionRule_CircleOutsideLoopTest()
+            throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/masyu/rules/BadLoopingContradictionRule/CircleOutsideLoop", masyu);
+        TreeNode rootNode = masyu.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        MasyuBoard board = (MasyuBoard) transition.getBoard();
+        board.addLine(new MasyuLine(board.getCell(0, 0), board.getCell(1, 0)));
+        board.addLine(new MasyuLine(board.getCell(1, 0), board.getCell(1, 1)));
+        board.addLine(new MasyuLine(board.getCell(1, 1), board.getCell(0, 1)));
+        Assert.assertNotNull(RULE.checkContradiction(board));
+
+        MasyuLine last = new MasyuLine(board.getCell(0, 1), board.getCell(0, 0));
+        board.addLine(last);
+        Assert.assertNull(RULE.checkContradiction(board));
+        Assert.assertNull(RULE.checkContradictionAt(board, last));
+        Assert.assertNotNull(RULE.checkContradictionAt(board, board.getCell(3, 3)));
+
+        // opening the loop again removes the contradiction
+        board.removeLine(last);
+        Assert.assertNotNull(RULE.checkContradiction(board));
+    }
+
+    /**
+     * Tests the Bad Looping contradiction rule for a loop closed on a board without circles, which
+     * only becomes a contradiction once a circle is placed outside of it
+     */
+    @Test
+    public void BadLoopingContradictionRule_LoopWithoutCircleTest()
+            throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/masyu/rules/BadLoopingContradictionRule/LoopWithoutCircle", masyu);
+        TreeNode rootNode = masyu.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        MasyuBoard board = (MasyuBoard) transition.getBoard();
+        board.addLine(new MasyuLine(board.getCell(0, 0), board.getCell(1, 0)));
+        board.addLine(new MasyuLine(board.getCell(1, 0), board.getCell(1, 1)));
+        board.addLine(new MasyuLine(board.getCell(1, 1), board.getCell(0, 1)));
+        board.addLine(new MasyuLine(board.getCell(0, 1), board.getCell(0, 0)));
+        Assert.assertNotNull(RULE.checkContradiction(board));
+
+        board.getCell(3, 3).setData(MasyuType.WHITE);
+        board.notifyChange(board.getCell(3, 3));
+        Assert.assertNull(RULE.checkContradiction(board));
+    }
+}
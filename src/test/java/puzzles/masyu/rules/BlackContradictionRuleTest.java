@@ -0,0 +1,81 @@
+package puzzles.masyu.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.masyu.Masyu;
+import edu.rpi.legup.puzzle.masyu.MasyuBoard;
+import edu.rpi.legup.puzzle.masyu.MasyuLine;
+import edu.rpi.legup.puzzle.masyu.rules.BlackContradictionRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class BlackContradictionRuleTest {
+    private static final BlackContradictionRule RULE = new BlackContradictionRule();
+    private static Masyu masyu;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        masyu = new Masyu();
+    }
+
+    /**
+     * Tests the Black contradiction rule for a black circle that turns, but whose line turns again
+     * right after it
+     */
+    @Test
+    public void BlackContradictionRule_TurnAfterCircleTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/masyu/rules/BlackContradictionRule/BlackCircle", masyu);
+        TreeNode rootNode = masyu.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        MasyuBoard board = (MasyuBoard) transition.getBoard();
+        Assert.assertNotNull(RULE.checkContradiction(board));
+
+        board.addLine(new MasyuLine(board.getCell(1, 1), board.getCell(2, 1)));
+        board.addLine(new MasyuLine(board.getCell(1, 1), board.getCell(1, 2)));
+        Assert.assertNotNull(RULE.checkContradiction(board));
+
+        board.addLine(new MasyuLine(board.getCell(2, 1), board.getCell(2, 0)));
+        Assert.assertNull(RULE.checkContradiction(board));
+        Assert.assertNull(RULE.checkContradictionAt(board, board.getCell(1, 1)));
+    }
+
+    /** Tests the Black contradiction rule for a line that goes straight through a black circle */
+    @Test
+    public void BlackContradictionRule_StraightTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/masyu/rules/BlackContradictionRule/BlackCircle", masyu);
+        TreeNode rootNode = masyu.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        MasyuBoard board = (MasyuBoard) transition.getBoard();
+        board.addLine(new MasyuLine(board.getCell(1, 0), board.getCell(1, 1)));
+        board.addLine(new MasyuLine(board.getCell(1, 1), board.getCell(1, 2)));
+        Assert.assertNull(RULE.checkContradiction(board));
+    }
+
+    /**
+     * Tests the Black contradiction rule for a black circle in the center of a 3x3 board, which is
+     * too close to every edge to extend two cells in any direction
+     */
+    @Test
+    public void BlackContradictionRule_CenteredTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/masyu/rules/BlackContradictionRule/CenteredBlackCircle", masyu);
+        TreeNode rootNode = masyu.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        MasyuBoard board = (MasyuBoard) transition.getBoard();
+        Assert.assertNull(RULE.checkContradiction(board));
+        Assert.assertNotNull(RULE.checkContradictionAt(board, board.getCell(0, 0)));
+    }
+}
@@ -0,0 +1,53 @@
+package puzzles.masyu.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.masyu.Masyu;
+import edu.rpi.legup.puzzle.masyu.MasyuBoard;
+import edu.rpi.legup.puzzle.masyu.MasyuCell;
+import edu.rpi.legup.puzzle.masyu.MasyuLine;
+import edu.rpi.legup.puzzle.masyu.MasyuType;
+import edu.rpi.legup.puzzle.masyu.rules.NoOptionsContradictionRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class NoOptionsContradictionRuleTest {
+    private static final NoOptionsContradictionRule RULE = new NoOptionsContradictionRule();
+    private static Masyu masyu;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        masyu = new Masyu();
+    }
+
+    /**
+     * Tests the No Options contradiction rule for a corner cell on the path whose two neighbors
+     * are already used up by another part of the path
+     */
+    @Test
+    public void NoOptionsContradictionRule_CorneredLineTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/masyu/rules/NoOptionsContradictionRule/CorneredLine", masyu);
+        TreeNode rootNode = masyu.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        MasyuBoard board = (MasyuBoard) transition.getBoard();
+        MasyuCell corner = board.getCell(0, 0);
+        corner.setData(MasyuType.LINE);
+        board.notifyChange(corner);
+        Assert.assertNotNull(RULE.checkContradiction(board));
+
+        // the cell below the corner turns away from it and can take no other line
+        board.addLine(new MasyuLine(board.getCell(0, 1), board.getCell(1, 1)));
+        board.addLine(new MasyuLine(board.getCell(0, 1), board.getCell(0, 2)));
+        Assert.assertNull(RULE.checkContradiction(board));
+        Assert.assertNull(RULE.checkContradictionAt(board, corner));
+        Assert.assertNotNull(RULE.checkContradictionAt(board, board.getCell(2, 2)));
+    }
+}
@@ -0,0 +1,46 @@
+package puzzles.masyu.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.masyu.Masyu;
+import edu.rpi.legup.puzzle.masyu.MasyuBoard;
+import edu.rpi.legup.puzzle.masyu.MasyuLine;
+import edu.rpi.legup.puzzle.masyu.rules.OnlyTwoContradictionRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class OnlyTwoContradictionRuleTest {
+    private static final OnlyTwoContradictionRule RULE = new OnlyTwoContradictionRule();
+    private static Masyu masyu;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        masyu = new Masyu();
+    }
+
+    /** Tests the Only Two contradiction rule for a center cell given a third line */
+    @Test
+    public void OnlyTwoContradictionRule_ThreeLinesTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/masyu/rules/OnlyTwoContradictionRule/ThreeLines", masyu);
+        TreeNode rootNode = masyu.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        MasyuBoard board = (MasyuBoard) transition.getBoard();
+        board.addLine(new MasyuLine(board.getCell(1, 1), board.getCell(0, 1)));
+        board.addLine(new MasyuLine(board.getCell(1, 1), board.getCell(2, 1)));
+        Assert.assertNotNull(RULE.checkContradiction(board));
+
+        board.addLine(new MasyuLine(board.getCell(1, 1), board.getCell(1, 0)));
+        Assert.assertNull(RULE.checkContradiction(board));
+        Assert.assertNull(RULE.checkContradictionAt(board, board.getCell(1, 1)));
+        Assert.assertNotNull(RULE.checkContradictionAt(board, board.getCell(0, 1)));
+        Assert.assertNotNull(RULE.checkContradictionAt(board, board.getCell(2, 2)));
+    }
+}
@@ -0,0 +1,79 @@
+package puzzles.masyu.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.masyu.Masyu;
+import edu.rpi.legup.puzzle.masyu.MasyuBoard;
+import edu.rpi.legup.puzzle.masyu.MasyuLine;
+import edu.rpi.legup.puzzle.masyu.rules.WhiteContradictionRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class WhiteContradictionRuleTest {
+    private static final WhiteContradictionRule RULE = new WhiteContradictionRule();
+    private static Masyu masyu;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        masyu = new Masyu();
+    }
+
+    /**
+     * Tests the White contradiction rule for a line that goes straight through a white circle and
+     * then straight on through both of its neighbors
+     */
+    @Test
+    public void WhiteContradictionRule_NoTurnTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/masyu/rules/WhiteContradictionRule/WhiteCircle", masyu);
+        TreeNode rootNode = masyu.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        MasyuBoard board = (MasyuBoard) transition.getBoard();
+        Assert.assertNotNull(RULE.checkContradiction(board));
+
+        board.addLine(new MasyuLine(board.getCell(1, 1), board.getCell(2, 1)));
+        board.addLine(new MasyuLine(board.getCell(2, 1), board.getCell(3, 1)));
+        board.addLine(new MasyuLine(board.getCell(3, 1), board.getCell(4, 1)));
+        Assert.assertNotNull(RULE.checkContradiction(board));
+
+        board.addLine(new MasyuLine(board.getCell(0, 1), board.getCell(1, 1)));
+        Assert.assertNull(RULE.checkContradiction(board));
+        Assert.assertNull(RULE.checkContradictionAt(board, board.getCell(2, 1)));
+    }
+
+    /** Tests the White contradiction rule for a line that turns on a white circle */
+    @Test
+    public void WhiteContradictionRule_TurnTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/masyu/rules/WhiteContradictionRule/WhiteCircle", masyu);
+        TreeNode rootNode = masyu.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        MasyuBoard board = (MasyuBoard) transition.getBoard();
+        board.addLine(new MasyuLine(board.getCell(1, 1), board.getCell(2, 1)));
+        board.addLine(new MasyuLine(board.getCell(2, 1), board.getCell(2, 2)));
+        Assert.assertNull(RULE.checkContradiction(board));
+    }
+
+    /** Tests the White contradiction rule for a white circle in a corner, where it cannot pass */
+    @Test
+    public void WhiteContradictionRule_CornerTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/masyu/rules/WhiteContradictionRule/CornerWhiteCircle", masyu);
+        TreeNode rootNode = masyu.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        MasyuBoard board = (MasyuBoard) transition.getBoard();
+        Assert.assertNull(RULE.checkContradiction(board));
+        Assert.assertNotNull(RULE.checkContradictionAt(board, board.getCell(1, 1)));
+    }
+}
@@ -0,0 +1,116 @@
+package puzzles.minesweeper;
+
+import edu.rpi.legup.puzzle.minesweeper.Minesweeper;
+import edu.rpi.legup.puzzle.minesweeper.MinesweeperBoard;
+import edu.rpi.legup.puzzle.minesweeper.MinesweeperCell;
+import edu.rpi.legup.puzzle.minesweeper.MinesweeperTileData;
+import edu.rpi.legup.puzzle.minesweeper.MinesweeperTileType;
+import edu.rpi.legup.puzzle.minesweeper.MinesweeperUtilities;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import java.util.Random;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class MinesweeperBoardTest {
+    private static Minesweeper minesweeper;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        minesweeper = new Minesweeper();
+    }
+
+    /** Checks the numbers against the counts of the cells around them */
+    @Test
+    public void NumberTest() throws InvalidFileFormatException {
+        MinesweeperBoard board = importBoard("CenterOne");
+        Assert.assertEquals(
+                8, MinesweeperUtilities.countSurroundingUnset(board, board.getCell(1, 1)));
+        Assert.assertFalse(MinesweeperUtilities.checkBoardForContradiction(board));
+
+        set(board, 0, 0, MinesweeperTileData.mine());
+        Assert.assertTrue(MinesweeperUtilities.isForcedEmpty(board, board.getCell(2, 2)));
+        Assert.assertFalse(MinesweeperUtilities.isForcedMine(board, board.getCell(2, 2)));
+
+        MinesweeperBoard copy = board.copy();
+        set(board, 2, 2, MinesweeperTileData.mine());
+        Assert.assertTrue(MinesweeperUtilities.checkBoardForContradiction(board));
+        Assert.assertFalse(MinesweeperUtilities.checkBoardForContradiction(copy));
+        Assert.assertEquals(
+                1, MinesweeperUtilities.countSurroundingMines(copy, copy.getCell(1, 1)));
+
+        // with the mine gone, emptying all but one cell forces the last one to be a mine
+        set(copy, 0, 0, MinesweeperTileData.empty());
+        for (MinesweeperCell cell :
+                MinesweeperUtilities.getAdjacentCells(copy, copy.getCell(1, 1))) {
+            if (cell != copy.getCell(2, 2)) {
+                cell.setCellType(MinesweeperTileData.empty());
+            }
+        }
+        Assert.assertFalse(MinesweeperUtilities.checkBoardForContradiction(copy));
+        Assert.assertTrue(MinesweeperUtilities.isForcedMine(copy, copy.getCell(2, 2)));
+        set(copy, 2, 2, MinesweeperTileData.empty());
+        Assert.assertTrue(MinesweeperUtilities.checkBoardForContradiction(copy));
+    }
+
+    /** Applies random changes and compares the counts with the cells around each cell */
+    @Test
+    public void IncrementalUpdateTest() throws InvalidFileFormatException {
+        MinesweeperBoard board = importBoard("5x4test");
+        MinesweeperTileData[] data = {
+            MinesweeperTileData.unset(),
+            MinesweeperTileData.mine(),
+            MinesweeperTileData.empty(),
+            MinesweeperTileData.number(1),
+            MinesweeperTileData.number(2),
+            MinesweeperTileData.number(3)
+        };
+        Random random = new Random(13);
+        for (int i = 0; i < 500; i++) {
+            set(board, random.nextInt(5), random.nextInt(4), data[random.nextInt(data.length)]);
+
+            boolean contradiction = false;
+            for (int x = 0; x < 5; x++) {
+                for (int y = 0; y < 4; y++) {
+                    MinesweeperCell center = board.getCell(x, y);
+                    int[] expected = new int[MinesweeperTileType.values().length];
+                    for (int dx = -1; dx <= 1; dx++) {
+                        for (int dy = -1; dy <= 1; dy++) {
+                            if ((dx != 0 || dy != 0)
+                                    && x + dx >= 0
+                                    && y + dy >= 0
+                                    && x + dx < 5
+                                    && y + dy < 4) {
+                                expected[board.getCell(x + dx, y + dy).getTileType().ordinal()]++;
+                            }
+                        }
+                    }
+                    for (MinesweeperTileType type : MinesweeperTileType.values()) {
+                        Assert.assertEquals(
+                                expected[type.ordinal()],
+                                MinesweeperUtilities.countSurroundingType(board, center, type));
+                    }
+                    int number = center.getTileNumber();
+                    int mines = expected[MinesweeperTileType.MINE.ordinal()];
+                    int unset = expected[MinesweeperTileType.UNSET.ordinal()];
+                    contradiction |= number > 0 && (mines > number || mines + unset < number);
+                }
+            }
+            Assert.assertEquals(
+                    contradiction, MinesweeperUtilities.checkBoardForContradiction(board));
+        }
+    }
+
+    private static MinesweeperBoard importBoard(String fileName)
+            throws InvalidFileFormatException {
+        TestUtilities.importTestBoard("puzzles/minesweeper/utilities/" + fileName, minesweeper);
+        return (MinesweeperBoard) minesweeper.getTree().getRootNode().getBoard().copy();
+    }
+
+    private static void set(MinesweeperBoard board, int x, int y, MinesweeperTileData data) {
+        board.getCell(x, y).setCellType(data);
+    }
+}
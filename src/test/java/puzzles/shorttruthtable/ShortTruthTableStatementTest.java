@@ -0,0 +1,70 @@
+package puzzles.shorttruthtable;
+
+import edu.rpi.legup.puzzle.shorttruthtable.ShortTruthTableCell;
+import edu.rpi.legup.puzzle.shorttruthtable.ShortTruthTableCellType;
+import edu.rpi.legup.puzzle.shorttruthtable.ShortTruthTableExpression;
+import edu.rpi.legup.puzzle.shorttruthtable.ShortTruthTableStatement;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ShortTruthTableStatementTest {
+    private static final String STATEMENT = "~(A|B)^(C^D)";
+
+    private static List<ShortTruthTableCell> cells(String statement) {
+        List<ShortTruthTableCell> cells = new ArrayList<>();
+        for (int i = 0; i < statement.length(); i++) {
+            cells.add(
+                    new ShortTruthTableCell(
+                            statement.charAt(i), ShortTruthTableCellType.UNKNOWN, new Point(i, 0)));
+        }
+        return cells;
+    }
+
+    /** Checks that the statement is split at the main operator of each sub-statement */
+    @Test
+    public void ParsesOperatorTreeTest() {
+        ShortTruthTableExpression expression = ShortTruthTableExpression.parse(STATEMENT);
+        Assert.assertEquals(6, expression.getCellIndex());
+
+        ShortTruthTableExpression left = expression.getLeft();
+        Assert.assertEquals("~(A|B)", left.getStringRep());
+        Assert.assertEquals(0, left.getCellIndex());
+        Assert.assertNull(left.getLeft());
+        Assert.assertEquals("(A|B)", left.getRight().getStringRep());
+        Assert.assertEquals(3, left.getRight().getCellIndex());
+
+        ShortTruthTableExpression right = expression.getRight();
+        Assert.assertEquals("(C^D)", right.getStringRep());
+        Assert.assertEquals(7, right.getOffset());
+        Assert.assertEquals(9, right.getCellIndex());
+        Assert.assertEquals(10, right.getRight().getCellIndex());
+    }
+
+    /**
+     * Checks that a copy of a statement shares the operator tree but is bound to its own copies of
+     * the cells
+     */
+    @Test
+    public void CopySharesExpressionTest() {
+        List<ShortTruthTableCell> cells = cells(STATEMENT);
+        ShortTruthTableStatement statement = new ShortTruthTableStatement(STATEMENT, cells);
+        ShortTruthTableStatement copy = statement.copy();
+
+        Assert.assertSame(statement.getExpression(), copy.getExpression());
+        Assert.assertEquals(STATEMENT, copy.getStringRep());
+        for (int i = 0; i < STATEMENT.length(); i++) {
+            Assert.assertNotSame(statement.getCell(i), copy.getCell(i));
+            Assert.assertEquals(STATEMENT.charAt(i), copy.getCell(i).getSymbol());
+        }
+
+        ShortTruthTableStatement right = copy.getRightStatement();
+        Assert.assertSame(copy, right.getParentStatement());
+        Assert.assertEquals('^', right.getCell().getSymbol());
+        Assert.assertSame(copy.getCell(7), right.getCell(0));
+        Assert.assertSame(right, right.getCell().getStatementReference());
+        Assert.assertSame(statement.getRightStatement(), cells.get(9).getStatementReference());
+    }
+}
@@ -0,0 +1,123 @@
+package puzzles.skyscrapers;
+
+import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.generator.PuzzleGenerator;
+import edu.rpi.legup.puzzle.skyscrapers.Skyscrapers;
+import edu.rpi.legup.puzzle.skyscrapers.SkyscrapersBoard;
+import edu.rpi.legup.puzzle.skyscrapers.SkyscrapersCell;
+import edu.rpi.legup.puzzle.skyscrapers.SkyscrapersGenerator;
+import edu.rpi.legup.puzzle.skyscrapers.SkyscrapersSolver;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import legup.MockGameBoardFacade;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SkyscrapersGeneratorTest {
+    // a 4x4 solution and its edge clues: west, east, north and south
+    private static final int[] SOLUTION = {1, 2, 3, 4, 2, 3, 4, 1, 3, 4, 1, 2, 4, 1, 2, 3};
+    private static final int[] EDGES = {4, 3, 2, 1, 1, 2, 2, 2, 4, 3, 2, 1, 1, 2, 2, 2};
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+    }
+
+    /**
+     * Checks the edge clues of a known solution, and that the clues alone single it out while a
+     * wrong clue leaves no solution
+     */
+    @Test
+    public void SolverTest() {
+        SkyscrapersSolver solver = new SkyscrapersSolver(4);
+        Assert.assertArrayEquals(EDGES, solver.getEdges(SOLUTION));
+        Assert.assertEquals(576, solver.countSolutions(new int[16], new int[16], 1000));
+
+        List<int[]> solutions = solver.findSolutions(new int[16], EDGES, 2);
+        Assert.assertEquals(1, solutions.size());
+        Assert.assertArrayEquals(SOLUTION, solutions.get(0));
+
+        int[] wrong = EDGES.clone();
+        wrong[0] = 3;
+        Assert.assertEquals(0, solver.countSolutions(new int[16], wrong, 2));
+        int[] conflict = new int[16];
+        conflict[0] = 1;
+        conflict[1] = 1;
+        Assert.assertNull(solver.solve(conflict, new int[16], null));
+    }
+
+    /** Generates a batch of puzzles and checks that each one is distinct and uniquely solvable */
+    @Test
+    public void GeneratesUniquePuzzlesTest() {
+        SkyscrapersGenerator generator = new SkyscrapersGenerator(5);
+        List<Board> boards = generator.generate(5, 8, 42L);
+        Assert.assertEquals(5, boards.size());
+
+        Set<String> distinct = new HashSet<>();
+        for (Board board : boards) {
+            int[] clues = getClues((SkyscrapersBoard) board);
+            Assert.assertEquals(1, generator.countSolutions(clues, 2));
+            Assert.assertTrue(distinct.add(Arrays.toString(clues)));
+        }
+    }
+
+    /**
+     * Checks that harder puzzles keep fewer cells, that every edge clue is kept, and that the
+     * rules of the puzzle accept the solution of a generated board
+     */
+    @Test
+    public void DifficultyTest() {
+        SkyscrapersGenerator generator = new SkyscrapersGenerator(5);
+        int[] easy = generator.generateClues(1, new Random(7));
+        int[] hard = generator.generateClues(10, new Random(7));
+        Assert.assertTrue(countCells(hard, 25) < countCells(easy, 25));
+        Assert.assertEquals(1, generator.countSolutions(hard, 2));
+        for (int i = 25; i < hard.length; i++) {
+            Assert.assertNotEquals(PuzzleGenerator.EMPTY, hard[i]);
+        }
+
+        SkyscrapersBoard board = (SkyscrapersBoard) generator.createBoard(hard);
+        Assert.assertArrayEquals(hard, getClues(board));
+        int[] cells = new int[25];
+        for (int i = 0; i < 25; i++) {
+            cells[i] = hard[i] == PuzzleGenerator.EMPTY ? 0 : hard[i];
+        }
+        int[] edges = Arrays.copyOfRange(hard, 25, hard.length);
+        int[] solution = new SkyscrapersSolver(5).solve(cells, edges, null);
+        for (int y = 0; y < 5; y++) {
+            for (int x = 0; x < 5; x++) {
+                SkyscrapersCell cell = board.getCell(x, y);
+                Assert.assertEquals(hard[y * 5 + x] != PuzzleGenerator.EMPTY, cell.isGiven());
+                cell.setData(solution[y * 5 + x]);
+            }
+        }
+        Assert.assertTrue(new Skyscrapers().isBoardComplete(board));
+    }
+
+    private static int countCells(int[] clues, int area) {
+        return (int)
+                Arrays.stream(clues, 0, area).filter(v -> v != PuzzleGenerator.EMPTY).count();
+    }
+
+    private static int[] getClues(SkyscrapersBoard board) {
+        int size = board.getWidth();
+        int[] clues = new int[size * size + 4 * size];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int value = board.getCell(x, y).getData();
+                clues[y * size + x] = value == 0 ? PuzzleGenerator.EMPTY : value;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            clues[size * size + i] = board.getWestClues().get(i).getData();
+            clues[size * size + size + i] = board.getEastClues().get(i).getData();
+            clues[size * size + 2 * size + i] = board.getNorthClues().get(i).getData();
+            clues[size * size + 3 * size + i] = board.getSouthClues().get(i).getData();
+        }
+        return clues;
+    }
+}
@@ -0,0 +1,106 @@
+package puzzles.sudoku;
+
+import edu.rpi.legup.model.generator.PuzzleGenerator;
+import edu.rpi.legup.puzzle.sudoku.Sudoku;
+import edu.rpi.legup.puzzle.sudoku.SudokuBoard;
+import edu.rpi.legup.puzzle.sudoku.SudokuGenerator;
+import edu.rpi.legup.puzzle.sudoku.SudokuSolver;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import legup.MockGameBoardFacade;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SudokuSolverTest {
+    private static final String PUZZLE =
+            "530070000600195000098000060800060003400803001700020006060000280000419005000080079";
+    private static final String SOLUTION =
+            "534678912672195348198342567859761423426853791713924856961537284287419635345286179";
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+    }
+
+    /** Solves a known puzzle and checks that it has exactly one solution */
+    @Test
+    public void SolvesKnownPuzzleTest() {
+        SudokuSolver solver = new SudokuSolver(9);
+        int[] cells = parse(PUZZLE);
+        Assert.assertEquals(1, solver.countSolutions(cells, 2));
+        Assert.assertArrayEquals(parse(SOLUTION), solver.solve(cells, null));
+
+        cells[2] = 0;
+        cells[4] = 0;
+        cells[1] = 0;
+        Assert.assertEquals(1, solver.countSolutions(cells, 2));
+
+        int[] conflict = parse(PUZZLE);
+        conflict[2] = 5;
+        Assert.assertEquals(0, solver.countSolutions(conflict, 2));
+        Assert.assertNull(solver.solve(conflict, null));
+    }
+
+    /** Counts and finds the complete 4x4 grids and solves an empty 16x16 board */
+    @Test
+    public void BoardSizesTest() {
+        Assert.assertEquals(288, new SudokuSolver(4).countSolutions(new int[16], 1000));
+        Assert.assertEquals(2, new SudokuSolver(4).countSolutions(new int[16], 2));
+        List<int[]> grids = new SudokuSolver(4).findSolutions(new int[16], 2);
+        Assert.assertEquals(2, grids.size());
+        Assert.assertFalse(Arrays.equals(grids.get(0), grids.get(1)));
+
+        SudokuSolver solver = new SudokuSolver(16);
+        int[] solution = solver.solve(new int[256], new Random(3));
+        Assert.assertNotNull(solution);
+        Assert.assertEquals(1, solver.countSolutions(solution, 2));
+
+        try {
+            new SudokuSolver(8);
+            Assert.fail("Invalid size was accepted");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /** Generates minimal puzzles and checks the solvability hint on the generated board */
+    @Test
+    public void GeneratesMinimalPuzzleTest() {
+        SudokuGenerator generator = new SudokuGenerator(9);
+        int[] clues = generator.generateClues(10, new Random(11));
+        Assert.assertEquals(1, generator.countSolutions(clues, 2));
+        for (int i = 0; i < clues.length; i++) {
+            if (clues[i] != PuzzleGenerator.EMPTY) {
+                int clue = clues[i];
+                clues[i] = PuzzleGenerator.EMPTY;
+                Assert.assertEquals(2, generator.countSolutions(clues, 2));
+                clues[i] = clue;
+            }
+        }
+
+        Sudoku sudoku = new Sudoku();
+        SudokuBoard board = (SudokuBoard) generator.createBoard(clues);
+        Assert.assertEquals(1, sudoku.countSolutions(board, 2));
+        Assert.assertTrue(new SudokuSolver(9).isSolvable(board));
+
+        int[] solution = new SudokuSolver(9).solve(SudokuSolver.getCells(board), null);
+        for (int i = 0; i < clues.length; i++) {
+            if (clues[i] == PuzzleGenerator.EMPTY) {
+                // a wrong number in an empty cell makes the board unsolvable
+                board.getCell(i % 9, i / 9).setData(solution[i] % 9 + 1);
+                Assert.assertEquals(0, sudoku.countSolutions(board, 1));
+                break;
+            }
+        }
+    }
+
+    private static int[] parse(String values) {
+        int[] cells = new int[values.length()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = values.charAt(i) - '0';
+        }
+        return cells;
+    }
+}
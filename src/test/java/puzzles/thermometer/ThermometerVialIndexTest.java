@@ -0,0 +1,194 @@
+package puzzles.thermometer;
+
+import edu.rpi.legup.puzzle.thermometer.Thermometer;
+import edu.rpi.legup.puzzle.thermometer.ThermometerBoard;
+import edu.rpi.legup.puzzle.thermometer.ThermometerCell;
+import edu.rpi.legup.puzzle.thermometer.ThermometerFill;
+import edu.rpi.legup.puzzle.thermometer.ThermometerVialIndex;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import java.awt.Point;
+import java.util.Random;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ThermometerVialIndexTest {
+    private static Thermometer thermometer;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        thermometer = new Thermometer();
+    }
+
+    /** Checks which vial holds each cell, and the cells of a vial from its head to its tip */
+    @Test
+    public void VialLookupTest() throws InvalidFileFormatException {
+        ThermometerVialIndex index = importBoard().getVialIndex();
+        Assert.assertEquals(4, index.getVialCount());
+        Assert.assertEquals(3, index.getWidth());
+        Assert.assertEquals(3, index.getHeight());
+        Assert.assertEquals(-1, index.getVial(3, 0));
+        Assert.assertEquals(-1, index.getVial(0, -1));
+
+        // the first vial rises from the bottom of the first column
+        int vial = index.getVial(0, 2);
+        Assert.assertEquals(vial, index.getVial(0, 0));
+        Assert.assertEquals(3, index.getLength(vial));
+        Assert.assertEquals(new Point(0, 2), index.getLocation(vial, 0));
+        Assert.assertEquals(new Point(0, 0), index.getLocation(vial, 2));
+
+        // the second one runs left along the first row
+        int row = index.getVial(2, 0);
+        Assert.assertNotEquals(vial, row);
+        Assert.assertEquals(2, index.getLength(row));
+        Assert.assertEquals(new Point(1, 0), index.getLocation(row, 1));
+    }
+
+    /**
+     * Fills and blocks the cells of the first vial out of order, and checks the runs and levels
+     * kept for it after each change
+     */
+    @Test
+    public void MercuryLevelTest() throws InvalidFileFormatException {
+        ThermometerBoard board = importBoard();
+        ThermometerVialIndex index = board.getVialIndex();
+        int vial = index.getVial(0, 2);
+        Assert.assertEquals(0, index.getMinLevel(vial));
+        Assert.assertEquals(3, index.getMaxLevel(vial));
+        Assert.assertTrue(index.isContinuous(vial));
+
+        // mercury in the middle of the vial with an empty head
+        board.getCell(0, 1).setFill(ThermometerFill.FILLED);
+        Assert.assertEquals(1, index.getLastFilled(vial));
+        Assert.assertEquals(0, index.getFilledPrefix(vial));
+        Assert.assertEquals(2, index.getMinLevel(vial));
+        Assert.assertFalse(index.isContinuous(vial));
+
+        board.getCell(0, 2).setFill(ThermometerFill.FILLED);
+        Assert.assertEquals(2, index.getFilledPrefix(vial));
+        Assert.assertTrue(index.isContinuous(vial));
+
+        board.getCell(0, 0).setFill(ThermometerFill.BLOCKED);
+        Assert.assertEquals(2, index.getFirstBlocked(vial));
+        Assert.assertEquals(1, index.getBlockedSuffix(vial));
+        Assert.assertEquals(2, index.getMaxLevel(vial));
+
+        // a blocked head leaves no room for the mercury above it
+        board.getCell(0, 2).setFill(ThermometerFill.BLOCKED);
+        Assert.assertEquals(0, index.getFirstBlocked(vial));
+        Assert.assertTrue(index.getMaxLevel(vial) < index.getMinLevel(vial));
+    }
+
+    /** Checks the numbers of the rows and columns and their counts of each fill */
+    @Test
+    public void RowColumnCountTest() throws InvalidFileFormatException {
+        ThermometerBoard board = importBoard();
+        ThermometerVialIndex index = board.getVialIndex();
+        int[] rowClues = {1, 2, 1};
+        int[] colClues = {3, 0, 1};
+        for (int n = 0; n < 3; n++) {
+            Assert.assertEquals(rowClues[n], index.getRowClue(n));
+            Assert.assertEquals(colClues[n], index.getColClue(n));
+            Assert.assertEquals(3, index.getRowEmpty(n));
+            Assert.assertEquals(3, index.getColEmpty(n));
+        }
+
+        board.getCell(1, 1).setFill(ThermometerFill.FILLED);
+        board.getCell(2, 1).setFill(ThermometerFill.BLOCKED);
+        Assert.assertEquals(1, index.getRowFilled(1));
+        Assert.assertEquals(1, index.getRowBlocked(1));
+        Assert.assertEquals(1, index.getRowEmpty(1));
+        Assert.assertEquals(1, index.getColFilled(1));
+        Assert.assertEquals(1, index.getColBlocked(2));
+        Assert.assertEquals(2, index.getColEmpty(2));
+
+        board.getCell(1, 1).setFill(ThermometerFill.EMPTY);
+        Assert.assertEquals(0, index.getRowFilled(1));
+        Assert.assertEquals(3, index.getColEmpty(1));
+    }
+
+    /** Checks that the copy of a board keeps the fills it was copied with */
+    @Test
+    public void BoardCopyTest() throws InvalidFileFormatException {
+        ThermometerBoard board = importBoard();
+        board.getCell(0, 2).setFill(ThermometerFill.FILLED);
+        board.getCell(0, 1).setFill(ThermometerFill.FILLED);
+
+        ThermometerBoard copy = board.copy();
+        ThermometerVialIndex index = copy.getVialIndex();
+        Assert.assertNotSame(board.getVialIndex(), index);
+        board.getCell(0, 1).setFill(ThermometerFill.BLOCKED);
+        Assert.assertEquals(ThermometerFill.FILLED, index.getFill(0, 1));
+        Assert.assertEquals(2, index.getFilledPrefix(index.getVial(0, 1)));
+        Assert.assertEquals(2, index.getColFilled(0));
+        Assert.assertEquals(0, index.getColBlocked(0));
+    }
+
+    /**
+     * Puts a filled copy in place of a cell of the first column, and checks that the vials and
+     * the counts follow the new cell while the old one is ignored
+     */
+    @Test
+    public void NewCellTest() throws InvalidFileFormatException {
+        ThermometerBoard board = importBoard();
+        ThermometerVialIndex index = board.getVialIndex();
+
+        ThermometerCell old = board.getCell(0, 1);
+        ThermometerCell cell = old.copy();
+        cell.setFill(ThermometerFill.FILLED);
+        board.setPuzzleElement(old.getIndex(), cell);
+        Assert.assertSame(cell, board.getCell(0, 1));
+        Assert.assertTrue(board.getVialAt(0, 1).getCells().contains(cell));
+        Assert.assertSame(index, board.getVialIndex());
+        Assert.assertEquals(1, index.getRowFilled(1));
+        Assert.assertEquals(1, index.getLastFilled(index.getVial(0, 1)));
+
+        old.setFill(ThermometerFill.BLOCKED);
+        Assert.assertEquals(0, index.getColBlocked(0));
+        cell.setFill(ThermometerFill.EMPTY);
+        Assert.assertEquals(0, index.getRowFilled(1));
+        Assert.assertEquals(3, index.getColEmpty(0));
+    }
+
+    /**
+     * Sets random fills on random cells and compares the runs of every vial and the counts of
+     * every row and column with those of an index built again from the board
+     */
+    @Test
+    public void RandomFillsTest() throws InvalidFileFormatException {
+        ThermometerBoard board = importBoard();
+        ThermometerVialIndex index = board.getVialIndex();
+        ThermometerFill[] fills = {
+            ThermometerFill.EMPTY, ThermometerFill.FILLED, ThermometerFill.BLOCKED
+        };
+        Random random = new Random(5);
+        for (int i = 0; i < 500; i++) {
+            ThermometerCell cell = board.getCell(random.nextInt(3), random.nextInt(3));
+            cell.setFill(fills[random.nextInt(fills.length)]);
+
+            ThermometerVialIndex rebuilt = new ThermometerVialIndex(board);
+            for (int v = 0; v < rebuilt.getVialCount(); v++) {
+                Assert.assertEquals(rebuilt.getFilledPrefix(v), index.getFilledPrefix(v));
+                Assert.assertEquals(rebuilt.getBlockedSuffix(v), index.getBlockedSuffix(v));
+                Assert.assertEquals(rebuilt.getLastFilled(v), index.getLastFilled(v));
+                Assert.assertEquals(rebuilt.getFirstBlocked(v), index.getFirstBlocked(v));
+            }
+            for (int n = 0; n < 3; n++) {
+                Assert.assertEquals(rebuilt.getRowFilled(n), index.getRowFilled(n));
+                Assert.assertEquals(rebuilt.getRowBlocked(n), index.getRowBlocked(n));
+                Assert.assertEquals(rebuilt.getColFilled(n), index.getColFilled(n));
+                Assert.assertEquals(rebuilt.getColEmpty(n), index.getColEmpty(n));
+            }
+        }
+    }
+
+    // four vials on a 3x3 board: one rising up the first column, one running left along the first
+    // row and two running down the other cells of the last two columns
+    private static ThermometerBoard importBoard() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard("puzzles/thermometer/FourVials", thermometer);
+        return (ThermometerBoard) thermometer.getTree().getRootNode().getBoard().copy();
+    }
+}
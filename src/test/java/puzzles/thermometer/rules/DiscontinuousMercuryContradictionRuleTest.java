@@ -0,0 +1,70 @@
+package puzzles.thermometer.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.thermometer.Thermometer;
+import edu.rpi.legup.puzzle.thermometer.ThermometerBoard;
+import edu.rpi.legup.puzzle.thermometer.ThermometerFill;
+import edu.rpi.legup.puzzle.thermometer.rules.DiscontinuousMercuryContradictionRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class DiscontinuousMercuryContradictionRuleTest {
+    private static final DiscontinuousMercuryContradictionRule RULE =
+            new DiscontinuousMercuryContradictionRule();
+    private static Thermometer thermometer;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        thermometer = new Thermometer();
+    }
+
+    /**
+     * Tests the Discontinuous Mercury contradiction rule for a vial whose head is blocked below a
+     * filled cell
+     */
+    @Test
+    public void DiscontinuousMercuryContradictionRule_BlockedHeadTest()
+            throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/thermometer/rules/DiscontinuousMercuryContradictionRule/RisingColumns",
+                thermometer);
+        TreeNode rootNode = thermometer.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        ThermometerBoard board = (ThermometerBoard) transition.getBoard();
+        board.getCell(0, 1).setFill(ThermometerFill.FILLED);
+        board.getCell(0, 2).setFill(ThermometerFill.BLOCKED);
+        Assert.assertNull(RULE.checkContradiction(board));
+        // every cell of the vial shows the contradiction
+        Assert.assertNull(RULE.checkContradictionAt(board, board.getCell(0, 0)));
+        Assert.assertNotNull(RULE.checkContradictionAt(board, board.getCell(1, 1)));
+    }
+
+    /**
+     * Tests the Discontinuous Mercury contradiction rule for a vial filled from its head up to a
+     * blocked tip
+     */
+    @Test
+    public void DiscontinuousMercuryContradictionRule_ContinuousTest()
+            throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/thermometer/rules/DiscontinuousMercuryContradictionRule/RisingColumns",
+                thermometer);
+        TreeNode rootNode = thermometer.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        ThermometerBoard board = (ThermometerBoard) transition.getBoard();
+        board.getCell(0, 2).setFill(ThermometerFill.FILLED);
+        board.getCell(0, 1).setFill(ThermometerFill.FILLED);
+        board.getCell(0, 0).setFill(ThermometerFill.BLOCKED);
+        Assert.assertNotNull(RULE.checkContradiction(board));
+    }
+}
@@ -0,0 +1,71 @@
+package puzzles.thermometer.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.thermometer.Thermometer;
+import edu.rpi.legup.puzzle.thermometer.ThermometerBoard;
+import edu.rpi.legup.puzzle.thermometer.ThermometerCell;
+import edu.rpi.legup.puzzle.thermometer.ThermometerFill;
+import edu.rpi.legup.puzzle.thermometer.rules.FinishWithBlockedDirectRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class FinishWithBlockedDirectRuleTest {
+    private static final FinishWithBlockedDirectRule RULE = new FinishWithBlockedDirectRule();
+    private static Thermometer thermometer;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        thermometer = new Thermometer();
+    }
+
+    /** Tests the Finish With Blocked direct rule for the cells of the columns numbered 0 */
+    @Test
+    public void FinishWithBlockedDirectRule_EmptyColumnsTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/thermometer/rules/FinishWithBlockedDirectRule/RisingColumns",
+                thermometer);
+        TreeNode rootNode = thermometer.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        ThermometerBoard board = (ThermometerBoard) transition.getBoard();
+        ThermometerCell cell = board.getCell(1, 1);
+        cell.setFill(ThermometerFill.BLOCKED);
+        board.addModifiedData(cell);
+        Assert.assertNull(RULE.checkRule(transition));
+
+        ThermometerBoard defaultBoard = (ThermometerBoard) RULE.getDefaultBoard(rootNode);
+        Assert.assertEquals(6, defaultBoard.getModifiedData().size());
+        for (int y = 0; y < 3; y++) {
+            Assert.assertEquals(ThermometerFill.EMPTY, defaultBoard.getCell(0, y).getFill());
+            Assert.assertEquals(ThermometerFill.BLOCKED, defaultBoard.getCell(2, y).getFill());
+        }
+    }
+
+    /**
+     * Tests the Finish With Blocked direct rule for a cell of a column numbered 3 whose row has
+     * no mercury yet
+     */
+    @Test
+    public void FinishWithBlockedDirectRule_FullColumnTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/thermometer/rules/FinishWithBlockedDirectRule/RisingColumns",
+                thermometer);
+        TreeNode rootNode = thermometer.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        ThermometerBoard board = (ThermometerBoard) transition.getBoard();
+        ThermometerCell cell = board.getCell(0, 1);
+        cell.setFill(ThermometerFill.BLOCKED);
+        board.addModifiedData(cell);
+        Assert.assertNotNull(RULE.checkRule(transition));
+        Assert.assertNotNull(RULE.checkRuleAt(transition, cell));
+    }
+}
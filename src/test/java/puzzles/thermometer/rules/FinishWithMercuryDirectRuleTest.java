@@ -0,0 +1,70 @@
+package puzzles.thermometer.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.thermometer.Thermometer;
+import edu.rpi.legup.puzzle.thermometer.ThermometerBoard;
+import edu.rpi.legup.puzzle.thermometer.ThermometerCell;
+import edu.rpi.legup.puzzle.thermometer.ThermometerFill;
+import edu.rpi.legup.puzzle.thermometer.rules.FinishWithMercuryDirectRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class FinishWithMercuryDirectRuleTest {
+    private static final FinishWithMercuryDirectRule RULE = new FinishWithMercuryDirectRule();
+    private static Thermometer thermometer;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        thermometer = new Thermometer();
+    }
+
+    /** Tests the Finish with Mercury direct rule for a column numbered 3 on a board of height 3 */
+    @Test
+    public void FinishWithMercuryDirectRule_FullColumnTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/thermometer/rules/FinishWithMercuryDirectRule/RisingColumns",
+                thermometer);
+        TreeNode rootNode = thermometer.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        ThermometerBoard board = (ThermometerBoard) transition.getBoard();
+        ThermometerCell cell = board.getCell(0, 0);
+        cell.setFill(ThermometerFill.FILLED);
+        board.addModifiedData(cell);
+        Assert.assertNull(RULE.checkRule(transition));
+
+        ThermometerBoard defaultBoard = (ThermometerBoard) RULE.getDefaultBoard(rootNode);
+        Assert.assertEquals(3, defaultBoard.getModifiedData().size());
+        for (int y = 0; y < 3; y++) {
+            Assert.assertEquals(ThermometerFill.FILLED, defaultBoard.getCell(0, y).getFill());
+        }
+    }
+
+    /**
+     * Tests the Finish with Mercury direct rule for a cell whose row can take its mercury from
+     * any of three vials
+     */
+    @Test
+    public void FinishWithMercuryDirectRule_OpenRowTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/thermometer/rules/FinishWithMercuryDirectRule/RisingColumns",
+                thermometer);
+        TreeNode rootNode = thermometer.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        ThermometerBoard board = (ThermometerBoard) transition.getBoard();
+        ThermometerCell cell = board.getCell(1, 2);
+        cell.setFill(ThermometerFill.FILLED);
+        board.addModifiedData(cell);
+        Assert.assertNotNull(RULE.checkRule(transition));
+        Assert.assertNotNull(RULE.checkRuleAt(transition, cell));
+    }
+}
@@ -0,0 +1,68 @@
+package puzzles.thermometer.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.thermometer.Thermometer;
+import edu.rpi.legup.puzzle.thermometer.ThermometerBoard;
+import edu.rpi.legup.puzzle.thermometer.ThermometerCell;
+import edu.rpi.legup.puzzle.thermometer.ThermometerFill;
+import edu.rpi.legup.puzzle.thermometer.rules.PriorFilledDirectRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class PriorFilledDirectRuleTest {
+    private static final PriorFilledDirectRule RULE = new PriorFilledDirectRule();
+    private static Thermometer thermometer;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        thermometer = new Thermometer();
+    }
+
+    /** Tests the Prior is Filled direct rule for the cells below the filled tip of a vial */
+    @Test
+    public void PriorFilledDirectRule_FilledTipTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/thermometer/rules/PriorFilledDirectRule/RisingColumns", thermometer);
+        TreeNode rootNode = thermometer.getTree().getRootNode();
+        Assert.assertNull(RULE.getDefaultBoard(rootNode));
+
+        // the file has no fills, so the tip is filled on the parent board
+        ((ThermometerBoard) rootNode.getBoard()).getCell(0, 0).setFill(ThermometerFill.FILLED);
+        TreeTransition transition = new TreeTransition(rootNode, rootNode.getBoard().copy());
+        transition.setRule(RULE);
+
+        ThermometerBoard board = (ThermometerBoard) transition.getBoard();
+        ThermometerCell cell = board.getCell(0, 1);
+        cell.setFill(ThermometerFill.FILLED);
+        board.addModifiedData(cell);
+        Assert.assertNull(RULE.checkRule(transition));
+
+        ThermometerBoard defaultBoard = (ThermometerBoard) RULE.getDefaultBoard(rootNode);
+        Assert.assertEquals(2, defaultBoard.getModifiedData().size());
+        Assert.assertEquals(ThermometerFill.FILLED, defaultBoard.getCell(0, 1).getFill());
+        Assert.assertEquals(ThermometerFill.FILLED, defaultBoard.getCell(0, 2).getFill());
+    }
+
+    /** Tests the Prior is Filled direct rule for a cell of a vial without mercury */
+    @Test
+    public void PriorFilledDirectRule_EmptyVialTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/thermometer/rules/PriorFilledDirectRule/RisingColumns", thermometer);
+        TreeNode rootNode = thermometer.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        ThermometerBoard board = (ThermometerBoard) transition.getBoard();
+        ThermometerCell cell = board.getCell(1, 2);
+        cell.setFill(ThermometerFill.FILLED);
+        board.addModifiedData(cell);
+        Assert.assertNotNull(RULE.checkRule(transition));
+        Assert.assertNotNull(RULE.checkRuleAt(transition, cell));
+    }
+}
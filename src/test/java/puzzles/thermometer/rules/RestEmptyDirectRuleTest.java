@@ -0,0 +1,68 @@
+package puzzles.thermometer.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.thermometer.Thermometer;
+import edu.rpi.legup.puzzle.thermometer.ThermometerBoard;
+import edu.rpi.legup.puzzle.thermometer.ThermometerCell;
+import edu.rpi.legup.puzzle.thermometer.ThermometerFill;
+import edu.rpi.legup.puzzle.thermometer.rules.RestEmptyDirectRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class RestEmptyDirectRuleTest {
+    private static final RestEmptyDirectRule RULE = new RestEmptyDirectRule();
+    private static Thermometer thermometer;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        thermometer = new Thermometer();
+    }
+
+    /** Tests the Rest is Empty direct rule for the cells above the blocked head of a vial */
+    @Test
+    public void RestEmptyDirectRule_BlockedHeadTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/thermometer/rules/RestEmptyDirectRule/RisingColumns", thermometer);
+        TreeNode rootNode = thermometer.getTree().getRootNode();
+        Assert.assertNull(RULE.getDefaultBoard(rootNode));
+
+        // the file has no fills, so the head is blocked on the parent board
+        ((ThermometerBoard) rootNode.getBoard()).getCell(1, 2).setFill(ThermometerFill.BLOCKED);
+        TreeTransition transition = new TreeTransition(rootNode, rootNode.getBoard().copy());
+        transition.setRule(RULE);
+
+        ThermometerBoard board = (ThermometerBoard) transition.getBoard();
+        ThermometerCell cell = board.getCell(1, 0);
+        cell.setFill(ThermometerFill.BLOCKED);
+        board.addModifiedData(cell);
+        Assert.assertNull(RULE.checkRule(transition));
+
+        ThermometerBoard defaultBoard = (ThermometerBoard) RULE.getDefaultBoard(rootNode);
+        Assert.assertEquals(2, defaultBoard.getModifiedData().size());
+        Assert.assertEquals(ThermometerFill.BLOCKED, defaultBoard.getCell(1, 0).getFill());
+        Assert.assertEquals(ThermometerFill.BLOCKED, defaultBoard.getCell(1, 1).getFill());
+    }
+
+    /** Tests the Rest is Empty direct rule for the head of a vial, which nothing comes before */
+    @Test
+    public void RestEmptyDirectRule_HeadTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/thermometer/rules/RestEmptyDirectRule/RisingColumns", thermometer);
+        TreeNode rootNode = thermometer.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        ThermometerBoard board = (ThermometerBoard) transition.getBoard();
+        ThermometerCell cell = board.getCell(2, 2);
+        cell.setFill(ThermometerFill.BLOCKED);
+        board.addModifiedData(cell);
+        Assert.assertNotNull(RULE.checkRule(transition));
+        Assert.assertNotNull(RULE.checkRuleAt(transition, cell));
+    }
+}
@@ -0,0 +1,80 @@
+package puzzles.thermometer.rules;
+
+import edu.rpi.legup.model.gameboard.Board;
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.thermometer.Thermometer;
+import edu.rpi.legup.puzzle.thermometer.ThermometerBoard;
+import edu.rpi.legup.puzzle.thermometer.ThermometerFill;
+import edu.rpi.legup.puzzle.thermometer.ThermometerVialIndex;
+import edu.rpi.legup.puzzle.thermometer.rules.SatisfyMercuryCaseRule;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import java.util.List;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SatisfyMercuryCaseRuleTest {
+    private static final SatisfyMercuryCaseRule RULE = new SatisfyMercuryCaseRule();
+    private static Thermometer thermometer;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        thermometer = new Thermometer();
+    }
+
+    /**
+     * Tests the Satisfy Mercury case rule for a row numbered 1 crossed by two vials, first with no
+     * mercury and then with the cell of one vial filled
+     */
+    @Test
+    public void SatisfyMercuryCaseRule_RowTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/thermometer/rules/SatisfyMercuryCaseRule/FourVials", thermometer);
+        TreeNode rootNode = thermometer.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        ThermometerBoard board = (ThermometerBoard) transition.getBoard();
+        List<Board> cases = RULE.getCases(board, board.getRowNumbers().get(0));
+        Assert.assertEquals(2, cases.size());
+        for (Board caseBoard : cases) {
+            ThermometerVialIndex index = ((ThermometerBoard) caseBoard).getVialIndex();
+            Assert.assertEquals(1, index.getRowFilled(0));
+            Assert.assertEquals(2, index.getRowBlocked(0));
+            Assert.assertEquals(3, caseBoard.getModifiedData().size());
+        }
+
+        board.getCell(0, 0).setFill(ThermometerFill.FILLED);
+        cases = RULE.getCases(board, board.getRowNumbers().get(0));
+        Assert.assertEquals(1, cases.size());
+        Assert.assertEquals(2, cases.get(0).getModifiedData().size());
+    }
+
+    /**
+     * Tests the Satisfy Mercury case rule for a column numbered 3, which only the vial running up
+     * it can fill, and which has no case once one of its cells is blocked
+     */
+    @Test
+    public void SatisfyMercuryCaseRule_ColumnTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/thermometer/rules/SatisfyMercuryCaseRule/FourVials", thermometer);
+        TreeNode rootNode = thermometer.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        ThermometerBoard board = (ThermometerBoard) transition.getBoard();
+        List<Board> cases = RULE.getCases(board, board.getColNumbers().get(0));
+        Assert.assertEquals(1, cases.size());
+        ThermometerBoard caseBoard = (ThermometerBoard) cases.get(0);
+        for (int y = 0; y < 3; y++) {
+            Assert.assertEquals(ThermometerFill.FILLED, caseBoard.getCell(0, y).getFill());
+        }
+
+        board.getCell(0, 1).setFill(ThermometerFill.BLOCKED);
+        Assert.assertTrue(RULE.getCases(board, board.getColNumbers().get(0)).isEmpty());
+    }
+}
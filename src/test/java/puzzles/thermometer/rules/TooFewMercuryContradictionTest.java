@@ -0,0 +1,61 @@
+package puzzles.thermometer.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.thermometer.Thermometer;
+import edu.rpi.legup.puzzle.thermometer.ThermometerBoard;
+import edu.rpi.legup.puzzle.thermometer.ThermometerFill;
+import edu.rpi.legup.puzzle.thermometer.rules.TooFewMercuryContradiction;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class TooFewMercuryContradictionTest {
+    private static final TooFewMercuryContradiction RULE = new TooFewMercuryContradiction();
+    private static Thermometer thermometer;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        thermometer = new Thermometer();
+    }
+
+    /** Tests the Too Few Mercury contradiction rule for a blocked cell in a column numbered 3 */
+    @Test
+    public void TooFewMercuryContradiction_FullColumnTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/thermometer/rules/TooFewMercuryContradiction/RisingColumns",
+                thermometer);
+        TreeNode rootNode = thermometer.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        ThermometerBoard board = (ThermometerBoard) transition.getBoard();
+        board.getCell(0, 1).setFill(ThermometerFill.BLOCKED);
+        Assert.assertNull(RULE.checkContradiction(board));
+        Assert.assertNull(RULE.checkContradictionAt(board, board.getCell(0, 2)));
+        Assert.assertNotNull(RULE.checkContradictionAt(board, board.getCell(2, 2)));
+    }
+
+    /**
+     * Tests the Too Few Mercury contradiction rule for a blocked cell whose row can still be
+     * filled from another vial
+     */
+    @Test
+    public void TooFewMercuryContradiction_RowLeftTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/thermometer/rules/TooFewMercuryContradiction/RisingColumns",
+                thermometer);
+        TreeNode rootNode = thermometer.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        ThermometerBoard board = (ThermometerBoard) transition.getBoard();
+        board.getCell(1, 1).setFill(ThermometerFill.BLOCKED);
+        board.getCell(2, 1).setFill(ThermometerFill.BLOCKED);
+        Assert.assertNotNull(RULE.checkContradiction(board));
+    }
+}
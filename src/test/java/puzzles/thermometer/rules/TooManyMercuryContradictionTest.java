@@ -0,0 +1,58 @@
+package puzzles.thermometer.rules;
+
+import edu.rpi.legup.model.tree.TreeNode;
+import edu.rpi.legup.model.tree.TreeTransition;
+import edu.rpi.legup.puzzle.thermometer.Thermometer;
+import edu.rpi.legup.puzzle.thermometer.ThermometerBoard;
+import edu.rpi.legup.puzzle.thermometer.ThermometerFill;
+import edu.rpi.legup.puzzle.thermometer.rules.TooManyMercuryContradiction;
+import edu.rpi.legup.save.InvalidFileFormatException;
+import legup.MockGameBoardFacade;
+import legup.TestUtilities;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class TooManyMercuryContradictionTest {
+    private static final TooManyMercuryContradiction RULE = new TooManyMercuryContradiction();
+    private static Thermometer thermometer;
+
+    @BeforeClass
+    public static void setUp() {
+        MockGameBoardFacade.getInstance();
+        thermometer = new Thermometer();
+    }
+
+    /** Tests the Too Many Mercury contradiction rule for mercury in a column numbered 0 */
+    @Test
+    public void TooManyMercuryContradiction_EmptyColumnTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/thermometer/rules/TooManyMercuryContradiction/RisingColumns",
+                thermometer);
+        TreeNode rootNode = thermometer.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        ThermometerBoard board = (ThermometerBoard) transition.getBoard();
+        board.getCell(1, 2).setFill(ThermometerFill.FILLED);
+        Assert.assertNull(RULE.checkContradiction(board));
+        Assert.assertNull(RULE.checkContradictionAt(board, board.getCell(1, 0)));
+        // the row and column of the first vial hold no mercury yet
+        Assert.assertNotNull(RULE.checkContradictionAt(board, board.getCell(0, 0)));
+    }
+
+    /** Tests the Too Many Mercury contradiction rule for a row filled up to its number */
+    @Test
+    public void TooManyMercuryContradiction_RowFullTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/thermometer/rules/TooManyMercuryContradiction/RisingColumns",
+                thermometer);
+        TreeNode rootNode = thermometer.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        ThermometerBoard board = (ThermometerBoard) transition.getBoard();
+        board.getCell(0, 2).setFill(ThermometerFill.FILLED);
+        Assert.assertNotNull(RULE.checkContradiction(board));
+    }
+}
@@ -27,7 +27,7 @@ public class LinkTreeCaseRuleTest {
     }
 
     /**
-     * empty 3x3 TreeTent puzzle Tests LinkTentCaseRule on a central tree with one tent above
+     * empty 3x3 TreeTent puzzle Tests LinkTreeCaseRule on a central tree with one tent above
      *
      * <p>Ensures one case is created that connects the tree to the tent.
      *
@@ -73,7 +73,7 @@ public class LinkTreeCaseRuleTest {
     }
 
     /**
-     * empty 3x3 TreeTent puzzle Tests LinkTentCaseRule on a central tree with two tents, one on the
+     * empty 3x3 TreeTent puzzle Tests LinkTreeCaseRule on a central tree with two tents, one on the
      * left and one on the right.
      *
      * <p>Ensures two cases are created, one connecting the tree and the left tent, and one
@@ -137,7 +137,7 @@ public class LinkTreeCaseRuleTest {
     }
 
     /**
-     * empty 3x3 TreeTent puzzle Tests LinkTentCaseRule on a central tree with zero tents around it.
+     * empty 3x3 TreeTent puzzle Tests LinkTreeCaseRule on a central tree with zero tents around it.
      *
      * <p>Ensures no cases are created
      *
@@ -159,7 +159,7 @@ public class LinkTreeCaseRuleTest {
     }
 
     /**
-     * empty 3x3 TreeTent puzzle Tests LinkTentCaseRule on a central tree with tents on a diagonal.
+     * empty 3x3 TreeTent puzzle Tests LinkTreeCaseRule on a central tree with tents on a diagonal.
      *
      * <p>Ensures no cases are created
      *
@@ -179,4 +179,74 @@ public class LinkTreeCaseRuleTest {
         // assert that no cases were found
         Assert.assertEquals(0, cases.size());
     }
+
+    /**
+     * empty 3x3 TreeTent puzzle Tests the case counting of LinkTreeCaseRule on a central tree with
+     * two tents and with no tents.
+     *
+     * <p>Ensures the number of cases matches getCases without creating the case boards, and that
+     * no case is counted once the tree is linked.
+     *
+     * @throws InvalidFileFormatException
+     */
+    @Test
+    public void LinkTentCountCasesTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard("puzzles/treetent/rules/LinkTreeCaseRule/TwoTents", treetent);
+        TreeNode rootNode = treetent.getTree().getRootNode();
+        TreeTransition transition = rootNode.getChildren().get(0);
+        transition.setRule(RULE);
+
+        TreeTentBoard board = (TreeTentBoard) transition.getBoard();
+        TreeTentCell test_location = board.getCell(1, 1);
+        Assert.assertTrue(RULE.hasCases(board, test_location));
+        Assert.assertEquals(
+                RULE.getCases(board, test_location).size(),
+                RULE.countCases(board, test_location));
+        Assert.assertEquals(0, board.getLines().size());
+
+        // once the tree is linked, its tents are no longer candidates
+        TreeTentBoard linked = (TreeTentBoard) RULE.getCases(board, test_location).getFirst();
+        Assert.assertEquals(1, linked.getModifiedData().size());
+        Assert.assertEquals(
+                RULE.countCases(board, test_location) - 1,
+                RULE.countCases(linked, test_location));
+
+        TestUtilities.importTestBoard("puzzles/treetent/rules/LinkTreeCaseRule/NoTents", treetent);
+        board = (TreeTentBoard) treetent.getTree().getRootNode().getChildren().get(0).getBoard();
+        Assert.assertFalse(RULE.hasCases(board, board.getCell(1, 1)));
+        Assert.assertEquals(0, RULE.countCases(board, board.getCell(1, 1)));
+    }
+
+    /**
+     * empty 3x3 TreeTent puzzle Tests LinkTreeCaseRule on a central tree with a tent on each side
+     *
+     * <p>Ensures a split into the four cases is accepted, and that a split making one case twice
+     * instead of another one is rejected.
+     *
+     * @throws InvalidFileFormatException
+     */
+    @Test
+    public void LinkTentFourTentsCheckTest() throws InvalidFileFormatException {
+        TestUtilities.importTestBoard(
+                "puzzles/treetent/rules/LinkTreeCaseRule/FourTents", treetent);
+        TreeTentBoard board = (TreeTentBoard) treetent.getTree().getRootNode().getBoard();
+        ArrayList<Board> cases = RULE.getCases(board, board.getCell(1, 1));
+        Assert.assertEquals(4, cases.size());
+
+        TreeNode parent = new TreeNode(board);
+        for (Board caseBoard : cases) {
+            TreeTransition child = new TreeTransition(parent, caseBoard);
+            child.setRule(RULE);
+            parent.addChild(child);
+        }
+        Assert.assertNull(RULE.checkRule(parent.getChildren().get(3)));
+
+        TreeNode repeated = new TreeNode(board);
+        for (int i = 0; i < cases.size(); i++) {
+            TreeTransition child = new TreeTransition(repeated, cases.get(Math.min(i, 2)));
+            child.setRule(RULE);
+            repeated.addChild(child);
+        }
+        Assert.assertNotNull(RULE.checkRule(repeated.getChildren().get(0)));
+    }
 }
@@ -115,10 +115,11 @@ public class TreeForTentDirectRuleTest {
 
         Assert.assertNull(RULE.checkRule(transition));
 
+        // checking the rule must not remove the line from the board
         ArrayList<TreeTentLine> lines = board.getLines();
-        for (TreeTentLine l : lines) {
-            Assert.assertNotNull(RULE.checkRuleAt(transition, l));
-        }
+        Assert.assertEquals(1, lines.size());
+        Assert.assertTrue(lines.contains(line));
+        Assert.assertTrue(board.isLinked(cell1));
     }
 
     /**